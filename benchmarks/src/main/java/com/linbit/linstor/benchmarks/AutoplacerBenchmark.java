@@ -0,0 +1,78 @@
+package com.linbit.linstor.benchmarks;
+
+import com.linbit.linstor.api.interfaces.AutoSelectFilterApi;
+import com.linbit.linstor.api.pojo.builder.AutoSelectFilterBuilder;
+import com.linbit.linstor.core.apicallhandler.controller.autoplacer.Autoplacer;
+import com.linbit.linstor.core.objects.StorPool;
+import com.linbit.linstor.storage.kinds.DeviceLayerKind;
+
+import javax.inject.Inject;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Selection of the storage pools for a new resource with 3 replicas, i.e. the filter, rating and selection of all
+ * storage pools of the cluster, as done for every "resource-definition auto-place" and every spawn of a resource
+ * group.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AutoplacerBenchmark extends SyntheticCluster
+{
+    private static final int PLACE_COUNT = 3;
+
+    @Param({"10", "100", "500"})
+    public int nodeCount;
+
+    /** Resources that are already deployed, per node */
+    @Param({"0", "20"})
+    public int rscPerNode;
+
+    @Inject private Autoplacer autoplacer;
+
+    private AutoSelectFilterApi selectFilter;
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        setUpCluster(nodeCount, nodeCount * rscPerNode / PLACE_COUNT, PLACE_COUNT);
+
+        selectFilter = new AutoSelectFilterBuilder()
+            .setPlaceCount(PLACE_COUNT)
+            .setStorPoolNameList(Collections.singletonList(STOR_POOL_NAME))
+            .setLayerStackList(Arrays.asList(DeviceLayerKind.DRBD, DeviceLayerKind.STORAGE))
+            .build();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception
+    {
+        tearDownCluster();
+    }
+
+    @Benchmark
+    public Set<StorPool> autoPlace()
+    {
+        return autoplacer.autoPlace(selectFilter, null, VLM_SIZE_IN_KIB);
+    }
+}
@@ -0,0 +1,104 @@
+package com.linbit.linstor.benchmarks;
+
+import com.linbit.drbd.DrbdVersion;
+import com.linbit.linstor.api.prop.LinStorObject;
+import com.linbit.linstor.api.prop.WhitelistProps;
+import com.linbit.linstor.core.objects.Resource;
+import com.linbit.linstor.layer.drbd.utils.ConfFileBuilder;
+import com.linbit.linstor.propscon.Props;
+import com.linbit.linstor.storage.data.adapter.drbd.DrbdRscData;
+import com.linbit.linstor.storage.kinds.DeviceLayerKind;
+import com.linbit.linstor.timer.CoreTimerImpl;
+import com.linbit.linstor.utils.layer.LayerRscUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rendering of a DRBD resource file, as done by the satellite for every DRBD resource it (re-)adjusts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfFileBuilderBenchmark extends SyntheticCluster
+{
+    /** Number of diskful replicas, i.e. the local resource and its peers */
+    @Param({"2", "3", "8"})
+    public int replicaCount;
+
+    private WhitelistProps whitelistProps;
+    private Props stltProps;
+    private DrbdVersion drbdVersion;
+    private DrbdRscData<Resource> localRscData;
+    private List<DrbdRscData<Resource>> remoteRscData;
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        setUpCluster(replicaCount, 1, replicaCount);
+
+        whitelistProps = new WhitelistProps(errorReporter);
+        stltProps = propsContainerFactory.getInstance("STLT_CFG", null, LinStorObject.SATELLITE);
+        drbdVersion = new DrbdVersion(new CoreTimerImpl(), errorReporter);
+
+        remoteRscData = new ArrayList<>();
+        for (Resource rsc : resources)
+        {
+            DrbdRscData<Resource> drbdRscData = getDrbdRscData(rsc);
+            if (localRscData == null)
+            {
+                localRscData = drbdRscData;
+            }
+            else
+            {
+                remoteRscData.add(drbdRscData);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception
+    {
+        tearDownCluster();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static DrbdRscData<Resource> getDrbdRscData(Resource rsc) throws Exception
+    {
+        return (DrbdRscData<Resource>) LayerRscUtils.getRscDataByLayer(
+            rsc.getLayerData(SYS_CTX),
+            DeviceLayerKind.DRBD
+        ).iterator().next();
+    }
+
+    @Benchmark
+    public String build() throws Exception
+    {
+        return new ConfFileBuilder(
+            errorReporter,
+            SYS_CTX,
+            localRscData,
+            remoteRscData,
+            whitelistProps,
+            stltProps,
+            drbdVersion
+        ).build();
+    }
+}
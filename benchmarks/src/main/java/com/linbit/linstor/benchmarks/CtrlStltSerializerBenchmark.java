@@ -0,0 +1,106 @@
+package com.linbit.linstor.benchmarks;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
+import com.linbit.linstor.api.prop.LinStorObject;
+import com.linbit.linstor.api.protobuf.serializer.ProtoCtrlStltSerializer;
+import com.linbit.linstor.api.protobuf.serializer.ProtoFragmentCache;
+import com.linbit.linstor.core.CtrlSecurityObjects;
+import com.linbit.linstor.core.objects.Resource;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialization of the messages the controller sends to the satellites: a single resource (with all its peer
+ * resources) as sent for every resource change, and the full sync of a satellite after its (re-)connect.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CtrlStltSerializerBenchmark extends SyntheticCluster
+{
+    @Param({"3", "32"})
+    public int nodeCount;
+
+    @Param({"100", "1000"})
+    public int rscDfnCount;
+
+    private CtrlStltSerializer serializer;
+    private Resource localRsc;
+    private HashSet<Resource> localResources;
+    private int rscIdx;
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        setUpCluster(nodeCount, rscDfnCount, Math.min(3, nodeCount));
+
+        serializer = new ProtoCtrlStltSerializer(
+            errorReporter,
+            SYS_CTX,
+            new CtrlSecurityObjects(),
+            propsContainerFactory.getInstance("STLT_CFG", null, LinStorObject.SATELLITE),
+            new ProtoFragmentCache()
+        );
+
+        localRsc = resources.get(0);
+        localResources = new HashSet<>();
+        for (Resource rsc : resources)
+        {
+            if (rsc.getNode().equals(localRsc.getNode()))
+            {
+                localResources.add(rsc);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception
+    {
+        tearDownCluster();
+    }
+
+    @Benchmark
+    public byte[] resource()
+    {
+        rscIdx = (rscIdx + 1) % resources.size();
+        return serializer.onewayBuilder(InternalApiConsts.API_APPLY_RSC)
+            .resource(resources.get(rscIdx), 0, 0)
+            .build();
+    }
+
+    @Benchmark
+    public byte[] fullSync()
+    {
+        return serializer.onewayBuilder(InternalApiConsts.API_FULL_SYNC_DATA)
+            .fullSync(
+                new HashSet<>(nodes),
+                new HashSet<>(storPools),
+                localResources,
+                Collections.emptySet(),
+                Collections.emptySet(),
+                Collections.emptySet(),
+                1,
+                0
+            )
+            .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.linbit.linstor.benchmarks;
+
+import com.linbit.linstor.core.CoreModule;
+import com.linbit.linstor.core.CoreModule.ResourceDefinitionMap;
+import com.linbit.linstor.layer.drbd.drbdstate.DrbdEventsMonitor;
+import com.linbit.linstor.layer.drbd.drbdstate.DrbdStateTracker;
+import com.linbit.linstor.testutils.EmptyErrorReporter;
+import com.linbit.linstor.transaction.manager.SatelliteTransactionMgr;
+import com.linbit.linstor.transaction.manager.TransactionMgr;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing and tracking of "drbdsetup events2" lines: the initial "exists" dump of all resources after the events
+ * process was (re-)started, and the "change" events of resyncs, which DRBD emits for every progress update of every
+ * peer device.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DrbdEventsMonitorBenchmark
+{
+    private static final String[] PEERS = {"peer1", "peer2"};
+
+    @Param({"100", "1000"})
+    public int rscCount;
+
+    private ResourceDefinitionMap rscDfnMap;
+    private List<String> existsEvents;
+    private String[] changeEvents;
+    private DrbdEventsMonitor monitor;
+    private int changeIdx;
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        TransactionMgr transMgr = new SatelliteTransactionMgr();
+        rscDfnMap = new CoreModule.ResourceDefinitionMapImpl(() -> transMgr);
+
+        existsEvents = new ArrayList<>();
+        List<String> changes = new ArrayList<>();
+        for (int rscIdx = 0; rscIdx < rscCount; ++rscIdx)
+        {
+            String rscName = String.format("rsc%05d", rscIdx);
+            existsEvents.add("exists resource name:" + rscName + " role:Secondary suspended:no may_promote:no " +
+                "promotion_score:10102");
+            existsEvents.add("exists device name:" + rscName + " volume:0 minor:" + (1000 + rscIdx) +
+                " disk:UpToDate client:no quorum:yes");
+            for (int peerIdx = 0; peerIdx < PEERS.length; ++peerIdx)
+            {
+                String peer = " peer-node-id:" + (peerIdx + 1) + " conn-name:" + PEERS[peerIdx];
+                existsEvents.add("exists connection name:" + rscName + peer + " connection:Connected role:Secondary");
+                existsEvents.add("exists peer-device name:" + rscName + peer + " volume:0 " +
+                    "replication:Established peer-disk:UpToDate peer-client:no resync-suspended:no");
+                for (int done = 0; done < 100; done += 25)
+                {
+                    changes.add("change peer-device name:" + rscName + peer + " volume:0 " +
+                        "replication:SyncSource peer-disk:Inconsistent done:" + done + ".00");
+                }
+                changes.add("change peer-device name:" + rscName + peer + " volume:0 " +
+                    "replication:Established peer-disk:UpToDate");
+            }
+        }
+        existsEvents.add("exists -");
+        changeEvents = changes.toArray(new String[0]);
+
+        monitor = initialDump();
+    }
+
+    @Benchmark
+    public DrbdEventsMonitor initialDump() throws Exception
+    {
+        DrbdEventsMonitor newMonitor = new DrbdEventsMonitor(
+            new DrbdStateTracker(),
+            new EmptyErrorReporter(),
+            rscDfnMap
+        );
+        for (String event : existsEvents)
+        {
+            newMonitor.receiveEvent(event);
+        }
+        return newMonitor;
+    }
+
+    @Benchmark
+    public void changeEvent() throws Exception
+    {
+        changeIdx = (changeIdx + 1) % changeEvents.length;
+        monitor.receiveEvent(changeEvents[changeIdx]);
+    }
+}
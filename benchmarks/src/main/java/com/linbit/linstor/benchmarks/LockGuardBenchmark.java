@@ -0,0 +1,121 @@
+package com.linbit.linstor.benchmarks;
+
+import com.linbit.linstor.metrics.LinStorMetrics;
+import com.linbit.locks.LockGuard;
+import com.linbit.locks.LockGuardFactory;
+import com.linbit.locks.LockGuardFactory.LockObj;
+import com.linbit.locks.LockGuardFactory.LockType;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Acquiring and releasing the controller's global locks through the {@link LockGuardFactory}, with the same fair
+ * {@link ReentrantReadWriteLock}s as bound by the CoreModule: uncontended, by concurrent readers (e.g. REST list
+ * requests) and by readers competing with a writer (e.g. a resource creation).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LockGuardBenchmark
+{
+    /** Simulated work while holding the locks, in JMH's abstract "tokens" */
+    private static final int WORK_TOKENS = 100;
+
+    @Param({"false", "true"})
+    public boolean metricsEnabled;
+
+    private LockGuardFactory lockGuardFactory;
+
+    @Setup
+    public void setUp()
+    {
+        LinStorMetrics metrics = new LinStorMetrics();
+        metrics.setEnabled(metricsEnabled);
+        lockGuardFactory = new LockGuardFactory(
+            new ReentrantReadWriteLock(true),
+            new ReentrantReadWriteLock(true),
+            new ReentrantReadWriteLock(true),
+            new ReentrantReadWriteLock(true),
+            new ReentrantReadWriteLock(true),
+            new ReentrantReadWriteLock(true),
+            new ReentrantReadWriteLock(true),
+            new ReentrantReadWriteLock(true),
+            new ReentrantReadWriteLock(true),
+            new ReentrantReadWriteLock(true),
+            metrics
+        );
+    }
+
+    private void read()
+    {
+        try (LockGuard lg = lockGuardFactory.build(LockType.READ, LockObj.NODES_MAP, LockObj.RSC_DFN_MAP))
+        {
+            Blackhole.consumeCPU(WORK_TOKENS);
+        }
+    }
+
+    private void write()
+    {
+        try (LockGuard lg = lockGuardFactory.build(LockType.WRITE, LockObj.NODES_MAP, LockObj.RSC_DFN_MAP))
+        {
+            Blackhole.consumeCPU(WORK_TOKENS);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void uncontendedRead()
+    {
+        read();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void uncontendedWrite()
+    {
+        write();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void concurrentReads()
+    {
+        read();
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public void readWriteReaders()
+    {
+        read();
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public void readWriteWriter()
+    {
+        write();
+    }
+}
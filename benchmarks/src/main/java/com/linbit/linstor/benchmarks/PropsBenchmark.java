@@ -0,0 +1,154 @@
+package com.linbit.linstor.benchmarks;
+
+import com.linbit.linstor.PriorityProps;
+import com.linbit.linstor.api.prop.LinStorObject;
+import com.linbit.linstor.dbdrivers.SatellitePropDriver;
+import com.linbit.linstor.propscon.Props;
+import com.linbit.linstor.propscon.PropsContainer;
+import com.linbit.linstor.propscon.PropsContainerFactory;
+import com.linbit.linstor.transaction.manager.SatelliteTransactionMgr;
+import com.linbit.linstor.transaction.manager.TransactionMgr;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * {@link PropsContainer} lookups, updates and iterations, and the {@link PriorityProps} resolution of a property
+ * through the resource, resource definition, resource group, node and satellite properties, as done for every
+ * resource of every device manager run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PropsBenchmark
+{
+    private static final String[] NAMESPACES = {
+        "DrbdOptions/Net",
+        "DrbdOptions/Disk",
+        "DrbdOptions/Resource",
+        "DrbdOptions/Handlers",
+        "Aux",
+        "StorDriver",
+        "Internal/Drbd"
+    };
+
+    /** Properties per container */
+    @Param({"16", "256"})
+    public int propCount;
+
+    private PropsContainer rscProps;
+    private PriorityProps prioProps;
+    private String[] existingKeys;
+    private String missingKey;
+    private int keyIdx;
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        TransactionMgr transMgr = new SatelliteTransactionMgr();
+        PropsContainerFactory propsContainerFactory = new PropsContainerFactory(
+            new SatellitePropDriver(),
+            () -> transMgr
+        );
+
+        rscProps = propsContainerFactory.getInstance("RSC", null, LinStorObject.RESOURCE);
+        Props rscDfnProps = propsContainerFactory.getInstance("RSC_DFN", null, LinStorObject.RESOURCE_DEFINITION);
+        Props rscGrpProps = propsContainerFactory.getInstance("RSC_GRP", null, LinStorObject.RESOURCE_GROUP);
+        Props nodeProps = propsContainerFactory.getInstance("NODE", null, LinStorObject.NODE);
+        Props stltProps = propsContainerFactory.getInstance("STLT_CFG", null, LinStorObject.SATELLITE);
+
+        existingKeys = new String[propCount];
+        Props[] allProps = {rscProps, rscDfnProps, rscGrpProps, nodeProps, stltProps};
+        for (int idx = 0; idx < propCount; ++idx)
+        {
+            existingKeys[idx] = NAMESPACES[idx % NAMESPACES.length] + "/key" + idx;
+            // every container has its own subset of the keys, the satellite properties have all of them
+            for (int propsIdx = idx % allProps.length; propsIdx < allProps.length; ++propsIdx)
+            {
+                allProps[propsIdx].setProp(existingKeys[idx], "value" + idx + "-" + propsIdx);
+            }
+        }
+        missingKey = NAMESPACES[0] + "/missing";
+        transMgr.commit();
+
+        prioProps = new PriorityProps(rscProps, rscDfnProps, rscGrpProps, nodeProps, stltProps);
+    }
+
+    private String nextKey()
+    {
+        keyIdx = (keyIdx + 1) % existingKeys.length;
+        return existingKeys[keyIdx];
+    }
+
+    @Benchmark
+    public String getProp() throws Exception
+    {
+        return rscProps.getProp(nextKey());
+    }
+
+    @Benchmark
+    public String getPropWithNamespace() throws Exception
+    {
+        nextKey();
+        return rscProps.getProp("key" + keyIdx, NAMESPACES[keyIdx % NAMESPACES.length]);
+    }
+
+    @Benchmark
+    public String setProp() throws Exception
+    {
+        String key = nextKey();
+        return rscProps.setProp(key, keyIdx % 2 == 0 ? "even" : "odd");
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole)
+    {
+        Iterator<Map.Entry<String, String>> entryIt = rscProps.iterator();
+        while (entryIt.hasNext())
+        {
+            blackhole.consume(entryIt.next());
+        }
+    }
+
+    @Benchmark
+    public void iterateNamespace(Blackhole blackhole)
+    {
+        rscProps.getNamespace(NAMESPACES[0]).ifPresent(namespace -> blackhole.consume(namespace.map()));
+    }
+
+    @Benchmark
+    public String priorityPropsGet() throws Exception
+    {
+        return prioProps.getProp(nextKey());
+    }
+
+    @Benchmark
+    public String priorityPropsGetMissing() throws Exception
+    {
+        // the worst case, every container has to be checked
+        return prioProps.getProp(missingKey);
+    }
+
+    @Benchmark
+    public Map<String, String> priorityPropsRenderNamespace()
+    {
+        return prioProps.renderRelativeMap(NAMESPACES[0]);
+    }
+}
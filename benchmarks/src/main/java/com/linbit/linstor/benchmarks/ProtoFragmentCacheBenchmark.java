@@ -0,0 +1,116 @@
+package com.linbit.linstor.benchmarks;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.protobuf.serializer.ProtoCtrlStltSerializer;
+import com.linbit.linstor.api.protobuf.serializer.ProtoFragmentCache;
+import com.linbit.linstor.core.CtrlSecurityObjects;
+import com.linbit.linstor.core.objects.Resource;
+import com.linbit.linstor.core.objects.StorPool;
+import com.linbit.linstor.security.GenericDbBase;
+import com.linbit.linstor.storage.kinds.DeviceLayerKind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialization of one resource definition update for all satellites of the resource definition, with a
+ * {@link ProtoFragmentCache} shared by the messages of the update and with a new cache for every satellite, i.e.
+ * without sharing any fragment.
+ *
+ * The resources only have a STORAGE layer, as DRBD would limit the fan-out to 32 nodes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtoFragmentCacheBenchmark extends GenericDbBase
+{
+    private static final long VLM_SIZE_IN_KIB = 1024 * 1024;
+
+    @Param({"1", "8", "64"})
+    public int fanOut;
+
+    private final List<Resource> resources = new ArrayList<>();
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        setUpBeforeClass();
+        setUpAndEnterScope();
+
+        resourceGroupTestFactory.initDfltRscGrp();
+        resourceTestFactory.setDfltLayerStack(Arrays.asList(DeviceLayerKind.STORAGE));
+        volumeTestFactory.setDfltVlmSize(VLM_SIZE_IN_KIB);
+
+        for (int idx = 0; idx < fanOut; ++idx)
+        {
+            String nodeName = String.format("node%03d", idx);
+            StorPool storPool = storPoolTestFactory.builder(nodeName, SyntheticCluster.STOR_POOL_NAME).build();
+            resources.add(
+                volumeTestFactory.builder(nodeName, "rsc").setStorPoolData(storPool).build().getAbsResource()
+            );
+        }
+
+        transMgrProvider.get().commit();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception
+    {
+        commitAndCleanUp(true);
+    }
+
+    @Benchmark
+    public List<byte[]> cached()
+    {
+        // a new cache per update, as every resource definition update starts with an empty cache
+        return serialize(createSerializer(new ProtoFragmentCache()), resources);
+    }
+
+    @Benchmark
+    public List<byte[]> uncached()
+    {
+        List<byte[]> msgs = new ArrayList<>();
+        for (Resource rsc : resources)
+        {
+            msgs.addAll(serialize(createSerializer(new ProtoFragmentCache()), Arrays.asList(rsc)));
+        }
+        return msgs;
+    }
+
+    private static List<byte[]> serialize(ProtoCtrlStltSerializer serializer, List<Resource> rscList)
+    {
+        List<byte[]> msgs = new ArrayList<>();
+        for (Resource rsc : rscList)
+        {
+            msgs.add(
+                serializer.onewayBuilder(InternalApiConsts.API_APPLY_RSC)
+                    .resource(rsc, 0, 0)
+                    .build()
+            );
+        }
+        return msgs;
+    }
+
+    private ProtoCtrlStltSerializer createSerializer(ProtoFragmentCache cache)
+    {
+        return new ProtoCtrlStltSerializer(errorReporter, SYS_CTX, new CtrlSecurityObjects(), null, cache);
+    }
+}
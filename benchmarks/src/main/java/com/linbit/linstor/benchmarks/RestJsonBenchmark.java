@@ -0,0 +1,84 @@
+package com.linbit.linstor.benchmarks;
+
+import com.linbit.linstor.api.rest.v1.serializer.Json;
+import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
+import com.linbit.linstor.core.apis.ResourceApi;
+import com.linbit.linstor.core.objects.Resource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The REST resource list ("GET /v1/view/resources"): collecting the API data of all resources, converting them into
+ * the generated JSON types and writing the response body.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RestJsonBenchmark extends SyntheticCluster
+{
+    private static final int NODE_COUNT = 32;
+    private static final int REPLICA_COUNT = 3;
+
+    @Param({"1000", "10000"})
+    public int rscDfnCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<JsonGenTypes.ResourceWithVolumes> jsonResources;
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        setUpCluster(NODE_COUNT, rscDfnCount, REPLICA_COUNT);
+        jsonResources = toJson();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception
+    {
+        tearDownCluster();
+    }
+
+    @Benchmark
+    public List<JsonGenTypes.ResourceWithVolumes> toJson() throws Exception
+    {
+        List<JsonGenTypes.ResourceWithVolumes> ret = new ArrayList<>(resources.size());
+        for (Resource rsc : resources)
+        {
+            ResourceApi rscApi = rsc.getApiData(SYS_CTX, null, null, null);
+            ret.add(Json.apiToResourceWithVolumes(rscApi, Collections.emptyMap(), true));
+        }
+        return ret;
+    }
+
+    @Benchmark
+    public String writeJson() throws Exception
+    {
+        return objectMapper.writeValueAsString(jsonResources);
+    }
+
+    @Benchmark
+    public String listResources() throws Exception
+    {
+        return objectMapper.writeValueAsString(toJson());
+    }
+}
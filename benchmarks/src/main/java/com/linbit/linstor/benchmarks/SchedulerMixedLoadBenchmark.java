@@ -0,0 +1,147 @@
+package com.linbit.linstor.benchmarks;
+
+import com.linbit.linstor.LinStorSchedulers;
+import com.linbit.linstor.core.LinStor;
+import com.linbit.linstor.metrics.LinStorMetrics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Latency distribution (see the p0.99 of JMH's sample time mode) of short CPU bound tasks, e.g. publishing an event or
+ * answering a cheap API call, while API scopes keep waiting for locks and database commits.
+ *
+ * "shared" runs both kinds of work on a single parallel pool, as before the worker pools were split. "split" uses the
+ * main and the blocking worker pool of {@link LinStorSchedulers}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchedulerMixedLoadBenchmark
+{
+    /** Simulated lock and database wait of a blocking task */
+    private static final long BLOCKING_TASK_MILLIS = 5;
+    /** Simulated work of a CPU bound task, in JMH's abstract "tokens" */
+    private static final int CPU_TASK_TOKENS = 1_000;
+
+    @Param({"shared", "split"})
+    public String setup;
+
+    /** Blocking tasks kept in flight per CPU */
+    @Param({"2"})
+    public int blockingTasksPerCpu;
+
+    private LinStorSchedulers linStorSchedulers;
+    private Scheduler sharedScheduler;
+    private Scheduler cpuScheduler;
+    private Scheduler blockingScheduler;
+
+    private Semaphore blockingSlots;
+    private Thread blockingLoad;
+    private volatile boolean running;
+
+    @Setup
+    public void setUp()
+    {
+        if (setup.equals("shared"))
+        {
+            sharedScheduler = Schedulers.newParallel("SharedWorkerPool");
+            cpuScheduler = sharedScheduler;
+            blockingScheduler = sharedScheduler;
+        }
+        else
+        {
+            linStorSchedulers = new LinStorSchedulers(new LinStorMetrics());
+            cpuScheduler = linStorSchedulers.getMainScheduler();
+            blockingScheduler = linStorSchedulers.getBlockingScheduler();
+        }
+
+        blockingSlots = new Semaphore(LinStor.CPU_COUNT * blockingTasksPerCpu);
+        running = true;
+        blockingLoad = new Thread(this::runBlockingLoad, "BlockingLoad");
+        blockingLoad.setDaemon(true);
+        blockingLoad.start();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException
+    {
+        running = false;
+        blockingLoad.interrupt();
+        blockingLoad.join();
+        if (linStorSchedulers != null)
+        {
+            linStorSchedulers.dispose();
+        }
+        else
+        {
+            sharedScheduler.dispose();
+        }
+    }
+
+    @Benchmark
+    public long cpuTask() throws Exception
+    {
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        cpuScheduler.schedule(
+            () ->
+            {
+                Blackhole.consumeCPU(CPU_TASK_TOKENS);
+                result.complete(System.nanoTime());
+            }
+        );
+        return result.get();
+    }
+
+    private void runBlockingLoad()
+    {
+        try
+        {
+            while (running)
+            {
+                blockingSlots.acquire();
+                blockingScheduler.schedule(
+                    () ->
+                    {
+                        try
+                        {
+                            Thread.sleep(BLOCKING_TASK_MILLIS);
+                        }
+                        catch (InterruptedException ignored)
+                        {
+                            Thread.currentThread().interrupt();
+                        }
+                        finally
+                        {
+                            blockingSlots.release();
+                        }
+                    }
+                );
+            }
+        }
+        catch (InterruptedException ignored)
+        {
+            // stopped by tearDown
+        }
+    }
+}
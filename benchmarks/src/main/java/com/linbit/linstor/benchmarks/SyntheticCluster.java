@@ -0,0 +1,108 @@
+package com.linbit.linstor.benchmarks;
+
+import com.linbit.linstor.api.ApiConsts.ConnectionStatus;
+import com.linbit.linstor.core.identifier.NetInterfaceName;
+import com.linbit.linstor.core.objects.Node;
+import com.linbit.linstor.core.objects.Resource;
+import com.linbit.linstor.core.objects.ResourceDefinition;
+import com.linbit.linstor.core.objects.StorPool;
+import com.linbit.linstor.netcom.Peer;
+import com.linbit.linstor.security.GenericDbBase;
+import com.linbit.linstor.storage.kinds.DeviceLayerKind;
+import com.linbit.linstor.storage.kinds.DeviceProviderKind;
+import com.linbit.linstor.utils.externaltools.ExtToolsManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.mockito.Mockito;
+
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * A controller with an in-memory database (the same setup as the unit tests) and a synthetic cluster of online
+ * satellites, each with a net interface and a LVM storage pool "sp". The resources are placed round robin on the
+ * nodes with the default DRBD, STORAGE layer stack.
+ *
+ * The controller's scope stays entered until {@link #tearDownCluster()}, the benchmark methods therefore have to run
+ * in the thread that created the cluster, which is the case for JMH's trial level setup of a single threaded
+ * benchmark.
+ */
+public class SyntheticCluster extends GenericDbBase
+{
+    static final String STOR_POOL_NAME = "sp";
+    static final long VLM_SIZE_IN_KIB = 1024 * 1024;
+    static final long STOR_POOL_SIZE_IN_KIB = 1024L * 1024 * 1024;
+
+    protected final List<Node> nodes = new ArrayList<>();
+    protected final List<StorPool> storPools = new ArrayList<>();
+    protected final List<ResourceDefinition> rscDfns = new ArrayList<>();
+    protected final List<Resource> resources = new ArrayList<>();
+
+    protected void setUpCluster(int nodeCount, int rscDfnCount, int replicaCount) throws Exception
+    {
+        setUpBeforeClass();
+        setUpAndEnterScope();
+
+        resourceGroupTestFactory.initDfltRscGrp();
+        volumeTestFactory.setDfltVlmSize(VLM_SIZE_IN_KIB);
+
+        for (int nodeIdx = 0; nodeIdx < nodeCount; ++nodeIdx)
+        {
+            String nodeName = String.format("node%03d", nodeIdx);
+            Node node = nodeTestFactory.create(nodeName);
+            netInterfaceTestFactory.create(node, NetInterfaceName.DEFAULT_NET_INTERFACE_NAME.displayValue);
+            node.setPeer(SYS_CTX, createOnlinePeer());
+            nodesMap.put(node.getName(), node);
+            nodes.add(node);
+
+            StorPool storPool = storPoolTestFactory.builder(nodeName, STOR_POOL_NAME).build();
+            storPool.getFreeSpaceTracker().setCapacityInfo(SYS_CTX, STOR_POOL_SIZE_IN_KIB, STOR_POOL_SIZE_IN_KIB);
+            storPoolDfnMap.put(storPool.getDefinition(SYS_CTX).getName(), storPool.getDefinition(SYS_CTX));
+            storPools.add(storPool);
+        }
+
+        for (int rscIdx = 0; rscIdx < rscDfnCount; ++rscIdx)
+        {
+            String rscName = String.format("rsc%05d", rscIdx);
+            for (int replica = 0; replica < replicaCount; ++replica)
+            {
+                StorPool storPool = storPools.get((rscIdx + replica) % nodeCount);
+                Resource rsc = volumeTestFactory.builder(storPool.getNode().getName().displayValue, rscName)
+                    .setStorPoolData(storPool)
+                    .build()
+                    .getAbsResource();
+                resources.add(rsc);
+            }
+            ResourceDefinition rscDfn = resourceDefinitionTestFactory.get(rscName, false);
+            rscDfnMap.put(rscDfn.getName(), rscDfn);
+            rscDfns.add(rscDfn);
+        }
+
+        transMgrProvider.get().commit();
+    }
+
+    protected void tearDownCluster() throws Exception
+    {
+        commitAndCleanUp(true);
+    }
+
+    private static Peer createOnlinePeer()
+    {
+        ExtToolsManager extToolsMgr = Mockito.mock(ExtToolsManager.class);
+        Mockito.when(extToolsMgr.isLayerSupported(any())).thenReturn(true);
+        Mockito.when(extToolsMgr.isProviderSupported(any())).thenReturn(true);
+        Mockito.when(extToolsMgr.getSupportedLayers())
+            .thenReturn(new TreeSet<>(Arrays.asList(DeviceLayerKind.values())));
+        Mockito.when(extToolsMgr.getSupportedProviders())
+            .thenReturn(new TreeSet<>(Arrays.asList(DeviceProviderKind.values())));
+
+        Peer peer = Mockito.mock(Peer.class);
+        Mockito.when(peer.isOnline()).thenReturn(true);
+        Mockito.when(peer.getConnectionStatus()).thenReturn(ConnectionStatus.ONLINE);
+        Mockito.when(peer.getExtToolsManager()).thenReturn(extToolsMgr);
+        return peer;
+    }
+}
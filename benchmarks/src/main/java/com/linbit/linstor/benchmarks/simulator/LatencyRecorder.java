@@ -0,0 +1,85 @@
+package com.linbit.linstor.benchmarks.simulator;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the latencies of one kind of REST request and computes their percentiles
+ */
+class LatencyRecorder
+{
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final String name;
+    private long[] latenciesNanos = new long[1024];
+    private int count;
+    private long errorCount;
+
+    LatencyRecorder(String nameRef)
+    {
+        name = nameRef;
+    }
+
+    String getName()
+    {
+        return name;
+    }
+
+    synchronized void record(long latencyNanos, boolean success)
+    {
+        if (count == latenciesNanos.length)
+        {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+        }
+        latenciesNanos[count++] = latencyNanos;
+        if (!success)
+        {
+            ++errorCount;
+        }
+    }
+
+    /**
+     * @return The number of requests, failed requests, and the percentiles and the maximum of the latencies in ms
+     */
+    synchronized Map<String, Object> summarize()
+    {
+        long[] sorted = Arrays.copyOf(latenciesNanos, count);
+        Arrays.sort(sorted);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", count);
+        summary.put("errors", errorCount);
+        for (double percentile : PERCENTILES)
+        {
+            summary.put("p" + formatPercentile(percentile) + "_ms", toMillis(percentile(sorted, percentile)));
+        }
+        summary.put("max_ms", toMillis(count == 0 ? 0 : sorted[count - 1]));
+        return summary;
+    }
+
+    private static long percentile(long[] sorted, double percentile)
+    {
+        long ret = 0;
+        if (sorted.length > 0)
+        {
+            // nearest rank
+            int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+            ret = sorted[Math.max(0, rank - 1)];
+        }
+        return ret;
+    }
+
+    private static String formatPercentile(double percentile)
+    {
+        return percentile == Math.floor(percentile) ?
+            Long.toString((long) percentile) :
+            Double.toString(percentile).replace('.', '_');
+    }
+
+    private static double toMillis(long nanos)
+    {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,713 @@
+package com.linbit.linstor.benchmarks.simulator;
+
+import com.linbit.InvalidNameException;
+import com.linbit.SystemServiceStartException;
+import com.linbit.ValueOutOfRangeException;
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.ApiCallRcImpl;
+import com.linbit.linstor.api.ApiConsts;
+import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
+import com.linbit.linstor.api.prop.WhitelistProps;
+import com.linbit.linstor.api.protobuf.serializer.ProtoCtrlStltSerializer;
+import com.linbit.linstor.api.protobuf.serializer.ProtoFragmentCache;
+import com.linbit.linstor.benchmarks.simulator.SimulatedSatellite.SimulatedResource;
+import com.linbit.linstor.benchmarks.simulator.SimulatedSatellite.SimulatedStorPool;
+import com.linbit.linstor.core.CtrlSecurityObjects;
+import com.linbit.linstor.core.LinStor;
+import com.linbit.linstor.core.identifier.NodeName;
+import com.linbit.linstor.core.identifier.ResourceName;
+import com.linbit.linstor.core.identifier.VolumeNumber;
+import com.linbit.linstor.event.EventIdentifier;
+import com.linbit.linstor.event.common.ResourceState;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.logging.StderrErrorReporter;
+import com.linbit.linstor.netcom.ConnectionObserver;
+import com.linbit.linstor.netcom.IllegalMessageStateException;
+import com.linbit.linstor.netcom.Message;
+import com.linbit.linstor.netcom.MessageProcessor;
+import com.linbit.linstor.netcom.MessageTypes;
+import com.linbit.linstor.netcom.Peer;
+import com.linbit.linstor.netcom.TcpConnector;
+import com.linbit.linstor.netcom.TcpConnectorService;
+import com.linbit.linstor.proto.MsgHeaderOuterClass.MsgHeader;
+import com.linbit.linstor.proto.common.FilterOuterClass.Filter;
+import com.linbit.linstor.proto.javainternal.IntObjectIdOuterClass.IntObjectId;
+import com.linbit.linstor.proto.javainternal.c2s.IntRscOuterClass.IntRsc;
+import com.linbit.linstor.proto.javainternal.c2s.IntStorPoolOuterClass.IntStorPool;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntApplyDeletedRscOuterClass.MsgIntApplyDeletedRsc;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntApplyDeletedStorPoolOuterClass.MsgIntApplyDeletedStorPool;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntApplyFullSyncOuterClass.MsgIntApplyFullSync;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntApplyRscOuterClass.MsgIntApplyRsc;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntApplyStorPoolOuterClass.MsgIntApplyStorPool;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntAuthOuterClass.MsgIntAuth;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntApplyStorPoolSuccessOuterClass.MsgIntApplyStorPoolSuccess;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntFreeSpaceOuterClass.MsgIntFreeSpace;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntFullSyncResponseOuterClass.FullSyncResult;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntFullSyncResponseOuterClass.MsgIntFullSyncResponse;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntUpdateFreeSpaceOuterClass.MsgIntUpdateFreeSpace;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntVlmAllocatedOuterClass.MsgIntVlmAllocated;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntVlmAllocatedOuterClass.VlmAllocated;
+import com.linbit.linstor.security.AccessContext;
+import com.linbit.linstor.security.DummySecurityInitializer;
+import com.linbit.linstor.storage.kinds.ExtTools;
+import com.linbit.linstor.storage.kinds.ExtToolsInfo;
+
+import javax.annotation.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.protobuf.MessageLite;
+
+/**
+ * Any number of fake satellites in one JVM, speaking the real controller-satellite protocol.
+ *
+ * A single {@link TcpConnectorService} accepts the connections of the controller. All simulated nodes are registered
+ * with the same address and port, the identity of a connection is taken from the node name of the controller's
+ * authentication message. The satellites answer the authentication, full syncs, resource and storage pool updates and
+ * the free space queries, and emit the resource state events the controller waits for before it reports a resource
+ * as ready. There is no storage and no DRBD, a deployed volume only reduces the free space of its storage pool.
+ *
+ * Messages are parsed and applied on the selector thread in the order they arrive, like the real satellite processes
+ * them in order. The replies are sent after a configurable latency, simulating the network and the device manager.
+ */
+public class SatelliteSimulator implements MessageProcessor, ConnectionObserver
+{
+    private static final int[] EXT_TOOL_VERSION = {9, 99, 0};
+    private static final List<ExtTools> SUPPORTED_EXT_TOOLS = List.of(
+        ExtTools.DRBD9_KERNEL,
+        ExtTools.DRBD9_UTILS,
+        ExtTools.CRYPT_SETUP,
+        ExtTools.LVM,
+        ExtTools.LVM_THIN,
+        ExtTools.THIN_SEND_RECV,
+        ExtTools.ZFS_KMOD,
+        ExtTools.ZFS_UTILS,
+        ExtTools.LOSETUP,
+        ExtTools.ZSTD,
+        ExtTools.SOCAT,
+        ExtTools.COREUTILS_LINUX,
+        ExtTools.UDEVADM
+    );
+
+    private final ErrorReporter errorReporter;
+    private final CtrlStltSerializer serializer;
+    private final TcpConnectorService connector;
+    private final ScheduledExecutorService replyExecutor;
+    private final WhitelistProps whitelistProps;
+
+    private final long replyLatencyMs;
+    private final long applyLatencyMs;
+    private final long latencyJitterMs;
+    private final long storPoolCapacityKib;
+
+    private final Map<String, SimulatedSatellite> satellitesByNodeName = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> receivedMessages = new ConcurrentHashMap<>();
+    private final AtomicLong fullSyncIdGen = new AtomicLong();
+
+    /**
+     * @param replyLatencyMsRef Latency of all replies, i.e. the network and the processing of the satellite
+     * @param applyLatencyMsRef Additional latency of applying resources, storage pools and full syncs, i.e. the
+     *     device manager run
+     * @param latencyJitterMsRef Maximum random latency added to every reply
+     * @param storPoolCapacityKibRef Capacity of every simulated storage pool
+     */
+    public SatelliteSimulator(
+        InetSocketAddress bindAddress,
+        long replyLatencyMsRef,
+        long applyLatencyMsRef,
+        long latencyJitterMsRef,
+        long storPoolCapacityKibRef,
+        int replyThreadCount
+    )
+    {
+        replyLatencyMs = replyLatencyMsRef;
+        applyLatencyMs = applyLatencyMsRef;
+        latencyJitterMs = latencyJitterMsRef;
+        storPoolCapacityKib = storPoolCapacityKibRef;
+
+        errorReporter = new StderrErrorReporter("SatelliteSimulator");
+        AccessContext sysCtx = DummySecurityInitializer.getSystemAccessContext();
+        serializer = new ProtoCtrlStltSerializer(
+            errorReporter,
+            sysCtx,
+            new CtrlSecurityObjects(),
+            null,
+            new ProtoFragmentCache()
+        );
+        whitelistProps = new WhitelistProps(errorReporter);
+        connector = new TcpConnectorService(
+            errorReporter,
+            serializer,
+            this,
+            bindAddress,
+            DummySecurityInitializer.getPublicAccessContext(),
+            sysCtx,
+            this
+        );
+        replyExecutor = Executors.newScheduledThreadPool(replyThreadCount);
+    }
+
+    public void start() throws SystemServiceStartException
+    {
+        connector.start();
+    }
+
+    public void shutdown() throws InterruptedException
+    {
+        connector.shutdown();
+        connector.awaitShutdown(TimeUnit.SECONDS.toMillis(10));
+        replyExecutor.shutdownNow();
+    }
+
+    /**
+     * @return The number of authenticated satellites
+     */
+    public int getConnectedCount()
+    {
+        return satellitesByNodeName.size();
+    }
+
+    /**
+     * @return The number of received messages by API call name
+     */
+    public Map<String, Long> getReceivedMessages()
+    {
+        Map<String, Long> ret = new TreeMap<>();
+        receivedMessages.forEach((apiCall, count) -> ret.put(apiCall, count.sum()));
+        return ret;
+    }
+
+    /**
+     * @return The number of deployed resources, summed up over all simulated satellites
+     */
+    public int getResourceCount()
+    {
+        int count = 0;
+        for (SimulatedSatellite stlt : satellitesByNodeName.values())
+        {
+            synchronized (stlt)
+            {
+                count += stlt.getResources().size();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void processMessage(Message msg, TcpConnector connectorRef, Peer peer)
+    {
+        try
+        {
+            peer.pongReceived();
+            switch (msg.getType())
+            {
+                case MessageTypes.DATA:
+                    processData(peer, new ByteArrayInputStream(msg.getData()));
+                    break;
+                case MessageTypes.PING:
+                    peer.sendPong();
+                    break;
+                default:
+                    // PONG, already handled by pongReceived
+                    break;
+            }
+        }
+        catch (IllegalMessageStateException | IOException | InvalidNameException | ValueOutOfRangeException exc)
+        {
+            errorReporter.reportError(exc);
+        }
+        catch (RuntimeException exc)
+        {
+            // do not let a single broken message kill the selector thread
+            errorReporter.reportError(exc);
+        }
+    }
+
+    private void processData(Peer peer, InputStream msgDataIn)
+        throws IOException, InvalidNameException, ValueOutOfRangeException
+    {
+        MsgHeader header = MsgHeader.parseDelimitedFrom(msgDataIn);
+        String apiCall = header.getMsgContent();
+        receivedMessages.computeIfAbsent(apiCall, ignored -> new LongAdder()).increment();
+
+        if (header.getMsgType() == MsgHeader.MsgType.API_CALL)
+        {
+            processApiCall(peer, apiCall, header.getApiCallId(), msgDataIn);
+        }
+        else
+        if (header.getMsgType() == MsgHeader.MsgType.ONEWAY)
+        {
+            SimulatedSatellite stlt = (SimulatedSatellite) peer.getAttachment();
+            if (stlt != null)
+            {
+                synchronized (stlt)
+                {
+                    processOneway(stlt, apiCall, msgDataIn);
+                }
+            }
+        }
+        // the simulated satellites do not call the controller, answers are not expected
+    }
+
+    private void processApiCall(Peer peer, String apiCall, long apiCallId, InputStream msgDataIn)
+        throws IOException, InvalidNameException, ValueOutOfRangeException
+    {
+        SimulatedSatellite stlt = (SimulatedSatellite) peer.getAttachment();
+        if (apiCall.equals(InternalApiConsts.API_AUTH))
+        {
+            authenticate(peer, apiCallId, MsgIntAuth.parseDelimitedFrom(msgDataIn));
+        }
+        else
+        if (stlt == null)
+        {
+            send(peer, replyLatencyMs, answer(apiCallId, (byte[]) null));
+        }
+        else
+        {
+            synchronized (stlt)
+            {
+                switch (apiCall)
+                {
+                    case InternalApiConsts.API_FULL_SYNC_DATA:
+                        fullSync(stlt, apiCallId, MsgIntApplyFullSync.parseDelimitedFrom(msgDataIn));
+                        break;
+                    case InternalApiConsts.API_CHANGED_RSC_DATA:
+                        IntRsc intRsc = MsgIntApplyRsc.parseDelimitedFrom(msgDataIn).getRsc();
+                        stlt.addPendingRscCall(intRsc.getLocalRsc().getName(), apiCallId);
+                        applyResource(stlt, intRsc);
+                        break;
+                    case InternalApiConsts.API_CHANGED_RSC:
+                        IntObjectId rscId = IntObjectId.parseDelimitedFrom(msgDataIn);
+                        stlt.addPendingRscCall(rscId.getName(), apiCallId);
+                        send(
+                            peer,
+                            replyLatencyMs,
+                            serializer.onewayBuilder(InternalApiConsts.API_REQUEST_RSC)
+                                .requestResourceUpdate(UUID.fromString(rscId.getUuid()), stlt.nodeName, rscId.getName())
+                                .build()
+                        );
+                        break;
+                    case InternalApiConsts.API_CHANGED_STOR_POOL:
+                        IntObjectId storPoolId = IntObjectId.parseDelimitedFrom(msgDataIn);
+                        stlt.addPendingStorPoolCall(storPoolId.getName(), apiCallId);
+                        send(
+                            peer,
+                            replyLatencyMs,
+                            serializer.onewayBuilder(InternalApiConsts.API_REQUEST_STOR_POOL)
+                                .requestStoragePoolUpdate(UUID.fromString(storPoolId.getUuid()), storPoolId.getName())
+                                .build()
+                        );
+                        break;
+                    case InternalApiConsts.API_REQUEST_THIN_FREE_SPACE:
+                        send(
+                            peer,
+                            replyLatencyMs,
+                            answer(
+                                apiCallId,
+                                InternalApiConsts.API_REQUEST_THIN_FREE_SPACE,
+                                delimited(
+                                    MsgIntFreeSpace.newBuilder()
+                                        .addAllFreeSpaces(stlt.getFreeSpaces(true))
+                                        .build()
+                                )
+                            )
+                        );
+                        break;
+                    case InternalApiConsts.API_REQUEST_VLM_ALLOCATED:
+                        send(
+                            peer,
+                            replyLatencyMs,
+                            answer(
+                                apiCallId,
+                                // same as the real satellite
+                                InternalApiConsts.API_REQUEST_THIN_FREE_SPACE,
+                                delimited(vlmAllocated(stlt, Filter.parseDelimitedFrom(msgDataIn)))
+                            )
+                        );
+                        break;
+                    default:
+                        // nodes, controller properties, snapshots, external files, remotes, watches, ...
+                        // are accepted without doing anything
+                        send(peer, replyLatencyMs, answer(apiCallId, (byte[]) null));
+                        break;
+                }
+            }
+        }
+    }
+
+    private void processOneway(SimulatedSatellite stlt, String apiCall, InputStream msgDataIn)
+        throws IOException, InvalidNameException, ValueOutOfRangeException
+    {
+        switch (apiCall)
+        {
+            case InternalApiConsts.API_APPLY_RSC:
+                applyResource(stlt, MsgIntApplyRsc.parseDelimitedFrom(msgDataIn).getRsc());
+                break;
+            case InternalApiConsts.API_APPLY_RSC_DELETED:
+                String rscName = MsgIntApplyDeletedRsc.parseDelimitedFrom(msgDataIn).getRscName();
+                stlt.deleteResource(rscName);
+                sendResourceApplied(stlt, rscName, null);
+                break;
+            case InternalApiConsts.API_APPLY_STOR_POOL:
+                applyStorPool(stlt, MsgIntApplyStorPool.parseDelimitedFrom(msgDataIn).getStorPool());
+                break;
+            case InternalApiConsts.API_APPLY_STOR_POOL_DELETED:
+                String storPoolName = MsgIntApplyDeletedStorPool.parseDelimitedFrom(msgDataIn).getStorPoolName();
+                stlt.deleteStorPool(storPoolName);
+                List<byte[]> msgs = new ArrayList<>();
+                for (long apiCallId : stlt.takePendingStorPoolCalls(storPoolName))
+                {
+                    msgs.addAll(answer(apiCallId, ApiCallRcImpl.singleApiCallRc(ApiConsts.DELETED, "Deleted")));
+                }
+                send(stlt.peer, replyLatencyMs + applyLatencyMs, msgs);
+                break;
+            default:
+                // nodes, controller, external files, remotes, shared storage pool locks, ...
+                break;
+        }
+    }
+
+    private void authenticate(Peer peer, long apiCallId, MsgIntAuth auth)
+    {
+        String nodeName = auth.getNodeName();
+        SimulatedSatellite stlt = new SimulatedSatellite(
+            nodeName,
+            peer,
+            fullSyncIdGen.incrementAndGet(),
+            storPoolCapacityKib
+        );
+        peer.attach(stlt);
+        SimulatedSatellite replaced = satellitesByNodeName.put(nodeName, stlt);
+        if (replaced != null && replaced.peer != peer)
+        {
+            errorReporter.logWarning("Simulated satellite '%s' was reconnected", nodeName);
+        }
+
+        List<ExtToolsInfo> extTools = new ArrayList<>();
+        for (ExtTools extTool : ExtTools.values())
+        {
+            boolean supported = SUPPORTED_EXT_TOOLS.contains(extTool);
+            extTools.add(
+                new ExtToolsInfo(
+                    extTool,
+                    supported,
+                    supported ? EXT_TOOL_VERSION[0] : null,
+                    supported ? EXT_TOOL_VERSION[1] : null,
+                    supported ? EXT_TOOL_VERSION[2] : null,
+                    supported ? Collections.emptyList() : List.of("not simulated")
+                )
+            );
+        }
+
+        byte[] authResponse = serializer.headerlessBuilder()
+            .authSuccess(
+                stlt.fullSyncId,
+                LinStor.VERSION_INFO_PROVIDER.getSemanticVersion(),
+                nodeName,
+                extTools,
+                new ApiCallRcImpl(),
+                "/etc/linstor",
+                false,
+                false,
+                "/var/log/linstor-satellite",
+                "INFO",
+                null,
+                null,
+                false,
+                false,
+                null,
+                "127.0.0.1",
+                ApiConsts.DFLT_STLT_PORT_PLAIN,
+                ApiConsts.VAL_NETCOM_TYPE_PLAIN,
+                Collections.emptySet(),
+                whitelistProps
+            )
+            .build();
+        send(peer, replyLatencyMs, answer(apiCallId, InternalApiConsts.API_AUTH_RESPONSE, authResponse));
+    }
+
+    private void fullSync(SimulatedSatellite stlt, long apiCallId, MsgIntApplyFullSync fullSync)
+        throws InvalidNameException, ValueOutOfRangeException
+    {
+        for (IntStorPool storPool : fullSync.getStorPoolsList())
+        {
+            if (storPool.getStorPool().getNodeName().equalsIgnoreCase(stlt.nodeName))
+            {
+                stlt.applyStorPool(storPool.getStorPool());
+            }
+        }
+        List<byte[]> msgs = new ArrayList<>();
+        for (IntRsc intRsc : fullSync.getRscsList())
+        {
+            SimulatedResource rsc = stlt.applyResource(intRsc);
+            if (rsc != null)
+            {
+                msgs.add(resourceStateEvent(stlt, rsc.name, rsc));
+            }
+        }
+
+        MsgIntFullSyncResponse response = MsgIntFullSyncResponse.newBuilder()
+            .setFullSyncResult(FullSyncResult.SUCCESS)
+            .addAllFreeSpace(stlt.getFreeSpaces(false))
+            .build();
+        msgs.addAll(0, answer(apiCallId, InternalApiConsts.API_FULL_SYNC_RESPONSE, delimited(response)));
+        send(stlt.peer, replyLatencyMs + applyLatencyMs, msgs);
+    }
+
+    private void applyResource(SimulatedSatellite stlt, IntRsc intRsc)
+        throws InvalidNameException, ValueOutOfRangeException
+    {
+        String rscName = intRsc.getLocalRsc().getName();
+        SimulatedResource rsc = stlt.applyResource(intRsc);
+        sendResourceApplied(stlt, rscName, rsc);
+    }
+
+    /**
+     * Answers the pending updates of the resource and sends its new state, followed by the new free space of the
+     * storage pools.
+     */
+    private void sendResourceApplied(SimulatedSatellite stlt, String rscName, @Nullable SimulatedResource rsc)
+        throws InvalidNameException, ValueOutOfRangeException
+    {
+        List<byte[]> msgs = new ArrayList<>();
+        msgs.add(resourceStateEvent(stlt, rscName, rsc));
+        ApiCallRcImpl rc = rsc == null ?
+            ApiCallRcImpl.singleApiCallRc(ApiConsts.DELETED, "Resource '" + rscName + "' deleted") :
+            ApiCallRcImpl.singleApiCallRc(ApiConsts.MODIFIED, "Resource '" + rscName + "' applied");
+        for (long apiCallId : stlt.takePendingRscCalls(rscName))
+        {
+            msgs.addAll(answer(apiCallId, rc));
+        }
+        msgs.add(
+            serializer.onewayBuilder(InternalApiConsts.API_UPDATE_FREE_CAPACITY)
+                .bytes(delimited(MsgIntUpdateFreeSpace.newBuilder().addAllFreeSpace(stlt.getFreeSpaces(false)).build()))
+                .build()
+        );
+        send(stlt.peer, replyLatencyMs + applyLatencyMs, msgs);
+    }
+
+    private void applyStorPool(SimulatedSatellite stlt, IntStorPool intStorPool)
+    {
+        String storPoolName = intStorPool.getStorPool().getStorPoolName();
+        stlt.applyStorPool(intStorPool.getStorPool());
+        SimulatedStorPool storPool = stlt.getStorPool(storPoolName);
+
+        List<byte[]> msgs = new ArrayList<>();
+        for (long apiCallId : stlt.takePendingStorPoolCalls(storPoolName))
+        {
+            msgs.addAll(answer(apiCallId, ApiCallRcImpl.singleApiCallRc(ApiConsts.MODIFIED, "Applied")));
+        }
+        msgs.add(
+            serializer.onewayBuilder(InternalApiConsts.API_NOTIFY_STOR_POOL_APPLIED)
+                .bytes(
+                    delimited(
+                        MsgIntApplyStorPoolSuccess.newBuilder()
+                            .setStorPoolName(storPoolName)
+                            .setFreeSpace(storPool.toFreeSpace())
+                            .setSupportsSnapshots(storPool.isThin())
+                            .build()
+                    )
+                )
+                .build()
+        );
+        send(stlt.peer, replyLatencyMs + applyLatencyMs, msgs);
+    }
+
+    private MsgIntVlmAllocated vlmAllocated(SimulatedSatellite stlt, Filter filter)
+    {
+        MsgIntVlmAllocated.Builder builder = MsgIntVlmAllocated.newBuilder();
+        for (SimulatedResource rsc : stlt.getResources())
+        {
+            if (!rsc.diskless && (filter.getResourceNamesCount() == 0 || containsIgnoreCase(filter, rsc.name)))
+            {
+                for (Map.Entry<Integer, String> entry : rsc.vlmStorPools.entrySet())
+                {
+                    SimulatedStorPool storPool = stlt.getStorPool(entry.getValue());
+                    if (storPool != null && storPool.isThin())
+                    {
+                        builder.addAllocatedCapacities(
+                            VlmAllocated.newBuilder()
+                                .setRscName(rsc.name)
+                                .setVlmNr(entry.getKey())
+                                .setAllocated(rsc.vlmSizes.getOrDefault(entry.getKey(), 0L))
+                                .build()
+                        );
+                    }
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static boolean containsIgnoreCase(Filter filter, String rscName)
+    {
+        boolean ret = false;
+        for (String filterRscName : filter.getResourceNamesList())
+        {
+            if (filterRscName.equalsIgnoreCase(rscName))
+            {
+                ret = true;
+                break;
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * A resource is reported as ready as soon as it is applied: up to date data is accessible and all peers are
+     * connected. A deleted resource closes its event stream.
+     */
+    private byte[] resourceStateEvent(SimulatedSatellite stlt, String rscName, @Nullable SimulatedResource rsc)
+        throws InvalidNameException, ValueOutOfRangeException
+    {
+        EventIdentifier eventId = EventIdentifier.resource(
+            InternalApiConsts.EVENT_RESOURCE_STATE,
+            new NodeName(stlt.nodeName),
+            new ResourceName(rscName)
+        );
+        byte[] msg;
+        if (rsc == null)
+        {
+            msg = serializer.onewayBuilder(ApiConsts.API_EVENT)
+                .event(0, eventId, InternalApiConsts.EVENT_STREAM_CLOSE_REMOVED)
+                .build();
+        }
+        else
+        {
+            Map<VolumeNumber, Map<Integer, Boolean>> peersConnected = new HashMap<>();
+            for (Integer vlmNr : rsc.vlmSizes.keySet())
+            {
+                Map<Integer, Boolean> peers = new HashMap<>();
+                for (Integer peerNodeId : rsc.peerNodeIds)
+                {
+                    peers.put(peerNodeId, true);
+                }
+                peersConnected.put(new VolumeNumber(vlmNr), peers);
+            }
+            ResourceState state = new ResourceState(true, peersConnected, false, !rsc.diskless, null, null);
+            msg = serializer.onewayBuilder(ApiConsts.API_EVENT)
+                .event(0, eventId, InternalApiConsts.EVENT_STREAM_VALUE)
+                .bytes(serializer.headerlessBuilder().resourceStateEvent(state).build())
+                .build();
+        }
+        return msg;
+    }
+
+    private List<byte[]> answer(long apiCallId, ApiCallRcImpl rc)
+    {
+        return answer(
+            apiCallId,
+            serializer.answerBuilder(ApiConsts.API_REPLY, apiCallId).apiCallRcSeries(rc).build()
+        );
+    }
+
+    private List<byte[]> answer(long apiCallId, String answerName, byte[] answerBytes)
+    {
+        return answer(apiCallId, serializer.answerBuilder(answerName, apiCallId).bytes(answerBytes).build());
+    }
+
+    /**
+     * The complete answer of an API call: the optional answer message, the end of the immediate answers and the
+     * completion of the API call
+     */
+    private List<byte[]> answer(long apiCallId, @Nullable byte[] answerMsg)
+    {
+        List<byte[]> msgs = new ArrayList<>(3);
+        if (answerMsg != null)
+        {
+            msgs.add(answerMsg);
+        }
+        msgs.add(serializer.answerBuilder(ApiConsts.API_END_OF_IMMEDIATE_ANSWERS, apiCallId).build());
+        msgs.add(serializer.completionBuilder(apiCallId).build());
+        return msgs;
+    }
+
+    private void send(Peer peer, long latencyMs, byte[] msg)
+    {
+        send(peer, latencyMs, Collections.singletonList(msg));
+    }
+
+    /**
+     * Sends the messages in the given order after the given latency plus a random jitter
+     */
+    private void send(Peer peer, long latencyMs, List<byte[]> msgs)
+    {
+        if (!msgs.isEmpty())
+        {
+            long jitterMs = latencyJitterMs > 0 ? ThreadLocalRandom.current().nextLong(latencyJitterMs) : 0;
+            long delayMs = latencyMs + jitterMs;
+            replyExecutor.schedule(
+                () ->
+                {
+                    for (byte[] msg : msgs)
+                    {
+                        peer.sendMessage(msg);
+                    }
+                },
+                delayMs,
+                TimeUnit.MILLISECONDS
+            );
+        }
+    }
+
+    private static byte[] delimited(MessageLite msg)
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try
+        {
+            msg.writeDelimitedTo(baos);
+        }
+        catch (IOException exc)
+        {
+            // cannot happen for a ByteArrayOutputStream
+            throw new IllegalStateException(exc);
+        }
+        return baos.toByteArray();
+    }
+
+    @Override
+    public void outboundConnectionEstablished(Peer connPeer)
+    {
+        // the simulated satellites do not connect to anything
+    }
+
+    @Override
+    public void outboundConnectionEstablishing(Peer peerRef)
+    {
+        // the simulated satellites do not connect to anything
+    }
+
+    @Override
+    public void inboundConnectionEstablished(Peer connPeer)
+    {
+        // the satellite is registered once the controller authenticated it
+    }
+
+    @Override
+    public void connectionClosed(Peer connPeer, boolean allowReconnect, boolean shuttingDown)
+    {
+        SimulatedSatellite stlt = (SimulatedSatellite) connPeer.getAttachment();
+        if (stlt != null)
+        {
+            satellitesByNodeName.remove(stlt.nodeName, stlt);
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package com.linbit.linstor.benchmarks.simulator;
+
+import com.linbit.linstor.api.ApiConsts;
+import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Drives a controller through its REST API: registers the simulated nodes and their storage pools, then creates,
+ * lists and deletes resources at configured rates and records the latency of every request. The controller's heap
+ * and GC metrics are scraped from its prometheus endpoint during the run.
+ *
+ * A request that cannot be started because the maximum number of requests is already in flight is counted as
+ * skipped instead of being queued, so the configured rate is never exceeded and an overloaded controller shows up as
+ * skipped requests rather than as an ever growing queue.
+ */
+class ScenarioDriver
+{
+    private static final String NODE_NAME_FORMAT = "sim-%05d";
+    private static final String RSC_NAME_FORMAT = "sim-rsc-%07d";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(5);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final URI controllerUri;
+    private final int maxInFlight;
+
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+    private final AtomicLong skippedRequests = new AtomicLong();
+    private final AtomicLong rscIdGen = new AtomicLong();
+    private final ConcurrentLinkedQueue<String> createdRscNames = new ConcurrentLinkedQueue<>();
+
+    private final List<Map<String, Object>> jvmSamples = Collections.synchronizedList(new ArrayList<>());
+
+    ScenarioDriver(URI controllerUriRef, int maxInFlightRef)
+    {
+        controllerUri = controllerUriRef;
+        maxInFlight = maxInFlightRef;
+        httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    }
+
+    /**
+     * Creates the nodes, all of them pointing to the same address and port of the simulator
+     */
+    void createNodes(int nodeCount, String stltAddress, int stltPort) throws InterruptedException
+    {
+        List<Runnable> nodeRequests = new ArrayList<>();
+        for (int nodeIdx = 0; nodeIdx < nodeCount; ++nodeIdx)
+        {
+            String nodeName = nodeName(nodeIdx);
+            nodeRequests.add(() -> post("node-create", "v1/nodes", node(nodeName, stltAddress, stltPort)));
+        }
+        runAll(nodeRequests);
+    }
+
+    /**
+     * Creates one storage pool per node
+     */
+    void createStorPools(int nodeCount, String storPoolName, String providerKind) throws InterruptedException
+    {
+        List<Runnable> storPoolRequests = new ArrayList<>();
+        for (int nodeIdx = 0; nodeIdx < nodeCount; ++nodeIdx)
+        {
+            String nodeName = nodeName(nodeIdx);
+            storPoolRequests.add(
+                () -> post(
+                    "storpool-create",
+                    "v1/nodes/" + nodeName + "/storage-pools",
+                    storPool(storPoolName, providerKind)
+                )
+            );
+        }
+        runAll(storPoolRequests);
+    }
+
+    /**
+     * Waits until the controller reports the given number of simulated nodes as online
+     *
+     * @return True if all nodes are online
+     */
+    boolean awaitOnline(int nodeCount, Duration timeout) throws IOException, InterruptedException
+    {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        int onlineCount;
+        do
+        {
+            HttpResponse<String> response = httpClient.send(
+                request("v1/nodes").GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+            );
+            List<JsonGenTypes.Node> nodes = objectMapper.readValue(
+                response.body(),
+                new TypeReference<List<JsonGenTypes.Node>>()
+                {
+                }
+            );
+            onlineCount = 0;
+            for (JsonGenTypes.Node node : nodes)
+            {
+                boolean online = ApiConsts.ConnectionStatus.ONLINE.name().equals(node.connection_status);
+                if (online && node.name.startsWith("sim-"))
+                {
+                    ++onlineCount;
+                }
+            }
+            if (onlineCount < nodeCount)
+            {
+                Thread.sleep(1000);
+            }
+        }
+        while (onlineCount < nodeCount && System.nanoTime() < deadline);
+        return onlineCount >= nodeCount;
+    }
+
+    /**
+     * Creates autoplaced resources and lists all resources at the given rates (per second) for the given duration.
+     * The controller's JVM metrics are sampled every second.
+     */
+    void runLoad(
+        double createRate,
+        double listRate,
+        Duration duration,
+        int replicaCount,
+        long vlmSizeKib,
+        String storPoolName
+    )
+        throws InterruptedException
+    {
+        ExecutorService workers = Executors.newFixedThreadPool(maxInFlight);
+        // one thread for the scraping of the metrics, which must not delay the requests
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        if (createRate > 0)
+        {
+            scheduleAtRate(
+                scheduler,
+                workers,
+                inFlight,
+                createRate,
+                () -> createResource(replicaCount, vlmSizeKib, storPoolName)
+            );
+        }
+        if (listRate > 0)
+        {
+            scheduleAtRate(scheduler, workers, inFlight, listRate, () -> get("rsc-list", "v1/view/resources"));
+        }
+        scheduler.scheduleAtFixedRate(this::sampleJvmMetrics, 0, 1, TimeUnit.SECONDS);
+
+        Thread.sleep(duration.toMillis());
+
+        scheduler.shutdownNow();
+        workers.shutdown();
+        workers.awaitTermination(REQUEST_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        sampleJvmMetrics();
+    }
+
+    /**
+     * Deletes all resource definitions created by {@link #runLoad} at the given rate (per second)
+     */
+    void deleteResources(double deleteRate) throws InterruptedException
+    {
+        ExecutorService workers = Executors.newFixedThreadPool(maxInFlight);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / deleteRate);
+
+        String rscName = createdRscNames.poll();
+        while (rscName != null)
+        {
+            String path = "v1/resource-definitions/" + rscName;
+            // blocks instead of skipping, all resources have to be deleted
+            inFlight.acquire();
+            workers.execute(
+                () ->
+                {
+                    try
+                    {
+                        send("rscdfn-delete", request(path).DELETE().build());
+                    }
+                    finally
+                    {
+                        inFlight.release();
+                    }
+                }
+            );
+            TimeUnit.NANOSECONDS.sleep(intervalNanos);
+            rscName = createdRscNames.poll();
+        }
+        workers.shutdown();
+        workers.awaitTermination(REQUEST_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return The latency summaries by request kind, the skipped requests and the JVM metric samples of the
+     *     controller
+     */
+    Map<String, Object> report()
+    {
+        Map<String, Object> latencies = new LinkedHashMap<>();
+        synchronized (recorders)
+        {
+            for (LatencyRecorder recorder : recorders.values())
+            {
+                latencies.put(recorder.getName(), recorder.summarize());
+            }
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("latencies", latencies);
+        report.put("skipped_requests", skippedRequests.get());
+        synchronized (jvmSamples)
+        {
+            report.put("controller_jvm", new ArrayList<>(jvmSamples));
+        }
+        return report;
+    }
+
+    private void scheduleAtRate(
+        ScheduledExecutorService scheduler,
+        ExecutorService workers,
+        Semaphore inFlight,
+        double rate,
+        Runnable operation
+    )
+    {
+        scheduler.scheduleAtFixedRate(
+            () ->
+            {
+                if (inFlight.tryAcquire())
+                {
+                    workers.execute(
+                        () ->
+                        {
+                            try
+                            {
+                                operation.run();
+                            }
+                            finally
+                            {
+                                inFlight.release();
+                            }
+                        }
+                    );
+                }
+                else
+                {
+                    skippedRequests.incrementAndGet();
+                }
+            },
+            0,
+            (long) (TimeUnit.SECONDS.toNanos(1) / rate),
+            TimeUnit.NANOSECONDS
+        );
+    }
+
+    private void createResource(int replicaCount, long vlmSizeKib, String storPoolName)
+    {
+        String rscName = String.format(RSC_NAME_FORMAT, rscIdGen.getAndIncrement());
+
+        JsonGenTypes.ResourceDefinitionCreate rscDfnCreate = new JsonGenTypes.ResourceDefinitionCreate();
+        rscDfnCreate.resource_definition.name = rscName;
+
+        JsonGenTypes.VolumeDefinitionCreate vlmDfnCreate = new JsonGenTypes.VolumeDefinitionCreate();
+        vlmDfnCreate.volume_definition.size_kib = vlmSizeKib;
+
+        JsonGenTypes.AutoPlaceRequest autoPlace = new JsonGenTypes.AutoPlaceRequest();
+        autoPlace.select_filter.place_count = replicaCount;
+        autoPlace.select_filter.storage_pool = storPoolName;
+
+        if (post("rscdfn-create", "v1/resource-definitions", rscDfnCreate))
+        {
+            createdRscNames.add(rscName);
+            String rscDfnPath = "v1/resource-definitions/" + rscName;
+            if (post("vlmdfn-create", rscDfnPath + "/volume-definitions", vlmDfnCreate))
+            {
+                post("autoplace", rscDfnPath + "/autoplace", autoPlace);
+            }
+        }
+    }
+
+    private void sampleJvmMetrics()
+    {
+        try
+        {
+            HttpResponse<String> response = httpClient.send(
+                request("metrics?resource=false&storage_pools=false&error_reports=false").GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+            );
+            Map<String, Object> sample = new LinkedHashMap<>();
+            sample.put("timestamp_ms", System.currentTimeMillis());
+            sample.put("heap_used_bytes", sumMetric(response.body(), "jvm_memory_bytes_used", "area=\"heap\""));
+            sample.put(
+                "heap_committed_bytes",
+                sumMetric(response.body(), "jvm_memory_bytes_committed", "area=\"heap\"")
+            );
+            sample.put("gc_count", sumMetric(response.body(), "jvm_gc_collection_seconds_count", null));
+            sample.put("gc_seconds", sumMetric(response.body(), "jvm_gc_collection_seconds_sum", null));
+            jvmSamples.add(sample);
+        }
+        catch (IOException exc)
+        {
+            System.err.println("Failed to scrape the controller's metrics: " + exc.getMessage());
+        }
+        catch (InterruptedException exc)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Sums up all samples of the given metric in the prometheus text format, optionally only the samples with the
+     * given label
+     */
+    static double sumMetric(String promText, String metricName, @Nullable String label)
+    {
+        double sum = 0;
+        for (String line : promText.split("\n"))
+        {
+            if (
+                (line.startsWith(metricName + "{") || line.startsWith(metricName + " ")) &&
+                    (label == null || line.contains(label))
+            )
+            {
+                try
+                {
+                    sum += Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+                }
+                catch (NumberFormatException ignored)
+                {
+                    // NaN or a timestamp we do not expect, skip the sample
+                }
+            }
+        }
+        return sum;
+    }
+
+    private void runAll(List<Runnable> requests) throws InterruptedException
+    {
+        ExecutorService workers = Executors.newFixedThreadPool(maxInFlight);
+        for (Runnable request : requests)
+        {
+            workers.execute(request);
+        }
+        workers.shutdown();
+        workers.awaitTermination(REQUEST_TIMEOUT.toMillis() * requests.size(), TimeUnit.MILLISECONDS);
+    }
+
+    private boolean post(String kind, String path, Object body)
+    {
+        boolean success;
+        try
+        {
+            success = send(
+                kind,
+                request(path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build()
+            );
+        }
+        catch (IOException exc)
+        {
+            // serialization of the JsonGenTypes
+            throw new IllegalStateException(exc);
+        }
+        return success;
+    }
+
+    private boolean get(String kind, String path)
+    {
+        return send(kind, request(path).GET().build());
+    }
+
+    private boolean send(String kind, HttpRequest request)
+    {
+        boolean success = false;
+        long start = System.nanoTime();
+        try
+        {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() / 100 == 2;
+        }
+        catch (IOException exc)
+        {
+            // counted as failed request
+        }
+        catch (InterruptedException exc)
+        {
+            Thread.currentThread().interrupt();
+        }
+        recorder(kind).record(System.nanoTime() - start, success);
+        return success;
+    }
+
+    private LatencyRecorder recorder(String kind)
+    {
+        synchronized (recorders)
+        {
+            return recorders.computeIfAbsent(kind, LatencyRecorder::new);
+        }
+    }
+
+    private HttpRequest.Builder request(String path)
+    {
+        return HttpRequest.newBuilder(controllerUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private static String nodeName(int nodeIdx)
+    {
+        return String.format(NODE_NAME_FORMAT, nodeIdx);
+    }
+
+    private static JsonGenTypes.Node node(String nodeName, String stltAddress, int stltPort)
+    {
+        JsonGenTypes.NetInterface netIf = new JsonGenTypes.NetInterface();
+        netIf.name = "default";
+        netIf.address = stltAddress;
+        netIf.satellite_port = stltPort;
+        netIf.satellite_encryption_type = ApiConsts.VAL_NETCOM_TYPE_PLAIN;
+
+        JsonGenTypes.Node node = new JsonGenTypes.Node();
+        node.name = nodeName;
+        node.type = ApiConsts.VAL_NODE_TYPE_STLT;
+        node.net_interfaces = Collections.singletonList(netIf);
+        return node;
+    }
+
+    private static JsonGenTypes.StoragePool storPool(String storPoolName, String providerKind)
+    {
+        JsonGenTypes.StoragePool storPool = new JsonGenTypes.StoragePool();
+        storPool.storage_pool_name = storPoolName;
+        storPool.provider_kind = providerKind;
+        // the pool does not exist anywhere, the simulated satellite does not care
+        storPool.props = Collections.singletonMap(
+            ApiConsts.NAMESPC_STORAGE_DRIVER + "/" + ApiConsts.KEY_STOR_POOL_NAME,
+            providerKind.endsWith("_THIN") ? "simvg/simthin" : "simvg"
+        );
+        return storPool;
+    }
+}
@@ -0,0 +1,321 @@
+package com.linbit.linstor.benchmarks.simulator;
+
+import com.linbit.linstor.core.objects.Resource;
+import com.linbit.linstor.netcom.Peer;
+import com.linbit.linstor.proto.common.LayerTypeOuterClass.LayerType;
+import com.linbit.linstor.proto.common.ProviderTypeOuterClass.ProviderType;
+import com.linbit.linstor.proto.common.RscDfnOuterClass.RscDfn;
+import com.linbit.linstor.proto.common.RscLayerDataOuterClass.RscLayerData;
+import com.linbit.linstor.proto.common.RscOuterClass.Rsc;
+import com.linbit.linstor.proto.common.StorPoolFreeSpaceOuterClass.StorPoolFreeSpace;
+import com.linbit.linstor.proto.common.StorPoolOuterClass.StorPool;
+import com.linbit.linstor.proto.common.StorageRscOuterClass.StorageVlm;
+import com.linbit.linstor.proto.common.VlmDfnOuterClass.VlmDfn;
+import com.linbit.linstor.proto.javainternal.c2s.IntRscOuterClass.IntOtherRsc;
+import com.linbit.linstor.proto.javainternal.c2s.IntRscOuterClass.IntRsc;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * The state of one simulated satellite: the storage pools with their simulated capacity and the deployed resources.
+ * Nothing is backed by real storage, deploying a volume only reduces the free space of its storage pool.
+ *
+ * Not thread safe, the {@link SatelliteSimulator} synchronizes on the instance.
+ */
+class SimulatedSatellite
+{
+    static class SimulatedStorPool
+    {
+        final UUID uuid;
+        final String name;
+        final ProviderType providerKind;
+        final long capacityKib;
+        long allocatedKib;
+
+        SimulatedStorPool(UUID uuidRef, String nameRef, ProviderType providerKindRef, long capacityKibRef)
+        {
+            uuid = uuidRef;
+            name = nameRef;
+            providerKind = providerKindRef;
+            capacityKib = capacityKibRef;
+        }
+
+        boolean isThin()
+        {
+            return providerKind == ProviderType.LVM_THIN ||
+                providerKind == ProviderType.ZFS_THIN ||
+                providerKind == ProviderType.FILE_THIN ||
+                providerKind == ProviderType.STORAGE_SPACES_THIN;
+        }
+
+        StorPoolFreeSpace toFreeSpace()
+        {
+            boolean diskless = providerKind == ProviderType.DISKLESS;
+            long capacity = diskless ? Long.MAX_VALUE : capacityKib;
+            long free = diskless ? Long.MAX_VALUE : Math.max(0, capacityKib - allocatedKib);
+            return StorPoolFreeSpace.newBuilder()
+                .setStorPoolUuid(uuid.toString())
+                .setStorPoolName(name)
+                .setFreeCapacity(free)
+                .setTotalCapacity(capacity)
+                .build();
+        }
+    }
+
+    static class SimulatedResource
+    {
+        final String name;
+        final boolean diskless;
+        /** volume number to size in KiB */
+        final Map<Integer, Long> vlmSizes;
+        /** volume number to the name of the storage pool the volume was allocated from */
+        final Map<Integer, String> vlmStorPools;
+        /** DRBD node ids of the peers, all of them are reported as connected */
+        final Collection<Integer> peerNodeIds;
+
+        SimulatedResource(
+            String nameRef,
+            boolean disklessRef,
+            Map<Integer, Long> vlmSizesRef,
+            Map<Integer, String> vlmStorPoolsRef,
+            Collection<Integer> peerNodeIdsRef
+        )
+        {
+            name = nameRef;
+            diskless = disklessRef;
+            vlmSizes = vlmSizesRef;
+            vlmStorPools = vlmStorPoolsRef;
+            peerNodeIds = peerNodeIdsRef;
+        }
+    }
+
+    final String nodeName;
+    final Peer peer;
+    final long fullSyncId;
+
+    private final long storPoolCapacityKib;
+    private final Map<String, SimulatedStorPool> storPools = new TreeMap<>();
+    private final Map<String, SimulatedResource> resources = new TreeMap<>();
+
+    /** API call ids of "changed" notifications, answered once the requested data was applied */
+    private final Map<String, List<Long>> pendingRscCalls = new HashMap<>();
+    private final Map<String, List<Long>> pendingStorPoolCalls = new HashMap<>();
+
+    SimulatedSatellite(String nodeNameRef, Peer peerRef, long fullSyncIdRef, long capacityKibRef)
+    {
+        nodeName = nodeNameRef;
+        peer = peerRef;
+        fullSyncId = fullSyncIdRef;
+        storPoolCapacityKib = capacityKibRef;
+    }
+
+    void applyStorPool(StorPool storPool)
+    {
+        String name = storPool.getStorPoolName();
+        SimulatedStorPool existing = storPools.get(name);
+        if (existing == null || !existing.uuid.toString().equals(storPool.getStorPoolUuid()))
+        {
+            storPools.put(
+                name,
+                new SimulatedStorPool(
+                    UUID.fromString(storPool.getStorPoolUuid()),
+                    name,
+                    storPool.getProviderKind(),
+                    storPoolCapacityKib
+                )
+            );
+        }
+    }
+
+    void deleteStorPool(String name)
+    {
+        storPools.remove(name);
+    }
+
+    @Nullable
+    SimulatedStorPool getStorPool(String name)
+    {
+        return storPools.get(name);
+    }
+
+    List<StorPoolFreeSpace> getFreeSpaces(boolean thinOnly)
+    {
+        List<StorPoolFreeSpace> freeSpaces = new ArrayList<>();
+        for (SimulatedStorPool storPool : storPools.values())
+        {
+            if (!thinOnly || storPool.isThin())
+            {
+                freeSpaces.add(storPool.toFreeSpace());
+            }
+        }
+        return freeSpaces;
+    }
+
+    /**
+     * Applies the given resource data. The volumes of a new or resized diskful resource are allocated from their
+     * storage pools, the volumes of a deleted resource are released.
+     *
+     * @return The applied resource, or null if the resource was deleted
+     */
+    @Nullable
+    SimulatedResource applyResource(IntRsc intRsc)
+    {
+        Rsc localRsc = intRsc.getLocalRsc();
+        String rscName = localRsc.getName();
+        release(resources.remove(rscName));
+
+        SimulatedResource rsc = null;
+        if (!localRsc.getRscFlagsList().contains(Resource.Flags.DELETE.name()))
+        {
+            boolean diskless = localRsc.getRscFlagsList().contains(Resource.Flags.DISKLESS.name());
+
+            RscDfn rscDfn = intRsc.getRscDfn();
+            Map<Integer, Long> vlmSizes = new TreeMap<>();
+            for (VlmDfn vlmDfn : rscDfn.getVlmDfnsList())
+            {
+                vlmSizes.put(vlmDfn.getVlmNr(), vlmDfn.getVlmSize());
+            }
+
+            Map<Integer, String> vlmStorPools = new TreeMap<>();
+            if (!diskless && localRsc.hasLayerObject())
+            {
+                collectStorPools(localRsc.getLayerObject(), vlmStorPools);
+            }
+
+            Collection<Integer> peerNodeIds = new TreeSet<>();
+            for (IntOtherRsc otherRsc : intRsc.getOtherResourcesList())
+            {
+                if (otherRsc.getRsc().hasLayerObject())
+                {
+                    Integer nodeId = findDrbdNodeId(otherRsc.getRsc().getLayerObject());
+                    if (nodeId != null)
+                    {
+                        peerNodeIds.add(nodeId);
+                    }
+                }
+            }
+
+            rsc = new SimulatedResource(rscName, diskless, vlmSizes, vlmStorPools, peerNodeIds);
+            allocate(rsc);
+            resources.put(rscName, rsc);
+        }
+        return rsc;
+    }
+
+    @Nullable
+    SimulatedResource deleteResource(String rscName)
+    {
+        SimulatedResource rsc = resources.remove(rscName);
+        release(rsc);
+        return rsc;
+    }
+
+    @Nullable
+    SimulatedResource getResource(String rscName)
+    {
+        return resources.get(rscName);
+    }
+
+    Collection<SimulatedResource> getResources()
+    {
+        return resources.values();
+    }
+
+    void addPendingRscCall(String rscName, long apiCallId)
+    {
+        pendingRscCalls.computeIfAbsent(rscName, ignored -> new ArrayList<>()).add(apiCallId);
+    }
+
+    List<Long> takePendingRscCalls(String rscName)
+    {
+        List<Long> apiCallIds = pendingRscCalls.remove(rscName);
+        return apiCallIds == null ? new ArrayList<>() : apiCallIds;
+    }
+
+    void addPendingStorPoolCall(String storPoolName, long apiCallId)
+    {
+        pendingStorPoolCalls.computeIfAbsent(storPoolName, ignored -> new ArrayList<>()).add(apiCallId);
+    }
+
+    List<Long> takePendingStorPoolCalls(String storPoolName)
+    {
+        List<Long> apiCallIds = pendingStorPoolCalls.remove(storPoolName);
+        return apiCallIds == null ? new ArrayList<>() : apiCallIds;
+    }
+
+    private void allocate(SimulatedResource rsc)
+    {
+        for (Map.Entry<Integer, String> entry : rsc.vlmStorPools.entrySet())
+        {
+            SimulatedStorPool storPool = storPools.get(entry.getValue());
+            Long size = rsc.vlmSizes.get(entry.getKey());
+            if (storPool != null && size != null)
+            {
+                storPool.allocatedKib += size;
+            }
+        }
+    }
+
+    private void release(@Nullable SimulatedResource rsc)
+    {
+        if (rsc != null)
+        {
+            for (Map.Entry<Integer, String> entry : rsc.vlmStorPools.entrySet())
+            {
+                SimulatedStorPool storPool = storPools.get(entry.getValue());
+                Long size = rsc.vlmSizes.get(entry.getKey());
+                if (storPool != null && size != null)
+                {
+                    storPool.allocatedKib = Math.max(0, storPool.allocatedKib - size);
+                }
+            }
+        }
+    }
+
+    private static void collectStorPools(RscLayerData layerData, Map<Integer, String> vlmStorPools)
+    {
+        // only the data volumes of the storage layer below DRBD, external meta data is not simulated
+        if (layerData.getLayerType() == LayerType.STORAGE && layerData.getRscNameSuffix().isEmpty())
+        {
+            for (StorageVlm storageVlm : layerData.getStorage().getStorageVlmsList())
+            {
+                vlmStorPools.put(storageVlm.getVlmNr(), storageVlm.getStoragePool().getStorPoolName());
+            }
+        }
+        for (RscLayerData child : layerData.getChildrenList())
+        {
+            collectStorPools(child, vlmStorPools);
+        }
+    }
+
+    @Nullable
+    private static Integer findDrbdNodeId(RscLayerData layerData)
+    {
+        Integer nodeId = null;
+        if (layerData.getLayerType() == LayerType.DRBD && layerData.hasDrbd())
+        {
+            nodeId = layerData.getDrbd().getNodeId();
+        }
+        else
+        {
+            for (RscLayerData child : layerData.getChildrenList())
+            {
+                nodeId = findDrbdNodeId(child);
+                if (nodeId != null)
+                {
+                    break;
+                }
+            }
+        }
+        return nodeId;
+    }
+}
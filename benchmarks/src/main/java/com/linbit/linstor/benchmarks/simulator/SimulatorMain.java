@@ -0,0 +1,195 @@
+package com.linbit.linstor.benchmarks.simulator;
+
+import com.linbit.linstor.InternalApiConsts;
+
+import java.io.File;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import picocli.CommandLine;
+
+/**
+ * Scale test of a controller against simulated satellites.
+ *
+ * Starts the {@link SatelliteSimulator}, registers the simulated nodes with a running controller, waits until all of
+ * them are online and runs the load of the {@link ScenarioDriver}. The latency percentiles of the REST requests and
+ * the controller's heap and GC samples are printed as JSON to stdout and optionally written to a report file.
+ *
+ * The controller should run with an empty database, e.g.
+ *
+ * <pre>
+ * ./gradlew :benchmarks:simulate -Psimulate.args="--nodes 1000 --create-rate 20 --duration 600"
+ * </pre>
+ */
+public class SimulatorMain
+{
+    @CommandLine.Option(names = "--controller", description = "URL of the controller's REST API")
+    private String controllerUrl = "http://127.0.0.1:3370/";
+
+    @CommandLine.Option(names = "--nodes", description = "Number of simulated satellites")
+    private int nodeCount = 100;
+
+    @CommandLine.Option(names = "--bind-address", description = "Address the simulated satellites listen on")
+    private String bindAddress = "127.0.0.1";
+
+    @CommandLine.Option(
+        names = "--stlt-address",
+        description = "Address of the simulated satellites as seen by the controller, default: the bind address"
+    )
+    private String stltAddress;
+
+    @CommandLine.Option(names = "--port", description = "Port of all simulated satellites")
+    private int port = 3366;
+
+    @CommandLine.Option(names = "--reply-latency-ms", description = "Latency of every reply of the satellites")
+    private long replyLatencyMs = 1;
+
+    @CommandLine.Option(
+        names = "--apply-latency-ms",
+        description = "Additional latency of applying resources, storage pools and full syncs"
+    )
+    private long applyLatencyMs = 100;
+
+    @CommandLine.Option(names = "--jitter-ms", description = "Maximum random latency added to every reply")
+    private long jitterMs = 10;
+
+    @CommandLine.Option(names = "--stor-pool", description = "Name of the storage pool of every node")
+    private String storPoolName = "simpool";
+
+    @CommandLine.Option(names = "--provider", description = "Provider kind of the storage pools")
+    private String providerKind = "LVM_THIN";
+
+    @CommandLine.Option(names = "--stor-pool-capacity-gib", description = "Capacity of every storage pool")
+    private long storPoolCapacityGib = 100 * 1024;
+
+    @CommandLine.Option(names = "--create-rate", description = "Autoplaced resources created per second")
+    private double createRate = 5;
+
+    @CommandLine.Option(names = "--list-rate", description = "Resource lists per second")
+    private double listRate = 0.5;
+
+    @CommandLine.Option(names = "--delete-rate", description = "Resource definitions deleted per second after the run")
+    private double deleteRate = 10;
+
+    @CommandLine.Option(names = "--no-delete", description = "Keep the created resources")
+    private boolean noDelete;
+
+    @CommandLine.Option(names = "--duration", description = "Duration of the load in seconds")
+    private long durationSec = 60;
+
+    @CommandLine.Option(names = "--replicas", description = "Place count of every resource")
+    private int replicaCount = 2;
+
+    @CommandLine.Option(names = "--vlm-size-mib", description = "Size of the volume of every resource")
+    private long vlmSizeMib = 1024;
+
+    @CommandLine.Option(names = "--max-in-flight", description = "Maximum number of concurrent REST requests")
+    private int maxInFlight = 64;
+
+    @CommandLine.Option(names = "--online-timeout", description = "Seconds to wait for all nodes to be online")
+    private long onlineTimeoutSec = 600;
+
+    @CommandLine.Option(names = "--report", description = "File the JSON report is written to")
+    private File reportFile;
+
+    @CommandLine.Option(names = {"-h", "--help"}, usageHelp = true, description = "display this help message")
+    private boolean usageHelpRequested;
+
+    public static void main(String[] args) throws Exception
+    {
+        SimulatorMain simMain = new SimulatorMain();
+        CommandLine cmd = new CommandLine(simMain);
+        cmd.setCommandName("SatelliteSimulator");
+        try
+        {
+            cmd.parseArgs(args);
+        }
+        catch (CommandLine.ParameterException exc)
+        {
+            System.err.println(exc.getMessage());
+            cmd.usage(System.err);
+            System.exit(InternalApiConsts.EXIT_CODE_CMDLINE_ERROR);
+        }
+        if (cmd.isUsageHelpRequested())
+        {
+            cmd.usage(System.out);
+        }
+        else
+        {
+            System.exit(simMain.run());
+        }
+    }
+
+    private int run() throws Exception
+    {
+        SatelliteSimulator simulator = new SatelliteSimulator(
+            new InetSocketAddress(bindAddress, port),
+            replyLatencyMs,
+            applyLatencyMs,
+            jitterMs,
+            storPoolCapacityGib * 1024 * 1024,
+            Math.max(2, Runtime.getRuntime().availableProcessors())
+        );
+        simulator.start();
+
+        int exitCode = InternalApiConsts.EXIT_CODE_SHUTDOWN;
+        try
+        {
+            ScenarioDriver driver = new ScenarioDriver(URI.create(controllerUrl), maxInFlight);
+            log("Creating %d nodes", nodeCount);
+            driver.createNodes(nodeCount, stltAddress == null ? bindAddress : stltAddress, port);
+            if (!driver.awaitOnline(nodeCount, Duration.ofSeconds(onlineTimeoutSec)))
+            {
+                log("Only %d of %d satellites connected", simulator.getConnectedCount(), nodeCount);
+                exitCode = InternalApiConsts.EXIT_CODE_NETCOM_ERROR;
+            }
+            else
+            {
+                log("Creating %d storage pools", nodeCount);
+                driver.createStorPools(nodeCount, storPoolName, providerKind);
+
+                log("Running the load for %d seconds", durationSec);
+                driver.runLoad(
+                    createRate,
+                    listRate,
+                    Duration.ofSeconds(durationSec),
+                    replicaCount,
+                    vlmSizeMib * 1024,
+                    storPoolName
+                );
+                int deployedRscCount = simulator.getResourceCount();
+                if (!noDelete)
+                {
+                    log("Deleting the resources");
+                    driver.deleteResources(deleteRate);
+                }
+
+                Map<String, Object> report = new LinkedHashMap<>(driver.report());
+                report.put("deployed_resources", deployedRscCount);
+                report.put("satellite_messages", simulator.getReceivedMessages());
+
+                ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+                System.out.println(objectMapper.writeValueAsString(report));
+                if (reportFile != null)
+                {
+                    objectMapper.writeValue(reportFile, report);
+                }
+            }
+        }
+        finally
+        {
+            simulator.shutdown();
+        }
+        return exitCode;
+    }
+
+    private static void log(String format, Object... args)
+    {
+        System.err.println(String.format(format, args));
+    }
+}
@@ -82,6 +82,7 @@ public class IntAuthResponse implements ApiCallReactive
         final String nodeUname;
         final StltConfig stltConfig;
         final List<Property> dynamicPropList;
+        final boolean pushUpdatesSupported;
         if (success)
         {
             expectedFullSyncId = msgAuthResponse.getExpectedFullSyncId();
@@ -95,6 +96,7 @@ public class IntAuthResponse implements ApiCallReactive
             );
             stltConfig = msgAuthResponse.getStltConfig();
             dynamicPropList = ProtoDeserializationUtils.parseProperties(msgAuthResponse.getPropertiesList());
+            pushUpdatesSupported = msgAuthResponse.getPushUpdatesSupported();
         }
         else
         {
@@ -106,6 +108,7 @@ public class IntAuthResponse implements ApiCallReactive
             externalToolsInfoList = null;
             stltConfig = null;
             dynamicPropList = Collections.emptyList();
+            pushUpdatesSupported = false;
         }
         return ctrlAuthResponseApiCallHandler.authResponse(
             peer,
@@ -119,6 +122,7 @@ public class IntAuthResponse implements ApiCallReactive
             externalToolsInfoList,
             stltConfig,
             dynamicPropList,
+            pushUpdatesSupported,
             waitForFullSyncAnswer
         );
     }
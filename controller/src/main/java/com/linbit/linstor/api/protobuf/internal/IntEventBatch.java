@@ -0,0 +1,109 @@
+package com.linbit.linstor.api.protobuf.internal;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.ApiCallReactive;
+import com.linbit.linstor.api.protobuf.ProtobufApiCall;
+import com.linbit.linstor.core.apicallhandler.ScopeRunner;
+import com.linbit.linstor.event.EventProcessor;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntEventBatchOuterClass.MsgIntEventBatch;
+import com.linbit.linstor.proto.responses.MsgEventOuterClass.MsgEvent;
+import com.linbit.locks.LockGuardFactory;
+import com.linbit.locks.LockGuardFactory.LockObj;
+import com.linbit.locks.LockGuardFactory.LockType;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.protobuf.ByteString;
+import reactor.core.publisher.Flux;
+
+@ProtobufApiCall(
+    name = InternalApiConsts.API_EVENT_BATCH,
+    description = "Handles several events of a satellite in one scope",
+    transactional = true
+)
+@Singleton
+public class IntEventBatch implements ApiCallReactive
+{
+    private final ErrorReporter errorReporter;
+    private final ScopeRunner scopeRunner;
+    private final LockGuardFactory lockGuardFactory;
+    private final EventProcessor eventProcessor;
+
+    @Inject
+    public IntEventBatch(
+        ErrorReporter errorReporterRef,
+        ScopeRunner scopeRunnerRef,
+        LockGuardFactory lockGuardFactoryRef,
+        EventProcessor eventProcessorRef
+    )
+    {
+        errorReporter = errorReporterRef;
+        scopeRunner = scopeRunnerRef;
+        lockGuardFactory = lockGuardFactoryRef;
+        eventProcessor = eventProcessorRef;
+    }
+
+    @Override
+    public Flux<byte[]> executeReactive(InputStream msgDataIn)
+        throws IOException
+    {
+        MsgIntEventBatch msgEventBatch = MsgIntEventBatch.parseDelimitedFrom(msgDataIn);
+
+        return scopeRunner.fluxInTransactionalScope(
+            "Handle event batch",
+            lockGuardFactory.buildDeferred(LockType.WRITE, LockObj.NODES_MAP),
+            () -> handleEvents(msgEventBatch.getEventsList())
+        )
+            .thenMany(Flux.empty());
+    }
+
+    Flux<?> handleEvents(List<ByteString> events)
+    {
+        List<Flux<?>> fluxes = new ArrayList<>();
+        for (ByteString event : events)
+        {
+            // a failing event must neither drop nor roll back the other events of the batch
+            fluxes.add(
+                Flux.defer(() -> handleEvent(event))
+                    .onErrorResume(exc ->
+                    {
+                        errorReporter.reportError(exc);
+                        return Flux.empty();
+                    })
+            );
+        }
+        return Flux.concat(fluxes);
+    }
+
+    private Flux<?> handleEvent(ByteString event)
+    {
+        Flux<?> flux;
+        try
+        {
+            // same content as the payload of a single event message, see IntEvent
+            InputStream eventDataIn = event.newInput();
+            MsgEvent msgEvent = MsgEvent.parseDelimitedFrom(eventDataIn);
+            flux = eventProcessor.handleEvent(
+                msgEvent.getEventAction(),
+                msgEvent.getEventName(),
+                msgEvent.hasResourceName() ? msgEvent.getResourceName() : null,
+                msgEvent.hasVolumeNumber() ? msgEvent.getVolumeNumber() : null,
+                msgEvent.hasSnapshotName() ? msgEvent.getSnapshotName() : null,
+                msgEvent.hasPeerName() ? msgEvent.getPeerName() : null,
+                eventDataIn
+            );
+        }
+        catch (IOException exc)
+        {
+            flux = Flux.error(exc);
+        }
+        return flux;
+    }
+}
@@ -0,0 +1,50 @@
+package com.linbit.linstor.api.protobuf.internal;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.ApiCall;
+import com.linbit.linstor.api.protobuf.ProtobufApiCall;
+import com.linbit.linstor.core.apicallhandler.controller.internal.RscInternalCallHandler;
+import com.linbit.linstor.proto.javainternal.IntObjectIdOuterClass.IntObjectId;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+@ProtobufApiCall(
+    name = InternalApiConsts.API_REQUEST_RSCS,
+    description = "Called by the satellite to request the update data of several resources",
+    transactional = false
+)
+@Singleton
+public class IntRequestResources implements ApiCall
+{
+    private final RscInternalCallHandler rscInternalCallHandler;
+
+    @Inject
+    public IntRequestResources(RscInternalCallHandler apiCallHandlerRef)
+    {
+        rscInternalCallHandler = apiCallHandlerRef;
+    }
+
+    @Override
+    public void execute(InputStream msgDataIn)
+        throws IOException
+    {
+        IntObjectId nodeId = IntObjectId.parseDelimitedFrom(msgDataIn);
+        String nodeName = nodeId.getName();
+
+        List<String> rscNames = new ArrayList<>();
+        IntObjectId rscId = IntObjectId.parseDelimitedFrom(msgDataIn);
+        while (rscId != null)
+        {
+            rscNames.add(rscId.getName());
+            rscId = IntObjectId.parseDelimitedFrom(msgDataIn);
+        }
+
+        rscInternalCallHandler.handleResourcesRequest(nodeName, rscNames);
+    }
+}
@@ -0,0 +1,47 @@
+package com.linbit.linstor.api.protobuf.internal;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.ApiCall;
+import com.linbit.linstor.api.protobuf.ProtobufApiCall;
+import com.linbit.linstor.core.apicallhandler.controller.internal.StorPoolInternalCallHandler;
+import com.linbit.linstor.proto.javainternal.IntObjectIdOuterClass.IntObjectId;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+@ProtobufApiCall(
+    name = InternalApiConsts.API_REQUEST_STOR_POOLS,
+    description = "Called by the satellite to request the update data of several storage pools",
+    transactional = false
+)
+@Singleton
+public class IntRequestStorPools implements ApiCall
+{
+    private final StorPoolInternalCallHandler storPoolInternalCallHandler;
+
+    @Inject
+    public IntRequestStorPools(StorPoolInternalCallHandler apiCallHandlerRef)
+    {
+        storPoolInternalCallHandler = apiCallHandlerRef;
+    }
+
+    @Override
+    public void execute(InputStream msgDataIn)
+        throws IOException
+    {
+        List<String> storPoolNames = new ArrayList<>();
+        IntObjectId storPoolId = IntObjectId.parseDelimitedFrom(msgDataIn);
+        while (storPoolId != null)
+        {
+            storPoolNames.add(storPoolId.getName());
+            storPoolId = IntObjectId.parseDelimitedFrom(msgDataIn);
+        }
+
+        storPoolInternalCallHandler.handleStorPoolsRequest(storPoolNames);
+    }
+}
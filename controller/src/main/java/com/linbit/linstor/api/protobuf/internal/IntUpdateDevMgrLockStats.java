@@ -0,0 +1,68 @@
+package com.linbit.linstor.api.protobuf.internal;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.ApiCall;
+import com.linbit.linstor.api.protobuf.ProtobufApiCall;
+import com.linbit.linstor.core.objects.Node;
+import com.linbit.linstor.netcom.Peer;
+import com.linbit.linstor.prometheus.CtrlSatelliteMetrics;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntDevMgrLockStatsOuterClass.MsgIntDevMgrLockStats;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@ProtobufApiCall(
+    name = InternalApiConsts.API_UPDATE_DEV_MGR_LOCK_STATS,
+    description = "Satellite sends the histogram of its device manager lock hold times",
+    transactional = false
+)
+@Singleton
+public class IntUpdateDevMgrLockStats implements ApiCall
+{
+    private final Provider<Peer> peerProvider;
+    private final CtrlSatelliteMetrics ctrlSatelliteMetrics;
+
+    @Inject
+    public IntUpdateDevMgrLockStats(
+        Provider<Peer> peerProviderRef,
+        CtrlSatelliteMetrics ctrlSatelliteMetricsRef
+    )
+    {
+        peerProvider = peerProviderRef;
+        ctrlSatelliteMetrics = ctrlSatelliteMetricsRef;
+    }
+
+    @Override
+    public void execute(InputStream msgDataIn)
+        throws IOException
+    {
+        MsgIntDevMgrLockStats msg = MsgIntDevMgrLockStats.parseDelimitedFrom(msgDataIn);
+
+        Node node = peerProvider.get().getNode();
+        // node is null if the peer calling this API was not a satellite
+        if (node != null)
+        {
+            List<Double> upperBoundsList = msg.getUpperBoundsList();
+            double[] upperBounds = new double[upperBoundsList.size()];
+            for (int idx = 0; idx < upperBounds.length; ++idx)
+            {
+                upperBounds[idx] = upperBoundsList.get(idx);
+            }
+            List<Long> countsList = msg.getCumulativeCountsList();
+            long[] cumulativeCounts = new long[countsList.size()];
+            for (int idx = 0; idx < cumulativeCounts.length; ++idx)
+            {
+                cumulativeCounts[idx] = countsList.get(idx);
+            }
+            ctrlSatelliteMetrics.updateDispatchLockHold(
+                node.getName().displayValue,
+                new CtrlSatelliteMetrics.HistogramSnapshot(upperBounds, cumulativeCounts, msg.getSum())
+            );
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.linbit.linstor.api.protobuf.internal;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.ApiCall;
+import com.linbit.linstor.api.protobuf.ProtobufApiCall;
+import com.linbit.linstor.core.objects.Node;
+import com.linbit.linstor.logging.ErrorReportCounters;
+import com.linbit.linstor.netcom.Peer;
+import com.linbit.linstor.prometheus.CtrlErrorReportCounters;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntErrorReportCountersOuterClass.ErrorReportCounter;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntErrorReportCountersOuterClass.MsgIntErrorReportCounters;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+@ProtobufApiCall(
+    name = InternalApiConsts.API_UPDATE_ERROR_REPORT_COUNTERS,
+    description = "Satellite sends its changed error report counters",
+    transactional = false
+)
+@Singleton
+public class IntUpdateErrorReportCounters implements ApiCall
+{
+    private final Provider<Peer> peerProvider;
+    private final CtrlErrorReportCounters ctrlErrorReportCounters;
+
+    @Inject
+    public IntUpdateErrorReportCounters(
+        Provider<Peer> peerProviderRef,
+        CtrlErrorReportCounters ctrlErrorReportCountersRef
+    )
+    {
+        peerProvider = peerProviderRef;
+        ctrlErrorReportCounters = ctrlErrorReportCountersRef;
+    }
+
+    @Override
+    public void execute(InputStream msgDataIn)
+        throws IOException
+    {
+        MsgIntErrorReportCounters msg = MsgIntErrorReportCounters.parseDelimitedFrom(msgDataIn);
+
+        Node node = peerProvider.get().getNode();
+        // node is null if the peer calling this API was not a satellite
+        if (node != null)
+        {
+            Map<ErrorReportCounters.Key, Long> counters = new HashMap<>();
+            for (ErrorReportCounter counter : msg.getCountersList())
+            {
+                counters.put(
+                    new ErrorReportCounters.Key(counter.getSeverity(), counter.getException()),
+                    counter.getCount()
+                );
+            }
+            ctrlErrorReportCounters.updateSatelliteCounters(node.getName(), counters, msg.getFull());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.linbit.linstor.api.protobuf.internal;
+
+import com.linbit.extproc.ExtCmdStats;
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.ApiCall;
+import com.linbit.linstor.api.protobuf.ProtobufApiCall;
+import com.linbit.linstor.core.objects.Node;
+import com.linbit.linstor.netcom.Peer;
+import com.linbit.linstor.prometheus.CtrlSatelliteMetrics;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntExtCmdStatsOuterClass.ExitCodeCount;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntExtCmdStatsOuterClass.ExtCmdStat;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntExtCmdStatsOuterClass.MsgIntExtCmdStats;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@ProtobufApiCall(
+    name = InternalApiConsts.API_UPDATE_EXT_CMD_STATS,
+    description = "Satellite sends the statistics of the external commands it ran",
+    transactional = false
+)
+@Singleton
+public class IntUpdateExtCmdStats implements ApiCall
+{
+    private final Provider<Peer> peerProvider;
+    private final CtrlSatelliteMetrics ctrlSatelliteMetrics;
+
+    @Inject
+    public IntUpdateExtCmdStats(
+        Provider<Peer> peerProviderRef,
+        CtrlSatelliteMetrics ctrlSatelliteMetricsRef
+    )
+    {
+        peerProvider = peerProviderRef;
+        ctrlSatelliteMetrics = ctrlSatelliteMetricsRef;
+    }
+
+    @Override
+    public void execute(InputStream msgDataIn)
+        throws IOException
+    {
+        MsgIntExtCmdStats msg = MsgIntExtCmdStats.parseDelimitedFrom(msgDataIn);
+
+        Node node = peerProvider.get().getNode();
+        // node is null if the peer calling this API was not a satellite
+        if (node != null)
+        {
+            List<ExtCmdStats.Snapshot> stats = new ArrayList<>();
+            for (ExtCmdStat stat : msg.getStatsList())
+            {
+                List<Double> upperBoundsList = stat.getUpperBoundsList();
+                double[] upperBounds = new double[upperBoundsList.size()];
+                for (int idx = 0; idx < upperBounds.length; ++idx)
+                {
+                    upperBounds[idx] = upperBoundsList.get(idx);
+                }
+                List<Long> countsList = stat.getCumulativeCountsList();
+                long[] cumulativeCounts = new long[countsList.size()];
+                for (int idx = 0; idx < cumulativeCounts.length; ++idx)
+                {
+                    cumulativeCounts[idx] = countsList.get(idx);
+                }
+                Map<Integer, Long> exitCodes = new TreeMap<>();
+                for (ExitCodeCount exitCodeCount : stat.getExitCodesList())
+                {
+                    exitCodes.put(exitCodeCount.getExitCode(), exitCodeCount.getCount());
+                }
+                stats.add(
+                    new ExtCmdStats.Snapshot(
+                        stat.getBinary(),
+                        upperBounds,
+                        cumulativeCounts,
+                        stat.getSum(),
+                        exitCodes,
+                        stat.getTimeouts(),
+                        stat.getSpawnFailures(),
+                        stat.getRunning()
+                    )
+                );
+            }
+            ctrlSatelliteMetrics.updateExtCmdStats(node.getName().displayValue, stats);
+        }
+    }
+}
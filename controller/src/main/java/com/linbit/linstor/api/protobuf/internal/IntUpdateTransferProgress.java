@@ -0,0 +1,135 @@
+package com.linbit.linstor.api.protobuf.internal;
+
+import com.linbit.InvalidNameException;
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.annotation.SystemContext;
+import com.linbit.linstor.api.ApiCall;
+import com.linbit.linstor.api.pojo.TransferProgressPojo;
+import com.linbit.linstor.api.protobuf.ProtobufApiCall;
+import com.linbit.linstor.core.CtrlTransferProgressStore;
+import com.linbit.linstor.core.apicallhandler.controller.backup.BackupBandwidthScheduler;
+import com.linbit.linstor.core.identifier.RemoteName;
+import com.linbit.linstor.core.objects.Node;
+import com.linbit.linstor.core.objects.remotes.AbsRemote;
+import com.linbit.linstor.core.objects.remotes.StltRemote;
+import com.linbit.linstor.core.repository.RemoteRepository;
+import com.linbit.linstor.netcom.Peer;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntTransferProgressOuterClass.MsgIntTransferProgress;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntTransferProgressOuterClass.TransferProgress;
+import com.linbit.linstor.security.AccessContext;
+import com.linbit.linstor.security.AccessDeniedException;
+import com.linbit.locks.LockGuard;
+import com.linbit.locks.LockGuardFactory;
+import com.linbit.locks.LockGuardFactory.LockObj;
+import com.linbit.locks.LockGuardFactory.LockType;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+@ProtobufApiCall(
+    name = InternalApiConsts.API_UPDATE_TRANSFER_PROGRESS,
+    description = "Satellite sends the progress of its running backups, snapshot shippings and clones",
+    transactional = false
+)
+@Singleton
+public class IntUpdateTransferProgress implements ApiCall
+{
+    private final Provider<Peer> peerProvider;
+    private final CtrlTransferProgressStore transferProgressStore;
+    private final BackupBandwidthScheduler bandwidthScheduler;
+    private final RemoteRepository remoteRepo;
+    private final LockGuardFactory lockGuardFactory;
+    private final AccessContext sysCtx;
+
+    @Inject
+    public IntUpdateTransferProgress(
+        Provider<Peer> peerProviderRef,
+        CtrlTransferProgressStore transferProgressStoreRef,
+        BackupBandwidthScheduler bandwidthSchedulerRef,
+        RemoteRepository remoteRepoRef,
+        LockGuardFactory lockGuardFactoryRef,
+        @SystemContext AccessContext sysCtxRef
+    )
+    {
+        peerProvider = peerProviderRef;
+        transferProgressStore = transferProgressStoreRef;
+        bandwidthScheduler = bandwidthSchedulerRef;
+        remoteRepo = remoteRepoRef;
+        lockGuardFactory = lockGuardFactoryRef;
+        sysCtx = sysCtxRef;
+    }
+
+    @Override
+    public void execute(InputStream msgDataIn)
+        throws IOException
+    {
+        MsgIntTransferProgress msg = MsgIntTransferProgress.parseDelimitedFrom(msgDataIn);
+
+        Node node = peerProvider.get().getNode();
+        // node is null if the peer calling this API was not a satellite
+        if (node != null)
+        {
+            List<TransferProgressPojo> transfers = new ArrayList<>(msg.getTransfersCount());
+            for (TransferProgress transfer : msg.getTransfersList())
+            {
+                TransferProgressPojo.Kind kind;
+                try
+                {
+                    kind = TransferProgressPojo.Kind.valueOf(transfer.getKind());
+                }
+                catch (IllegalArgumentException ignored)
+                {
+                    // sent by a newer satellite
+                    continue;
+                }
+                transfers.add(
+                    new TransferProgressPojo(
+                        kind,
+                        transfer.getRscName(),
+                        transfer.getSnapName().isEmpty() ? null : transfer.getSnapName(),
+                        transfer.getVlmNr(),
+                        resolveRemoteName(transfer.getRemoteName()),
+                        transfer.getBytesDone(),
+                        transfer.getBytesTotal(),
+                        transfer.getWireBytes(),
+                        transfer.getBytesPerSecond(),
+                        transfer.getStartTimestamp()
+                    )
+                );
+            }
+            transferProgressStore.update(node.getName().displayValue, transfers);
+            bandwidthScheduler.transfersUpdated();
+        }
+    }
+
+    /**
+     * L2L shipments use temporary satellite remotes, report the remote of the other cluster instead
+     */
+    private @Nullable String resolveRemoteName(String remoteNameStr)
+    {
+        String ret = remoteNameStr.isEmpty() ? null : remoteNameStr;
+        if (ret != null)
+        {
+            try (LockGuard lg = lockGuardFactory.build(LockType.READ, LockObj.REMOTE_MAP))
+            {
+                AbsRemote remote = remoteRepo.get(sysCtx, new RemoteName(remoteNameStr, true));
+                if (remote instanceof StltRemote)
+                {
+                    ret = ((StltRemote) remote).getLinstorRemoteName().displayValue;
+                }
+            }
+            catch (InvalidNameException | AccessDeniedException ignored)
+            {
+                // keep the name the satellite sent
+            }
+        }
+        return ret;
+    }
+}
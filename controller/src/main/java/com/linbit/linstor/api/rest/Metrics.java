@@ -2,16 +2,17 @@ package com.linbit.linstor.api.rest;
 
 import com.linbit.linstor.api.rest.v1.RequestHelper;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlApiCallHandler;
-import com.linbit.linstor.core.apicallhandler.controller.CtrlErrorListApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlStorPoolListApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlVlmListApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.helpers.ResourceList;
 import com.linbit.linstor.core.apis.NodeApi;
 import com.linbit.linstor.core.apis.ResourceDefinitionApi;
 import com.linbit.linstor.core.apis.StorPoolApi;
+import com.linbit.linstor.logging.ErrorReportCounters;
 import com.linbit.linstor.logging.ErrorReportResult;
-import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.prometheus.CtrlErrorReportCounters;
 import com.linbit.linstor.prometheus.PrometheusBuilder;
+import com.linbit.utils.Pair;
 
 import javax.inject.Inject;
 import javax.ws.rs.DefaultValue;
@@ -23,45 +24,40 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
-import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.TimeoutException;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 import org.glassfish.grizzly.http.server.Request;
-import reactor.core.publisher.Flux;
 
 @Path("metrics")
 public class Metrics
 {
-    private final ErrorReporter errorReporter;
     private final RequestHelper requestHelper;
     private final CtrlApiCallHandler ctrlApiCallHandler;
     private final CtrlVlmListApiCallHandler ctrlVlmListApiCallHandler;
     private final CtrlStorPoolListApiCallHandler ctrlStorPoolListApiCallHandler;
-    private final CtrlErrorListApiCallHandler ctrlErrorListApiCallHandler;
+    private final CtrlErrorReportCounters ctrlErrorReportCounters;
     private final PrometheusBuilder prometheusBuilder;
 
-    private static final int BLOCK_TIMEOUT = 10;
     private static final AtomicLong SCRAPE_REQUESTS = new AtomicLong();
 
     @Inject
     public Metrics(
-        ErrorReporter errorReporterRef,
         RequestHelper requestHelperRef,
         CtrlApiCallHandler ctrlApiCallHandlerRef,
         CtrlVlmListApiCallHandler ctrlVlmListApiCallHandlerRef,
         CtrlStorPoolListApiCallHandler ctrlStorPoolListApiCallHandlerRef,
-        CtrlErrorListApiCallHandler ctrlErrorListApiCallHandlerRef,
+        CtrlErrorReportCounters ctrlErrorReportCountersRef,
         PrometheusBuilder prometheusBuilderRef)
     {
-        errorReporter = errorReporterRef;
         requestHelper = requestHelperRef;
         ctrlApiCallHandler = ctrlApiCallHandlerRef;
         ctrlVlmListApiCallHandler = ctrlVlmListApiCallHandlerRef;
         ctrlStorPoolListApiCallHandler = ctrlStorPoolListApiCallHandlerRef;
-        ctrlErrorListApiCallHandler = ctrlErrorListApiCallHandlerRef;
+        ctrlErrorReportCounters = ctrlErrorReportCountersRef;
         prometheusBuilder = prometheusBuilderRef;
     }
 
@@ -77,37 +73,6 @@ public class Metrics
         SCRAPE_REQUESTS.incrementAndGet();
         long scrapeStart = System.currentTimeMillis();
 
-        ErrorReportResult errorReportsTmp = null;
-        if (withErrorReports)
-        {
-            Flux<ErrorReportResult> fluxErrorReports = ctrlErrorListApiCallHandler.listErrorReports(
-                Collections.emptySet(), false, null, null, Collections.emptySet(), 1L, 0L)
-                .contextWrite(requestHelper.createContext("metrics", request));
-
-            try
-            {
-                long start = System.currentTimeMillis();
-                errorReportsTmp = fluxErrorReports
-                    .timeout(Duration.ofSeconds(BLOCK_TIMEOUT)).next().block();
-                errorReporter.logTrace("Metric/ListErrorReports: %dms", System.currentTimeMillis() - start);
-            }
-            catch (RuntimeException runtimeExc)
-            {
-                if (runtimeExc.getCause() instanceof TimeoutException)
-                {
-                    errorReporter.logWarning(
-                        String.format("Timeout: Gathering error reports took longer than %d seconds: %s",
-                            BLOCK_TIMEOUT,
-                            runtimeExc));
-                }
-                else
-                {
-                    errorReporter.reportError(runtimeExc);
-                }
-            }
-        }
-
-        final ErrorReportResult errorReports = errorReportsTmp;
         return requestHelper.doInScope(requestHelper.createContext("metrics", request), () ->
             {
                 final ResourceList rl = resources ? ctrlVlmListApiCallHandler.listVlmsCached(
@@ -125,12 +90,24 @@ public class Metrics
                 final List<NodeApi> nodeApiList = ctrlApiCallHandler.listNodes(
                     Collections.emptyList(), Collections.emptyList());
                 final List<ResourceDefinitionApi> rscDfns = ctrlApiCallHandler.listResourceDefinitions();
+
+                Map<Pair<String, String>, Map<ErrorReportCounters.Key, Long>> errorReportCounters = null;
+                ErrorReportResult errorReports = null;
+                if (withErrorReports)
+                {
+                    errorReportCounters = ctrlErrorReportCounters.getCounters(
+                        nodeApiList.stream().map(NodeApi::getName).collect(Collectors.toList())
+                    );
+                    errorReports = CtrlErrorReportCounters.toErrorReportResult(errorReportCounters);
+                }
+
                 final String promText = prometheusBuilder.build(
                     nodeApiList,
                     rscDfns,
                     rl,
                     storagePoolList,
                     errorReports,
+                    errorReportCounters,
                     SCRAPE_REQUESTS.getAndIncrement(),
                     scrapeStart
                 );
@@ -8,6 +8,7 @@ import com.linbit.linstor.api.rest.v1.serializer.Json;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes.BackupShip;
 import com.linbit.linstor.api.rest.v1.utils.ApiCallRcRestUtils;
+import com.linbit.linstor.core.CtrlTransferProgressStore;
 import com.linbit.linstor.core.apicallhandler.controller.backup.CtrlBackupApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.backup.CtrlBackupCreateApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.backup.CtrlBackupL2LSrcApiCallHandler;
@@ -84,6 +85,7 @@ public class Backups
     private final CtrlBackupCreateApiCallHandler backupCrtApiCallHandler;
     private final CtrlBackupRestoreApiCallHandler backupRestoreApiCallHandler;
     private final CtrlScheduledBackupsApiCallHandler scheduledBackupsApiCallHandler;
+    private final CtrlTransferProgressStore transferProgressStore;
 
     @Inject
     public Backups(
@@ -92,7 +94,8 @@ public class Backups
         CtrlBackupL2LSrcApiCallHandler backupL2LSrcApiCallHandlerRef,
         CtrlBackupCreateApiCallHandler backupCrtApiCallHandlerRef,
         CtrlBackupRestoreApiCallHandler backupRestoreApiCallHandlerRef,
-        CtrlScheduledBackupsApiCallHandler scheduledBackupsApiCallHandlerRef
+        CtrlScheduledBackupsApiCallHandler scheduledBackupsApiCallHandlerRef,
+        CtrlTransferProgressStore transferProgressStoreRef
     )
     {
         requestHelper = requestHelperRef;
@@ -101,6 +104,7 @@ public class Backups
         backupCrtApiCallHandler = backupCrtApiCallHandlerRef;
         backupRestoreApiCallHandler = backupRestoreApiCallHandlerRef;
         scheduledBackupsApiCallHandler = scheduledBackupsApiCallHandlerRef;
+        transferProgressStore = transferProgressStoreRef;
         objectMapper = new ObjectMapper();
     }
 
@@ -305,7 +309,7 @@ public class Backups
                 Pair<Map<String, BackupApi>, Set<String>> backups = backupApiCallHandler
                     .listBackups(rscName, snapName, remoteName);
                 JsonGenTypes.BackupList backupList = new JsonGenTypes.BackupList();
-                backupList.linstor = Json.apiToBackup(backups.objA);
+                backupList.linstor = Json.apiToBackup(backups.objA, transferProgressStore);
                 backupList.other = new JsonGenTypes.BackupOther();
                 backupList.other.files = new ArrayList<>(backups.objB);
                 return Response.status(Response.Status.OK)
@@ -13,6 +13,7 @@ import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.ApiModule;
 import com.linbit.linstor.api.LinStorScope;
 import com.linbit.linstor.api.rest.v1.utils.ApiCallRcRestUtils;
+import com.linbit.linstor.api.rest.v1.utils.JsonStreamingOutput;
 import com.linbit.linstor.core.apicallhandler.response.ApiRcException;
 import com.linbit.linstor.core.apicallhandler.response.CtrlResponseUtils;
 import com.linbit.linstor.core.cfg.CtrlConfig;
@@ -38,7 +39,9 @@ import javax.ws.rs.core.Response;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -191,7 +194,8 @@ public class RequestHelper
         return  Context.of(
             ApiModule.API_CALL_NAME, apiCall,
             AccessContext.class, peer.getAccessContext(),
-            Peer.class, peer
+            Peer.class, peer,
+            ApiModule.OFFLOAD_BLOCKING_SCOPES, true
         );
     }
 
@@ -395,4 +399,45 @@ public class RequestHelper
         }
         return response;
     }
+
+    /**
+     * Same as {@link #queryRequestResponse(ObjectMapper, long, String, String, List)}, but the list response streams
+     * the results to the client as they are consumed from the given stream, see {@link JsonStreamingOutput}.
+     */
+    static Response queryRequestResponse(
+        ObjectMapper objectMapper,
+        long retCode,
+        String objectType,
+        String searchObject,
+        Stream<?> results
+    )
+        throws JsonProcessingException
+    {
+        Response response;
+        if (searchObject != null)
+        {
+            Optional<?> result = results.findFirst();
+            if (result.isPresent())
+            {
+                response = Response
+                    .status(Response.Status.OK)
+                    .entity(objectMapper.writeValueAsString(result.get()))
+                    .build();
+            }
+            else
+            {
+                response = RequestHelper.notFoundResponse(
+                    retCode, String.format("%s '%s' not found.", objectType, searchObject)
+                );
+            }
+        }
+        else
+        {
+            response = Response
+                .status(Response.Status.OK)
+                .entity(new JsonStreamingOutput(objectMapper, results))
+                .build();
+        }
+        return response;
+    }
 }
@@ -9,6 +9,7 @@ import com.linbit.linstor.api.rest.v1.serializer.Json;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes.ResourceDefinition;
 import com.linbit.linstor.api.rest.v1.utils.ApiCallRcRestUtils;
+import com.linbit.linstor.core.CtrlTransferProgressStore;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlPropsInfoApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlRscDfnApiCallHandler;
@@ -62,6 +63,7 @@ public class ResourceDefinitions
     private final CtrlRscDfnDeleteApiCallHandler ctrlRscDfnDeleteApiCallHandler;
     private final ObjectMapper objectMapper;
     private final CtrlPropsInfoApiCallHandler ctrlPropsInfoApiCallHandler;
+    private final CtrlTransferProgressStore transferProgressStore;
 
     @Inject
     ResourceDefinitions(
@@ -69,7 +71,8 @@ public class ResourceDefinitions
         CtrlApiCallHandler ctrlApiCallHandlerRef,
         CtrlRscDfnApiCallHandler ctrlRscDfnApiCallHandlerRef,
         CtrlRscDfnDeleteApiCallHandler ctrlRscDfnDeleteApiCallHandlerRef,
-        CtrlPropsInfoApiCallHandler ctrlPropsInfoApiCallHandlerRef
+        CtrlPropsInfoApiCallHandler ctrlPropsInfoApiCallHandlerRef,
+        CtrlTransferProgressStore transferProgressStoreRef
     )
     {
         requestHelper = requestHelperRef;
@@ -77,6 +80,7 @@ public class ResourceDefinitions
         ctrlRscDfnDeleteApiCallHandler = ctrlRscDfnDeleteApiCallHandlerRef;
         ctrlRscDfnApiCallHandler = ctrlRscDfnApiCallHandlerRef;
         ctrlPropsInfoApiCallHandler = ctrlPropsInfoApiCallHandlerRef;
+        transferProgressStore = transferProgressStoreRef;
         objectMapper = new ObjectMapper();
     }
 
@@ -371,6 +375,7 @@ public class ResourceDefinitions
                     new JsonGenTypes.ResourceDefinitionCloneStatus();
 
                 status.status = ctrlApiCallHandler.isCloneReady(cloneName).getValue();
+                status.progress = Json.apiToTransferProgress(transferProgressStore.getClones(cloneName));
 
                 return Response
                     .status(Response.Status.OK)
@@ -123,9 +123,8 @@ public class Resources
                 rscApiStream = rscApiStream.skip(offset).limit(limit);
             }
 
-            final List<JsonGenTypes.Resource> rscs = rscApiStream
-                .map(rscApi -> Json.apiToResource(rscApi, resourceList.getSatelliteStates()))
-                .collect(Collectors.toList());
+            final Stream<JsonGenTypes.Resource> rscs = rscApiStream
+                .map(rscApi -> Json.apiToResource(rscApi, resourceList.getSatelliteStates()));
 
             return RequestHelper.queryRequestResponse(
                 objectMapper,
@@ -5,6 +5,7 @@ import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.rest.v1.serializer.Json;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
 import com.linbit.linstor.api.rest.v1.utils.ApiCallRcRestUtils;
+import com.linbit.linstor.core.CtrlTransferProgressStore;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlSnapshotCrtApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlSnapshotDeleteApiCallHandler;
@@ -44,19 +45,22 @@ public class Snapshots
     private final CtrlApiCallHandler ctrlApiCallHandler;
     private final CtrlSnapshotCrtApiCallHandler ctrlSnapshotCrtApiCallHandler;
     private final CtrlSnapshotDeleteApiCallHandler ctrlSnapshotDeleteApiCallHandler;
+    private final CtrlTransferProgressStore transferProgressStore;
 
     @Inject
     public Snapshots(
         RequestHelper requestHelperRef,
         CtrlApiCallHandler ctrlApiCallHandlerRef,
         CtrlSnapshotCrtApiCallHandler ctrlSnapshotCrtApiCallHandlerRef,
-        CtrlSnapshotDeleteApiCallHandler ctrlSnapshotDeleteApiCallHandlerRef
+        CtrlSnapshotDeleteApiCallHandler ctrlSnapshotDeleteApiCallHandlerRef,
+        CtrlTransferProgressStore transferProgressStoreRef
     )
     {
         requestHelper = requestHelperRef;
         ctrlApiCallHandler = ctrlApiCallHandlerRef;
         ctrlSnapshotCrtApiCallHandler = ctrlSnapshotCrtApiCallHandlerRef;
         ctrlSnapshotDeleteApiCallHandler = ctrlSnapshotDeleteApiCallHandlerRef;
+        transferProgressStore = transferProgressStoreRef;
 
         objectMapper = new ObjectMapper();
     }
@@ -104,7 +108,7 @@ public class Snapshots
 
                 List<JsonGenTypes.Snapshot> snapshot = snapsStream
                     .filter(snaphotDfn -> snapName == null || snaphotDfn.getSnapshotName().equalsIgnoreCase(snapName))
-                    .map(Json::apiToSnapshot)
+                    .map(snapshotDfn -> Json.apiToSnapshot(snapshotDfn, transferProgressStore))
                     .collect(Collectors.toList());
 
                 response = RequestHelper.queryRequestResponse(
@@ -8,6 +8,7 @@ import com.linbit.linstor.api.prop.LinStorObject;
 import com.linbit.linstor.api.rest.v1.serializer.Json;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
 import com.linbit.linstor.api.rest.v1.utils.ApiCallRcRestUtils;
+import com.linbit.linstor.api.rest.v1.utils.JsonStreamingOutput;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlApiDataLoader;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlPropsInfoApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlStorPoolApiCallHandler;
@@ -43,7 +44,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -183,35 +184,44 @@ public class StoragePools
             {
                 storPoolApiStream = storPoolApiStream.skip(offset).limit(limit);
             }
-            List<JsonGenTypes.StoragePool> storPoolDataList = storPoolApiStream
-                .map(Json::storPoolApiToStoragePool)
-                .collect(Collectors.toList());
+            Stream<JsonGenTypes.StoragePool> storPoolDataStream = storPoolApiStream
+                .map(Json::storPoolApiToStoragePool);
 
             try
             {
-                if (storPoolName != null && storPoolDataList.isEmpty())
+                if (storPoolName != null)
                 {
-                    ApiCallRcImpl apiCallRc = new ApiCallRcImpl();
-                    apiCallRc.addEntry(
-                        ApiCallRcImpl.simpleEntry(
-                            ApiConsts.FAIL_NOT_FOUND_STOR_POOL,
-                            String.format("Storage pool '%s' on node '%s' not found.", storPoolName, nodeName)
-                        )
-                    );
+                    Optional<JsonGenTypes.StoragePool> storPoolData = storPoolDataStream.findFirst();
+                    if (storPoolData.isPresent())
+                    {
+                        resp = Response
+                            .status(Response.Status.OK)
+                            .entity(objectMapper.writeValueAsString(storPoolData.get()))
+                            .type(MediaType.APPLICATION_JSON)
+                            .build();
+                    }
+                    else
+                    {
+                        ApiCallRcImpl apiCallRc = new ApiCallRcImpl();
+                        apiCallRc.addEntry(
+                            ApiCallRcImpl.simpleEntry(
+                                ApiConsts.FAIL_NOT_FOUND_STOR_POOL,
+                                String.format("Storage pool '%s' on node '%s' not found.", storPoolName, nodeName)
+                            )
+                        );
 
-                    resp = Response
-                        .status(Response.Status.NOT_FOUND)
-                        .entity(ApiCallRcRestUtils.toJSON(apiCallRc))
-                        .type(MediaType.APPLICATION_JSON)
-                        .build();
+                        resp = Response
+                            .status(Response.Status.NOT_FOUND)
+                            .entity(ApiCallRcRestUtils.toJSON(apiCallRc))
+                            .type(MediaType.APPLICATION_JSON)
+                            .build();
+                    }
                 }
                 else
                 {
                     resp = Response
                         .status(Response.Status.OK)
-                        .entity(objectMapper.writeValueAsString(
-                            storPoolName != null ? storPoolDataList.get(0) : storPoolDataList)
-                        )
+                        .entity(new JsonStreamingOutput(objectMapper, storPoolDataStream))
                         .type(MediaType.APPLICATION_JSON)
                         .build();
                 }
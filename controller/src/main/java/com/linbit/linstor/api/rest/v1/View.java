@@ -7,6 +7,8 @@ import com.linbit.linstor.api.pojo.backups.ScheduleDetailsPojo;
 import com.linbit.linstor.api.pojo.backups.ScheduledRscsPojo;
 import com.linbit.linstor.api.rest.v1.serializer.Json;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
+import com.linbit.linstor.api.rest.v1.utils.JsonStreamingOutput;
+import com.linbit.linstor.core.CtrlTransferProgressStore;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlScheduleApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlStorPoolListApiCallHandler;
@@ -37,7 +39,6 @@ import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.glassfish.grizzly.http.server.Request;
 import reactor.core.publisher.Flux;
@@ -54,6 +55,7 @@ public class View
     private final ObjectMapper objectMapper;
     private final CtrlScheduleApiCallHandler ctrlScheduleApiCallHandler;
     private final CtrlBackupQueueInternalCallHandler ctrlBackupQueueHandler;
+    private final CtrlTransferProgressStore transferProgressStore;
 
     @Inject
     View(
@@ -62,7 +64,8 @@ public class View
         CtrlVlmListApiCallHandler ctrlVlmListApiCallHandlerRef,
         CtrlStorPoolListApiCallHandler ctrlStorPoolListApiCallHandlerRef,
         CtrlScheduleApiCallHandler ctrlScheduleApiCallHandlerRef,
-        CtrlBackupQueueInternalCallHandler ctrlBackupQueueHandlerRef
+        CtrlBackupQueueInternalCallHandler ctrlBackupQueueHandlerRef,
+        CtrlTransferProgressStore transferProgressStoreRef
     )
     {
         requestHelper = requestHelperRef;
@@ -71,6 +74,7 @@ public class View
         ctrlStorPoolListApiCallHandler = ctrlStorPoolListApiCallHandlerRef;
         ctrlScheduleApiCallHandler = ctrlScheduleApiCallHandlerRef;
         ctrlBackupQueueHandler = ctrlBackupQueueHandlerRef;
+        transferProgressStore = transferProgressStoreRef;
         objectMapper = new ObjectMapper();
     }
 
@@ -113,8 +117,6 @@ public class View
     {
         return resourceListFlux.flatMap(resourceList ->
         {
-            Response resp;
-
             Stream<ResourceApi> rscApiStream = resourceList.getResources().stream();
 
             if (limit > 0)
@@ -122,24 +124,16 @@ public class View
                 rscApiStream = rscApiStream.skip(offset).limit(limit);
             }
 
-            final List<JsonGenTypes.Resource> rscs = rscApiStream
-                .map(rscApi -> Json.apiToResourceWithVolumes(rscApi, resourceList.getSatelliteStates(), true))
-                .collect(Collectors.toList());
+            // converted and serialized one by one while the response is written
+            final Stream<JsonGenTypes.Resource> rscs = rscApiStream
+                .map(rscApi -> Json.apiToResourceWithVolumes(rscApi, resourceList.getSatelliteStates(), true));
 
-            try
-            {
-                resp = Response
+            return Mono.just(
+                Response
                     .status(Response.Status.OK)
-                    .entity(objectMapper.writeValueAsString(rscs))
-                    .build();
-            }
-            catch (JsonProcessingException exc)
-            {
-                exc.printStackTrace();
-                resp = Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
-            }
-
-            return Mono.just(resp);
+                    .entity(new JsonStreamingOutput(objectMapper, rscs))
+                    .build()
+            );
         }).next();
     }
 
@@ -177,31 +171,21 @@ public class View
     {
         return storPoolListFlux.flatMap(storPoolList ->
         {
-            Response resp;
             Stream<StorPoolApi> storPoolApiStream = storPoolList.stream();
             if (limit > 0)
             {
                 storPoolApiStream = storPoolApiStream.skip(offset).limit(limit);
             }
-            List<JsonGenTypes.StoragePool> storPoolDataList = storPoolApiStream
-                .map(Json::storPoolApiToStoragePool)
-                .collect(Collectors.toList());
+            Stream<JsonGenTypes.StoragePool> storPoolDataStream = storPoolApiStream
+                .map(Json::storPoolApiToStoragePool);
 
-            try
-            {
-                resp = Response
+            return Mono.just(
+                Response
                     .status(Response.Status.OK)
-                    .entity(objectMapper.writeValueAsString(storPoolDataList))
+                    .entity(new JsonStreamingOutput(objectMapper, storPoolDataStream))
                     .type(MediaType.APPLICATION_JSON)
-                    .build();
-            }
-            catch (JsonProcessingException exc)
-            {
-                exc.printStackTrace();
-                resp = Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
-            }
-
-            return Mono.just(resp);
+                    .build()
+            );
         }).next();
     }
 
@@ -232,9 +216,8 @@ public class View
                 snapsStream = snapsStream.skip(offset).limit(limit);
             }
 
-            List<JsonGenTypes.Snapshot> snapshot = snapsStream
-                .map(Json::apiToSnapshot)
-                .collect(Collectors.toList());
+            Stream<JsonGenTypes.Snapshot> snapshot = snapsStream
+                .map(snapshotDfn -> Json.apiToSnapshot(snapshotDfn, transferProgressStore));
 
             response = RequestHelper.queryRequestResponse(
                 objectMapper, ApiConsts.FAIL_NOT_FOUND_SNAPSHOT, "Snapshot", null, snapshot
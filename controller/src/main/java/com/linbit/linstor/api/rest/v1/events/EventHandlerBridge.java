@@ -2,10 +2,20 @@ package com.linbit.linstor.api.rest.v1.events;
 
 import com.linbit.linstor.logging.ErrorReporter;
 
+import javax.annotation.Nullable;
 import javax.ws.rs.core.MediaType;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,27 +24,148 @@ import org.glassfish.jersey.media.sse.OutboundEvent;
 
 public abstract class EventHandlerBridge
 {
+    /**
+     * Number of already sent events that are kept so that reconnecting clients can resume their stream
+     */
+    private static final int DFLT_BACKLOG_SIZE = 10_000;
+
     protected final ErrorReporter errorReporter;
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final ArrayList<EventOutput> rscClients = new ArrayList<>();
+    private final ArrayList<EventClient> rscClients = new ArrayList<>();
+
+    /*
+     * Every bridge instance has its own epoch so that event-ids from a previous controller instance (or from a
+     * different bridge) are never mistaken as a valid resume token
+     */
+    private final String epoch = Long.toHexString(System.currentTimeMillis());
+    private final ArrayDeque<BacklogEntry> backlog = new ArrayDeque<>();
+    private final int backlogSize;
+    private long nextEventSeq = 1;
 
     protected EventHandlerBridge(ErrorReporter errorReporterRef)
+    {
+        this(errorReporterRef, DFLT_BACKLOG_SIZE);
+    }
+
+    protected EventHandlerBridge(ErrorReporter errorReporterRef, int backlogSizeRef)
     {
         errorReporter = errorReporterRef;
+        backlogSize = backlogSizeRef;
     }
 
     public void registerResourceClient(EventOutput eventOut)
     {
         synchronized (rscClients)
         {
-            rscClients.add(eventOut);
+            rscClients.add(new EventClient(eventOut, EventFilter.NONE));
         }
     }
 
-    protected void sendEvent(String eventName, Object eventData)
+    /**
+     * Registers the given client and replays all events the client has missed since the given resume token.
+     * If the resume token is missing, unknown or already too old, the events from the given initial state
+     * supplier are sent instead (if the supplier is not null).
+     *
+     * @param eventOut The client's event output
+     * @param filter Only events matching this filter will be sent to the client
+     * @param resumeToken The value of the SSE "Last-Event-ID" header, might be null
+     * @param initialStateSupplier Called while holding the client lock, so no event can be sent in between
+     */
+    protected void registerResourceClient(
+        EventOutput eventOut,
+        EventFilter filter,
+        @Nullable String resumeToken,
+        @Nullable Supplier<List<PendingEvent>> initialStateSupplier
+    )
+    {
+        synchronized (rscClients)
+        {
+            try
+            {
+                Long lastSeenSeq = parseResumeToken(resumeToken);
+                BacklogEntry oldest = backlog.peekFirst();
+                long oldestAvailableSeq = oldest == null ? nextEventSeq : oldest.seq;
+                // lastSeenSeq + 1 is the first event the client has not seen yet
+                if (lastSeenSeq != null && lastSeenSeq + 1 >= oldestAvailableSeq && lastSeenSeq < nextEventSeq)
+                {
+                    for (BacklogEntry entry : backlog)
+                    {
+                        if (entry.seq > lastSeenSeq && filter.matches(entry.nodeName, entry.objName))
+                        {
+                            eventOut.write(entry.event);
+                        }
+                    }
+                }
+                else
+                if (initialStateSupplier != null)
+                {
+                    // the initial state is tagged with the id of the last sent event so that a client
+                    // reconnecting right after the initial state only gets the events it has missed
+                    String currentId = epoch + "-" + (nextEventSeq - 1);
+                    for (PendingEvent pendingEvent : initialStateSupplier.get())
+                    {
+                        if (filter.matches(pendingEvent.nodeName, pendingEvent.objName))
+                        {
+                            eventOut.write(
+                                new OutboundEvent.Builder()
+                                    .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                                    .name(pendingEvent.eventName)
+                                    .id(currentId)
+                                    .data(objectMapper.writeValueAsString(pendingEvent.eventData))
+                                    .build()
+                            );
+                        }
+                    }
+                }
+                rscClients.add(new EventClient(eventOut, filter));
+            }
+            catch (JsonProcessingException exc)
+            {
+                errorReporter.reportError(exc);
+                closeQuietly(eventOut);
+            }
+            catch (IOException exc)
+            {
+                // client already gone, no need to register it
+                closeQuietly(eventOut);
+            }
+        }
+    }
+
+    /**
+     * Runs the given action while no event can be sent or client can be registered. Subclasses use this to keep
+     * their cached state (which is used as initial state for new clients) consistent with the sent events.
+     */
+    protected void runLocked(Runnable runnable)
+    {
+        synchronized (rscClients)
+        {
+            runnable.run();
+        }
+    }
+
+    private @Nullable Long parseResumeToken(@Nullable String resumeToken)
     {
-        ArrayList<EventOutput> closeEvents = new ArrayList<>();
+        Long seq = null;
+        if (resumeToken != null)
+        {
+            int sepIdx = resumeToken.indexOf('-');
+            if (sepIdx > 0 && resumeToken.substring(0, sepIdx).equals(epoch))
+            {
+                try
+                {
+                    seq = Long.parseLong(resumeToken.substring(sepIdx + 1));
+                }
+                catch (NumberFormatException ignored)
+                {
+                }
+            }
+        }
+        return seq;
+    }
 
+    protected void sendEvent(String eventName, Object eventData)
+    {
         final OutboundEvent.Builder eventBuilder = new OutboundEvent.Builder();
         eventBuilder.mediaType(MediaType.APPLICATION_JSON_TYPE);
         eventBuilder.name(eventName);
@@ -45,29 +176,41 @@ public abstract class EventHandlerBridge
             final OutboundEvent event = eventBuilder.data(eventJsonData).build();
             synchronized (rscClients)
             {
-                for (EventOutput eventOutput : rscClients)
-                {
-                    try
-                    {
-                        eventOutput.write(event);
-                    }
-                    catch (IOException exc)
-                    {
-                        closeEvents.add(eventOutput);
-                    }
-                }
+                writeToClients(event, null, null);
+            }
+        }
+        catch (JsonProcessingException exc)
+        {
+            errorReporter.reportError(exc);
+        }
+    }
 
-                for (EventOutput eventOutput : closeEvents)
+    /**
+     * Sends an event with a resume token as SSE id to all clients whose filter matches the given node and object
+     * name. The event is also kept in the backlog so that it can be replayed to reconnecting clients.
+     */
+    protected void sendEvent(String eventName, Object eventData, String nodeName, @Nullable String objName)
+    {
+        try
+        {
+            final String eventJsonData = objectMapper.writeValueAsString(eventData);
+            synchronized (rscClients)
+            {
+                long seq = nextEventSeq++;
+                final OutboundEvent event = new OutboundEvent.Builder()
+                    .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                    .name(eventName)
+                    .id(epoch + "-" + seq)
+                    .data(eventJsonData)
+                    .build();
+
+                backlog.addLast(new BacklogEntry(seq, nodeName, objName, event));
+                while (backlog.size() > backlogSize)
                 {
-                    try
-                    {
-                        eventOutput.close();
-                    }
-                    catch (IOException ignored)
-                    {
-                    }
-                    rscClients.remove(eventOutput);
+                    backlog.removeFirst();
                 }
+
+                writeToClients(event, nodeName, objName);
             }
         }
         catch (JsonProcessingException exc)
@@ -75,4 +218,130 @@ public abstract class EventHandlerBridge
             errorReporter.reportError(exc);
         }
     }
+
+    /**
+     * Writes the event to every matching client. If nodeName is null, the client filters are ignored.
+     * Must be called while holding the lock on rscClients.
+     */
+    private void writeToClients(OutboundEvent event, @Nullable String nodeName, @Nullable String objName)
+    {
+        Iterator<EventClient> clientIt = rscClients.iterator();
+        while (clientIt.hasNext())
+        {
+            EventClient client = clientIt.next();
+            if (nodeName == null || client.filter.matches(nodeName, objName))
+            {
+                try
+                {
+                    client.eventOutput.write(event);
+                }
+                catch (IOException exc)
+                {
+                    closeQuietly(client.eventOutput);
+                    clientIt.remove();
+                }
+            }
+        }
+    }
+
+    private static void closeQuietly(EventOutput eventOutput)
+    {
+        try
+        {
+            eventOutput.close();
+        }
+        catch (IOException ignored)
+        {
+        }
+    }
+
+    /**
+     * Filter for node names and names of the object (resource, storage pool, ...) an event is about.
+     * An empty set of names matches everything.
+     */
+    public static class EventFilter
+    {
+        static final EventFilter NONE = new EventFilter(null, null);
+
+        private final Set<String> nodeNames;
+        private final Set<String> objNames;
+
+        public EventFilter(@Nullable Collection<String> nodeNamesRef, @Nullable Collection<String> objNamesRef)
+        {
+            nodeNames = toUpperSet(nodeNamesRef);
+            objNames = toUpperSet(objNamesRef);
+        }
+
+        private static Set<String> toUpperSet(@Nullable Collection<String> names)
+        {
+            Set<String> ret;
+            if (names == null || names.isEmpty())
+            {
+                ret = Collections.emptySet();
+            }
+            else
+            {
+                ret = new TreeSet<>();
+                for (String name : names)
+                {
+                    ret.add(name.toUpperCase(Locale.ROOT));
+                }
+            }
+            return ret;
+        }
+
+        public boolean matches(@Nullable String nodeName, @Nullable String objName)
+        {
+            return matches(nodeNames, nodeName) && matches(objNames, objName);
+        }
+
+        private static boolean matches(Set<String> names, @Nullable String name)
+        {
+            return names.isEmpty() || (name != null && names.contains(name.toUpperCase(Locale.ROOT)));
+        }
+    }
+
+    protected static class PendingEvent
+    {
+        private final String eventName;
+        private final Object eventData;
+        private final String nodeName;
+        private final @Nullable String objName;
+
+        protected PendingEvent(String eventNameRef, Object eventDataRef, String nodeNameRef, @Nullable String objNameRef)
+        {
+            eventName = eventNameRef;
+            eventData = eventDataRef;
+            nodeName = nodeNameRef;
+            objName = objNameRef;
+        }
+    }
+
+    private static class EventClient
+    {
+        private final EventOutput eventOutput;
+        private final EventFilter filter;
+
+        private EventClient(EventOutput eventOutputRef, EventFilter filterRef)
+        {
+            eventOutput = eventOutputRef;
+            filter = filterRef;
+        }
+    }
+
+    private static class BacklogEntry
+    {
+        private final long seq;
+        private final String nodeName;
+        private final @Nullable String objName;
+        private final OutboundEvent event;
+
+        private BacklogEntry(long seqRef, String nodeNameRef, @Nullable String objNameRef, OutboundEvent eventRef)
+        {
+            seq = seqRef;
+            nodeName = nodeNameRef;
+            objName = objNameRef;
+            event = eventRef;
+        }
+    }
 }
@@ -0,0 +1,197 @@
+package com.linbit.linstor.api.rest.v1.events;
+
+import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
+import com.linbit.linstor.event.ObjectIdentifier;
+import com.linbit.linstor.event.ObjectSignal;
+import com.linbit.linstor.event.common.ResourceState;
+import com.linbit.linstor.event.common.ResourceStateEvent;
+import com.linbit.linstor.event.common.VolumeDiskStateEvent;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.netcom.PeerNotConnectedException;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.glassfish.jersey.media.sse.EventOutput;
+import reactor.core.publisher.Signal;
+
+/**
+ * Bridges the {@link ResourceStateEvent} and {@link VolumeDiskStateEvent} streams the satellites report to the
+ * controller into a server sent event stream.
+ *
+ * The satellites open the resource state stream once a resource is created and close it once the resource is
+ * deleted. If the satellite loses its connection, the stream is closed with a {@link PeerNotConnectedException},
+ * in which case the resource is still known but its state is unknown.
+ */
+@Singleton
+public class EventRscHandlerBridge extends EventHandlerBridge
+{
+    public static final String EVENT_RSC_CREATE = "resource-create";
+    public static final String EVENT_RSC_STATE = "resource-state";
+    public static final String EVENT_RSC_STATE_UNKNOWN = "resource-state-unknown";
+    public static final String EVENT_RSC_DELETE = "resource-delete";
+    public static final String EVENT_VLM_DISK_STATE = "volume-disk-state";
+    public static final String EVENT_VLM_DELETE = "volume-delete";
+
+    // protected by runLocked
+    private final Map<ObjectIdentifier, JsonGenTypes.EventResourceState> knownRscStates = new HashMap<>();
+    private final Map<ObjectIdentifier, JsonGenTypes.EventVolumeDiskState> knownVlmStates = new HashMap<>();
+
+    @Inject
+    public EventRscHandlerBridge(
+        ErrorReporter errorReporterRef,
+        ResourceStateEvent resourceStateEventRef,
+        VolumeDiskStateEvent volumeDiskStateEventRef
+    )
+    {
+        super(errorReporterRef);
+
+        // subscribing also replays the latest value of every already existing stream
+        resourceStateEventRef.get().watchForStreams(ObjectIdentifier.global())
+            .subscribe(
+                this::onResourceSignal,
+                exc -> errorReporter.reportError(exc, null, null, "Uncaught exception in resource event bridge")
+            );
+        volumeDiskStateEventRef.get().watchForStreams(ObjectIdentifier.global())
+            .subscribe(
+                this::onVolumeSignal,
+                exc -> errorReporter.reportError(exc, null, null, "Uncaught exception in volume event bridge")
+            );
+    }
+
+    /**
+     * @param filter Node and resource names the client is interested in
+     * @param resumeToken SSE "Last-Event-ID" header sent by the client. Without a token, with "current" or an
+     *     unknown / outdated token the current state of all matching resources is sent first.
+     */
+    public void registerResourceClient(
+        EventOutput eventOut,
+        EventFilter filter,
+        @Nullable String resumeToken
+    )
+    {
+        registerResourceClient(eventOut, filter, resumeToken, this::getCurrentState);
+    }
+
+    private List<PendingEvent> getCurrentState()
+    {
+        // already called while holding the lock of the bridge
+        List<PendingEvent> ret = new ArrayList<>();
+        for (JsonGenTypes.EventResourceState rscState : knownRscStates.values())
+        {
+            ret.add(new PendingEvent(EVENT_RSC_STATE, rscState, rscState.node_name, rscState.resource_name));
+        }
+        for (JsonGenTypes.EventVolumeDiskState vlmState : knownVlmStates.values())
+        {
+            ret.add(new PendingEvent(EVENT_VLM_DISK_STATE, vlmState, vlmState.node_name, vlmState.resource_name));
+        }
+        return ret;
+    }
+
+    private void onResourceSignal(ObjectSignal<ResourceState> objSignal)
+    {
+        ObjectIdentifier objId = objSignal.getObjectIdentifier();
+        if (objId.getNodeName() != null && objId.getResourceName() != null)
+        {
+            String nodeName = objId.getNodeName().displayValue;
+            String rscName = objId.getResourceName().displayValue;
+            Signal<ResourceState> signal = objSignal.getSignal();
+
+            runLocked(() ->
+            {
+                if (signal.isOnNext())
+                {
+                    ResourceState rscState = signal.get();
+                    JsonGenTypes.EventResourceState jsonState = new JsonGenTypes.EventResourceState();
+                    jsonState.node_name = nodeName;
+                    jsonState.resource_name = rscName;
+                    jsonState.ready = rscState.hasAccessToUpToDateData();
+                    jsonState.in_use = rscState.getInUse();
+                    jsonState.up_to_date = rscState.getUpToDate();
+                    jsonState.promotion_score = rscState.getPromotionScore();
+                    jsonState.may_promote = rscState.mayPromote();
+
+                    boolean isNew = !knownRscStates.containsKey(objId);
+                    knownRscStates.put(objId, jsonState);
+                    if (isNew)
+                    {
+                        sendEvent(EVENT_RSC_CREATE, createEventResource(nodeName, rscName), nodeName, rscName);
+                    }
+                    sendEvent(EVENT_RSC_STATE, jsonState, nodeName, rscName);
+                }
+                else
+                if (signal.isOnError() && signal.getThrowable() instanceof PeerNotConnectedException)
+                {
+                    // keep the resource as known (but without state), the satellite will report it again after
+                    // reconnecting
+                    JsonGenTypes.EventResourceState unknownState = new JsonGenTypes.EventResourceState();
+                    unknownState.node_name = nodeName;
+                    unknownState.resource_name = rscName;
+                    knownRscStates.put(objId, unknownState);
+                    sendEvent(EVENT_RSC_STATE_UNKNOWN, createEventResource(nodeName, rscName), nodeName, rscName);
+                }
+                else
+                if (signal.isOnComplete() || signal.isOnError())
+                {
+                    if (knownRscStates.remove(objId) != null)
+                    {
+                        sendEvent(EVENT_RSC_DELETE, createEventResource(nodeName, rscName), nodeName, rscName);
+                    }
+                }
+            });
+        }
+    }
+
+    private void onVolumeSignal(ObjectSignal<String> objSignal)
+    {
+        ObjectIdentifier objId = objSignal.getObjectIdentifier();
+        if (objId.getNodeName() != null && objId.getResourceName() != null && objId.getVolumeNumber() != null)
+        {
+            String nodeName = objId.getNodeName().displayValue;
+            String rscName = objId.getResourceName().displayValue;
+            Signal<String> signal = objSignal.getSignal();
+
+            runLocked(() ->
+            {
+                JsonGenTypes.EventVolumeDiskState jsonState = new JsonGenTypes.EventVolumeDiskState();
+                jsonState.node_name = nodeName;
+                jsonState.resource_name = rscName;
+                jsonState.volume_number = objId.getVolumeNumber().value;
+                if (signal.isOnNext())
+                {
+                    jsonState.disk_state = signal.get();
+                    knownVlmStates.put(objId, jsonState);
+                    sendEvent(EVENT_VLM_DISK_STATE, jsonState, nodeName, rscName);
+                }
+                else
+                if (signal.isOnError() && signal.getThrowable() instanceof PeerNotConnectedException)
+                {
+                    // the resource-state-unknown event of the resource already covers this case
+                    knownVlmStates.remove(objId);
+                }
+                else
+                if (signal.isOnComplete() || signal.isOnError())
+                {
+                    if (knownVlmStates.remove(objId) != null)
+                    {
+                        sendEvent(EVENT_VLM_DELETE, jsonState, nodeName, rscName);
+                    }
+                }
+            });
+        }
+    }
+
+    private static JsonGenTypes.EventResource createEventResource(String nodeName, String rscName)
+    {
+        JsonGenTypes.EventResource eventRsc = new JsonGenTypes.EventResource();
+        eventRsc.node_name = nodeName;
+        eventRsc.resource_name = rscName;
+        return eventRsc;
+    }
+}
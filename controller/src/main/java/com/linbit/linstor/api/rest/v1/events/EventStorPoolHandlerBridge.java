@@ -0,0 +1,124 @@
+package com.linbit.linstor.api.rest.v1.events;
+
+import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
+import com.linbit.linstor.core.identifier.NodeName;
+import com.linbit.linstor.core.identifier.StorPoolName;
+import com.linbit.linstor.core.objects.StorPool;
+import com.linbit.linstor.logging.ErrorReporter;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.glassfish.jersey.media.sse.EventOutput;
+
+@Singleton
+public class EventStorPoolHandlerBridge extends EventHandlerBridge
+{
+    public static final String EVENT_CAPACITY = "storage-pool-capacity";
+    public static final String EVENT_DELETE = "storage-pool-delete";
+
+    // protected by runLocked
+    private final Map<StorPool.Key, JsonGenTypes.EventStoragePoolCapacity> lastCapacities = new HashMap<>();
+
+    @Inject
+    public EventStorPoolHandlerBridge(ErrorReporter errorReporterRef)
+    {
+        super(errorReporterRef);
+    }
+
+    /**
+     * @param filter Node and storage pool names the client is interested in
+     * @param resumeToken SSE "Last-Event-ID" header sent by the client. Without a token, with "current" or an
+     *     unknown / outdated token the last known capacities of all matching storage pools are sent first.
+     */
+    public void registerResourceClient(
+        EventOutput eventOut,
+        EventFilter filter,
+        @Nullable String resumeToken
+    )
+    {
+        registerResourceClient(eventOut, filter, resumeToken, this::getCurrentState);
+    }
+
+    private List<PendingEvent> getCurrentState()
+    {
+        // already called while holding the lock of the bridge
+        List<PendingEvent> ret = new ArrayList<>();
+        for (JsonGenTypes.EventStoragePoolCapacity capacity : lastCapacities.values())
+        {
+            ret.add(new PendingEvent(EVENT_CAPACITY, capacity, capacity.node_name, capacity.storage_pool_name));
+        }
+        return ret;
+    }
+
+    /**
+     * Sends a storage-pool-capacity event, but only if the capacities differ from the last reported ones
+     */
+    public void triggerCapacityChange(StorPool storPool, long freeCapacity, long totalCapacity)
+    {
+        StorPool.Key key = new StorPool.Key(storPool);
+        String nodeName = storPool.getNode().getName().displayValue;
+        String storPoolName = storPool.getName().displayValue;
+        runLocked(() ->
+        {
+            JsonGenTypes.EventStoragePoolCapacity last = lastCapacities.get(key);
+            if (
+                last == null ||
+                !Objects.equals(last.free_capacity, freeCapacity) ||
+                !Objects.equals(last.total_capacity, totalCapacity)
+            )
+            {
+                JsonGenTypes.EventStoragePoolCapacity capacity = new JsonGenTypes.EventStoragePoolCapacity();
+                capacity.node_name = nodeName;
+                capacity.storage_pool_name = storPoolName;
+                capacity.free_capacity = freeCapacity;
+                capacity.total_capacity = totalCapacity;
+                lastCapacities.put(key, capacity);
+
+                sendEvent(EVENT_CAPACITY, capacity, nodeName, storPoolName);
+            }
+        });
+    }
+
+    /**
+     * Sends a storage-pool-delete event. Must only be called after the deletion was committed.
+     */
+    public void triggerStorPoolDeleted(StorPool.Key key, String nodeName, String storPoolName)
+    {
+        JsonGenTypes.EventStoragePoolCapacity deleted = new JsonGenTypes.EventStoragePoolCapacity();
+        deleted.node_name = nodeName;
+        deleted.storage_pool_name = storPoolName;
+        runLocked(() ->
+        {
+            lastCapacities.remove(key);
+            sendEvent(EVENT_DELETE, deleted, nodeName, storPoolName);
+        });
+    }
+
+    /**
+     * Sends a storage-pool-delete event for every storage pool of a deleted node and forgets all capacities of the
+     * node. Must only be called after the deletion was committed.
+     */
+    public void triggerNodeDeleted(NodeName nodeName, Collection<StorPoolName> storPoolNames)
+    {
+        runLocked(() ->
+        {
+            lastCapacities.keySet().removeIf(key -> key.getNodeName().equals(nodeName));
+            for (StorPoolName storPoolName : storPoolNames)
+            {
+                JsonGenTypes.EventStoragePoolCapacity deleted = new JsonGenTypes.EventStoragePoolCapacity();
+                deleted.node_name = nodeName.displayValue;
+                deleted.storage_pool_name = storPoolName.displayValue;
+                sendEvent(EVENT_DELETE, deleted, nodeName.displayValue, storPoolName.displayValue);
+            }
+        });
+    }
+}
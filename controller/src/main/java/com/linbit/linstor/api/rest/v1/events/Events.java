@@ -7,10 +7,12 @@ import javax.ws.rs.GET;
 import javax.ws.rs.HeaderParam;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.io.IOException;
+import java.util.List;
 
 import org.glassfish.grizzly.http.server.Request;
 import org.glassfish.jersey.media.sse.EventOutput;
@@ -23,17 +25,23 @@ public class Events
     private final RequestHelper requestHelper;
     private final EventDrbdHandlerBridge eventDrbdHandlerBridge;
     private final EventNodeHandlerBridge eventNodeHandlerBridge;
+    private final EventRscHandlerBridge eventRscHandlerBridge;
+    private final EventStorPoolHandlerBridge eventStorPoolHandlerBridge;
 
     @Inject
     public Events(
         RequestHelper requestHelperRef,
         EventDrbdHandlerBridge eventDrbdHandlerBridgeRef,
-        EventNodeHandlerBridge eventNodeHandlerBridgeRef
+        EventNodeHandlerBridge eventNodeHandlerBridgeRef,
+        EventRscHandlerBridge eventRscHandlerBridgeRef,
+        EventStorPoolHandlerBridge eventStorPoolHandlerBridgeRef
     )
     {
         requestHelper = requestHelperRef;
         eventDrbdHandlerBridge = eventDrbdHandlerBridgeRef;
         eventNodeHandlerBridge = eventNodeHandlerBridgeRef;
+        eventRscHandlerBridge = eventRscHandlerBridgeRef;
+        eventStorPoolHandlerBridge = eventStorPoolHandlerBridgeRef;
     }
 
     @GET
@@ -94,4 +102,76 @@ public class Events
         }
         return eventOutput;
     }
+
+    @GET
+    @Produces(SseFeature.SERVER_SENT_EVENTS)
+    @Path("resources")
+    public EventOutput resourceEvents(
+        @Context Request request,
+        @QueryParam("nodes") List<String> nodes,
+        @QueryParam("resources") List<String> resources,
+        @HeaderParam("Last-Event-ID") String lastEventId) throws IOException
+    {
+        final EventOutput eventOutput = new EventOutput();
+        Response resp = requestHelper.doInScope(
+            requestHelper.createContext("Events-resources", request),
+            () ->
+            {
+                eventRscHandlerBridge.registerResourceClient(
+                    eventOutput,
+                    new EventHandlerBridge.EventFilter(nodes, resources),
+                    lastEventId
+                );
+                return null;
+            },
+            false
+        );
+
+        if (resp != null)
+        {
+            eventOutput.write(
+                new OutboundEvent.Builder()
+                    .name("error")
+                    .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                    .data(resp.getEntity()).build());
+            eventOutput.close();
+        }
+        return eventOutput;
+    }
+
+    @GET
+    @Produces(SseFeature.SERVER_SENT_EVENTS)
+    @Path("storage-pools")
+    public EventOutput storPoolEvents(
+        @Context Request request,
+        @QueryParam("nodes") List<String> nodes,
+        @QueryParam("storage_pools") List<String> storPools,
+        @HeaderParam("Last-Event-ID") String lastEventId) throws IOException
+    {
+        final EventOutput eventOutput = new EventOutput();
+        Response resp = requestHelper.doInScope(
+            requestHelper.createContext("Events-storage-pools", request),
+            () ->
+            {
+                eventStorPoolHandlerBridge.registerResourceClient(
+                    eventOutput,
+                    new EventHandlerBridge.EventFilter(nodes, storPools),
+                    lastEventId
+                );
+                return null;
+            },
+            false
+        );
+
+        if (resp != null)
+        {
+            eventOutput.write(
+                new OutboundEvent.Builder()
+                    .name("error")
+                    .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                    .data(resp.getEntity()).build());
+            eventOutput.close();
+        }
+        return eventOutput;
+    }
 }
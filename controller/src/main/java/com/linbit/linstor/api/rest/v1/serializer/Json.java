@@ -39,6 +39,7 @@ import com.linbit.linstor.api.pojo.RscPojo;
 import com.linbit.linstor.api.pojo.S3RemotePojo;
 import com.linbit.linstor.api.pojo.SchedulePojo;
 import com.linbit.linstor.api.pojo.StorageRscPojo;
+import com.linbit.linstor.api.pojo.TransferProgressPojo;
 import com.linbit.linstor.api.pojo.VlmDfnPojo;
 import com.linbit.linstor.api.pojo.WritecacheRscPojo;
 import com.linbit.linstor.api.pojo.backups.BackupInfoPojo;
@@ -50,6 +51,7 @@ import com.linbit.linstor.api.pojo.backups.ScheduleDetailsPojo;
 import com.linbit.linstor.api.pojo.backups.ScheduledRscsPojo;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes.AutoSelectFilter;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes.ExosDefaults;
+import com.linbit.linstor.core.CtrlTransferProgressStore;
 import com.linbit.linstor.core.LinStor;
 import com.linbit.linstor.core.apis.BackupApi;
 import com.linbit.linstor.core.apis.BackupApi.BackupS3Api;
@@ -1034,6 +1036,51 @@ public class Json
         return snapshot;
     }
 
+    /**
+     * Same as {@link #apiToSnapshot(SnapshotDefinitionListItemApi)}, but also includes the progress of the
+     * snapshot shippings and backups that are currently running for the snapshot
+     */
+    public static JsonGenTypes.Snapshot apiToSnapshot(
+        SnapshotDefinitionListItemApi snapshotDfnListItemApi,
+        CtrlTransferProgressStore transferProgressStore
+    )
+    {
+        JsonGenTypes.Snapshot snapshot = apiToSnapshot(snapshotDfnListItemApi);
+        for (JsonGenTypes.SnapshotNode nodeSnap : snapshot.snapshots)
+        {
+            nodeSnap.progress = apiToTransferProgress(
+                transferProgressStore.getShippings(nodeSnap.node_name, snapshot.resource_name, snapshot.name)
+            );
+        }
+        return snapshot;
+    }
+
+    public static List<JsonGenTypes.TransferProgress> apiToTransferProgress(
+        List<Pair<String, TransferProgressPojo>> transfers
+    )
+    {
+        List<JsonGenTypes.TransferProgress> ret = new ArrayList<>(transfers.size());
+        for (Pair<String, TransferProgressPojo> transfer : transfers)
+        {
+            TransferProgressPojo pojo = transfer.objB;
+            JsonGenTypes.TransferProgress progress = new JsonGenTypes.TransferProgress();
+            progress.kind = pojo.getKind().name();
+            progress.node_name = transfer.objA;
+            progress.resource_name = pojo.getRscName();
+            progress.snapshot_name = pojo.getSnapName();
+            progress.volume_number = pojo.getVlmNr();
+            progress.remote_name = pojo.getRemoteName();
+            progress.bytes_transferred = pojo.getBytesDone();
+            progress.bytes_total = pojo.getBytesTotal();
+            progress.wire_bytes = pojo.getWireBytes();
+            progress.bytes_per_second = pojo.getBytesPerSecond();
+            progress.eta_seconds = pojo.getEtaSeconds();
+            progress.start_timestamp = pojo.getStartTimestamp();
+            ret.add(progress);
+        }
+        return ret;
+    }
+
     public static JsonGenTypes.SnapshotShippingStatus apiToSnapshotShipping(
         SnapshotShippingListItemApi snapshotShippingListItemApi
     )
@@ -1281,6 +1328,32 @@ public class Json
         return jsonBackups;
     }
 
+    /**
+     * Same as {@link #apiToBackup(Map)}, but also includes the progress of the backups that are currently shipping
+     */
+    public static Map<String, JsonGenTypes.Backup> apiToBackup(
+        Map<String, BackupApi> backups,
+        CtrlTransferProgressStore transferProgressStore
+    )
+    {
+        Map<String, JsonGenTypes.Backup> jsonBackups = apiToBackup(backups);
+        for (JsonGenTypes.Backup jsonBackup : jsonBackups.values())
+        {
+            if (Boolean.TRUE.equals(jsonBackup.shipping) && jsonBackup.origin_snap != null)
+            {
+                List<Pair<String, TransferProgressPojo>> transfers = jsonBackup.origin_node == null ?
+                    transferProgressStore.getShippings(jsonBackup.origin_rsc, jsonBackup.origin_snap) :
+                    transferProgressStore.getShippings(
+                        jsonBackup.origin_node,
+                        jsonBackup.origin_rsc,
+                        jsonBackup.origin_snap
+                    );
+                jsonBackup.progress = apiToTransferProgress(transfers);
+            }
+        }
+        return jsonBackups;
+    }
+
     public static JsonGenTypes.BackupInfo apiToBackupInfo(BackupInfoPojo pojo)
     {
         JsonGenTypes.BackupInfo json = new JsonGenTypes.BackupInfo();
@@ -1250,6 +1250,10 @@ public class JsonGenTypes
          */
         public String uuid;
         public List<SnapshotVolumeNode> snapshot_volumes = Collections.emptyList();
+        /**
+         * Running snapshot shippings and backups of this snapshot
+         */
+        public List<TransferProgress> progress = Collections.emptyList();
     }
 
     /**
@@ -1346,6 +1350,10 @@ public class JsonGenTypes
         public Boolean restorable;
         public BackupS3 s3;
         public String based_on_id;
+        /**
+         * Per volume progress while the backup is shipping
+         */
+        public List<TransferProgress> progress = Collections.emptyList();
     }
 
     @JsonInclude(JsonInclude.Include.NON_EMPTY)
@@ -1369,6 +1377,47 @@ public class JsonGenTypes
         public String meta_name;
     }
 
+    /**
+     * Progress of a running backup, snapshot shipping or clone of a single volume
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class TransferProgress
+    {
+        public String kind;
+        /**
+         * Node running the transfer
+         */
+        public String node_name;
+        public String resource_name;
+        public String snapshot_name;
+        public Integer volume_number;
+        public String remote_name;
+        /**
+         * Uncompressed bytes transferred so far, -1 if unknown
+         */
+        public Long bytes_transferred;
+        /**
+         * Estimated uncompressed size of the transfer, -1 if unknown
+         */
+        public Long bytes_total;
+        /**
+         * Bytes sent or received over the network so far
+         */
+        public Long wire_bytes;
+        /**
+         * Current rate of bytes_transferred, or of wire_bytes if bytes_transferred is unknown
+         */
+        public Long bytes_per_second;
+        /**
+         * Estimated seconds until the transfer is done, -1 if unknown
+         */
+        public Long eta_seconds;
+        /**
+         * milliseconds since unix epoch in UTC
+         */
+        public Long start_timestamp;
+    }
+
     /**
      * A map containing all other entries found that have no relation to linstor
      */
@@ -1731,6 +1780,61 @@ public class JsonGenTypes
         public Node new_node;
     }
 
+    /**
+     * resource-create, resource-delete and resource-state-unknown
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class EventResource
+    {
+        public String node_name;
+        public String resource_name;
+    }
+
+    /**
+     * resource-state
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class EventResourceState
+    {
+        public String node_name;
+        public String resource_name;
+        /**
+         * resource has access to up to date data
+         */
+        public Boolean ready;
+        public Boolean in_use;
+        public Boolean up_to_date;
+        public Integer promotion_score;
+        public Boolean may_promote;
+    }
+
+    /**
+     * volume-disk-state and volume-delete
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class EventVolumeDiskState
+    {
+        public String node_name;
+        public String resource_name;
+        public Integer volume_number;
+        /**
+         * disk state as reported by the satellite, not set for volume-delete
+         */
+        public String disk_state;
+    }
+
+    /**
+     * storage-pool-capacity and storage-pool-delete
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class EventStoragePoolCapacity
+    {
+        public String node_name;
+        public String storage_pool_name;
+        public Long free_capacity;
+        public Long total_capacity;
+    }
+
     /**
      * Default settings for EXOS enclosures
      */
@@ -1904,6 +2008,10 @@ public class JsonGenTypes
          * COMPLETE -> resource is ready to use
          */
         public String status;
+        /**
+         * Per volume progress while cloning
+         */
+        public List<TransferProgress> progress = Collections.emptyList();
     }
 
     /**
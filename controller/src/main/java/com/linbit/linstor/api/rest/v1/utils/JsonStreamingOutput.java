@@ -0,0 +1,53 @@
+package com.linbit.linstor.api.rest.v1.utils;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Writes the elements of a {@link Stream} as a JSON array directly to the response.
+ *
+ * The stream is only consumed while the response is written, so every element is converted and serialized on its
+ * own and neither the list of converted elements nor the serialized JSON string of the whole list is ever held in
+ * memory. The response has no content length and is sent chunked (and gzip compressed if the client accepts it).
+ */
+public class JsonStreamingOutput implements StreamingOutput
+{
+    private final ObjectWriter objectWriter;
+    private final Stream<?> elements;
+
+    public JsonStreamingOutput(ObjectMapper objectMapperRef, Stream<?> elementsRef)
+    {
+        // flushing after every element would send each one in its own chunk
+        objectWriter = objectMapperRef.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        elements = elementsRef;
+    }
+
+    @Override
+    public void write(OutputStream outputStream) throws IOException
+    {
+        try (
+            Stream<?> stream = elements;
+            JsonGenerator generator = objectWriter.getFactory().createGenerator(outputStream)
+        )
+        {
+            // the container closes the output stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            Iterator<?> it = stream.iterator();
+            while (it.hasNext())
+            {
+                objectWriter.writeValue(generator, it.next());
+            }
+            generator.writeEndArray();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.linbit.InvalidNameException;
 import com.linbit.linstor.InternalApiConsts;
 import com.linbit.linstor.annotation.SystemContext;
 import com.linbit.linstor.api.ApiConsts;
+import com.linbit.linstor.core.apicallhandler.controller.backup.BackupBandwidthScheduler;
 import com.linbit.linstor.core.apicallhandler.controller.backup.CtrlBackupL2LDstApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.backup.CtrlBackupL2LSrcApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.backup.CtrlBackupL2LSrcApiCallHandler.BackupShippingData;
@@ -33,7 +34,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -64,16 +64,19 @@ public class BackupInfoManager
     private final Map<StltRemote, CleanupData> cleanupDataMap;
     private final AccessContext sysCtx;
     private final ErrorReporter errorReporter;
+    private final BackupBandwidthScheduler bandwidthScheduler;
 
     @Inject
     public BackupInfoManager(
         TransactionObjectFactory transObjFactoryRef,
         @SystemContext AccessContext sysCtxRef,
-        ErrorReporter errorReporterRef
+        ErrorReporter errorReporterRef,
+        BackupBandwidthScheduler bandwidthSchedulerRef
     )
     {
         sysCtx = sysCtxRef;
         errorReporter = errorReporterRef;
+        bandwidthScheduler = bandwidthSchedulerRef;
         restoreMap = transObjFactoryRef.createTransactionPrimitiveMap(new HashMap<>(), null);
         abortCreateMap = new HashMap<>();
         abortRestoreMap = new HashMap<>();
@@ -479,6 +482,9 @@ public class BackupInfoManager
     /**
      * Add the snapDfn to the queues of all nodes in usableNodes
      * If usableNodes is empty or null, it will be added to the prevNodeUndecidedQueue
+     *
+     * The deadline and the estimated size decide which of the queued snapDfns of a node is started first, see
+     * {@link BackupBandwidthScheduler}
      */
     public void addToQueues(
         SnapshotDefinition snapDfn,
@@ -486,12 +492,22 @@ public class BackupInfoManager
         @Nullable SnapshotDefinition prevSnapDfn,
         @Nullable String preferredNode,
         @Nullable BackupShippingData l2lData,
-        @Nullable Set<Node> usableNodes
+        @Nullable Set<Node> usableNodes,
+        long deadline,
+        long estimatedBytes
     )
     {
         synchronized (uploadQueues)
         {
-            QueueItem item = new QueueItem(snapDfn, remote, prevSnapDfn, preferredNode, l2lData);
+            QueueItem item = new QueueItem(
+                snapDfn,
+                remote,
+                prevSnapDfn,
+                preferredNode,
+                l2lData,
+                deadline,
+                estimatedBytes
+            );
             if (usableNodes != null && !usableNodes.isEmpty())
             {
                 for (Node node : usableNodes)
@@ -540,6 +556,9 @@ public class BackupInfoManager
     /**
      * Return the next snapDfn from the queue of the given node and remove it from all queues it was in (including the
      * given node's)
+     *
+     * Of all snapDfns that could be started, the one with the earliest deadline is chosen, and of those the largest
+     * one. SnapDfns whose remote has no bandwidth left are skipped.
      */
     public QueueItem getNextFromQueue(AccessContext accCtx, Node node, boolean consume) throws AccessDeniedException
     {
@@ -549,16 +568,28 @@ public class BackupInfoManager
             Set<QueueItem> queue = uploadQueues.getByKey(node);
             if (queue != null && !queue.isEmpty())
             {
-                Iterator<QueueItem> iterator = queue.iterator();
-                while (iterator.hasNext() && ret == null)
+                Map<AbsRemote, Boolean> remoteHasBandwidth = new HashMap<>();
+                for (QueueItem next : queue)
                 {
-                    QueueItem next = iterator.next();
                     SnapshotDefinition prevSnapDfn = next.prevSnapDfn;
                     boolean isValid = prevSnapDfn == null || prevSnapDfn.isDeleted() ||
                         prevSnapDfn.getFlags().isSet(accCtx, SnapshotDefinition.Flags.SHIPPED);
-                    if (isValid)
+                    if (isValid && (ret == null || next.comparePriority(ret) < 0))
                     {
-                        ret = next;
+                        Boolean hasBandwidth = remoteHasBandwidth.get(next.remote);
+                        if (hasBandwidth == null)
+                        {
+                            hasBandwidth = bandwidthScheduler.hasBandwidthFor(
+                                node.getName().displayValue,
+                                next.remote.getName().displayValue,
+                                next.snapDfn.getAllSnapshotVolumeDefinitions(accCtx).size()
+                            );
+                            remoteHasBandwidth.put(next.remote, hasBandwidth);
+                        }
+                        if (hasBandwidth)
+                        {
+                            ret = next;
+                        }
                     }
                 }
                 if (ret != null && consume)
@@ -576,7 +607,15 @@ public class BackupInfoManager
         synchronized (uploadQueues)
         {
             // this works because hashCode & equals only use snapDfn & remote and ignore the prevSnapDfn
-            QueueItem toDelete = new QueueItem(snapDfn, remote, null, null, null);
+            QueueItem toDelete = new QueueItem(
+                snapDfn,
+                remote,
+                null,
+                null,
+                null,
+                BackupBandwidthScheduler.NO_DEADLINE,
+                0
+            );
             uploadQueues.removeValue(toDelete);
             prevNodeUndecidedQueue.remove(toDelete);
         }
@@ -757,6 +796,9 @@ public class BackupInfoManager
         public final @Nullable SnapshotDefinition prevSnapDfn;
         public final @Nullable String preferredNode;
         public final @Nullable BackupShippingData l2lData;
+        /* point in time (in millis) the shipping should be done by, BackupBandwidthScheduler.NO_DEADLINE if none */
+        public final long deadline;
+        public final long estimatedBytes;
         /*
          * This is needed to make it possible that the queueItems from getFollowUpSnaps can be started on any available
          * node. Without alreadyStartedOn, an already finished shipping could be started again on another node.
@@ -768,7 +810,9 @@ public class BackupInfoManager
             AbsRemote remoteRef,
             SnapshotDefinition prevSnapDfnRef,
             String preferredNodeRef,
-            BackupShippingData l2lDataRef
+            BackupShippingData l2lDataRef,
+            long deadlineRef,
+            long estimatedBytesRef
         )
         {
             snapDfn = snapDfnRef;
@@ -776,13 +820,35 @@ public class BackupInfoManager
             prevSnapDfn = prevSnapDfnRef;
             preferredNode = preferredNodeRef;
             l2lData = l2lDataRef;
+            deadline = deadlineRef;
+            estimatedBytes = estimatedBytesRef;
+        }
+
+        /**
+         * Orders by deadline, then by estimated size (largest first) and finally by creation time. Unlike
+         * {@link #compareTo(QueueItem)} this is not consistent with equals and only used to pick the next item to
+         * start.
+         */
+        public int comparePriority(QueueItem other)
+        {
+            int cmp = Long.compare(deadline, other.deadline);
+            if (cmp == 0)
+            {
+                cmp = Long.compare(other.estimatedBytes, estimatedBytes);
+                if (cmp == 0)
+                {
+                    cmp = compareTo(other);
+                }
+            }
+            return cmp;
         }
 
         @Override
         public String toString()
         {
             return "QueueItem [snapDfn=" + snapDfn + ", remote=" + remote + ", prevSnapDfn=" + prevSnapDfn +
-                ", preferredNode=" + preferredNode + ", l2lData=" + l2lData + "]";
+                ", preferredNode=" + preferredNode + ", l2lData=" + l2lData + ", deadline=" + deadline +
+                ", estimatedBytes=" + estimatedBytes + "]";
         }
 
         @Override
@@ -27,6 +27,7 @@ import com.linbit.linstor.dbcp.DbInitializer;
 import com.linbit.linstor.dbcp.migration.AbsMigration;
 import com.linbit.linstor.dbdrivers.ControllerDbModule;
 import com.linbit.linstor.dbdrivers.DatabaseDriverInfo;
+import com.linbit.linstor.dbdrivers.DatabaseException;
 import com.linbit.linstor.dbdrivers.etcd.EtcdUtils;
 import com.linbit.linstor.debug.ControllerDebugModule;
 import com.linbit.linstor.debug.DebugConsole;
@@ -44,8 +45,10 @@ import com.linbit.linstor.event.serializer.protobuf.common.ResourceStateEventSer
 import com.linbit.linstor.event.serializer.protobuf.common.VolumeDiskStateEventSerializer;
 import com.linbit.linstor.layer.LayerSizeCalculatorModule;
 import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.logging.ErrorReporterService;
 import com.linbit.linstor.logging.LoggingModule;
 import com.linbit.linstor.logging.StdErrorReporter;
+import com.linbit.linstor.metrics.LinStorMetrics;
 import com.linbit.linstor.modularcrypto.ModularCryptoProvider;
 import com.linbit.linstor.netcom.NetComModule;
 import com.linbit.linstor.numberpool.DbNumberPoolInitializer;
@@ -120,6 +123,7 @@ public final class Controller
 
     // Error & exception logging facility
     private final ErrorReporter errorReporter;
+    private final ErrorReporterService errorReporterService;
 
     // System security context
     private final AccessContext sysCtx;
@@ -176,6 +180,7 @@ public final class Controller
     @Inject
     public Controller(
         ErrorReporter errorReporterRef,
+        ErrorReporterService errorReporterServiceRef,
         @SystemContext
         AccessContext sysCtxRef,
         CoreTimer timerEventSvcRef,
@@ -213,6 +218,7 @@ public final class Controller
     )
     {
         errorReporter = errorReporterRef;
+        errorReporterService = errorReporterServiceRef;
         sysCtx = sysCtxRef;
         timerEventSvc = timerEventSvcRef;
         reconfigurationLock = reconfigurationLockRef;
@@ -291,6 +297,8 @@ public final class Controller
                 errorReporter.logError("Invalid Log level '" + logLevelStr + "'");
             }
 
+            injector.getInstance(LinStorMetrics.class).setEnabled(linstorCfgRef.isMetricsHotPathEnabled());
+
             taskScheduleService.addTask(pingTask);
             taskScheduleService.addTask(reconnectorTask);
             taskScheduleService.addTask(retryResourcesTask);
@@ -302,6 +310,7 @@ public final class Controller
             taskScheduleService.addTask(exosPingTask);
             taskScheduleService.addTask(qsiClearCache);
 
+            systemServicesMap.put(errorReporterService.getInstanceName(), errorReporterService);
             systemServicesMap.put(controllerDb.getInstanceName(), controllerDb);
             systemServicesMap.put(taskScheduleService.getInstanceName(), taskScheduleService);
             systemServicesMap.put(scheduleBackupService.getInstanceName(), scheduleBackupService);
@@ -347,6 +356,8 @@ public final class Controller
 
             ArrayList<StartupInitializer> startOrderlist = new ArrayList<>();
 
+            // stopped last, so that errors of all other services are still written
+            startOrderlist.add(new ServiceStarter(errorReporterService));
             startOrderlist.add(new ServiceStarter(timerEventSvc));
             startOrderlist.add(dbInitializer);
             startOrderlist.add(new ServiceStarter(controllerDb));
@@ -649,6 +660,15 @@ public final class Controller
                     }
                 }
             }
+            try
+            {
+                // the system services that would write the pending error reports might not have been started
+                errorLog.shutdown();
+            }
+            catch (DatabaseException ignored)
+            {
+                // the report was already logged, it only could not be stored in the error report database
+            }
             System.exit(InternalApiConsts.EXIT_CODE_IMPL_ERROR);
         }
 
@@ -0,0 +1,136 @@
+package com.linbit.linstor.core;
+
+import com.linbit.linstor.api.pojo.TransferProgressPojo;
+import com.linbit.utils.Pair;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Keeps the latest progress of the running backups, snapshot shippings and clones that the satellites reported.
+ *
+ * Every satellite always sends all of its transfers, so an update simply replaces everything known about that node.
+ * Satellites send updates every few seconds while they have running transfers. Entries that were not refreshed in
+ * time (e.g. because the satellite lost its connection or the node was deleted) are dropped.
+ */
+@Singleton
+public class CtrlTransferProgressStore
+{
+    private static final long EXPIRE_AFTER_MILLIS = 15_000;
+
+    private static class NodeEntry
+    {
+        private final String nodeName;
+        private final List<TransferProgressPojo> transfers;
+        private final long receivedTimestamp;
+
+        private NodeEntry(String nodeNameRef, List<TransferProgressPojo> transfersRef, long receivedTimestampRef)
+        {
+            nodeName = nodeNameRef;
+            transfers = transfersRef;
+            receivedTimestamp = receivedTimestampRef;
+        }
+    }
+
+    // protected by "this", the key is the upper case node name
+    private final Map<String, NodeEntry> nodeEntries = new TreeMap<>();
+
+    @Inject
+    public CtrlTransferProgressStore()
+    {
+    }
+
+    public synchronized void update(String nodeName, List<TransferProgressPojo> transfers)
+    {
+        String key = nodeName.toUpperCase(Locale.ROOT);
+        if (transfers.isEmpty())
+        {
+            nodeEntries.remove(key);
+        }
+        else
+        {
+            nodeEntries.put(
+                key,
+                new NodeEntry(nodeName, Collections.unmodifiableList(transfers), System.currentTimeMillis())
+            );
+        }
+    }
+
+    /**
+     * @return all known transfers as pairs of node name and progress
+     */
+    public List<Pair<String, TransferProgressPojo>> getAll()
+    {
+        return find(transfer -> true);
+    }
+
+    /**
+     * @return the backups and snapshot shippings of the given snapshot, or of all snapshots of the resource if
+     *     <code>snapName</code> is null. Clones are not included.
+     */
+    public List<Pair<String, TransferProgressPojo>> getShippings(String rscName, @Nullable String snapName)
+    {
+        return find(
+            transfer -> transfer.getKind() != TransferProgressPojo.Kind.CLONE &&
+                transfer.getRscName().equalsIgnoreCase(rscName) &&
+                (snapName == null || snapName.equalsIgnoreCase(transfer.getSnapName()))
+        );
+    }
+
+    /**
+     * @return the backups and snapshot shippings of the given snapshot on the given node
+     */
+    public List<Pair<String, TransferProgressPojo>> getShippings(String nodeName, String rscName, String snapName)
+    {
+        List<Pair<String, TransferProgressPojo>> ret = getShippings(rscName, snapName);
+        ret.removeIf(pair -> !pair.objA.equalsIgnoreCase(nodeName));
+        return ret;
+    }
+
+    /**
+     * @return the clones into the given resource definition
+     */
+    public List<Pair<String, TransferProgressPojo>> getClones(String rscName)
+    {
+        return find(
+            transfer -> transfer.getKind() == TransferProgressPojo.Kind.CLONE &&
+                transfer.getRscName().equalsIgnoreCase(rscName)
+        );
+    }
+
+    private synchronized List<Pair<String, TransferProgressPojo>> find(Predicate<TransferProgressPojo> filter)
+    {
+        long expiredBefore = System.currentTimeMillis() - EXPIRE_AFTER_MILLIS;
+        List<Pair<String, TransferProgressPojo>> ret = new ArrayList<>();
+        Iterator<NodeEntry> entryIt = nodeEntries.values().iterator();
+        while (entryIt.hasNext())
+        {
+            NodeEntry entry = entryIt.next();
+            if (entry.receivedTimestamp < expiredBefore)
+            {
+                entryIt.remove();
+            }
+            else
+            {
+                for (TransferProgressPojo transfer : entry.transfers)
+                {
+                    if (filter.test(transfer))
+                    {
+                        ret.add(new Pair<>(entry.nodeName, transfer));
+                    }
+                }
+            }
+        }
+        return ret;
+    }
+}
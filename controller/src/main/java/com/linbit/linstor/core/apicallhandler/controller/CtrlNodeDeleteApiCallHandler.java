@@ -8,6 +8,7 @@ import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.ApiCallRcImpl;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.rest.v1.events.EventNodeHandlerBridge;
+import com.linbit.linstor.api.rest.v1.events.EventStorPoolHandlerBridge;
 import com.linbit.linstor.core.SpecialSatelliteProcessManager;
 import com.linbit.linstor.core.apicallhandler.ScopeRunner;
 import com.linbit.linstor.core.apicallhandler.controller.backup.CtrlBackupCreateApiCallHandler;
@@ -83,6 +84,7 @@ public class CtrlNodeDeleteApiCallHandler implements CtrlSatelliteConnectionList
     private final CtrlSnapshotDeleteApiCallHandler ctrlSnapshotDeleteApiCallHandler;
     private final CtrlRscDeleteApiHelper ctrlRscDeleteApiHelper;
     private final EventNodeHandlerBridge eventNodeHandlerBridge;
+    private final EventStorPoolHandlerBridge eventStorPoolHandlerBridge;
     private final SpecialSatelliteProcessManager specTargetProcMgr;
     private final DynamicNumberPool specStltPortPool;
     private final CtrlBackupCreateApiCallHandler ctrlBackupCrtApiCallHandler;
@@ -102,6 +104,7 @@ public class CtrlNodeDeleteApiCallHandler implements CtrlSatelliteConnectionList
         CtrlSnapshotDeleteApiCallHandler ctrlSnapshotDeleteApiCallHandlerRef,
         CtrlRscDeleteApiHelper ctrlRscDeleteApiHelperRef,
         EventNodeHandlerBridge eventNodeHandlerBridgeRef,
+        EventStorPoolHandlerBridge eventStorPoolHandlerBridgeRef,
         SpecialSatelliteProcessManager specTargetProcMgrRef,
         @Named(NumberPoolModule.SPECIAL_SATELLTE_PORT_POOL) DynamicNumberPool specStltPortPoolRef,
         CtrlBackupCreateApiCallHandler ctrlBackupCrtApiCallHandlerRef,
@@ -121,6 +124,7 @@ public class CtrlNodeDeleteApiCallHandler implements CtrlSatelliteConnectionList
         ctrlSnapshotDeleteApiCallHandler = ctrlSnapshotDeleteApiCallHandlerRef;
         ctrlRscDeleteApiHelper = ctrlRscDeleteApiHelperRef;
         eventNodeHandlerBridge = eventNodeHandlerBridgeRef;
+        eventStorPoolHandlerBridge = eventStorPoolHandlerBridgeRef;
         specTargetProcMgr = specTargetProcMgrRef;
         specStltPortPool = specStltPortPoolRef;
         ctrlBackupCrtApiCallHandler = ctrlBackupCrtApiCallHandlerRef;
@@ -257,12 +261,14 @@ public class CtrlNodeDeleteApiCallHandler implements CtrlSatelliteConnectionList
                 markDeleted(rsc);
             }
             Peer nodePeer = getPeerPrivileged(node);
+            List<StorPoolName> storPoolNames = getStorPoolNamesPrivileged(node);
 
             boolean nodeDeleted = deleteNodeIfEmpty(node);
 
             ctrlTransactionHelper.commit();
             if (nodeDeleted)
             {
+                eventStorPoolHandlerBridge.triggerNodeDeleted(nodeName, storPoolNames);
 
                 responses.addEntry(disconnectNode(nodeUuid, nodeDescription, nodePeer));
 
@@ -386,11 +392,13 @@ public class CtrlNodeDeleteApiCallHandler implements CtrlSatelliteConnectionList
             ctrlRscDeleteApiHelper.cleanupAndDelete(rsc);
 
             Peer nodePeer = getPeerPrivileged(node);
+            List<StorPoolName> storPoolNames = getStorPoolNamesPrivileged(node);
             boolean nodeDeleted = deleteNodeIfEmpty(node);
             ctrlTransactionHelper.commit();
 
             if (nodeDeleted)
             {
+                eventStorPoolHandlerBridge.triggerNodeDeleted(nodeName, storPoolNames);
 
                 ApiCallRcImpl.ApiCallRcEntry response = disconnectNode(nodeUuid, nodeDescription, nodePeer);
 
@@ -606,6 +614,13 @@ public class CtrlNodeDeleteApiCallHandler implements CtrlSatelliteConnectionList
         return iterateStorPools;
     }
 
+    private List<StorPoolName> getStorPoolNamesPrivileged(Node node)
+    {
+        List<StorPoolName> storPoolNames = new ArrayList<>();
+        getStorPoolIteratorPrivileged(node).forEachRemaining(storPool -> storPoolNames.add(storPool.getName()));
+        return storPoolNames;
+    }
+
     private Stream<Resource> getRscStream(Node node)
     {
         Stream<Resource> stream;
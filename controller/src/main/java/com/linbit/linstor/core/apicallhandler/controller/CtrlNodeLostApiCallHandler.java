@@ -7,6 +7,7 @@ import com.linbit.linstor.annotation.PeerContext;
 import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.ApiCallRcImpl;
 import com.linbit.linstor.api.ApiConsts;
+import com.linbit.linstor.api.rest.v1.events.EventStorPoolHandlerBridge;
 import com.linbit.linstor.core.CoreModule;
 import com.linbit.linstor.core.SpecialSatelliteProcessManager;
 import com.linbit.linstor.core.apicallhandler.ScopeRunner;
@@ -81,6 +82,7 @@ public class CtrlNodeLostApiCallHandler
     private final Provider<AccessContext> peerAccCtx;
     private final CtrlRscDeleteApiHelper ctrlRscDeleteApiHelper;
     private final CtrlBackupCreateApiCallHandler ctrlBackupCrtApiCallHandler;
+    private final EventStorPoolHandlerBridge eventStorPoolHandlerBridge;
 
     @Inject
     public CtrlNodeLostApiCallHandler(
@@ -99,6 +101,7 @@ public class CtrlNodeLostApiCallHandler
         @PeerContext Provider<AccessContext> peerAccCtxRef,
         CtrlRscDeleteApiHelper ctrlRscDeleteApiHelperRef,
         CtrlBackupCreateApiCallHandler ctrlBackupCrtApiCallHandlerRef,
+        EventStorPoolHandlerBridge eventStorPoolHandlerBridgeRef,
         ErrorReporter errorReporterRef
     )
     {
@@ -117,6 +120,7 @@ public class CtrlNodeLostApiCallHandler
         peerAccCtx = peerAccCtxRef;
         ctrlRscDeleteApiHelper = ctrlRscDeleteApiHelperRef;
         ctrlBackupCrtApiCallHandler = ctrlBackupCrtApiCallHandlerRef;
+        eventStorPoolHandlerBridge = eventStorPoolHandlerBridgeRef;
         errorReporter = errorReporterRef;
     }
 
@@ -210,12 +214,14 @@ public class CtrlNodeLostApiCallHandler
 
         // If the node has no resources or snapshots, then there should not be any volumes referenced
         // by the storage pool -- double check and delete storage pools
+        List<StorPoolName> storPoolNames = new ArrayList<>();
         Iterator<StorPool> storPoolIterator = getStorPoolIteratorPrivileged(node);
         while (storPoolIterator.hasNext())
         {
             StorPool storPool = storPoolIterator.next();
             if (!hasVolumesPrivileged(storPool))
             {
+                storPoolNames.add(storPool.getName());
                 deletePrivileged(storPool);
             }
             else
@@ -242,6 +248,7 @@ public class CtrlNodeLostApiCallHandler
         ctrlTransactionHelper.commit();
 
         reconnectorTask.removePeer(nodePeer);
+        eventStorPoolHandlerBridge.triggerNodeDeleted(nodeName, storPoolNames);
 
         // It may be possible to continue some operations since we are no longer waiting for the node to come online
         Flux<?> operationContinuation = Flux.merge(
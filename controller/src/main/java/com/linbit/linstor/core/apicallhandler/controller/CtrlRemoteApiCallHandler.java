@@ -16,6 +16,7 @@ import com.linbit.linstor.api.pojo.S3RemotePojo;
 import com.linbit.linstor.core.BackupInfoManager;
 import com.linbit.linstor.core.CtrlSecurityObjects;
 import com.linbit.linstor.core.apicallhandler.ScopeRunner;
+import com.linbit.linstor.core.apicallhandler.controller.backup.CtrlBackupCatalog;
 import com.linbit.linstor.core.apicallhandler.controller.helpers.EncryptionHelper;
 import com.linbit.linstor.core.apicallhandler.controller.internal.CtrlSatelliteUpdateCaller;
 import com.linbit.linstor.core.apicallhandler.response.ApiAccessDeniedException;
@@ -89,6 +90,7 @@ public class CtrlRemoteApiCallHandler
     private final RemoteRepository remoteRepository;
     private final EncryptionHelper encryptionHelper;
     private final BackupToS3 backupHandler;
+    private final CtrlBackupCatalog backupCatalog;
     private final CtrlSecurityObjects ctrlSecObj;
     private final NodeRepository nodeRepo;
 
@@ -111,6 +113,7 @@ public class CtrlRemoteApiCallHandler
         RemoteRepository remoteRepositoryRef,
         EncryptionHelper encryptionHelperRef,
         BackupToS3 backupHandlerRef,
+        CtrlBackupCatalog backupCatalogRef,
         CtrlSecurityObjects ctrlSecObjRef,
         ScheduleBackupService scheduleServiceRef,
         NodeRepository nodeRepoRef,
@@ -131,6 +134,7 @@ public class CtrlRemoteApiCallHandler
         remoteRepository = remoteRepositoryRef;
         encryptionHelper = encryptionHelperRef;
         backupHandler = backupHandlerRef;
+        backupCatalog = backupCatalogRef;
         ctrlSecObj = ctrlSecObjRef;
         scheduleService = scheduleServiceRef;
         nodeRepo = nodeRepoRef;
@@ -1083,7 +1087,7 @@ public class CtrlRemoteApiCallHandler
             enableFlags(remote, AbsRemote.Flags.DELETE);
             if (remote instanceof S3Remote)
             {
-                backupHandler.deleteRemoteFromCache((S3Remote) remote);
+                backupCatalog.removeRemote((S3Remote) remote);
             }
             try
             {
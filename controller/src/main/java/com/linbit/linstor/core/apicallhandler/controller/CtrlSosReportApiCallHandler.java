@@ -57,6 +57,7 @@ import com.linbit.linstor.utils.FileUtils;
 import com.linbit.locks.LockGuardFactory;
 import com.linbit.locks.LockGuardFactory.LockObj;
 import com.linbit.locks.LockGuardFactory.LockType;
+import com.linbit.utils.ExceptionThrowingFunction;
 import com.linbit.utils.FileCollector;
 import com.linbit.utils.StringUtils;
 
@@ -68,6 +69,8 @@ import javax.inject.Singleton;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -90,9 +93,11 @@ import java.util.concurrent.LinkedBlockingDeque;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
 import reactor.core.publisher.Flux;
 
 @Singleton
@@ -105,6 +110,8 @@ public class CtrlSosReportApiCallHandler
     private static final String SOS_PREFIX = "sos_";
     private static final String SOS_SUFFIX = ".tar.gz";
 
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
     /** 10MiB */
     private static final long MAX_PACKET_SIZE = 10 * (1 << 20);
     private final DateFormat sdf = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss");
@@ -174,7 +181,10 @@ public class CtrlSosReportApiCallHandler
      * The rest of the 16MB is a (hopefully more than generous) buffer for the overhead from Linstor-protocol and
      * protobuf, and others.
      * </p><p>
-     * The responses to those requests are stored on the controller directly in the destination files.
+     * The satellites gzip the requested parts of the files and the responses are decompressed on the controller
+     * directly into the destination files, so only the compressed parts of the responses in flight are kept in memory.
+     * The files of at most {@link CtrlConfig#getSosReportMaxParallelNodes()} satellites are collected at the same
+     * time.
      *</p><p>
      * Once all satellites finished the responses, the controller tar.gz's the collected files and sends a
      * cleanup-message to the satellites
@@ -208,7 +218,8 @@ public class CtrlSosReportApiCallHandler
                     "Receiving SOS FileList",
                     lockGuardFactory.buildDeferred(LockType.READ, LockObj.NODES_MAP),
                     () -> handleSosFileList(tmpDir, sosReportName, sosFileList)
-                )
+                ),
+                ctrlCfg.getSosReportMaxParallelNodes()
             ).transform(
                 // until now we were working with Flux<ByteArrayInputStream>s (proto messages from the satellites), but
                 // now we need to prepare for the answer to the satellite, which expects a single string of the sos
@@ -469,7 +480,8 @@ public class CtrlSosReportApiCallHandler
                 stltComSerializer.headerlessBuilder()
                     .requestSosReportFiles(
                         sosReportNameRef,
-                        nextBatchToRequest
+                        nextBatchToRequest,
+                        true
                     )
                     .build()
             ).flatMap(
@@ -485,8 +497,8 @@ public class CtrlSosReportApiCallHandler
     }
 
     /**
-     * Processes the requested batch (writes the content to the corresponding files) and calls the previous method
-     * (<code>requestNextBatch</code>) for the next batch.
+     * Processes the requested batch (writes the content to the corresponding files, decompressing it if the satellite
+     * compressed it) and calls the previous method (<code>requestNextBatch</code>) for the next batch.
      * <p>
      * If a processed file starts with /var/lib/linstor.d/sos-report/$currentSosName/, instead of creating a
      * satellite-local directory with that name, we simplycreate the file into the satellite-root directory. In other
@@ -529,11 +541,33 @@ public class CtrlSosReportApiCallHandler
                 // move all '$stlt/var/lib/linstor.d/sos-report/$currentSosName/*' files to '$stlt/*'.
                 fileName = fileName.substring(sosReportDirOnStltStr.length());
             }
-            append(
-                concatPaths(sosDirStr, fileName),
-                file.getContent().toByteArray(),
-                file.getTime()
-            );
+            ByteString content = file.getContent();
+            if (file.getCompressed())
+            {
+                append(
+                    concatPaths(sosDirStr, fileName),
+                    out ->
+                    {
+                        try (InputStream in = new GZIPInputStream(content.newInput(), COPY_BUFFER_SIZE))
+                        {
+                            return in.transferTo(out);
+                        }
+                    },
+                    file.getTime()
+                );
+            }
+            else
+            {
+                append(
+                    concatPaths(sosDirStr, fileName),
+                    out ->
+                    {
+                        content.writeTo(out);
+                        return (long) content.size();
+                    },
+                    file.getTime()
+                );
+            }
         }
         return requestNextBatch(tmpDirRef, sosReportNameRef, stltPeerRef, filesToRequestRef);
     }
@@ -1008,6 +1042,29 @@ public class CtrlSosReportApiCallHandler
      * The given command is NOT executed, just needed for possible error reports.
      */
     private void append(Path file, byte[] data, long timestampRef, String... command)
+    {
+        append(
+            file,
+            out ->
+            {
+                out.write(data);
+                return (long) data.length;
+            },
+            timestampRef,
+            command
+        );
+    }
+
+    /**
+     * Same as {@link #append(Path, byte[], long, String...)}, but the data is written by the given writer, which
+     * returns the number of bytes it has written.
+     */
+    private void append(
+        Path file,
+        ExceptionThrowingFunction<OutputStream, Long, IOException> writer,
+        long timestampRef,
+        String... command
+    )
     {
         try
         {
@@ -1015,8 +1072,14 @@ public class CtrlSosReportApiCallHandler
             {
                 Files.createDirectories(file.getParent());
             }
-            Files.write(file, data, StandardOpenOption.APPEND, StandardOpenOption.CREATE);
-            errorReporter.logTrace("Written %d bytes to file %s", data.length, file.toString());
+            long written;
+            try (
+                OutputStream out = Files.newOutputStream(file, StandardOpenOption.APPEND, StandardOpenOption.CREATE)
+            )
+            {
+                written = writer.accept(out);
+            }
+            errorReporter.logTrace("Written %d bytes to file %s", written, file.toString());
             Files.setAttribute(
                 file,
                 "lastModifiedTime",
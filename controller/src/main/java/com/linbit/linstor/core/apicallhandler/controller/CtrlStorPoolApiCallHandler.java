@@ -8,6 +8,7 @@ import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.ApiCallRcImpl;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.prop.LinStorObject;
+import com.linbit.linstor.api.rest.v1.events.EventStorPoolHandlerBridge;
 import com.linbit.linstor.core.CtrlSecurityObjects;
 import com.linbit.linstor.core.LinStor;
 import com.linbit.linstor.core.apicallhandler.ScopeRunner;
@@ -75,6 +76,7 @@ public class CtrlStorPoolApiCallHandler
     private final CtrlSecurityObjects securityObjects;
     private final EncryptionHelper encryptionHelper;
     private final StorPoolDefinitionRepository storPoolDfnRepo;
+    private final EventStorPoolHandlerBridge eventStorPoolHandlerBridge;
 
     @Inject
     public CtrlStorPoolApiCallHandler(
@@ -90,7 +92,8 @@ public class CtrlStorPoolApiCallHandler
         LockGuardFactory lockGuardFactoryRef,
         CtrlSecurityObjects ctrlSecurityObjects,
         EncryptionHelper encryptionHelperRef,
-        StorPoolDefinitionRepository storPoolDfnRepoRef
+        StorPoolDefinitionRepository storPoolDfnRepoRef,
+        EventStorPoolHandlerBridge eventStorPoolHandlerBridgeRef
     )
     {
         ctrlTransactionHelper = ctrlTransactionHelperRef;
@@ -106,6 +109,7 @@ public class CtrlStorPoolApiCallHandler
         securityObjects = ctrlSecurityObjects;
         encryptionHelper = encryptionHelperRef;
         storPoolDfnRepo = storPoolDfnRepoRef;
+        eventStorPoolHandlerBridge = eventStorPoolHandlerBridgeRef;
     }
 
     public Flux<ApiCallRc> modify(
@@ -376,6 +380,9 @@ public class CtrlStorPoolApiCallHandler
             else
             {
                 UUID storPoolUuid = storPool.getUuid(); // cache storpool uuid to avoid access deleted storpool
+                StorPool.Key storPoolKey = new StorPool.Key(storPool);
+                String storPoolNodeName = storPool.getNode().getName().displayValue;
+                String storPoolName = storPool.getName().displayValue;
 
                 final Node storPoolNode = storPool.getNode();
                 StorPoolDefinition spd = getStorPoolDefinition(storPool);
@@ -390,6 +397,7 @@ public class CtrlStorPoolApiCallHandler
                     delete(spd);
                 }
                 ctrlTransactionHelper.commit();
+                eventStorPoolHandlerBridge.triggerStorPoolDeleted(storPoolKey, storPoolNodeName, storPoolName);
 
                 responseConverter.addWithOp(apiCallRcs, context, ApiSuccessUtils.defaultDeletedEntry(
                     storPoolUuid, getStorPoolDescription(nodeNameStr, storPoolNameStr)));
@@ -1,6 +1,7 @@
 package com.linbit.linstor.core.apicallhandler.controller;
 
 import com.linbit.linstor.core.apicallhandler.response.ApiTransactionException;
+import com.linbit.linstor.metrics.LinStorMetrics;
 import com.linbit.linstor.transaction.TransactionException;
 import com.linbit.linstor.transaction.manager.TransactionMgr;
 
@@ -12,18 +13,39 @@ import javax.inject.Singleton;
 public class CtrlTransactionHelper
 {
     private final Provider<TransactionMgr> transMgrProvider;
+    private final LinStorMetrics metrics;
 
     @Inject
-    public CtrlTransactionHelper(Provider<TransactionMgr> transMgrProviderRef)
+    public CtrlTransactionHelper(Provider<TransactionMgr> transMgrProviderRef, LinStorMetrics metricsRef)
     {
         transMgrProvider = transMgrProviderRef;
+        metrics = metricsRef;
     }
 
     public void commit()
     {
         try
         {
-            transMgrProvider.get().commit();
+            TransactionMgr transMgr = transMgrProvider.get();
+            if (metrics.isEnabled())
+            {
+                int objects = transMgr.sizeObjects();
+                int writes = transMgr.sizeWrites();
+                long startNanos = System.nanoTime();
+
+                transMgr.commit();
+
+                metrics.getTxCommitDuration().labels().observeNanosSince(startNanos);
+                metrics.getTxCommitObjects().labels().observe(objects);
+                if (writes >= 0)
+                {
+                    metrics.getTxCommitRows().labels().observe(writes);
+                }
+            }
+            else
+            {
+                transMgr.commit();
+            }
         }
         catch (TransactionException sqlExc)
         {
@@ -0,0 +1,443 @@
+package com.linbit.linstor.core.apicallhandler.controller.backup;
+
+import com.linbit.InvalidNameException;
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.annotation.SystemContext;
+import com.linbit.linstor.api.ApiConsts;
+import com.linbit.linstor.api.pojo.TransferProgressPojo;
+import com.linbit.linstor.core.CtrlTransferProgressStore;
+import com.linbit.linstor.core.cfg.CtrlConfig;
+import com.linbit.linstor.core.identifier.ScheduleName;
+import com.linbit.linstor.core.objects.Schedule;
+import com.linbit.linstor.core.objects.SnapshotDefinition;
+import com.linbit.linstor.core.objects.SnapshotVolumeDefinition;
+import com.linbit.linstor.core.repository.ScheduleRepository;
+import com.linbit.linstor.propscon.Props;
+import com.linbit.linstor.security.AccessContext;
+import com.linbit.linstor.security.AccessDeniedException;
+import com.linbit.linstor.tasks.ScheduleBackupService;
+import com.linbit.utils.Pair;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decides whether a backup shipment to a remote may start now and in which order queued backups are started.
+ *
+ * The throughput of every running backup is taken from the progress the satellites report (see
+ * {@link CtrlTransferProgressStore}). From those samples the typical throughput of a single shipment is learned per
+ * node and per remote. If a bandwidth limit per remote is configured, a new shipment only starts if the measured
+ * throughput of the shipments already running to that remote plus the expected throughput of the new one stays within
+ * the limit. Shipments that were started but are not yet reported by their satellite are reserved with their expected
+ * throughput so that a burst of starts (e.g. all scheduled backups at midnight) does not overshoot the limit. As long
+ * as nothing was measured for a node or remote, a shipment is expected to use a fixed share of the limit.
+ *
+ * Queued backups are ordered by their deadline (the next run of the schedule that created them) and then by their
+ * estimated size, largest first, since starting the long running shipments early shortens the whole backup window.
+ */
+@Singleton
+public class BackupBandwidthScheduler
+{
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    // weight of the newest sample in the exponentially weighted moving average of the throughput
+    private static final double RATE_SMOOTHING = 0.3;
+    private static final long REFRESH_INTERVAL_MILLIS = 1_000;
+    // the satellite reports a new shipment within a few seconds
+    private static final long RESERVATION_TIMEOUT_MILLIS = 30_000;
+    // an incremental backup that was not reported within this time did not start at all
+    private static final long STARTED_TIMEOUT_MILLIS = 60 * 60_000;
+    // used for incremental backups of resources that were never shipped incrementally before
+    private static final double DFLT_INCREMENTAL_RATIO = 0.1;
+    // without any measured throughput, a shipment is expected to use this share of the limit
+    private static final double UNMEASURED_LIMIT_SHARE = 0.25;
+    private static final long BYTES_PER_MIB = 1024L * 1024L;
+
+    private final CtrlConfig ctrlCfg;
+    private final CtrlTransferProgressStore transferProgressStore;
+    private final ScheduleRepository scheduleRepo;
+    private final AccessContext sysCtx;
+
+    // all protected by "this", all keys are upper case
+    private final Map<String, Double> nodeRates = new HashMap<>();
+    private final Map<String, Double> remoteRates = new HashMap<>();
+    // size of the last incremental backup per resource and remote
+    private final Map<String, Long> incrementalBytes = new HashMap<>();
+    private final Map<String, RunningBackup> runningBackups = new HashMap<>();
+    // start time of the incremental backups that were not yet reported by their satellite
+    private final Map<String, Long> startedIncrementalBackups = new HashMap<>();
+    private final List<Reservation> reservations = new ArrayList<>();
+    private List<Pair<String, TransferProgressPojo>> currentShipments = new ArrayList<>();
+    private long lastRefreshMillis;
+
+    @Inject
+    public BackupBandwidthScheduler(
+        CtrlConfig ctrlCfgRef,
+        CtrlTransferProgressStore transferProgressStoreRef,
+        ScheduleRepository scheduleRepoRef,
+        @SystemContext AccessContext sysCtxRef
+    )
+    {
+        ctrlCfg = ctrlCfgRef;
+        transferProgressStore = transferProgressStoreRef;
+        scheduleRepo = scheduleRepoRef;
+        sysCtx = sysCtxRef;
+    }
+
+    /**
+     * @return true if a bandwidth limit per remote is configured
+     */
+    public boolean isBandwidthLimited()
+    {
+        return ctrlCfg.getBackupMaxBandwidthPerRemoteMiB() > 0;
+    }
+
+    /**
+     * Checks without reserving anything if a new shipment of the given node to the given remote would stay within the
+     * bandwidth limit of the remote
+     */
+    public synchronized boolean hasBandwidthFor(String nodeName, String remoteName, int volumeCount)
+    {
+        boolean ret = true;
+        if (isBandwidthLimited())
+        {
+            refresh(System.currentTimeMillis());
+            double planned = getPlannedBytesPerSecond(remoteName);
+            double expected = getExpectedOrDefaultBytesPerSecond(nodeName, remoteName);
+            // at least one shipment per remote is always allowed, otherwise a tiny limit would block everything
+            ret = planned <= 0 || planned + expected * volumeCount < getLimitBytesPerSecond();
+        }
+        return ret;
+    }
+
+    /**
+     * Same as {@link #hasBandwidthFor(String, String, int)}, but if the shipment may start, its expected throughput is
+     * reserved until the satellite reports the shipment
+     */
+    public synchronized boolean tryReserve(
+        String nodeName,
+        String remoteName,
+        String rscName,
+        String snapName,
+        int volumeCount,
+        boolean incremental
+    )
+    {
+        boolean ret = hasBandwidthFor(nodeName, remoteName, volumeCount);
+        if (ret)
+        {
+            long nowMillis = System.currentTimeMillis();
+            String key = key(nodeName, rscName, snapName, remoteName);
+            reservations.add(
+                new Reservation(
+                    key,
+                    upper(remoteName),
+                    getExpectedOrDefaultBytesPerSecond(nodeName, remoteName) * volumeCount,
+                    nowMillis
+                )
+            );
+            if (incremental)
+            {
+                // kept independent of the reservation, which expires long before a slow shipment might be reported
+                startedIncrementalBackups.put(key, nowMillis);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * @return the throughput a single volume shipment of the given node to the given remote usually achieves or -1 if
+     *     nothing was measured yet
+     */
+    public synchronized double getExpectedBytesPerSecond(String nodeName, String remoteName)
+    {
+        refresh(System.currentTimeMillis());
+        return getExpectedBytesPerSecondImpl(nodeName, remoteName);
+    }
+
+    /**
+     * Takes over the progress the satellites just reported, so the throughput and the size of every shipment is
+     * learned even while nothing else asks the scheduler
+     */
+    public synchronized void transfersUpdated()
+    {
+        // skip the refresh interval, every report carries new samples
+        lastRefreshMillis = 0;
+        refresh(System.currentTimeMillis());
+    }
+
+    /**
+     * Estimates the number of bytes the backup of the given snapshot will ship. Full backups ship the whole volumes,
+     * incremental backups are estimated by the last incremental backup of the same resource to the same remote.
+     */
+    public long estimateBytes(
+        SnapshotDefinition snapDfn,
+        String remoteName,
+        boolean incremental,
+        AccessContext accCtx
+    )
+        throws AccessDeniedException
+    {
+        long fullBytes = 0;
+        for (SnapshotVolumeDefinition snapVlmDfn : snapDfn.getAllSnapshotVolumeDefinitions(accCtx))
+        {
+            // volume sizes are in KiB
+            fullBytes += snapVlmDfn.getVolumeSize(accCtx) * 1024;
+        }
+        long ret = fullBytes;
+        if (incremental)
+        {
+            Long lastIncrementalBytes;
+            synchronized (this)
+            {
+                refresh(System.currentTimeMillis());
+                lastIncrementalBytes = incrementalBytes.get(key(snapDfn.getResourceName().displayValue, remoteName));
+            }
+            ret = lastIncrementalBytes == null ?
+                (long) (fullBytes * DFLT_INCREMENTAL_RATIO) :
+                Math.min(lastIncrementalBytes, fullBytes);
+        }
+        return ret;
+    }
+
+    /**
+     * @return the point in time (in millis) the backup should be finished, that is the next run of the schedule that
+     *     created it, or {@link #NO_DEADLINE} for backups that were not created by a schedule
+     */
+    public long getDeadline(SnapshotDefinition snapDfn, AccessContext accCtx) throws AccessDeniedException
+    {
+        long ret = NO_DEADLINE;
+        Props snapDfnProps = snapDfn.getProps(accCtx);
+        String scheduleName = snapDfnProps.getProp(
+            InternalApiConsts.KEY_BACKUP_SHIPPED_BY_SCHEDULE,
+            InternalApiConsts.NAMESPC_SCHEDULE
+        );
+        String startTimestamp = snapDfnProps.getProp(
+            InternalApiConsts.KEY_BACKUP_START_TIMESTAMP,
+            ApiConsts.NAMESPC_BACKUP_SHIPPING
+        );
+        if (scheduleName != null && startTimestamp != null && !startTimestamp.isEmpty())
+        {
+            try
+            {
+                Schedule schedule = scheduleRepo.get(sysCtx, new ScheduleName(scheduleName));
+                if (schedule != null)
+                {
+                    ret = ScheduleBackupService.getNextExecutionMillis(
+                        schedule,
+                        sysCtx,
+                        Long.parseLong(startTimestamp)
+                    );
+                }
+            }
+            catch (InvalidNameException | NumberFormatException ignored)
+            {
+                // not a valid schedule, treat as unscheduled backup
+            }
+        }
+        return ret;
+    }
+
+    private double getExpectedBytesPerSecondImpl(String nodeName, String remoteName)
+    {
+        Double nodeRate = nodeRates.get(upper(nodeName));
+        Double remoteRate = remoteRates.get(upper(remoteName));
+        double ret;
+        if (nodeRate != null && remoteRate != null)
+        {
+            // the slower side determines the throughput
+            ret = Math.min(nodeRate, remoteRate);
+        }
+        else if (nodeRate != null)
+        {
+            ret = nodeRate;
+        }
+        else if (remoteRate != null)
+        {
+            ret = remoteRate;
+        }
+        else
+        {
+            ret = -1;
+        }
+        return ret;
+    }
+
+    /**
+     * @return the expected throughput of a single volume shipment, or a share of the limit if nothing was measured yet
+     */
+    private double getExpectedOrDefaultBytesPerSecond(String nodeName, String remoteName)
+    {
+        double ret = getExpectedBytesPerSecondImpl(nodeName, remoteName);
+        if (ret <= 0)
+        {
+            ret = getLimitBytesPerSecond() * UNMEASURED_LIMIT_SHARE;
+        }
+        return ret;
+    }
+
+    private double getLimitBytesPerSecond()
+    {
+        return ctrlCfg.getBackupMaxBandwidthPerRemoteMiB() * (double) BYTES_PER_MIB;
+    }
+
+    /**
+     * @return the measured throughput of all shipments to the given remote. Shipments without a measured rate yet
+     *     (and reservations) are accounted with their expected throughput
+     */
+    private double getPlannedBytesPerSecond(String remoteName)
+    {
+        String remoteKey = upper(remoteName);
+        double ret = 0;
+        for (Pair<String, TransferProgressPojo> shipment : currentShipments)
+        {
+            TransferProgressPojo transfer = shipment.objB;
+            if (remoteKey.equals(upper(transfer.getRemoteName())))
+            {
+                long rate = transfer.getBytesPerSecond();
+                ret += rate > 0 ? rate : getExpectedOrDefaultBytesPerSecond(shipment.objA, remoteName);
+            }
+        }
+        for (Reservation reservation : reservations)
+        {
+            if (reservation.remoteKey.equals(remoteKey))
+            {
+                ret += reservation.bytesPerSecond;
+            }
+        }
+        return ret;
+    }
+
+    private void refresh(long nowMillis)
+    {
+        if (nowMillis - lastRefreshMillis >= REFRESH_INTERVAL_MILLIS)
+        {
+            lastRefreshMillis = nowMillis;
+
+            List<Pair<String, TransferProgressPojo>> shipments = new ArrayList<>();
+            Set<String> seenKeys = new HashSet<>();
+            for (Pair<String, TransferProgressPojo> transfer : transferProgressStore.getAll())
+            {
+                TransferProgressPojo pojo = transfer.objB;
+                if (pojo.getKind() == TransferProgressPojo.Kind.BACKUP_SEND && pojo.getRemoteName() != null)
+                {
+                    shipments.add(transfer);
+                    String nodeName = transfer.objA;
+                    String key = key(nodeName, pojo.getRscName(), pojo.getSnapName(), pojo.getRemoteName());
+                    seenKeys.add(key);
+
+                    RunningBackup running = runningBackups.get(key);
+                    if (running == null)
+                    {
+                        reservations.removeIf(reservation -> reservation.key.equals(key));
+                        running = new RunningBackup(
+                            key(pojo.getRscName(), pojo.getRemoteName()),
+                            startedIncrementalBackups.remove(key) != null
+                        );
+                        runningBackups.put(key, running);
+                    }
+                    running.bytesDone.merge(pojo.getVlmNr(), pojo.getBytesDone(), Math::max);
+
+                    // the store keeps the same sample until the satellite reports again, which must not be merged
+                    // into the moving average more than once
+                    boolean newSample = running.lastSamples.put(pojo.getVlmNr(), pojo) != pojo;
+                    long rate = pojo.getBytesPerSecond();
+                    if (newSample && rate > 0)
+                    {
+                        nodeRates.merge(upper(nodeName), (double) rate, BackupBandwidthScheduler::smooth);
+                        remoteRates.merge(upper(pojo.getRemoteName()), (double) rate, BackupBandwidthScheduler::smooth);
+                    }
+                }
+            }
+            currentShipments = shipments;
+
+            Iterator<Map.Entry<String, RunningBackup>> runningIt = runningBackups.entrySet().iterator();
+            while (runningIt.hasNext())
+            {
+                Map.Entry<String, RunningBackup> entry = runningIt.next();
+                if (!seenKeys.contains(entry.getKey()))
+                {
+                    RunningBackup finished = entry.getValue();
+                    long totalBytes = 0;
+                    for (long vlmBytes : finished.bytesDone.values())
+                    {
+                        totalBytes += Math.max(vlmBytes, 0);
+                    }
+                    if (finished.incremental && totalBytes > 0)
+                    {
+                        incrementalBytes.put(finished.rscRemoteKey, totalBytes);
+                    }
+                    runningIt.remove();
+                }
+            }
+
+            reservations.removeIf(reservation -> nowMillis - reservation.createdMillis > RESERVATION_TIMEOUT_MILLIS);
+            startedIncrementalBackups.values()
+                .removeIf(startMillis -> nowMillis - startMillis > STARTED_TIMEOUT_MILLIS);
+        }
+    }
+
+    private static double smooth(double oldRate, double newRate)
+    {
+        return oldRate + RATE_SMOOTHING * (newRate - oldRate);
+    }
+
+    private static String upper(String str)
+    {
+        return str == null ? "" : str.toUpperCase(Locale.ROOT);
+    }
+
+    private static String key(String... parts)
+    {
+        StringBuilder sb = new StringBuilder();
+        for (String part : parts)
+        {
+            sb.append(upper(part)).append('/');
+        }
+        return sb.toString();
+    }
+
+    private static class RunningBackup
+    {
+        private final String rscRemoteKey;
+        private final boolean incremental;
+        private final Map<Integer, Long> bytesDone = new HashMap<>();
+        private final Map<Integer, TransferProgressPojo> lastSamples = new HashMap<>();
+
+        private RunningBackup(String rscRemoteKeyRef, boolean incrementalRef)
+        {
+            rscRemoteKey = rscRemoteKeyRef;
+            incremental = incrementalRef;
+        }
+    }
+
+    private static class Reservation
+    {
+        private final String key;
+        private final String remoteKey;
+        private final double bytesPerSecond;
+        private final long createdMillis;
+
+        private Reservation(
+            String keyRef,
+            String remoteKeyRef,
+            double bytesPerSecondRef,
+            long createdMillisRef
+        )
+        {
+            key = keyRef;
+            remoteKey = remoteKeyRef;
+            bytesPerSecond = bytesPerSecondRef;
+            createdMillis = createdMillisRef;
+        }
+    }
+}
@@ -101,6 +101,7 @@ public class CtrlBackupApiCallHandler
     private final ErrorReporter errorReporter;
     private final CtrlSatelliteUpdateCaller ctrlSatelliteUpdateCaller;
     private final BackupToS3 backupHandler;
+    private final CtrlBackupCatalog backupCatalog;
     private final CtrlSnapshotDeleteApiCallHandler ctrlSnapDeleteApiCallHandler;
     private final FreeCapacityFetcher freeCapacityFetcher;
     private final BackupInfoManager backupInfoMgr;
@@ -119,6 +120,7 @@ public class CtrlBackupApiCallHandler
         ErrorReporter errorReporterRef,
         CtrlSatelliteUpdateCaller ctrlSatelliteUpdateCallerRef,
         BackupToS3 backupHandlerRef,
+        CtrlBackupCatalog backupCatalogRef,
         CtrlSnapshotDeleteApiCallHandler ctrlSnapDeleteApiCallHandlerRef,
         FreeCapacityFetcher freeCapacityFetcherRef,
         BackupInfoManager backupInfoMgrRef,
@@ -136,6 +138,7 @@ public class CtrlBackupApiCallHandler
         errorReporter = errorReporterRef;
         ctrlSatelliteUpdateCaller = ctrlSatelliteUpdateCallerRef;
         backupHandler = backupHandlerRef;
+        backupCatalog = backupCatalogRef;
         ctrlSnapDeleteApiCallHandler = ctrlSnapDeleteApiCallHandlerRef;
         freeCapacityFetcher = freeCapacityFetcherRef;
         backupInfoMgr = backupInfoMgrRef;
@@ -1208,7 +1211,7 @@ public class CtrlBackupApiCallHandler
             try
             {
                 metaFile = new S3MetafileNameInfo(metaName);
-                objects = backupHandler.listObjects(metaFile.rscName, remote, peerAccCtx.get(), masterKey);
+                objects = backupCatalog.listObjects(metaFile.rscName, remote, peerAccCtx.get(), masterKey);
                 // do not use backupHelper.getAllS3Keys here to avoid two listObjects calls since objects is needed
                 // later
                 s3keys = objects.stream().map(S3ObjectSummary::getKey).collect(Collectors.toCollection(TreeSet::new));
@@ -1231,7 +1234,7 @@ public class CtrlBackupApiCallHandler
         else
         {
             // No backup was explicitly selected, use the latest available for the source resource.
-            objects = backupHandler.listObjects(srcRscName, remote, peerAccCtx.get(), masterKey);
+            objects = backupCatalog.listObjects(srcRscName, remote, peerAccCtx.get(), masterKey);
             // do not use backupHelper.getAllS3Keys here to avoid two listObjects calls since objects is needed later
             s3keys = objects.stream().map(S3ObjectSummary::getKey).collect(Collectors.toCollection(TreeSet::new));
             metaFile = backupHelper.getLatestBackup(s3keys, srcSnapName);
@@ -64,6 +64,7 @@ public class CtrlBackupApiHelper
     private final RemoteRepository remoteRepo;
     private final Provider<AccessContext> peerAccCtx;
     private final BackupToS3 backupHandler;
+    private final CtrlBackupCatalog backupCatalog;
     private final ErrorReporter errorReporter;
     private final CtrlApiDataLoader ctrlApiDataLoader;
     private final CtrlStltSerializer ctrlStltSerializer;
@@ -79,6 +80,7 @@ public class CtrlBackupApiHelper
         RemoteRepository remoteRepoRef,
         @PeerContext Provider<AccessContext> peerAccCtxRef,
         BackupToS3 backupHandlerRef,
+        CtrlBackupCatalog backupCatalogRef,
         ErrorReporter errorReporterRef,
         CtrlApiDataLoader ctrlApiDataLoaderRef,
         CtrlStltSerializer ctrlStltSerializerRef,
@@ -93,6 +95,7 @@ public class CtrlBackupApiHelper
         remoteRepo = remoteRepoRef;
         peerAccCtx = peerAccCtxRef;
         backupHandler = backupHandlerRef;
+        backupCatalog = backupCatalogRef;
         errorReporter = errorReporterRef;
         ctrlApiDataLoader = ctrlApiDataLoaderRef;
         ctrlStltSerializer = ctrlStltSerializerRef;
@@ -274,7 +277,7 @@ public class CtrlBackupApiHelper
      */
     Set<String> getAllS3Keys(S3Remote s3Remote, String rscName) throws AccessDeniedException
     {
-        List<S3ObjectSummary> objects = backupHandler.listObjects(
+        List<S3ObjectSummary> objects = backupCatalog.listObjects(
             rscName,
             s3Remote,
             peerAccCtx.get(),
@@ -0,0 +1,234 @@
+package com.linbit.linstor.core.apicallhandler.controller.backup;
+
+import com.linbit.linstor.api.BackupToS3;
+import com.linbit.linstor.core.cfg.CtrlConfig;
+import com.linbit.linstor.core.objects.remotes.S3Remote;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.security.AccessContext;
+import com.linbit.linstor.security.AccessDeniedException;
+import com.linbit.utils.Pair;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Controller side catalog of the .meta files of the backups in S3 remotes.
+ *
+ * The bucket still has to be listed for every request (that is one request per 1000 objects), but the content of the
+ * .meta files is only downloaded once per object version (Etag). New .meta files are downloaded in parallel, and the
+ * catalog of each remote is stored in the catalog directory, so a restarted controller does not have to download
+ * all .meta files again.
+ */
+@Singleton
+public class CtrlBackupCatalog
+{
+    private static final ObjectMapper OBJ_MAPPER = new ObjectMapper();
+    private static final String META_SUFFIX = ".meta";
+    private static final String CATALOG_SUFFIX = ".json";
+
+    private final BackupToS3 backupHandler;
+    private final ErrorReporter errorReporter;
+    private final CtrlConfig ctrlCfg;
+
+    private final Set<String> loadedRemotes = new HashSet<>();
+    private final Map<String, Map<String, Pair<String, String>>> savedMetaFiles = new HashMap<>();
+
+    @Inject
+    public CtrlBackupCatalog(
+        BackupToS3 backupHandlerRef,
+        ErrorReporter errorReporterRef,
+        CtrlConfig ctrlCfgRef
+    )
+    {
+        backupHandler = backupHandlerRef;
+        errorReporter = errorReporterRef;
+        ctrlCfg = ctrlCfgRef;
+    }
+
+    /**
+     * Lists the objects of the given remote, same as
+     * {@link BackupToS3#listObjects(String, S3Remote, AccessContext, byte[])}, and makes sure that the content of all
+     * listed .meta files is cached.
+     */
+    public List<S3ObjectSummary> listObjects(
+        String withPrefix,
+        S3Remote remote,
+        AccessContext accCtx,
+        byte[] masterKey
+    )
+        throws AccessDeniedException
+    {
+        loadIfNeeded(remote, accCtx);
+
+        List<S3ObjectSummary> objects = backupHandler.listObjects(withPrefix, remote, accCtx, masterKey);
+
+        List<String> metaKeys = new ArrayList<>();
+        for (S3ObjectSummary obj : objects)
+        {
+            if (obj.getKey().endsWith(META_SUFFIX))
+            {
+                metaKeys.add(obj.getKey());
+            }
+        }
+        backupHandler.prefetchMetaFiles(metaKeys, remote, accCtx, masterKey);
+
+        saveIfChanged(remote, accCtx);
+        return objects;
+    }
+
+    /**
+     * Drops the cached and the stored catalog of the given remote
+     */
+    public void removeRemote(S3Remote remote)
+    {
+        backupHandler.deleteRemoteFromCache(remote);
+        String remoteName = remote.getName().displayValue;
+        synchronized (this)
+        {
+            loadedRemotes.remove(remoteName);
+            savedMetaFiles.remove(remoteName);
+        }
+        Path catalogFile = getCatalogFile(remoteName);
+        if (catalogFile != null)
+        {
+            try
+            {
+                Files.deleteIfExists(catalogFile);
+            }
+            catch (IOException exc)
+            {
+                errorReporter.logWarning(
+                    "Could not delete backup catalog %s: %s",
+                    catalogFile,
+                    exc.getMessage()
+                );
+            }
+        }
+    }
+
+    private synchronized void loadIfNeeded(S3Remote remote, AccessContext accCtx) throws AccessDeniedException
+    {
+        String remoteName = remote.getName().displayValue;
+        if (loadedRemotes.add(remoteName))
+        {
+            Path catalogFile = getCatalogFile(remoteName);
+            if (catalogFile != null && Files.exists(catalogFile))
+            {
+                try
+                {
+                    CatalogFile catalog = OBJ_MAPPER.readValue(catalogFile.toFile(), CatalogFile.class);
+                    // a remote with the same name could have been deleted and recreated for another bucket
+                    if (
+                        Objects.equals(catalog.url, remote.getUrl(accCtx)) &&
+                            Objects.equals(catalog.bucket, remote.getBucket(accCtx))
+                    )
+                    {
+                        Map<String, Pair<String, String>> metaFiles = new TreeMap<>();
+                        for (Map.Entry<String, CatalogEntry> entry : catalog.metaFiles.entrySet())
+                        {
+                            CatalogEntry catalogEntry = entry.getValue();
+                            metaFiles.put(entry.getKey(), new Pair<>(catalogEntry.etag, catalogEntry.content));
+                        }
+                        backupHandler.addCachedMetaFiles(remote, metaFiles);
+                        savedMetaFiles.put(remoteName, metaFiles);
+                        errorReporter.logDebug(
+                            "Loaded %d cached meta files of remote %s",
+                            metaFiles.size(),
+                            remoteName
+                        );
+                    }
+                }
+                catch (IOException exc)
+                {
+                    errorReporter.logWarning(
+                        "Could not load backup catalog %s, all meta files will be downloaded again: %s",
+                        catalogFile,
+                        exc.getMessage()
+                    );
+                }
+            }
+        }
+    }
+
+    private synchronized void saveIfChanged(S3Remote remote, AccessContext accCtx) throws AccessDeniedException
+    {
+        String remoteName = remote.getName().displayValue;
+        Path catalogFile = getCatalogFile(remoteName);
+        Map<String, Pair<String, String>> metaFiles = backupHandler.getCachedMetaFiles(remote);
+        if (catalogFile != null && !metaFiles.equals(savedMetaFiles.get(remoteName)))
+        {
+            CatalogFile catalog = new CatalogFile();
+            catalog.url = remote.getUrl(accCtx);
+            catalog.bucket = remote.getBucket(accCtx);
+            for (Map.Entry<String, Pair<String, String>> entry : metaFiles.entrySet())
+            {
+                CatalogEntry catalogEntry = new CatalogEntry();
+                catalogEntry.etag = entry.getValue().objA;
+                catalogEntry.content = entry.getValue().objB;
+                catalog.metaFiles.put(entry.getKey(), catalogEntry);
+            }
+
+            try
+            {
+                Files.createDirectories(catalogFile.getParent());
+                // write and rename, so that a crash cannot leave a partially written catalog behind
+                Path tmpFile = catalogFile.resolveSibling(catalogFile.getFileName() + ".tmp");
+                OBJ_MAPPER.writeValue(tmpFile.toFile(), catalog);
+                Files.move(tmpFile, catalogFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                savedMetaFiles.put(remoteName, metaFiles);
+            }
+            catch (IOException exc)
+            {
+                errorReporter.logWarning(
+                    "Could not save backup catalog %s: %s",
+                    catalogFile,
+                    exc.getMessage()
+                );
+            }
+        }
+    }
+
+    private Path getCatalogFile(String remoteName)
+    {
+        String catalogDir = ctrlCfg.getBackupCatalogDir();
+        return catalogDir == null || catalogDir.isEmpty() ?
+            null :
+            Paths.get(catalogDir, remoteName + CATALOG_SUFFIX);
+    }
+
+    static class CatalogFile
+    {
+        @JsonProperty("url")
+        public String url;
+        @JsonProperty("bucket")
+        public String bucket;
+        @JsonProperty("meta_files")
+        public Map<String, CatalogEntry> metaFiles = new TreeMap<>();
+    }
+
+    static class CatalogEntry
+    {
+        @JsonProperty("etag")
+        public String etag;
+        @JsonProperty("content")
+        public String content;
+    }
+}
@@ -96,6 +96,7 @@ public class CtrlBackupCreateApiCallHandler
     private final CtrlSatelliteUpdateCaller ctrlSatelliteUpdateCaller;
     private final CtrlBackupApiHelper backupHelper;
     private final BackupNodeFinder backupNodeFinder;
+    private final BackupBandwidthScheduler bandwidthScheduler;
 
     @Inject
     public CtrlBackupCreateApiCallHandler(
@@ -113,7 +114,8 @@ public class CtrlBackupCreateApiCallHandler
         BackupInfoManager backupInfoMgrRef,
         CtrlSatelliteUpdateCaller ctrlSatelliteUpdateCallerRef,
         CtrlBackupApiHelper backupHelperRef,
-        BackupNodeFinder backupNodeFinderRef
+        BackupNodeFinder backupNodeFinderRef,
+        BackupBandwidthScheduler bandwidthSchedulerRef
     )
     {
         scopeRunner = scopeRunnerRef;
@@ -131,6 +133,7 @@ public class CtrlBackupCreateApiCallHandler
         ctrlSatelliteUpdateCaller = ctrlSatelliteUpdateCallerRef;
         backupHelper = backupHelperRef;
         backupNodeFinder = backupNodeFinderRef;
+        bandwidthScheduler = bandwidthSchedulerRef;
 
     }
 
@@ -371,8 +374,18 @@ public class CtrlBackupCreateApiCallHandler
         try
         {
             Flux<ApiCallRc> flux;
-            // doublecheck free shipping slots, if none are free, queue
-            if (getFreeShippingSlots(node) > 0)
+            // doublecheck free shipping slots and the bandwidth of the remote, if none are free, queue
+            if (
+                getFreeShippingSlots(node) > 0 &&
+                    bandwidthScheduler.tryReserve(
+                        node.getName().displayValue,
+                        remote.getName().displayValue,
+                        snapDfn.getResourceName().displayValue,
+                        snapDfn.getName().displayValue,
+                        snapDfn.getAllSnapshotVolumeDefinitions(peerAccCtx.get()).size(),
+                        prevSnapDfn != null
+                    )
+            )
             {
                 snapDfn.getFlags()
                     .enableFlags(peerAccCtx.get(), SnapshotDefinition.Flags.SHIPPING, SnapshotDefinition.Flags.BACKUP);
@@ -632,14 +645,28 @@ public class CtrlBackupCreateApiCallHandler
         Node chosenNode = null;
         if (!queueAnyways)
         {
-            chosenNode = chooseNode(usableNodes, prefNodeName, responses, remote.getType().getOptionalExtTools());
+            chosenNode = chooseNode(usableNodes, prefNodeName, responses, remote);
         }
         if (chosenNode == null)
         {
             // the remote needs to be the LinstorRemote in L2L-cases, since the target node is not yet decided
             // on.
             // usableNodes might be empty, in that case the snapDfn is added to the prevNodeUndecidedQueue
-            backupInfoMgr.addToQueues(snapDfn, remote, prevSnapDfn, prefNodeName, l2lData, usableNodes);
+            backupInfoMgr.addToQueues(
+                snapDfn,
+                remote,
+                prevSnapDfn,
+                prefNodeName,
+                l2lData,
+                usableNodes,
+                bandwidthScheduler.getDeadline(snapDfn, peerAccCtx.get()),
+                bandwidthScheduler.estimateBytes(
+                    snapDfn,
+                    remote.getName().displayValue,
+                    prevSnapDfn != null,
+                    peerAccCtx.get()
+                )
+            );
         }
         return chosenNode;
     }
@@ -927,10 +954,11 @@ public class CtrlBackupCreateApiCallHandler
         Set<Node> nodesList,
         String prefNode,
         ApiCallRcImpl responses,
-        Map<ExtTools, ExtToolsInfo.Version> optionalExtToolsMap
+        AbsRemote remote
     )
         throws AccessDeniedException
     {
+        Map<ExtTools, ExtToolsInfo.Version> optionalExtToolsMap = remote.getType().getOptionalExtTools();
         List<Node> nodes = new ArrayList<>(nodesList);
         Node ret = null;
         // check prefNode first so in case pref exists, it is not checked twice
@@ -969,11 +997,11 @@ public class CtrlBackupCreateApiCallHandler
             // take the one with the most free shipping slots, preferably from the list with all ext tools
             if (!sortedWithExtTools.isEmpty())
             {
-                ret = sortedWithExtTools.lastEntry().getValue().get(0);
+                ret = getFastestNode(sortedWithExtTools.lastEntry().getValue(), remote);
             }
             else if (!sortedNoExtTools.isEmpty())
             {
-                ret = sortedNoExtTools.lastEntry().getValue().get(0);
+                ret = getFastestNode(sortedNoExtTools.lastEntry().getValue(), remote);
             }
             if (ret != null)
             {
@@ -997,6 +1025,32 @@ public class CtrlBackupCreateApiCallHandler
         return ret;
     }
 
+    /**
+     * Returns the node that achieved the highest throughput to the given remote so far. Nodes without measurements
+     * are only chosen if no node was measured yet.
+     */
+    private Node getFastestNode(List<Node> nodes, AbsRemote remote)
+    {
+        Node ret = nodes.get(0);
+        double retRate = bandwidthScheduler.getExpectedBytesPerSecond(
+            ret.getName().displayValue,
+            remote.getName().displayValue
+        );
+        for (Node node : nodes)
+        {
+            double rate = bandwidthScheduler.getExpectedBytesPerSecond(
+                node.getName().displayValue,
+                remote.getName().displayValue
+            );
+            if (rate > retRate)
+            {
+                ret = node;
+                retRate = rate;
+            }
+        }
+        return ret;
+    }
+
     /**
      * Makes sure the given node has all ext-tools given
      */
@@ -144,6 +144,7 @@ public class CtrlBackupRestoreApiCallHandler
     private final CtrlApiDataLoader ctrlApiDataLoader;
     private final CtrlSnapshotCrtApiCallHandler snapshotCrtHandler;
     private final BackupToS3 backupHandler;
+    private final CtrlBackupCatalog backupCatalog;
     private final BackupInfoManager backupInfoMgr;
     private final CtrlBackupApiHelper backupHelper;
     private final AccessContext sysCtx;
@@ -176,6 +177,7 @@ public class CtrlBackupRestoreApiCallHandler
         CtrlApiDataLoader ctrlApiDataLoaderRef,
         CtrlSnapshotCrtApiCallHandler snapshotCrtHandlerRef,
         BackupToS3 backupHandlerRef,
+        CtrlBackupCatalog backupCatalogRef,
         BackupInfoManager backupInfoMgrRef,
         CtrlBackupApiHelper backupHelperRef,
         @SystemContext AccessContext sysCtxRef,
@@ -207,6 +209,7 @@ public class CtrlBackupRestoreApiCallHandler
         ctrlApiDataLoader = ctrlApiDataLoaderRef;
         snapshotCrtHandler = snapshotCrtHandlerRef;
         backupHandler = backupHandlerRef;
+        backupCatalog = backupCatalogRef;
         backupInfoMgr = backupInfoMgrRef;
         backupHelper = backupHelperRef;
         sysCtx = sysCtxRef;
@@ -325,7 +328,7 @@ public class CtrlBackupRestoreApiCallHandler
             try
             {
                 toRestore = new S3MetafileNameInfo(metaName);
-                objects = backupHandler.listObjects(toRestore.rscName, remote, peerAccCtx.get(), targetMasterKey);
+                objects = backupCatalog.listObjects(toRestore.rscName, remote, peerAccCtx.get(), targetMasterKey);
                 // do not use backupHelper.getAllS3Keys here to avoid two listObjects calls since objects is needed
                 // later
                 s3keys = objects.stream().map(S3ObjectSummary::getKey).collect(Collectors.toCollection(TreeSet::new));
@@ -347,7 +350,7 @@ public class CtrlBackupRestoreApiCallHandler
         else
         {
             // No backup was explicitly selected, use the latest available for the source resource.
-            objects = backupHandler.listObjects(srcRscName, remote, peerAccCtx.get(), targetMasterKey);
+            objects = backupCatalog.listObjects(srcRscName, remote, peerAccCtx.get(), targetMasterKey);
             // do not use backupHelper.getAllS3Keys here to avoid two listObjects calls since objects is needed later
             s3keys = objects.stream().map(S3ObjectSummary::getKey).collect(Collectors.toCollection(TreeSet::new));
             toRestore = backupHelper.getLatestBackup(s3keys, srcSnapName);
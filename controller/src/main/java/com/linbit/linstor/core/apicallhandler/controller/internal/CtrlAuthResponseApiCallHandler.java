@@ -88,6 +88,7 @@ public class CtrlAuthResponseApiCallHandler
         List<ExtToolsInfo> externalToolsInfoList,
         StltConfig stltConfig,
         List<Property> dynamicPropListRef,
+        boolean pushUpdatesSupportedRef,
         boolean waitForFullSyncAnswerRef
     )
     {
@@ -106,6 +107,7 @@ public class CtrlAuthResponseApiCallHandler
                 externalToolsInfoList,
                 stltConfig,
                 dynamicPropListRef,
+                pushUpdatesSupportedRef,
                 waitForFullSyncAnswerRef
             )
         );
@@ -123,6 +125,7 @@ public class CtrlAuthResponseApiCallHandler
         List<ExtToolsInfo> externalToolsInfoList,
         StltConfig stltConfig,
         List<Property> dynamicPropListRef,
+        boolean pushUpdatesSupportedRef,
         boolean waitForFullSyncAnswerRef
     )
     {
@@ -142,6 +145,7 @@ public class CtrlAuthResponseApiCallHandler
                 peer.setConnectionStatus(ApiConsts.ConnectionStatus.CONNECTED);
                 peer.getExtToolsManager().updateExternalToolsInfo(externalToolsInfoList);
                 peer.setDynamicProperties(dynamicPropListRef);
+                peer.setPushUpdatesSupported(pushUpdatesSupportedRef);
 
                 com.linbit.linstor.core.cfg.StltConfig stltCfg = new com.linbit.linstor.core.cfg.StltConfig();
                 stltCfg.setConfigDir(stltConfig.getConfigDir());
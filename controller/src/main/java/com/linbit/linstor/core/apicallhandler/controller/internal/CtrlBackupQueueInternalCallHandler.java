@@ -15,6 +15,7 @@ import com.linbit.linstor.core.BackupInfoManager;
 import com.linbit.linstor.core.BackupInfoManager.QueueItem;
 import com.linbit.linstor.core.LinStor;
 import com.linbit.linstor.core.apicallhandler.ScopeRunner;
+import com.linbit.linstor.core.apicallhandler.controller.backup.BackupBandwidthScheduler;
 import com.linbit.linstor.core.apicallhandler.controller.backup.CtrlBackupApiHelper;
 import com.linbit.linstor.core.apicallhandler.controller.backup.CtrlBackupCreateApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.backup.CtrlBackupL2LSrcApiCallHandler;
@@ -74,6 +75,7 @@ public class CtrlBackupQueueInternalCallHandler
     private final NodeRepository nodeRepo;
     private final SystemConfProtectionRepository sysCfgRepo;
     private final CtrlBackupApiHelper backupHelper;
+    private final BackupBandwidthScheduler bandwidthScheduler;
 
     @Inject
     public CtrlBackupQueueInternalCallHandler(
@@ -88,7 +90,8 @@ public class CtrlBackupQueueInternalCallHandler
         CtrlBackupCreateApiCallHandler backupCrtHandlerRef,
         NodeRepository nodeRepoRef,
         SystemConfProtectionRepository sysCfgRepoRef,
-        CtrlBackupApiHelper backupHelperRef
+        CtrlBackupApiHelper backupHelperRef,
+        BackupBandwidthScheduler bandwidthSchedulerRef
     )
     {
         scopeRunner = scopeRunnerRef;
@@ -103,7 +106,7 @@ public class CtrlBackupQueueInternalCallHandler
         nodeRepo = nodeRepoRef;
         sysCfgRepo = sysCfgRepoRef;
         backupHelper = backupHelperRef;
-
+        bandwidthScheduler = bandwidthSchedulerRef;
     }
 
     public Flux<ApiCallRc> handleBackupQueues(
@@ -182,6 +185,49 @@ public class CtrlBackupQueueInternalCallHandler
                 )
             );
         }
+        if (bandwidthScheduler.isBandwidthLimited())
+        {
+            /*
+             * The finished shipment also freed bandwidth of its remote. Backups queued on other nodes might only have
+             * been waiting for that bandwidth, so give those nodes a chance to start them as well
+             */
+            flux = flux.concatWith(startQueuedShippingsOnOtherNodes(node));
+        }
+        return flux;
+    }
+
+    private Flux<ApiCallRc> startQueuedShippingsOnOtherNodes(Node finishedNode)
+    {
+        return scopeRunner.fluxInTransactionalScope(
+            "Start queued shippings on other nodes",
+            lockGuardFactory.create()
+                .read(LockObj.NODES_MAP)
+                .write(LockObj.RSC_DFN_MAP)
+                .buildDeferred(),
+            () -> startQueuedShippingsOnOtherNodesInTransaction(finishedNode)
+        );
+    }
+
+    private Flux<ApiCallRc> startQueuedShippingsOnOtherNodesInTransaction(Node finishedNode)
+        throws AccessDeniedException
+    {
+        Flux<ApiCallRc> flux = Flux.empty();
+        AccessContext accCtx = peerAccCtx.get();
+        for (Node node : nodeRepo.getMapForView(accCtx).values())
+        {
+            if (
+                !node.equals(finishedNode) && !node.isDeleted() && backupInfoMgr.hasNodeQueuedSnaps(node) &&
+                    backupCrtHandler.getFreeShippingSlots(node) > 0
+            )
+            {
+                flux = flux.concatWith(
+                    startMultipleQueuedShippings(
+                        node,
+                        new IteratorFromBackupNodeQueue(node, backupInfoMgr, accCtx)
+                    )
+                );
+            }
+        }
         return flux;
     }
 
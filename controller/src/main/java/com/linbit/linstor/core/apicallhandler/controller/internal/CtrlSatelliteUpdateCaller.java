@@ -8,6 +8,7 @@ import com.linbit.linstor.api.ApiCallRcImpl;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
 import com.linbit.linstor.api.protobuf.ProtoDeserializationUtils;
+import com.linbit.linstor.core.CoreModule;
 import com.linbit.linstor.core.SatelliteConnectorImpl;
 import com.linbit.linstor.core.apicallhandler.controller.internal.helpers.AtomicUpdateSatelliteData;
 import com.linbit.linstor.core.apicallhandler.controller.req.CreateMultiSnapRequest;
@@ -23,14 +24,18 @@ import com.linbit.linstor.core.objects.SnapshotDefinition;
 import com.linbit.linstor.core.objects.StorPool;
 import com.linbit.linstor.core.objects.remotes.AbsRemote;
 import com.linbit.linstor.core.repository.NodeRepository;
+import com.linbit.linstor.metrics.LinStorMetrics;
 import com.linbit.linstor.netcom.Peer;
 import com.linbit.linstor.netcom.PeerNotConnectedException;
 import com.linbit.linstor.proto.common.ApiCallResponseOuterClass.ApiCallResponse;
 import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.security.AccessDeniedException;
 import com.linbit.linstor.tasks.RetryResourcesTask;
+import com.linbit.locks.LockGuard;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 
@@ -42,6 +47,7 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
 
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
@@ -60,6 +66,10 @@ public class CtrlSatelliteUpdateCaller
     private final Provider<RetryResourcesTask> retryResourceTaskProvider;
     private final SatelliteConnectorImpl stltConnector;
     private final NodeRepository nodeRepo;
+    private final LinStorMetrics metrics;
+    private final ReadWriteLock nodesMapLock;
+    private final ReadWriteLock rscDfnMapLock;
+    private final ReadWriteLock storPoolDfnMapLock;
 
     @Inject
     private CtrlSatelliteUpdateCaller(
@@ -67,7 +77,11 @@ public class CtrlSatelliteUpdateCaller
         CtrlStltSerializer serializerRef,
         Provider<RetryResourcesTask> retryResourceTaskProviderRef,
         SatelliteConnectorImpl stltConnectorRef,
-        NodeRepository nodeRepoRef
+        NodeRepository nodeRepoRef,
+        LinStorMetrics metricsRef,
+        @Named(CoreModule.NODES_MAP_LOCK) ReadWriteLock nodesMapLockRef,
+        @Named(CoreModule.RSC_DFN_MAP_LOCK) ReadWriteLock rscDfnMapLockRef,
+        @Named(CoreModule.STOR_POOL_DFN_MAP_LOCK) ReadWriteLock storPoolDfnMapLockRef
     )
     {
         apiCtx = apiCtxRef;
@@ -75,6 +89,10 @@ public class CtrlSatelliteUpdateCaller
         retryResourceTaskProvider = retryResourceTaskProviderRef;
         stltConnector = stltConnectorRef;
         nodeRepo = nodeRepoRef;
+        metrics = metricsRef;
+        nodesMapLock = nodesMapLockRef;
+        rscDfnMapLock = rscDfnMapLockRef;
+        storPoolDfnMapLock = storPoolDfnMapLockRef;
     }
 
     /**
@@ -115,7 +133,7 @@ public class CtrlSatelliteUpdateCaller
             throw new ImplementationError(implError);
         }
 
-        return Flux.fromIterable(responses);
+        return toResponseFlux(InternalApiConsts.API_CHANGED_NODE, responses);
     }
 
     private Flux<ApiCallRc> updateSatellite(Node satelliteToUpdate, byte[] changedMessage)
@@ -138,7 +156,7 @@ public class CtrlSatelliteUpdateCaller
         {
             NodeName nodeName = satelliteToUpdate.getName();
 
-            response = peer.apiCall(apiCallName, changedMessage)
+            response = sendUpdate(peer, apiCallName, changedMessage)
                 .map(inputStream -> deserializeApiCallRc(nodeName, inputStream))
                 .onErrorMap(
                     PeerNotConnectedException.class,
@@ -221,7 +239,7 @@ public class CtrlSatelliteUpdateCaller
             throw new ImplementationError(implError);
         }
 
-        return Flux.fromIterable(responses);
+        return toResponseFlux(InternalApiConsts.API_CHANGED_RSC, responses);
     }
 
     public Flux<ApiCallRc> updateSatellite(final StorPool storPool)
@@ -245,17 +263,17 @@ public class CtrlSatelliteUpdateCaller
             }
             else
             {
-                response = currentPeer
-                    .apiCall(
-                        InternalApiConsts.API_CHANGED_STOR_POOL,
-                        internalComSerializer
-                            .headerlessBuilder()
-                            .changedStorPool(
-                                storPoolUuid,
-                                storPoolName
-                            )
-                            .build()
-                    )
+                response = sendUpdate(
+                    currentPeer,
+                    InternalApiConsts.API_CHANGED_STOR_POOL,
+                    internalComSerializer
+                        .headerlessBuilder()
+                        .changedStorPool(
+                            storPoolUuid,
+                            storPoolName
+                        )
+                        .build()
+                )
 
                     .map(inputStream -> deserializeApiCallRc(nodeName, inputStream))
 
@@ -294,7 +312,7 @@ public class CtrlSatelliteUpdateCaller
             throw new ImplementationError(implError);
         }
 
-        return Flux.fromIterable(responses);
+        return toResponseFlux(InternalApiConsts.API_CHANGED_IN_PROGRESS_SNAPSHOT, responses);
     }
 
     private Flux<ApiCallRc> updateResource(
@@ -320,17 +338,31 @@ public class CtrlSatelliteUpdateCaller
         }
         else
         {
-            response = currentPeer
-                .apiCall(
-                    InternalApiConsts.API_CHANGED_RSC,
-                    internalComSerializer
-                        .headerlessBuilder()
-                        .changedResource(
-                            currentRsc.getUuid(),
-                            currentRsc.getResourceDefinition().getName().displayValue
-                        )
-                        .build()
+            byte[] changedMessage = internalComSerializer
+                .headerlessBuilder()
+                .changedResource(
+                    currentRsc.getUuid(),
+                    currentRsc.getResourceDefinition().getName().displayValue
                 )
+                .build();
+            Flux<ByteArrayInputStream> updateFlux;
+            if (currentPeer.isPushUpdatesSupported())
+            {
+                // deferred, as the resource has to be serialized within the same locks as if the satellite requested
+                // it, which must not be taken while the caller still holds its locks
+                updateFlux = Flux.defer(() ->
+                {
+                    byte[] pushMessage = serializePushedResource(currentPeer, currentRsc);
+                    return pushMessage != null ?
+                        sendUpdate(currentPeer, InternalApiConsts.API_CHANGED_RSC_DATA, pushMessage) :
+                        sendUpdate(currentPeer, InternalApiConsts.API_CHANGED_RSC, changedMessage);
+                });
+            }
+            else
+            {
+                updateFlux = sendUpdate(currentPeer, InternalApiConsts.API_CHANGED_RSC, changedMessage);
+            }
+            response = updateFlux
 
                 .map(inputStream -> deserializeApiCallRc(nodeName, inputStream))
 
@@ -344,6 +376,33 @@ public class CtrlSatelliteUpdateCaller
         return response;
     }
 
+    /**
+     * Serializes the resource the same way as if the satellite requested it, or returns null if the resource was
+     * deleted in the meantime, in which case the satellite has to request the deletion as usual.
+     */
+    private @Nullable byte[] serializePushedResource(Peer peer, Resource rsc)
+    {
+        byte[] pushMessage = null;
+        try (
+            LockGuard ls = LockGuard.createLocked(
+                nodesMapLock.readLock(),
+                rscDfnMapLock.readLock(),
+                storPoolDfnMapLock.readLock(),
+                peer.getSerializerLock().readLock()
+            )
+        )
+        {
+            if (!rsc.isDeleted() && !rsc.getNode().isDeleted())
+            {
+                pushMessage = internalComSerializer
+                    .headerlessBuilder()
+                    .resource(rsc, peer.getFullSyncId(), peer.getNextSerializerId())
+                    .build();
+            }
+        }
+        return pushMessage;
+    }
+
     private Flux<ApiCallRc> updateSnapshot(Snapshot snapshot, NotConnectedHandler notConnectedHandler)
         throws AccessDeniedException
     {
@@ -369,18 +428,18 @@ public class CtrlSatelliteUpdateCaller
             }
             else
             {
-                response = currentPeer
-                    .apiCall(
-                        InternalApiConsts.API_CHANGED_IN_PROGRESS_SNAPSHOT,
-                        internalComSerializer
-                            .headerlessBuilder()
-                            .changedSnapshot(
-                                snapshot.getResourceName().displayValue,
-                                snapshot.getUuid(),
-                                snapshot.getSnapshotName().displayValue
-                            )
-                            .build()
-                    )
+                response = sendUpdate(
+                    currentPeer,
+                    InternalApiConsts.API_CHANGED_IN_PROGRESS_SNAPSHOT,
+                    internalComSerializer
+                        .headerlessBuilder()
+                        .changedSnapshot(
+                            snapshot.getResourceName().displayValue,
+                            snapshot.getUuid(),
+                            snapshot.getSnapshotName().displayValue
+                        )
+                        .build()
+                )
 
                     .map(inputStream -> deserializeApiCallRc(nodeName, inputStream))
                     .onErrorResume(
@@ -548,7 +607,7 @@ public class CtrlSatelliteUpdateCaller
         {
             throw new ImplementationError(exc);
         }
-        return Flux.fromIterable(responses);
+        return toResponseFlux(apiChangedNodeRef, responses);
     }
 
     public Flux<Tuple2<NodeName, Flux<ApiCallRc>>> updateSatellites(
@@ -624,6 +683,40 @@ public class CtrlSatelliteUpdateCaller
         {
             throw new ImplementationError(exc);
         }
+        return toResponseFlux(InternalApiConsts.API_CHANGED_DATA, responses);
+    }
+
+    private Flux<ByteArrayInputStream> sendUpdate(Peer peer, String apiCallName, byte[] message)
+    {
+        Flux<ByteArrayInputStream> response;
+        if (metrics.isEnabled())
+        {
+            response = Flux.defer(() ->
+            {
+                metrics.getStltUpdateBytes().labels(apiCallName).observe(message.length);
+                long startNanos = System.nanoTime();
+                return peer.apiCall(apiCallName, message)
+                    .doOnComplete(
+                        () -> metrics.getStltUpdateRoundTrip().labels(apiCallName).observeNanosSince(startNanos)
+                    );
+            });
+        }
+        else
+        {
+            response = peer.apiCall(apiCallName, message);
+        }
+        return response;
+    }
+
+    private Flux<Tuple2<NodeName, Flux<ApiCallRc>>> toResponseFlux(
+        String apiCallName,
+        List<Tuple2<NodeName, Flux<ApiCallRc>>> responses
+    )
+    {
+        if (metrics.isEnabled())
+        {
+            metrics.getStltUpdateNodes().labels(apiCallName).observe(responses.size());
+        }
         return Flux.fromIterable(responses);
     }
 }
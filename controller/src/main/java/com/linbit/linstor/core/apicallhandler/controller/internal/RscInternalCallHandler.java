@@ -59,6 +59,7 @@ import javax.inject.Named;
 import javax.inject.Provider;
 
 import java.time.Instant;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
@@ -137,6 +138,17 @@ public class RscInternalCallHandler
         String nodeNameStr,
         String rscNameStr
     )
+    {
+        handleResourcesRequest(nodeNameStr, Collections.singletonList(rscNameStr));
+    }
+
+    /**
+     * Sends the requested resources of the given node, all of them within the same lock scope.
+     */
+    public void handleResourcesRequest(
+        String nodeNameStr,
+        List<String> rscNameStrList
+    )
     {
         try (
             LockGuard ls = LockGuard.createLocked(
@@ -153,36 +165,39 @@ public class RscInternalCallHandler
 
             if (node != null)
             {
-                ResourceName rscName = new ResourceName(rscNameStr);
-                Resource rsc = !node.isDeleted() ? node.getResource(apiCtx, rscName) : null;
-
-                long fullSyncTimestamp = peer.get().getFullSyncId();
-                long updateId = peer.get().getNextSerializerId();
-                // TODO: check if the localResource has the same uuid as rscUuid
-                if (rsc != null && !rsc.isDeleted())
-                {
-                    peer.get().sendMessage(
-                        ctrlStltSerializer
-                            .onewayBuilder(InternalApiConsts.API_APPLY_RSC)
-                            .resource(rsc, fullSyncTimestamp, updateId)
-                            .build()
-                    );
-                }
-                else
+                for (String rscNameStr : rscNameStrList)
                 {
-                    peer.get().sendMessage(
-                        ctrlStltSerializer
-                            .onewayBuilder(InternalApiConsts.API_APPLY_RSC_DELETED)
-                            .deletedResource(rscNameStr, fullSyncTimestamp, updateId)
-                            .build()
-                    );
+                    ResourceName rscName = new ResourceName(rscNameStr);
+                    Resource rsc = !node.isDeleted() ? node.getResource(apiCtx, rscName) : null;
+
+                    long fullSyncTimestamp = peer.get().getFullSyncId();
+                    long updateId = peer.get().getNextSerializerId();
+                    // TODO: check if the localResource has the same uuid as rscUuid
+                    if (rsc != null && !rsc.isDeleted())
+                    {
+                        peer.get().sendMessage(
+                            ctrlStltSerializer
+                                .onewayBuilder(InternalApiConsts.API_APPLY_RSC)
+                                .resource(rsc, fullSyncTimestamp, updateId)
+                                .build()
+                        );
+                    }
+                    else
+                    {
+                        peer.get().sendMessage(
+                            ctrlStltSerializer
+                                .onewayBuilder(InternalApiConsts.API_APPLY_RSC_DELETED)
+                                .deletedResource(rscNameStr, fullSyncTimestamp, updateId)
+                                .build()
+                        );
+                    }
                 }
             }
             else
             {
                 errorReporter.reportError(
                     new ImplementationError(
-                        "Satellite requested resource '" + rscNameStr + "' on node '" + nodeNameStr + "' " +
+                        "Satellite requested resources " + rscNameStrList + " on node '" + nodeNameStr + "' " +
                             "but that node does not exist.",
                         null
                     )
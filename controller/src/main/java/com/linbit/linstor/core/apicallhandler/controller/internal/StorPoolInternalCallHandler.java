@@ -10,6 +10,7 @@ import com.linbit.linstor.api.ApiCallRcImpl;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
 import com.linbit.linstor.api.pojo.CapacityInfoPojo;
+import com.linbit.linstor.api.rest.v1.events.EventStorPoolHandlerBridge;
 import com.linbit.linstor.core.CoreModule;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlApiDataLoader;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlStorPoolApiCallHandler;
@@ -35,6 +36,7 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Provider;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
@@ -50,6 +52,7 @@ public class StorPoolInternalCallHandler
     private final CtrlStltSerializer ctrlStltSerializer;
     private final Provider<Peer> peer;
     private final Provider<AccessContext> peerAccCtx;
+    private final EventStorPoolHandlerBridge eventStorPoolHandlerBridge;
 
     private final ReadWriteLock nodesMapLock;
     private final ReadWriteLock storPoolDfnMapLock;
@@ -65,7 +68,8 @@ public class StorPoolInternalCallHandler
         Provider<Peer> peerRef,
         @PeerContext Provider<AccessContext> peerAccCtxRef,
         @Named(CoreModule.NODES_MAP_LOCK) ReadWriteLock nodesMapLockRef,
-        @Named(CoreModule.STOR_POOL_DFN_MAP_LOCK) ReadWriteLock storPoolDfnMapLockRef
+        @Named(CoreModule.STOR_POOL_DFN_MAP_LOCK) ReadWriteLock storPoolDfnMapLockRef,
+        EventStorPoolHandlerBridge eventStorPoolHandlerBridgeRef
     )
     {
         errorReporter = errorReporterRef;
@@ -78,9 +82,18 @@ public class StorPoolInternalCallHandler
         peerAccCtx = peerAccCtxRef;
         nodesMapLock = nodesMapLockRef;
         storPoolDfnMapLock = storPoolDfnMapLockRef;
+        eventStorPoolHandlerBridge = eventStorPoolHandlerBridgeRef;
     }
 
     public void handleStorPoolRequest(UUID storPoolUuid, String storPoolNameStr)
+    {
+        handleStorPoolsRequest(Collections.singletonList(storPoolNameStr));
+    }
+
+    /**
+     * Sends the requested storage pools of the peer's node, all of them within the same lock scope.
+     */
+    public void handleStorPoolsRequest(List<String> storPoolNameStrList)
     {
         try (
             LockGuard ls = LockGuard.createLocked(
@@ -90,39 +103,42 @@ public class StorPoolInternalCallHandler
             )
         )
         {
-            StorPoolName storPoolName = new StorPoolName(storPoolNameStr);
-
             Peer currentPeer = peer.get();
-            StorPool storPool = currentPeer.getNode().getStorPool(apiCtx, storPoolName);
-            // TODO: check if the storPool has the same uuid as storPoolUuid
-            if (storPool != null)
-            {
-                long fullSyncTimestamp = currentPeer.getFullSyncId();
-                long updateId = currentPeer.getNextSerializerId();
-                currentPeer.sendMessage(
-                    ctrlStltSerializer
-                        .onewayBuilder(InternalApiConsts.API_APPLY_STOR_POOL)
-                        .storPool(storPool, fullSyncTimestamp, updateId)
-                        .build()
-                );
-            }
-            else
+            for (String storPoolNameStr : storPoolNameStrList)
             {
-                long fullSyncTimestamp = currentPeer.getFullSyncId();
-                long updateId = currentPeer.getNextSerializerId();
-                currentPeer.sendMessage(
-                    ctrlStltSerializer
-                        .onewayBuilder(InternalApiConsts.API_APPLY_STOR_POOL_DELETED)
-                        .deletedStorPool(storPoolNameStr, fullSyncTimestamp, updateId)
-                        .build()
-                );
+                StorPoolName storPoolName = new StorPoolName(storPoolNameStr);
+
+                StorPool storPool = currentPeer.getNode().getStorPool(apiCtx, storPoolName);
+                // TODO: check if the storPool has the same uuid as storPoolUuid
+                if (storPool != null)
+                {
+                    long fullSyncTimestamp = currentPeer.getFullSyncId();
+                    long updateId = currentPeer.getNextSerializerId();
+                    currentPeer.sendMessage(
+                        ctrlStltSerializer
+                            .onewayBuilder(InternalApiConsts.API_APPLY_STOR_POOL)
+                            .storPool(storPool, fullSyncTimestamp, updateId)
+                            .build()
+                    );
+                }
+                else
+                {
+                    long fullSyncTimestamp = currentPeer.getFullSyncId();
+                    long updateId = currentPeer.getNextSerializerId();
+                    currentPeer.sendMessage(
+                        ctrlStltSerializer
+                            .onewayBuilder(InternalApiConsts.API_APPLY_STOR_POOL_DELETED)
+                            .deletedStorPool(storPoolNameStr, fullSyncTimestamp, updateId)
+                            .build()
+                    );
+                }
             }
         }
         catch (InvalidNameException invalidNameExc)
         {
             errorReporter.reportError(
                 new ImplementationError(
-                    "Satellite requested data for invalid storpool name '" + storPoolNameStr + "'.",
+                    "Satellite requested data for invalid storpool name '" + invalidNameExc.invalidName + "'.",
                     invalidNameExc
                 )
             );
@@ -179,6 +195,7 @@ public class StorPoolInternalCallHandler
             {
                 String nodeName = node.getName().displayValue;
 
+                List<Runnable> capacityEvents = new ArrayList<>();
                 try
                 {
                     for (CapacityInfoPojo capacityInfoPojo : capacityInfoPojoList)
@@ -201,6 +218,13 @@ public class StorPoolInternalCallHandler
                                     capacityInfoPojo.getFreeCapacity(),
                                     capacityInfoPojo.getTotalCapacity()
                                 );
+                                capacityEvents.add(
+                                    () -> eventStorPoolHandlerBridge.triggerCapacityChange(
+                                        storPool,
+                                        capacityInfoPojo.getFreeCapacity(),
+                                        capacityInfoPojo.getTotalCapacity()
+                                    )
+                                );
                             }
                             else
                             {
@@ -220,6 +244,7 @@ public class StorPoolInternalCallHandler
                     }
 
                     ctrlTransactionHelper.commit();
+                    capacityEvents.forEach(Runnable::run);
                 }
                 catch (ApiRcException exc)
                 {
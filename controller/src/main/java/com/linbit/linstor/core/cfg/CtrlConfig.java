@@ -75,6 +75,8 @@ public class CtrlConfig extends LinstorConfig
     private String ldapDn;
     private String ldapSearchBase;
     private String ldapSearchFilter;
+    private int ldapAuthCacheTtlSecs;
+    private int ldapAuthCacheSize;
 
     /*
      * Encryption
@@ -86,6 +88,22 @@ public class CtrlConfig extends LinstorConfig
      */
     private String webUiDirectory;
 
+    /*
+     * Metrics
+     */
+    private boolean metricsHotPathEnabled;
+
+    /*
+     * Backup shipping
+     */
+    private int backupMaxBandwidthPerRemoteMiB;
+    private String backupCatalogDir;
+
+    /*
+     * SOS report
+     */
+    private int sosReportMaxParallelNodes;
+
     public CtrlConfig(String[] args)
     {
         super(args);
@@ -119,8 +137,17 @@ public class CtrlConfig extends LinstorConfig
         setLdapDn("uid={user}");
         setLdapSearchBase("");
         setLdapSearchFilter("");
+        setLdapAuthCacheTtlSecs(60);
+        setLdapAuthCacheSize(1000);
 
         setWebUiDirectory("/usr/share/linstor-server/ui");
+
+        setMetricsHotPathEnabled(false);
+
+        setBackupMaxBandwidthPerRemoteMiB(0);
+        setBackupCatalogDir("/var/lib/linstor/backup-catalog");
+
+        setSosReportMaxParallelNodes(4);
     }
 
     @Override
@@ -403,6 +430,22 @@ public class CtrlConfig extends LinstorConfig
         }
     }
 
+    public void setLdapAuthCacheTtlSecs(Integer ldapAuthCacheTtlSecsRef)
+    {
+        if (ldapAuthCacheTtlSecsRef != null)
+        {
+            ldapAuthCacheTtlSecs = ldapAuthCacheTtlSecsRef;
+        }
+    }
+
+    public void setLdapAuthCacheSize(Integer ldapAuthCacheSizeRef)
+    {
+        if (ldapAuthCacheSizeRef != null)
+        {
+            ldapAuthCacheSize = ldapAuthCacheSizeRef;
+        }
+    }
+
     public void setMasterPassphrase(String passphraseRef)
     {
         if (passphraseRef != null)
@@ -594,6 +637,16 @@ public class CtrlConfig extends LinstorConfig
         return ldapSearchFilter;
     }
 
+    public int getLdapAuthCacheTtlSecs()
+    {
+        return ldapAuthCacheTtlSecs;
+    }
+
+    public int getLdapAuthCacheSize()
+    {
+        return ldapAuthCacheSize;
+    }
+
     public String getMasterPassphrase()
     {
         return masterPassphrase;
@@ -603,4 +656,65 @@ public class CtrlConfig extends LinstorConfig
     {
         return webUiDirectory;
     }
+
+    public void setMetricsHotPathEnabled(Boolean metricsHotPathEnabledRef)
+    {
+        if (metricsHotPathEnabledRef != null)
+        {
+            metricsHotPathEnabled = metricsHotPathEnabledRef;
+        }
+    }
+
+    public boolean isMetricsHotPathEnabled()
+    {
+        return metricsHotPathEnabled;
+    }
+
+    public void setBackupMaxBandwidthPerRemoteMiB(Integer backupMaxBandwidthPerRemoteMiBRef)
+    {
+        if (backupMaxBandwidthPerRemoteMiBRef != null)
+        {
+            backupMaxBandwidthPerRemoteMiB = Math.max(0, backupMaxBandwidthPerRemoteMiBRef);
+        }
+    }
+
+    /**
+     * @return the limit in MiB/s for all backups shipped to the same remote, 0 if unlimited
+     */
+    public int getBackupMaxBandwidthPerRemoteMiB()
+    {
+        return backupMaxBandwidthPerRemoteMiB;
+    }
+
+    public void setBackupCatalogDir(String backupCatalogDirRef)
+    {
+        if (backupCatalogDirRef != null)
+        {
+            backupCatalogDir = backupCatalogDirRef;
+        }
+    }
+
+    /**
+     * @return the directory the catalogs of the backups in S3 remotes are stored in, empty if they are not stored
+     */
+    public String getBackupCatalogDir()
+    {
+        return backupCatalogDir;
+    }
+
+    public void setSosReportMaxParallelNodes(Integer sosReportMaxParallelNodesRef)
+    {
+        if (sosReportMaxParallelNodesRef != null)
+        {
+            sosReportMaxParallelNodes = Math.max(1, sosReportMaxParallelNodesRef);
+        }
+    }
+
+    /**
+     * @return the number of satellites the files of an SOS report are collected from at the same time
+     */
+    public int getSosReportMaxParallelNodes()
+    {
+        return sosReportMaxParallelNodes;
+    }
 }
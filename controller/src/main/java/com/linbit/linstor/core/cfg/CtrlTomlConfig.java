@@ -50,6 +50,8 @@ public class CtrlTomlConfig
         private String dn;
         private String search_base;
         private String search_filter;
+        private Integer auth_cache_ttl;
+        private Integer auth_cache_size;
 
         public void applyTo(CtrlConfig cfg)
         {
@@ -59,6 +61,8 @@ public class CtrlTomlConfig
             cfg.setLdapDn(dn);
             cfg.setLdapSearchBase(search_base);
             cfg.setLdapSearchFilter(search_filter);
+            cfg.setLdapAuthCacheTtlSecs(auth_cache_ttl);
+            cfg.setLdapAuthCacheSize(auth_cache_size);
         }
     }
 
@@ -180,6 +184,38 @@ public class CtrlTomlConfig
         }
     }
 
+    static class Metrics
+    {
+        private Boolean hot_path_instrumentation;
+
+        public void applyTo(CtrlConfig cfg)
+        {
+            cfg.setMetricsHotPathEnabled(hot_path_instrumentation);
+        }
+    }
+
+    static class Backup
+    {
+        private Integer max_bandwidth_per_remote;
+        private String catalog_dir;
+
+        public void applyTo(CtrlConfig cfg)
+        {
+            cfg.setBackupMaxBandwidthPerRemoteMiB(max_bandwidth_per_remote);
+            cfg.setBackupCatalogDir(catalog_dir);
+        }
+    }
+
+    static class SosReport
+    {
+        private Integer max_parallel_nodes;
+
+        public void applyTo(CtrlConfig cfg)
+        {
+            cfg.setSosReportMaxParallelNodes(max_parallel_nodes);
+        }
+    }
+
     private HTTP http = new HTTP();
     private HTTPS https = new HTTPS();
     private LDAP ldap = new LDAP();
@@ -187,6 +223,9 @@ public class CtrlTomlConfig
     private Logging logging = new Logging();
     private Encrypt encrypt = new Encrypt();
     private WebUi webUi = new WebUi();
+    private Metrics metrics = new Metrics();
+    private Backup backup = new Backup();
+    private SosReport sosReport = new SosReport();
 
     /**
      * Getter needed by {@link LinstorConfigTool}
@@ -205,5 +244,8 @@ public class CtrlTomlConfig
         logging.applyTo(cfg);
         encrypt.applyTo(cfg);
         webUi.applyTo(cfg);
+        metrics.applyTo(cfg);
+        backup.applyTo(cfg);
+        sosReport.applyTo(cfg);
     }
 }
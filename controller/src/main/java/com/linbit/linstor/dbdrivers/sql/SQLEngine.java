@@ -160,7 +160,7 @@ public class SQLEngine implements DbEngine
         {
             setValues(setters, stmt, 1, table, ignored -> true, data);
 
-            stmt.executeUpdate();
+            executeUpdate(stmt);
         }
         catch (SQLException sqlExc)
         {
@@ -266,7 +266,7 @@ public class SQLEngine implements DbEngine
                     int idx = setValues(settersRef, updateStmt, 1, tableRef, clm -> !clm.isPk(), dataRef);
                     setPrimaryValues(settersRef, updateStmt, idx, tableRef, dataRef);
 
-                    updateStmt.executeUpdate();
+                    executeUpdate(updateStmt);
                 }
             }
             else
@@ -362,7 +362,7 @@ public class SQLEngine implements DbEngine
 
             setPrimaryValues(setters, stmt, 1, table, data);
 
-            stmt.executeUpdate();
+            executeUpdate(stmt);
 
             errorReporter.logTrace("%s deleted %s", table.getName(), dataToString.toString(data));
         }
@@ -689,6 +689,16 @@ public class SQLEngine implements DbEngine
         return transMgrProvider.get().getConnection();
     }
 
+    /**
+     * Executes the given statement and adds the number of written rows to the current transaction
+     */
+    int executeUpdate(PreparedStatement stmt) throws SQLException
+    {
+        int rows = stmt.executeUpdate();
+        transMgrProvider.get().countWrites(rows);
+        return rows;
+    }
+
     String generateUpdateStatement(Column colToUpdate)
     {
         StringBuilder sql = new StringBuilder();
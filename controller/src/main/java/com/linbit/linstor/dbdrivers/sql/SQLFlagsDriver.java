@@ -75,7 +75,7 @@ class SQLFlagsDriver<DATA, FLAG extends Enum<FLAG> & Flags> implements StateFlag
             stmt.setLong(1, newFlagBits);
             sqlEngine.setPrimaryValues(setters, stmt, 2, table, data);
 
-            stmt.executeUpdate();
+            sqlEngine.executeUpdate(stmt);
 
             errorReporter
                 .logTrace(
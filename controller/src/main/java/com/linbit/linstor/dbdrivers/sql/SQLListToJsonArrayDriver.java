@@ -77,7 +77,7 @@ class SQLListToJsonArrayDriver<DATA, LIST_TYPE> implements CollectionDatabaseDri
             stmt.setObject(1, columnSetter.accept(data));
             sqlEngine.setPrimaryValues(setters, stmt, 2, table, data);
 
-            stmt.executeUpdate();
+            sqlEngine.executeUpdate(stmt);
             errorReporter.logTrace(
                 "%s's %s updated to %s %s",
                 table.getName(),
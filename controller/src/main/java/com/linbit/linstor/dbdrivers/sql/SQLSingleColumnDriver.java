@@ -88,7 +88,7 @@ class SQLSingleColumnDriver<DATA, INPUT_TYPE, DB_TYPE> implements SingleColumnDa
                 int idx = fillSetter(stmt, 1, (DB_TYPE) setters.get(colToUpdate).accept(parentRef));
                 sqlEngine.setPrimaryValues(setters, stmt, idx, table, parentRef);
 
-                stmt.executeUpdate();
+                sqlEngine.executeUpdate(stmt);
             }
             if (oldElementRef instanceof byte[])
             {
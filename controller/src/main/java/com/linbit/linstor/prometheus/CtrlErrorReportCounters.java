@@ -0,0 +1,154 @@
+package com.linbit.linstor.prometheus;
+
+import com.linbit.linstor.core.LinStor;
+import com.linbit.linstor.core.identifier.NodeName;
+import com.linbit.linstor.core.objects.Node;
+import com.linbit.linstor.logging.ErrorReportCounters;
+import com.linbit.linstor.logging.ErrorReportResult;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.utils.Pair;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Keeps the error report counters of the controller and of all satellites in memory, so that the metrics endpoint
+ * does not have to query the error reports of every node on every scrape.
+ * Satellites send their full counters once they are connected and only the changed counters afterwards.
+ * Satellites that did not send their full counters yet are not reported at all, since their counts are unknown.
+ */
+@Singleton
+public class CtrlErrorReportCounters
+{
+    private final ErrorReporter errorReporter;
+    private final String ctrlHostName;
+
+    // protected by "this", the key is the upper case node name
+    private final Map<String, Map<ErrorReportCounters.Key, Long>> stltCounters = new HashMap<>();
+
+    @Inject
+    public CtrlErrorReportCounters(ErrorReporter errorReporterRef)
+    {
+        errorReporter = errorReporterRef;
+        ctrlHostName = LinStor.getHostName();
+    }
+
+    public synchronized void updateSatelliteCounters(
+        NodeName nodeName,
+        Map<ErrorReportCounters.Key, Long> counters,
+        boolean full
+    )
+    {
+        String nodeKey = nodeName.displayValue.toUpperCase(Locale.ROOT);
+        Map<ErrorReportCounters.Key, Long> nodeCounters;
+        if (full)
+        {
+            nodeCounters = new HashMap<>();
+            stltCounters.put(nodeKey, nodeCounters);
+        }
+        else
+        {
+            // changes without the full counters they are based on are useless
+            nodeCounters = stltCounters.get(nodeKey);
+        }
+        if (nodeCounters != null)
+        {
+            for (Map.Entry<ErrorReportCounters.Key, Long> entry : counters.entrySet())
+            {
+                if (entry.getValue() == 0)
+                {
+                    nodeCounters.remove(entry.getKey());
+                }
+                else
+                {
+                    nodeCounters.put(entry.getKey(), entry.getValue());
+                }
+            }
+            errorReporter.logTrace(
+                "Updated %d error report counters of node %s",
+                counters.size(),
+                nodeName.displayValue
+            );
+        }
+        else
+        {
+            errorReporter.logTrace(
+                "Ignored %d changed error report counters of node %s, full counters not received yet",
+                counters.size(),
+                nodeName.displayValue
+            );
+        }
+    }
+
+    /**
+     * Returns the counters of the controller and of the given satellites, grouped by Pair(node name, module).
+     * Counters of satellites that are not in the given collection (i.e. deleted nodes) are dropped.
+     * The controller is reported with the display name of the node of the same name if there is one, otherwise with
+     * its host name.
+     */
+    public Map<Pair<String, String>, Map<ErrorReportCounters.Key, Long>> getCounters(
+        Collection<String> existingNodeNames
+    )
+    {
+        Map<Pair<String, String>, Map<ErrorReportCounters.Key, Long>> ret = new HashMap<>();
+
+        // upper case node name -> display name
+        Map<String, String> existingNodes = new HashMap<>();
+        for (String nodeName : existingNodeNames)
+        {
+            existingNodes.put(nodeName.toUpperCase(Locale.ROOT), nodeName);
+        }
+
+        ErrorReportCounters ctrlCounters = errorReporter.getErrorReportCounters();
+        ret.put(
+            new Pair<>(
+                existingNodes.getOrDefault(ctrlHostName.toUpperCase(Locale.ROOT), ctrlHostName),
+                Node.Type.CONTROLLER.name()
+            ),
+            ctrlCounters == null ? Collections.emptyMap() : ctrlCounters.getCounts()
+        );
+
+        synchronized (this)
+        {
+            stltCounters.keySet().retainAll(existingNodes.keySet());
+            for (Map.Entry<String, Map<ErrorReportCounters.Key, Long>> entry : stltCounters.entrySet())
+            {
+                ret.put(
+                    new Pair<>(existingNodes.get(entry.getKey()), Node.Type.SATELLITE.name()),
+                    new HashMap<>(entry.getValue())
+                );
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Sums up the given counters per node, in the same format as the result of listing all error reports
+     */
+    public static ErrorReportResult toErrorReportResult(
+        Map<Pair<String, String>, Map<ErrorReportCounters.Key, Long>> counters
+    )
+    {
+        ErrorReportResult result = new ErrorReportResult(0, Collections.emptyList());
+        for (Map.Entry<Pair<String, String>, Map<ErrorReportCounters.Key, Long>> entry : counters.entrySet())
+        {
+            long nodeTotal = 0;
+            for (Long count : entry.getValue().values())
+            {
+                nodeTotal += count;
+            }
+            result.addErrorReportResult(
+                entry.getKey().objA,
+                entry.getKey().objB,
+                new ErrorReportResult(nodeTotal, Collections.emptyList())
+            );
+        }
+        return result;
+    }
+}
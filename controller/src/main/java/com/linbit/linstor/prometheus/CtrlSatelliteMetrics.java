@@ -0,0 +1,98 @@
+package com.linbit.linstor.prometheus;
+
+import com.linbit.extproc.ExtCmdStats;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keeps the latest metrics the satellites sent about themselves, so that the metrics endpoint can export them
+ * without contacting every satellite on every scrape.
+ */
+@Singleton
+public class CtrlSatelliteMetrics
+{
+    public static class HistogramSnapshot
+    {
+        public final double[] upperBounds;
+        /** The last element is the count of all observations */
+        public final long[] cumulativeCounts;
+        public final double sum;
+
+        public HistogramSnapshot(double[] upperBoundsRef, long[] cumulativeCountsRef, double sumRef)
+        {
+            upperBounds = upperBoundsRef;
+            cumulativeCounts = cumulativeCountsRef;
+            sum = sumRef;
+        }
+    }
+
+    // protected by "this", the key is the node name
+    private final Map<String, HistogramSnapshot> dispatchLockHold = new HashMap<>();
+    private final Map<String, List<ExtCmdStats.Snapshot>> extCmdStats = new HashMap<>();
+
+    @Inject
+    public CtrlSatelliteMetrics()
+    {
+    }
+
+    public synchronized void updateDispatchLockHold(String nodeName, HistogramSnapshot snapshot)
+    {
+        dispatchLockHold.put(nodeName, snapshot);
+    }
+
+    public synchronized void updateExtCmdStats(String nodeName, List<ExtCmdStats.Snapshot> stats)
+    {
+        extCmdStats.put(nodeName, stats);
+    }
+
+    /**
+     * Returns the dispatch lock hold histograms of the given satellites by node name. Histograms of satellites that
+     * are not in the given collection (i.e. deleted nodes) are dropped.
+     */
+    public Map<String, HistogramSnapshot> getDispatchLockHold(Collection<String> existingNodeNames)
+    {
+        Set<String> existingNodesUpper = toUpper(existingNodeNames);
+        synchronized (this)
+        {
+            dispatchLockHold.keySet().removeIf(
+                nodeName -> !existingNodesUpper.contains(nodeName.toUpperCase(Locale.ROOT))
+            );
+            return new HashMap<>(dispatchLockHold);
+        }
+    }
+
+    /**
+     * Returns the external command statistics of the given satellites by node name, same as
+     * {@link #getDispatchLockHold(Collection)}
+     */
+    public Map<String, List<ExtCmdStats.Snapshot>> getExtCmdStats(Collection<String> existingNodeNames)
+    {
+        Set<String> existingNodesUpper = toUpper(existingNodeNames);
+        synchronized (this)
+        {
+            extCmdStats.keySet().removeIf(
+                nodeName -> !existingNodesUpper.contains(nodeName.toUpperCase(Locale.ROOT))
+            );
+            return new HashMap<>(extCmdStats);
+        }
+    }
+
+    private static Set<String> toUpper(Collection<String> nodeNames)
+    {
+        Set<String> nodesUpper = new TreeSet<>();
+        for (String nodeName : nodeNames)
+        {
+            nodesUpper.add(nodeName.toUpperCase(Locale.ROOT));
+        }
+        return nodesUpper;
+    }
+}
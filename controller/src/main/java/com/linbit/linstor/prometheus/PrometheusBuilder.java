@@ -1,11 +1,16 @@
 package com.linbit.linstor.prometheus;
 
 import com.linbit.InvalidNameException;
+import com.linbit.extproc.ExtCmdStats;
+import com.linbit.linstor.InstrumentedScheduler;
+import com.linbit.linstor.LinStorSchedulers;
 import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.ApiConsts;
+import com.linbit.linstor.api.pojo.TransferProgressPojo;
 import com.linbit.linstor.api.rest.v1.Volumes;
 import com.linbit.linstor.api.rest.v1.serializer.Json;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
+import com.linbit.linstor.core.CtrlTransferProgressStore;
 import com.linbit.linstor.core.LinStor;
 import com.linbit.linstor.core.apicallhandler.controller.helpers.ResourceList;
 import com.linbit.linstor.core.apis.NodeApi;
@@ -17,8 +22,13 @@ import com.linbit.linstor.core.apis.VolumeDefinitionApi;
 import com.linbit.linstor.core.identifier.NodeName;
 import com.linbit.linstor.core.identifier.ResourceName;
 import com.linbit.linstor.core.objects.Resource;
+import com.linbit.linstor.logging.ErrorReportCounters;
 import com.linbit.linstor.logging.ErrorReportResult;
+import com.linbit.linstor.logging.ErrorReportStats;
 import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.metrics.Histogram;
+import com.linbit.linstor.metrics.HistogramFamily;
+import com.linbit.linstor.metrics.LinStorMetrics;
 import com.linbit.linstor.satellitestate.SatelliteResourceState;
 import com.linbit.linstor.satellitestate.SatelliteState;
 import com.linbit.linstor.storage.kinds.DeviceProviderKind;
@@ -32,6 +42,7 @@ import java.io.IOException;
 import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -43,6 +54,10 @@ import io.prometheus.client.hotspot.DefaultExports;
 public class PrometheusBuilder
 {
     private final ErrorReporter errorReporter;
+    private final LinStorSchedulers schedulers;
+    private final LinStorMetrics metrics;
+    private final CtrlSatelliteMetrics satelliteMetrics;
+    private final CtrlTransferProgressStore transferProgressStore;
 
     private static final String VOLUME_STATE_HELP;
     private static final String NODE_STATE_HELP;
@@ -119,10 +134,18 @@ public class PrometheusBuilder
 
     @Inject
     public PrometheusBuilder(
-        ErrorReporter errorReporterRef
+        ErrorReporter errorReporterRef,
+        LinStorSchedulers schedulersRef,
+        LinStorMetrics metricsRef,
+        CtrlSatelliteMetrics satelliteMetricsRef,
+        CtrlTransferProgressStore transferProgressStoreRef
     )
     {
         errorReporter = errorReporterRef;
+        schedulers = schedulersRef;
+        metrics = metricsRef;
+        satelliteMetrics = satelliteMetricsRef;
+        transferProgressStore = transferProgressStoreRef;
         DefaultExports.initialize();
     }
 
@@ -257,6 +280,30 @@ public class PrometheusBuilder
         return val;
     }
 
+    /**
+     * Same as the other build method, but without detailed error report counters.
+     */
+    public String build(
+        @Nullable final List<NodeApi> nodeApiList,
+        @Nullable final List<ResourceDefinitionApi> rscDfns,
+        @Nullable final ResourceList rl,
+        @Nullable final List<StorPoolApi> storagePoolList,
+        @Nullable final ErrorReportResult errorReports,
+        final long scrapeRequestCount,
+        final long scrapeStartMillis) throws IOException
+    {
+        return build(
+            nodeApiList,
+            rscDfns,
+            rl,
+            storagePoolList,
+            errorReports,
+            null,
+            scrapeRequestCount,
+            scrapeStartMillis
+        );
+    }
+
     /**
      * Builds the prometheus metrics format in a TextWriter and jvm statistics in a StringWriter and finally
      * converts them to a String.
@@ -266,6 +313,7 @@ public class PrometheusBuilder
      * @param rl resource list included in the report
      * @param storagePoolList storage pool list included in the report
      * @param errorReports error report result for counting statistics
+     * @param errorReportCounters error report counters grouped by Pair(hostname, module)
      * @param scrapeRequestCount how often was yet scraped
      * @param scrapeStartMillis scrape start time in millis
      * @return A String in the prometheus text format output
@@ -277,6 +325,7 @@ public class PrometheusBuilder
         @Nullable final ResourceList rl,
         @Nullable final List<StorPoolApi> storagePoolList,
         @Nullable final ErrorReportResult errorReports,
+        @Nullable final Map<Pair<String, String>, Map<ErrorReportCounters.Key, Long>> errorReportCounters,
         final long scrapeRequestCount,
         final long scrapeStartMillis) throws IOException
     {
@@ -402,6 +451,62 @@ public class PrometheusBuilder
             }
         }
 
+        if (errorReportCounters != null)
+        {
+            tf.startGauge("linstor_error_reports_exception_count");
+            for (var nodeEntry : errorReportCounters.entrySet())
+            {
+                for (var counterEntry : nodeEntry.getValue().entrySet())
+                {
+                    HashMap<String, String> errMap = new HashMap<>();
+                    errMap.put("hostname", nodeEntry.getKey().objA);
+                    errMap.put("module", nodeEntry.getKey().objB);
+                    errMap.put("severity", counterEntry.getKey().severity);
+                    errMap.put("exception", counterEntry.getKey().exception);
+                    tf.writeSample(errMap, counterEntry.getValue());
+                }
+            }
+        }
+
+        ErrorReportStats errorReportStats = errorReporter.getErrorReportStats();
+        if (errorReportStats != null)
+        {
+            tf.startGauge("linstor_error_reports_queued", "error reports waiting to be written");
+            tf.writeSample(errorReportStats.getQueued());
+
+            tf.startGauge("linstor_error_reports_queue_capacity");
+            tf.writeSample(errorReportStats.getQueueCapacity());
+
+            tf.startCounter("linstor_error_reports_written_count");
+            tf.writeSample(errorReportStats.getWritten());
+
+            tf.startCounter(
+                "linstor_error_reports_failed_count",
+                "error reports that could not be written to the error report database"
+            );
+            tf.writeSample(errorReportStats.getFailed());
+
+            tf.startCounter(
+                "linstor_error_reports_dropped_count",
+                "error reports only logged but not written since the report queue was full"
+            );
+            tf.writeSample(errorReportStats.getDropped());
+
+            tf.startCounter(
+                "linstor_error_reports_deduplicated_count",
+                "error reports not written since an identical report was written shortly before"
+            );
+            tf.writeSample(errorReportStats.getDeduplicated());
+        }
+
+        writeSchedulerMetrics(tf);
+        writeHistograms(tf);
+        if (nodeApiList != null)
+        {
+            writeSatelliteHistograms(tf, nodeApiList);
+            writeTransferProgress(tf);
+        }
+
         StringWriter sw = new StringWriter();
         io.prometheus.client.exporter.common.TextFormat.write004(
             sw, CollectorRegistry.defaultRegistry.metricFamilySamples()
@@ -415,4 +520,229 @@ public class PrometheusBuilder
 
         return tf.toString() + sw.toString();
     }
+
+    private void writeSchedulerMetrics(TextFormat tf)
+    {
+        List<InstrumentedScheduler> schedulerList = schedulers.getAll();
+
+        tf.startGauge("linstor_scheduler_queued_tasks", "tasks waiting for a thread of the worker pool");
+        for (InstrumentedScheduler scheduler : schedulerList)
+        {
+            tf.writeSample(schedulerLabel(scheduler), scheduler.getQueued());
+        }
+
+        tf.startGauge("linstor_scheduler_running_tasks");
+        for (InstrumentedScheduler scheduler : schedulerList)
+        {
+            tf.writeSample(schedulerLabel(scheduler), scheduler.getRunning());
+        }
+
+        tf.startCounter("linstor_scheduler_started_tasks_count");
+        for (InstrumentedScheduler scheduler : schedulerList)
+        {
+            tf.writeSample(schedulerLabel(scheduler), scheduler.getStarted());
+        }
+
+        // the wait times are exported as histogram linstor_scheduler_task_wait_seconds, see writeHistograms
+    }
+
+    private void writeHistograms(TextFormat tf)
+    {
+        for (HistogramFamily family : metrics.getAll())
+        {
+            Map<List<String>, Histogram> children = family.getChildren();
+            if (!children.isEmpty())
+            {
+                tf.startHistogram(family.getName(), family.getHelp());
+                List<String> labelNames = family.getLabelNames();
+                for (Map.Entry<List<String>, Histogram> child : children.entrySet())
+                {
+                    LinkedHashMap<String, String> labels = new LinkedHashMap<>();
+                    for (int idx = 0; idx < labelNames.size(); ++idx)
+                    {
+                        labels.put(labelNames.get(idx), child.getKey().get(idx));
+                    }
+                    Histogram histogram = child.getValue();
+                    tf.writeHistogram(
+                        labels,
+                        histogram.getUpperBounds(),
+                        histogram.getCumulativeCounts(),
+                        histogram.getSum()
+                    );
+                }
+            }
+        }
+    }
+
+    private void writeSatelliteHistograms(TextFormat tf, List<NodeApi> nodeApiList)
+    {
+        List<String> nodeNames = nodeApiList.stream().map(NodeApi::getName).collect(Collectors.toList());
+        Map<String, CtrlSatelliteMetrics.HistogramSnapshot> lockHold = satelliteMetrics.getDispatchLockHold(
+            nodeNames
+        );
+        if (!lockHold.isEmpty())
+        {
+            HistogramFamily family = metrics.getDispatchLockHold();
+            tf.startHistogram(family.getName(), family.getHelp());
+            for (Map.Entry<String, CtrlSatelliteMetrics.HistogramSnapshot> entry : lockHold.entrySet())
+            {
+                CtrlSatelliteMetrics.HistogramSnapshot snapshot = entry.getValue();
+                if (snapshot.cumulativeCounts.length > 0)
+                {
+                    LinkedHashMap<String, String> labels = new LinkedHashMap<>();
+                    labels.put("node", entry.getKey());
+                    tf.writeHistogram(labels, snapshot.upperBounds, snapshot.cumulativeCounts, snapshot.sum);
+                }
+            }
+        }
+
+        Map<String, List<ExtCmdStats.Snapshot>> extCmdStats = satelliteMetrics.getExtCmdStats(nodeNames);
+        if (!extCmdStats.isEmpty())
+        {
+            writeExtCmdStats(tf, extCmdStats);
+        }
+    }
+
+    private void writeExtCmdStats(TextFormat tf, Map<String, List<ExtCmdStats.Snapshot>> extCmdStats)
+    {
+        HistogramFamily family = metrics.getExtCmdDuration();
+        tf.startHistogram(family.getName(), family.getHelp());
+        for (Map.Entry<String, List<ExtCmdStats.Snapshot>> entry : extCmdStats.entrySet())
+        {
+            for (ExtCmdStats.Snapshot snapshot : entry.getValue())
+            {
+                if (snapshot.cumulativeCounts.length > 0)
+                {
+                    tf.writeHistogram(
+                        extCmdLabels(entry.getKey(), snapshot),
+                        snapshot.upperBounds,
+                        snapshot.cumulativeCounts,
+                        snapshot.sum
+                    );
+                }
+            }
+        }
+
+        tf.startCounter(
+            "linstor_satellite_ext_cmd_exit_code_count",
+            "number of finished external commands per executable and exit code"
+        );
+        for (Map.Entry<String, List<ExtCmdStats.Snapshot>> entry : extCmdStats.entrySet())
+        {
+            for (ExtCmdStats.Snapshot snapshot : entry.getValue())
+            {
+                for (Map.Entry<Integer, Long> exitCodeEntry : snapshot.exitCodes.entrySet())
+                {
+                    Map<String, String> labels = extCmdLabels(entry.getKey(), snapshot);
+                    labels.put("exit_code", Integer.toString(exitCodeEntry.getKey()));
+                    tf.writeSample(labels, exitCodeEntry.getValue());
+                }
+            }
+        }
+
+        tf.startCounter(
+            "linstor_satellite_ext_cmd_timeout_count",
+            "number of external commands that did not finish in time and were terminated"
+        );
+        for (Map.Entry<String, List<ExtCmdStats.Snapshot>> entry : extCmdStats.entrySet())
+        {
+            for (ExtCmdStats.Snapshot snapshot : entry.getValue())
+            {
+                tf.writeSample(extCmdLabels(entry.getKey(), snapshot), snapshot.timeouts);
+            }
+        }
+
+        tf.startCounter(
+            "linstor_satellite_ext_cmd_spawn_failure_count",
+            "number of external commands that could not be started"
+        );
+        for (Map.Entry<String, List<ExtCmdStats.Snapshot>> entry : extCmdStats.entrySet())
+        {
+            for (ExtCmdStats.Snapshot snapshot : entry.getValue())
+            {
+                tf.writeSample(extCmdLabels(entry.getKey(), snapshot), snapshot.spawnFailures);
+            }
+        }
+
+        tf.startGauge("linstor_satellite_ext_cmd_running", "number of currently running external commands");
+        for (Map.Entry<String, List<ExtCmdStats.Snapshot>> entry : extCmdStats.entrySet())
+        {
+            for (ExtCmdStats.Snapshot snapshot : entry.getValue())
+            {
+                tf.writeSample(extCmdLabels(entry.getKey(), snapshot), snapshot.running);
+            }
+        }
+    }
+
+    private static Map<String, String> extCmdLabels(String nodeName, ExtCmdStats.Snapshot snapshot)
+    {
+        Map<String, String> labels = new LinkedHashMap<>();
+        labels.put("node", nodeName);
+        labels.put("binary", snapshot.binary);
+        return labels;
+    }
+
+    private void writeTransferProgress(TextFormat tf)
+    {
+        List<Pair<String, TransferProgressPojo>> transfers = transferProgressStore.getAll();
+        if (!transfers.isEmpty())
+        {
+            List<Map<String, String>> labelsList = new ArrayList<>(transfers.size());
+            for (Pair<String, TransferProgressPojo> transfer : transfers)
+            {
+                TransferProgressPojo pojo = transfer.objB;
+                LinkedHashMap<String, String> labels = new LinkedHashMap<>();
+                labels.put("node", transfer.objA);
+                labels.put("kind", pojo.getKind().name());
+                labels.put("resource", pojo.getRscName());
+                labels.put("snapshot", pojo.getSnapName() == null ? "" : pojo.getSnapName());
+                labels.put("volume", Integer.toString(pojo.getVlmNr()));
+                labels.put("remote", pojo.getRemoteName() == null ? "" : pojo.getRemoteName());
+                labelsList.add(labels);
+            }
+
+            tf.startGauge(
+                "linstor_transfer_bytes",
+                "uncompressed bytes of running backups, shippings and clones, -1 if unknown"
+            );
+            for (int idx = 0; idx < transfers.size(); ++idx)
+            {
+                tf.writeSample(labelsList.get(idx), transfers.get(idx).objB.getBytesDone());
+            }
+
+            tf.startGauge("linstor_transfer_bytes_total_estimate", "estimated size of the transfer, -1 if unknown");
+            for (int idx = 0; idx < transfers.size(); ++idx)
+            {
+                tf.writeSample(labelsList.get(idx), transfers.get(idx).objB.getBytesTotal());
+            }
+
+            tf.startGauge("linstor_transfer_wire_bytes", "bytes sent or received over the network");
+            for (int idx = 0; idx < transfers.size(); ++idx)
+            {
+                tf.writeSample(labelsList.get(idx), transfers.get(idx).objB.getWireBytes());
+            }
+
+            tf.startGauge(
+                "linstor_transfer_bytes_per_second",
+                "moving average of the uncompressed bytes transferred per second"
+            );
+            for (int idx = 0; idx < transfers.size(); ++idx)
+            {
+                tf.writeSample(labelsList.get(idx), transfers.get(idx).objB.getBytesPerSecond());
+            }
+
+            tf.startGauge("linstor_transfer_eta_seconds", "estimated time until the transfer is done, -1 if unknown");
+            for (int idx = 0; idx < transfers.size(); ++idx)
+            {
+                tf.writeSample(labelsList.get(idx), transfers.get(idx).objB.getEtaSeconds());
+            }
+        }
+    }
+
+    private static Map<String, String> schedulerLabel(InstrumentedScheduler scheduler)
+    {
+        HashMap<String, String> map = new HashMap<>();
+        map.put("scheduler", scheduler.getName());
+        return map;
+    }
 }
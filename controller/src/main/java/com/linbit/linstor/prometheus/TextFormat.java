@@ -2,6 +2,7 @@ package com.linbit.linstor.prometheus;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import io.prometheus.client.Collector;
@@ -51,6 +52,44 @@ public class TextFormat
         startSection(Type.counter, sectionName, help);
     }
 
+    public void startHistogram(final String sectionName, final String help)
+    {
+        startSection(Type.histogram, sectionName, help);
+    }
+
+    /**
+     * Writes the _bucket, _sum and _count samples of a histogram
+     *
+     * @param upperBounds upper bounds of the buckets, without +Inf
+     * @param cumulativeCounts cumulative counts of the buckets, with one additional entry for +Inf
+     */
+    public void writeHistogram(
+        @Nullable final Map<String, String> labels,
+        final double[] upperBounds,
+        final long[] cumulativeCounts,
+        final double sum
+    )
+    {
+        final String histogramName = currentSection;
+        final Map<String, String> bucketLabels = labels == null ? new LinkedHashMap<>() : new LinkedHashMap<>(labels);
+
+        currentSection = histogramName + "_bucket";
+        for (int idx = 0; idx < cumulativeCounts.length; ++idx)
+        {
+            bucketLabels.put(
+                "le",
+                idx < upperBounds.length ? Collector.doubleToGoString(upperBounds[idx]) : "+Inf"
+            );
+            writeSample(bucketLabels, cumulativeCounts[idx]);
+        }
+        currentSection = histogramName + "_sum";
+        writeSample(labels, sum);
+        currentSection = histogramName + "_count";
+        writeSample(labels, cumulativeCounts[cumulativeCounts.length - 1]);
+
+        currentSection = histogramName;
+    }
+
     private void startSection(final Type type, final String sectionName, @Nullable final String help)
     {
         currentSection = sectionName.trim();
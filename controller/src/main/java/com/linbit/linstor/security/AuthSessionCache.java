@@ -0,0 +1,153 @@
+package com.linbit.linstor.security;
+
+import com.linbit.ImplementationError;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Caches the access contexts of successful sign-ins for a limited time, so that clients sending their credentials
+ * with every request (i.e. REST requests with LDAP authentication) do not cause a sign-in for every request.
+ *
+ * Neither the passwords nor plain hashes of them are stored. Entries are keyed by a HMAC of the identity name and the
+ * password, using a random key that is created for every instance. Failed sign-ins are never cached.
+ */
+class AuthSessionCache
+{
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_KEY_SIZE = 32;
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final SecretKeySpec macKey;
+
+    private final Map<String, CachedSession> sessions;
+
+    AuthSessionCache(int maxEntriesRef, long ttlMillisRef)
+    {
+        this(maxEntriesRef, ttlMillisRef, System::currentTimeMillis);
+    }
+
+    AuthSessionCache(int maxEntriesRef, long ttlMillisRef, LongSupplier clockRef)
+    {
+        maxEntries = maxEntriesRef;
+        ttlMillis = ttlMillisRef;
+        clock = clockRef;
+
+        byte[] keyBytes = new byte[MAC_KEY_SIZE];
+        new SecureRandom().nextBytes(keyBytes);
+        macKey = new SecretKeySpec(keyBytes, MAC_ALGORITHM);
+
+        // access order, so the least recently used session is evicted first
+        sessions = new LinkedHashMap<String, CachedSession>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 3129447716043575620L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedSession> eldest)
+            {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    boolean isEnabled()
+    {
+        return maxEntries > 0 && ttlMillis > 0;
+    }
+
+    /**
+     * Returns a copy of the cached access context, or null if the credentials were not verified within the TTL.
+     */
+    AccessContext get(IdentityName idName, byte[] password)
+    {
+        AccessContext accCtx = null;
+        if (isEnabled())
+        {
+            String key = sessionKey(idName, password);
+            synchronized (sessions)
+            {
+                CachedSession session = sessions.get(key);
+                if (session != null)
+                {
+                    if (session.expiresAt > clock.getAsLong())
+                    {
+                        accCtx = session.accCtx.clone();
+                    }
+                    else
+                    {
+                        sessions.remove(key);
+                    }
+                }
+            }
+        }
+        return accCtx;
+    }
+
+    void put(IdentityName idName, byte[] password, AccessContext accCtx)
+    {
+        if (isEnabled())
+        {
+            String key = sessionKey(idName, password);
+            CachedSession session = new CachedSession(accCtx.clone(), clock.getAsLong() + ttlMillis);
+            synchronized (sessions)
+            {
+                sessions.put(key, session);
+            }
+        }
+    }
+
+    void clear()
+    {
+        synchronized (sessions)
+        {
+            sessions.clear();
+        }
+    }
+
+    int size()
+    {
+        synchronized (sessions)
+        {
+            return sessions.size();
+        }
+    }
+
+    private String sessionKey(IdentityName idName, byte[] password)
+    {
+        try
+        {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(macKey);
+            mac.update(idName.displayValue.getBytes(StandardCharsets.UTF_8));
+            // separator, so that "ab" + "c" and "a" + "bc" are different keys
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(password));
+        }
+        catch (GeneralSecurityException exc)
+        {
+            throw new ImplementationError("Unable to calculate the " + MAC_ALGORITHM + " of the credentials", exc);
+        }
+    }
+
+    private static class CachedSession
+    {
+        private final AccessContext accCtx;
+        private final long expiresAt;
+
+        CachedSession(AccessContext accCtxRef, long expiresAtRef)
+        {
+            accCtx = accCtxRef;
+            expiresAt = expiresAtRef;
+        }
+    }
+}
@@ -13,15 +13,9 @@ import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.modularcrypto.ModularCryptoProvider;
 import com.linbit.linstor.security.pojo.SignInEntryPojo;
 
-import javax.naming.Context;
-import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
-import javax.naming.directory.DirContext;
-import javax.naming.directory.InitialDirContext;
-import javax.naming.directory.SearchControls;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Hashtable;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.event.Level;
 
@@ -37,6 +31,10 @@ public class CtrlAuthentication<CTRL_DB_TYPE extends ControllerDatabase>
 
     private KeyDerivation keyDrv;
 
+    private final LdapAuthenticator ldapAuthenticator;
+    private final AuthSessionCache sessionCache;
+    private String sessionCacheLdapCfg;
+
     CtrlAuthentication(
         AccessContext initCtx,
         AccessContext sysCtxRef,
@@ -63,6 +61,12 @@ public class CtrlAuthentication<CTRL_DB_TYPE extends ControllerDatabase>
         ctrlCfg = ctrlCfgRef;
 
         keyDrv = cryptoProvider.createKeyDerivation();
+
+        ldapAuthenticator = new LdapAuthenticator(ctrlCfg);
+        sessionCache = new AuthSessionCache(
+            ctrlCfg.getLdapAuthCacheSize(),
+            TimeUnit.SECONDS.toMillis(ctrlCfg.getLdapAuthCacheTtlSecs())
+        );
     }
 
     private AccessContext signInLinstor(IdentityName idName, byte[] password)
@@ -159,45 +163,9 @@ public class CtrlAuthentication<CTRL_DB_TYPE extends ControllerDatabase>
     {
         AccessContext signInContext = null;
 
-        Hashtable<String, String> ldapEnv = new Hashtable<>();
-        ldapEnv.put(Context.INITIAL_CONTEXT_FACTORY, "com.sun.jndi.ldap.LdapCtxFactory");
-        ldapEnv.put(Context.PROVIDER_URL, ctrlCfg.getLdapUri());
-        ldapEnv.put(Context.SECURITY_AUTHENTICATION, "simple");
-        String ldapDN = ctrlCfg.getLdapDn().replaceAll("\\{user}", idName.displayValue);
-        ldapEnv.put(Context.SECURITY_PRINCIPAL, ldapDN);
-        ldapEnv.put(Context.SECURITY_CREDENTIALS, new String(password, StandardCharsets.UTF_8));
-
         try
         {
-            DirContext ctx = new InitialDirContext(ldapEnv);
-
-            if (!ctrlCfg.getLdapSearchFilter().isEmpty())
-            {
-                SearchControls searchControls = new SearchControls();
-                searchControls.setSearchScope(SearchControls.SUBTREE_SCOPE);
-
-                final String searchFilter = ctrlCfg.getLdapSearchFilter().replaceAll("\\{user}", idName.displayValue);
-
-                NamingEnumeration result = ctx.search(ctrlCfg.getLdapSearchFilter(), searchFilter, searchControls);
-
-                if (!result.hasMore())
-                {
-                    result.close();
-                    throw new InvalidCredentialsException(
-                        "Sign-in failed: LDAP search filter didn't find a match.",
-                        // Description
-                        "Sign-in failed",
-                        // Cause
-                        "Search filter expression didn't match any item.",
-                        // Correction
-                        "Adapt LDAP search_base,search_filter or add user to searched group.",
-                        // No error details
-                        null
-                    );
-                }
-
-                result.close();
-            }
+            ldapAuthenticator.authenticate(idName, password);
 
             final SignInEntryPojo signInEntry = dbDriver.getSignInEntry(ctrlDb, idName);
 
@@ -288,6 +256,38 @@ public class CtrlAuthentication<CTRL_DB_TYPE extends ControllerDatabase>
         return signInContext;
     }
 
+    /**
+     * Signs in with the cached access context if the same credentials were verified by the LDAP server recently
+     */
+    private AccessContext signInLDAPCached(IdentityName idName, byte[] password)
+        throws SignInException, InvalidNameException
+    {
+        String ldapCfg = String.join(
+            "\n",
+            ctrlCfg.getLdapUri(),
+            ctrlCfg.getLdapDn(),
+            ctrlCfg.getLdapSearchBase(),
+            ctrlCfg.getLdapSearchFilter()
+        );
+        synchronized (sessionCache)
+        {
+            if (!ldapCfg.equals(sessionCacheLdapCfg))
+            {
+                // sessions verified with another configuration might not be valid anymore
+                sessionCache.clear();
+                sessionCacheLdapCfg = ldapCfg;
+            }
+        }
+
+        AccessContext accCtx = sessionCache.get(idName, password);
+        if (accCtx == null)
+        {
+            accCtx = signInLDAP(idName, password);
+            sessionCache.put(idName, password, accCtx);
+        }
+        return accCtx;
+    }
+
     public AccessContext signIn(IdentityName idName, byte[] password)
         throws SignInException, InvalidNameException
     {
@@ -295,7 +295,7 @@ public class CtrlAuthentication<CTRL_DB_TYPE extends ControllerDatabase>
 
         if (ctrlCfg.isLdapEnabled())
         {
-            accCtx = signInLDAP(idName, password);
+            accCtx = signInLDAPCached(idName, password);
         }
         else
         {
@@ -0,0 +1,116 @@
+package com.linbit.linstor.security;
+
+import com.linbit.linstor.core.cfg.CtrlConfig;
+
+import javax.naming.Context;
+import javax.naming.NamingEnumeration;
+import javax.naming.NamingException;
+import javax.naming.directory.DirContext;
+import javax.naming.directory.InitialDirContext;
+import javax.naming.directory.SearchControls;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Hashtable;
+
+/**
+ * Verifies credentials by binding to the configured LDAP server and, if configured, checking the search filter.
+ *
+ * The connections are taken from the JNDI LDAP connection pool and returned to it after every sign-in, instead of
+ * opening (and leaking) a new connection for every sign-in. The JNDI pool reuses a connection for the same user and
+ * credentials, which covers the repeated sign-ins of clients sending their credentials with every request.
+ */
+class LdapAuthenticator
+{
+    static final String LDAP_CTX_FACTORY = "com.sun.jndi.ldap.LdapCtxFactory";
+    static final String ENV_CONNECT_POOL = "com.sun.jndi.ldap.connect.pool";
+
+    private static final String PROP_POOL_PROTOCOL = "com.sun.jndi.ldap.connect.pool.protocol";
+    private static final String PROP_POOL_TIMEOUT = "com.sun.jndi.ldap.connect.pool.timeout";
+    private static final String DFLT_POOL_PROTOCOL = "plain ssl";
+    private static final String DFLT_POOL_TIMEOUT_MILLIS = "300000";
+
+    static
+    {
+        // the JNDI defaults only pool ldap:// (not ldaps://) connections and keep idle connections forever.
+        // These properties are read once, when the pool is used for the first time
+        if (System.getProperty(PROP_POOL_PROTOCOL) == null)
+        {
+            System.setProperty(PROP_POOL_PROTOCOL, DFLT_POOL_PROTOCOL);
+        }
+        if (System.getProperty(PROP_POOL_TIMEOUT) == null)
+        {
+            System.setProperty(PROP_POOL_TIMEOUT, DFLT_POOL_TIMEOUT_MILLIS);
+        }
+    }
+
+    private final CtrlConfig ctrlCfg;
+    private final String ctxFactory;
+
+    LdapAuthenticator(CtrlConfig ctrlCfgRef)
+    {
+        this(ctrlCfgRef, LDAP_CTX_FACTORY);
+    }
+
+    LdapAuthenticator(CtrlConfig ctrlCfgRef, String ctxFactoryRef)
+    {
+        ctrlCfg = ctrlCfgRef;
+        ctxFactory = ctxFactoryRef;
+    }
+
+    /**
+     * @throws NamingException if the bind failed, i.e. the credentials are not valid
+     * @throws InvalidCredentialsException if the search filter did not find a match
+     */
+    void authenticate(IdentityName idName, byte[] password)
+        throws NamingException, InvalidCredentialsException
+    {
+        Hashtable<String, String> ldapEnv = new Hashtable<>();
+        ldapEnv.put(Context.INITIAL_CONTEXT_FACTORY, ctxFactory);
+        ldapEnv.put(Context.PROVIDER_URL, ctrlCfg.getLdapUri());
+        ldapEnv.put(Context.SECURITY_AUTHENTICATION, "simple");
+        String ldapDN = ctrlCfg.getLdapDn().replaceAll("\\{user}", idName.displayValue);
+        ldapEnv.put(Context.SECURITY_PRINCIPAL, ldapDN);
+        ldapEnv.put(Context.SECURITY_CREDENTIALS, new String(password, StandardCharsets.UTF_8));
+        ldapEnv.put(ENV_CONNECT_POOL, "true");
+
+        DirContext ctx = new InitialDirContext(ldapEnv);
+        try
+        {
+            if (!ctrlCfg.getLdapSearchFilter().isEmpty())
+            {
+                SearchControls searchControls = new SearchControls();
+                searchControls.setSearchScope(SearchControls.SUBTREE_SCOPE);
+
+                final String searchFilter = ctrlCfg.getLdapSearchFilter().replaceAll("\\{user}", idName.displayValue);
+
+                NamingEnumeration<?> result = ctx.search(ctrlCfg.getLdapSearchBase(), searchFilter, searchControls);
+                try
+                {
+                    if (!result.hasMore())
+                    {
+                        throw new InvalidCredentialsException(
+                            "Sign-in failed: LDAP search filter didn't find a match.",
+                            // Description
+                            "Sign-in failed",
+                            // Cause
+                            "Search filter expression didn't match any item.",
+                            // Correction
+                            "Adapt LDAP search_base,search_filter or add user to searched group.",
+                            // No error details
+                            null
+                        );
+                    }
+                }
+                finally
+                {
+                    result.close();
+                }
+            }
+        }
+        finally
+        {
+            // returns the connection to the pool
+            ctx.close();
+        }
+    }
+}
@@ -140,6 +140,8 @@ public class SecDatabaseLoader
         // register objects in corresponding maps
         for (ObjectProtection op : loadedObjProtMap.keySet())
         {
+            // the entries were added to the backing maps directly
+            op.getAcl().invalidateSnapshot();
             objProtMap.put(op.getObjectProtectionPath(), op);
         }
     }
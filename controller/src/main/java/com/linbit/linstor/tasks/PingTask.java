@@ -49,6 +49,12 @@ public class PingTask implements Task
         }
     }
 
+    @Override
+    public boolean isLivenessTask()
+    {
+        return true;
+    }
+
     @Override
     public long run(long scheduleAt)
     {
@@ -256,6 +256,12 @@ public class ReconnectorTask implements Task
         }
     }
 
+    @Override
+    public boolean isLivenessTask()
+    {
+        return true;
+    }
+
     @Override
     public long run(long scheduleAt)
     {
@@ -854,6 +854,26 @@ public class ScheduleBackupService implements SystemService
         }
     }
 
+    /**
+     * Returns the point in time (in millis) at which the given schedule starts its next full or incremental backup
+     * after <code>afterMillis</code>
+     */
+    public static long getNextExecutionMillis(Schedule schedule, AccessContext accCtx, long afterMillis)
+        throws AccessDeniedException
+    {
+        ZonedDateTime after = ZonedDateTime.ofInstant(Instant.ofEpochMilli(afterMillis), ZoneId.systemDefault());
+        ZonedDateTime next = nextExec(ExecutionTime.forCron(schedule.getFullCron(accCtx)), after);
+        if (schedule.getIncCron(accCtx) != null)
+        {
+            ZonedDateTime nextIncr = nextExec(ExecutionTime.forCron(schedule.getIncCron(accCtx)), after);
+            if (nextIncr.isBefore(next))
+            {
+                next = nextIncr;
+            }
+        }
+        return next.toInstant().toEpochMilli();
+    }
+
     private static ZonedDateTime nextExec(ExecutionTime exec, ZonedDateTime zdt)
     {
         return exec(exec, zdt, true);
@@ -6,22 +6,38 @@ import com.linbit.ServiceName;
 import com.linbit.SystemService;
 import com.linbit.SystemServiceStartException;
 import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.metrics.LinStorMetrics;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
-import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
-
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
 
 import org.slf4j.event.Level;
 
+/**
+ * Schedules the {@link Task}s of the controller. The service thread only keeps track of the due dates, the tasks
+ * themselves are executed by a small thread pool. A task is never executed concurrently with itself, so tasks do not
+ * need to be thread safe regarding their own {@link Task#run(long)} method. Tasks keeping the satellite connections
+ * alive (see {@link Task#isLivenessTask()}) have their own threads, so slow tasks can not delay them.
+ *
+ * The run time and the lateness (time between the scheduled and the actual start) of each execution are recorded
+ * per task class in {@link LinStorMetrics}.
+ */
 @Singleton
 public class TaskScheduleService implements SystemService, Runnable
 {
@@ -33,16 +49,16 @@ public class TaskScheduleService implements SystemService, Runnable
          * When a {@link Task} gets registered in {@link TaskScheduleService}, it will be
          * Immediately executed (calling {@link Task#run()}). <br>
          * <br>
-         * This method gets called again approximately at the given returned timestamp (unless delayed by other executed
-         * tasks) <br>
+         * This method gets called again approximately at the given returned timestamp (unless delayed by a previous
+         * execution of the same task that is still running or by all executor threads being busy) <br>
          * If a tasks wants to be executed i.e. "every 10 seconds", the final return statement should include the
          * parameter scheduledAt (i.e. <code> return scheduledAt + 10_000; </code>) to prevent small but additive
-         * delays caused by other tasks execution time or waiting-inaccuracies
+         * delays caused by the tasks execution time or waiting-inaccuracies
          * <br>
          * Any negative return value will prevent the task from being rescheduled.
          *
          * @param scheduledAt The timestamp when the current execution should have been run, but might have been delayed
-         *     through the execution of previous tasks. In other words, even at the very beginning of the call,
+         *     through busy executor threads. In other words, even at the very beginning of the call,
          *     scheduledAt can largely differ (even seconds or more) from {@link System#currentTimeMillis()}
          */
         long run(long scheduledAt);
@@ -55,6 +71,16 @@ public class TaskScheduleService implements SystemService, Runnable
         {
         }
 
+        /**
+         * @return true if the task keeps the connections to the satellites alive (e.g. pings or reconnects). Such tasks
+         *     are executed by their own threads, so they are never delayed by other tasks occupying all executor
+         *     threads.
+         */
+        default boolean isLivenessTask()
+        {
+            return false;
+        }
+
         /**
          * Calculates the next scheduled timestamp pretending perfect previous scheduled timestamps in order to prevent
          * future executions to get delayed additively. Example:
@@ -86,6 +112,9 @@ public class TaskScheduleService implements SystemService, Runnable
     private static final ServiceName SERVICE_NAME;
     private static final String SERVICE_INFO = "Task schedule service";
     private static final long DEFAULT_RETRY_DELAY = 60_000;
+    private static final int DEFAULT_EXECUTOR_THREADS = 4;
+    // one for each liveness task, they never wait for each other
+    private static final int LIVENESS_EXECUTOR_THREADS = 2;
 
     static
     {
@@ -113,15 +142,35 @@ public class TaskScheduleService implements SystemService, Runnable
     private final Condition tasksCond;
 
     private Thread workerThread;
+    private ExecutorService taskExecutor;
+    private ExecutorService livenessExecutor;
 
     private final TreeMap<Long, LinkedList<Task>> tasks = new TreeMap<>();
     private final LinkedList<Task> newTasks = new LinkedList<>();
+    // protected by tasksLock
+    private final Map<Task, TaskState> taskStates = new IdentityHashMap<>();
     private final ErrorReporter errorReporter;
+    private final LinStorMetrics metrics;
+    private final int executorThreadCount;
+    private final LongSupplier clock;
 
     @Inject
-    public TaskScheduleService(ErrorReporter errorReporterRef)
+    public TaskScheduleService(ErrorReporter errorReporterRef, LinStorMetrics metricsRef)
+    {
+        this(errorReporterRef, metricsRef, DEFAULT_EXECUTOR_THREADS, System::currentTimeMillis);
+    }
+
+    TaskScheduleService(
+        ErrorReporter errorReporterRef,
+        LinStorMetrics metricsRef,
+        int executorThreadCountRef,
+        LongSupplier clockRef
+    )
     {
         errorReporter = errorReporterRef;
+        metrics = metricsRef;
+        executorThreadCount = executorThreadCountRef;
+        clock = clockRef;
         serviceInstanceName = SERVICE_NAME;
         tasksLock = new ReentrantLock();
         tasksCond = tasksLock.newCondition();
@@ -191,12 +240,30 @@ public class TaskScheduleService implements SystemService, Runnable
         }
         if (needStart)
         {
-
+            taskExecutor = createExecutor(serviceInstanceName.displayValue, executorThreadCount);
+            livenessExecutor = createExecutor(
+                serviceInstanceName.displayValue + "-liveness",
+                LIVENESS_EXECUTOR_THREADS
+            );
             workerThread = new Thread(this, serviceInstanceName.displayValue);
             workerThread.start();
         }
     }
 
+    private ExecutorService createExecutor(String threadNamePrefix, int threadCount)
+    {
+        AtomicInteger threadIdx = new AtomicInteger();
+        return Executors.newFixedThreadPool(
+            threadCount,
+            runnable ->
+            {
+                Thread thread = new Thread(runnable, threadNamePrefix + "-" + threadIdx.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+    }
+
     @Override
     public void shutdown()
     {
@@ -215,10 +282,22 @@ public class TaskScheduleService implements SystemService, Runnable
     @Override
     public void awaitShutdown(long timeout) throws InterruptedException
     {
+        long start = System.currentTimeMillis();
         if (workerThread != null)
         {
             workerThread.join(timeout);
         }
+        for (ExecutorService executor : new ExecutorService[] {taskExecutor, livenessExecutor})
+        {
+            if (executor != null)
+            {
+                executor.shutdown();
+                executor.awaitTermination(
+                    Math.max(0, timeout - (System.currentTimeMillis() - start)),
+                    TimeUnit.MILLISECONDS
+                );
+            }
+        }
     }
 
     public void addTask(Task task)
@@ -247,47 +326,36 @@ public class TaskScheduleService implements SystemService, Runnable
                 {
                     // Handle new tasks
                     {
-                        // Run any new tasks and reschedule each task according to
+                        // Run any new tasks, each one gets rescheduled by its executor thread according to
                         // the delay that the task requested
-                        final List<Task> execTaskList = new LinkedList<>(newTasks);
-                        newTasks.clear();
-                        if (!execTaskList.isEmpty())
+                        if (!newTasks.isEmpty())
                         {
-                            long now = System.currentTimeMillis();
-                            tasksLock.unlock();
-                            for (Task execTask : execTaskList)
+                            long now = clock.getAsLong();
+                            for (Task execTask : newTasks)
                             {
-                                execute(execTask, now);
+                                dispatch(execTask, now);
                             }
-                            tasksLock.lock();
+                            newTasks.clear();
                         }
                     }
 
                     // Handle existing tasks
                     long waitTime;
-                    Long entryTime = tasks.firstKey();
+                    Long entryTime = tasks.isEmpty() ? null : tasks.firstKey();
                     if (entryTime != null)
                     {
-                        long now = System.currentTimeMillis();
+                        long now = clock.getAsLong();
 
                         while (entryTime != null && entryTime <= now)
                         {
                             // Remove the task
                             Entry<Long, LinkedList<Task>> taskEntry = tasks.pollFirstEntry();
-                            final List<Task> execTaskList = new LinkedList<>(taskEntry.getValue());
-
-                            tasksLock.unlock();
-                            for (Task execTask : execTaskList)
+                            for (Task execTask : taskEntry.getValue())
                             {
-                                execute(execTask, entryTime);
+                                dispatch(execTask, entryTime);
                             }
-                            tasksLock.lock();
 
-                            entryTime = tasks.firstKey();
-                            if (entryTime != null && entryTime > now)
-                            {
-                                now = System.currentTimeMillis();
-                            }
+                            entryTime = tasks.isEmpty() ? null : tasks.firstKey();
                         }
 
                         // Set the waitTime to suspend this thread until the
@@ -302,9 +370,16 @@ public class TaskScheduleService implements SystemService, Runnable
 
                     if (!shutdown && newTasks.isEmpty())
                     {
-                        // Suspend until new tasks are added or the target time of an
-                        // existing task list is reached
-                        tasksCond.await(waitTime, TimeUnit.MILLISECONDS);
+                        // Suspend until new tasks are added, an executed task was rescheduled or the target time
+                        // of an existing task list is reached
+                        if (waitTime > 0)
+                        {
+                            tasksCond.await(waitTime, TimeUnit.MILLISECONDS);
+                        }
+                        else
+                        {
+                            tasksCond.await();
+                        }
                     }
                 }
                 catch (InterruptedException ignored)
@@ -329,11 +404,54 @@ public class TaskScheduleService implements SystemService, Runnable
         {
             running = false;
             tasksLock.unlock();
+            if (taskExecutor != null)
+            {
+                taskExecutor.shutdown();
+            }
+            if (livenessExecutor != null)
+            {
+                livenessExecutor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Hands the task over to the executor, unless it is still running. In that case the task is executed again
+     * right after the current execution finished, so a task never runs concurrently with itself.
+     *
+     * Must be called while holding the tasksLock
+     */
+    private void dispatch(Task task, long scheduledAt)
+    {
+        TaskState state = taskStates.computeIfAbsent(task, TaskState::new);
+        if (state.executing)
+        {
+            state.pendingExecution = state.pendingExecution < 0 ?
+                scheduledAt :
+                Math.min(state.pendingExecution, scheduledAt);
+        }
+        else
+        {
+            state.executing = true;
+            try
+            {
+                ExecutorService executor = state.liveness ? livenessExecutor : taskExecutor;
+                executor.execute(() -> execute(task, state, scheduledAt));
+            }
+            catch (RejectedExecutionException exc)
+            {
+                // executor is already shutting down
+                state.executing = false;
+            }
         }
     }
 
-    private void execute(Task task, long scheduledAt)
+    private void execute(Task task, TaskState state, long scheduledAt)
     {
+        long startMillis = clock.getAsLong();
+        long startNanos = System.nanoTime();
+        metrics.getTaskLateness().labels(state.name).observe(Math.max(0, startMillis - scheduledAt) / 1_000.0);
+
         long delay = scheduledAt + DEFAULT_RETRY_DELAY;
         try
         {
@@ -352,38 +470,106 @@ public class TaskScheduleService implements SystemService, Runnable
                 "This exception was generated in the service thread of the service '" + SERVICE_NAME + "'"
             );
         }
+        long runNanos = System.nanoTime() - startNanos;
+        long runMillis = clock.getAsLong() - startMillis;
+        metrics.getTaskRunTime().labels(state.name).observe(runNanos / 1_000_000_000.0);
 
-        // Reschedule the task if a non-negative delay was requested
-        if (delay >= 0)
+        try
         {
-            // If a task list exists for the calculated target time,
-            // add the task to the existing task list; otherwise, register
-            // a new task list for the calculated target time and
-            // add the task to the newly registered task list
-            try
+            tasksLock.lock();
+            checkOverrun(state, scheduledAt, runMillis);
+            state.lastScheduledAt = scheduledAt;
+            state.executing = false;
+
+            // Reschedule the task if a non-negative delay was requested or someone rescheduled the task while
+            // it was running
+            long nextExecution = delay;
+            if (state.pendingExecution >= 0)
+            {
+                nextExecution = delay >= 0 ? Math.min(delay, state.pendingExecution) : state.pendingExecution;
+                state.pendingExecution = -1;
+            }
+            if (nextExecution >= 0)
+            {
+                schedule(task, nextExecution);
+                tasksCond.signal();
+            }
+            else
+            {
+                taskStates.remove(task);
+            }
+        }
+        finally
+        {
+            tasksLock.unlock();
+        }
+    }
+
+    /**
+     * A task overruns if a single execution takes longer than the interval between its last two scheduled
+     * executions. Only the first overrun is logged as a warning, until the task keeps its interval again.
+     *
+     * Must be called while holding the tasksLock
+     */
+    private void checkOverrun(TaskState state, long scheduledAt, long runMillis)
+    {
+        if (state.lastScheduledAt >= 0)
+        {
+            long interval = scheduledAt - state.lastScheduledAt;
+            if (interval > 0 && runMillis > interval)
             {
-                tasksLock.lock();
-                LinkedList<Task> taskList = tasks.get(delay);
-                if (taskList == null)
+                if (state.overrunning)
                 {
-                    taskList = new LinkedList<>();
-                    tasks.put(delay, taskList);
+                    errorReporter.logDebug(
+                        "Task %s still overruns its interval of %d ms, execution took %d ms",
+                        state.name,
+                        interval,
+                        runMillis
+                    );
+                }
+                else
+                {
+                    state.overrunning = true;
+                    errorReporter.logWarning(
+                        "Task %s overran its interval of %d ms, execution took %d ms",
+                        state.name,
+                        interval,
+                        runMillis
+                    );
                 }
-                taskList.add(task);
             }
-            finally
+            else if (state.overrunning && interval > 0)
             {
-                tasksLock.unlock();
+                state.overrunning = false;
+                errorReporter.logInfo("Task %s keeps its interval of %d ms again", state.name, interval);
             }
         }
     }
 
+    /**
+     * If a task list exists for the given target time, add the task to the existing task list; otherwise, register
+     * a new task list for the target time and add the task to the newly registered task list.
+     *
+     * Must be called while holding the tasksLock
+     */
+    private void schedule(Task task, long targetTime)
+    {
+        LinkedList<Task> taskList = tasks.get(targetTime);
+        if (taskList == null)
+        {
+            taskList = new LinkedList<>();
+            tasks.put(targetTime, taskList);
+        }
+        taskList.add(task);
+    }
+
     /**
      * Reschedules the given task regardless when it would have been scheduled normally.
      * A negative newDelay will cancel the task completely.
      * The task will *NOT* be executed when this method is called, especially not in the caller thread of this method.
      * Even with newDelay = 0 the task is rescheduled in the internal map, which means that the TaskScheduler's internal
-     * thread will be notified to execute the task (if necessary)
+     * thread will be notified to execute the task (if necessary).
+     * If the task is currently running, it will be executed again once the current execution finished.
      *
      * @param task
      * @param newDelay
@@ -393,29 +579,24 @@ public class TaskScheduleService implements SystemService, Runnable
         try
         {
             tasksLock.lock();
-            Long deleteEntry = null;
-            for (Entry<Long, LinkedList<Task>> entry : tasks.entrySet())
+            Iterator<Entry<Long, LinkedList<Task>>> entryIt = tasks.entrySet().iterator();
+            while (entryIt.hasNext())
             {
-                if (entry.getValue().remove(task) && entry.getValue().isEmpty())
+                LinkedList<Task> taskList = entryIt.next().getValue();
+                if (taskList.remove(task) && taskList.isEmpty())
                 {
-                    deleteEntry = entry.getKey();
+                    entryIt.remove();
                 }
             }
-            if (deleteEntry != null)
+            TaskState state = taskStates.get(task);
+            if (state != null && state.executing)
             {
-                tasks.remove(deleteEntry);
+                state.pendingExecution = -1;
             }
 
             if (newDelay >= 0)
             {
-                long targetTime = newDelay + System.currentTimeMillis();
-                LinkedList<Task> taskList = tasks.get(targetTime);
-                if (taskList == null)
-                {
-                    taskList = new LinkedList<>();
-                    tasks.put(targetTime, taskList);
-                }
-                taskList.add(task);
+                schedule(task, newDelay + clock.getAsLong());
                 tasksCond.signal();
             }
         }
@@ -424,4 +605,35 @@ public class TaskScheduleService implements SystemService, Runnable
             tasksLock.unlock();
         }
     }
+
+    static String getTaskName(Task task)
+    {
+        Class<?> taskClass = task.getClass();
+        String name = taskClass.getSimpleName();
+        if (name.isEmpty())
+        {
+            // anonymous class
+            name = taskClass.getName().substring(taskClass.getName().lastIndexOf('.') + 1);
+        }
+        return name;
+    }
+
+    /**
+     * Bookkeeping of a single task, protected by the tasksLock
+     */
+    private static class TaskState
+    {
+        private final String name;
+        private final boolean liveness;
+        private boolean executing = false;
+        private boolean overrunning = false;
+        private long lastScheduledAt = -1;
+        private long pendingExecution = -1;
+
+        TaskState(Task task)
+        {
+            name = getTaskName(task);
+            liveness = task.isLivenessTask();
+        }
+    }
 }
@@ -131,4 +131,10 @@ public class ControllerETCDTransactionMgr implements TransactionMgrETCD
     {
         return transactionObjectCollection.sizeObjects();
     }
+
+    @Override
+    public int sizeWrites()
+    {
+        return currentTransaction.changedKeys.size() + currentTransaction.deletedKeys.size();
+    }
 }
@@ -279,4 +279,23 @@ public class ControllerK8sCrdTransactionMgr implements TransactionMgrK8sCrd
     {
         return transactionObjectCollection.sizeObjects();
     }
+
+    @Override
+    public int sizeWrites()
+    {
+        int writes = 0;
+        for (HashMap<String, LinstorCrd<?>> crds : currentTransaction.rscsToCreate.values())
+        {
+            writes += crds.size();
+        }
+        for (HashMap<String, LinstorCrd<?>> crds : currentTransaction.rscsToReplace.values())
+        {
+            writes += crds.size();
+        }
+        for (HashMap<String, LinstorCrd<?>> crds : currentTransaction.rscsToDelete.values())
+        {
+            writes += crds.size();
+        }
+        return writes;
+    }
 }
@@ -24,10 +24,11 @@ public class ExtCmdFactoryStlt extends ExtCmdFactory
     public ExtCmdFactoryStlt(
         CoreTimer timerRef,
         ErrorReporter errorReporterRef,
+        ExtCmdStats extCmdStatsRef,
         Provider<DeviceManager> devMgrProviderRef
     )
     {
-        super(timerRef, errorReporterRef);
+        super(timerRef, errorReporterRef, extCmdStatsRef);
         devMgrProvider = devMgrProviderRef;
 
         extCmdWithSharedLocksSet = new HashSet<>();
@@ -46,7 +47,7 @@ public class ExtCmdFactoryStlt extends ExtCmdFactory
     @Override
     public ExtCmd create()
     {
-        ExtCmd extCmd = new ExtCmd(timer, errlog);
+        ExtCmd extCmd = new ExtCmd(timer, errlog, extCmdStats);
         if (sharedLocks)
         {
             extCmd.addCondition(
@@ -0,0 +1,113 @@
+package com.linbit.linstor.api.protobuf;
+
+import com.linbit.ImplementationError;
+import com.linbit.InvalidNameException;
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.ApiCallReactive;
+import com.linbit.linstor.api.pojo.RscPojo;
+import com.linbit.linstor.core.ControllerPeerConnector;
+import com.linbit.linstor.core.DeviceManager;
+import com.linbit.linstor.core.apicallhandler.ResponseSerializer;
+import com.linbit.linstor.core.apicallhandler.ScopeRunner;
+import com.linbit.linstor.core.apicallhandler.StltApiCallHandler;
+import com.linbit.linstor.core.identifier.ResourceName;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntApplyRscOuterClass.MsgIntApplyRsc;
+import com.linbit.locks.LockGuard;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Same as {@link ChangedRsc}, but the controller pushed the resource data together with the notification, so the
+ * device manager does not have to request it.
+ */
+@ProtobufApiCall(
+    name = InternalApiConsts.API_CHANGED_RSC_DATA,
+    description = "Called by the controller to indicate that a resource was modified, including the resource data"
+)
+@Singleton
+public class ChangedRscData implements ApiCallReactive
+{
+    private final DeviceManager deviceManager;
+    private final ControllerPeerConnector controllerPeerConnector;
+    private final ResponseSerializer responseSerializer;
+    private final ScopeRunner scopeRunner;
+    private final StltApiCallHandler apiCallHandler;
+
+    @Inject
+    public ChangedRscData(
+        DeviceManager deviceManagerRef,
+        ControllerPeerConnector controllerPeerConnectorRef,
+        ResponseSerializer responseSerializerRef,
+        ScopeRunner scopeRunnerRef,
+        StltApiCallHandler apiCallHandlerRef
+    )
+    {
+        deviceManager = deviceManagerRef;
+        controllerPeerConnector = controllerPeerConnectorRef;
+        responseSerializer = responseSerializerRef;
+        scopeRunner = scopeRunnerRef;
+        apiCallHandler = apiCallHandlerRef;
+    }
+
+    @Override
+    public Flux<byte[]> executeReactive(InputStream msgDataIn)
+        throws IOException
+    {
+        MsgIntApplyRsc applyMsg = MsgIntApplyRsc.parseDelimitedFrom(msgDataIn);
+        String rscNameStr = applyMsg.getRsc().getLocalRsc().getName();
+        UUID rscUuid = UUID.fromString(applyMsg.getRsc().getLocalRsc().getUuid());
+
+        ResourceName rscName;
+        try
+        {
+            rscName = new ResourceName(rscNameStr);
+        }
+        catch (InvalidNameException invalidNameExc)
+        {
+            throw new ImplementationError(
+                "Controller sent an illegal resource name: " + rscNameStr + ".",
+                invalidNameExc
+            );
+        }
+
+        RscPojo rscRawData = ApplyRsc.asRscPojo(
+            applyMsg.getRsc(),
+            applyMsg.getFullSyncId(),
+            applyMsg.getUpdateId()
+        );
+
+        return scopeRunner
+            .fluxInTransactionalScope(
+                "Apply pushed resource",
+                LockGuard.createDeferred(),
+                () -> applyInScope(rscRawData)
+            )
+            // only notify the device manager once the data is applied, otherwise it would dispatch outdated data.
+            // If the data was outdated, the device manager requests the current data as usual
+            .flatMap(
+                applied -> applied ?
+                    deviceManager.getUpdateTracker()
+                        .updatePushedResource(rscUuid, rscName, controllerPeerConnector.getLocalNodeName()) :
+                    deviceManager.getUpdateTracker()
+                        .updateResource(rscUuid, rscName, controllerPeerConnector.getLocalNodeName())
+            )
+            .transform(responseSerializer::transform);
+    }
+
+    private Flux<Boolean> applyInScope(RscPojo rscRawData)
+    {
+        // the update is applied in the order of the update ids, possibly later by the thread applying the
+        // preceding update
+        Sinks.One<Boolean> applied = Sinks.one();
+        apiCallHandler.applyPushedResourceChanges(rscRawData, applied::tryEmitValue);
+        return applied.asMono().flux();
+    }
+}
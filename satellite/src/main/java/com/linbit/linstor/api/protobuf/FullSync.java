@@ -12,6 +12,8 @@ import com.linbit.linstor.api.pojo.SnapshotPojo;
 import com.linbit.linstor.api.pojo.StorPoolPojo;
 import com.linbit.linstor.api.protobuf.serializer.ProtoCtrlStltSerializerBuilder;
 import com.linbit.linstor.core.ControllerPeerConnector;
+import com.linbit.linstor.core.StltErrorReportCountersPusher;
+import com.linbit.linstor.core.StltExtCmdStatsPusher;
 import com.linbit.linstor.core.apicallhandler.StltApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.StltApiCallHandlerUtils;
 import com.linbit.linstor.core.apicallhandler.response.ApiRcException;
@@ -61,6 +63,8 @@ public class FullSync implements ApiCall
     private final ControllerPeerConnector controllerPeerConnector;
     private final Provider<Peer> controllerPeerProvider;
     private final ErrorReporter errorReporter;
+    private final StltErrorReportCountersPusher errorReportCountersPusher;
+    private final StltExtCmdStatsPusher extCmdStatsPusher;
 
     @Inject
     public FullSync(
@@ -69,7 +73,9 @@ public class FullSync implements ApiCall
         ApiCallAnswerer apiCallAnswererRef,
         ControllerPeerConnector controllerPeerConnectorRef,
         Provider<Peer> controllerPeerProviderRef,
-        ErrorReporter errorReporterRef
+        ErrorReporter errorReporterRef,
+        StltErrorReportCountersPusher errorReportCountersPusherRef,
+        StltExtCmdStatsPusher extCmdStatsPusherRef
     )
     {
         apiCallHandler = apiCallHandlerRef;
@@ -78,6 +84,8 @@ public class FullSync implements ApiCall
         controllerPeerConnector = controllerPeerConnectorRef;
         controllerPeerProvider = controllerPeerProviderRef;
         errorReporter = errorReporterRef;
+        errorReportCountersPusher = errorReportCountersPusherRef;
+        extCmdStatsPusher = extCmdStatsPusherRef;
     }
 
     @Override
@@ -180,6 +188,12 @@ public class FullSync implements ApiCall
             ),
             InternalApiConsts.API_FULL_SYNC_RESPONSE
         );
+
+        if (success == FullSyncResult.SUCCESS)
+        {
+            errorReportCountersPusher.pushAll();
+            extCmdStatsPusher.pushAll();
+        }
     }
 
     private ArrayList<NodePojo> asNodes(
@@ -56,7 +56,8 @@ public class ReqSosReportFiles implements ApiCall
         MsgReqSosReportFiles reqSosReportFiles = MsgReqSosReportFiles.parseDelimitedFrom(msgDataIn);
         String sosReportName = reqSosReportFiles.getSosReportName();
         List<FilePojo> filesToRespond = sosApiCallHandler.getRequestedSosReportFiles(
-            ProtoDeserializationUtils.parseRequestedSosFiles(reqSosReportFiles.getFilesList())
+            ProtoDeserializationUtils.parseRequestedSosFiles(reqSosReportFiles.getFilesList()),
+            reqSosReportFiles.getCompress()
         );
 
         byte[] build = interComSerializer.answerBuilder(InternalApiConsts.API_RSP_SOS_REPORT_FILE_LIST, apiCallId.get())
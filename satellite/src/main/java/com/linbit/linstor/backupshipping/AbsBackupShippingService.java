@@ -12,6 +12,7 @@ import com.linbit.linstor.InternalApiConsts;
 import com.linbit.linstor.annotation.SystemContext;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
+import com.linbit.linstor.api.pojo.TransferProgressPojo;
 import com.linbit.linstor.api.pojo.backups.BackupMetaInfoPojo;
 import com.linbit.linstor.core.ControllerPeerConnector;
 import com.linbit.linstor.core.CoreModule.RemoteMap;
@@ -26,6 +27,8 @@ import com.linbit.linstor.core.objects.SnapshotVolume;
 import com.linbit.linstor.core.objects.remotes.AbsRemote;
 import com.linbit.linstor.core.objects.remotes.AbsRemote.RemoteType;
 import com.linbit.linstor.core.objects.remotes.StltRemote;
+import com.linbit.linstor.core.transfer.StltTransferTracker;
+import com.linbit.linstor.core.transfer.TransferProgress;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.propscon.InvalidKeyException;
 import com.linbit.linstor.security.AccessContext;
@@ -76,6 +79,7 @@ public abstract class AbsBackupShippingService implements SystemService
     protected CtrlStltSerializer interComSerializer;
     protected StltSecurityObjects stltSecObj;
     protected StltConfigAccessor stltConfigAccessor;
+    protected final StltTransferTracker transferTracker;
 
     @Inject
     public AbsBackupShippingService(
@@ -90,7 +94,8 @@ public abstract class AbsBackupShippingService implements SystemService
         StltConfigAccessor stltConfigAccessorRef,
         StltConnTracker stltConnTracker,
         RemoteMap remoteMapRef,
-        LockGuardFactory lockGuardFactoryRef
+        LockGuardFactory lockGuardFactoryRef,
+        StltTransferTracker transferTrackerRef
     )
     {
         errorReporter = errorReporterRef;
@@ -103,6 +108,7 @@ public abstract class AbsBackupShippingService implements SystemService
         stltConfigAccessor = stltConfigAccessorRef;
         remoteMap = remoteMapRef;
         lockGuardFactory = lockGuardFactoryRef;
+        transferTracker = transferTrackerRef;
 
         try
         {
@@ -137,6 +143,7 @@ public abstract class AbsBackupShippingService implements SystemService
             for (SnapVlmDataInfo snapVlmDataInfo : shippingInfo.snapVlmDataInfoMap.values())
             {
                 snapVlmDataInfo.daemon.shutdown(doPostShipping);
+                transferTracker.finished(snapVlmDataInfo.progress);
                 try
                 {
                     snapVlmDataInfo.daemon.awaitShutdown(750);
@@ -171,6 +178,7 @@ public abstract class AbsBackupShippingService implements SystemService
             if (snapVlmDataInfo != null)
             {
                 snapVlmDataInfo.daemon.shutdown(sendPostShipping);
+                transferTracker.finished(snapVlmDataInfo.progress);
             }
         }
         else
@@ -319,6 +327,8 @@ public abstract class AbsBackupShippingService implements SystemService
                         String remoteName = "";
                         for (SnapVlmDataInfo snapVlmDataInfo : info.snapVlmDataInfoMap.values())
                         {
+                            // before starting the daemon, which might already report its failure
+                            transferTracker.started(snapVlmDataInfo.progress);
                             String uploadId = snapVlmDataInfo.daemon.start();
                             synchronized (startedShippments)
                             {
@@ -403,6 +413,14 @@ public abstract class AbsBackupShippingService implements SystemService
                     info = new ShippingInfo();
                     shippingInfoMap.put(snap, info);
                 }
+                TransferProgress progress = new TransferProgress(
+                    restore ? TransferProgressPojo.Kind.BACKUP_RECEIVE : TransferProgressPojo.Kind.BACKUP_SEND,
+                    snap.getResourceName().displayValue,
+                    snap.getSnapshotName().displayValue,
+                    snapVlmData.getVlmNr().value,
+                    remote.getName().displayValue,
+                    getEstimatedSizeInBytes(snapVlmData)
+                );
                 if (remote instanceof StltRemote)
                 {
                     info.portsUsed.add(
@@ -420,10 +438,12 @@ public abstract class AbsBackupShippingService implements SystemService
                             remote,
                             restore,
                             portRef,
-                            postAction
+                            postAction,
+                            progress
                         ),
                         backupNameRef,
-                        snapVlmData.getVlmNr().value
+                        snapVlmData.getVlmNr().value,
+                        progress
                     )
                 );
                 info.remote = remote;
@@ -470,6 +490,17 @@ public abstract class AbsBackupShippingService implements SystemService
         }
     }
 
+    /**
+     * @return the allocated size of the snapshot volume in bytes or -1 if unknown (i.e. while restoring)
+     */
+    protected static long getEstimatedSizeInBytes(AbsStorageVlmData<Snapshot> snapVlmData)
+    {
+        long sizeInKib = snapVlmData.getAllocatedSize() == -1 && snapVlmData.getSnapshotAllocatedSize() != null ?
+            snapVlmData.getSnapshotAllocatedSize() :
+            snapVlmData.getAllocatedSize();
+        return sizeInKib < 0 ? -1 : sizeInKib * 1024;
+    }
+
     /**
      * Throws an {@link ImplementationError} if <code>this.remoteType</code> does not equals to the parameter's
      * <code>remote.getType()</code>
@@ -511,6 +542,11 @@ public abstract class AbsBackupShippingService implements SystemService
              */
             if (shippingInfo != null)
             {
+                SnapVlmDataInfo snapVlmDataInfo = shippingInfo.snapVlmDataInfoMap.get(snapVlmData);
+                if (snapVlmDataInfo != null)
+                {
+                    transferTracker.finished(snapVlmDataInfo.progress);
+                }
                 shippingInfo.snapVlmDataFinishedShipping++;
                 if (portInUseRef != null)
                 {
@@ -613,6 +649,7 @@ public abstract class AbsBackupShippingService implements SystemService
             for (SnapVlmDataInfo snapVlmDataInfo : shippingInfo.snapVlmDataInfoMap.values())
             {
                 snapVlmDataInfo.daemon.shutdown(false); // just make sure that everything is already stopped
+                transferTracker.finished(snapVlmDataInfo.progress);
             }
         }
     }
@@ -822,6 +859,7 @@ public abstract class AbsBackupShippingService implements SystemService
             for (SnapVlmDataInfo snapVlmDataInfo : info.snapVlmDataInfoMap.values())
             {
                 snapVlmDataInfo.daemon.shutdown(false);
+                transferTracker.finished(snapVlmDataInfo.progress);
             }
         }
 
@@ -861,7 +899,8 @@ public abstract class AbsBackupShippingService implements SystemService
         AbsRemote remoteRef,
         boolean restoreRef,
         Integer portRef,
-        BiConsumer<Boolean, Integer> postActionRef
+        BiConsumer<Boolean, Integer> postActionRef,
+        TransferProgress progressRef
     );
 
     protected abstract String getBackupNameForRestore(AbsStorageVlmData<Snapshot> snapVlmDataRef)
@@ -908,14 +947,21 @@ public abstract class AbsBackupShippingService implements SystemService
         private BackupShippingDaemon daemon;
         String backupName;
         int vlmNr;
+        private final TransferProgress progress;
 
         private long finishTimestamp;
 
-        private SnapVlmDataInfo(BackupShippingDaemon daemonRef, String backupNameRef, int vlmNrRef)
+        private SnapVlmDataInfo(
+            BackupShippingDaemon daemonRef,
+            String backupNameRef,
+            int vlmNrRef,
+            TransferProgress progressRef
+        )
         {
             daemon = daemonRef;
             backupName = backupNameRef;
             vlmNr = vlmNrRef;
+            progress = progressRef;
         }
     }
 
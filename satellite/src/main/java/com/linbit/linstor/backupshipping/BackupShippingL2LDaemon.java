@@ -8,6 +8,8 @@ import com.linbit.extproc.OutputProxy.Event;
 import com.linbit.extproc.OutputProxy.ExceptionEvent;
 import com.linbit.extproc.OutputProxy.StdErrEvent;
 import com.linbit.extproc.OutputProxy.StdOutEvent;
+import com.linbit.linstor.core.transfer.PvProgress;
+import com.linbit.linstor.core.transfer.TransferProgress;
 import com.linbit.linstor.logging.ErrorReporter;
 
 import java.io.IOException;
@@ -28,6 +30,7 @@ public class BackupShippingL2LDaemon implements Runnable, BackupShippingDaemon
     private final DaemonHandler handler;
 
     private final Integer port;
+    private final TransferProgress progress;
 
     private boolean started = false;
     private boolean alreadyInUse = false;
@@ -41,7 +44,8 @@ public class BackupShippingL2LDaemon implements Runnable, BackupShippingDaemon
         String threadName,
         String[] commandRef,
         Integer portRef,
-        BiConsumer<Boolean, Integer> postActionRef
+        BiConsumer<Boolean, Integer> postActionRef,
+        TransferProgress progressRef
     )
     {
         errorReporter = errorReporterRef;
@@ -52,6 +56,7 @@ public class BackupShippingL2LDaemon implements Runnable, BackupShippingDaemon
         handler = new DaemonHandler(deque, command);
 
         port = portRef;
+        progress = progressRef;
 
         thread = new Thread(threadGroupRef, this, threadName);
     }
@@ -104,11 +109,14 @@ public class BackupShippingL2LDaemon implements Runnable, BackupShippingDaemon
                 else
                 if (event instanceof StdErrEvent)
                 {
-                    String stdErr = new String(((StdErrEvent) event).data);
-                    errorReporter.logWarning("stdErr: %s", stdErr);
-                    if (stdErr.contains(ALREADY_IN_USE))
+                    String stdErr = PvProgress.apply(new String(((StdErrEvent) event).data), progress);
+                    if (!stdErr.isEmpty())
                     {
-                        alreadyInUse = true;
+                        errorReporter.logWarning("stdErr: %s", stdErr);
+                        if (stdErr.contains(ALREADY_IN_USE))
+                        {
+                            alreadyInUse = true;
+                        }
                     }
                 }
                 else
@@ -0,0 +1,433 @@
+package com.linbit.linstor.backupshipping;
+
+import com.linbit.ImplementationError;
+import com.linbit.SystemServiceStartException;
+import com.linbit.extproc.DaemonHandler;
+import com.linbit.extproc.OutputProxy.EOFEvent;
+import com.linbit.extproc.OutputProxy.Event;
+import com.linbit.extproc.OutputProxy.ExceptionEvent;
+import com.linbit.extproc.OutputProxy.StdErrEvent;
+import com.linbit.extproc.OutputProxy.StdOutEvent;
+import com.linbit.linstor.backupshipping.transport.ShippingConnection;
+import com.linbit.linstor.backupshipping.transport.ShippingListener;
+import com.linbit.linstor.backupshipping.transport.ShippingReceiver;
+import com.linbit.linstor.backupshipping.transport.ShippingSender;
+import com.linbit.linstor.backupshipping.transport.ShippingStats;
+import com.linbit.linstor.backupshipping.transport.ShippingTransport;
+import com.linbit.linstor.core.transfer.TransferProgress;
+import com.linbit.linstor.logging.ErrorReporter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.BindException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.function.BiConsumer;
+
+/**
+ * L2L shipping daemon using the {@link ShippingTransport} instead of socat and zstd. Only the send or receive command
+ * runs as external process, its stdout (sending) or stdin (receiving) is connected to the transport by the data thread.
+ *
+ * The shipment is successful if both, the command and the data thread, finished successfully.
+ */
+public class BackupShippingL2LNativeDaemon implements Runnable, BackupShippingDaemon
+{
+    private static final int DFLT_DEQUE_CAPACITY = 100;
+
+    private final ErrorReporter errorReporter;
+    private final ThreadGroup threadGroup;
+    private final Thread cmdThread;
+    private final Thread dataThread;
+    private final String[] command;
+    private final ShippingTransport transport;
+    private final boolean restore;
+    private final String host;
+    private final int port;
+    private final boolean compress;
+    private final ShippingStats stats;
+
+    private final LinkedBlockingDeque<Event> deque;
+    private final DaemonHandler handler;
+    private final Object syncObj = new Object();
+
+    private final BiConsumer<Boolean, Integer> afterTermination;
+
+    private volatile boolean running = false;
+    private volatile Process cmdProcess;
+    private volatile ShippingListener listener;
+    private volatile ShippingSender sender;
+    private volatile ShippingReceiver receiver;
+
+    // protected by syncObj
+    private boolean cmdFinished = false;
+    private boolean dataFinished = false;
+    private boolean alreadyInUse = false;
+    private boolean afterTerminationSent = false;
+    private boolean suppressAfterTermination = false;
+
+    public BackupShippingL2LNativeDaemon(
+        ErrorReporter errorReporterRef,
+        ThreadGroup threadGroupRef,
+        String threadName,
+        String[] commandRef,
+        ShippingTransport transportRef,
+        boolean restoreRef,
+        String hostRef,
+        int portRef,
+        boolean compressRef,
+        BiConsumer<Boolean, Integer> postActionRef,
+        TransferProgress progressRef
+    )
+    {
+        errorReporter = errorReporterRef;
+        threadGroup = threadGroupRef;
+        command = commandRef;
+        transport = transportRef;
+        restore = restoreRef;
+        host = hostRef;
+        port = portRef;
+        compress = compressRef;
+        afterTermination = postActionRef;
+        stats = new ShippingStats(threadName, progressRef);
+
+        deque = new LinkedBlockingDeque<>(DFLT_DEQUE_CAPACITY);
+        handler = new DaemonHandler(deque, command);
+
+        cmdThread = new Thread(threadGroupRef, this, threadName);
+        if (restore)
+        {
+            dataThread = new Thread(threadGroupRef, this::runReceiving, "rx_" + threadName);
+        }
+        else
+        {
+            // stdout is the data stream, which is read by the data thread
+            handler.setStdOutListener(false);
+            dataThread = new Thread(threadGroupRef, this::runSending, "tx_" + threadName);
+        }
+    }
+
+    public ShippingStats getStats()
+    {
+        return stats;
+    }
+
+    @Override
+    public String start()
+    {
+        running = true;
+        try
+        {
+            if (restore)
+            {
+                // bind before the command is started, the sending side is only told to start if this succeeded
+                listener = transport.listen(port);
+            }
+            cmdThread.start();
+            cmdProcess = handler.startDelimited();
+            dataThread.start();
+        }
+        catch (BindException exc)
+        {
+            errorReporter.logWarning("Port %d for shipment %s is already in use", port, stats.getShipmentName());
+            synchronized (syncObj)
+            {
+                alreadyInUse = true;
+            }
+            // needed to prevent deadlock with deviceManager-thread
+            new Thread(threadGroup, () -> finished(false, false), "shutdown_" + stats.getShipmentName()).start();
+        }
+        catch (IOException exc)
+        {
+            errorReporter.reportError(
+                new SystemServiceStartException(
+                    "Unable to daemon for SnapshotShipping",
+                    "I/O error attempting to start '" + Arrays.toString(command) + "'",
+                    exc.getMessage(),
+                    null,
+                    null,
+                    exc,
+                    false
+                )
+            );
+            new Thread(threadGroup, () -> finished(false, false), "shutdown_" + stats.getShipmentName()).start();
+        }
+        return null;
+    }
+
+    private void runSending()
+    {
+        errorReporter.logTrace("starting to ship %s to %s:%d", stats.getShipmentName(), host, port);
+        boolean success = false;
+        List<ShippingConnection> connections = null;
+        try
+        {
+            connections = transport.connect(host, port);
+            sender = transport.createSender(connections, compress, stats);
+            if (running)
+            {
+                sender.send(cmdProcess.getInputStream());
+                success = true;
+            }
+        }
+        catch (IOException exc)
+        {
+            if (running)
+            {
+                errorReporter.reportError(exc);
+            }
+        }
+        finally
+        {
+            closeAll(connections);
+        }
+        logStats(success);
+        finished(success, false);
+    }
+
+    private void runReceiving()
+    {
+        errorReporter.logTrace("waiting for shipment %s on port %d", stats.getShipmentName(), port);
+        boolean success = false;
+        List<ShippingConnection> connections = null;
+        try
+        {
+            try
+            {
+                connections = listener.accept();
+            }
+            finally
+            {
+                listener.close();
+            }
+            receiver = transport.createReceiver(connections, compress, stats);
+            if (running)
+            {
+                try (OutputStream cmdIn = cmdProcess.getOutputStream())
+                {
+                    receiver.receive(cmdIn);
+                }
+                success = true;
+            }
+        }
+        catch (IOException exc)
+        {
+            if (running)
+            {
+                errorReporter.reportError(exc);
+            }
+        }
+        finally
+        {
+            closeAll(connections);
+        }
+        logStats(success);
+        finished(success, false);
+    }
+
+    @Override
+    public void run()
+    {
+        errorReporter.logTrace("starting daemon: %s", Arrays.toString(command));
+        boolean success = false;
+        // stdout is only watched while receiving
+        int eofCount = restore ? 2 : 1;
+        while (running)
+        {
+            Event event;
+            try
+            {
+                event = deque.take();
+                if (event instanceof StdOutEvent)
+                {
+                    errorReporter.logTrace("stdOut: %s", new String(((StdOutEvent) event).data));
+                }
+                else
+                if (event instanceof StdErrEvent)
+                {
+                    String stdErr = new String(((StdErrEvent) event).data);
+                    errorReporter.logWarning("stdErr: %s", stdErr);
+                }
+                else
+                if (event instanceof ExceptionEvent)
+                {
+                    errorReporter.logTrace("ExceptionEvent in '%s':", Arrays.toString(command));
+                    errorReporter.reportError(((ExceptionEvent) event).exc);
+                }
+                else
+                if (event instanceof PoisonEvent)
+                {
+                    errorReporter.logTrace("PoisonEvent");
+                    break;
+                }
+                else
+                if (event instanceof EOFEvent)
+                {
+                    --eofCount;
+                    if (eofCount == 0)
+                    {
+                        int exitCode = handler.getExitCode();
+                        errorReporter.logTrace("EOF. Exit code: %d", exitCode);
+                        success = exitCode == 0;
+                        break;
+                    }
+                }
+            }
+            catch (InterruptedException exc)
+            {
+                if (running)
+                {
+                    errorReporter.reportError(new ImplementationError(exc));
+                }
+            }
+            catch (Exception exc)
+            {
+                errorReporter.reportError(
+                    new ImplementationError(
+                        "Unknown exception occurred while executing '" + Arrays.toString(command) + "'",
+                        exc
+                    )
+                );
+            }
+        }
+        finished(success, true);
+    }
+
+    /**
+     * Called once by the command thread and once by the data thread. The first failure is reported immediately and
+     * stops the other half, otherwise the result is reported when both are done.
+     */
+    private void finished(boolean success, boolean isCmd)
+    {
+        boolean report = false;
+        boolean reportSuccess = false;
+        Integer blockedPort = null;
+        synchronized (syncObj)
+        {
+            if (isCmd)
+            {
+                cmdFinished = true;
+            }
+            else
+            {
+                dataFinished = true;
+            }
+            if (!afterTerminationSent)
+            {
+                if (!success)
+                {
+                    afterTerminationSent = true;
+                    report = !suppressAfterTermination;
+                    blockedPort = alreadyInUse ? port : null;
+                }
+                else
+                if (cmdFinished && dataFinished)
+                {
+                    afterTerminationSent = true;
+                    report = !suppressAfterTermination;
+                    reportSuccess = true;
+                }
+            }
+        }
+        if (!success)
+        {
+            stop();
+        }
+        if (report)
+        {
+            afterTermination.accept(reportSuccess, blockedPort);
+        }
+    }
+
+    private void logStats(boolean success)
+    {
+        if (success)
+        {
+            errorReporter.logInfo("Shipment finished: %s", stats);
+        }
+        else
+        {
+            errorReporter.logDebug("Shipment failed: %s", stats);
+        }
+    }
+
+    private void stop()
+    {
+        running = false;
+        closeQuietly(listener);
+        ShippingSender senderRef = sender;
+        if (senderRef != null)
+        {
+            senderRef.abort();
+        }
+        ShippingReceiver receiverRef = receiver;
+        if (receiverRef != null)
+        {
+            receiverRef.abort();
+        }
+        handler.stop(false);
+        cmdThread.interrupt();
+        dataThread.interrupt();
+        deque.addFirst(new PoisonEvent());
+    }
+
+    private void closeAll(List<ShippingConnection> connections)
+    {
+        if (connections != null)
+        {
+            for (ShippingConnection connection : connections)
+            {
+                closeQuietly(connection);
+            }
+        }
+    }
+
+    private void closeQuietly(Closeable closeable)
+    {
+        if (closeable != null)
+        {
+            try
+            {
+                closeable.close();
+            }
+            catch (IOException exc)
+            {
+                errorReporter.logTrace("Failed to close connection of shipment %s: %s", stats, exc.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Simple event forcing this thread to kill itself
+     */
+    private static class PoisonEvent implements Event
+    {
+    }
+
+    @Override
+    public void shutdown(boolean runAfterTerminationRef)
+    {
+        synchronized (syncObj)
+        {
+            suppressAfterTermination = !runAfterTerminationRef;
+        }
+        if (cmdThread.isAlive() || dataThread.isAlive())
+        {
+            stop();
+        }
+        else
+        {
+            // never started or already done
+            running = false;
+            closeQuietly(listener);
+        }
+    }
+
+    @Override
+    public void awaitShutdown(long timeoutRef) throws InterruptedException
+    {
+        cmdThread.join(timeoutRef);
+        dataThread.join(timeoutRef);
+    }
+}
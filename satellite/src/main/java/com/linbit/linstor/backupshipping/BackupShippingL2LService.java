@@ -6,6 +6,7 @@ import com.linbit.linstor.InternalApiConsts;
 import com.linbit.linstor.annotation.SystemContext;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
+import com.linbit.linstor.backupshipping.transport.ShippingTransport;
 import com.linbit.linstor.core.ControllerPeerConnector;
 import com.linbit.linstor.core.CoreModule.RemoteMap;
 import com.linbit.linstor.core.StltConfigAccessor;
@@ -16,6 +17,9 @@ import com.linbit.linstor.core.objects.Snapshot;
 import com.linbit.linstor.core.objects.remotes.AbsRemote;
 import com.linbit.linstor.core.objects.remotes.AbsRemote.RemoteType;
 import com.linbit.linstor.core.objects.remotes.StltRemote;
+import com.linbit.linstor.core.transfer.PvProgress;
+import com.linbit.linstor.core.transfer.StltTransferTracker;
+import com.linbit.linstor.core.transfer.TransferProgress;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.propscon.InvalidKeyException;
 import com.linbit.linstor.security.AccessContext;
@@ -33,7 +37,23 @@ import java.util.function.BiConsumer;
 public class BackupShippingL2LService extends AbsBackupShippingService
 {
     public static final String SERVICE_INFO = "BackupShippingL2LService";
+
+    private static final String CMD_FORMAT_NATIVE_SENDING =
+        "set -o pipefail; " +
+        "trap 'kill -HUP 0' SIGTERM; " +
+        "(" +
+            "%s ;" +
+        ")&\\wait $!";
+    private static final String CMD_FORMAT_NATIVE_RECEIVING =
+        "trap 'kill -HUP 0' SIGTERM; " +
+        "exec 7<&0 0</dev/null; " +
+        "set -o pipefail; " +
+        "(" +
+            "exec 0<&7 7<&-; %s ;" +
+        ") & wait $!";
+
     private StltExtToolsChecker extToolsChecker;
+    private final ShippingTransport shippingTransport;
 
     @Inject
     public BackupShippingL2LService(
@@ -47,7 +67,9 @@ public class BackupShippingL2LService extends AbsBackupShippingService
         StltConfigAccessor stltConfigAccessorRef,
         StltConnTracker stltConnTrackerRef,
         RemoteMap remoteMapRef,
-        LockGuardFactory lockGuardFactoryRef
+        LockGuardFactory lockGuardFactoryRef,
+        StltTransferTracker transferTrackerRef,
+        ShippingTransport shippingTransportRef
     )
     {
         super(
@@ -62,15 +84,22 @@ public class BackupShippingL2LService extends AbsBackupShippingService
             stltConfigAccessorRef,
             stltConnTrackerRef,
             remoteMapRef,
-            lockGuardFactoryRef
+            lockGuardFactoryRef,
+            transferTrackerRef
         );
         extToolsChecker = extToolsCheckerRef;
+        shippingTransport = shippingTransportRef;
     }
 
     @Override
     protected String getCommandReceiving(String cmdRef, AbsRemote remoteRef, AbsStorageVlmData<Snapshot> snapVlmDataRef)
         throws AccessDeniedException
     {
+        if (shippingTransport.isEnabled())
+        {
+            // the data is received and decompressed by the daemon
+            return String.format(CMD_FORMAT_NATIVE_RECEIVING, cmdRef);
+        }
         StltRemote stltRemote = (StltRemote) remoteRef;
         Map<String, Integer> ports = stltRemote.getPorts(accCtx);
         boolean useZstd = stltRemote.useZstd(accCtx);
@@ -86,8 +115,8 @@ public class BackupShippingL2LService extends AbsBackupShippingService
         {
             cmdBuilder.append("zstd -d | ");
         }
-        // "pv -s 100m -bnr -i 0.1 | " +
-        cmdBuilder.append(cmdRef).append(" ;)& wait $!");
+        cmdBuilder.append(PvProgress.pipeStage())
+            .append(cmdRef).append(" ;)& wait $!");
 
         return cmdBuilder.toString();
     }
@@ -96,6 +125,11 @@ public class BackupShippingL2LService extends AbsBackupShippingService
     protected String getCommandSending(String cmdRef, AbsRemote remoteRef, AbsStorageVlmData<Snapshot> snapVlmDataRef)
         throws AccessDeniedException
     {
+        if (shippingTransport.isEnabled())
+        {
+            // the data is compressed and sent by the daemon
+            return String.format(CMD_FORMAT_NATIVE_SENDING, cmdRef);
+        }
         StltRemote stltRemote = (StltRemote) remoteRef;
 
         boolean useZstd = stltRemote.useZstd(accCtx);
@@ -106,12 +140,12 @@ public class BackupShippingL2LService extends AbsBackupShippingService
             .append("trap 'kill -HUP 0' SIGTERM; ")
             .append("(")
             .append(cmdRef)
-            .append(" | ");
+            .append(" | ")
+            .append(PvProgress.pipeStage());
         if (useZstd)
         {
             cmdBuilder.append("zstd | ");
         }
-        // "pv -s 100m -bnr -i 0.1 | " +
         cmdBuilder.append("socat STDIN TCP:")
             .append(stltRemote.getIp(accCtx))
             .append(":")
@@ -129,17 +163,49 @@ public class BackupShippingL2LService extends AbsBackupShippingService
         AbsRemote remoteRef,
         boolean restoreRef,
         Integer portRef,
-        BiConsumer<Boolean, Integer> postActionRef
+        BiConsumer<Boolean, Integer> postActionRef,
+        TransferProgress progressRef
     )
     {
-        return new BackupShippingL2LDaemon(
-            errorReporter,
-            threadGroup,
-            backupNameRef,
-            fullCommandRef,
-            portRef,
-            postActionRef
-        );
+        BackupShippingDaemon daemon;
+        if (shippingTransport.isEnabled())
+        {
+            StltRemote stltRemote = (StltRemote) remoteRef;
+            try
+            {
+                daemon = new BackupShippingL2LNativeDaemon(
+                    errorReporter,
+                    threadGroup,
+                    backupNameRef,
+                    fullCommandRef,
+                    shippingTransport,
+                    restoreRef,
+                    stltRemote.getIp(accCtx),
+                    stltRemote.getPorts(accCtx)
+                        .get(snapVlmDataRef.getVlmNr() + snapVlmDataRef.getRscLayerObject().getResourceNameSuffix()),
+                    stltRemote.useZstd(accCtx),
+                    postActionRef,
+                    progressRef
+                );
+            }
+            catch (AccessDeniedException exc)
+            {
+                throw new ImplementationError(exc);
+            }
+        }
+        else
+        {
+            daemon = new BackupShippingL2LDaemon(
+                errorReporter,
+                threadGroup,
+                backupNameRef,
+                fullCommandRef,
+                portRef,
+                postActionRef,
+                progressRef
+            );
+        }
+        return daemon;
     }
 
     @Override
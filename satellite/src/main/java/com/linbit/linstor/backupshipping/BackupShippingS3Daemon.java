@@ -10,6 +10,8 @@ import com.linbit.extproc.OutputProxy.StdErrEvent;
 import com.linbit.extproc.OutputProxy.StdOutEvent;
 import com.linbit.linstor.api.BackupToS3;
 import com.linbit.linstor.core.objects.remotes.S3Remote;
+import com.linbit.linstor.core.transfer.PvProgress;
+import com.linbit.linstor.core.transfer.TransferProgress;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.security.AccessDeniedException;
@@ -42,6 +44,7 @@ public class BackupShippingS3Daemon implements Runnable, BackupShippingDaemon
     private final DaemonHandler handler;
     private final Object syncObj = new Object();
     private final byte[] masterKey;
+    private final TransferProgress progress;
 
     private boolean running = false;
     private Process cmdProcess;
@@ -66,7 +69,8 @@ public class BackupShippingS3Daemon implements Runnable, BackupShippingDaemon
         long size,
         BiConsumer<Boolean, Integer> postActionRef,
         AccessContext accCtxRef,
-        byte[] masterKeyRef
+        byte[] masterKeyRef,
+        TransferProgress progressRef
     )
     {
         errorReporter = errorReporterRef;
@@ -79,6 +83,7 @@ public class BackupShippingS3Daemon implements Runnable, BackupShippingDaemon
         volSize = size;
         accCtx = accCtxRef;
         masterKey = masterKeyRef;
+        progress = progressRef;
 
         deque = new LinkedBlockingDeque<>(DFLT_DEQUE_CAPACITY);
         handler = new DaemonHandler(deque, command);
@@ -173,7 +178,14 @@ public class BackupShippingS3Daemon implements Runnable, BackupShippingDaemon
         {
             backupHandler
                 .putObjectMultipart(
-                    backupName, cmdProcess.getInputStream(), volSize, uploadId, remote, accCtx, masterKey
+                    backupName,
+                    cmdProcess.getInputStream(),
+                    volSize,
+                    uploadId,
+                    remote,
+                    accCtx,
+                    masterKey,
+                    progress::addWireBytes
                 );
             success = true;
         }
@@ -208,6 +220,7 @@ public class BackupShippingS3Daemon implements Runnable, BackupShippingDaemon
             while ((readLen = is.read(readBuf)) != -1)
             {
                 os.write(readBuf, 0, readLen);
+                progress.addWireBytes(readLen);
             }
             os.flush();
             Thread.sleep(500);
@@ -249,8 +262,11 @@ public class BackupShippingS3Daemon implements Runnable, BackupShippingDaemon
                 }
                 else if (event instanceof StdErrEvent)
                 {
-                    String stdErr = new String(((StdErrEvent) event).data);
-                    errorReporter.logWarning("stdErr: %s", stdErr);
+                    String stdErr = PvProgress.apply(new String(((StdErrEvent) event).data), progress);
+                    if (!stdErr.isEmpty())
+                    {
+                        errorReporter.logWarning("stdErr: %s", stdErr);
+                    }
                 }
                 else if (event instanceof ExceptionEvent)
                 {
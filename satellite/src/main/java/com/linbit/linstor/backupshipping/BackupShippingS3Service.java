@@ -16,6 +16,9 @@ import com.linbit.linstor.core.objects.Snapshot;
 import com.linbit.linstor.core.objects.remotes.AbsRemote;
 import com.linbit.linstor.core.objects.remotes.AbsRemote.RemoteType;
 import com.linbit.linstor.core.objects.remotes.S3Remote;
+import com.linbit.linstor.core.transfer.PvProgress;
+import com.linbit.linstor.core.transfer.StltTransferTracker;
+import com.linbit.linstor.core.transfer.TransferProgress;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.propscon.InvalidKeyException;
 import com.linbit.linstor.security.AccessContext;
@@ -42,7 +45,7 @@ public class BackupShippingS3Service extends AbsBackupShippingService
         "trap 'kill -HUP 0' SIGTERM; " +
         "(" +
             "%s | " +  // thin_send prev_LV_snapshot cur_LV_snapshot
-            // "pv -s 100m -bnr -i 0.1 | " +
+            "%s" +  // optional pv stage, see PvProgress
             "zstd;" +
         ")&\\wait $!";
 
@@ -51,7 +54,7 @@ public class BackupShippingS3Service extends AbsBackupShippingService
         "set -o pipefail; " +
         "(" +
         "exec 0<&7 7<&-; zstd -d | " +
-        // "pv -s 100m -bnr -i 0.1 | " +
+        "%s" +  // optional pv stage, see PvProgress
         "%s ;" +
         ") & wait $!";
 
@@ -69,7 +72,8 @@ public class BackupShippingS3Service extends AbsBackupShippingService
         StltConfigAccessor stltConfigAccessorRef,
         StltConnTracker stltConnTracker,
         RemoteMap remoteMapRef,
-        LockGuardFactory lockGuardFactoryRef
+        LockGuardFactory lockGuardFactoryRef,
+        StltTransferTracker transferTrackerRef
     )
     {
         super(
@@ -84,7 +88,8 @@ public class BackupShippingS3Service extends AbsBackupShippingService
             stltConfigAccessorRef,
             stltConnTracker,
             remoteMapRef,
-            lockGuardFactoryRef
+            lockGuardFactoryRef,
+            transferTrackerRef
         );
 
         backupHandler = backupHandlerRef;
@@ -93,13 +98,13 @@ public class BackupShippingS3Service extends AbsBackupShippingService
     @Override
     protected String getCommandReceiving(String cmdRef, AbsRemote ignoredRemote, AbsStorageVlmData<Snapshot> ignored)
     {
-        return String.format(CMD_FORMAT_RECEIVING, cmdRef);
+        return String.format(CMD_FORMAT_RECEIVING, PvProgress.pipeStage(), cmdRef);
     }
 
     @Override
     protected String getCommandSending(String cmdRef, AbsRemote ignoredRemote, AbsStorageVlmData<Snapshot> ignored)
     {
-        return String.format(CMD_FORMAT_SENDING, cmdRef);
+        return String.format(CMD_FORMAT_SENDING, cmdRef, PvProgress.pipeStage());
     }
 
     @Override
@@ -141,7 +146,8 @@ public class BackupShippingS3Service extends AbsBackupShippingService
         AbsRemote remote,
         boolean restore,
         Integer ignored,
-        BiConsumer<Boolean, Integer> postAction
+        BiConsumer<Boolean, Integer> postAction,
+        TransferProgress progress
     )
     {
         return new BackupShippingS3Daemon(
@@ -158,7 +164,8 @@ public class BackupShippingS3Service extends AbsBackupShippingService
                 snapVlmDataRef.getAllocatedSize(),
             postAction,
             accCtx,
-            stltSecObj.getCryptKey()
+            stltSecObj.getCryptKey(),
+            progress
         );
     }
 
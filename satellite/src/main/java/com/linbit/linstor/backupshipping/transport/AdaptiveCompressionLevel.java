@@ -0,0 +1,84 @@
+package com.linbit.linstor.backupshipping.transport;
+
+/**
+ * Picks the zstd level for the next chunk of a shipment.
+ *
+ * Each sending thread compresses a chunk and then writes it to its connection. If writing takes much longer than
+ * compressing, the network is the bottleneck and a higher level reduces the amount of data to ship for free. If
+ * compressing takes longer than writing, the CPU is the bottleneck and the level is lowered again. The ratio of both
+ * durations is smoothed over several chunks and the level is changed by at most one step per
+ * {@link #SAMPLES_PER_STEP} chunks to avoid oscillation.
+ */
+public class AdaptiveCompressionLevel
+{
+    public static final int DFLT_MIN_LEVEL = 1;
+    public static final int DFLT_MAX_LEVEL = 9;
+    public static final int DFLT_START_LEVEL = 3;
+
+    private static final double SMOOTHING = 0.25;
+    private static final double RAISE_RATIO = 2.0;
+    private static final double LOWER_RATIO = 1.0;
+    private static final int SAMPLES_PER_STEP = 8;
+
+    private final int minLevel;
+    private final int maxLevel;
+
+    private volatile int level;
+
+    // protected by "this"
+    private double writeToCompressRatio;
+    private int samples;
+
+    public AdaptiveCompressionLevel()
+    {
+        this(DFLT_MIN_LEVEL, DFLT_MAX_LEVEL, DFLT_START_LEVEL);
+    }
+
+    public AdaptiveCompressionLevel(int minLevelRef, int maxLevelRef, int startLevelRef)
+    {
+        if (minLevelRef > maxLevelRef || startLevelRef < minLevelRef || startLevelRef > maxLevelRef)
+        {
+            throw new IllegalArgumentException(
+                "Invalid compression levels: min " + minLevelRef + ", max " + maxLevelRef + ", start " + startLevelRef
+            );
+        }
+        minLevel = minLevelRef;
+        maxLevel = maxLevelRef;
+        level = startLevelRef;
+    }
+
+    public int get()
+    {
+        return level;
+    }
+
+    /**
+     * @param usedLevel The level the chunk was compressed with. Samples of an outdated level are ignored, since
+     *     other threads might still report chunks compressed before the last change.
+     */
+    public synchronized void update(int usedLevel, long compressNanos, long writeNanos)
+    {
+        if (usedLevel == level)
+        {
+            double sample = writeNanos / (double) Math.max(compressNanos, 1);
+            writeToCompressRatio = samples == 0 ?
+                sample :
+                writeToCompressRatio + SMOOTHING * (sample - writeToCompressRatio);
+            ++samples;
+            if (samples >= SAMPLES_PER_STEP)
+            {
+                if (writeToCompressRatio > RAISE_RATIO && level < maxLevel)
+                {
+                    ++level;
+                    samples = 0;
+                }
+                else
+                if (writeToCompressRatio < LOWER_RATIO && level > minLevel)
+                {
+                    --level;
+                    samples = 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.linbit.linstor.backupshipping.transport;
+
+import javax.annotation.Nullable;
+import javax.net.ssl.SSLSocket;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * One connection of a shipment, either a plain {@link SocketChannel} or a TLS socket wrapped into channels
+ */
+public class ShippingConnection implements Closeable
+{
+    private static final int TLS_HANDSHAKE_TIMEOUT_MILLIS = 10_000;
+
+    private final Closeable socket;
+    private final ReadableByteChannel readChannel;
+    private final WritableByteChannel writeChannel;
+
+    // bytes already read by peekStreamCount, returned again by the next reads
+    private @Nullable ByteBuffer peekedBytes;
+
+    private ShippingConnection(
+        Closeable socketRef,
+        ReadableByteChannel readChannelRef,
+        WritableByteChannel writeChannelRef
+    )
+    {
+        socket = socketRef;
+        readChannel = readChannelRef;
+        writeChannel = writeChannelRef;
+    }
+
+    static ShippingConnection plain(SocketChannel channel)
+    {
+        return new ShippingConnection(channel, channel, channel);
+    }
+
+    /**
+     * Completes the TLS handshake of an accepted connection before anything is read from it
+     */
+    static ShippingConnection tlsAccepted(SSLSocket sslSocket) throws IOException
+    {
+        try
+        {
+            // a peer without TLS would never answer the handshake
+            sslSocket.setSoTimeout(TLS_HANDSHAKE_TIMEOUT_MILLIS);
+            sslSocket.startHandshake();
+            sslSocket.setSoTimeout(0);
+        }
+        catch (SocketTimeoutException exc)
+        {
+            sslSocket.close();
+            throw new IOException(
+                "TLS handshake with the shipping peer timed out. Both satellites need the same [shipping] tls setting",
+                exc
+            );
+        }
+        catch (IOException exc)
+        {
+            sslSocket.close();
+            throw exc;
+        }
+        return tlsConnected(sslSocket);
+    }
+
+    /**
+     * The TLS handshake of a connecting socket is done by its first write. The receiving peer only completes the
+     * handshakes of the remaining connections of a shipment after it read the protocol handshake of the first one,
+     * which is written once all connections are established.
+     */
+    static ShippingConnection tlsConnected(SSLSocket sslSocket) throws IOException
+    {
+        return new ShippingConnection(
+            sslSocket,
+            Channels.newChannel(sslSocket.getInputStream()),
+            Channels.newChannel(sslSocket.getOutputStream())
+        );
+    }
+
+    /**
+     * Reads the beginning of the first connection of a shipment to find out how many connections the sending peer
+     * opens. The read bytes are not lost, they are returned again by the following reads.
+     *
+     * @return the number of streams announced by the handshake, or 1 if the connection carries an unframed stream
+     */
+    int peekStreamCount() throws IOException
+    {
+        ByteBuffer buf = ByteBuffer.allocate(ShippingProtocol.HANDSHAKE_SIZE);
+        // an unframed stream might be shorter than a handshake
+        int read = 0;
+        while (buf.hasRemaining() && read >= 0)
+        {
+            read = readChannel.read(buf);
+        }
+        buf.flip();
+        peekedBytes = buf;
+        return ShippingProtocol.announcedStreamCount(buf.duplicate());
+    }
+
+    void writeFully(ByteBuffer buf) throws IOException
+    {
+        while (buf.hasRemaining())
+        {
+            writeChannel.write(buf);
+        }
+    }
+
+    /**
+     * @return false if the connection was closed before the first byte could be read
+     *
+     * @throws EOFException if the connection was closed after some but not all bytes were read
+     */
+    boolean readFully(ByteBuffer buf) throws IOException
+    {
+        boolean readAny = false;
+        if (peekedBytes != null)
+        {
+            readAny = peekedBytes.hasRemaining();
+            while (peekedBytes.hasRemaining() && buf.hasRemaining())
+            {
+                buf.put(peekedBytes.get());
+            }
+        }
+        while (buf.hasRemaining())
+        {
+            int read = readChannel.read(buf);
+            if (read < 0)
+            {
+                if (readAny)
+                {
+                    throw new EOFException("Connection closed by the sending peer within a chunk");
+                }
+                break;
+            }
+            readAny |= read > 0;
+        }
+        return !buf.hasRemaining();
+    }
+
+    InputStream asInputStream()
+    {
+        InputStream in = Channels.newInputStream(readChannel);
+        if (peekedBytes != null && peekedBytes.hasRemaining())
+        {
+            byte[] peeked = new byte[peekedBytes.remaining()];
+            peekedBytes.get(peeked);
+            in = new SequenceInputStream(new ByteArrayInputStream(peeked), in);
+        }
+        return in;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        socket.close();
+    }
+}
@@ -0,0 +1,113 @@
+package com.linbit.linstor.backupshipping.transport;
+
+import javax.annotation.Nullable;
+import javax.net.ssl.SSLServerSocket;
+import javax.net.ssl.SSLSocket;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ServerSocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Listening socket of a receiving shipment. The port is bound when the listener is created, so a port that is already
+ * in use is detected before the sending side is told to start.
+ */
+public class ShippingListener implements Closeable
+{
+    private final @Nullable ServerSocketChannel serverChannel;
+    private final @Nullable SSLServerSocket sslServerSocket;
+    private final int acceptTimeoutMillis;
+
+    ShippingListener(ServerSocketChannel serverChannelRef, int acceptTimeoutMillisRef)
+    {
+        serverChannel = serverChannelRef;
+        sslServerSocket = null;
+        acceptTimeoutMillis = acceptTimeoutMillisRef;
+    }
+
+    ShippingListener(SSLServerSocket sslServerSocketRef, int acceptTimeoutMillisRef)
+    {
+        serverChannel = null;
+        sslServerSocket = sslServerSocketRef;
+        acceptTimeoutMillis = acceptTimeoutMillisRef;
+    }
+
+    /**
+     * Blocks until all connections of the shipment are accepted. The number of connections is announced by the
+     * sending peer on its first connection (see {@link ShippingProtocol}), the remaining ones have to connect within
+     * the accept timeout. Closing the listener from another thread aborts the wait.
+     */
+    public List<ShippingConnection> accept() throws IOException
+    {
+        List<ShippingConnection> connections = new ArrayList<>();
+        try
+        {
+            // waits until the sending side is started
+            connections.add(acceptConnection(0));
+            int streamCount = connections.get(0).peekStreamCount();
+            while (connections.size() < streamCount)
+            {
+                try
+                {
+                    connections.add(acceptConnection(acceptTimeoutMillis));
+                }
+                catch (SocketTimeoutException exc)
+                {
+                    throw new IOException(
+                        "Sending peer announced " + streamCount + " streams, but only " + connections.size() +
+                            " connected within " + acceptTimeoutMillis + "ms",
+                        exc
+                    );
+                }
+            }
+        }
+        catch (IOException exc)
+        {
+            for (ShippingConnection connection : connections)
+            {
+                try
+                {
+                    connection.close();
+                }
+                catch (IOException ignored)
+                {
+                }
+            }
+            throw exc;
+        }
+        return connections;
+    }
+
+    private ShippingConnection acceptConnection(int timeoutMillis) throws IOException
+    {
+        ShippingConnection connection;
+        if (serverChannel != null)
+        {
+            // only the socket adaptor supports an accept timeout
+            serverChannel.socket().setSoTimeout(timeoutMillis);
+            connection = ShippingConnection.plain(serverChannel.socket().accept().getChannel());
+        }
+        else
+        {
+            sslServerSocket.setSoTimeout(timeoutMillis);
+            connection = ShippingConnection.tlsAccepted((SSLSocket) sslServerSocket.accept());
+        }
+        return connection;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        if (serverChannel != null)
+        {
+            serverChannel.close();
+        }
+        else
+        {
+            sslServerSocket.close();
+        }
+    }
+}
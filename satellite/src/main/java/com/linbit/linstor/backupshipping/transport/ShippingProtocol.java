@@ -0,0 +1,104 @@
+package com.linbit.linstor.backupshipping.transport;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Wire format used if a shipment is split across multiple connections.
+ *
+ * Every connection starts with a handshake (magic, version, number of streams, index of this stream) followed by
+ * chunks. Each chunk has a header (sequence number, raw length, payload length, flags) followed by the payload. A
+ * header with the sequence number {@link #END_OF_STREAM} marks the regular end of a connection.
+ *
+ * A shipment using a single connection does not use any framing, the connection only carries the (possibly zstd
+ * compressed) data stream. That keeps it compatible with peers still using socat and zstd.
+ *
+ * The number of streams is decided by the sending peer. The receiving peer learns it from the handshake of the first
+ * connection, a first connection without handshake is a single unframed stream.
+ */
+final class ShippingProtocol
+{
+    static final int MAGIC = 0x4C534850; // "LSHP"
+    static final byte VERSION = 1;
+    static final int HANDSHAKE_SIZE = Integer.BYTES + Byte.BYTES + 2 * Short.BYTES;
+
+    static final int CHUNK_HEADER_SIZE = Long.BYTES + 2 * Integer.BYTES + Byte.BYTES;
+    static final long END_OF_STREAM = -1;
+    static final byte FLAG_COMPRESSED = 1;
+    static final int MAX_CHUNK_SIZE = 64 << 20;
+
+    static ByteBuffer handshake(int streamCount, int streamIdx)
+    {
+        ByteBuffer buf = ByteBuffer.allocate(HANDSHAKE_SIZE);
+        buf.putInt(MAGIC)
+            .put(VERSION)
+            .putShort((short) streamCount)
+            .putShort((short) streamIdx)
+            .flip();
+        return buf;
+    }
+
+    /**
+     * @return the number of streams announced by the handshake at the beginning of <code>buf</code>, or 1 if it does
+     *     not start with a handshake
+     */
+    static int announcedStreamCount(ByteBuffer buf) throws IOException
+    {
+        int streamCount = 1;
+        if (buf.remaining() >= HANDSHAKE_SIZE && buf.getInt(buf.position()) == MAGIC)
+        {
+            streamCount = buf.getShort(buf.position() + Integer.BYTES + Byte.BYTES);
+            if (streamCount < 1)
+            {
+                throw new IOException("Invalid number of streams " + streamCount);
+            }
+        }
+        return streamCount;
+    }
+
+    /**
+     * @return the index of the stream announced by the handshake
+     */
+    static int checkHandshake(ByteBuffer buf, int expectedStreamCount) throws IOException
+    {
+        int magic = buf.getInt();
+        byte version = buf.get();
+        int streamCount = buf.getShort();
+        int streamIdx = buf.getShort();
+        if (magic != MAGIC)
+        {
+            throw new IOException(
+                "Unexpected data from the sending peer, expected the handshake of a framed stream"
+            );
+        }
+        if (version != VERSION)
+        {
+            throw new IOException("Unsupported shipping protocol version " + version + ", expected " + VERSION);
+        }
+        if (streamCount != expectedStreamCount)
+        {
+            throw new IOException(
+                "Sending peer announced " + streamCount + " streams, but " + expectedStreamCount + " connected"
+            );
+        }
+        if (streamIdx < 0 || streamIdx >= streamCount)
+        {
+            throw new IOException("Invalid stream index " + streamIdx);
+        }
+        return streamIdx;
+    }
+
+    static void putChunkHeader(ByteBuffer buf, long seq, int rawLen, int payloadLen, byte flags)
+    {
+        buf.clear();
+        buf.putLong(seq)
+            .putInt(rawLen)
+            .putInt(payloadLen)
+            .put(flags)
+            .flip();
+    }
+
+    private ShippingProtocol()
+    {
+    }
+}
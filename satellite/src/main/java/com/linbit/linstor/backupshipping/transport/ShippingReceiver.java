@@ -0,0 +1,387 @@
+package com.linbit.linstor.backupshipping.transport;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdInputStream;
+
+/**
+ * Counterpart of {@link ShippingSender}: reads the chunks from all connections of a shipment and writes them in their
+ * original order into the input of the receive command.
+ *
+ * Every connection has its own reading and decompressing thread. Chunks that arrive early are kept in a reorder
+ * buffer that is limited to a window of chunks after the next expected one, so a slow connection blocks the faster
+ * ones instead of filling the memory.
+ */
+public class ShippingReceiver
+{
+    private static final int COPY_BUFFER_SIZE = 1 << 20;
+
+    private final List<ShippingConnection> connections;
+    private final boolean compress;
+    private final ShippingStats stats;
+    private final int reorderWindow;
+
+    // protected by "this"
+    private final Map<Long, byte[]> pendingChunks = new HashMap<>();
+    private long nextSeq = 0;
+    private int activeReaders = 0;
+    private IOException failure = null;
+    private boolean aborted = false;
+
+    public ShippingReceiver(
+        List<ShippingConnection> connectionsRef,
+        boolean compressRef,
+        ShippingStats statsRef,
+        int reorderWindowRef
+    )
+    {
+        if (connectionsRef.isEmpty())
+        {
+            throw new IllegalArgumentException("At least one connection is required");
+        }
+        if (reorderWindowRef < connectionsRef.size())
+        {
+            throw new IllegalArgumentException("The reorder window must not be smaller than the number of streams");
+        }
+        connections = connectionsRef;
+        compress = compressRef;
+        stats = statsRef;
+        reorderWindow = reorderWindowRef;
+    }
+
+    /**
+     * Writes everything received into <code>dst</code> until all connections reached their regular end. Neither the
+     * connections nor <code>dst</code> are closed by this method.
+     */
+    public void receive(OutputStream dst) throws IOException
+    {
+        stats.started(connections.size());
+        try
+        {
+            if (connections.size() == 1)
+            {
+                receiveUnframed(connections.get(0), dst);
+            }
+            else
+            {
+                receiveFramed(dst);
+            }
+            dst.flush();
+        }
+        finally
+        {
+            stats.finished();
+        }
+    }
+
+    /**
+     * Stops the shipment. The connections are closed to unblock threads waiting for the network.
+     */
+    public void abort()
+    {
+        synchronized (this)
+        {
+            aborted = true;
+            notifyAll();
+        }
+        closeConnections();
+    }
+
+    private void receiveUnframed(ShippingConnection connection, OutputStream dst) throws IOException
+    {
+        InputStream wireIn = new CountingInputStream(connection.asInputStream());
+        try (InputStream in = compress ? new ZstdInputStream(wireIn) : wireIn)
+        {
+            byte[] buf = new byte[COPY_BUFFER_SIZE];
+            int len = in.read(buf);
+            while (len >= 0)
+            {
+                checkAborted();
+                dst.write(buf, 0, len);
+                stats.transferred(len, 0);
+                len = in.read(buf);
+            }
+        }
+    }
+
+    private void receiveFramed(OutputStream dst) throws IOException
+    {
+        String threadNamePrefix = Thread.currentThread().getName();
+        List<Thread> readers = new ArrayList<>(connections.size());
+        synchronized (this)
+        {
+            activeReaders = connections.size();
+        }
+        for (int idx = 0; idx < connections.size(); ++idx)
+        {
+            ShippingConnection connection = connections.get(idx);
+            Thread reader = new Thread(() -> readChunks(connection), threadNamePrefix + "-rx-" + idx);
+            reader.setDaemon(true);
+            readers.add(reader);
+            reader.start();
+        }
+
+        try
+        {
+            byte[] chunk = nextChunk();
+            while (chunk != null)
+            {
+                dst.write(chunk);
+                stats.transferred(chunk.length, 0);
+                chunk = nextChunk();
+            }
+        }
+        catch (IOException exc)
+        {
+            fail(exc);
+            throw exc;
+        }
+        finally
+        {
+            joinAll(readers);
+        }
+    }
+
+    private void readChunks(ShippingConnection connection)
+    {
+        try
+        {
+            ByteBuffer handshake = ByteBuffer.allocate(ShippingProtocol.HANDSHAKE_SIZE);
+            if (!connection.readFully(handshake))
+            {
+                throw new IOException("Connection closed by the sending peer before the handshake");
+            }
+            handshake.flip();
+            ShippingProtocol.checkHandshake(handshake, connections.size());
+            stats.transferred(0, ShippingProtocol.HANDSHAKE_SIZE);
+
+            ByteBuffer header = ByteBuffer.allocate(ShippingProtocol.CHUNK_HEADER_SIZE);
+            boolean endOfStream = false;
+            while (!endOfStream)
+            {
+                header.clear();
+                if (!connection.readFully(header))
+                {
+                    throw new IOException("Connection closed by the sending peer without end of stream marker");
+                }
+                header.flip();
+                long seq = header.getLong();
+                int rawLen = header.getInt();
+                int payloadLen = header.getInt();
+                byte flags = header.get();
+                stats.transferred(0, ShippingProtocol.CHUNK_HEADER_SIZE);
+
+                endOfStream = seq == ShippingProtocol.END_OF_STREAM;
+                if (!endOfStream)
+                {
+                    if (seq < 0 || rawLen < 0 || rawLen > ShippingProtocol.MAX_CHUNK_SIZE ||
+                        payloadLen < 0 || payloadLen > ShippingProtocol.MAX_CHUNK_SIZE)
+                    {
+                        throw new IOException("Invalid chunk header: seq " + seq + ", length " + rawLen);
+                    }
+                    ByteBuffer payload = ByteBuffer.allocate(payloadLen);
+                    if (!connection.readFully(payload))
+                    {
+                        throw new IOException("Connection closed by the sending peer within a chunk");
+                    }
+                    stats.transferred(0, payloadLen);
+
+                    byte[] data = payload.array();
+                    if ((flags & ShippingProtocol.FLAG_COMPRESSED) != 0)
+                    {
+                        data = Zstd.decompress(data, rawLen);
+                    }
+                    if (data.length != rawLen)
+                    {
+                        throw new IOException(
+                            "Chunk " + seq + " has " + data.length + " bytes, expected " + rawLen
+                        );
+                    }
+                    putChunk(seq, data);
+                }
+            }
+        }
+        catch (IOException exc)
+        {
+            fail(exc);
+        }
+        catch (RuntimeException exc)
+        {
+            // zstd reports its errors as runtime exceptions
+            fail(new IOException("Failed to decompress chunk: " + exc.getMessage(), exc));
+        }
+        catch (InterruptedException exc)
+        {
+            abort();
+        }
+        finally
+        {
+            synchronized (this)
+            {
+                --activeReaders;
+                notifyAll();
+            }
+        }
+    }
+
+    private synchronized void putChunk(long seq, byte[] data) throws IOException, InterruptedException
+    {
+        while (seq >= nextSeq + reorderWindow && failure == null && !aborted)
+        {
+            wait();
+        }
+        checkFailed();
+        if (pendingChunks.put(seq, data) != null)
+        {
+            throw new IOException("Received chunk " + seq + " twice");
+        }
+        notifyAll();
+    }
+
+    /**
+     * @return the next chunk in order or null if all connections reached their end
+     */
+    private synchronized byte[] nextChunk() throws IOException
+    {
+        byte[] data = pendingChunks.remove(nextSeq);
+        try
+        {
+            while (data == null && activeReaders > 0 && failure == null && !aborted)
+            {
+                wait();
+                data = pendingChunks.remove(nextSeq);
+            }
+        }
+        catch (InterruptedException exc)
+        {
+            aborted = true;
+            Thread.currentThread().interrupt();
+        }
+        checkFailed();
+        if (data != null)
+        {
+            ++nextSeq;
+            notifyAll();
+        }
+        else
+        if (!pendingChunks.isEmpty())
+        {
+            throw new IOException(
+                "Chunk " + nextSeq + " is missing, but " + pendingChunks.size() + " later ones arrived"
+            );
+        }
+        return data;
+    }
+
+    private synchronized void checkFailed() throws IOException
+    {
+        if (failure != null)
+        {
+            throw failure;
+        }
+        checkAborted();
+    }
+
+    private synchronized void checkAborted() throws IOException
+    {
+        if (aborted)
+        {
+            throw new IOException("Shipping aborted");
+        }
+    }
+
+    private void fail(IOException exc)
+    {
+        boolean first;
+        synchronized (this)
+        {
+            first = failure == null;
+            if (first)
+            {
+                failure = exc;
+            }
+            notifyAll();
+        }
+        if (first)
+        {
+            closeConnections();
+        }
+    }
+
+    private void closeConnections()
+    {
+        for (ShippingConnection connection : connections)
+        {
+            try
+            {
+                connection.close();
+            }
+            catch (IOException ignored)
+            {
+            }
+        }
+    }
+
+    private void joinAll(List<Thread> readers)
+    {
+        boolean interrupted = false;
+        for (Thread reader : readers)
+        {
+            while (reader.isAlive())
+            {
+                try
+                {
+                    reader.join();
+                }
+                catch (InterruptedException exc)
+                {
+                    interrupted = true;
+                    abort();
+                }
+            }
+        }
+        if (interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private class CountingInputStream extends FilterInputStream
+    {
+        CountingInputStream(InputStream in)
+        {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException
+        {
+            int read = super.read();
+            if (read >= 0)
+            {
+                stats.transferred(0, 1);
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException
+        {
+            int read = super.read(buf, off, len);
+            if (read > 0)
+            {
+                stats.transferred(0, read);
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.linbit.linstor.backupshipping.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.github.luben.zstd.Zstd;
+
+/**
+ * Reads the output of the send command in chunks and ships them over one or more connections.
+ *
+ * The calling thread only reads chunks, every connection has its own thread that compresses and writes the chunks
+ * it takes from a shared queue. With a single connection the chunks are written without any framing, so the receiving
+ * side can also be socat piped into zstd. With multiple connections every chunk carries its sequence number (see
+ * {@link ShippingProtocol}) so the receiver can restore the original order.
+ */
+public class ShippingSender
+{
+    private static final long POLL_MILLIS = 100;
+    private static final Chunk END = new Chunk(ShippingProtocol.END_OF_STREAM, new byte[0], 0);
+
+    private final List<ShippingConnection> connections;
+    private final boolean compress;
+    private final AdaptiveCompressionLevel compressionLevel;
+    private final ShippingStats stats;
+    private final int chunkSize;
+
+    private final AtomicReference<IOException> failure = new AtomicReference<>();
+    private volatile boolean aborted = false;
+
+    public ShippingSender(
+        List<ShippingConnection> connectionsRef,
+        boolean compressRef,
+        AdaptiveCompressionLevel compressionLevelRef,
+        ShippingStats statsRef,
+        int chunkSizeRef
+    )
+    {
+        if (connectionsRef.isEmpty())
+        {
+            throw new IllegalArgumentException("At least one connection is required");
+        }
+        if (chunkSizeRef <= 0 || chunkSizeRef > ShippingProtocol.MAX_CHUNK_SIZE)
+        {
+            throw new IllegalArgumentException("Invalid chunk size: " + chunkSizeRef);
+        }
+        connections = connectionsRef;
+        compress = compressRef;
+        compressionLevel = compressionLevelRef;
+        stats = statsRef;
+        chunkSize = chunkSizeRef;
+    }
+
+    /**
+     * Ships everything from <code>src</code> until its end. The connections are not closed by this method.
+     */
+    public void send(InputStream src) throws IOException
+    {
+        int streamCount = connections.size();
+        boolean framed = streamCount > 1;
+        BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(2 * streamCount);
+        stats.started(streamCount);
+
+        String threadNamePrefix = Thread.currentThread().getName();
+        List<Thread> workers = new ArrayList<>(streamCount);
+        for (int idx = 0; idx < streamCount; ++idx)
+        {
+            final int streamIdx = idx;
+            Thread worker = new Thread(
+                () -> sendChunks(connections.get(streamIdx), streamIdx, streamCount, framed, queue),
+                threadNamePrefix + "-tx-" + idx
+            );
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+
+        try
+        {
+            long seq = 0;
+            boolean eof = false;
+            while (!eof && !shouldStop())
+            {
+                byte[] buf = new byte[chunkSize];
+                int len = src.readNBytes(buf, 0, chunkSize);
+                if (len > 0)
+                {
+                    enqueue(queue, new Chunk(seq++, buf, len));
+                }
+                eof = len < chunkSize;
+            }
+        }
+        catch (IOException exc)
+        {
+            fail(exc);
+        }
+        finally
+        {
+            for (int idx = 0; idx < streamCount; ++idx)
+            {
+                enqueue(queue, END);
+            }
+            joinAll(workers);
+            stats.finished();
+        }
+
+        IOException exc = failure.get();
+        if (exc != null)
+        {
+            throw exc;
+        }
+        if (aborted)
+        {
+            throw new IOException("Shipping aborted");
+        }
+    }
+
+    /**
+     * Stops the shipment. The connections are closed to unblock threads waiting for the network.
+     */
+    public void abort()
+    {
+        aborted = true;
+        closeConnections();
+    }
+
+    private void sendChunks(
+        ShippingConnection connection,
+        int streamIdx,
+        int streamCount,
+        boolean framed,
+        BlockingQueue<Chunk> queue
+    )
+    {
+        try
+        {
+            ByteBuffer header = ByteBuffer.allocate(ShippingProtocol.CHUNK_HEADER_SIZE);
+            if (framed)
+            {
+                connection.writeFully(ShippingProtocol.handshake(streamCount, streamIdx));
+                stats.transferred(0, ShippingProtocol.HANDSHAKE_SIZE);
+            }
+
+            Chunk chunk = take(queue);
+            while (chunk != null && chunk != END)
+            {
+                long startNanos = System.nanoTime();
+                byte[] payload = chunk.data;
+                int payloadLen = chunk.len;
+                byte flags = 0;
+                int level = 0;
+                if (compress)
+                {
+                    level = compressionLevel.get();
+                    byte[] compressed = Zstd.compress(
+                        chunk.len == chunk.data.length ? chunk.data : Arrays.copyOf(chunk.data, chunk.len),
+                        level
+                    );
+                    // the unframed stream has to stay a valid zstd stream, otherwise store incompressible data raw
+                    if (!framed || compressed.length < chunk.len)
+                    {
+                        payload = compressed;
+                        payloadLen = compressed.length;
+                        flags = ShippingProtocol.FLAG_COMPRESSED;
+                    }
+                }
+                long compressedNanos = System.nanoTime();
+
+                int wireLen = payloadLen;
+                if (framed)
+                {
+                    ShippingProtocol.putChunkHeader(header, chunk.seq, chunk.len, payloadLen, flags);
+                    connection.writeFully(header);
+                    wireLen += ShippingProtocol.CHUNK_HEADER_SIZE;
+                }
+                connection.writeFully(ByteBuffer.wrap(payload, 0, payloadLen));
+
+                if (compress)
+                {
+                    compressionLevel.update(level, compressedNanos - startNanos, System.nanoTime() - compressedNanos);
+                    stats.setCompressionLevel(level);
+                }
+                stats.transferred(chunk.len, wireLen);
+
+                chunk = take(queue);
+            }
+            if (chunk == END && framed)
+            {
+                ShippingProtocol.putChunkHeader(header, ShippingProtocol.END_OF_STREAM, 0, 0, (byte) 0);
+                connection.writeFully(header);
+                stats.transferred(0, ShippingProtocol.CHUNK_HEADER_SIZE);
+            }
+        }
+        catch (IOException exc)
+        {
+            fail(exc);
+        }
+        catch (RuntimeException exc)
+        {
+            // zstd reports its errors as runtime exceptions
+            fail(new IOException("Failed to compress chunk: " + exc.getMessage(), exc));
+        }
+    }
+
+    private void enqueue(BlockingQueue<Chunk> queue, Chunk chunk)
+    {
+        boolean queued = false;
+        try
+        {
+            while (!queued && !shouldStop())
+            {
+                queued = queue.offer(chunk, POLL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+        catch (InterruptedException exc)
+        {
+            aborted = true;
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Chunk take(BlockingQueue<Chunk> queue)
+    {
+        Chunk chunk = null;
+        try
+        {
+            while (chunk == null && !shouldStop())
+            {
+                chunk = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+        catch (InterruptedException exc)
+        {
+            aborted = true;
+        }
+        return chunk;
+    }
+
+    private boolean shouldStop()
+    {
+        return aborted || failure.get() != null;
+    }
+
+    private void fail(IOException exc)
+    {
+        if (failure.compareAndSet(null, exc))
+        {
+            closeConnections();
+        }
+    }
+
+    private void closeConnections()
+    {
+        for (ShippingConnection connection : connections)
+        {
+            try
+            {
+                connection.close();
+            }
+            catch (IOException ignored)
+            {
+            }
+        }
+    }
+
+    private void joinAll(List<Thread> workers)
+    {
+        boolean interrupted = false;
+        for (Thread worker : workers)
+        {
+            while (worker.isAlive())
+            {
+                try
+                {
+                    worker.join();
+                }
+                catch (InterruptedException exc)
+                {
+                    // the workers stop on their own once aborted, but they still use the connections
+                    interrupted = true;
+                    aborted = true;
+                }
+            }
+        }
+        if (interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Chunk
+    {
+        private final long seq;
+        private final byte[] data;
+        private final int len;
+
+        Chunk(long seqRef, byte[] dataRef, int lenRef)
+        {
+            seq = seqRef;
+            data = dataRef;
+            len = lenRef;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.linbit.linstor.backupshipping.transport;
+
+import com.linbit.linstor.core.transfer.TransferProgress;
+
+import javax.annotation.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Byte counters and throughput of a single shipment. If a {@link TransferProgress} is given, all counted bytes are
+ * forwarded to it as well.
+ */
+public class ShippingStats
+{
+    private final String shipmentName;
+    private final LongAdder rawBytes = new LongAdder();
+    private final LongAdder wireBytes = new LongAdder();
+    private final @Nullable TransferProgress progress;
+
+    private volatile int streamCount = 1;
+    private volatile int compressionLevel = 0;
+    private volatile long startNanos = 0;
+    private volatile long endNanos = 0;
+
+    public ShippingStats(String shipmentNameRef)
+    {
+        this(shipmentNameRef, null);
+    }
+
+    public ShippingStats(String shipmentNameRef, @Nullable TransferProgress progressRef)
+    {
+        shipmentName = shipmentNameRef;
+        progress = progressRef;
+    }
+
+    void started(int streamCountRef)
+    {
+        streamCount = streamCountRef;
+        startNanos = System.nanoTime();
+    }
+
+    void finished()
+    {
+        if (startNanos != 0 && endNanos == 0)
+        {
+            endNanos = System.nanoTime();
+        }
+    }
+
+    void transferred(long rawBytesRef, long wireBytesRef)
+    {
+        rawBytes.add(rawBytesRef);
+        wireBytes.add(wireBytesRef);
+        if (progress != null)
+        {
+            if (rawBytesRef != 0)
+            {
+                progress.addBytesDone(rawBytesRef);
+            }
+            progress.addWireBytes(wireBytesRef);
+        }
+    }
+
+    void setCompressionLevel(int compressionLevelRef)
+    {
+        compressionLevel = compressionLevelRef;
+    }
+
+    public String getShipmentName()
+    {
+        return shipmentName;
+    }
+
+    /**
+     * @return the number of bytes produced by the send command or consumed by the receive command
+     */
+    public long getRawBytes()
+    {
+        return rawBytes.sum();
+    }
+
+    /**
+     * @return the number of bytes sent or received over the network, including framing
+     */
+    public long getWireBytes()
+    {
+        return wireBytes.sum();
+    }
+
+    public int getStreamCount()
+    {
+        return streamCount;
+    }
+
+    /**
+     * @return the zstd level used for the last chunk, or 0 if the shipment is not compressed
+     */
+    public int getCompressionLevel()
+    {
+        return compressionLevel;
+    }
+
+    public long getElapsedMillis()
+    {
+        long elapsedMillis = 0;
+        long start = startNanos;
+        if (start != 0)
+        {
+            long end = endNanos;
+            elapsedMillis = TimeUnit.NANOSECONDS.toMillis((end == 0 ? System.nanoTime() : end) - start);
+        }
+        return elapsedMillis;
+    }
+
+    /**
+     * @return the average number of raw bytes per second since the shipment started
+     */
+    public long getRawBytesPerSecond()
+    {
+        long elapsedMillis = getElapsedMillis();
+        return elapsedMillis == 0 ? 0 : getRawBytes() * 1000 / elapsedMillis;
+    }
+
+    @Override
+    public String toString()
+    {
+        long raw = getRawBytes();
+        long wire = getWireBytes();
+        return String.format(
+            "%s: %d bytes (%d bytes on the wire, ratio %.2f) in %d ms, %.1f MiB/s, %d stream(s), zstd level %d",
+            shipmentName,
+            raw,
+            wire,
+            wire == 0 ? 1.0 : raw / (double) wire,
+            getElapsedMillis(),
+            getRawBytesPerSecond() / (double) (1 << 20),
+            streamCount,
+            compressionLevel
+        );
+    }
+}
@@ -0,0 +1,222 @@
+package com.linbit.linstor.backupshipping.transport;
+
+import com.linbit.linstor.core.cfg.StltConfig;
+import com.linbit.linstor.modularcrypto.ModularCryptoProvider;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLServerSocket;
+import javax.net.ssl.SSLSocket;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the connections of L2L shipments according to the [shipping] section of the satellite configuration.
+ *
+ * TLS reuses the key- and truststore of the [netcom] section. Both satellites of a shipment need the same TLS
+ * setting. The number of streams is taken from the sending satellite, the receiving one accepts as many connections as
+ * announced.
+ */
+@Singleton
+public class ShippingTransport
+{
+    public static final int DFLT_CHUNK_SIZE = 4 << 20;
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 10_000;
+    // the sending peer opens all connections of a shipment right after each other
+    private static final int ACCEPT_TIMEOUT_MILLIS = 2 * CONNECT_TIMEOUT_MILLIS;
+    private static final int REORDER_WINDOW_PER_STREAM = 4;
+
+    private final StltConfig stltCfg;
+    private final ModularCryptoProvider cryptoProvider;
+
+    // protected by "this"
+    private SSLContext sslCtx;
+
+    @Inject
+    public ShippingTransport(
+        StltConfig stltCfgRef,
+        ModularCryptoProvider cryptoProviderRef
+    )
+    {
+        stltCfg = stltCfgRef;
+        cryptoProvider = cryptoProviderRef;
+    }
+
+    /**
+     * @return true if shipments should use this transport instead of socat and zstd
+     */
+    public boolean isEnabled()
+    {
+        return stltCfg.isShippingNativeTransport();
+    }
+
+    /**
+     * @return the number of connections used for sending a shipment
+     */
+    public int getStreamCount()
+    {
+        return Math.max(1, stltCfg.getShippingStreams());
+    }
+
+    /**
+     * Binds the given port on all interfaces
+     *
+     * @throws java.net.BindException if the port is already in use
+     */
+    public ShippingListener listen(int port) throws IOException
+    {
+        ShippingListener listener;
+        InetSocketAddress bindAddress = new InetSocketAddress(port);
+        if (stltCfg.isShippingTls())
+        {
+            SSLServerSocket sslServerSocket = (SSLServerSocket) getSslContext().getServerSocketFactory()
+                .createServerSocket();
+            try
+            {
+                sslServerSocket.setNeedClientAuth(true);
+                sslServerSocket.bind(bindAddress);
+            }
+            catch (IOException exc)
+            {
+                sslServerSocket.close();
+                throw exc;
+            }
+            listener = new ShippingListener(sslServerSocket, ACCEPT_TIMEOUT_MILLIS);
+        }
+        else
+        {
+            ServerSocketChannel serverChannel = ServerSocketChannel.open();
+            try
+            {
+                serverChannel.bind(bindAddress);
+            }
+            catch (IOException exc)
+            {
+                serverChannel.close();
+                throw exc;
+            }
+            listener = new ShippingListener(serverChannel, ACCEPT_TIMEOUT_MILLIS);
+        }
+        return listener;
+    }
+
+    /**
+     * Opens all connections of a shipment to the given receiver
+     */
+    public List<ShippingConnection> connect(String host, int port) throws IOException
+    {
+        int streamCount = getStreamCount();
+        InetSocketAddress address = new InetSocketAddress(host, port);
+        List<ShippingConnection> connections = new ArrayList<>(streamCount);
+        try
+        {
+            for (int idx = 0; idx < streamCount; ++idx)
+            {
+                if (stltCfg.isShippingTls())
+                {
+                    SSLSocket sslSocket = (SSLSocket) getSslContext().getSocketFactory().createSocket();
+                    try
+                    {
+                        sslSocket.connect(address, CONNECT_TIMEOUT_MILLIS);
+                        sslSocket.setUseClientMode(true);
+                    }
+                    catch (IOException exc)
+                    {
+                        sslSocket.close();
+                        throw exc;
+                    }
+                    connections.add(ShippingConnection.tlsConnected(sslSocket));
+                }
+                else
+                {
+                    SocketChannel channel = SocketChannel.open();
+                    try
+                    {
+                        channel.socket().connect(address, CONNECT_TIMEOUT_MILLIS);
+                    }
+                    catch (IOException exc)
+                    {
+                        channel.close();
+                        throw exc;
+                    }
+                    connections.add(ShippingConnection.plain(channel));
+                }
+            }
+        }
+        catch (IOException exc)
+        {
+            for (ShippingConnection connection : connections)
+            {
+                try
+                {
+                    connection.close();
+                }
+                catch (IOException ignored)
+                {
+                }
+            }
+            throw exc;
+        }
+        return connections;
+    }
+
+    public ShippingSender createSender(List<ShippingConnection> connections, boolean compress, ShippingStats stats)
+    {
+        return new ShippingSender(connections, compress, new AdaptiveCompressionLevel(), stats, DFLT_CHUNK_SIZE);
+    }
+
+    public ShippingReceiver createReceiver(
+        List<ShippingConnection> connections,
+        boolean compress,
+        ShippingStats stats
+    )
+    {
+        return new ShippingReceiver(connections, compress, stats, REORDER_WINDOW_PER_STREAM * connections.size());
+    }
+
+    private synchronized SSLContext getSslContext() throws IOException
+    {
+        if (sslCtx == null)
+        {
+            String keyStoreFile = stltCfg.getNetSecureServerCertificate();
+            String keyStorePassword = stltCfg.getNetSecureKeystorePassword();
+            String keyPassword = stltCfg.getNetSecureKeyPassword();
+            String trustStoreFile = stltCfg.getNetSecureTrustedCertificates();
+            String trustStorePassword = stltCfg.getNetSecureTruststorePassword();
+            if (keyStoreFile == null || keyStorePassword == null || keyPassword == null ||
+                trustStoreFile == null || trustStorePassword == null)
+            {
+                throw new IOException(
+                    "TLS for shipments requires server_certificate, keystore_password, key_password, " +
+                        "trusted_certificates and truststore_password in the [netcom] section"
+                );
+            }
+            try
+            {
+                SSLContext ctx = cryptoProvider.createSslContext(stltCfg.getNetSecureSslProtocol());
+                cryptoProvider.initializeSslContext(
+                    ctx,
+                    keyStoreFile,
+                    keyStorePassword.toCharArray(),
+                    keyPassword.toCharArray(),
+                    trustStoreFile,
+                    trustStorePassword.toCharArray()
+                );
+                sslCtx = ctx;
+            }
+            catch (GeneralSecurityException exc)
+            {
+                throw new IOException("Failed to initialize TLS for shipments: " + exc.getMessage(), exc);
+            }
+        }
+        return sslCtx;
+    }
+}
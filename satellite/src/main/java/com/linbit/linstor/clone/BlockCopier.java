@@ -0,0 +1,287 @@
+package com.linbit.linstor.clone;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Copies a block device or file to another one within the JVM.
+ *
+ * The source is split into extents which are copied by multiple threads concurrently, each using its own page
+ * aligned direct buffer. Every block is written, as the destinations (new thick volumes) still contain whatever was
+ * stored there before.
+ */
+public class BlockCopier
+{
+    public static final int DFLT_BUFFER_SIZE = 1 << 20;
+    public static final int DFLT_PARALLEL_EXTENTS = 4;
+    public static final long DFLT_EXTENT_SIZE = 64L << 20;
+
+    private static final int ALIGNMENT = 4096;
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @FunctionalInterface
+    public interface ProgressListener
+    {
+        /**
+         * Called at most once per second and once after the copy finished. Might be called from any of the copying
+         * threads, but never concurrently.
+         */
+        void progress(long copiedBytes, long totalBytes);
+    }
+
+    public static class CopyResult
+    {
+        public final long copiedBytes;
+        public final long totalBytes;
+        public final boolean aborted;
+
+        CopyResult(long copiedBytesRef, long totalBytesRef, boolean abortedRef)
+        {
+            copiedBytes = copiedBytesRef;
+            totalBytes = totalBytesRef;
+            aborted = abortedRef;
+        }
+    }
+
+    private final int bufferSize;
+    private final int parallelExtents;
+    private final long extentSize;
+
+    public BlockCopier()
+    {
+        this(DFLT_BUFFER_SIZE, DFLT_PARALLEL_EXTENTS, DFLT_EXTENT_SIZE);
+    }
+
+    public BlockCopier(int bufferSizeRef, int parallelExtentsRef, long extentSizeRef)
+    {
+        if (bufferSizeRef <= 0 || bufferSizeRef % ALIGNMENT != 0)
+        {
+            throw new IllegalArgumentException("Buffer size must be a positive multiple of " + ALIGNMENT);
+        }
+        if (extentSizeRef <= 0 || extentSizeRef % bufferSizeRef != 0)
+        {
+            throw new IllegalArgumentException("Extent size must be a positive multiple of the buffer size");
+        }
+        if (parallelExtentsRef <= 0)
+        {
+            throw new IllegalArgumentException("At least one extent has to be copied at a time");
+        }
+        bufferSize = bufferSizeRef;
+        parallelExtents = parallelExtentsRef;
+        extentSize = extentSizeRef;
+    }
+
+    /**
+     * Copies the first <code>sizeInBytes</code> bytes of <code>src</code> to <code>dst</code>. The destination has
+     * to exist already.
+     *
+     * @param sizeInBytes The number of bytes to copy, or 0 to copy the whole source. Since the size of block devices
+     *     cannot be queried reliably from within the JVM, callers should pass the size of block devices
+     * @param abortRequested Checked after every block, the copy stops as soon as it returns true
+     */
+    public CopyResult copy(
+        Path src,
+        Path dst,
+        long sizeInBytes,
+        BooleanSupplier abortRequested,
+        @Nullable ProgressListener progressListener
+    )
+        throws IOException
+    {
+        try (
+            FileChannel srcChannel = FileChannel.open(src, StandardOpenOption.READ);
+            FileChannel dstChannel = FileChannel.open(dst, StandardOpenOption.WRITE)
+        )
+        {
+            long totalBytes = sizeInBytes > 0 ? sizeInBytes : srcChannel.size();
+            CopyRun run = new CopyRun(
+                srcChannel,
+                dstChannel,
+                totalBytes,
+                abortRequested,
+                progressListener
+            );
+            run.execute(Thread.currentThread().getName());
+
+            boolean aborted = run.isAborted();
+            if (!aborted)
+            {
+                dstChannel.force(false);
+                run.reportProgress(true);
+            }
+            return new CopyResult(run.copiedBytes.sum(), totalBytes, aborted);
+        }
+    }
+
+    private class CopyRun
+    {
+        private final FileChannel srcChannel;
+        private final FileChannel dstChannel;
+        private final long totalBytes;
+        private final BooleanSupplier abortRequested;
+        private final @Nullable ProgressListener progressListener;
+
+        private final AtomicLong nextExtent = new AtomicLong();
+        private final LongAdder copiedBytes = new LongAdder();
+        private final AtomicReference<IOException> failure = new AtomicReference<>();
+        private final AtomicLong lastProgressNanos = new AtomicLong(System.nanoTime());
+
+        private volatile boolean aborted = false;
+
+        CopyRun(
+            FileChannel srcChannelRef,
+            FileChannel dstChannelRef,
+            long totalBytesRef,
+            BooleanSupplier abortRequestedRef,
+            @Nullable ProgressListener progressListenerRef
+        )
+        {
+            srcChannel = srcChannelRef;
+            dstChannel = dstChannelRef;
+            totalBytes = totalBytesRef;
+            abortRequested = abortRequestedRef;
+            progressListener = progressListenerRef;
+        }
+
+        void execute(String threadNamePrefix) throws IOException
+        {
+            long extentCount = (totalBytes + extentSize - 1) / extentSize;
+            int workerCount = (int) Math.min(parallelExtents, extentCount);
+
+            List<Thread> helpers = new ArrayList<>();
+            for (int idx = 1; idx < workerCount; ++idx)
+            {
+                Thread helper = new Thread(this::copyExtents, threadNamePrefix + "-copy-" + idx);
+                helper.setDaemon(true);
+                helpers.add(helper);
+                helper.start();
+            }
+            copyExtents();
+
+            boolean interrupted = false;
+            for (Thread helper : helpers)
+            {
+                while (helper.isAlive())
+                {
+                    try
+                    {
+                        helper.join();
+                    }
+                    catch (InterruptedException exc)
+                    {
+                        // stop the helpers, but still wait for them since they are using the channels
+                        interrupted = true;
+                        aborted = true;
+                    }
+                }
+            }
+            if (interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            IOException exc = failure.get();
+            if (exc != null)
+            {
+                throw exc;
+            }
+        }
+
+        boolean isAborted()
+        {
+            return aborted;
+        }
+
+        private void copyExtents()
+        {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize + ALIGNMENT).alignedSlice(ALIGNMENT);
+            try
+            {
+                long extent = nextExtent.getAndIncrement();
+                long extentStart = extent * extentSize;
+                while (extentStart < totalBytes && !shouldStop())
+                {
+                    long extentEnd = Math.min(extentStart + extentSize, totalBytes);
+                    for (long pos = extentStart; pos < extentEnd && !shouldStop(); pos += bufferSize)
+                    {
+                        int len = (int) Math.min(bufferSize, extentEnd - pos);
+                        buffer.clear().limit(len);
+                        readFully(buffer, pos);
+                        buffer.flip();
+                        writeFully(buffer, pos);
+                        copiedBytes.add(len);
+                        reportProgress(false);
+                    }
+                    extent = nextExtent.getAndIncrement();
+                    extentStart = extent * extentSize;
+                }
+            }
+            catch (IOException exc)
+            {
+                failure.compareAndSet(null, exc);
+            }
+        }
+
+        private boolean shouldStop()
+        {
+            if (!aborted && abortRequested.getAsBoolean())
+            {
+                aborted = true;
+            }
+            return aborted || failure.get() != null;
+        }
+
+        private void readFully(ByteBuffer buffer, long pos) throws IOException
+        {
+            long readPos = pos;
+            while (buffer.hasRemaining())
+            {
+                int read = srcChannel.read(buffer, readPos);
+                if (read < 0)
+                {
+                    throw new IOException(
+                        "Unexpected end of source at offset " + readPos + ", expected " + totalBytes + " bytes"
+                    );
+                }
+                readPos += read;
+            }
+        }
+
+        private void writeFully(ByteBuffer buffer, long pos) throws IOException
+        {
+            long writePos = pos;
+            while (buffer.hasRemaining())
+            {
+                writePos += dstChannel.write(buffer, writePos);
+            }
+        }
+
+        void reportProgress(boolean force)
+        {
+            if (progressListener != null)
+            {
+                long now = System.nanoTime();
+                long last = lastProgressNanos.get();
+                if ((force || now - last >= PROGRESS_INTERVAL_NANOS) && lastProgressNanos.compareAndSet(last, now))
+                {
+                    synchronized (this)
+                    {
+                        progressListener.progress(copiedBytes.sum(), totalBytes);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.linbit.linstor.clone;
+
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.storage.StorageException;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Runs a {@link BlockCopyJob} in its own thread
+ */
+public class BlockCopyDaemon implements CloneTask, Runnable
+{
+    private final ErrorReporter errorReporter;
+    private final Thread thread;
+    private final BlockCopier copier;
+    private final BlockCopyJob job;
+    private final BlockCopier.ProgressListener progressListener;
+    private final Consumer<Boolean> afterClone;
+
+    private volatile boolean shutdownRequested = false;
+
+    public BlockCopyDaemon(
+        ErrorReporter errorReporterRef,
+        ThreadGroup threadGroupRef,
+        String threadName,
+        BlockCopier copierRef,
+        BlockCopyJob jobRef,
+        BlockCopier.ProgressListener progressListenerRef,
+        Consumer<Boolean> afterTerminationRef
+    )
+    {
+        errorReporter = errorReporterRef;
+        copier = copierRef;
+        job = jobRef;
+        progressListener = progressListenerRef;
+        afterClone = afterTerminationRef;
+
+        thread = new Thread(threadGroupRef, this, threadName);
+    }
+
+    @Override
+    public void start()
+    {
+        thread.start();
+    }
+
+    @Override
+    public void run()
+    {
+        errorReporter.logTrace("starting block copy: %s", job);
+        boolean success = false;
+        try
+        {
+            BlockCopier.CopyResult result = copier.copy(
+                job.srcPath,
+                job.dstPath,
+                job.sizeInBytes,
+                () -> shutdownRequested,
+                progressListener
+            );
+            success = !result.aborted;
+            errorReporter.logTrace(
+                "block copy %s: %s, %d bytes written",
+                success ? "finished" : "aborted",
+                job,
+                result.copiedBytes
+            );
+        }
+        catch (IOException exc)
+        {
+            errorReporter.reportError(
+                new StorageException(
+                    "Failed to copy " + job,
+                    null,
+                    exc.getMessage(),
+                    null,
+                    null,
+                    exc
+                )
+            );
+        }
+        catch (Exception exc)
+        {
+            errorReporter.reportError(exc);
+        }
+        afterClone.accept(success);
+    }
+
+    @Override
+    public void shutdown()
+    {
+        shutdownRequested = true;
+    }
+
+    @Override
+    public void awaitShutdown(long timeoutRef) throws InterruptedException
+    {
+        thread.join(timeoutRef);
+    }
+}
@@ -0,0 +1,26 @@
+package com.linbit.linstor.clone;
+
+import java.nio.file.Path;
+
+/**
+ * Describes a clone that is copied by the {@link BlockCopier} instead of an external command
+ */
+public class BlockCopyJob
+{
+    public final Path srcPath;
+    public final Path dstPath;
+    public final long sizeInBytes;
+
+    public BlockCopyJob(Path srcPathRef, Path dstPathRef, long sizeInBytesRef)
+    {
+        srcPath = srcPathRef;
+        dstPath = dstPathRef;
+        sizeInBytes = sizeInBytesRef;
+    }
+
+    @Override
+    public String toString()
+    {
+        return srcPath + " -> " + dstPath + " (" + sizeInBytes + " bytes)";
+    }
+}
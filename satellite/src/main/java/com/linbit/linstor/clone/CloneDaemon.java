@@ -11,7 +11,7 @@ import java.util.Arrays;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.function.Consumer;
 
-public class CloneDaemon implements Runnable
+public class CloneDaemon implements CloneTask, Runnable
 {
     private static final int DFLT_DEQUE_CAPACITY = 100;
 
@@ -44,6 +44,7 @@ public class CloneDaemon implements Runnable
         thread = new Thread(threadGroupRef, this, threadName);
     }
 
+    @Override
     public void start()
     {
         started = true;
@@ -147,6 +148,7 @@ public class CloneDaemon implements Runnable
     {
     }
 
+    @Override
     public void shutdown()
     {
         started = false;
@@ -158,6 +160,7 @@ public class CloneDaemon implements Runnable
         deque.addFirst(new CloneDaemon.PoisonEvent());
     }
 
+    @Override
     public void awaitShutdown(long timeoutRef) throws InterruptedException
     {
         if (thread != null)
@@ -7,11 +7,14 @@ import com.linbit.SystemService;
 import com.linbit.SystemServiceStartException;
 import com.linbit.linstor.InternalApiConsts;
 import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
+import com.linbit.linstor.api.pojo.TransferProgressPojo;
 import com.linbit.linstor.core.ControllerPeerConnector;
 import com.linbit.linstor.core.CoreModule;
 import com.linbit.linstor.core.identifier.ResourceName;
 import com.linbit.linstor.core.identifier.VolumeNumber;
 import com.linbit.linstor.core.objects.Resource;
+import com.linbit.linstor.core.transfer.StltTransferTracker;
+import com.linbit.linstor.core.transfer.TransferProgress;
 import com.linbit.linstor.event.ObjectIdentifier;
 import com.linbit.linstor.event.common.VolumeDiskStateEvent;
 import com.linbit.linstor.layer.storage.AbsStorageProvider;
@@ -21,6 +24,7 @@ import com.linbit.linstor.storage.data.provider.AbsStorageVlmData;
 import com.linbit.linstor.storage.kinds.DeviceProviderKind;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -55,11 +59,13 @@ public class CloneService implements SystemService
     private final ControllerPeerConnector controllerPeerConnector;
     private final CtrlStltSerializer ctrlStltSerializer;
     private final VolumeDiskStateEvent volumeDiskStateEvent;
+    private final StltTransferTracker transferTracker;
 
     private final ServiceName instanceName;
     private final ConcurrentSkipListSet<CloneInfo> activeClones;
     private final ThreadGroup threadGroup;
     private final ReadWriteLock reconfigurationLock;
+    private final BlockCopier blockCopier;
 
     private boolean serviceStarted = false;
 
@@ -69,7 +75,8 @@ public class CloneService implements SystemService
         ControllerPeerConnector controllerPeerConnectorRef,
         CtrlStltSerializer ctrlStltSerializerRef,
         VolumeDiskStateEvent volumeDiskStateEventRef,
-        @Named(CoreModule.RECONFIGURATION_LOCK) ReadWriteLock reconfigurationLockRef
+        @Named(CoreModule.RECONFIGURATION_LOCK) ReadWriteLock reconfigurationLockRef,
+        StltTransferTracker transferTrackerRef
     )
     {
         errorReporter = errorReporterRef;
@@ -77,6 +84,7 @@ public class CloneService implements SystemService
         ctrlStltSerializer = ctrlStltSerializerRef;
         volumeDiskStateEvent = volumeDiskStateEventRef;
         reconfigurationLock = reconfigurationLockRef;
+        transferTracker = transferTrackerRef;
 
         try
         {
@@ -89,6 +97,7 @@ public class CloneService implements SystemService
 
         activeClones = new ConcurrentSkipListSet<>();
         threadGroup = new ThreadGroup("CloneThreadGroup");
+        blockCopier = new BlockCopier();
     }
 
     @Override
@@ -108,7 +117,8 @@ public class CloneService implements SystemService
         serviceStarted = false;
         for (CloneInfo cloneInfo : activeClones)
         {
-            cloneInfo.getCloneDaemon().shutdown();
+            cloneInfo.getCloneTask().shutdown();
+            transferTracker.finished(cloneInfo.getTransferProgress());
             cleanupDevices(cloneInfo);
         }
     }
@@ -123,7 +133,7 @@ public class CloneService implements SystemService
             if (now < exitTime)
             {
                 long maxWaitTime = exitTime - now;
-                cloneInfo.getCloneDaemon().awaitShutdown(maxWaitTime);
+                cloneInfo.getCloneTask().awaitShutdown(maxWaitTime);
             }
             cleanupDevices(cloneInfo);
         }
@@ -199,26 +209,49 @@ public class CloneService implements SystemService
                         ObjectIdentifier.volumeDefinition(cloneInfo.getResourceName(), cloneInfo.getVlmNr()),
                         "Cloning");
 
-                    String[] cmd = cloneInfo.getCloneCommand();
-
-                    if (cmd == null || cmd.length == 0)
+                    BlockCopyJob copyJob = cloneInfo.getCloneCopyJob();
+                    CloneTask cloneTask;
+                    if (copyJob != null)
+                    {
+                        cloneTask = new BlockCopyDaemon(
+                            errorReporter,
+                            threadGroup,
+                            "clone_" + cloneInfo,
+                            blockCopier,
+                            copyJob,
+                            (copied, total) -> cloneProgress(cloneInfo, copied, total),
+                            success -> postClone(
+                                success,
+                                cloneInfo
+                            )
+                        );
+                    }
+                    else
                     {
-                        throw new StorageException("Clone not supported for DeviceProviderKind: " + cloneInfo.getKind());
+                        String[] cmd = cloneInfo.getCloneCommand();
+
+                        if (cmd == null || cmd.length == 0)
+                        {
+                            throw new StorageException(
+                                "Clone not supported for DeviceProviderKind: " + cloneInfo.getKind()
+                            );
+                        }
+
+                        cloneTask = new CloneDaemon(
+                            errorReporter,
+                            threadGroup,
+                            "clone_" + cloneInfo,
+                            cmd,
+                            success -> postClone(
+                                success,
+                                cloneInfo
+                            )
+                        );
                     }
                     activeClones.add(cloneInfo);
-
-                    CloneDaemon cloneDaemon = new CloneDaemon(
-                        errorReporter,
-                        threadGroup,
-                        "clone_" + cloneInfo,
-                        cmd,
-                        success -> postClone(
-                            success,
-                            cloneInfo
-                        )
-                    );
-                    cloneInfo.setCloneDaemon(cloneDaemon);
-                    cloneDaemon.start();
+                    cloneInfo.setCloneTask(cloneTask);
+                    transferTracker.started(cloneInfo.getTransferProgress());
+                    cloneTask.start();
                 }
             }
         }
@@ -228,6 +261,21 @@ public class CloneService implements SystemService
         }
     }
 
+    private void cloneProgress(CloneInfo cloneInfo, long copiedBytes, long totalBytes)
+    {
+        cloneInfo.setProgress(copiedBytes, totalBytes);
+        TransferProgress progress = cloneInfo.getTransferProgress();
+        progress.setBytesTotal(totalBytes);
+        progress.setBytesDone(copiedBytes);
+        errorReporter.logDebug(
+            "Clone %s: %d%% done, %d of %d bytes written",
+            cloneInfo,
+            totalBytes == 0 ? 100 : copiedBytes * 100 / totalBytes,
+            copiedBytes,
+            totalBytes
+        );
+    }
+
     /**
      * Returns all clones belonging to the same resource/volume
      *
@@ -247,6 +295,7 @@ public class CloneService implements SystemService
         CloneInfo cloneInfo
     )
     {
+        transferTracker.finished(cloneInfo.getTransferProgress());
         cleanupDevices(cloneInfo);
 
         synchronized (activeClones)
@@ -286,9 +335,12 @@ public class CloneService implements SystemService
         private final AbsStorageVlmData<Resource> srcVlmData;
         private final AbsStorageVlmData<Resource> dstVlmData;
         private final AbsStorageProvider<?, ?, ?> deviceProvider;
+        private final TransferProgress transferProgress;
 
-        private CloneDaemon cloneDaemon;
+        private CloneTask cloneTask;
         private CloneStatus status;
+        private volatile long doneBytes;
+        private volatile long totalBytes;
 
         public enum CloneStatus
         {
@@ -309,6 +361,17 @@ public class CloneService implements SystemService
             dstVlmData = dstVlmDataRef;
             deviceProvider = providerRef;
             status = CloneStatus.PROGRESS;
+
+            long sizeInKib = dstVlmDataRef.getUsableSize();
+            // clones run by an external command only report their start and end
+            transferProgress = new TransferProgress(
+                TransferProgressPojo.Kind.CLONE,
+                rscName.displayValue,
+                null,
+                dstVlmDataRef.getVlmNr().value,
+                null,
+                sizeInKib > 0 ? sizeInKib * 1024 : -1
+            );
         }
 
         public AbsStorageVlmData<Resource> getSrcVlmData()
@@ -331,6 +394,11 @@ public class CloneService implements SystemService
             return getDeviceProvider().getCloneCommand(this);
         }
 
+        public @Nullable BlockCopyJob getCloneCopyJob() throws StorageException
+        {
+            return getDeviceProvider().getCloneCopyJob(this);
+        }
+
         public DeviceProviderKind getKind()
         {
             return dstVlmData.getProviderKind();
@@ -351,14 +419,38 @@ public class CloneService implements SystemService
             return suffix;
         }
 
-        public void setCloneDaemon(CloneDaemon cloneDaemonRef)
+        public void setCloneTask(CloneTask cloneTaskRef)
+        {
+            cloneTask = cloneTaskRef;
+        }
+
+        public CloneTask getCloneTask()
+        {
+            return cloneTask;
+        }
+
+        void setProgress(long doneBytesRef, long totalBytesRef)
+        {
+            doneBytes = doneBytesRef;
+            totalBytes = totalBytesRef;
+        }
+
+        /**
+         * @return The number of bytes already copied, 0 if the clone is not run by the {@link BlockCopier}
+         */
+        public long getDoneBytes()
+        {
+            return doneBytes;
+        }
+
+        public long getTotalBytes()
         {
-            cloneDaemon = cloneDaemonRef;
+            return totalBytes;
         }
 
-        public CloneDaemon getCloneDaemon()
+        public TransferProgress getTransferProgress()
         {
-            return cloneDaemon;
+            return transferProgress;
         }
 
         public void setCloneStatus(boolean success)
@@ -0,0 +1,13 @@
+package com.linbit.linstor.clone;
+
+/**
+ * A running clone of a single volume, either an external command or a copy within the satellite
+ */
+public interface CloneTask
+{
+    void start();
+
+    void shutdown();
+
+    void awaitShutdown(long timeoutRef) throws InterruptedException;
+}
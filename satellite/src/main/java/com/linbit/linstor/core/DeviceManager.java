@@ -49,4 +49,10 @@ public interface DeviceManager extends DrbdStateChange, DeviceLayer.Notification
     void controllerConnectionLost();
     boolean hasAllSharedLocksGranted();
     void registerSharedExtCmdFactory(ExtCmdFactoryStlt extCmdFactoryStltRef);
+
+    /**
+     * @return true while the device handlers are dispatched, i.e. while the device manager holds the write locks.
+     *     Updates received in the meantime are queued and applied by the device manager afterwards.
+     */
+    boolean isDispatching();
 }
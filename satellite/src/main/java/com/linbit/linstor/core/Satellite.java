@@ -23,6 +23,7 @@ import com.linbit.linstor.clone.CloneService;
 import com.linbit.linstor.core.apicallhandler.ApiCallHandlerModule;
 import com.linbit.linstor.core.cfg.StltConfig;
 import com.linbit.linstor.core.devmgr.DevMgrModule;
+import com.linbit.linstor.dbdrivers.DatabaseException;
 import com.linbit.linstor.dbdrivers.SatelliteDbModule;
 import com.linbit.linstor.debug.DebugConsole;
 import com.linbit.linstor.debug.DebugConsoleCreator;
@@ -39,6 +40,7 @@ import com.linbit.linstor.layer.drbd.drbdstate.DrbdEventPublisher;
 import com.linbit.linstor.layer.drbd.drbdstate.DrbdEventService;
 import com.linbit.linstor.layer.drbd.drbdstate.DrbdStateModule;
 import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.logging.ErrorReporterService;
 import com.linbit.linstor.logging.LoggingModule;
 import com.linbit.linstor.logging.StdErrorReporter;
 import com.linbit.linstor.modularcrypto.ModularCryptoProvider;
@@ -86,6 +88,7 @@ public final class Satellite
 {
     // Error & exception logging facility
     private final ErrorReporter errorReporter;
+    private final ErrorReporterService errorReporterService;
 
     // System security context
     private final AccessContext sysCtx;
@@ -125,6 +128,7 @@ public final class Satellite
     @Inject
     public Satellite(
         ErrorReporter errorReporterRef,
+        ErrorReporterService errorReporterServiceRef,
         @SystemContext
         AccessContext sysCtxRef,
         CoreTimer timerEventSvcRef,
@@ -148,6 +152,7 @@ public final class Satellite
     )
     {
         errorReporter = errorReporterRef;
+        errorReporterService = errorReporterServiceRef;
         sysCtx = sysCtxRef;
         timerEventSvc = timerEventSvcRef;
         reconfigurationLock = reconfigurationLockRef;
@@ -231,6 +236,8 @@ public final class Satellite
 
             ArrayList<StartupInitializer> startOrderlist = new ArrayList<>();
 
+            // stopped last, so that errors of all other services are still written
+            startOrderlist.add(new ServiceStarter(errorReporterService));
             startOrderlist.add(new ServiceStarter(timerEventSvc));
             startOrderlist.add(new ServiceStarter(fsWatchSvc));
             startOrderlist.add(new ServiceStarter(drbdEventSvc));
@@ -247,6 +254,7 @@ public final class Satellite
             errorReporter.logInfo("Initializing main network communications service");
             startOrderlist.add(netComInitializer);
 
+            systemServicesMap.put(errorReporterService.getInstanceName(), errorReporterService);
             systemServicesMap.put(fsWatchSvc.getInstanceName(), fsWatchSvc);
             systemServicesMap.put(timerEventSvc.getInstanceName(), timerEventSvc);
             if (vsnCheck.hasDrbd9())
@@ -495,6 +503,15 @@ public final class Satellite
         catch (Throwable error)
         {
             errorLog.reportError(error);
+            try
+            {
+                // the system services that would write the pending error reports might not have been started
+                errorLog.shutdown();
+            }
+            catch (DatabaseException ignored)
+            {
+                // the report was already logged, it only could not be stored in the error report database
+            }
             System.exit(InternalApiConsts.EXIT_CODE_IMPL_ERROR);
         }
 
@@ -0,0 +1,112 @@
+package com.linbit.linstor.core;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
+import com.linbit.linstor.logging.ErrorReportCounters;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.netcom.Peer;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.time.Duration;
+import java.util.Map;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Sends the error report counters of this satellite to the controller.
+ *
+ * All counters are sent after a successful full sync, afterwards only the changed counters are sent. Changes are
+ * collected for a short time so that a burst of error reports only causes a single message.
+ */
+@Singleton
+public class StltErrorReportCountersPusher
+{
+    private static final long PUSH_DELAY_MILLIS = 5_000;
+
+    private final ErrorReporter errorReporter;
+    private final ControllerPeerConnector controllerPeerConnector;
+    private final CtrlStltSerializer ctrlStltSerializer;
+    private final @Nullable ErrorReportCounters counters;
+
+    // protected by "this"
+    private boolean pushScheduled = false;
+
+    @Inject
+    public StltErrorReportCountersPusher(
+        ErrorReporter errorReporterRef,
+        ControllerPeerConnector controllerPeerConnectorRef,
+        CtrlStltSerializer ctrlStltSerializerRef
+    )
+    {
+        errorReporter = errorReporterRef;
+        controllerPeerConnector = controllerPeerConnectorRef;
+        ctrlStltSerializer = ctrlStltSerializerRef;
+
+        counters = errorReporterRef.getErrorReportCounters();
+        if (counters != null)
+        {
+            counters.setChangeListener(this::schedulePush);
+        }
+    }
+
+    /**
+     * Sends all counters, replacing the ones the controller might still know from a previous connection
+     */
+    public void pushAll()
+    {
+        if (counters != null)
+        {
+            counters.takeChanges();
+            send(counters.getCounts(), true);
+        }
+    }
+
+    private void schedulePush()
+    {
+        // called while holding the lock of the counters, must not send anything directly
+        synchronized (this)
+        {
+            if (!pushScheduled)
+            {
+                pushScheduled = true;
+                Mono.delay(Duration.ofMillis(PUSH_DELAY_MILLIS))
+                    .subscribe(ignored -> pushChanges());
+            }
+        }
+    }
+
+    private void pushChanges()
+    {
+        synchronized (this)
+        {
+            pushScheduled = false;
+        }
+        Map<ErrorReportCounters.Key, Long> changes = counters.takeChanges();
+        if (!changes.isEmpty())
+        {
+            send(changes, false);
+        }
+    }
+
+    private void send(Map<ErrorReportCounters.Key, Long> countersToSend, boolean full)
+    {
+        Peer ctrlPeer = controllerPeerConnector.getControllerPeer();
+        // if the controller is not connected, all counters are sent after the next full sync anyways
+        if (ctrlPeer != null && ctrlPeer.isConnected(true))
+        {
+            ctrlPeer.sendMessage(
+                ctrlStltSerializer.onewayBuilder(InternalApiConsts.API_UPDATE_ERROR_REPORT_COUNTERS)
+                    .updateErrorReportCounters(countersToSend, full)
+                    .build(),
+                InternalApiConsts.API_UPDATE_ERROR_REPORT_COUNTERS
+            );
+        }
+        else
+        {
+            errorReporter.logTrace("Controller not connected, not sending error report counters");
+        }
+    }
+}
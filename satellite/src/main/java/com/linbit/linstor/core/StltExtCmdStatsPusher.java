@@ -0,0 +1,84 @@
+package com.linbit.linstor.core;
+
+import com.linbit.extproc.ExtCmdStats;
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
+import com.linbit.linstor.netcom.Peer;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.time.Duration;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Sends the statistics of the external commands run by this satellite to the controller.
+ *
+ * The statistics are cumulative and always sent as a whole, after a successful full sync and whenever commands were
+ * started or finished. Changes are collected for a short time, so that the many commands of a single device manager
+ * run only cause a single message.
+ */
+@Singleton
+public class StltExtCmdStatsPusher
+{
+    private static final long PUSH_DELAY_MILLIS = 5_000;
+
+    private final ControllerPeerConnector controllerPeerConnector;
+    private final CtrlStltSerializer ctrlStltSerializer;
+    private final ExtCmdStats extCmdStats;
+
+    // protected by "this"
+    private boolean pushScheduled = false;
+
+    @Inject
+    public StltExtCmdStatsPusher(
+        ControllerPeerConnector controllerPeerConnectorRef,
+        CtrlStltSerializer ctrlStltSerializerRef,
+        ExtCmdStats extCmdStatsRef
+    )
+    {
+        controllerPeerConnector = controllerPeerConnectorRef;
+        ctrlStltSerializer = ctrlStltSerializerRef;
+        extCmdStats = extCmdStatsRef;
+
+        extCmdStats.setChangeListener(this::schedulePush);
+    }
+
+    public void pushAll()
+    {
+        Peer ctrlPeer = controllerPeerConnector.getControllerPeer();
+        // if the controller is not connected, the statistics are sent after the next full sync anyways
+        if (ctrlPeer != null && ctrlPeer.isConnected(true))
+        {
+            ctrlPeer.sendMessage(
+                ctrlStltSerializer.onewayBuilder(InternalApiConsts.API_UPDATE_EXT_CMD_STATS)
+                    .updateExtCmdStats(extCmdStats.getSnapshots().values())
+                    .build(),
+                InternalApiConsts.API_UPDATE_EXT_CMD_STATS
+            );
+        }
+    }
+
+    private void schedulePush()
+    {
+        synchronized (this)
+        {
+            if (!pushScheduled)
+            {
+                pushScheduled = true;
+                Mono.delay(Duration.ofMillis(PUSH_DELAY_MILLIS))
+                    .subscribe(ignored -> push());
+            }
+        }
+    }
+
+    private void push()
+    {
+        synchronized (this)
+        {
+            pushScheduled = false;
+        }
+        pushAll();
+    }
+}
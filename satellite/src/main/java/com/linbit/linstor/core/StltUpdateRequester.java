@@ -16,7 +16,10 @@ import com.linbit.linstor.netcom.Peer;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 
 @Singleton
@@ -71,6 +74,34 @@ public class StltUpdateRequester
         );
     }
 
+    /**
+     * Requests the given resources of the given node with a single message, or with the single resource request if
+     * there is only one resource
+     */
+    public void requestRscUpdates(NodeName nodeName, Map<ResourceName, UUID> rscUpdates)
+    {
+        if (rscUpdates.size() == 1)
+        {
+            Entry<ResourceName, UUID> entry = rscUpdates.entrySet().iterator().next();
+            requestRscUpdate(entry.getValue(), nodeName, entry.getKey());
+        }
+        else
+        {
+            Map<String, UUID> rscs = new TreeMap<>();
+            for (Entry<ResourceName, UUID> entry : rscUpdates.entrySet())
+            {
+                rscs.put(entry.getKey().getDisplayName(), entry.getValue());
+            }
+            sendRequest(
+                interComSerializer
+                    .onewayBuilder(InternalApiConsts.API_REQUEST_RSCS)
+                    .requestResourceUpdates(nodeName.getDisplayName(), rscs)
+                    .build(),
+                InternalApiConsts.API_REQUEST_RSCS
+            );
+        }
+    }
+
     public void requestStorPoolUpdate(UUID storPoolUuid, StorPoolName storPoolName)
     {
         sendRequest(
@@ -82,6 +113,34 @@ public class StltUpdateRequester
         );
     }
 
+    /**
+     * Requests the given storage pools with a single message, or with the single storage pool request if there is
+     * only one storage pool
+     */
+    public void requestStorPoolUpdates(Map<StorPoolName, UUID> storPoolUpdates)
+    {
+        if (storPoolUpdates.size() == 1)
+        {
+            Entry<StorPoolName, UUID> entry = storPoolUpdates.entrySet().iterator().next();
+            requestStorPoolUpdate(entry.getValue(), entry.getKey());
+        }
+        else
+        {
+            Map<String, UUID> storPools = new TreeMap<>();
+            for (Entry<StorPoolName, UUID> entry : storPoolUpdates.entrySet())
+            {
+                storPools.put(entry.getKey().getDisplayName(), entry.getValue());
+            }
+            sendRequest(
+                interComSerializer
+                    .onewayBuilder(InternalApiConsts.API_REQUEST_STOR_POOLS)
+                    .requestStoragePoolUpdates(storPools)
+                    .build(),
+                InternalApiConsts.API_REQUEST_STOR_POOLS
+            );
+        }
+    }
+
     public void requestSnapshotUpdate(UUID snapshotUuid, SnapshotDefinition.Key snapshotKey)
     {
         sendRequest(
@@ -61,14 +61,12 @@ public class StltUpdateTrackerImpl implements StltUpdateTracker
             // TODO extend for ctrl, nodes, storpools, etc....
             for (Entry<UUID, Resource.ResourceKey> rscEntry : holder.resources.entrySet())
             {
-                ret.add(
-                    update(
-                        cachedUpdates.rscUpdates.computeIfAbsent(
-                            rscEntry.getValue(),
-                            ignored -> new UpdateNotification(rscEntry.getKey())
-                        )
-                    )
+                UpdateNotification updateNotification = cachedUpdates.rscUpdates.computeIfAbsent(
+                    rscEntry.getValue(),
+                    ignored -> new UpdateNotification(rscEntry.getKey())
                 );
+                updateNotification.setDataPushed(false);
+                ret.add(update(updateNotification));
             }
             for (Entry<UUID, SnapshotDefinition.Key> snapEntry : holder.snapshots.entrySet())
             {
@@ -114,6 +112,32 @@ public class StltUpdateTrackerImpl implements StltUpdateTracker
                 resourceKey,
                 ignored -> new UpdateNotification(rscUuid)
             );
+            // the data has to be requested, even if it was also pushed
+            updateNotification.setDataPushed(false);
+        }
+        return update(updateNotification);
+    }
+
+    /**
+     * Same as {@link #updateResource(UUID, ResourceName, NodeName)}, but the resource data was already pushed by the
+     * controller and applied, so the device manager only has to dispatch the resource instead of requesting it.
+     */
+    @Override
+    public Flux<ApiCallRc> updatePushedResource(
+        UUID rscUuid,
+        ResourceName resourceName,
+        NodeName nodeName
+    )
+    {
+        Resource.ResourceKey resourceKey = new Resource.ResourceKey(nodeName, resourceName);
+        UpdateNotification updateNotification;
+        synchronized (sched)
+        {
+            // a pending notification that still requests the data is kept as it is
+            updateNotification = cachedUpdates.rscUpdates.computeIfAbsent(
+                resourceKey,
+                ignored -> new UpdateNotification(rscUuid, true)
+            );
         }
         return update(updateNotification);
     }
@@ -257,9 +281,17 @@ public class StltUpdateTrackerImpl implements StltUpdateTracker
 
         private final List<FluxSink<ApiCallRc>> responseSinks;
 
+        private boolean dataPushed;
+
         public UpdateNotification(UUID uuidRef)
+        {
+            this(uuidRef, false);
+        }
+
+        public UpdateNotification(UUID uuidRef, boolean dataPushedRef)
         {
             uuid = uuidRef;
+            dataPushed = dataPushedRef;
             responseSinks = new ArrayList<>();
         }
 
@@ -268,6 +300,20 @@ public class StltUpdateTrackerImpl implements StltUpdateTracker
             return uuid;
         }
 
+        /**
+         * Whether the controller pushed the data together with the notification, i.e. the data must not be
+         * requested.
+         */
+        public boolean isDataPushed()
+        {
+            return dataPushed;
+        }
+
+        public void setDataPushed(boolean dataPushedRef)
+        {
+            dataPushed = dataPushedRef;
+        }
+
         public void addResponseSink(FluxSink<ApiCallRc> sink)
         {
             responseSinks.add(sink);
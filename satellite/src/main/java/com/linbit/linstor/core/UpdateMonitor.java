@@ -6,7 +6,12 @@ public interface UpdateMonitor
 
     long getCurrentAwaitedUpdateId();
 
-    void awaitedUpdateApplied();
+    /**
+     * Increments the awaited update id, unless the full sync id changed in the meantime
+     *
+     * @return false if the given full sync id is no longer the current one
+     */
+    boolean awaitedUpdateApplied(long fullSyncIdRef);
 
     long getNextFullSyncId();
 
@@ -55,9 +55,18 @@ public class UpdateMonitorImpl implements UpdateMonitor
     }
 
     @Override
-    public void awaitedUpdateApplied()
+    public boolean awaitedUpdateApplied(long fullSyncIdRef)
     {
-        awaitedUpdateId.incrementAndGet();
+        boolean current;
+        synchronized (this)
+        {
+            current = fullSyncId.get() == fullSyncIdRef;
+            if (current)
+            {
+                awaitedUpdateId.incrementAndGet();
+            }
+        }
+        return current;
     }
 
     @Override
@@ -71,9 +80,12 @@ public class UpdateMonitorImpl implements UpdateMonitor
             rscDfnMapLock.writeLock().lock();
             storPoolDfnMapLock.writeLock().lock();
 
-            nextFullSyncId = fullSyncId.incrementAndGet();
+            synchronized (this)
+            {
+                nextFullSyncId = fullSyncId.incrementAndGet();
 
-            awaitedUpdateId.set(0);
+                awaitedUpdateId.set(0);
+            }
             currentFullSyncApplied = false;
         }
         finally
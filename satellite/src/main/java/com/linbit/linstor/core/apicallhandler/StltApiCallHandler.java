@@ -69,6 +69,7 @@ import javax.inject.Named;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Iterator;
@@ -79,13 +80,19 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 import org.slf4j.event.Level;
 
 @Singleton
 public class StltApiCallHandler
 {
+    private static final long APPLY_LOCK_RETRY_MILLIS = 100;
+
     private final ErrorReporter errorReporter;
     private final AccessContext apiCtx;
     private final StltConfig stltCfg;
@@ -116,7 +123,9 @@ public class StltApiCallHandler
     private final CoreModule.ResourceDefinitionMap rscDfnMap;
     private final CoreModule.StorPoolDefinitionMap storPoolDfnMap;
 
+    // the monitor of dataToApply is only held while accessing the map, applyLock is held while applying the updates
     private final TreeMap<Long, ApplyData> dataToApply;
+    private final ReentrantLock applyLock = new ReentrantLock();
 
     private final Provider<TransactionMgr> transMgrProvider;
     private final StltSecurityObjects stltSecObj;
@@ -224,11 +233,18 @@ public class StltApiCallHandler
     {
         AuthenticationResult authResult;
 
+        List<ApplyData> droppedData;
         synchronized (dataToApply)
         {
+            droppedData = new ArrayList<>(dataToApply.values());
             dataToApply.clear(); // controller should not have sent us anything before the authentication.
             // that means, everything in this map is out-dated data + we should receive a full sync next.
         }
+        for (ApplyData data : droppedData)
+        {
+            // callers waiting for the update (like pushed resource changes) must not wait forever
+            data.afterApply(false);
+        }
 
         // re-cache external tools before calling "setControllerPeer", since that also initializes the peer's
         // ExtToosManager with the cached values of the stltExtToolChecker
@@ -543,7 +559,9 @@ public class StltApiCallHandler
                     controllerPeer.getId(),
                     0,
                     EventIdentifier.global(null)
-        ));
+                ),
+                true
+            );
         }
     }
 
@@ -667,6 +685,18 @@ public class StltApiCallHandler
         applyChangedData(new ApplyRscData(rscRawData));
     }
 
+    /**
+     * Applies resource data that was pushed by the controller together with the change notification. As the data is
+     * applied in the order of the update ids, the given callback might be called later by another thread. The callback
+     * receives false if the data was ignored as outdated.
+     */
+    public void applyPushedResourceChanges(RscPojo rscRawData, Consumer<Boolean> afterApplyRef)
+    {
+        ApplyRscData applyRscData = new ApplyRscData(rscRawData);
+        applyRscData.afterApplyCallback = afterApplyRef;
+        applyChangedData(applyRscData);
+    }
+
     public void applyDeletedResourceChange(
         String rscNameStr,
         long fullSyncId,
@@ -737,77 +767,170 @@ public class StltApiCallHandler
 
     private void applyChangedData(ApplyData data)
     {
+        boolean queued = false;
         synchronized (dataToApply)
         {
             if (data.getFullSyncId() == updateMonitor.getCurrentFullSyncId())
             {
-                try
+                ApplyData overriddenData = dataToApply.put(data.getUpdateId(), data);
+                if (overriddenData != null)
                 {
-                    ApplyData overriddenData = dataToApply.put(data.getUpdateId(), data);
-                    if (overriddenData != null)
-                    {
-                        errorReporter.reportError(
-                            new ImplementationError(
-                                "We have overridden data which we did not update yet.",
-                                null
-                            )
-                        );
-                        // critical error. shutdown and fix this implementation error
-                        applicationLifecycleManager.shutdown(apiCtx);
-                    }
-
-                    Entry<Long, ApplyData> nextEntry;
-                    nextEntry = dataToApply.firstEntry();
-                    while (
-                        nextEntry != null &&
-                        nextEntry.getKey() == updateMonitor.getCurrentAwaitedUpdateId()
-                    )
-                    {
-                        errorReporter.logTrace("Applying update " + nextEntry.getKey());
-
-                        ApplyData applyData = nextEntry.getValue();
-                        try (
-                            LockGuard ls = LockGuard.createLocked(
-                                applyData.needReconfigurationWriteLock() ?
-                                    reconfigurationLock.writeLock() : reconfigurationLock.readLock()
-                            )
+                    errorReporter.reportError(
+                        new ImplementationError(
+                            "We have overridden data which we did not update yet.",
+                            null
                         )
-                        {
-                            applyData.applyChange();
-                        }
-                        dataToApply.remove(nextEntry.getKey());
-                        updateMonitor.awaitedUpdateApplied();
+                    );
+                    // critical error. shutdown and fix this implementation error
+                    applicationLifecycleManager.shutdown(apiCtx);
+                }
+                else
+                {
+                    queued = true;
+                }
+            }
+            else
+            {
+                errorReporter.logWarning("Ignoring received outdated update. ");
+            }
+        }
+        if (queued)
+        {
+            applyQueuedData();
+        }
+        else
+        {
+            data.afterApply(false);
+        }
+    }
 
-                        nextEntry = dataToApply.firstEntry();
+    /**
+     * Applies the queued updates in the order of their update ids, as long as the next awaited update was received.
+     *
+     * While the device manager dispatches the device handlers (and holds the reconfiguration write lock), this method
+     * does not wait for the dispatch to finish but leaves the updates queued. The device manager calls this method
+     * again once it released its locks.
+     */
+    public void applyQueuedData()
+    {
+        boolean interrupted = false;
+        applyLock.lock();
+        try
+        {
+            Entry<Long, ApplyData> nextEntry = nextEntryToApply();
+            while (nextEntry != null)
+            {
+                ApplyData applyData = nextEntry.getValue();
+                Lock lock = applyData.needReconfigurationWriteLock() ?
+                    reconfigurationLock.writeLock() : reconfigurationLock.readLock();
+                boolean locked = false;
+                while (!locked && !deviceManager.isDispatching())
+                {
+                    try
+                    {
+                        locked = lock.tryLock(APPLY_LOCK_RETRY_MILLIS, TimeUnit.MILLISECONDS);
                     }
-                    for (Entry<Long, ApplyData> remainingDataToApply : dataToApply.entrySet())
+                    catch (InterruptedException exc)
                     {
-                        errorReporter.logDebug("Update " + remainingDataToApply.getKey() +
-                            " queued until update " + updateMonitor.getCurrentAwaitedUpdateId() + " received");
+                        interrupted = true;
                     }
                 }
-                catch (ImplementationError | Exception exc)
+                if (!locked)
                 {
-                    errorReporter.reportError(exc);
-                    try
+                    errorReporter.logTrace(
+                        "Device manager is dispatching, update %d stays queued",
+                        nextEntry.getKey()
+                    );
+                    break;
+                }
+
+                errorReporter.logTrace("Applying update " + nextEntry.getKey());
+                try
+                {
+                    applyData.applyChange();
+                }
+                finally
+                {
+                    lock.unlock();
+                }
+                // the controller might have reconnected (dropping all queued updates) or a full sync might have failed
+                // (resetting the awaited update id) while the update was applied. In both cases the applied update
+                // must neither remove an update of the new full sync with the same update id nor increase the
+                // awaited update id of the new full sync
+                boolean stillQueued;
+                boolean current;
+                synchronized (dataToApply)
+                {
+                    stillQueued = dataToApply.get(nextEntry.getKey()) == applyData;
+                    current = stillQueued && updateMonitor.awaitedUpdateApplied(applyData.getFullSyncId());
+                    if (stillQueued)
                     {
-                        controllerPeerConnector.getLocalNode().getPeer(apiCtx).closeConnection();
-                        // there is nothing else we can safely do.
-                        // skipping the update might cause data-corruption
-                        // not skipping will queue the new data packets but will not apply those as the
-                        // awaitedUpdateId will never increment.
+                        dataToApply.remove(nextEntry.getKey());
                     }
-                    catch (AccessDeniedException exc1)
+                }
+                if (current)
+                {
+                    applyData.afterApply(true);
+                }
+                else
+                {
+                    errorReporter.logDebug("Update %d became outdated while it was applied", nextEntry.getKey());
+                    // updates dropped by a reconnect were already notified by authenticate
+                    if (stillQueued)
                     {
-                        errorReporter.reportError(new ImplementationError(exc));
+                        applyData.afterApply(false);
                     }
                 }
+
+                nextEntry = nextEntryToApply();
             }
-            else
+            synchronized (dataToApply)
             {
-                errorReporter.logWarning("Ignoring received outdated update. ");
+                for (Entry<Long, ApplyData> remainingDataToApply : dataToApply.entrySet())
+                {
+                    errorReporter.logDebug("Update " + remainingDataToApply.getKey() +
+                        " queued until update " + updateMonitor.getCurrentAwaitedUpdateId() + " applied");
+                }
+            }
+        }
+        catch (ImplementationError | Exception exc)
+        {
+            errorReporter.reportError(exc);
+            try
+            {
+                controllerPeerConnector.getLocalNode().getPeer(apiCtx).closeConnection();
+                // there is nothing else we can safely do.
+                // skipping the update might cause data-corruption
+                // not skipping will queue the new data packets but will not apply those as the
+                // awaitedUpdateId will never increment.
+            }
+            catch (AccessDeniedException exc1)
+            {
+                errorReporter.reportError(new ImplementationError(exc));
             }
         }
+        finally
+        {
+            applyLock.unlock();
+            if (interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private @Nullable Entry<Long, ApplyData> nextEntryToApply()
+    {
+        Entry<Long, ApplyData> nextEntry;
+        synchronized (dataToApply)
+        {
+            nextEntry = dataToApply.firstEntry();
+        }
+        if (nextEntry != null && nextEntry.getKey() != updateMonitor.getCurrentAwaitedUpdateId())
+        {
+            nextEntry = null;
+        }
+        return nextEntry;
     }
 
     public void handlePrimaryResource(
@@ -897,6 +1020,13 @@ public class StltApiCallHandler
         }
 
         void applyChange();
+
+        /**
+         * Called once the update was applied, or with false if it was ignored as outdated
+         */
+        default void afterApply(boolean applied)
+        {
+        }
     }
 
     private class ApplyControllerData implements ApplyData
@@ -995,6 +1125,7 @@ public class StltApiCallHandler
         private String deletedRscName;
         private long fullSyncId;
         private long updateId;
+        private @Nullable Consumer<Boolean> afterApplyCallback;
 
         ApplyRscData(RscPojo rscPojoRef)
         {
@@ -1047,6 +1178,15 @@ public class StltApiCallHandler
                 }
             }
         }
+
+        @Override
+        public void afterApply(boolean applied)
+        {
+            if (afterApplyCallback != null)
+            {
+                afterApplyCallback.accept(applied);
+            }
+        }
     }
 
     private class ApplyStorPool implements ApplyData
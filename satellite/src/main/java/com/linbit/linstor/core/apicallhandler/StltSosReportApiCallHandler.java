@@ -21,6 +21,7 @@ import com.linbit.utils.StringUtils;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -38,6 +39,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 @Singleton
 public class StltSosReportApiCallHandler
@@ -45,6 +47,7 @@ public class StltSosReportApiCallHandler
     private static final String SUFFIX_CMD_STDERR = ".err";
     private static final String SUFFIX_FILE_NOT_FOUND = ".file_not_found";
     private static final String SUFFIX_IO_EXC = ".io_exc";
+    private static final int COMPRESS_BUFFER_SIZE = 64 * 1024;
 
     private final ErrorReporter errorReporter;
     private final StltConfig stltCfg;
@@ -340,7 +343,11 @@ public class StltSosReportApiCallHandler
     /**
      * Returns the requested files, including their content.
      */
-    public List<FilePojo> getRequestedSosReportFiles(List<RequestFilePojo> listRef)
+    /**
+     * Reads the requested parts of the files. If compress is true, every part is gzip compressed while it is read, so
+     * that only the compressed part is held in memory and sent to the controller.
+     */
+    public List<FilePojo> getRequestedSosReportFiles(List<RequestFilePojo> listRef, boolean compress)
     {
         List<FilePojo> filesToRespond = new ArrayList<>();
         long now = System.currentTimeMillis();
@@ -365,16 +372,24 @@ public class StltSosReportApiCallHandler
                     }
                     int len = (int) reqFile.length;
 
-                    byte[] buf = new byte[len];
                     errorReporter.logTrace(
                         "Reading %8d bytes from file %s from offset %d.",
                         len,
                         reqFile.name,
                         reqFile.offset
                     );
-                    raf.readFully(buf, 0, buf.length);
+                    byte[] buf;
+                    if (compress)
+                    {
+                        buf = readCompressed(raf, len);
+                    }
+                    else
+                    {
+                        buf = new byte[len];
+                        raf.readFully(buf, 0, buf.length);
+                    }
 
-                    filesToRespond.add(new FilePojo(fileName, file.lastModified(), buf, reqFile.offset));
+                    filesToRespond.add(new FilePojo(fileName, file.lastModified(), buf, reqFile.offset, compress));
                 }
                 catch (IOException exc)
                 {
@@ -397,6 +412,24 @@ public class StltSosReportApiCallHandler
         return filesToRespond;
     }
 
+    private static byte[] readCompressed(RandomAccessFile raf, int len) throws IOException
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(baos, COMPRESS_BUFFER_SIZE))
+        {
+            byte[] buf = new byte[Math.min(len, COMPRESS_BUFFER_SIZE)];
+            int remaining = len;
+            while (remaining > 0)
+            {
+                int chunkLen = Math.min(remaining, buf.length);
+                raf.readFully(buf, 0, chunkLen);
+                gzipOut.write(buf, 0, chunkLen);
+                remaining -= chunkLen;
+            }
+        }
+        return baos.toByteArray();
+    }
+
     private Path getSosReportDir(String sosReportName)
     {
         return LinStor.SOS_REPORTS_DIR.resolve(sosReportName);
@@ -30,6 +30,7 @@ import com.linbit.linstor.core.StltUpdateTrackerImpl;
 import com.linbit.linstor.core.StltUpdateTrackerImpl.UpdateBundle;
 import com.linbit.linstor.core.StltUpdateTrackerImpl.UpdateNotification;
 import com.linbit.linstor.core.UpdateMonitor;
+import com.linbit.linstor.core.apicallhandler.StltApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.StltApiCallHandlerUtils;
 import com.linbit.linstor.core.apicallhandler.StltNodeApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.response.ApiRcException;
@@ -213,6 +214,8 @@ class DeviceManagerImpl implements Runnable, SystemService, DeviceManager, Devic
     private final DrbdVersion drbdVersion;
     private boolean stateAvailable;
     private volatile boolean abortDevHndFlag;
+    // true while the write locks are held in the dispatch phase
+    private volatile boolean dispatching = false;
     private DrbdEventService drbdEvent;
 
     private long cycleNr = 0;
@@ -237,6 +240,10 @@ class DeviceManagerImpl implements Runnable, SystemService, DeviceManager, Devic
 
     private final StltConfig stltCfg;
 
+    // provider, since the StltApiCallHandler depends on the DeviceManager
+    private final Provider<StltApiCallHandler> stltApiCallHandlerProvider;
+    private final StltDevMgrLockStatsPusher lockStatsPusher;
+
     @Inject
     DeviceManagerImpl(
         @DeviceManagerContext AccessContext wrkCtxRef,
@@ -270,7 +277,9 @@ class DeviceManagerImpl implements Runnable, SystemService, DeviceManager, Devic
         BackupShippingMgr backupServiceMgrRef,
         StltExternalFileHandler extFileHandlerRef,
         StltConfig stltCfgRef,
-        PlatformStlt platformStltRef
+        PlatformStlt platformStltRef,
+        Provider<StltApiCallHandler> stltApiCallHandlerProviderRef,
+        StltDevMgrLockStatsPusher lockStatsPusherRef
     )
     {
         wrkCtx = wrkCtxRef;
@@ -303,6 +312,8 @@ class DeviceManagerImpl implements Runnable, SystemService, DeviceManager, Devic
         extFileHandler = extFileHandlerRef;
         stltCfg = stltCfgRef;
         platformStlt = platformStltRef;
+        stltApiCallHandlerProvider = stltApiCallHandlerProviderRef;
+        lockStatsPusher = lockStatsPusherRef;
 
         updTracker = new StltUpdateTrackerImpl(sched, scheduler);
         svcThr = null;
@@ -967,6 +978,9 @@ class DeviceManagerImpl implements Runnable, SystemService, DeviceManager, Devic
 
         synchronized (sched)
         {
+            // Resources pushed by the controller were already applied and only have to be dispatched
+            collectPushedRscUpdates();
+
             // The set of objects that are pending receipt must be initialized before
             // sending the requests for updates, because receipt of updates races
             // with sending update requests.
@@ -987,6 +1001,29 @@ class DeviceManagerImpl implements Runnable, SystemService, DeviceManager, Devic
         }
     }
 
+    // Must hold the scheduler lock ('synchronized (sched)')
+    private void collectPushedRscUpdates()
+    {
+        Iterator<Entry<Resource.ResourceKey, UpdateNotification>> rscUpdateIt =
+            updPendingBundle.rscUpdates.entrySet().iterator();
+        while (rscUpdateIt.hasNext())
+        {
+            Entry<Resource.ResourceKey, UpdateNotification> entry = rscUpdateIt.next();
+            UpdateNotification updateNotification = entry.getValue();
+            if (updateNotification.isDataPushed())
+            {
+                rscUpdateIt.remove();
+                errLog.logTrace(
+                    "Resource '" + entry.getKey().getResourceName().displayValue + "' was pushed by the controller"
+                );
+                markPendingRscDispatch(
+                    updateNotification,
+                    Collections.singleton(entry.getKey().getResourceName())
+                );
+            }
+        }
+    }
+
     private void phaseCollectUpdateData()
         throws SvcCondException
     {
@@ -1060,6 +1097,8 @@ class DeviceManagerImpl implements Runnable, SystemService, DeviceManager, Devic
             storPoolWrLock.lock();
             extfileWrLock.lock();
             remoteWrLock.lock();
+            long lockedSinceNanos = System.nanoTime();
+            dispatching = true;
 
             SatelliteTransactionMgr transMgr = new SatelliteTransactionMgr();
             Node localNode = controllerPeerConnector.getLocalNode();
@@ -1234,6 +1273,7 @@ class DeviceManagerImpl implements Runnable, SystemService, DeviceManager, Devic
             }
             finally
             {
+                dispatching = false;
                 // always commit transaction as we most likely changed our environment which we cannot
                 // rollback
                 transMgr.commit();
@@ -1243,7 +1283,27 @@ class DeviceManagerImpl implements Runnable, SystemService, DeviceManager, Devic
                 nodesWrLock.unlock();
                 reconfWrLock.unlock();
                 remoteWrLock.unlock();
+                lockStatsPusher.lockReleased(lockedSinceNanos);
             }
+            applyQueuedUpdates();
+        }
+    }
+
+    /**
+     * Applies the updates that were received from the controller while the write locks were held. The threads
+     * receiving those updates only queued them instead of waiting for the dispatch to finish.
+     */
+    private void applyQueuedUpdates()
+    {
+        SatelliteTransactionMgr transMgr = new SatelliteTransactionMgr();
+        try (LinStorScope.ScopeAutoCloseable close = deviceMgrScope.enter())
+        {
+            TransactionMgrUtil.seedTransactionMgr(deviceMgrScope, transMgr);
+            stltApiCallHandlerProvider.get().applyQueuedData();
+        }
+        finally
+        {
+            transMgr.commit();
         }
     }
 
@@ -1559,6 +1619,12 @@ class DeviceManagerImpl implements Runnable, SystemService, DeviceManager, Devic
         return allGranted;
     }
 
+    @Override
+    public boolean isDispatching()
+    {
+        return dispatching;
+    }
+
     @Override
     public void registerSharedExtCmdFactory(ExtCmdFactoryStlt extCmdFactoryStltRef)
     {
@@ -1882,26 +1948,29 @@ class DeviceManagerImpl implements Runnable, SystemService, DeviceManager, Devic
 
     private void requestRscUpdates(Map<Resource.ResourceKey, UUID> rscUpdates)
     {
+        // one request per node instead of one per resource
+        Map<NodeName, Map<ResourceName, UUID>> rscUpdatesByNode = new TreeMap<>();
         for (Entry<Resource.ResourceKey, UUID> entry : rscUpdates.entrySet())
         {
             errLog.logTrace("Requesting update for resource '" + entry.getKey().getResourceName().displayValue + "'");
-            stltUpdateRequester.requestRscUpdate(
-                entry.getValue(),
-                entry.getKey().getNodeName(),
-                entry.getKey().getResourceName()
-            );
+            rscUpdatesByNode.computeIfAbsent(entry.getKey().getNodeName(), ignored -> new TreeMap<>())
+                .put(entry.getKey().getResourceName(), entry.getValue());
+        }
+        for (Entry<NodeName, Map<ResourceName, UUID>> entry : rscUpdatesByNode.entrySet())
+        {
+            stltUpdateRequester.requestRscUpdates(entry.getKey(), entry.getValue());
         }
     }
 
     private void requestStorPoolUpdates(Map<StorPoolName, UUID> storPoolUpdates)
     {
-        for (Entry<StorPoolName, UUID> entry : storPoolUpdates.entrySet())
+        for (StorPoolName storPoolName : storPoolUpdates.keySet())
         {
-            errLog.logTrace("Requesting update for storage pool '" + entry.getKey().displayValue + "'");
-            stltUpdateRequester.requestStorPoolUpdate(
-                entry.getValue(),
-                entry.getKey()
-            );
+            errLog.logTrace("Requesting update for storage pool '" + storPoolName.displayValue + "'");
+        }
+        if (!storPoolUpdates.isEmpty())
+        {
+            stltUpdateRequester.requestStorPoolUpdates(storPoolUpdates);
         }
     }
 
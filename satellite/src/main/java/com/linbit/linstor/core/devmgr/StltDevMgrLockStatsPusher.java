@@ -0,0 +1,83 @@
+package com.linbit.linstor.core.devmgr;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
+import com.linbit.linstor.core.ControllerPeerConnector;
+import com.linbit.linstor.metrics.Histogram;
+import com.linbit.linstor.metrics.LinStorMetrics;
+import com.linbit.linstor.netcom.Peer;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.time.Duration;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Records how long the device manager held its write locks per dispatch and sends the histogram to the controller.
+ *
+ * The histogram is cumulative and always sent as a whole, so a message that got lost (e.g. while the controller was
+ * not connected) is healed by the next one. Dispatches are collected for a short time so that a busy device manager
+ * only causes a single message.
+ */
+@Singleton
+public class StltDevMgrLockStatsPusher
+{
+    private static final long PUSH_DELAY_MILLIS = 5_000;
+
+    private final ControllerPeerConnector controllerPeerConnector;
+    private final CtrlStltSerializer ctrlStltSerializer;
+    private final Histogram lockHold;
+
+    // protected by "this"
+    private boolean pushScheduled = false;
+
+    @Inject
+    public StltDevMgrLockStatsPusher(
+        ControllerPeerConnector controllerPeerConnectorRef,
+        CtrlStltSerializer ctrlStltSerializerRef,
+        LinStorMetrics metricsRef
+    )
+    {
+        controllerPeerConnector = controllerPeerConnectorRef;
+        ctrlStltSerializer = ctrlStltSerializerRef;
+        lockHold = metricsRef.getDispatchLockHold().labels();
+    }
+
+    public void lockReleased(long lockedSinceNanos)
+    {
+        lockHold.observeNanosSince(lockedSinceNanos);
+        synchronized (this)
+        {
+            if (!pushScheduled)
+            {
+                pushScheduled = true;
+                Mono.delay(Duration.ofMillis(PUSH_DELAY_MILLIS))
+                    .subscribe(ignored -> push());
+            }
+        }
+    }
+
+    private void push()
+    {
+        synchronized (this)
+        {
+            pushScheduled = false;
+        }
+        Peer ctrlPeer = controllerPeerConnector.getControllerPeer();
+        if (ctrlPeer != null && ctrlPeer.isConnected(true))
+        {
+            ctrlPeer.sendMessage(
+                ctrlStltSerializer.onewayBuilder(InternalApiConsts.API_UPDATE_DEV_MGR_LOCK_STATS)
+                    .updateDevMgrLockStats(
+                        lockHold.getUpperBounds(),
+                        lockHold.getCumulativeCounts(),
+                        lockHold.getSum()
+                    )
+                    .build(),
+                InternalApiConsts.API_UPDATE_DEV_MGR_LOCK_STATS
+            );
+        }
+    }
+}
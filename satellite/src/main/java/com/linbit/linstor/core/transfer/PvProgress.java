@@ -0,0 +1,97 @@
+package com.linbit.linstor.core.transfer;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.regex.Pattern;
+
+/**
+ * Byte counting for transfers that run completely within an external pipeline (e.g. through socat), where the
+ * satellite never sees the data itself.
+ *
+ * If <code>pv</code> is installed, it is added as an additional stage of the pipeline and reports the number of bytes
+ * that passed through it on stderr. Without <code>pv</code> such transfers only report their start and end.
+ */
+public final class PvProgress
+{
+    private static final String PV = "pv";
+    private static final int INTERVAL_SECS = 5;
+
+    private static final Pattern LINE_SEPARATOR = Pattern.compile("[\r\n]+");
+    // "pv -n -b" prints nothing but the number of bytes, which fits into a long
+    private static final Pattern PV_LINE = Pattern.compile("\\d{1,18}");
+
+    private static volatile Boolean available;
+
+    private PvProgress()
+    {
+    }
+
+    /**
+     * @return <code>"pv ... | "</code> if pv is installed, otherwise an empty string
+     */
+    public static String pipeStage()
+    {
+        return isAvailable() ? PV + " -n -b -i " + INTERVAL_SECS + " | " : "";
+    }
+
+    /**
+     * Applies the lines printed by the pipe stage within a chunk of stderr to the given progress. A chunk might contain
+     * several lines, separated by <code>\n</code> or <code>\r</code>, and lines of other commands of the pipeline.
+     *
+     * @return the lines of the chunk that were not printed by pv, or an empty string if there are none
+     */
+    public static String apply(String stdErrChunk, TransferProgress progress)
+    {
+        StringBuilder otherLines = new StringBuilder();
+        long bytesDone = -1;
+        for (String line : LINE_SEPARATOR.split(stdErrChunk))
+        {
+            String trimmed = line.trim();
+            if (PV_LINE.matcher(trimmed).matches())
+            {
+                bytesDone = Long.parseLong(trimmed);
+            }
+            else
+            if (!trimmed.isEmpty())
+            {
+                if (otherLines.length() > 0)
+                {
+                    otherLines.append('\n');
+                }
+                otherLines.append(line);
+            }
+        }
+        if (bytesDone >= 0)
+        {
+            // pv prints the total number of bytes so far, only the last line of the chunk matters
+            progress.setBytesDone(bytesDone);
+        }
+        return otherLines.toString();
+    }
+
+    private static boolean isAvailable()
+    {
+        Boolean result = available;
+        if (result == null)
+        {
+            result = false;
+            String path = System.getenv("PATH");
+            if (path != null)
+            {
+                for (String dir : path.split(File.pathSeparator))
+                {
+                    Path pvPath = Paths.get(dir, PV);
+                    if (Files.isRegularFile(pvPath) && Files.isExecutable(pvPath))
+                    {
+                        result = true;
+                        break;
+                    }
+                }
+            }
+            available = result;
+        }
+        return result;
+    }
+}
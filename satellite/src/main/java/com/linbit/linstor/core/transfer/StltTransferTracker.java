@@ -0,0 +1,117 @@
+package com.linbit.linstor.core.transfer;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
+import com.linbit.linstor.api.pojo.TransferProgressPojo;
+import com.linbit.linstor.core.ControllerPeerConnector;
+import com.linbit.linstor.netcom.Peer;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps track of all running backups, snapshot shippings and clones of this satellite and periodically sends their
+ * progress to the controller.
+ *
+ * The progress of all transfers is always sent as a whole, so the controller can simply replace what it knew about
+ * this satellite. After the last transfer finished, one more (empty) update is sent.
+ */
+@Singleton
+public class StltTransferTracker
+{
+    private static final long PUSH_INTERVAL_MILLIS = 5_000;
+
+    private final ControllerPeerConnector controllerPeerConnector;
+    private final CtrlStltSerializer ctrlStltSerializer;
+
+    // protected by "this"
+    private final Set<TransferProgress> activeTransfers = new LinkedHashSet<>();
+    private boolean pushScheduled = false;
+
+    @Inject
+    public StltTransferTracker(
+        ControllerPeerConnector controllerPeerConnectorRef,
+        CtrlStltSerializer ctrlStltSerializerRef
+    )
+    {
+        controllerPeerConnector = controllerPeerConnectorRef;
+        ctrlStltSerializer = ctrlStltSerializerRef;
+    }
+
+    /**
+     * Starts reporting the given transfer. Its start time and rate are reset.
+     */
+    public void started(TransferProgress progress)
+    {
+        synchronized (this)
+        {
+            if (activeTransfers.add(progress))
+            {
+                progress.markStarted();
+                schedulePush();
+            }
+        }
+    }
+
+    /**
+     * Stops reporting the given transfer. Calling this method for a transfer that was not started or is already
+     * finished does nothing.
+     */
+    public void finished(TransferProgress progress)
+    {
+        synchronized (this)
+        {
+            if (activeTransfers.remove(progress))
+            {
+                schedulePush();
+            }
+        }
+    }
+
+    private void schedulePush()
+    {
+        // caller holds the lock of "this"
+        if (!pushScheduled)
+        {
+            pushScheduled = true;
+            Mono.delay(Duration.ofMillis(PUSH_INTERVAL_MILLIS))
+                .subscribe(ignored -> push());
+        }
+    }
+
+    private void push()
+    {
+        List<TransferProgressPojo> transfers = new ArrayList<>();
+        synchronized (this)
+        {
+            pushScheduled = false;
+            long now = System.nanoTime();
+            for (TransferProgress progress : activeTransfers)
+            {
+                transfers.add(progress.sample(now));
+            }
+            if (!activeTransfers.isEmpty())
+            {
+                schedulePush();
+            }
+        }
+        Peer ctrlPeer = controllerPeerConnector.getControllerPeer();
+        if (ctrlPeer != null && ctrlPeer.isConnected(true))
+        {
+            ctrlPeer.sendMessage(
+                ctrlStltSerializer.onewayBuilder(InternalApiConsts.API_UPDATE_TRANSFER_PROGRESS)
+                    .updateTransferProgress(transfers)
+                    .build(),
+                InternalApiConsts.API_UPDATE_TRANSFER_PROGRESS
+            );
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.linbit.linstor.core.transfer;
+
+import com.linbit.linstor.api.pojo.TransferProgressPojo;
+import com.linbit.linstor.api.pojo.TransferProgressPojo.Kind;
+
+import javax.annotation.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Byte counters of a single running backup, snapshot shipping or clone of one volume.
+ *
+ * The counters are updated by the threads moving the data, the rate is only calculated when
+ * {@link StltTransferTracker} samples the progress for the controller.
+ */
+public class TransferProgress
+{
+    // weight of the newest sample in the exponentially weighted moving average of the rate
+    private static final double RATE_SMOOTHING = 0.5;
+
+    private final Kind kind;
+    private final String rscName;
+    private final @Nullable String snapName;
+    private final int vlmNr;
+    private final @Nullable String remoteName;
+
+    private final AtomicLong bytesDone = new AtomicLong(-1);
+    private final LongAdder wireBytes = new LongAdder();
+    private volatile long bytesTotal;
+
+    // protected by "this"
+    private long startTimestamp;
+    private long lastSampleNanos;
+    private long lastSampleBytes;
+    private double bytesPerSecond;
+
+    public TransferProgress(
+        Kind kindRef,
+        String rscNameRef,
+        @Nullable String snapNameRef,
+        int vlmNrRef,
+        @Nullable String remoteNameRef,
+        long bytesTotalRef
+    )
+    {
+        kind = kindRef;
+        rscName = rscNameRef;
+        snapName = snapNameRef;
+        vlmNr = vlmNrRef;
+        remoteName = remoteNameRef;
+        bytesTotal = bytesTotalRef;
+        markStarted();
+    }
+
+    /**
+     * Adds uncompressed bytes of the data stream
+     */
+    public void addBytesDone(long count)
+    {
+        bytesDone.accumulateAndGet(count, (current, add) -> Math.max(current, 0) + add);
+    }
+
+    /**
+     * Sets the total number of uncompressed bytes processed so far, e.g. as reported by an external tool
+     */
+    public void setBytesDone(long count)
+    {
+        bytesDone.accumulateAndGet(count, Math::max);
+    }
+
+    /**
+     * Adds bytes that were sent or received over the network
+     */
+    public void addWireBytes(long count)
+    {
+        wireBytes.add(count);
+    }
+
+    public void setBytesTotal(long bytesTotalRef)
+    {
+        bytesTotal = bytesTotalRef;
+    }
+
+    public long getBytesDone()
+    {
+        return bytesDone.get();
+    }
+
+    public long getWireBytes()
+    {
+        return wireBytes.sum();
+    }
+
+    synchronized void markStarted()
+    {
+        startTimestamp = System.currentTimeMillis();
+        lastSampleNanos = System.nanoTime();
+        lastSampleBytes = 0;
+        bytesPerSecond = 0;
+    }
+
+    synchronized TransferProgressPojo sample(long nowNanos)
+    {
+        long done = bytesDone.get();
+        long wire = wireBytes.sum();
+        // the rate is based on the uncompressed data if known, otherwise on the network traffic
+        long rateBytes = done >= 0 ? done : wire;
+        long elapsedNanos = nowNanos - lastSampleNanos;
+        if (elapsedNanos > 0)
+        {
+            double currentRate = (rateBytes - lastSampleBytes) * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+            bytesPerSecond = bytesPerSecond == 0 ?
+                currentRate :
+                RATE_SMOOTHING * currentRate + (1 - RATE_SMOOTHING) * bytesPerSecond;
+            lastSampleNanos = nowNanos;
+            lastSampleBytes = rateBytes;
+        }
+        return new TransferProgressPojo(
+            kind,
+            rscName,
+            snapName,
+            vlmNr,
+            remoteName,
+            done,
+            bytesTotal,
+            wire,
+            Math.max(0, Math.round(bytesPerSecond)),
+            startTimestamp
+        );
+    }
+
+    @Override
+    public String toString()
+    {
+        return kind + " " + rscName + (snapName == null ? "" : "/" + snapName) + " volume " + vlmNr;
+    }
+}
@@ -16,12 +16,21 @@ import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import reactor.core.publisher.Mono;
+
 /**
  * Publishes DRBD events as LinStor events.
+ *
+ * During resyncs and reconnects DRBD reports many changes per resource (promotion scores, sync progress, peer
+ * replication states). Such changes are coalesced per resource and volume: the first change starts a short window and
+ * only the latest state is published when the window ends. Critical transitions, such as the first state of a resource
+ * or volume, role changes, losing access to up to date data, losing quorum or a failed disk, are published immediately.
  */
 @Singleton
 public class DrbdEventPublisher implements SystemService, ResourceObserver
@@ -30,6 +39,7 @@ public class DrbdEventPublisher implements SystemService, ResourceObserver
     private static final String INSTANCE_PREFIX = "DrbdEventPublisher-";
     private static final String SERVICE_INFO = "DrbdEventPublisher";
     private static final AtomicInteger INSTANCE_COUNT = new AtomicInteger(0);
+    private static final long COALESCE_WINDOW_MILLIS = 200;
 
     private final DrbdEventService drbdEventService;
     private final ResourceStateEvent resourceStateEvent;
@@ -39,6 +49,13 @@ public class DrbdEventPublisher implements SystemService, ResourceObserver
     private ServiceName instanceName;
     private boolean started = false;
 
+    // all of the following are protected by pendingTriggers
+    // events that are waiting for the end of their coalescing window, the latest one per resource or volume
+    private final Map<ObjectIdentifier, Runnable> pendingTriggers = new HashMap<>();
+    // the last published states, to detect critical transitions
+    private final Map<ObjectIdentifier, ResourceState> publishedRscStates = new HashMap<>();
+    private final Map<ObjectIdentifier, DiskState> publishedDiskStates = new HashMap<>();
+
     static
     {
         try
@@ -156,7 +173,14 @@ public class DrbdEventPublisher implements SystemService, ResourceObserver
     {
         if (resource.isKnownByLinstor())
         {
-            resourceStateEvent.get().closeStream(ObjectIdentifier.resourceDefinition(resource.getResName()));
+            ObjectIdentifier objId = ObjectIdentifier.resourceDefinition(resource.getResName());
+            synchronized (pendingTriggers)
+            {
+                // a pending event would re-open the stream
+                pendingTriggers.remove(objId);
+                publishedRscStates.remove(objId);
+                resourceStateEvent.get().closeStream(objId);
+            }
         }
     }
 
@@ -180,8 +204,13 @@ public class DrbdEventPublisher implements SystemService, ResourceObserver
     {
         if (connection == null && resource.isKnownByLinstor())
         {
-            volumeDiskStateEvent.get().closeStream(
-                ObjectIdentifier.volumeDefinition(resource.getResName(), volume.getVolNr()));
+            ObjectIdentifier objId = ObjectIdentifier.volumeDefinition(resource.getResName(), volume.getVolNr());
+            synchronized (pendingTriggers)
+            {
+                pendingTriggers.remove(objId);
+                publishedDiskStates.remove(objId);
+                volumeDiskStateEvent.get().closeStream(objId);
+            }
         }
     }
 
@@ -230,18 +259,84 @@ public class DrbdEventPublisher implements SystemService, ResourceObserver
 
     private void triggerResourceStateEvent(DrbdResource resource)
     {
-        resourceStateEvent.get().triggerEvent(
-            ObjectIdentifier.resourceDefinition(resource.getResName()),
-            determineResourceState(resource)
-        );
+        ObjectIdentifier objId = ObjectIdentifier.resourceDefinition(resource.getResName());
+        // determined right away, the DRBD state objects are only updated by the events thread calling us
+        ResourceState rscState = determineResourceState(resource);
+        synchronized (pendingTriggers)
+        {
+            trigger(
+                objId,
+                isCriticalTransition(publishedRscStates.get(objId), rscState),
+                () ->
+                {
+                    publishedRscStates.put(objId, rscState);
+                    resourceStateEvent.get().triggerEvent(objId, rscState);
+                }
+            );
+        }
     }
 
     private void triggerVolumeDiskStateEvent(DrbdResource resource, DrbdVolume volume)
     {
-        volumeDiskStateEvent.get().triggerEvent(
-            ObjectIdentifier.volumeDefinition(resource.getResName(), volume.getVolNr()),
-            volume.diskStateInfo()
-        );
+        ObjectIdentifier objId = ObjectIdentifier.volumeDefinition(resource.getResName(), volume.getVolNr());
+        DiskState diskState = volume.getDiskState();
+        String diskStateInfo = volume.diskStateInfo();
+        synchronized (pendingTriggers)
+        {
+            DiskState prevDiskState = publishedDiskStates.get(objId);
+            trigger(
+                objId,
+                prevDiskState == null ||
+                    (diskState != prevDiskState && (diskState == DiskState.FAILED || diskState == DiskState.DISKLESS)),
+                () ->
+                {
+                    publishedDiskStates.put(objId, diskState);
+                    volumeDiskStateEvent.get().triggerEvent(objId, diskStateInfo);
+                }
+            );
+        }
+    }
+
+    /**
+     * Publishes the event immediately if it is critical, otherwise when the coalescing window of the object ends.
+     * Must be called while holding the lock of {@link #pendingTriggers}.
+     */
+    private void trigger(ObjectIdentifier objId, boolean critical, Runnable publish)
+    {
+        if (critical)
+        {
+            // the pending event is outdated
+            pendingTriggers.remove(objId);
+            publish.run();
+        }
+        else
+        if (pendingTriggers.put(objId, publish) == null)
+        {
+            Mono.delay(Duration.ofMillis(COALESCE_WINDOW_MILLIS))
+                .subscribe(ignored -> publishPending(objId));
+        }
+    }
+
+    private void publishPending(ObjectIdentifier objId)
+    {
+        synchronized (pendingTriggers)
+        {
+            Runnable publish = pendingTriggers.remove(objId);
+            if (publish != null)
+            {
+                publish.run();
+            }
+        }
+    }
+
+    private static boolean isCriticalTransition(@Nullable ResourceState prevState, ResourceState rscState)
+    {
+        return prevState == null ||
+            !Objects.equals(prevState.getInUse(), rscState.getInUse()) ||
+            !Objects.equals(prevState.hasAccessToUpToDateData(), rscState.hasAccessToUpToDateData()) ||
+            (Boolean.TRUE.equals(prevState.getUpToDate()) && !Boolean.TRUE.equals(rscState.getUpToDate())) ||
+            // DRBD does not allow promoting a resource that lost quorum
+            (Boolean.TRUE.equals(prevState.mayPromote()) && Boolean.FALSE.equals(rscState.mayPromote()));
     }
 
     private ResourceState determineResourceState(DrbdResource drbdResource)
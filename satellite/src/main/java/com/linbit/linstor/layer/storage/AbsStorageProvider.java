@@ -13,6 +13,7 @@ import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.SpaceInfo;
 import com.linbit.linstor.backupshipping.AbsBackupShippingService;
 import com.linbit.linstor.backupshipping.BackupShippingMgr;
+import com.linbit.linstor.clone.BlockCopyJob;
 import com.linbit.linstor.clone.CloneService;
 import com.linbit.linstor.core.StltConfigAccessor;
 import com.linbit.linstor.core.apicallhandler.StltExtToolsChecker;
@@ -1829,6 +1830,15 @@ public abstract class AbsStorageProvider<INFO, LAYER_DATA extends AbsStorageVlmD
         return null;
     }
 
+    /**
+     * Providers returning a copy job here are cloned by the satellite itself, {@link #getCloneCommand} is only used
+     * if this method returns null.
+     */
+    public @Nullable BlockCopyJob getCloneCopyJob(CloneService.CloneInfo cloneInfo) throws StorageException
+    {
+        return null;
+    }
+
     public void doCloneCleanup(CloneService.CloneInfo cloneInfo) throws StorageException
     {
     }
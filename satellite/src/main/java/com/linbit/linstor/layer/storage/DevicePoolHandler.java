@@ -87,6 +87,11 @@ public class DevicePoolHandler
             errorReporter.reportError(storExc);
             apiCallRc.addEntry(ApiCallRcImpl.copyFromLinstorExc(ApiConsts.FAIL_UNKNOWN_ERROR, storExc));
         }
+        finally
+        {
+            // the VDO volume is not created through LvmCommands
+            LvmUtils.clearCache();
+        }
         return vdoDevicePath;
     }
 
@@ -551,7 +551,7 @@ public class FileProvider extends AbsStorageProvider<FileInfo, FileData<Resource
             );
         }
 
-        // queries losetup, not ls
+        // queries the loop devices (sysfs or losetup), not ls
         Map<String, FileInfo> infoList = FileProviderUtils.getInfoList(
             extCmdFactory.create(),
             path -> getAllocatedSizeFileImpl(extCmdFactory.create(), path)
@@ -603,7 +603,16 @@ public class FileProvider extends AbsStorageProvider<FileInfo, FileData<Resource
 
     protected long getAllocatedSizeFileImpl(ExtCmd extCmd, String pathRef) throws StorageException
     {
-        return StltProviderUtils.getAllocatedSize(pathRef, extCmd);
+        Long size = FileProviderUtils.getLoopDeviceSize(pathRef);
+        return size == null ? StltProviderUtils.getAllocatedSize(pathRef, extCmd) : size;
+    }
+
+    @Override
+    protected long getAllocatedSize(FileData<Resource> fileData) throws StorageException
+    {
+        String devicePath = fileData.exists() ? fileData.getDevicePath() : null;
+        Long size = devicePath == null ? null : FileProviderUtils.getLoopDeviceSize(devicePath);
+        return size == null ? super.getAllocatedSize(fileData) : size;
     }
 
     @Override
@@ -670,8 +679,8 @@ public class FileProvider extends AbsStorageProvider<FileInfo, FileData<Resource
     public SpaceInfo getSpaceInfo(StorPool storPool) throws StorageException, AccessDeniedException
     {
         Path dir = getStorageDirectory(storPool);
-        long capacity = FileProviderUtils.getPoolCapacity(extCmdFactory.create(), dir);
-        long freeSpace = FileProviderUtils.getFreeSpace(extCmdFactory.create(), dir);
+        long capacity = FileProviderUtils.getPoolCapacity(dir);
+        long freeSpace = FileProviderUtils.getFreeSpace(dir);
         return SpaceInfo.buildOrThrowOnError(capacity, freeSpace, storPool);
     }
 
@@ -752,7 +761,7 @@ public class FileProvider extends AbsStorageProvider<FileInfo, FileData<Resource
         String dirStr = props.getProp(StorageConstants.CONFIG_FILE_DIRECTORY_KEY);
         Path storageDirectory = Paths.get(dirStr);
 
-        String dev = FileProviderUtils.getSourceDevice(extCmdFactory.create(), storageDirectory);
+        String dev = FileProviderUtils.getSourceDevice(storageDirectory);
         if (PmemUtils.supportsDax(extCmdFactory.create(), dev))
         {
             storPool.setPmem(true);
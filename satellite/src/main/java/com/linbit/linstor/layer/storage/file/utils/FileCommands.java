@@ -110,53 +110,6 @@ public class FileCommands
         );
     }
 
-    public static OutputData getTotalCapacity(ExtCmd extCmd, Path storageDirectory)
-        throws StorageException
-    {
-        return genericExecutor(
-            extCmd,
-            new String[] {
-                "df",
-                "-B", "1", // in bytes
-                "--output=size",
-                storageDirectory.toString()
-            },
-            "Failed to fetch pool capacity",
-            "Failed to fetch capacity of storage pool '" + storageDirectory + "'"
-        );
-    }
-
-    public static OutputData getFreeSpace(ExtCmd extCmd, Path storageDirectory)
-        throws StorageException
-    {
-        return genericExecutor(
-            extCmd,
-            new String[] {
-                "df",
-                "-B", "1", // in bytes
-                "--output=avail",
-                storageDirectory.toString()
-            },
-            "Failed to fetch pool free space",
-            "Failed to fetch free space of storage pool '" + storageDirectory + "'"
-        );
-    }
-
-    public static OutputData getSourceDevice(ExtCmd extCmd, Path storageDirectoryRef)
-        throws StorageException
-    {
-        return genericExecutor(
-            extCmd,
-            new String[] {
-                "df",
-                "--output=source",
-                storageDirectoryRef.toString()
-            },
-            null,
-            null
-        );
-    }
-
     public static OutputData getAllocatedThinSize(ExtCmd extCmd, String storagePathRef) throws StorageException
     {
         return genericExecutor(
@@ -11,6 +11,12 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
@@ -23,6 +29,15 @@ import java.util.TreeMap;
  */
 public class FileProviderUtils
 {
+    private static final Path SYS_BLOCK_DIR = Paths.get("/sys/block");
+    private static final String SYS_LOOP_BACKING_FILE = "loop/backing_file";
+    private static final String SYS_SIZE = "size";
+    private static final String LOOP_DEV_PREFIX = "loop";
+    private static final String DEV_DIR = "/dev/";
+    private static final String DELETED_SUFFIX = " (deleted)";
+    // sysfs reports the size in 512 byte sectors, regardless of the logical block size of the device
+    private static final long SECTOR_SIZE = 512;
+
     private FileProviderUtils()
     {
     }
@@ -70,9 +85,75 @@ public class FileProviderUtils
     )
         throws StorageException
     {
-        OutputData outputData = LosetupCommands.list(extCmd);
+        Map<String, String> loopDevices = listLoopDevices(SYS_BLOCK_DIR);
+        if (loopDevices == null)
+        {
+            loopDevices = listLoopDevicesLosetup(extCmd);
+        }
 
         final Map<String, FileInfo> ret = new HashMap<>();
+        for (Map.Entry<String, String> entry : loopDevices.entrySet())
+        {
+            ret.put(
+                entry.getKey(),
+                new FileInfo(
+                    Paths.get(entry.getValue()),
+                    Paths.get(entry.getKey()),
+                    allocatedSizeGetter
+                )
+            );
+        }
+        return ret;
+    }
+
+    /**
+     * Reads the loop devices and their backing files from sysfs, which is what losetup does as well.
+     *
+     * Returns null if sysfs is not available or if a backing file is not visible under the path the kernel reports,
+     * i.e. when running in a container with a different mount namespace. In that case losetup has to be used, as
+     * only a losetup wrapper (see losetup-container) can translate these paths.
+     *
+     * @return Map&lt;backing file, loop device path&gt;
+     */
+    static @Nullable Map<String, String> listLoopDevices(Path sysBlockDir)
+    {
+        Map<String, String> ret = new TreeMap<>();
+        try (DirectoryStream<Path> devices = Files.newDirectoryStream(sysBlockDir, LOOP_DEV_PREFIX + "*"))
+        {
+            for (Path device : devices)
+            {
+                Path backingFileEntry = device.resolve(SYS_LOOP_BACKING_FILE);
+                if (Files.exists(backingFileEntry))
+                {
+                    String backingFile = new String(Files.readAllBytes(backingFileEntry), StandardCharsets.UTF_8)
+                        .trim();
+                    boolean deleted = backingFile.endsWith(DELETED_SUFFIX);
+                    if (deleted)
+                    {
+                        backingFile = backingFile.substring(0, backingFile.length() - DELETED_SUFFIX.length());
+                    }
+                    if (!deleted && !Files.exists(Paths.get(backingFile)))
+                    {
+                        ret = null;
+                        break;
+                    }
+                    ret.put(backingFile, DEV_DIR + device.getFileName());
+                }
+                // else: loop device is not attached
+            }
+        }
+        catch (IOException | DirectoryIteratorException exc)
+        {
+            ret = null;
+        }
+        return ret;
+    }
+
+    private static Map<String, String> listLoopDevicesLosetup(ExtCmd extCmd) throws StorageException
+    {
+        OutputData outputData = LosetupCommands.list(extCmd);
+
+        final Map<String, String> ret = new TreeMap<>();
         final String stdOut = new String(outputData.stdoutData);
         if (!stdOut.trim().isEmpty())
         {
@@ -86,11 +167,7 @@ public class FileProviderUtils
                 {
                     ret.put(
                         data[LosetupCommands.LOSETUP_LIST_BACK_FILE_IDX],
-                        new FileInfo(
-                            Paths.get(data[LosetupCommands.LOSETUP_LIST_DEV_NAME_IDX]),
-                            Paths.get(data[LosetupCommands.LOSETUP_LIST_BACK_FILE_IDX]),
-                            allocatedSizeGetter
-                        )
+                        data[LosetupCommands.LOSETUP_LIST_DEV_NAME_IDX]
                     );
                 }
             }
@@ -98,6 +175,36 @@ public class FileProviderUtils
         return ret;
     }
 
+    /**
+     * Returns the size of the given loop device in KiB, the same as <code>blockdev --getsize64</code>, or null if
+     * the size is not available in sysfs.
+     */
+    public static @Nullable Long getLoopDeviceSize(String loopDevicePath)
+    {
+        return getLoopDeviceSize(SYS_BLOCK_DIR, loopDevicePath);
+    }
+
+    static @Nullable Long getLoopDeviceSize(Path sysBlockDir, String loopDevicePath)
+    {
+        Long ret = null;
+        Path devName = Paths.get(loopDevicePath).getFileName();
+        if (devName != null && devName.toString().startsWith(LOOP_DEV_PREFIX))
+        {
+            try
+            {
+                String sectors = new String(
+                    Files.readAllBytes(sysBlockDir.resolve(devName).resolve(SYS_SIZE)),
+                    StandardCharsets.UTF_8
+                ).trim();
+                ret = SizeConv.convert(Long.parseLong(sectors) * SECTOR_SIZE, SizeUnit.UNIT_B, SizeUnit.UNIT_KiB);
+            }
+            catch (IOException | NumberFormatException ignored)
+            {
+                // not available, the caller has to ask blockdev
+            }
+        }
+        return ret;
+    }
 
     public static Map<String, Long> getDirFreeSizes(Set<String> changedStoragePoolStringsRef)
     {
@@ -147,35 +254,66 @@ public class FileProviderUtils
         );
     }
 
-    public static long getPoolCapacity(ExtCmd extCmd, Path storageDirectoryRef) throws StorageException
+    /**
+     * Returns the size of the file system of the given directory in KiB, the same as <code>df --output=size</code>
+     */
+    public static long getPoolCapacity(Path storageDirectoryRef) throws StorageException
     {
-        return parseSimpleDfOutputAsLong(FileCommands.getTotalCapacity(extCmd, storageDirectoryRef));
-    }
-
-    public static long getFreeSpace(ExtCmd extCmd, Path storageDirectoryRef) throws StorageException
-    {
-        return parseSimpleDfOutputAsLong(FileCommands.getFreeSpace(extCmd, storageDirectoryRef));
+        try
+        {
+            return SizeConv.convert(
+                getFileStore(storageDirectoryRef).getTotalSpace(),
+                SizeUnit.UNIT_B,
+                SizeUnit.UNIT_KiB
+            );
+        }
+        catch (IOException exc)
+        {
+            throw new StorageException("Failed to fetch capacity of storage pool '" + storageDirectoryRef + "'", exc);
+        }
     }
 
-    public static String getSourceDevice(ExtCmd extCmd, Path storageDirectoryRef) throws StorageException
+    /**
+     * Returns the space of the file system of the given directory in KiB that is available for unprivileged users,
+     * the same as <code>df --output=avail</code>
+     */
+    public static long getFreeSpace(Path storageDirectoryRef) throws StorageException
     {
-        return parseSimpleDfOutputAsString(FileCommands.getSourceDevice(extCmd, storageDirectoryRef));
+        try
+        {
+            return SizeConv.convert(
+                getFileStore(storageDirectoryRef).getUsableSpace(),
+                SizeUnit.UNIT_B,
+                SizeUnit.UNIT_KiB
+            );
+        }
+        catch (IOException exc)
+        {
+            throw new StorageException("Failed to fetch free space of storage pool '" + storageDirectoryRef + "'", exc);
+        }
     }
 
-    private static long parseSimpleDfOutputAsLong(OutputData outputData)
+    /**
+     * Returns the device the file system of the given directory is mounted from, the same as
+     * <code>df --output=source</code>
+     */
+    public static String getSourceDevice(Path storageDirectoryRef) throws StorageException
     {
-        String sizeStr = parseSimpleDfOutputAsString(outputData);
-        return SizeConv.convert(
-            Long.parseLong(sizeStr),
-            SizeUnit.UNIT_B,
-            SizeUnit.UNIT_KiB
-        );
+        try
+        {
+            return getFileStore(storageDirectoryRef).name();
+        }
+        catch (IOException exc)
+        {
+            throw new StorageException(
+                "Failed to fetch source device of storage pool '" + storageDirectoryRef + "'",
+                exc
+            );
+        }
     }
 
-    private static String parseSimpleDfOutputAsString(OutputData outputData)
+    private static FileStore getFileStore(Path storageDirectoryRef) throws IOException
     {
-        String outStr = new String(outputData.stdoutData);
-        String data = outStr.split("\n")[1]; // [0] is the header
-        return data.trim();
+        return Files.getFileStore(storageDirectoryRef);
     }
 }
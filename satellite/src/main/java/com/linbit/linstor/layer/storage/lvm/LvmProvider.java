@@ -1,12 +1,15 @@
 package com.linbit.linstor.layer.storage.lvm;
 
 import com.linbit.ImplementationError;
+import com.linbit.SizeConv;
+import com.linbit.SizeConv.SizeUnit;
 import com.linbit.extproc.ExtCmdFactoryStlt;
 import com.linbit.linstor.PriorityProps;
 import com.linbit.linstor.annotation.DeviceManagerContext;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.SpaceInfo;
 import com.linbit.linstor.backupshipping.BackupShippingMgr;
+import com.linbit.linstor.clone.BlockCopyJob;
 import com.linbit.linstor.clone.CloneService;
 import com.linbit.linstor.core.StltConfigAccessor;
 import com.linbit.linstor.core.apicallhandler.StltExtToolsChecker;
@@ -55,6 +58,7 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 
 import java.io.File;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -853,20 +857,17 @@ public class LvmProvider extends AbsStorageProvider<LvsInfo, LvmData<Resource>,
     }
 
     @Override
-    public String[] getCloneCommand(CloneService.CloneInfo cloneInfo)
+    public BlockCopyJob getCloneCopyJob(CloneService.CloneInfo cloneInfo)
     {
         LvmData<Resource> srcData = (LvmData<Resource>) cloneInfo.getSrcVlmData();
         LvmData<Resource> dstData = (LvmData<Resource>) cloneInfo.getDstVlmData();
         final String srcFullSnapshotName = getCloneSnapshotNameFull(srcData, dstData, "_");
 
-        return new String[]
-            {
-                "dd",
-                "if=" + getDevicePath(srcData.getVolumeGroup(), srcFullSnapshotName),
-                "of=" + getDevicePath(dstData.getVolumeGroup(), asLvIdentifier(dstData)),
-                "bs=64k", // According to the internet this seems currently to be a better default
-                "conv=fsync"
-            };
+        return new BlockCopyJob(
+            Paths.get(getDevicePath(srcData.getVolumeGroup(), srcFullSnapshotName)),
+            Paths.get(getDevicePath(dstData.getVolumeGroup(), asLvIdentifier(dstData))),
+            SizeConv.convert(srcData.getAllocatedSize(), SizeUnit.UNIT_KiB, SizeUnit.UNIT_B)
+        );
     }
 
     @Override
@@ -6,6 +6,7 @@ import com.linbit.extproc.ExtCmdFactoryStlt;
 import com.linbit.linstor.annotation.DeviceManagerContext;
 import com.linbit.linstor.api.SpaceInfo;
 import com.linbit.linstor.backupshipping.BackupShippingMgr;
+import com.linbit.linstor.clone.BlockCopyJob;
 import com.linbit.linstor.clone.CloneService;
 import com.linbit.linstor.core.StltConfigAccessor;
 import com.linbit.linstor.core.apicallhandler.StltExtToolsChecker;
@@ -37,6 +38,7 @@ import com.linbit.linstor.storage.kinds.DeviceProviderKind;
 import com.linbit.linstor.storage.utils.MkfsUtils;
 import com.linbit.linstor.transaction.manager.TransactionMgr;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Singleton;
@@ -588,6 +590,13 @@ public class LvmThinProvider extends LvmProvider
             this);
     }
 
+    @Override
+    public @Nullable BlockCopyJob getCloneCopyJob(CloneService.CloneInfo cloneInfo)
+    {
+        // the clone is a thin snapshot, nothing to copy
+        return null;
+    }
+
     @Override
     public String[] getCloneCommand(CloneService.CloneInfo cloneInfo) {
         // LVM_THIN doesn't have a long run operation, but it is vital that the device manager runs
@@ -8,6 +8,7 @@ import com.linbit.linstor.storage.StorageException;
 import com.linbit.linstor.storage.kinds.RaidLevel;
 import com.linbit.linstor.storage.utils.Commands;
 import com.linbit.linstor.storage.utils.Commands.RetryHandler;
+import com.linbit.utils.ExceptionThrowingSupplier;
 
 import static com.linbit.linstor.storage.utils.Commands.genericExecutor;
 
@@ -30,16 +31,6 @@ public class LvmCommands
      */
     private static final String LVM_CONF_IGNORE_DRBD_DEVICES = "devices { filter=[\"r|^/dev/drbd.*|\"] }";
 
-    public static final int LVS_COL_IDENTIFIER = 0;
-    public static final int LVS_COL_PATH = 1;
-    public static final int LVS_COL_SIZE = 2;
-    public static final int LVS_COL_VG = 3;
-    public static final int LVS_COL_POOL_LV = 4;
-    public static final int LVS_COL_DATA_PERCENT = 5;
-    public static final int LVS_COL_ATTRIBUTES = 6;
-    public static final int LVS_COL_METADATA_PERCENT = 7;
-    public static final int LVS_COL_CHUNK_SIZE = 8;
-
     public static final String LVM_TAG_CLONE_SNAPSHOT = "linstor_clone_snapshot";
 
     private static String[] buildCmd(
@@ -79,7 +70,25 @@ public class LvmCommands
         return cmdArr;
     }
 
-    public static OutputData lvs(ExtCmd extCmd, Set<String> volumeGroups, String lvmConfig) throws StorageException
+    /**
+     * Runs a command that modifies LVM and discards the cached {@link LvmReport} afterwards, also if the command
+     * failed, since it might have modified LVM partially.
+     */
+    private static OutputData modifyingExecutor(ExceptionThrowingSupplier<OutputData, StorageException> executor)
+        throws StorageException
+    {
+        try
+        {
+            return executor.supply();
+        }
+        finally
+        {
+            LvmUtils.clearCache();
+        }
+    }
+
+    public static OutputData lvsReport(ExtCmd extCmd, Set<String> volumeGroups, String lvmConfig)
+        throws StorageException
     {
         return genericExecutor(
             extCmd.setSaveWithoutSharedLocks(true),
@@ -88,8 +97,7 @@ public class LvmCommands
                 lvmConfig,
                 volumeGroups,
                 "-o", "lv_name,lv_path,lv_size,vg_name,pool_lv,data_percent,lv_attr,metadata_percent,chunk_size",
-                "--separator", LvmUtils.DELIMITER,
-                "--noheadings",
+                "--reportformat", "json",
                 "--units", "k",
                 "--nosuffix"
             ),
@@ -99,7 +107,7 @@ public class LvmCommands
         );
     }
 
-    public static OutputData getExtentSize(ExtCmd extCmd, Set<String> volumeGroups, String lvmConfig)
+    public static OutputData vgsReport(ExtCmd extCmd, Set<String> volumeGroups, String lvmConfig)
         throws StorageException
     {
         return genericExecutor(
@@ -108,14 +116,13 @@ public class LvmCommands
                 "vgs",
                 lvmConfig,
                 volumeGroups,
-                "-o", "vg_name,vg_extent_size",
-                "--separator", LvmUtils.DELIMITER,
+                "-o", "vg_name,vg_extent_size,vg_size,vg_free",
+                "--reportformat", "json",
                 "--units", "k",
-                "--noheadings",
                 "--nosuffix"
             ),
-            "Failed to query lvm extent size",
-            "Failed to query extent size of volume group(s) " + volumeGroups,
+            "Failed to query volume group info",
+            "Failed to query 'vgs' info of volume group(s) " + volumeGroups,
             Commands.SKIP_EXIT_CODE_CHECK
         );
     }
@@ -130,7 +137,7 @@ public class LvmCommands
     )
         throws StorageException
     {
-        return genericExecutor(
+        return modifyingExecutor(() -> genericExecutor(
             extCmd.setSaveWithoutSharedLocks(false),
             buildCmd(
                 "lvcreate",
@@ -144,7 +151,7 @@ public class LvmCommands
             "Failed to create lvm volume",
             "Failed to create new lvm volume '" + vlmId + "' in volume group '" + volumeGroup +
                 "' with size " + size + "kb"
-        );
+        ));
     }
 
     public static OutputData createThinPool(
@@ -156,7 +163,7 @@ public class LvmCommands
     )
         throws StorageException
     {
-        return genericExecutor(
+        return modifyingExecutor(() -> genericExecutor(
             extCmd.setSaveWithoutSharedLocks(false),
             buildCmd(
                 "lvcreate",
@@ -169,7 +176,7 @@ public class LvmCommands
             ),
             "Failed to create lvm volume",
             "Failed to create new lvm thin pool in volume group '" + volumeGroupFull + "'"
-        );
+        ));
     }
 
     public static OutputData createThin(
@@ -183,7 +190,7 @@ public class LvmCommands
     )
         throws StorageException
     {
-        return genericExecutor(
+        return modifyingExecutor(() -> genericExecutor(
             extCmd.setSaveWithoutSharedLocks(false),
             buildCmd(
                 "lvcreate",
@@ -197,7 +204,7 @@ public class LvmCommands
             "Failed to create lvm volume",
             "Failed to create new lvm volume '" + vlmId + "' in volume group '" + volumeGroup +
             "' with size " + size + "kb"
-        );
+        ));
     }
 
     public static OutputData delete(
@@ -209,7 +216,7 @@ public class LvmCommands
     )
         throws StorageException
     {
-        return genericExecutor(
+        return modifyingExecutor(() -> genericExecutor(
             extCmd.setSaveWithoutSharedLocks(false),
             buildCmd(
                 "lvremove",
@@ -221,13 +228,13 @@ public class LvmCommands
             "Failed to delete lvm " + type.descr,
             "Failed to delete lvm " + type.descr + " '" + vlmId + "' from volume group '" + volumeGroup,
             new RetryIfDeviceBusy()
-        );
+        ));
     }
 
     public static OutputData resize(ExtCmd extCmd, String volumeGroup, String vlmId, long size, String lvmConfig)
         throws StorageException
     {
-        return genericExecutor(
+        return modifyingExecutor(() -> genericExecutor(
             extCmd.setSaveWithoutSharedLocks(false),
             buildCmd(
                 "lvresize",
@@ -239,7 +246,7 @@ public class LvmCommands
             ),
             "Failed to resize lvm volume",
             "Failed to resize lvm volume '" + vlmId + "' in volume group '" + volumeGroup + "' to size " + size
-        );
+        ));
     }
 
     public static OutputData rename(
@@ -251,7 +258,7 @@ public class LvmCommands
     )
         throws StorageException
     {
-        return genericExecutor(
+        return modifyingExecutor(() -> genericExecutor(
             extCmd.setSaveWithoutSharedLocks(false),
             buildCmd(
                 "lvrename",
@@ -285,7 +292,7 @@ public class LvmCommands
                     return skip;
                 }
             }
-        );
+        ));
     }
 
     public static OutputData createSnapshot(
@@ -301,7 +308,7 @@ public class LvmCommands
     {
         String failMsg = "Failed to create snapshot " + snapshotIdentifier + " from " + identifier +
             " within volume group " + volumeGroup;
-        return genericExecutor(
+        return modifyingExecutor(() -> genericExecutor(
             extCmd.setSaveWithoutSharedLocks(false),
             buildCmd(
                 "lvcreate",
@@ -317,7 +324,7 @@ public class LvmCommands
             ),
             failMsg,
             failMsg
-        );
+        ));
     }
 
     public static OutputData createSnapshotThin(
@@ -333,7 +340,7 @@ public class LvmCommands
     {
         String failMsg = "Failed to create snapshot " + snapshotIdentifier + " from " + identifier +
             " within thin volume group " + volumeGroup + File.separator + thinPool;
-        return genericExecutor(
+        return modifyingExecutor(() -> genericExecutor(
             extCmd.setSaveWithoutSharedLocks(false),
             buildCmd(
                 "lvcreate",
@@ -348,7 +355,7 @@ public class LvmCommands
             ),
             failMsg,
             failMsg
-        );
+        ));
     }
 
     public static OutputData restoreFromSnapshot(
@@ -363,7 +370,7 @@ public class LvmCommands
     {
         String failMsg = "Failed to restore snapshot " + sourceLvIdWithSnapName +
             " into new volume " + volumeGroup + File.separator + targetId;
-        return genericExecutor(
+        return modifyingExecutor(() -> genericExecutor(
             extCmd.setSaveWithoutSharedLocks(false),
             buildCmd(
                 "lvcreate",
@@ -375,7 +382,7 @@ public class LvmCommands
             ),
             failMsg,
             failMsg
-        );
+        ));
     }
 
     public static OutputData rollbackToSnapshot(
@@ -386,7 +393,7 @@ public class LvmCommands
     )
         throws StorageException
     {
-        return genericExecutor(
+        return modifyingExecutor(() -> genericExecutor(
             extCmd.setSaveWithoutSharedLocks(false),
             buildCmd(
                 "lvconvert",
@@ -397,98 +404,14 @@ public class LvmCommands
             ),
             "Failed to rollback to snapshot " + volumeGroup + File.separator + sourceResource,
             "Failed to rollback to snapshot " + volumeGroup + File.separator + sourceResource
-        );
-    }
-
-    public static OutputData getVgTotalSize(ExtCmd extCmd, Set<String> volumeGroups, String lvmConfig)
-        throws StorageException
-    {
-        return genericExecutor(
-            extCmd.setSaveWithoutSharedLocks(true),
-            buildCmd(
-                "vgs",
-                lvmConfig,
-                volumeGroups,
-               "-o", "vg_name,vg_size",
-                "--units", "k",
-                "--separator", LvmUtils.DELIMITER,
-                "--noheadings",
-                "--nosuffix"
-            ),
-            "Failed to query total size of volume group(s) " + volumeGroups,
-            "Failed to query total size of volume group(s) " + volumeGroups,
-            Commands.SKIP_EXIT_CODE_CHECK
-        );
-    }
-
-    public static OutputData getVgFreeSize(ExtCmd extCmd, Set<String> volumeGroups, String lvmConfig)
-        throws StorageException
-    {
-        return genericExecutor(
-            extCmd.setSaveWithoutSharedLocks(true),
-            buildCmd(
-                "vgs",
-                lvmConfig,
-                volumeGroups,
-                "-o", "vg_name,vg_free",
-                "--units", "k",
-                "--separator", LvmUtils.DELIMITER,
-                "--noheadings",
-                "--nosuffix"
-            ),
-            "Failed to query free size of volume group(s) " + volumeGroups,
-            "Failed to query free size of volume group(s) " + volumeGroups,
-            Commands.SKIP_EXIT_CODE_CHECK
-        );
-    }
-
-    public static OutputData getVgThinTotalSize(ExtCmd extCmd, Set<String> volumeGroups, String lvmConfig)
-        throws StorageException
-    {
-        return genericExecutor(
-            extCmd.setSaveWithoutSharedLocks(true),
-            buildCmd(
-                "lvs",
-                lvmConfig,
-                volumeGroups,
-                "-o", "lv_name,lv_size",
-                "--units", "k",
-                "--separator", LvmUtils.DELIMITER,
-                "--noheadings",
-                "--nosuffix"
-            ),
-            "Failed to query total size of volume group(s) " + volumeGroups,
-            "Failed to query total size of volume group(s) " + volumeGroups,
-            Commands.SKIP_EXIT_CODE_CHECK
-        );
-    }
-
-    public static OutputData getVgThinFreeSize(ExtCmd extCmd, Set<String> volumeGroups, String lvmConfig)
-        throws StorageException
-    {
-        return genericExecutor(
-            extCmd.setSaveWithoutSharedLocks(true),
-            buildCmd(
-                "vgs",
-                lvmConfig,
-                volumeGroups,
-                "-o", "lv_name,lv_size,data_percent",
-                "--units", "b", // intentionally not "k" as usual
-                "--separator", LvmUtils.DELIMITER,
-                "--noheadings",
-                "--nosuffix"
-            ),
-            "Failed to query free size of volume group(s) " + volumeGroups,
-            "Failed to query free size of volume group(s) " + volumeGroups,
-            Commands.SKIP_EXIT_CODE_CHECK
-        );
+        ));
     }
 
     public static OutputData activateVolume(ExtCmd extCmd, String volumeGroup, String targetId, String lvmConfig)
         throws StorageException
     {
         String failMsg = "Failed to activate volume " + volumeGroup + File.separator + targetId;
-        return genericExecutor(
+        return modifyingExecutor(() -> genericExecutor(
             extCmd.setSaveWithoutSharedLocks(false),
             buildCmd(
                 "lvchange",
@@ -501,14 +424,14 @@ public class LvmCommands
             ),
             failMsg,
             failMsg
-        );
+        ));
     }
 
     public static OutputData deactivateVolume(ExtCmd extCmd, String volumeGroup, String targetId, String lvmConfig)
         throws StorageException
     {
         String failMsg = "Failed to deactivate volume " + volumeGroup + File.separator + targetId;
-        return genericExecutor(
+        return modifyingExecutor(() -> genericExecutor(
             extCmd.setSaveWithoutSharedLocks(false),
             buildCmd(
                 "lvchange",
@@ -519,7 +442,7 @@ public class LvmCommands
             ),
             failMsg,
             failMsg
-        );
+        ));
     }
 
     public static OutputData addTag(
@@ -527,7 +450,7 @@ public class LvmCommands
         throws StorageException
     {
         String failMsg = "Failed to set tag on volume " + volumeGroup + File.separator + targetId;
-        return genericExecutor(
+        return modifyingExecutor(() -> genericExecutor(
             extCmd.setSaveWithoutSharedLocks(false),
             buildCmd(
                 "lvchange",
@@ -538,14 +461,14 @@ public class LvmCommands
             ),
             failMsg,
             failMsg
-        );
+        ));
     }
 
     public static OutputData activateZero(ExtCmdFactory extCmdFactory, String vlmGrp, String thinPool, String lvmConfig)
         throws StorageException
     {
         String failMsg = "Failed to activate --zero y on thin pool: " + vlmGrp + "/" + thinPool;
-        return genericExecutor(
+        return modifyingExecutor(() -> genericExecutor(
             extCmdFactory.create().setSaveWithoutSharedLocks(false),
             buildCmd(
                 "lvchange",
@@ -554,7 +477,7 @@ public class LvmCommands
             "--zero",
             "y",
             vlmGrp + File.separator + thinPool
-        ), failMsg, failMsg);
+        ), failMsg, failMsg));
     }
 
     public static OutputData listExistingVolumeGroups(ExtCmd extCmd, String lvmConfig) throws StorageException
@@ -577,7 +500,7 @@ public class LvmCommands
     public static OutputData pvCreate(ExtCmd extCmd, String devicePath, String lvmConfig) throws StorageException
     {
         final String failMsg = "Failed to pvcreate on device: " + devicePath;
-        return genericExecutor(
+        return modifyingExecutor(() -> genericExecutor(
             extCmd.setSaveWithoutSharedLocks(false),
             buildCmd(
                 "pvcreate",
@@ -587,7 +510,7 @@ public class LvmCommands
             ),
             failMsg,
             failMsg
-        );
+        ));
     }
 
     public static OutputData pvRemove(ExtCmd extCmd, Collection<String> devicePaths, String lvmConfig)
@@ -595,7 +518,7 @@ public class LvmCommands
     {
         // no lvm config for pvremove!
         final String failMsg = "Failed to pvremove on device(s): " + String.join(", ", devicePaths);
-        return genericExecutor(
+        return modifyingExecutor(() -> genericExecutor(
             extCmd.setSaveWithoutSharedLocks(false),
             buildCmd(
                 "pvremove",
@@ -604,7 +527,7 @@ public class LvmCommands
             ),
             failMsg,
             failMsg
-        );
+        ));
     }
 
     public static OutputData vgCreate(
@@ -618,7 +541,7 @@ public class LvmCommands
     {
         // no lvm config for vgcreate!
         final String failMsg = "Failed to vgcreate on device(s): " + String.join(" ", devicePaths);
-        return genericExecutor(
+        return modifyingExecutor(() -> genericExecutor(
             extCmd.setSaveWithoutSharedLocks(false),
             buildCmd(
                 "vgcreate",
@@ -628,7 +551,7 @@ public class LvmCommands
             ),
             failMsg,
             failMsg
-        );
+        ));
     }
 
     public static OutputData listPhysicalVolumes(ExtCmd extCmdRef, String volumeGroupRef, String lvmConfig)
@@ -662,7 +585,7 @@ public class LvmCommands
     {
         // no lvm config for vgremove!
         final String failMsg = "Failed to vgremove on volume group: " + vgName;
-        return genericExecutor(
+        return modifyingExecutor(() -> genericExecutor(
             extCmd.setSaveWithoutSharedLocks(false),
             buildCmd(
                 "vgremove",
@@ -672,7 +595,7 @@ public class LvmCommands
             ),
             failMsg,
             failMsg
-        );
+        ));
     }
 
     public static OutputData vgscan(ExtCmd extCmd, boolean ignoreCache) throws StorageException
@@ -0,0 +1,263 @@
+package com.linbit.linstor.layer.storage.lvm.utils;
+
+import com.linbit.extproc.ExtCmd.OutputData;
+import com.linbit.linstor.layer.storage.lvm.utils.LvmUtils.LvsInfo;
+import com.linbit.linstor.storage.StorageException;
+import com.linbit.linstor.storage.StorageUtils;
+import com.linbit.utils.StringUtils;
+
+import javax.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Immutable snapshot of the volume groups and logical volumes of a set of volume groups, parsed from the JSON reports
+ * of a single "vgs" and a single "lvs" call.
+ *
+ * All sizes are in KiB.
+ */
+public class LvmReport
+{
+    private static final ObjectMapper OBJ_MAPPER = new ObjectMapper();
+    private static final float LVM_DEFAULT_DATA_PERCENT = 100;
+
+    private static final String KEY_REPORT = "report";
+    private static final String KEY_VG = "vg";
+    private static final String KEY_LV = "lv";
+
+    public static class VgInfo
+    {
+        public final String name;
+        public final long extentSizeInKib;
+        public final long totalSizeInKib;
+        public final long freeSizeInKib;
+
+        VgInfo(String nameRef, long extentSizeInKibRef, long totalSizeInKibRef, long freeSizeInKibRef)
+        {
+            name = nameRef;
+            extentSizeInKib = extentSizeInKibRef;
+            totalSizeInKib = totalSizeInKibRef;
+            freeSizeInKib = freeSizeInKibRef;
+        }
+    }
+
+    /** The volume groups that were queried, including the ones that do not exist */
+    private final Set<String> reportedVlmGrps;
+    private final Map<String, VgInfo> vgInfoByName;
+    /** Keys are "volumeGroup/lvName" */
+    private final Map<String, LvsInfo> lvsInfoByIdentifier;
+    private final long createdTimestamp;
+
+    private LvmReport(
+        Set<String> reportedVlmGrpsRef,
+        Map<String, VgInfo> vgInfoByNameRef,
+        Map<String, LvsInfo> lvsInfoByIdentifierRef,
+        long createdTimestampRef
+    )
+    {
+        reportedVlmGrps = reportedVlmGrpsRef;
+        vgInfoByName = vgInfoByNameRef;
+        lvsInfoByIdentifier = lvsInfoByIdentifierRef;
+        createdTimestamp = createdTimestampRef;
+    }
+
+    /**
+     * Parses the outputs of {@link LvmCommands#vgsReport} and {@link LvmCommands#lvsReport}
+     *
+     * @param volumeGroups The volume groups (without thin pools) that were queried
+     */
+    static LvmReport parse(Set<String> volumeGroups, OutputData vgsOutput, OutputData lvsOutput, long timestamp)
+        throws StorageException
+    {
+        Map<String, VgInfo> vgInfoByName = new HashMap<>();
+        for (JsonNode vgNode : getReportEntries(vgsOutput, KEY_VG))
+        {
+            String vgName = getText(vgNode, "vg_name");
+            vgInfoByName.put(
+                vgName,
+                new VgInfo(
+                    vgName,
+                    parseLong(vgNode, "vg_extent_size", "extent size", vgsOutput),
+                    parseLong(vgNode, "vg_size", "total size", vgsOutput),
+                    parseLong(vgNode, "vg_free", "free size", vgsOutput)
+                )
+            );
+        }
+
+        Map<String, LvsInfo> lvsInfoByIdentifier = new HashMap<>();
+        for (JsonNode lvNode : getReportEntries(lvsOutput, KEY_LV))
+        {
+            String identifier = getText(lvNode, "lv_name");
+            String vgName = getText(lvNode, "vg_name");
+            String thinPool = getText(lvNode, "pool_lv");
+            if (thinPool.isEmpty())
+            {
+                thinPool = null;
+            }
+
+            String dataPercentStr = getText(lvNode, "data_percent").trim();
+            float dataPercent;
+            if (dataPercentStr.isEmpty())
+            {
+                dataPercent = LVM_DEFAULT_DATA_PERCENT;
+            }
+            else
+            {
+                try
+                {
+                    dataPercent = StorageUtils.parseDecimalAsFloat(dataPercentStr);
+                }
+                catch (NumberFormatException nfExc)
+                {
+                    throw new StorageException(
+                        "Unable to parse data_percent of thin lv",
+                        "Data percent to parse: '" + dataPercentStr + "'",
+                        null,
+                        null,
+                        "External command used to query logical volume info: " +
+                            StringUtils.joinShellQuote(lvsOutput.executedCommand),
+                        nfExc
+                    );
+                }
+            }
+
+            LvsInfo info = new LvsInfo(
+                vgName,
+                thinPool,
+                identifier,
+                getText(lvNode, "lv_path"),
+                parseLong(lvNode, "lv_size", "logical volume size", lvsOutput),
+                dataPercent,
+                getText(lvNode, "lv_attr").trim(),
+                getText(lvNode, "metadata_percent"),
+                parseLong(lvNode, "chunk_size", "logical chunk size", lvsOutput)
+            );
+            lvsInfoByIdentifier.put(vgName + File.separator + identifier, info);
+        }
+        return new LvmReport(new HashSet<>(volumeGroups), vgInfoByName, lvsInfoByIdentifier, timestamp);
+    }
+
+    private static Iterable<JsonNode> getReportEntries(OutputData output, String type) throws StorageException
+    {
+        JsonNode entries = null;
+        // if none of the given volume groups exist, lvm might not print anything
+        if (output.stdoutData.length > 0)
+        {
+            JsonNode root;
+            try
+            {
+                root = OBJ_MAPPER.readTree(output.stdoutData);
+            }
+            catch (IOException ioExc)
+            {
+                throw new StorageException(
+                    "Unable to parse lvm report",
+                    null,
+                    null,
+                    null,
+                    "External command: " + StringUtils.joinShellQuote(output.executedCommand),
+                    ioExc
+                );
+            }
+            JsonNode report = root.path(KEY_REPORT);
+            if (report.size() > 0)
+            {
+                entries = report.get(0).get(type);
+            }
+        }
+        return entries == null ? Collections.emptyList() : entries;
+    }
+
+    private static String getText(JsonNode node, String key)
+    {
+        return node.path(key).asText("");
+    }
+
+    private static long parseLong(JsonNode node, String key, String description, OutputData output)
+        throws StorageException
+    {
+        String raw = getText(node, key).trim();
+        long ret;
+        try
+        {
+            ret = StorageUtils.parseDecimalAsLong(raw);
+        }
+        catch (NumberFormatException nfExc)
+        {
+            throw new StorageException(
+                "Unable to parse " + description,
+                "Numeric value to parse: '" + raw + "'",
+                null,
+                null,
+                "External command: " + StringUtils.joinShellQuote(output.executedCommand),
+                nfExc
+            );
+        }
+        return ret;
+    }
+
+    /**
+     * Returns a new report containing the volume groups of both reports. The volume groups of the given report take
+     * precedence.
+     */
+    LvmReport merge(LvmReport other)
+    {
+        Set<String> mergedVlmGrps = new HashSet<>(reportedVlmGrps);
+        mergedVlmGrps.addAll(other.reportedVlmGrps);
+        Map<String, VgInfo> mergedVgs = new HashMap<>(vgInfoByName);
+        mergedVgs.putAll(other.vgInfoByName);
+        Map<String, LvsInfo> mergedLvs = new HashMap<>(lvsInfoByIdentifier);
+        mergedLvs.putAll(other.lvsInfoByIdentifier);
+        return new LvmReport(
+            mergedVlmGrps,
+            mergedVgs,
+            mergedLvs,
+            Math.min(createdTimestamp, other.createdTimestamp)
+        );
+    }
+
+    boolean contains(Set<String> volumeGroups)
+    {
+        return reportedVlmGrps.containsAll(volumeGroups);
+    }
+
+    long getCreatedTimestamp()
+    {
+        return createdTimestamp;
+    }
+
+    public @Nullable VgInfo getVgInfo(String volumeGroup)
+    {
+        return vgInfoByName.get(volumeGroup);
+    }
+
+    public @Nullable LvsInfo getLvsInfo(String volumeGroup, String lvName)
+    {
+        return lvsInfoByIdentifier.get(volumeGroup + File.separator + lvName);
+    }
+
+    /**
+     * Returns the logical volumes of the given volume groups, keyed by "volumeGroup/lvName"
+     */
+    public HashMap<String, LvsInfo> getLvsInfo(Set<String> volumeGroups)
+    {
+        HashMap<String, LvsInfo> ret = new HashMap<>();
+        for (Map.Entry<String, LvsInfo> entry : lvsInfoByIdentifier.entrySet())
+        {
+            if (volumeGroups.contains(entry.getValue().volumeGroup))
+            {
+                ret.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return ret;
+    }
+}
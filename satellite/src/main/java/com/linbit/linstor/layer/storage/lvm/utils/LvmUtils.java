@@ -1,28 +1,15 @@
 package com.linbit.linstor.layer.storage.lvm.utils;
 
-import com.linbit.SizeConv;
-import com.linbit.SizeConv.SizeUnit;
 import com.linbit.extproc.ExtCmd.OutputData;
 import com.linbit.extproc.ExtCmdFactory;
-import com.linbit.linstor.layer.storage.utils.ParseUtils;
+import com.linbit.linstor.layer.storage.lvm.utils.LvmReport.VgInfo;
 import com.linbit.linstor.storage.StorageException;
-import com.linbit.linstor.storage.StorageUtils;
 import com.linbit.utils.ExceptionThrowingFunction;
-import com.linbit.utils.StringUtils;
-
-import static com.linbit.linstor.layer.storage.lvm.utils.LvmCommands.LVS_COL_ATTRIBUTES;
-import static com.linbit.linstor.layer.storage.lvm.utils.LvmCommands.LVS_COL_CHUNK_SIZE;
-import static com.linbit.linstor.layer.storage.lvm.utils.LvmCommands.LVS_COL_DATA_PERCENT;
-import static com.linbit.linstor.layer.storage.lvm.utils.LvmCommands.LVS_COL_IDENTIFIER;
-import static com.linbit.linstor.layer.storage.lvm.utils.LvmCommands.LVS_COL_METADATA_PERCENT;
-import static com.linbit.linstor.layer.storage.lvm.utils.LvmCommands.LVS_COL_PATH;
-import static com.linbit.linstor.layer.storage.lvm.utils.LvmCommands.LVS_COL_POOL_LV;
-import static com.linbit.linstor.layer.storage.lvm.utils.LvmCommands.LVS_COL_SIZE;
-import static com.linbit.linstor.layer.storage.lvm.utils.LvmCommands.LVS_COL_VG;
+
+import javax.annotation.Nullable;
 
 import java.io.File;
 import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -31,18 +18,20 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 /**
  * @author Gabor Hernadi &lt;gabor.hernadi@linbit.com&gt;
  */
 public class LvmUtils
 {
-    // DO NOT USE "," or "." AS DELIMITER due to localization issues
-    public static final String DELIMITER = ";";
-    private static final float LVM_DEFAULT_DATA_PERCENT = 100;
-
     private static final HashMap<Set<String>, String> CACHED_LVM_CONFIG_STRING = new HashMap<>();
 
+    /** Reports are reused at most this long, even if no command modified LVM in the meantime */
+    private static final long REPORT_MAX_AGE_MILLIS = 10_000;
+    private static final Object REPORT_SYNC_OBJ = new Object();
+    private static @Nullable LvmReport cachedReport;
+
     private LvmUtils()
     {
     }
@@ -90,20 +79,7 @@ public class LvmUtils
 
         if (lvmConfig == null)
         {
-            Set<String> vlmGrps = new HashSet<>();
-            for (String vlmGrp : volumeGroups)
-            {
-                int thinPoolIdx = vlmGrp.indexOf("/");
-                if (thinPoolIdx != -1)
-                {
-                    // thin vlmGrp, we only need the first part, the "actual" volume group, not the thin pool
-                    vlmGrps.add(vlmGrp.substring(0, thinPoolIdx));
-                }
-                else
-                {
-                    vlmGrps.add(vlmGrp);
-                }
-            }
+            Set<String> vlmGrps = getVolumeGroupsWithoutThinPools(volumeGroups);
 
             lvmConfig = CACHED_LVM_CONFIG_STRING.get(vlmGrps);
             if (lvmConfig == null)
@@ -169,241 +145,185 @@ public class LvmUtils
         return getLvmConfig(extCmdFactory, volumeGroups);
     }
 
-    public static HashMap<String, LvsInfo> getLvsInfo(
-        final ExtCmdFactory ecf,
-        final Set<String> volumeGroups
-        )
-            throws StorageException
+    /**
+     * Discards the cached {@link LvmReport}. Called by {@link LvmCommands} after every command that modifies LVM and
+     * at the beginning of every device manager run, since LVM might also have been modified externally.
+     */
+    public static void clearCache()
     {
-        final OutputData output = execWithRetry(
-            ecf,
-            volumeGroups,
-            config -> LvmCommands.lvs(ecf.create(), volumeGroups, config)
-        );
-        final String stdOut = new String(output.stdoutData);
-
-        final HashMap<String, LvsInfo> infoByIdentifier = new HashMap<>();
+        synchronized (REPORT_SYNC_OBJ)
+        {
+            cachedReport = null;
+        }
+    }
 
-        final String[] lines = stdOut.split("\n");
-        final int expectedColCount = 9;
-        for (final String line : lines)
+    /**
+     * Returns a report that contains at least the given volume groups (thin pools are reduced to their volume groups).
+     * Volume groups that are not part of the cached report are queried with a single "vgs" and a single "lvs" call
+     * and merged into the cached report.
+     */
+    public static LvmReport getReport(ExtCmdFactory ecf, Set<String> volumeGroups) throws StorageException
+    {
+        Set<String> vlmGrps = getVolumeGroupsWithoutThinPools(volumeGroups);
+        synchronized (REPORT_SYNC_OBJ)
         {
-            final String[] data = line.trim().split(DELIMITER);
-            if (data.length == expectedColCount)
+            long now = System.currentTimeMillis();
+            if (cachedReport != null && now - cachedReport.getCreatedTimestamp() > REPORT_MAX_AGE_MILLIS)
             {
-                final String identifier = data[LVS_COL_IDENTIFIER];
-                final String path = data[LVS_COL_PATH];
-                final String sizeStr = data[LVS_COL_SIZE];
-                final String vgStr = data[LVS_COL_VG];
-                final String thinPoolStr;
-                final float dataPercent;
-                final String attributes = data[LVS_COL_ATTRIBUTES].trim();
-                if (
-                    data[LVS_COL_POOL_LV] == null ||
-                    data[LVS_COL_POOL_LV].isEmpty()
-                )
-                {
-                    thinPoolStr = null;
-                }
-                else
-                {
-                    thinPoolStr = data[LVS_COL_POOL_LV];
-                }
-
-                String dataPercentStr = data[LVS_COL_DATA_PERCENT].trim();
-                if (dataPercentStr.isEmpty())
-                {
-                    dataPercent = LVM_DEFAULT_DATA_PERCENT;
-                }
-                else
-                {
-                    try
-                    {
-                        dataPercent = StorageUtils.parseDecimalAsFloat(dataPercentStr);
-                    }
-                    catch (NumberFormatException nfExc)
-                    {
-                        throw new StorageException(
-                            "Unable to parse data_percent of thin lv",
-                            "Data percent to parse: '" + dataPercentStr + "'",
-                            null,
-                            null,
-                            "External command used to query logical volume info: " +
-                                StringUtils.joinShellQuote(output.executedCommand),
-                                nfExc
-                            );
-                    }
-                }
-
-                long size;
-                try
-                {
-                    size = StorageUtils.parseDecimalAsLong(sizeStr.trim());
-                }
-                catch (NumberFormatException nfExc)
-                {
-                    throw new StorageException(
-                        "Unable to parse logical volume size",
-                        "Size to parse: '" + sizeStr + "'",
-                        null,
-                        null,
-                        "External command used to query logical volume info: " +
-                            StringUtils.joinShellQuote(output.executedCommand),
-                            nfExc
-                        );
-                }
-
-                String metaDataPercentStr = data[LVS_COL_METADATA_PERCENT];
+                cachedReport = null;
+            }
 
-                String chunkSizeInKiBStr = data[LVS_COL_CHUNK_SIZE];
-                long chunkSizeInKib;
-                try
-                {
-                    chunkSizeInKib = StorageUtils.parseDecimalAsLong(chunkSizeInKiBStr);
-                }
-                catch (NumberFormatException nfExc)
+            LvmReport report = cachedReport;
+            if (report == null || !report.contains(vlmGrps))
+            {
+                Set<String> missingVlmGrps = new HashSet<>(vlmGrps);
+                if (report != null)
                 {
-                    throw new StorageException(
-                        "Unable to parse logical chunk size",
-                        "Size to parse: '" + chunkSizeInKiBStr + "'",
-                        null,
-                        null,
-                        "External command used to query logical volume info: " +
-                            StringUtils.joinShellQuote(output.executedCommand),
-                        nfExc
-                    );
+                    missingVlmGrps.removeIf(vg -> report.contains(Collections.singleton(vg)));
                 }
-
-                final LvsInfo state = new LvsInfo(
-                    vgStr,
-                    thinPoolStr,
-                    identifier,
-                    path,
-                    size,
-                    dataPercent,
-                    attributes,
-                    metaDataPercentStr,
-                    chunkSizeInKib
+                OutputData vgsOutput = execWithRetry(
+                    ecf,
+                    missingVlmGrps,
+                    config -> LvmCommands.vgsReport(ecf.create(), missingVlmGrps, config)
+                );
+                OutputData lvsOutput = execWithRetry(
+                    ecf,
+                    missingVlmGrps,
+                    config -> LvmCommands.lvsReport(ecf.create(), missingVlmGrps, config)
                 );
-                infoByIdentifier.put(vgStr + File.separator + identifier, state);
+                LvmReport newReport = LvmReport.parse(missingVlmGrps, vgsOutput, lvsOutput, now);
+                cachedReport = report == null ? newReport : report.merge(newReport);
             }
+            return cachedReport;
         }
-        return infoByIdentifier;
+    }
+
+    private static Set<String> getVolumeGroupsWithoutThinPools(Set<String> volumeGroups)
+    {
+        Set<String> vlmGrps = new HashSet<>();
+        for (String vlmGrp : volumeGroups)
+        {
+            int thinPoolIdx = vlmGrp.indexOf("/");
+            if (thinPoolIdx != -1)
+            {
+                // thin vlmGrp, we only need the first part, the "actual" volume group, not the thin pool
+                vlmGrps.add(vlmGrp.substring(0, thinPoolIdx));
+            }
+            else
+            {
+                vlmGrps.add(vlmGrp);
+            }
+        }
+        return vlmGrps;
+    }
+
+    public static HashMap<String, LvsInfo> getLvsInfo(
+        final ExtCmdFactory ecf,
+        final Set<String> volumeGroups
+        )
+            throws StorageException
+    {
+        return getReport(ecf, volumeGroups).getLvsInfo(getVolumeGroupsWithoutThinPools(volumeGroups));
     }
 
     public static Map<String, Long> getExtentSize(ExtCmdFactory extCmdFactory, Set<String> volumeGroups)
         throws StorageException
     {
-        return ParseUtils.parseSimpleTable(
-            execWithRetry(
-                extCmdFactory,
-                volumeGroups,
-                config -> LvmCommands.getExtentSize(extCmdFactory.create(), volumeGroups, config)
-            ),
-            DELIMITER,
-            "extent size"
-        );
+        return getVgValues(extCmdFactory, volumeGroups, vgInfo -> vgInfo.extentSizeInKib);
     }
 
     public static Map<String, Long> getVgTotalSize(ExtCmdFactory extCmdFactory, Set<String> volumeGroups)
         throws StorageException
     {
-        return ParseUtils.parseSimpleTable(
-            execWithRetry(
-                extCmdFactory,
-                volumeGroups,
-                config -> LvmCommands.getVgTotalSize(extCmdFactory.create(), volumeGroups, config)
-            ),
-            DELIMITER,
-            "total size"
-        );
+        return getVgValues(extCmdFactory, volumeGroups, vgInfo -> vgInfo.totalSizeInKib);
     }
 
     public static Map<String, Long> getVgFreeSize(ExtCmdFactory extCmdFactory, Set<String> volumeGroups)
         throws StorageException
     {
-        return ParseUtils.parseSimpleTable(
-            execWithRetry(
-                extCmdFactory,
-                volumeGroups,
-                config -> LvmCommands.getVgFreeSize(extCmdFactory.create(), volumeGroups, config)
-            ),
-            DELIMITER,
-            "free size"
-        );
+        return getVgValues(extCmdFactory, volumeGroups, vgInfo -> vgInfo.freeSizeInKib);
+    }
+
+    private static Map<String, Long> getVgValues(
+        ExtCmdFactory extCmdFactory,
+        Set<String> volumeGroups,
+        Function<VgInfo, Long> valueFunc
+    )
+        throws StorageException
+    {
+        LvmReport report = getReport(extCmdFactory, volumeGroups);
+        Map<String, Long> result = new HashMap<>();
+        for (String vlmGrp : getVolumeGroupsWithoutThinPools(volumeGroups))
+        {
+            VgInfo vgInfo = report.getVgInfo(vlmGrp);
+            if (vgInfo != null)
+            {
+                result.put(vlmGrp, valueFunc.apply(vgInfo));
+            }
+        }
+        return result;
     }
 
+    /**
+     * @param volumeGroups Entries are either "volumeGroup/thinPool" or just "volumeGroup" for all logical volumes of
+     *     that volume group
+     *
+     * @return The sizes of the given thin pools in KiB, keyed by the name of the thin pool
+     */
     public static Map<String, Long> getThinTotalSize(ExtCmdFactory extCmdFactory, Set<String> volumeGroups)
         throws StorageException
     {
-        return ParseUtils.parseSimpleTable(
-            execWithRetry(
-                extCmdFactory,
-                volumeGroups,
-                config -> LvmCommands.getVgThinTotalSize(extCmdFactory.create(), volumeGroups, config)
-            ),
-            DELIMITER,
-            "total thin size"
-        );
+        return getThinValues(extCmdFactory, volumeGroups, lvsInfo -> lvsInfo.size);
     }
 
+    /**
+     * @param volumeGroups Entries are either "volumeGroup/thinPool" or just "volumeGroup" for all logical volumes of
+     *     that volume group
+     *
+     * @return The free space of the given thin pools in KiB, keyed by the name of the thin pool
+     */
     public static Map<String, Long> getThinFreeSize(ExtCmdFactory extCmdFactory, Set<String> volumeGroups)
         throws StorageException
     {
-        final int expectedColums = 3;
-
-        final Map<String, Long> result = new HashMap<>();
-
-        OutputData output = execWithRetry(
+        return getThinValues(
             extCmdFactory,
             volumeGroups,
-            config -> LvmCommands.getVgThinFreeSize(extCmdFactory.create(), volumeGroups, config)
+            lvsInfo ->
+            {
+                BigDecimal dataFraction = BigDecimal.valueOf(lvsInfo.dataPercent).movePointLeft(2);
+                BigDecimal freeFraction = BigDecimal.ONE.subtract(dataFraction);
+                return BigDecimal.valueOf(lvsInfo.size).multiply(freeFraction).longValue();
+            }
         );
-        final String stdOut = new String(output.stdoutData);
-        final String[] lines = stdOut.split("\n");
+    }
 
-        for (final String line : lines)
+    private static Map<String, Long> getThinValues(
+        ExtCmdFactory extCmdFactory,
+        Set<String> volumeGroups,
+        Function<LvsInfo, Long> valueFunc
+    )
+        throws StorageException
+    {
+        LvmReport report = getReport(extCmdFactory, volumeGroups);
+        Map<String, Long> result = new HashMap<>();
+        for (String vlmGrp : volumeGroups)
         {
-            final String[] data = line.trim().split(DELIMITER);
-            if (data.length == expectedColums)
+            int thinPoolIdx = vlmGrp.indexOf("/");
+            if (thinPoolIdx != -1)
             {
-                try
-                {
-                    BigDecimal thinPoolSizeBytes = StorageUtils.parseDecimal(data[1].trim());
-
-                    BigDecimal dataPercent = StorageUtils.parseDecimal(data[2].trim());
-                    BigDecimal dataFraction = dataPercent.movePointLeft(2);
-                    BigDecimal freeFraction = dataFraction.negate().add(BigDecimal.valueOf(1L));
-
-                    BigInteger freeBytes = thinPoolSizeBytes.multiply(freeFraction).toBigInteger();
-                    long freeSpace = SizeConv.convert(freeBytes, SizeUnit.UNIT_B, SizeUnit.UNIT_KiB).longValueExact();
-
-                    result.put(
-                        data[0],
-                        freeSpace
-                    );
-                }
-                catch (NumberFormatException nfExc)
+                String thinPool = vlmGrp.substring(thinPoolIdx + 1);
+                LvsInfo lvsInfo = report.getLvsInfo(vlmGrp.substring(0, thinPoolIdx), thinPool);
+                if (lvsInfo != null)
                 {
-                    throw new StorageException(
-                        "Unable to parse free thin sizes",
-                        "Numeric value to parse: '" + data[1] + "'",
-                        null,
-                        null,
-                        "External command: " + StringUtils.joinShellQuote(output.executedCommand),
-                        nfExc
-                        );
+                    result.put(thinPool, valueFunc.apply(lvsInfo));
                 }
             }
             else
             {
-                throw new StorageException(
-                    "Unable to parse free thin sizes",
-                    "Expected " + expectedColums + " columns, but got " + data.length,
-                    "Failed to parse line: " + line,
-                    null,
-                    "External command: " + StringUtils.joinShellQuote(output.executedCommand)
-                    );
+                for (LvsInfo lvsInfo : report.getLvsInfo(Collections.singleton(vlmGrp)).values())
+                {
+                    result.put(lvsInfo.identifier, valueFunc.apply(lvsInfo));
+                }
             }
         }
         return result;
@@ -489,6 +409,10 @@ public class LvmUtils
         return pvs;
     }
 
+    /**
+     * Executes the given command. The {@link #getLvmConfig lvm config} is recached and the command is retried once
+     * if the command fails.
+     */
     public static OutputData execWithRetry(
         ExtCmdFactory ecf,
         Set<String> volumeGroups,
@@ -18,7 +18,11 @@ import java.util.Set;
 
 public class ZfsCommands
 {
-    public static OutputData list(ExtCmd extCmd, Collection<String> datasets) throws StorageException
+    /**
+     * Lists all datasets below the given datasets with all properties needed by {@link ZfsReport}. Values that are
+     * not applicable to the type of a dataset are printed as "-".
+     */
+    public static OutputData listAll(ExtCmd extCmd, Collection<String> datasets) throws StorageException
     {
         return genericExecutor(
             extCmd,
@@ -29,13 +33,12 @@ public class ZfsCommands
                     "-r",   // recursive
                     "-H",   // no headers, single tab instead of spaces
                     "-p",   // sizes in bytes
-                    // columns: name, referred space, available space, type
-                    "-o", "name,refer,volsize,type",
-                    "-t", "volume,snapshot"
+                    "-o", "name,type,refer,volsize,available,quota,volblocksize",
+                    "-t", "all"
                 },
                 datasets
             ),
-            "Failed to list zfs volumes",
+            "Failed to list zfs datasets",
             "Failed to query 'zfs' info"
         );
     }
@@ -89,46 +92,67 @@ public class ZfsCommands
         cmdList.addAll(Arrays.asList(additionalParameters));
         cmdList.add(fullQualifiedId);
 
-        return genericExecutor(
-            extCmd,
-            cmdList.toArray(new String[0]),
-            "Failed to create zfsvolume",
-            "Failed to create new zfs volume '" + fullQualifiedId + "' with size " + size + "kb"
-        );
+        try
+        {
+            return genericExecutor(
+                extCmd,
+                cmdList.toArray(new String[0]),
+                "Failed to create zfsvolume",
+                "Failed to create new zfs volume '" + fullQualifiedId + "' with size " + size + "kb"
+            );
+        }
+        finally
+        {
+            ZfsUtils.invalidate(zpool);
+        }
     }
 
     public static OutputData delete(ExtCmd extCmd, String zpool, String identifier, ZfsVolumeType type)
         throws StorageException
     {
         String fullQualifiedId = zpool + File.separator + identifier;
-        return genericExecutor(
-            extCmd,
-            new String[] {
-                "zfs",
-                "destroy",
-                fullQualifiedId
-            },
-            "Failed to delete zfs " + type.descr,
-            "Failed to delete zfs " + type.descr + " '" + fullQualifiedId + "'",
-            new RetryIfDeviceBusy()
-        );
+        try
+        {
+            return genericExecutor(
+                extCmd,
+                new String[] {
+                    "zfs",
+                    "destroy",
+                    fullQualifiedId
+                },
+                "Failed to delete zfs " + type.descr,
+                "Failed to delete zfs " + type.descr + " '" + fullQualifiedId + "'",
+                new RetryIfDeviceBusy()
+            );
+        }
+        finally
+        {
+            ZfsUtils.invalidate(zpool);
+        }
     }
 
     public static OutputData resize(ExtCmd extCmd, String zpool, String identifier, long size)
         throws StorageException
     {
         String fullQualifiedId = zpool + File.separator + identifier;
-        return genericExecutor(
-            extCmd,
-            new String[]
-            {
-                "zfs",
-                "set", "volsize=" + size + "KB",
-                fullQualifiedId
-            },
-            "Failed to resize zfs volume",
-            "Failed to resize zfs volume '" + fullQualifiedId + "' to size " + size
-        );
+        try
+        {
+            return genericExecutor(
+                extCmd,
+                new String[]
+                {
+                    "zfs",
+                    "set", "volsize=" + size + "KB",
+                    fullQualifiedId
+                },
+                "Failed to resize zfs volume",
+                "Failed to resize zfs volume '" + fullQualifiedId + "' to size " + size
+            );
+        }
+        finally
+        {
+            ZfsUtils.invalidate(zpool);
+        }
     }
 
     public static OutputData rename(ExtCmd extCmd, String zpool, String currentId, String newId)
@@ -136,17 +160,24 @@ public class ZfsCommands
     {
         String fullQualifiedCurrentId = zpool + File.separator + currentId;
         String fullQualifiedNewId = zpool + File.separator + newId;
-        return genericExecutor(
-            extCmd,
-            new String[] {
-                "zfs",
-                "rename",
-                fullQualifiedCurrentId,
-                fullQualifiedNewId
-            },
-            "Failed to rename zfs volume from '" + fullQualifiedCurrentId + "' to '" + fullQualifiedNewId + "'",
-            "Failed to rename zfs volume from '" + fullQualifiedCurrentId + "' to '" + fullQualifiedNewId + "'"
-        );
+        try
+        {
+            return genericExecutor(
+                extCmd,
+                new String[] {
+                    "zfs",
+                    "rename",
+                    fullQualifiedCurrentId,
+                    fullQualifiedNewId
+                },
+                "Failed to rename zfs volume from '" + fullQualifiedCurrentId + "' to '" + fullQualifiedNewId + "'",
+                "Failed to rename zfs volume from '" + fullQualifiedCurrentId + "' to '" + fullQualifiedNewId + "'"
+            );
+        }
+        finally
+        {
+            ZfsUtils.invalidate(zpool);
+        }
     }
 
 
@@ -179,12 +210,19 @@ public class ZfsCommands
         cmdList.addAll(Arrays.asList(additionalParameters));
         cmdList.add(fullQualifiedId);
 
-        return genericExecutor(
-            extCmd,
-            cmdList.toArray(new String[0]),
-            "Failed to create snapshot '" + fullQualifiedId + "'",
-            "Failed to create snapshot '" + fullQualifiedId + "'"
-        );
+        try
+        {
+            return genericExecutor(
+                extCmd,
+                cmdList.toArray(new String[0]),
+                "Failed to create snapshot '" + fullQualifiedId + "'",
+                "Failed to create snapshot '" + fullQualifiedId + "'"
+            );
+        }
+        finally
+        {
+            ZfsUtils.invalidate(zPool);
+        }
     }
 
     public static OutputData restoreSnapshot(
@@ -211,33 +249,47 @@ public class ZfsCommands
         String fullQualifiedSourceSnapId =
             zPool + File.separator + sourceSnapshotName;
         String fullQualifiedTargetLvId = zPool + File.separator + targetLvName;
-        return genericExecutor(
-            extCmd,
-            new String[] {
-                "zfs",
-                "clone",
-                fullQualifiedSourceSnapId,
-                fullQualifiedTargetLvId
-            },
-            "Failed to restore snapshot '" + fullQualifiedSourceSnapId + "' into '" + fullQualifiedTargetLvId + "'",
-            "Failed to restore snapshot '" + fullQualifiedSourceSnapId + "' into '" + fullQualifiedTargetLvId + "'"
-        );
+        try
+        {
+            return genericExecutor(
+                extCmd,
+                new String[] {
+                    "zfs",
+                    "clone",
+                    fullQualifiedSourceSnapId,
+                    fullQualifiedTargetLvId
+                },
+                "Failed to restore snapshot '" + fullQualifiedSourceSnapId + "' into '" + fullQualifiedTargetLvId + "'",
+                "Failed to restore snapshot '" + fullQualifiedSourceSnapId + "' into '" + fullQualifiedTargetLvId + "'"
+            );
+        }
+        finally
+        {
+            ZfsUtils.invalidate(zPool);
+        }
     }
 
     public static OutputData rollback(ExtCmd extCmd, String zPool, String vlmId, String snapName)
         throws StorageException
     {
         String fullQualifiedSnapSource = zPool + File.separator + vlmId + "@" + snapName;
-        return genericExecutor(
-            extCmd,
-            new String[] {
-                "zfs",
-                "rollback",
-                fullQualifiedSnapSource
-            },
-            "Failed to rollback to snapshot '" + fullQualifiedSnapSource + "'",
-            "Failed to rollback to snapshot '" + fullQualifiedSnapSource + "'"
-        );
+        try
+        {
+            return genericExecutor(
+                extCmd,
+                new String[] {
+                    "zfs",
+                    "rollback",
+                    fullQualifiedSnapSource
+                },
+                "Failed to rollback to snapshot '" + fullQualifiedSnapSource + "'",
+                "Failed to rollback to snapshot '" + fullQualifiedSnapSource + "'"
+            );
+        }
+        finally
+        {
+            ZfsUtils.invalidate(zPool);
+        }
     }
 
     public static OutputData listZpools(ExtCmd extCmd)
@@ -277,70 +329,6 @@ public class ZfsCommands
         );
     }
 
-    public static OutputData getQuotaSize(ExtCmd extCmd, Set<String> zPools)
-        throws StorageException
-    {
-        return genericExecutor(
-            extCmd,
-            StringUtils.concat(
-                new String[]
-                    {
-                        "zfs",
-                        "get",
-                        "quota",
-                        "-o", "name,value",
-                        "-Hp"
-                    },
-                zPools
-            ),
-            "Failed to query quota size of zPool(s) " + zPools,
-            "Failed to query quota size of zPools(s) " + zPools
-        );
-    }
-
-    public static OutputData getZPoolFreeSize(ExtCmd extCmd, Set<String> zPools)
-        throws StorageException
-    {
-        return genericExecutor(
-            extCmd,
-            StringUtils.concat(
-                new String[]
-                {
-                    "zfs",
-                    "get",
-                    "available",
-                    "-o", "name,value",
-                    "-Hp"
-                },
-                zPools
-            ),
-            "Failed to query free size of zPool(s) " + zPools,
-            "Failed to query free size of zPools(s) " + zPools
-        );
-    }
-
-    public static OutputData listThinPools(ExtCmd extCmd, Collection<String> datasets) throws StorageException
-    {
-        return genericExecutor(
-            extCmd,
-            StringUtils.concat(
-                new String[] {
-                    "zfs",
-                    "list",
-                    "-r",   // recursive
-                    "-H",   // no headers, single tab instead of spaces
-                    "-p",   // sizes in bytes
-                    // columns: name, available space, type
-                    "-o", "name,available,type",
-                    "-t", "filesystem"
-                },
-                datasets
-            ),
-            "Failed to list zfs filesystem types",
-            "Failed to query 'zfs' info"
-        );
-    }
-
     public static OutputData createZPool(
         ExtCmd extCmd,
         final List<String> devicePaths,
@@ -350,19 +338,26 @@ public class ZfsCommands
         throws StorageException
     {
         final String failMsg = "Failed to create zpool: " + zpoolName;
-        return genericExecutor(
-            extCmd,
-            StringUtils.concat(
-                new String[] {
-                    "zpool",
-                    "create",
-                    "-f", // force otherwise zpool will cry about possible partition on device
-                    zpoolName
-                },
-                devicePaths),
-            failMsg,
-            failMsg
-        );
+        try
+        {
+            return genericExecutor(
+                extCmd,
+                StringUtils.concat(
+                    new String[] {
+                        "zpool",
+                        "create",
+                        "-f", // force otherwise zpool will cry about possible partition on device
+                        zpoolName
+                    },
+                    devicePaths),
+                failMsg,
+                failMsg
+            );
+        }
+        finally
+        {
+            ZfsUtils.invalidate(zpoolName);
+        }
     }
 
     public static OutputData deleteZPool(
@@ -371,16 +366,23 @@ public class ZfsCommands
     ) throws StorageException
     {
         final String failMsg = "Failed to destroy zpool: " + zpoolName;
-        return genericExecutor(
-            extCmd,
-            new String[] {
-                "zpool",
-                "destroy",
-                zpoolName
-            },
-            failMsg,
-            failMsg
-        );
+        try
+        {
+            return genericExecutor(
+                extCmd,
+                new String[] {
+                    "zpool",
+                    "destroy",
+                    zpoolName
+                },
+                failMsg,
+                failMsg
+            );
+        }
+        finally
+        {
+            ZfsUtils.invalidate(zpoolName);
+        }
     }
 
     public static OutputData getPhysicalDevices(ExtCmd extCmdRef, String zPoolRef) throws StorageException
@@ -0,0 +1,277 @@
+package com.linbit.linstor.layer.storage.zfs.utils;
+
+import com.linbit.SizeConv;
+import com.linbit.SizeConv.SizeUnit;
+import com.linbit.extproc.ExtCmd.OutputData;
+import com.linbit.linstor.layer.storage.zfs.utils.ZfsUtils.ZfsInfo;
+import com.linbit.linstor.storage.StorageUtils;
+import com.linbit.linstor.storage.kinds.DeviceProviderKind;
+
+import javax.annotation.Nullable;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of all datasets (filesystems, volumes and snapshots) below a set of zfs datasets, parsed from a
+ * single "zfs list -t all" call (see {@link ZfsCommands#listAll}).
+ *
+ * Sizes are stored in bytes, as reported by zfs. The accessors convert them to KiB.
+ */
+public class ZfsReport
+{
+    private static final String DELIMITER = "\t"; // default for all "zfs -H ..." commands
+    private static final String NO_VALUE = "-";
+
+    private static final int COL_NAME = 0;
+    private static final int COL_TYPE = 1;
+    private static final int COL_REFER = 2;
+    private static final int COL_VOLSIZE = 3;
+    private static final int COL_AVAILABLE = 4;
+    private static final int COL_QUOTA = 5;
+    private static final int COL_VOLBLOCKSIZE = 6;
+    private static final int COL_COUNT = 7;
+
+    static final String ZFS_TYPE_VOLUME = "volume";
+    static final String ZFS_TYPE_SNAPSHOT = "snapshot";
+    static final String ZFS_TYPE_FILESYSTEM = "filesystem";
+
+    static class Dataset
+    {
+        final String name;
+        final String type;
+        final @Nullable Long referBytes;
+        final @Nullable Long volsizeBytes;
+        final @Nullable Long availableBytes;
+        final @Nullable Long quotaBytes;
+        final @Nullable Long volblocksizeBytes;
+
+        Dataset(
+            String nameRef,
+            String typeRef,
+            @Nullable Long referBytesRef,
+            @Nullable Long volsizeBytesRef,
+            @Nullable Long availableBytesRef,
+            @Nullable Long quotaBytesRef,
+            @Nullable Long volblocksizeBytesRef
+        )
+        {
+            name = nameRef;
+            type = typeRef;
+            referBytes = referBytesRef;
+            volsizeBytes = volsizeBytesRef;
+            availableBytes = availableBytesRef;
+            quotaBytes = quotaBytesRef;
+            volblocksizeBytes = volblocksizeBytesRef;
+        }
+    }
+
+    /** The datasets that were queried (recursively) */
+    private final Set<String> reportedDatasets;
+    private final Map<String, Dataset> datasetsByName;
+    private final long createdTimestamp;
+
+    private ZfsReport(Set<String> reportedDatasetsRef, Map<String, Dataset> datasetsByNameRef, long createdTimestampRef)
+    {
+        reportedDatasets = reportedDatasetsRef;
+        datasetsByName = datasetsByNameRef;
+        createdTimestamp = createdTimestampRef;
+    }
+
+    /**
+     * Parses the output of {@link ZfsCommands#listAll}. Lines that cannot be parsed are ignored, values that are not
+     * set for the type of the dataset ("-") are stored as null.
+     *
+     * @param datasets The datasets that were queried
+     */
+    static ZfsReport parse(Collection<String> datasets, OutputData output, long timestamp)
+    {
+        Map<String, Dataset> datasetsByName = new HashMap<>();
+        for (String line : new String(output.stdoutData).split("\n"))
+        {
+            String[] data = line.trim().split(DELIMITER);
+            if (data.length == COL_COUNT)
+            {
+                String name = data[COL_NAME];
+                datasetsByName.put(
+                    name,
+                    new Dataset(
+                        name,
+                        data[COL_TYPE],
+                        parseBytes(data[COL_REFER]),
+                        parseBytes(data[COL_VOLSIZE]),
+                        parseBytes(data[COL_AVAILABLE]),
+                        parseBytes(data[COL_QUOTA]),
+                        parseBytes(data[COL_VOLBLOCKSIZE])
+                    )
+                );
+            }
+        }
+        return new ZfsReport(new HashSet<>(datasets), datasetsByName, timestamp);
+    }
+
+    private static @Nullable Long parseBytes(String raw)
+    {
+        Long ret = null;
+        String trimmed = raw.trim();
+        if (!trimmed.isEmpty() && !trimmed.equals(NO_VALUE))
+        {
+            try
+            {
+                ret = StorageUtils.parseDecimalAsLong(trimmed);
+            }
+            catch (NumberFormatException ignored)
+            {
+                // treated the same as a value that is not set
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Returns a new report containing the datasets of both reports. The datasets of the given report take
+     * precedence.
+     */
+    ZfsReport merge(ZfsReport other)
+    {
+        Set<String> mergedReported = new HashSet<>(reportedDatasets);
+        mergedReported.addAll(other.reportedDatasets);
+        Map<String, Dataset> mergedDatasets = new HashMap<>(datasetsByName);
+        mergedDatasets.putAll(other.datasetsByName);
+        return new ZfsReport(
+            mergedReported,
+            mergedDatasets,
+            Math.min(createdTimestamp, other.createdTimestamp)
+        );
+    }
+
+    /**
+     * Returns a new report without the datasets of the given zpool. Every dataset of a zpool shares the free space of
+     * the zpool, so a modification of one dataset outdates the reported sizes of all other datasets of the same zpool.
+     */
+    ZfsReport withoutZPool(String zpoolRootName)
+    {
+        Set<String> remainingReported = new HashSet<>(reportedDatasets);
+        remainingReported.removeIf(name -> ZfsUtils.getZPoolRootName(name).equals(zpoolRootName));
+        Map<String, Dataset> remainingDatasets = new HashMap<>(datasetsByName);
+        remainingDatasets.keySet().removeIf(name -> ZfsUtils.getZPoolRootName(name).equals(zpoolRootName));
+        return new ZfsReport(remainingReported, remainingDatasets, createdTimestamp);
+    }
+
+    boolean contains(Collection<String> datasets)
+    {
+        return reportedDatasets.containsAll(datasets);
+    }
+
+    boolean isEmpty()
+    {
+        return reportedDatasets.isEmpty();
+    }
+
+    long getCreatedTimestamp()
+    {
+        return createdTimestamp;
+    }
+
+    @Nullable
+    Dataset getDataset(String name)
+    {
+        return datasetsByName.get(name);
+    }
+
+    /**
+     * Returns the volumes and snapshots below the given datasets, keyed by their full name.
+     *
+     * The allocated size is the "refer" value for thin volumes and snapshots, and the "volsize" value (the size that
+     * was used for "zfs create -V ...") for thick volumes.
+     */
+    public HashMap<String, ZfsInfo> getVolumes(Collection<String> datasets, DeviceProviderKind kind)
+    {
+        HashMap<String, ZfsInfo> infoByIdentifier = new HashMap<>();
+        for (Dataset dataset : datasetsByName.values())
+        {
+            boolean isSnapshot = dataset.type.equals(ZFS_TYPE_SNAPSHOT);
+            if (
+                (dataset.type.equals(ZFS_TYPE_VOLUME) || isSnapshot) &&
+                    dataset.referBytes != null && dataset.volsizeBytes != null &&
+                    isBelowAny(dataset.name, datasets)
+            )
+            {
+                long allocatedBytes = kind == DeviceProviderKind.ZFS_THIN || isSnapshot ?
+                    dataset.referBytes :
+                    dataset.volsizeBytes;
+                infoByIdentifier.put(
+                    dataset.name,
+                    buildInfo(dataset, toKib(allocatedBytes), toKib(dataset.volsizeBytes))
+                );
+            }
+        }
+        return infoByIdentifier;
+    }
+
+    /**
+     * Returns the filesystems below (and including) the given datasets, keyed by their full name. The usable size is
+     * the available space of the filesystem.
+     */
+    public HashMap<String, ZfsInfo> getFilesystems(Collection<String> datasets)
+    {
+        HashMap<String, ZfsInfo> infoByIdentifier = new HashMap<>();
+        for (Dataset dataset : datasetsByName.values())
+        {
+            if (
+                dataset.type.equals(ZFS_TYPE_FILESYSTEM) &&
+                    dataset.availableBytes != null &&
+                    isBelowAny(dataset.name, datasets)
+            )
+            {
+                infoByIdentifier.put(dataset.name, buildInfo(dataset, -1, toKib(dataset.availableBytes)));
+            }
+        }
+        return infoByIdentifier;
+    }
+
+    private static boolean isBelowAny(String name, Collection<String> datasets)
+    {
+        boolean ret = false;
+        for (String dataset : datasets)
+        {
+            if (
+                name.equals(dataset) ||
+                    name.startsWith(dataset + File.separator) ||
+                    name.startsWith(dataset + "@")
+            )
+            {
+                ret = true;
+                break;
+            }
+        }
+        return ret;
+    }
+
+    private static ZfsInfo buildInfo(Dataset dataset, long allocatedSize, long usableSize)
+    {
+        String identifier = dataset.name;
+        int poolNameEndIndex = identifier.lastIndexOf(File.separator);
+        if (poolNameEndIndex == -1)
+        {
+            poolNameEndIndex = identifier.length() - 1;
+        }
+        return new ZfsInfo(
+            identifier.substring(0, poolNameEndIndex),
+            identifier.substring(poolNameEndIndex + 1),
+            dataset.type,
+            ZfsUtils.buildZfsPath(identifier),
+            allocatedSize,
+            usableSize
+        );
+    }
+
+    static long toKib(long bytes)
+    {
+        return SizeConv.convert(bytes, SizeUnit.UNIT_B, SizeUnit.UNIT_KiB);
+    }
+}
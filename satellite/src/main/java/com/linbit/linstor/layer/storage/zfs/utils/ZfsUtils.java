@@ -5,38 +5,32 @@ import com.linbit.SizeConv.SizeUnit;
 import com.linbit.extproc.ExtCmd;
 import com.linbit.extproc.ExtCmd.OutputData;
 import com.linbit.linstor.layer.storage.utils.ParseUtils;
+import com.linbit.linstor.layer.storage.zfs.utils.ZfsReport.Dataset;
 import com.linbit.linstor.storage.StorageException;
-import com.linbit.linstor.storage.StorageUtils;
 import com.linbit.linstor.storage.kinds.DeviceProviderKind;
 
+import javax.annotation.Nullable;
+
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.Function;
 
 public class ZfsUtils
 {
     private static final String DELIMITER = "\t"; // default for all "zfs -H ..." commands
 
-    private static final int ZFS_LIST_COL_IDENTIFIER    = 0; // -o "name"
-    private static final int ZFS_LIST_COL_REFER_SIZE    = 1; // -o "refer"
-    private static final int ZFS_LIST_COL_VOLSIZE       = 2; // -o "volsize"
-    private static final int ZFS_LIST_COL_TYPE          = 3; // -o "type"
-
-    private static final int ZFS_LIST_FILESYSTEMS_COL_IDENTIFIER = 0;
-    private static final int ZFS_LIST_FILESYSTEMS_COL_AVAILABLE_SIZE = 1;
-    private static final int ZFS_LIST_FILESYSTEMS_COL_TYPE = 2;
-
-    private static final String ZFS_TYPE_VOLUME = "volume";
-    private static final String ZFS_TYPE_SNAPSHOT = "snapshot";
-    private static final String ZFS_TYPE_FILESYSTEM = "filesystem";
+    private static final long REPORT_MAX_AGE_MILLIS = 10_000;
+    private static final Object REPORT_SYNC_OBJ = new Object();
+    private static @Nullable ZfsReport cachedReport;
 
     private ZfsUtils()
     {
@@ -69,58 +63,71 @@ public class ZfsUtils
         }
     }
 
-    public static HashMap<String, ZfsInfo> getThinZPoolsList(ExtCmd extCmd, Collection<String> datasets)
-        throws StorageException
+    /**
+     * Discards the cached {@link ZfsReport}. Has to be called at the beginning of every device manager run, since zfs
+     * might also have been modified externally.
+     */
+    public static void clearCache()
     {
-        final OutputData output = ZfsCommands.listThinPools(extCmd, datasets);
-        final String stdOut = new String(output.stdoutData);
-
-        final HashMap<String, ZfsInfo> infoByIdentifier = new HashMap<>();
+        synchronized (REPORT_SYNC_OBJ)
+        {
+            cachedReport = null;
+        }
+    }
 
-        final String[] lines = stdOut.split("\n");
-        final int expectedColCount = 3;
-        for (final String line : lines)
+    /**
+     * Drops all datasets of the zpool of the given dataset from the cached {@link ZfsReport}. Called by the modifying
+     * {@link ZfsCommands}.
+     */
+    public static void invalidate(String dataset)
+    {
+        String zpoolRootName = getZPoolRootName(dataset);
+        synchronized (REPORT_SYNC_OBJ)
         {
-            try
+            if (cachedReport != null)
             {
-                final String[] data = line.trim().split(DELIMITER);
-                if (data.length == expectedColCount)
-                {
-                    final String identifier = data[ZFS_LIST_FILESYSTEMS_COL_IDENTIFIER];
-                    final String availableSizeStr = data[ZFS_LIST_FILESYSTEMS_COL_AVAILABLE_SIZE];
-                    final String type = data[ZFS_LIST_FILESYSTEMS_COL_TYPE];
+                cachedReport = cachedReport.withoutZPool(zpoolRootName);
+            }
+        }
+    }
 
-                    if (type.equals(ZFS_TYPE_FILESYSTEM))
-                    {
-                        long usableSize = SizeConv.convert(
-                            StorageUtils.parseDecimalAsLong(availableSizeStr.trim()),
-                            SizeUnit.UNIT_B,
-                            SizeUnit.UNIT_KiB
-                        );
-                        int poolNameEndIndex = identifier.lastIndexOf(File.separator);
-                        if (poolNameEndIndex == -1)
-                        {
-                            poolNameEndIndex = identifier.length() - 1;
-                        }
-                        final ZfsInfo state = new ZfsInfo(
-                            identifier.substring(0, poolNameEndIndex),
-                            identifier.substring(poolNameEndIndex + 1),
-                            type,
-                            buildZfsPath(identifier),
-                            -1,
-                            usableSize
-                        );
-                        infoByIdentifier.put(identifier, state);
-                    }
-                }
+    /**
+     * Returns a report that contains at least the given datasets. Datasets that are not part of the cached report
+     * are queried with a single "zfs list" call and merged into the cached report.
+     */
+    public static ZfsReport getReport(ExtCmd extCmd, Collection<String> datasets) throws StorageException
+    {
+        synchronized (REPORT_SYNC_OBJ)
+        {
+            long now = System.currentTimeMillis();
+            if (cachedReport != null && now - cachedReport.getCreatedTimestamp() > REPORT_MAX_AGE_MILLIS)
+            {
+                cachedReport = null;
             }
-            catch (NumberFormatException ignored)
+
+            ZfsReport report = cachedReport;
+            if (report == null || !report.contains(datasets))
             {
-                // we could not parse a number so we ignore the whole line
+                Set<String> missingDatasets = new TreeSet<>(datasets);
+                if (report != null)
+                {
+                    missingDatasets.removeIf(dataset -> report.contains(Collections.singleton(dataset)));
+                }
+                ZfsReport newReport = ZfsReport.parse(
+                    missingDatasets,
+                    ZfsCommands.listAll(extCmd, missingDatasets),
+                    now
+                );
+                cachedReport = report == null || report.isEmpty() ? newReport : report.merge(newReport);
             }
+            return cachedReport;
         }
-        return infoByIdentifier;
+    }
 
+    public static HashMap<String, ZfsInfo> getThinZPoolsList(ExtCmd extCmd, Collection<String> datasets)
+        throws StorageException
+    {
+        return getReport(extCmd, datasets).getFilesystems(datasets);
     }
 
     public static HashMap<String, ZfsInfo> getZfsList(
@@ -130,80 +137,7 @@ public class ZfsUtils
     )
         throws StorageException
     {
-        final OutputData output = ZfsCommands.list(extCmd, datasets);
-        final String stdOut = new String(output.stdoutData);
-
-        final HashMap<String, ZfsInfo> infoByIdentifier = new HashMap<>();
-
-        final String[] lines = stdOut.split("\n");
-        final int expectedColCount = 4;
-        for (final String line : lines)
-        {
-            final String[] data = line.trim().split(DELIMITER);
-            try
-            {
-                if (data.length == expectedColCount)
-                {
-                    final String identifier = data[ZFS_LIST_COL_IDENTIFIER];
-                    final String usableSizeStr = data[ZFS_LIST_COL_VOLSIZE];
-                    final String type = data[ZFS_LIST_COL_TYPE];
-
-                    final String allocatedSizeStr;
-                    if (kindRef == DeviceProviderKind.ZFS_THIN || type.equals(ZFS_TYPE_SNAPSHOT))
-                    {
-                        /*
-                         * "refer" column shows the allocation size on disk. This size will grow for thick and thin
-                         * volumes as well as for snapshots while using
-                         */
-                        allocatedSizeStr = data[ZFS_LIST_COL_REFER_SIZE];
-                    }
-                    else
-                    {
-                        /*
-                         * "volsize" represents the size which was used during "zfs create -V ..." regardless if thin or
-                         * thick volume
-                         */
-                        allocatedSizeStr = data[ZFS_LIST_COL_VOLSIZE]; // -o "volsize"
-                    }
-
-                    if (type.equals(ZFS_TYPE_VOLUME) || type.equals(ZFS_TYPE_SNAPSHOT))
-                    {
-                        String allocateByteSizeStr = allocatedSizeStr;
-                        long allocatedSize = SizeConv.convert(
-                            StorageUtils.parseDecimalAsLong(allocateByteSizeStr.trim()),
-                            SizeUnit.UNIT_B,
-                            SizeUnit.UNIT_KiB
-                        );
-
-                        long usableSize = SizeConv.convert(
-                            StorageUtils.parseDecimalAsLong(usableSizeStr.trim()),
-                            SizeUnit.UNIT_B,
-                            SizeUnit.UNIT_KiB
-                        );
-
-                        int poolNameEndIndex = identifier.lastIndexOf(File.separator);
-                        if (poolNameEndIndex == -1)
-                        {
-                            poolNameEndIndex = identifier.length() - 1;
-                        }
-                        final ZfsInfo state = new ZfsInfo(
-                            identifier.substring(0, poolNameEndIndex),
-                            identifier.substring(poolNameEndIndex + 1),
-                            type,
-                            buildZfsPath(identifier),
-                            allocatedSize,
-                            usableSize
-                        );
-                        infoByIdentifier.put(identifier, state);
-                    }
-                }
-            }
-            catch (NumberFormatException ignored)
-            {
-                // we could not parse a number so we ignore the whole line
-            }
-        }
-        return infoByIdentifier;
+        return getReport(extCmd, datasets).getVolumes(datasets, kindRef);
     }
 
     public static Set<String> getZPoolList(ExtCmd extCmd) throws StorageException
@@ -215,7 +149,7 @@ public class ZfsUtils
     }
 
 
-    private static String buildZfsPath(String identifier)
+    static String buildZfsPath(String identifier)
     {
         return File.separator + "dev" +
             File.separator + "zvol" +
@@ -224,34 +158,43 @@ public class ZfsUtils
 
     public static Map<String, Long> getZPoolFreeSize(ExtCmd extCmd, Set<String> zPool) throws StorageException
     {
-        Map<String, Long> freeSizes = ParseUtils.parseSimpleTable(
-            ZfsCommands.getZPoolFreeSize(extCmd, zPool),
-            DELIMITER,
-            "free size"
-        );
-
-        for (Entry<String, Long> entry : freeSizes.entrySet())
+        ZfsReport report = getReport(extCmd, zPool);
+        Map<String, Long> freeSizes = new HashMap<>();
+        for (String dataset : zPool)
         {
-            entry.setValue(
-                SizeConv.convert(
-                    entry.getValue(),
-                    SizeUnit.UNIT_B,
-                    SizeUnit.UNIT_KiB
-                )
-            );
+            Long availableBytes = getReportedValue(report, dataset, "free size", zds -> zds.availableBytes);
+            freeSizes.put(dataset, ZfsReport.toKib(availableBytes));
         }
-
         return freeSizes;
     }
 
     public static long getZfsExtentSize(ExtCmd extCmd, String poolName, String identifier) throws StorageException
     {
-        return ParseUtils.parseDecimalAsLong(
-            new String(
-                ZfsCommands.getExtentSize(extCmd, poolName, identifier)
-                    .stdoutData
-            ).trim()
-        );
+        Long extentSize = null;
+        synchronized (REPORT_SYNC_OBJ)
+        {
+            if (cachedReport != null)
+            {
+                String fullQualifiedId = identifier == null || identifier.trim().isEmpty() ?
+                    poolName :
+                    poolName + File.separator + identifier;
+                Dataset dataset = cachedReport.getDataset(fullQualifiedId);
+                if (dataset != null)
+                {
+                    extentSize = dataset.volblocksizeBytes;
+                }
+            }
+        }
+        if (extentSize == null)
+        {
+            extentSize = ParseUtils.parseDecimalAsLong(
+                new String(
+                    ZfsCommands.getExtentSize(extCmd, poolName, identifier)
+                        .stdoutData
+                ).trim()
+            );
+        }
+        return extentSize;
     }
 
     public static String getZPoolRootName(String zpoolDatasetName)
@@ -266,27 +209,28 @@ public class ZfsUtils
 
     public static Map<String, Long> getZPoolTotalSize(ExtCmd extCmd, Set<String> zPools) throws StorageException
     {
-        final Map<String, Long> quotaSizes = ParseUtils.parseSimpleTable(
-            ZfsCommands.getQuotaSize(extCmd, zPools),
-            DELIMITER,
-            "quota size",
-            0, // field for name
-            1 // field for value
-        );
-
-        Set<String> zpoolRoots = new HashSet<>();
+        ZfsReport report = getReport(extCmd, zPools);
+        Map<String, Long> quotaSizes = new HashMap<>();
+        Set<String> zpoolRootsWithoutQuota = new TreeSet<>();
         for (String zpoolName : zPools)
         {
-            zpoolRoots.add(getZPoolRootName(zpoolName));
+            long quota = getReportedValue(report, zpoolName, "quota size", zds -> zds.quotaBytes);
+            quotaSizes.put(zpoolName, quota);
+            if (quota == 0L)
+            {
+                zpoolRootsWithoutQuota.add(getZPoolRootName(zpoolName));
+            }
         }
 
-        Map<String, Long> totalSizes = ParseUtils.parseSimpleTable(
-            ZfsCommands.getZPoolTotalSize(extCmd, zpoolRoots),
-            DELIMITER,
-            "free size",
-            0, // field for name
-            2 // field for value
-        );
+        Map<String, Long> totalSizes = zpoolRootsWithoutQuota.isEmpty() ?
+            Collections.emptyMap() :
+            ParseUtils.parseSimpleTable(
+                ZfsCommands.getZPoolTotalSize(extCmd, zpoolRootsWithoutQuota),
+                DELIMITER,
+                "free size",
+                0, // field for name
+                2 // field for value
+            );
         for (Entry<String, Long> entry : quotaSizes.entrySet())
         {
             Long sizeValue = entry.getValue() == 0L ?
@@ -302,6 +246,29 @@ public class ZfsUtils
         return quotaSizes;
     }
 
+    private static long getReportedValue(
+        ZfsReport report,
+        String datasetName,
+        String description,
+        Function<Dataset, Long> valueFunc
+    )
+        throws StorageException
+    {
+        Dataset dataset = report.getDataset(datasetName);
+        Long value = dataset == null ? null : valueFunc.apply(dataset);
+        if (value == null)
+        {
+            throw new StorageException(
+                "Unable to parse " + description,
+                "No " + description + " reported for zfs dataset '" + datasetName + "'",
+                null,
+                null,
+                null
+            );
+        }
+        return value;
+    }
+
     public static List<String> getPhysicalVolumes(ExtCmd extCmd, String zPoolRef) throws StorageException
     {
         List<String> devices = new ArrayList<>();
@@ -8,6 +8,8 @@ import com.linbit.extproc.OutputProxy.Event;
 import com.linbit.extproc.OutputProxy.ExceptionEvent;
 import com.linbit.extproc.OutputProxy.StdErrEvent;
 import com.linbit.extproc.OutputProxy.StdOutEvent;
+import com.linbit.linstor.core.transfer.PvProgress;
+import com.linbit.linstor.core.transfer.TransferProgress;
 import com.linbit.linstor.logging.ErrorReporter;
 
 import java.io.IOException;
@@ -32,18 +34,21 @@ public class SnapshotShippingDaemon implements Runnable
     private boolean alreadyInUse = false;
 
     private final BiConsumer<Boolean, Boolean> afterTermination;
+    private final TransferProgress progress;
 
     public SnapshotShippingDaemon(
         ErrorReporter errorReporterRef,
         ThreadGroup threadGroupRef,
         String threadName,
         String[] commandRef,
-        BiConsumer<Boolean, Boolean> afterTerminationRef
+        BiConsumer<Boolean, Boolean> afterTerminationRef,
+        TransferProgress progressRef
     )
     {
         errorReporter = errorReporterRef;
         command = commandRef;
         afterTermination = afterTerminationRef;
+        progress = progressRef;
 
         deque = new LinkedBlockingDeque<>(DFLT_DEQUE_CAPACITY);
         handler = new DaemonHandler(deque, command);
@@ -94,11 +99,14 @@ public class SnapshotShippingDaemon implements Runnable
                 else
                 if (event instanceof StdErrEvent)
                 {
-                    String stdErr = new String(((StdErrEvent) event).data);
-                    errorReporter.logWarning("stdErr: %s", stdErr);
-                    if (stdErr.contains(ALREADY_IN_USE))
+                    String stdErr = PvProgress.apply(new String(((StdErrEvent) event).data), progress);
+                    if (!stdErr.isEmpty())
                     {
-                        alreadyInUse = true;
+                        errorReporter.logWarning("stdErr: %s", stdErr);
+                        if (stdErr.contains(ALREADY_IN_USE))
+                        {
+                            alreadyInUse = true;
+                        }
                     }
                 }
                 else
@@ -11,9 +11,13 @@ import com.linbit.extproc.ExtCmdFactory;
 import com.linbit.linstor.InternalApiConsts;
 import com.linbit.linstor.annotation.SystemContext;
 import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
+import com.linbit.linstor.api.pojo.TransferProgressPojo;
 import com.linbit.linstor.core.ControllerPeerConnector;
 import com.linbit.linstor.core.objects.NetInterface;
 import com.linbit.linstor.core.objects.Snapshot;
+import com.linbit.linstor.core.transfer.PvProgress;
+import com.linbit.linstor.core.transfer.StltTransferTracker;
+import com.linbit.linstor.core.transfer.TransferProgress;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.security.AccessDeniedException;
@@ -46,14 +50,14 @@ public class SnapshotShippingService implements SystemService
         "(" +
             "socat TCP-LISTEN:%s STDOUT | " +
             "zstd -d | " +
-            // "pv -s 100m -bnr -i 0.1 | " +
+            "%s" +  // optional pv stage, see PvProgress
             "%s ;" +
         ")& wait $!";
     private static final String CMD_FORMAT_SENDING =
         "trap 'kill -HUP 0' SIGTERM; " +
         "(" +
             "%s | " +
-            // "pv -s 100m -bnr -i 0.1 | " +
+            "%s" +  // optional pv stage, see PvProgress
             "zstd | " +
             "socat STDIN TCP:%s:%s ;" +
         ")&\\wait $!";
@@ -63,6 +67,7 @@ public class SnapshotShippingService implements SystemService
     private final ErrorReporter errorReporter;
     private final ControllerPeerConnector controllerPeerConnector;
     private final CtrlStltSerializer interComSerializer;
+    private final StltTransferTracker transferTracker;
 
     private final Map<Snapshot, ShippingInfo> shippingInfoMap;
     private final Set<Snapshot> startedShippments;
@@ -89,7 +94,8 @@ public class SnapshotShippingService implements SystemService
         ExtCmdFactory extCmdFactoryRef,
         ErrorReporter errorReporterRef,
         ControllerPeerConnector controllerPeerConnectorRef,
-        CtrlStltSerializer interComSerializerRef
+        CtrlStltSerializer interComSerializerRef,
+        StltTransferTracker transferTrackerRef
     )
     {
         storDriverAccCtx = storDriverAccCtxRef;
@@ -97,6 +103,7 @@ public class SnapshotShippingService implements SystemService
         errorReporter = errorReporterRef;
         controllerPeerConnector = controllerPeerConnectorRef;
         interComSerializer = interComSerializerRef;
+        transferTracker = transferTrackerRef;
 
         try
         {
@@ -119,6 +126,7 @@ public class SnapshotShippingService implements SystemService
             for (SnapVlmDataInfo snapVlmDataInfo : shippingInfo.snapVlmDataInfoMap.values())
             {
                 snapVlmDataInfo.daemon.shutdown();
+                transferTracker.finished(snapVlmDataInfo.progress);
             }
         }
         shippingInfoMap.clear();
@@ -138,6 +146,7 @@ public class SnapshotShippingService implements SystemService
             if (snapVlmDataInfo != null)
             {
                 snapVlmDataInfo.daemon.shutdown();
+                transferTracker.finished(snapVlmDataInfo.progress);
             }
         }
         else
@@ -161,9 +170,15 @@ public class SnapshotShippingService implements SystemService
                 "timeout",
                 "0",
                 "bash", "-c",
-                String.format(CMD_FORMAT_RECEIVING, port, snapshotShippingReceivingCommandRef)
+                String.format(
+                    CMD_FORMAT_RECEIVING,
+                    port,
+                    PvProgress.pipeStage(),
+                    snapshotShippingReceivingCommandRef
+                )
             },
             shippingDescr,
+            TransferProgressPojo.Kind.SNAPSHOT_SHIPPING_RECEIVE,
             (success, alreadyInUse) -> postShipping(
                 success,
                 alreadyInUse,
@@ -193,11 +208,13 @@ public class SnapshotShippingService implements SystemService
                 String.format(
                     CMD_FORMAT_SENDING,
                     snapshotShippingSendingCommandRef,
+                    PvProgress.pipeStage(),
                     targetNetIfRef.getAddress(storDriverAccCtx).getAddress(),
                     socatPortRef
                 )
             },
             shippingDescr,
+            TransferProgressPojo.Kind.SNAPSHOT_SHIPPING_SEND,
             (success, alreadyInUse) -> postShipping(
                 success,
                 alreadyInUse,
@@ -213,6 +230,7 @@ public class SnapshotShippingService implements SystemService
         String sendRecvCommand,
         String[] fullCommand,
         String shippingDescr,
+        TransferProgressPojo.Kind kind,
         BiConsumer<Boolean, Boolean> postAction,
         AbsStorageVlmData<Snapshot> snapVlmData
     )
@@ -224,21 +242,34 @@ public class SnapshotShippingService implements SystemService
             {
                 killIfRunning(sendRecvCommand);
 
+                Snapshot snap = snapVlmData.getRscLayerObject().getAbsResource();
+                long sizeInKib = snapVlmData.getAllocatedSize() == -1 &&
+                    snapVlmData.getSnapshotAllocatedSize() != null ?
+                        snapVlmData.getSnapshotAllocatedSize() :
+                        snapVlmData.getAllocatedSize();
+                TransferProgress progress = new TransferProgress(
+                    kind,
+                    snap.getResourceName().displayValue,
+                    snap.getSnapshotName().displayValue,
+                    snapVlmData.getVlmNr().value,
+                    null,
+                    sizeInKib < 0 ? -1 : sizeInKib * 1024
+                );
                 SnapshotShippingDaemon daemon = new SnapshotShippingDaemon(
                     errorReporter,
                     threadGroup,
                     "shipping_" + shippingDescr,
                     fullCommand,
-                    postAction
+                    postAction,
+                    progress
                 );
-                Snapshot snap = snapVlmData.getRscLayerObject().getAbsResource();
                 ShippingInfo info = shippingInfoMap.get(snap);
                 if (info == null)
                 {
                     info = new ShippingInfo();
                     shippingInfoMap.put(snap, info);
                 }
-                info.snapVlmDataInfoMap.put(snapVlmData, new SnapVlmDataInfo(daemon));
+                info.snapVlmDataInfoMap.put(snapVlmData, new SnapVlmDataInfo(daemon, progress));
             }
         }
         else
@@ -266,6 +297,11 @@ public class SnapshotShippingService implements SystemService
              */
             if (shippingInfo != null)
             {
+                SnapVlmDataInfo snapVlmDataInfo = shippingInfo.snapVlmDataInfoMap.get(snapVlmData);
+                if (snapVlmDataInfo != null)
+                {
+                    transferTracker.finished(snapVlmDataInfo.progress);
+                }
                 shippingInfo.snapVlmDataFinishedShipping++;
                 if (successRef)
                 {
@@ -287,9 +323,10 @@ public class SnapshotShippingService implements SystemService
                         );
                     }
 
-                    for (SnapVlmDataInfo snapVlmDataInfo : shippingInfo.snapVlmDataInfoMap.values())
+                    for (SnapVlmDataInfo vlmDataInfo : shippingInfo.snapVlmDataInfoMap.values())
                     {
-                        snapVlmDataInfo.daemon.shutdown(); // just make sure that everything is already stopped
+                        vlmDataInfo.daemon.shutdown(); // just make sure that everything is already stopped
+                        transferTracker.finished(vlmDataInfo.progress);
                     }
                     shippingInfoMap.remove(snap);
                 }
@@ -310,6 +347,7 @@ public class SnapshotShippingService implements SystemService
                     {
                         for (SnapVlmDataInfo snapVlmDataInfo : info.snapVlmDataInfoMap.values())
                         {
+                            transferTracker.started(snapVlmDataInfo.progress);
                             snapVlmDataInfo.daemon.start();
                             startedShippments.add(snap);
                         }
@@ -399,6 +437,7 @@ public class SnapshotShippingService implements SystemService
             for (SnapVlmDataInfo snapVlmDataInfo : info.snapVlmDataInfoMap.values())
             {
                 snapVlmDataInfo.daemon.shutdown();
+                transferTracker.finished(snapVlmDataInfo.progress);
             }
         }
     }
@@ -439,10 +478,12 @@ public class SnapshotShippingService implements SystemService
     private static class SnapVlmDataInfo
     {
         private SnapshotShippingDaemon daemon;
+        private final TransferProgress progress;
 
-        private SnapVlmDataInfo(SnapshotShippingDaemon daemonRef)
+        private SnapVlmDataInfo(SnapshotShippingDaemon daemonRef, TransferProgress progressRef)
         {
             daemon = daemonRef;
+            progress = progressRef;
         }
     }
 }
@@ -8,6 +8,8 @@ import com.linbit.timer.Action;
 import com.linbit.timer.Timer;
 import com.linbit.utils.StringUtils;
 
+import javax.annotation.Nullable;
+
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
@@ -33,6 +35,7 @@ public class ExtCmd extends ChildProcessHandler
     private OutputReceiver  errReceiver;
     private ErrorReporter   errLog;
     private long            startTime;
+    private final @Nullable ExtCmdStats stats;
 
     private String[] execCommand;
     private String execCommandStr;
@@ -41,12 +44,18 @@ public class ExtCmd extends ChildProcessHandler
     private boolean saveWithoutSharedLocks = false;
 
     public ExtCmd(Timer<String, Action<String>> timer, ErrorReporter errLogRef)
+    {
+        this(timer, errLogRef, null);
+    }
+
+    public ExtCmd(Timer<String, Action<String>> timer, ErrorReporter errLogRef, @Nullable ExtCmdStats statsRef)
     {
         super(timer);
         conditionsWithDescriptions = new HashMap<>();
         outReceiver = null;
         errReceiver = null;
         errLog = errLogRef;
+        stats = statsRef;
         extCmdEndedListenerSet = new HashSet<>();
     }
 
@@ -125,7 +134,7 @@ public class ExtCmd extends ChildProcessHandler
         synchronized (conditionsWithDescriptions)
         {
             checkForConditions();
-            child = pBuilder.start();
+            child = start(pBuilder);
             startTime = System.currentTimeMillis();
             setChild(child);
             outReceiver = new OutputReceiver(child.getInputStream(), errLog, logExecution);
@@ -137,6 +146,33 @@ public class ExtCmd extends ChildProcessHandler
         return child.getOutputStream();
     }
 
+    private Process start(ProcessBuilder pBuilder) throws IOException
+    {
+        Process child;
+        if (stats == null)
+        {
+            child = pBuilder.start();
+        }
+        else
+        {
+            String binary = ExtCmdStats.getBinary(execCommand);
+            try
+            {
+                child = pBuilder.start();
+            }
+            catch (IOException exc)
+            {
+                stats.spawnFailed(binary);
+                throw exc;
+            }
+            long startNanos = System.nanoTime();
+            stats.started(binary);
+            // also covers processes that are not waited for (asyncExec) or were killed after a timeout
+            child.onExit().thenAccept(exitedChild -> stats.exited(binary, startNanos, exitedChild.exitValue()));
+        }
+        return child;
+    }
+
     private void checkForConditions()
     {
         for (Entry<ExtCmdCondition, String> entry : conditionsWithDescriptions.entrySet())
@@ -179,6 +215,10 @@ public class ExtCmd extends ChildProcessHandler
         }
         catch (IOException | ChildProcessTimeoutException exc)
         {
+            if (stats != null && exc instanceof ChildProcessTimeoutException)
+            {
+                stats.timedOut(ExtCmdStats.getBinary(execCommand));
+            }
             for (ExtCmdEndedListener listener : extCmdEndedListenerSet)
             {
                 listener.extCmdEnded(this, exc);
@@ -11,20 +11,23 @@ public class ExtCmdFactory
 {
     protected final Timer<String, Action<String>> timer;
     protected final ErrorReporter errlog;
+    protected final ExtCmdStats extCmdStats;
 
     @Inject
     public ExtCmdFactory(
         CoreTimer timerRef,
-        ErrorReporter errorReporterRef
+        ErrorReporter errorReporterRef,
+        ExtCmdStats extCmdStatsRef
     )
     {
         timer = timerRef;
         errlog = errorReporterRef;
+        extCmdStats = extCmdStatsRef;
     }
 
     public ExtCmd create()
     {
-        return new ExtCmd(timer, errlog);
+        return new ExtCmd(timer, errlog, extCmdStats);
     }
 
 }
@@ -0,0 +1,170 @@
+package com.linbit.extproc;
+
+import com.linbit.linstor.metrics.Histogram;
+import com.linbit.linstor.metrics.LinStorMetrics;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.io.File;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the external commands run by {@link ExtCmd}s of this node, grouped by the executable (the file name
+ * of the first element of the command): wall time, exit codes, timeouts, failures to start the process and the number
+ * of currently running processes.
+ *
+ * All statistics are cumulative since the start of this node. Recording is lock-free, as every forked command passes
+ * through here.
+ */
+@Singleton
+public class ExtCmdStats
+{
+    public static class Snapshot
+    {
+        public final String binary;
+        public final double[] upperBounds;
+        /** The last element is the count of all finished processes */
+        public final long[] cumulativeCounts;
+        public final double sum;
+        public final Map<Integer, Long> exitCodes;
+        public final long timeouts;
+        public final long spawnFailures;
+        public final int running;
+
+        public Snapshot(
+            String binaryRef,
+            double[] upperBoundsRef,
+            long[] cumulativeCountsRef,
+            double sumRef,
+            Map<Integer, Long> exitCodesRef,
+            long timeoutsRef,
+            long spawnFailuresRef,
+            int runningRef
+        )
+        {
+            binary = binaryRef;
+            upperBounds = upperBoundsRef;
+            cumulativeCounts = cumulativeCountsRef;
+            sum = sumRef;
+            exitCodes = exitCodesRef;
+            timeouts = timeoutsRef;
+            spawnFailures = spawnFailuresRef;
+            running = runningRef;
+        }
+    }
+
+    private static class BinaryStats
+    {
+        private final Histogram duration;
+        private final Map<Integer, LongAdder> exitCodes = new ConcurrentHashMap<>();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder spawnFailures = new LongAdder();
+        private final AtomicInteger running = new AtomicInteger();
+
+        private BinaryStats(Histogram durationRef)
+        {
+            duration = durationRef;
+        }
+    }
+
+    private final LinStorMetrics metrics;
+    private final Map<String, BinaryStats> stats = new ConcurrentHashMap<>();
+    private volatile @Nullable Runnable changeListener;
+
+    @Inject
+    public ExtCmdStats(LinStorMetrics metricsRef)
+    {
+        metrics = metricsRef;
+    }
+
+    /**
+     * Sets a listener that is called whenever an external command was started, finished or failed
+     */
+    public void setChangeListener(@Nullable Runnable changeListenerRef)
+    {
+        changeListener = changeListenerRef;
+    }
+
+    static String getBinary(String[] command)
+    {
+        return command.length == 0 ? "" : new File(command[0]).getName();
+    }
+
+    void started(String binary)
+    {
+        getStats(binary).running.incrementAndGet();
+        notifyListener();
+    }
+
+    void spawnFailed(String binary)
+    {
+        getStats(binary).spawnFailures.increment();
+        notifyListener();
+    }
+
+    void exited(String binary, long startNanos, int exitCode)
+    {
+        BinaryStats binaryStats = getStats(binary);
+        binaryStats.duration.observeNanosSince(startNanos);
+        binaryStats.exitCodes.computeIfAbsent(exitCode, ignored -> new LongAdder()).increment();
+        binaryStats.running.decrementAndGet();
+        notifyListener();
+    }
+
+    void timedOut(String binary)
+    {
+        getStats(binary).timeouts.increment();
+        notifyListener();
+    }
+
+    public Map<String, Snapshot> getSnapshots()
+    {
+        Map<String, Snapshot> snapshots = new TreeMap<>();
+        for (Map.Entry<String, BinaryStats> entry : stats.entrySet())
+        {
+            BinaryStats binaryStats = entry.getValue();
+            Map<Integer, Long> exitCodes = new TreeMap<>();
+            for (Map.Entry<Integer, LongAdder> exitCodeEntry : binaryStats.exitCodes.entrySet())
+            {
+                exitCodes.put(exitCodeEntry.getKey(), exitCodeEntry.getValue().sum());
+            }
+            snapshots.put(
+                entry.getKey(),
+                new Snapshot(
+                    entry.getKey(),
+                    binaryStats.duration.getUpperBounds(),
+                    binaryStats.duration.getCumulativeCounts(),
+                    binaryStats.duration.getSum(),
+                    exitCodes,
+                    binaryStats.timeouts.sum(),
+                    binaryStats.spawnFailures.sum(),
+                    binaryStats.running.get()
+                )
+            );
+        }
+        return snapshots;
+    }
+
+    private BinaryStats getStats(String binary)
+    {
+        return stats.computeIfAbsent(
+            binary,
+            ignored -> new BinaryStats(metrics.getExtCmdDuration().labels(binary))
+        );
+    }
+
+    private void notifyListener()
+    {
+        Runnable listener = changeListener;
+        if (listener != null)
+        {
+            listener.run();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.linbit.linstor;
+
+import com.linbit.linstor.metrics.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Wraps a {@link Scheduler} and counts the tasks waiting for a thread as well as the time they had to wait.
+ * Periodic tasks are not counted. The wait times are recorded in a {@link Histogram}, so reading them does not
+ * change them and every reader sees the same values.
+ */
+public class InstrumentedScheduler implements Scheduler
+{
+    private final String name;
+    private final Scheduler delegate;
+
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong running = new AtomicLong();
+    private final LongAdder started = new LongAdder();
+    private final Histogram waitHistogram;
+
+    public InstrumentedScheduler(String nameRef, Scheduler delegateRef, Histogram waitHistogramRef)
+    {
+        name = nameRef;
+        delegate = delegateRef;
+        waitHistogram = waitHistogramRef;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * @return Number of tasks that are scheduled for execution but not yet started. Delayed tasks are counted from
+     *     the time they are scheduled.
+     */
+    public long getQueued()
+    {
+        return queued.get();
+    }
+
+    public long getRunning()
+    {
+        return running.get();
+    }
+
+    public long getStarted()
+    {
+        return started.sum();
+    }
+
+    public Histogram getWaitHistogram()
+    {
+        return waitHistogram;
+    }
+
+    private Runnable wrap(Runnable task, long delayNanos)
+    {
+        final long dueNanos = System.nanoTime() + delayNanos;
+        queued.incrementAndGet();
+        return () ->
+        {
+            long waitNanos = Math.max(0, System.nanoTime() - dueNanos);
+            queued.decrementAndGet();
+            running.incrementAndGet();
+            started.increment();
+            waitHistogram.observe(waitNanos / 1_000_000_000.0);
+            try
+            {
+                task.run();
+            }
+            finally
+            {
+                running.decrementAndGet();
+            }
+        };
+    }
+
+    private Disposable track(Runnable wrapped, ScheduleFunction scheduleFunc)
+    {
+        Disposable disposable;
+        try
+        {
+            disposable = scheduleFunc.schedule(wrapped);
+        }
+        catch (RuntimeException exc)
+        {
+            // rejected, the task will never run
+            queued.decrementAndGet();
+            throw exc;
+        }
+        return disposable;
+    }
+
+    @Override
+    public Disposable schedule(Runnable task)
+    {
+        return track(wrap(task, 0), delegate::schedule);
+    }
+
+    @Override
+    public Disposable schedule(Runnable task, long delay, TimeUnit unit)
+    {
+        return track(wrap(task, unit.toNanos(delay)), wrapped -> delegate.schedule(wrapped, delay, unit));
+    }
+
+    @Override
+    public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit)
+    {
+        return delegate.schedulePeriodically(task, initialDelay, period, unit);
+    }
+
+    @Override
+    public long now(TimeUnit unit)
+    {
+        return delegate.now(unit);
+    }
+
+    @Override
+    public Worker createWorker()
+    {
+        return new InstrumentedWorker(delegate.createWorker());
+    }
+
+    @Override
+    public void start()
+    {
+        delegate.start();
+    }
+
+    @Override
+    public void dispose()
+    {
+        delegate.dispose();
+    }
+
+    @Override
+    public boolean isDisposed()
+    {
+        return delegate.isDisposed();
+    }
+
+    @FunctionalInterface
+    private interface ScheduleFunction
+    {
+        Disposable schedule(Runnable task);
+    }
+
+    private class InstrumentedWorker implements Worker
+    {
+        private final Worker delegateWorker;
+
+        InstrumentedWorker(Worker delegateWorkerRef)
+        {
+            delegateWorker = delegateWorkerRef;
+        }
+
+        @Override
+        public Disposable schedule(Runnable task)
+        {
+            return track(wrap(task, 0), delegateWorker::schedule);
+        }
+
+        @Override
+        public Disposable schedule(Runnable task, long delay, TimeUnit unit)
+        {
+            return track(wrap(task, unit.toNanos(delay)), wrapped -> delegateWorker.schedule(wrapped, delay, unit));
+        }
+
+        @Override
+        public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit)
+        {
+            return delegateWorker.schedulePeriodically(task, initialDelay, period, unit);
+        }
+
+        @Override
+        public void dispose()
+        {
+            delegateWorker.dispose();
+        }
+
+        @Override
+        public boolean isDisposed()
+        {
+            return delegateWorker.isDisposed();
+        }
+    }
+}
@@ -36,7 +36,9 @@ public class InternalApiConsts
     public static final String API_PRIMARY_RSC           = "PrimaryRsc";
 
     public static final String API_CHANGED_RSC       = "ChangedRsc";
+    public static final String API_CHANGED_RSC_DATA  = "ChangedRscData"; // pushes the data with the notification
     public static final String API_REQUEST_RSC       = "RequestRsc";
+    public static final String API_REQUEST_RSCS      = "RequestRscs";
     public static final String API_APPLY_RSC         = "ApplyRsc";
     public static final String API_APPLY_RSC_DELETED = "ApplyDeletedRsc";
 
@@ -51,6 +53,7 @@ public class InternalApiConsts
 
     public static final String API_CHANGED_STOR_POOL       = "ChangedStorPool";
     public static final String API_REQUEST_STOR_POOL       = "RequestStorPool";
+    public static final String API_REQUEST_STOR_POOLS      = "RequestStorPools";
     public static final String API_APPLY_STOR_POOL         = "ApplyStorPool";
     public static final String API_APPLY_STOR_POOL_DELETED = "ApplyDeletedStorPool";
     public static final String API_UPDATE_FREE_CAPACITY    = "UpdateFreeCapacity";
@@ -60,6 +63,13 @@ public class InternalApiConsts
     public static final String API_APPLY_SHARED_STOR_POOL_LOCKS = "ApplySharedStorPoolLocks";
     public static final String API_NOTIFY_DEV_MGR_RUN_COMPLETED = "NotifyDevMgrRunCompleted";
 
+    public static final String API_UPDATE_ERROR_REPORT_COUNTERS = "UpdateErrorReportCounters";
+    public static final String API_UPDATE_DEV_MGR_LOCK_STATS = "UpdateDevMgrLockStats";
+    public static final String API_UPDATE_EXT_CMD_STATS = "UpdateExtCmdStats";
+    public static final String API_UPDATE_TRANSFER_PROGRESS = "UpdateTransferProgress";
+
+    public static final String API_EVENT_BATCH = "EventBatch";
+
     public static final String API_CRYPT_KEY = "cryptKey";
 
     public static final String API_REQUEST_THIN_FREE_SPACE = "RequestThinFreeSpace";
@@ -4,7 +4,6 @@ import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
 import reactor.core.scheduler.Scheduler;
-import reactor.core.scheduler.Schedulers;
 
 public class LinStorModule extends AbstractModule
 {
@@ -15,8 +14,8 @@ public class LinStorModule extends AbstractModule
 
     @Provides
     @Singleton
-    public Scheduler mainWorkerPoolScheduler()
+    public Scheduler mainWorkerPoolScheduler(LinStorSchedulers schedulers)
     {
-        return Schedulers.newParallel("MainWorkerPool");
+        return schedulers.getMainScheduler();
     }
 }
@@ -0,0 +1,115 @@
+package com.linbit.linstor;
+
+import com.linbit.linstor.core.LinStor;
+import com.linbit.linstor.metrics.HistogramFamily;
+import com.linbit.linstor.metrics.LinStorMetrics;
+import com.linbit.linstor.proto.CommonMessageProcessor;
+import com.linbit.utils.MathUtils;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The worker pools used by the Reactor pipelines.
+ *
+ * <ul>
+ *     <li>The main worker pool has one thread per CPU and is meant for short, CPU bound work like publishing events
+ *         and (de-)serializing messages.</li>
+ *     <li>The blocking worker pool is an elastic pool for work that waits for locks or the database, i.e. API
+ *         scopes. Long lock waits therefore do not starve the CPU bound work.</li>
+ *     <li>The peer message pool processes the messages received from peers (i.e. satellite responses).</li>
+ * </ul>
+ *
+ * All pools are instrumented so that queue depths and wait times can be exported as metrics.
+ */
+@Singleton
+public class LinStorSchedulers
+{
+    public static final String MAIN_WORKER_POOL = "MainWorkerPool";
+    public static final String BLOCKING_WORKER_POOL = "BlockingWorkerPool";
+    public static final String PEER_MESSAGE_POOL = "PeerMessagePool";
+
+    private static final int MIN_BLOCKING_THR_COUNT = 16;
+    private static final int BLOCKING_THR_PER_CPU = 10;
+    private static final int BLOCKING_QUEUE_SIZE = 100_000;
+    private static final int BLOCKING_TTL_SECONDS = 60;
+
+    private final InstrumentedScheduler mainScheduler;
+    private final InstrumentedScheduler blockingScheduler;
+    private final InstrumentedScheduler peerMessageScheduler;
+    private final int peerMessageThreadCount;
+
+    @Inject
+    public LinStorSchedulers(LinStorMetrics metricsRef)
+    {
+        HistogramFamily waitHistograms = metricsRef.getSchedulerWait();
+        peerMessageThreadCount = MathUtils.bounds(
+            CommonMessageProcessor.MIN_THR_COUNT,
+            LinStor.CPU_COUNT,
+            CommonMessageProcessor.MAX_THR_COUNT
+        );
+        mainScheduler = new InstrumentedScheduler(
+            MAIN_WORKER_POOL,
+            Schedulers.newParallel(MAIN_WORKER_POOL),
+            waitHistograms.labels(MAIN_WORKER_POOL)
+        );
+        blockingScheduler = new InstrumentedScheduler(
+            BLOCKING_WORKER_POOL,
+            Schedulers.newBoundedElastic(
+                Math.max(MIN_BLOCKING_THR_COUNT, LinStor.CPU_COUNT * BLOCKING_THR_PER_CPU),
+                BLOCKING_QUEUE_SIZE,
+                BLOCKING_WORKER_POOL,
+                BLOCKING_TTL_SECONDS,
+                true
+            ),
+            waitHistograms.labels(BLOCKING_WORKER_POOL)
+        );
+        peerMessageScheduler = new InstrumentedScheduler(
+            PEER_MESSAGE_POOL,
+            Schedulers.newParallel(PEER_MESSAGE_POOL, peerMessageThreadCount),
+            waitHistograms.labels(PEER_MESSAGE_POOL)
+        );
+    }
+
+    public InstrumentedScheduler getMainScheduler()
+    {
+        return mainScheduler;
+    }
+
+    public InstrumentedScheduler getBlockingScheduler()
+    {
+        return blockingScheduler;
+    }
+
+    public InstrumentedScheduler getPeerMessageScheduler()
+    {
+        return peerMessageScheduler;
+    }
+
+    public int getPeerMessageThreadCount()
+    {
+        return peerMessageThreadCount;
+    }
+
+    public List<InstrumentedScheduler> getAll()
+    {
+        return Collections.unmodifiableList(Arrays.asList(mainScheduler, blockingScheduler, peerMessageScheduler));
+    }
+
+    /**
+     * Stops the threads of all schedulers
+     */
+    public void dispose()
+    {
+        for (InstrumentedScheduler scheduler : getAll())
+        {
+            scheduler.dispose();
+        }
+    }
+}
@@ -22,6 +22,11 @@ public class ApiModule extends AbstractModule
 {
     public static final String API_CALL_ID = "apiCallId";
     public static final String API_CALL_NAME = "apiCallName";
+    /**
+     * Subscriber context key. If set to true, the scopes of the API call are executed on the blocking worker pool
+     * instead of the subscribing thread.
+     */
+    public static final String OFFLOAD_BLOCKING_SCOPES = "offloadBlockingScopes";
 
     private final ApiType apiType;
     private final List<Class<? extends BaseApiCall>> apiCalls;
@@ -13,6 +13,7 @@ import com.linbit.linstor.security.AccessDeniedException;
 import com.linbit.linstor.storage.StorageException;
 import com.linbit.utils.Pair;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -22,11 +23,19 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongConsumer;
 
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.SdkClientException;
@@ -64,6 +73,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 public class BackupToS3
 {
     private static final ObjectMapper OBJ_MAPPER = new ObjectMapper();
+    private static final int PARALLEL_META_FILE_DOWNLOADS = 8;
 
     private final StltConfigAccessor stltConfigAccessor;
     private final DecryptionHelper decHelper;
@@ -106,6 +116,11 @@ public class BackupToS3
         return initResp.getUploadId();
     }
 
+    /**
+     * Uploads the whole <code>input</code> as parts of the given multipart upload and completes it.
+     *
+     * @param partUploadedListener if not null, called with the size in bytes of every part after it was uploaded
+     */
     public void putObjectMultipart(
         String key,
         InputStream input,
@@ -113,7 +128,8 @@ public class BackupToS3
         String uploadId,
         S3Remote remote,
         AccessContext accCtx,
-        byte[] masterKey
+        byte[] masterKey,
+        @Nullable LongConsumer partUploadedListener
     ) throws AccessDeniedException, SdkClientException, AmazonServiceException, IOException, StorageException
     {
         assert maxSize >= 0;
@@ -155,6 +171,10 @@ public class BackupToS3
                     .withRequesterPays(reqPays);
                 UploadPartResult uploadResult = s3.uploadPart(uploadRequest);
                 parts.add(uploadResult.getPartETag());
+                if (partUploadedListener != null)
+                {
+                    partUploadedListener.accept(offset);
+                }
                 offset = 0;
                 partId++;
             }
@@ -172,6 +192,10 @@ public class BackupToS3
                 .withRequesterPays(reqPays);
             UploadPartResult uploadResult = s3.uploadPart(uploadRequest);
             parts.add(uploadResult.getPartETag());
+            if (partUploadedListener != null)
+            {
+                partUploadedListener.accept(offset);
+            }
         }
         CompleteMultipartUploadRequest compRequest = new CompleteMultipartUploadRequest(
             bucket,
@@ -327,40 +351,177 @@ public class BackupToS3
             String bucket = remote.getBucket(accCtx);
             boolean reqPays = getRequesterPays(remote, accCtx, s3, bucket);
 
-            GetObjectRequest req = new GetObjectRequest(bucket, key, reqPays);
-            S3Object obj = s3.getObject(req);
-            S3ObjectInputStream s3is = obj.getObjectContent();
+            metaFileContent = downloadMetaFile(s3, bucket, reqPays, key);
+            cacheMetaFileContent(remote, key, metaFileContent);
+        }
+        return OBJ_MAPPER.readValue(metaFileContent, BackupMetaDataPojo.class);
+    }
 
+    /**
+     * Downloads all given .meta files that are not cached yet in parallel, so that the following
+     * {@link #getMetaFile(String, S3Remote, AccessContext, byte[])} calls are answered from the cache.
+     * Only keys that were returned by the last {@link #listObjects(String, S3Remote, AccessContext, byte[])} call are
+     * cached. Failed downloads are ignored here, they are retried (and reported) by the following getMetaFile call.
+     *
+     * @return the number of downloaded .meta files
+     */
+    public int prefetchMetaFiles(Collection<String> keys, S3Remote remote, AccessContext accCtx, byte[] masterKey)
+        throws AccessDeniedException
+    {
+        List<String> keysToDownload = new ArrayList<>();
+        HashMap<String, Pair<String, String>> remoteCache;
+        synchronized (cache)
+        {
+            remoteCache = lazyGet(cache, remote);
+        }
+        synchronized (remoteCache)
+        {
+            for (String key : keys)
             {
-                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-                byte[] data = new byte[1024];
-                for (int nRead = s3is.read(data, 0, data.length); nRead != -1; nRead = s3is.read(data, 0, data.length))
+                Pair<String, String> pair = remoteCache.get(key);
+                if (pair != null && pair.objB == null)
                 {
-                    buffer.write(data, 0, nRead);
+                    keysToDownload.add(key);
                 }
+            }
+        }
 
-                buffer.flush();
-                byte[] byteArray = buffer.toByteArray();
+        int downloaded = 0;
+        if (!keysToDownload.isEmpty())
+        {
+            // the client is thread safe, so all downloads share the same client and its connection pool
+            final AmazonS3 s3 = getS3Client(remote, accCtx, masterKey);
+            String bucket = remote.getBucket(accCtx);
+            boolean reqPays = getRequesterPays(remote, accCtx, s3, bucket);
 
-                metaFileContent = new String(byteArray, StandardCharsets.UTF_8);
-            }
+            ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(keysToDownload.size(), PARALLEL_META_FILE_DOWNLOADS)
+            );
+            try
             {
-                HashMap<String, Pair<String, String>> remoteCache;
-                synchronized (cache)
+                List<Future<?>> downloads = new ArrayList<>();
+                for (String key : keysToDownload)
                 {
-                    remoteCache = lazyGet(cache, remote);
+                    downloads.add(
+                        executor.submit(
+                            () ->
+                            {
+                                cacheMetaFileContent(remote, key, downloadMetaFile(s3, bucket, reqPays, key));
+                                return null;
+                            }
+                        )
+                    );
                 }
-                synchronized (remoteCache)
+                for (int idx = 0; idx < downloads.size(); ++idx)
                 {
-                    Pair<String, String> pair = remoteCache.get(key);
-                    if (pair != null)
+                    try
                     {
-                        pair.objB = metaFileContent;
+                        downloads.get(idx).get();
+                        ++downloaded;
+                    }
+                    catch (ExecutionException exc)
+                    {
+                        errorReporter.logDebug(
+                            "Prefetching meta file %s failed: %s",
+                            keysToDownload.get(idx),
+                            exc.getCause().getMessage()
+                        );
                     }
                 }
             }
+            catch (InterruptedException exc)
+            {
+                Thread.currentThread().interrupt();
+            }
+            finally
+            {
+                executor.shutdownNow();
+            }
+        }
+        return downloaded;
+    }
+
+    /**
+     * Returns a copy of the cached .meta files of the given remote that have a known content, as
+     * Map<S3Key, Pair<Etag, content of .meta file>>
+     */
+    public Map<String, Pair<String, String>> getCachedMetaFiles(S3Remote remote)
+    {
+        Map<String, Pair<String, String>> ret = new TreeMap<>();
+        HashMap<String, Pair<String, String>> remoteCache;
+        synchronized (cache)
+        {
+            remoteCache = lazyGet(cache, remote);
+        }
+        synchronized (remoteCache)
+        {
+            for (Map.Entry<String, Pair<String, String>> entry : remoteCache.entrySet())
+            {
+                Pair<String, String> pair = entry.getValue();
+                if (pair.objB != null)
+                {
+                    ret.put(entry.getKey(), new Pair<>(pair.objA, pair.objB));
+                }
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Adds previously cached .meta files (i.e. from before a restart) to the cache. Entries that are already cached
+     * are not overwritten. The next {@link #listObjects(String, S3Remote, AccessContext, byte[])} call drops the
+     * entries whose object no longer exists or has a different Etag.
+     */
+    public void addCachedMetaFiles(S3Remote remote, Map<String, Pair<String, String>> metaFiles)
+    {
+        HashMap<String, Pair<String, String>> remoteCache;
+        synchronized (cache)
+        {
+            remoteCache = lazyGet(cache, remote);
+        }
+        synchronized (remoteCache)
+        {
+            for (Map.Entry<String, Pair<String, String>> entry : metaFiles.entrySet())
+            {
+                Pair<String, String> pair = entry.getValue();
+                remoteCache.putIfAbsent(entry.getKey(), new Pair<>(pair.objA, pair.objB));
+            }
+        }
+    }
+
+    private String downloadMetaFile(AmazonS3 s3, String bucket, boolean reqPays, String key) throws IOException
+    {
+        GetObjectRequest req = new GetObjectRequest(bucket, key, reqPays);
+        S3Object obj = s3.getObject(req);
+        try (S3ObjectInputStream s3is = obj.getObjectContent())
+        {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            byte[] data = new byte[1024];
+            for (int nRead = s3is.read(data, 0, data.length); nRead != -1; nRead = s3is.read(data, 0, data.length))
+            {
+                buffer.write(data, 0, nRead);
+            }
+
+            buffer.flush();
+            return new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private void cacheMetaFileContent(S3Remote remote, String key, String metaFileContent)
+    {
+        HashMap<String, Pair<String, String>> remoteCache;
+        synchronized (cache)
+        {
+            remoteCache = lazyGet(cache, remote);
+        }
+        synchronized (remoteCache)
+        {
+            Pair<String, String> pair = remoteCache.get(key);
+            if (pair != null)
+            {
+                pair.objB = metaFileContent;
+            }
         }
-        return OBJ_MAPPER.readValue(metaFileContent, BackupMetaDataPojo.class);
     }
 
     private HashMap<String, Pair<String, String>> lazyGet(
@@ -432,7 +593,15 @@ public class BackupToS3
         }
         synchronized (remoteCache)
         {
-            HashSet<String> keysToRemoveFromCache = new HashSet<>(remoteCache.keySet());
+            HashSet<String> keysToRemoveFromCache = new HashSet<>();
+            for (String cachedKey : remoteCache.keySet())
+            {
+                // only keys matching the prefix were listed, the others must stay cached
+                if (withPrefix == null || cachedKey.startsWith(withPrefix))
+                {
+                    keysToRemoveFromCache.add(cachedKey);
+                }
+            }
             for (S3ObjectSummary objSummary : objects)
             {
                 String key = objSummary.getKey();
@@ -453,6 +622,7 @@ public class BackupToS3
                     {
                         if (!eTag.equals(pair.objA))
                         {
+                            pair.objA = eTag;
                             pair.objB = null; // clear the content
                         }
                     }
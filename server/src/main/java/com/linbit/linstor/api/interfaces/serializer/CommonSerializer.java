@@ -77,6 +77,11 @@ public interface CommonSerializer
             String eventStreamAction
         );
 
+        /**
+         * @param events payloads of single event messages, i.e. without message header
+         */
+        CommonSerializerBuilder eventBatch(List<byte[]> events);
+
         CommonSerializerBuilder volumeDiskState(String diskState);
 
         CommonSerializerBuilder resourceStateEvent(ResourceState resourceState);
@@ -105,7 +110,8 @@ public interface CommonSerializer
 
         CommonSerializerBuilder requestSosReportFiles(
             String sosReportNameRef,
-            ArrayList<RequestFilePojo> nextBatchToRequestRef
+            ArrayList<RequestFilePojo> nextBatchToRequestRef,
+            boolean compressRef
         );
 
         CommonSerializerBuilder errorReports(@Nonnull ErrorReportResult errorReportResult);
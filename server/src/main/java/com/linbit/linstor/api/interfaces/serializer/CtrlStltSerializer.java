@@ -1,7 +1,9 @@
 package com.linbit.linstor.api.interfaces.serializer;
 
+import com.linbit.extproc.ExtCmdStats;
 import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.SpaceInfo;
+import com.linbit.linstor.api.pojo.TransferProgressPojo;
 import com.linbit.linstor.core.apicallhandler.controller.internal.helpers.AtomicUpdateSatelliteData;
 import com.linbit.linstor.core.cfg.StltConfig;
 import com.linbit.linstor.core.identifier.SharedStorPoolName;
@@ -13,6 +15,7 @@ import com.linbit.linstor.core.objects.SnapshotDefinition;
 import com.linbit.linstor.core.objects.StorPool;
 import com.linbit.linstor.core.objects.remotes.AbsRemote;
 import com.linbit.linstor.core.pojos.LocalPropsChangePojo;
+import com.linbit.linstor.logging.ErrorReportCounters;
 import com.linbit.linstor.storage.LsBlkEntry;
 import com.linbit.linstor.storage.kinds.DeviceProviderKind;
 import com.linbit.linstor.storage.kinds.RaidLevel;
@@ -149,6 +152,17 @@ public interface CtrlStltSerializer extends CommonSerializer
             boolean successRef
         );
 
+        CtrlStltSerializerBuilder updateErrorReportCounters(
+            Map<ErrorReportCounters.Key, Long> counters,
+            boolean full
+        );
+
+        CtrlStltSerializerBuilder updateDevMgrLockStats(double[] upperBounds, long[] cumulativeCounts, double sum);
+
+        CtrlStltSerializerBuilder updateExtCmdStats(Collection<ExtCmdStats.Snapshot> stats);
+
+        CtrlStltSerializerBuilder updateTransferProgress(Collection<TransferProgressPojo> transfers);
+
         CtrlStltSerializerBuilder notifyBackupShipped(
             SnapshotDefinition.Key snapKey,
             boolean successRef,
@@ -181,7 +195,9 @@ public interface CtrlStltSerializer extends CommonSerializer
         CtrlStltSerializerBuilder requestControllerUpdate();
         CtrlStltSerializerBuilder requestNodeUpdate(UUID nodeUuid, String nodeName);
         CtrlStltSerializerBuilder requestResourceUpdate(UUID rscUuid, String nodeName, String rscName);
+        CtrlStltSerializerBuilder requestResourceUpdates(String nodeName, Map<String, UUID> rscs);
         CtrlStltSerializerBuilder requestStoragePoolUpdate(UUID storPoolUuid, String storPoolName);
+        CtrlStltSerializerBuilder requestStoragePoolUpdates(Map<String, UUID> storPools);
         CtrlStltSerializerBuilder requestSnapshotUpdate(
             String rscName,
             UUID snapshotUuid,
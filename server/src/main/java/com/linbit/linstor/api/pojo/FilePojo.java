@@ -6,12 +6,26 @@ public class FilePojo
     public final long timestamp;
     public final byte[] content;
     public final long offset;
+    /** If true, the content is gzip compressed */
+    public final boolean compressed;
 
     public FilePojo(String relativeNameRef, long timestampRef, byte[] contentRef, long offsetRef)
+    {
+        this(relativeNameRef, timestampRef, contentRef, offsetRef, false);
+    }
+
+    public FilePojo(
+        String relativeNameRef,
+        long timestampRef,
+        byte[] contentRef,
+        long offsetRef,
+        boolean compressedRef
+    )
     {
         fileName = relativeNameRef;
         timestamp = timestampRef;
         content = contentRef;
         offset = offsetRef;
+        compressed = compressedRef;
     }
 }
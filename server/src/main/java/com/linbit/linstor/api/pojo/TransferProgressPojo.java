@@ -0,0 +1,129 @@
+package com.linbit.linstor.api.pojo;
+
+import javax.annotation.Nullable;
+
+/**
+ * Progress of a single volume of a backup, snapshot shipping or clone running on a satellite
+ */
+public class TransferProgressPojo
+{
+    public enum Kind
+    {
+        BACKUP_SEND,
+        BACKUP_RECEIVE,
+        SNAPSHOT_SHIPPING_SEND,
+        SNAPSHOT_SHIPPING_RECEIVE,
+        CLONE
+    }
+
+    private final Kind kind;
+    private final String rscName;
+    private final @Nullable String snapName;
+    private final int vlmNr;
+    private final @Nullable String remoteName;
+    private final long bytesDone;
+    private final long bytesTotal;
+    private final long wireBytes;
+    private final long bytesPerSecond;
+    private final long startTimestamp;
+
+    public TransferProgressPojo(
+        Kind kindRef,
+        String rscNameRef,
+        @Nullable String snapNameRef,
+        int vlmNrRef,
+        @Nullable String remoteNameRef,
+        long bytesDoneRef,
+        long bytesTotalRef,
+        long wireBytesRef,
+        long bytesPerSecondRef,
+        long startTimestampRef
+    )
+    {
+        kind = kindRef;
+        rscName = rscNameRef;
+        snapName = snapNameRef;
+        vlmNr = vlmNrRef;
+        remoteName = remoteNameRef;
+        bytesDone = bytesDoneRef;
+        bytesTotal = bytesTotalRef;
+        wireBytes = wireBytesRef;
+        bytesPerSecond = bytesPerSecondRef;
+        startTimestamp = startTimestampRef;
+    }
+
+    public Kind getKind()
+    {
+        return kind;
+    }
+
+    public String getRscName()
+    {
+        return rscName;
+    }
+
+    public @Nullable String getSnapName()
+    {
+        return snapName;
+    }
+
+    public int getVlmNr()
+    {
+        return vlmNr;
+    }
+
+    public @Nullable String getRemoteName()
+    {
+        return remoteName;
+    }
+
+    /**
+     * @return the number of uncompressed bytes processed so far, or -1 if unknown
+     */
+    public long getBytesDone()
+    {
+        return bytesDone;
+    }
+
+    /**
+     * @return the estimated number of uncompressed bytes of the whole transfer, or -1 if unknown
+     */
+    public long getBytesTotal()
+    {
+        return bytesTotal;
+    }
+
+    /**
+     * @return the number of bytes sent or received over the network so far, or 0 if unknown
+     */
+    public long getWireBytes()
+    {
+        return wireBytes;
+    }
+
+    /**
+     * @return the current rate of uncompressed bytes, or of the bytes on the wire if the former is unknown
+     */
+    public long getBytesPerSecond()
+    {
+        return bytesPerSecond;
+    }
+
+    public long getStartTimestamp()
+    {
+        return startTimestamp;
+    }
+
+    /**
+     * @return the estimated number of seconds until the transfer finishes, or -1 if unknown
+     */
+    public long getEtaSeconds()
+    {
+        long eta = -1;
+        if (bytesDone >= 0 && bytesTotal > 0 && bytesPerSecond > 0)
+        {
+            eta = Math.max(0, bytesTotal - bytesDone) / bytesPerSecond;
+        }
+        return eta;
+    }
+}
@@ -129,6 +129,7 @@ import com.linbit.linstor.proto.eventdata.EventRscStateOuterClass.EventRscState.
 import com.linbit.linstor.proto.eventdata.EventRscStateOuterClass.PeerState;
 import com.linbit.linstor.proto.eventdata.EventVlmDiskStateOuterClass;
 import com.linbit.linstor.proto.javainternal.s2c.MsgIntAuthResponseOuterClass.MsgIntAuthResponse;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntEventBatchOuterClass.MsgIntEventBatch;
 import com.linbit.linstor.proto.requests.MsgDelErrorReportsOuterClass.MsgDelErrorReports;
 import com.linbit.linstor.proto.requests.MsgReqErrorReportOuterClass.MsgReqErrorReport;
 import com.linbit.linstor.proto.requests.MsgReqSosReportFilesOuterClass.MsgReqSosReportFiles;
@@ -169,6 +170,7 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 
 public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSerializerBuilder
 {
@@ -366,6 +368,8 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
                 )
                 .setNodeUname(uname)
                 .addAllProperties(serializeDynamicProperties(whitelistProps))
+                // satellites handle InternalApiConsts.API_CHANGED_RSC_DATA
+                .setPushUpdatesSupported(true)
                 .build()
                 .writeDelimitedTo(baos);
         }
@@ -563,6 +567,25 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
         return this;
     }
 
+    @Override
+    public CommonSerializer.CommonSerializerBuilder eventBatch(List<byte[]> events)
+    {
+        try
+        {
+            MsgIntEventBatch.Builder builder = MsgIntEventBatch.newBuilder();
+            for (byte[] event : events)
+            {
+                builder.addEvents(ByteString.copyFrom(event));
+            }
+            builder.build().writeDelimitedTo(baos);
+        }
+        catch (IOException exc)
+        {
+            handleIOException(exc);
+        }
+        return this;
+    }
+
     @Override
     public CommonSerializer.CommonSerializerBuilder volumeDiskState(String diskState)
     {
@@ -834,7 +857,8 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
     @Override
     public CommonSerializerBuilder requestSosReportFiles(
         String sosReportNameRef,
-        ArrayList<RequestFilePojo> requestedFilesRef
+        ArrayList<RequestFilePojo> requestedFilesRef,
+        boolean compressRef
     )
     {
         try
@@ -842,6 +866,7 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
             MsgReqSosReportFiles.newBuilder()
                 .setSosReportName(sosReportNameRef)
                 .addAllFiles(serializeRequestedFiles(requestedFilesRef))
+                .setCompress(compressRef)
                 .build()
                 .writeDelimitedTo(baos);
         }
@@ -950,7 +975,9 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
                     .setFileName(pojo.fileName)
                     .setOffset(pojo.offset)
                     .setTime(pojo.timestamp)
-                    .setContent(ByteString.copyFrom(pojo.content))
+                    // the content is not modified afterwards, no need to copy up to 10MiB
+                    .setContent(UnsafeByteOperations.unsafeWrap(pojo.content))
+                    .setCompressed(pojo.compressed)
                     .build()
             );
         }
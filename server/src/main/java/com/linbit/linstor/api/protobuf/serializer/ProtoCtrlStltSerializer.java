@@ -18,17 +18,20 @@ public class ProtoCtrlStltSerializer extends ProtoCommonSerializer
 {
     private final CtrlSecurityObjects secObjs;
     private final Props ctrlConf;
+    private final ProtoFragmentCache fragmentCache;
 
     @Inject
     public ProtoCtrlStltSerializer(
         ErrorReporter errReporter,
         @ApiContext AccessContext serializerCtx,
         CtrlSecurityObjects secObjsRef,
-        @Named(LinStor.SATELLITE_PROPS) Props ctrlConfRef)
+        @Named(LinStor.SATELLITE_PROPS) Props ctrlConfRef,
+        ProtoFragmentCache fragmentCacheRef)
     {
         super(errReporter, serializerCtx);
         secObjs = secObjsRef;
         ctrlConf = ctrlConfRef;
+        fragmentCache = fragmentCacheRef;
     }
 
     @Override
@@ -67,6 +70,6 @@ public class ProtoCtrlStltSerializer extends ProtoCommonSerializer
     private CtrlStltSerializerBuilder builder(String apiCall, Long apiCallId, boolean isAnswer)
     {
         return new ProtoCtrlStltSerializerBuilder(
-            errorReporter, serializerCtx, secObjs, ctrlConf, apiCall, apiCallId, isAnswer);
+            errorReporter, serializerCtx, secObjs, ctrlConf, fragmentCache, apiCall, apiCallId, isAnswer);
     }
 }
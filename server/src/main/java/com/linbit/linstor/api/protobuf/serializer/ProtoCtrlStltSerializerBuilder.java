@@ -1,11 +1,13 @@
 package com.linbit.linstor.api.protobuf.serializer;
 
 import com.linbit.ImplementationError;
+import com.linbit.extproc.ExtCmdStats;
 import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.SpaceInfo;
 import com.linbit.linstor.api.interfaces.serializer.CommonSerializer.CommonSerializerBuilder;
 import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
 import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer.CtrlStltSerializerBuilder;
+import com.linbit.linstor.api.pojo.TransferProgressPojo;
 import com.linbit.linstor.api.protobuf.ProtoStorPoolFreeSpaceUtils;
 import com.linbit.linstor.core.CtrlSecurityObjects;
 import com.linbit.linstor.core.apicallhandler.controller.internal.helpers.AtomicUpdateSatelliteData;
@@ -32,10 +34,13 @@ import com.linbit.linstor.core.objects.remotes.EbsRemote;
 import com.linbit.linstor.core.objects.remotes.S3Remote;
 import com.linbit.linstor.core.objects.remotes.StltRemote;
 import com.linbit.linstor.core.pojos.LocalPropsChangePojo;
+import com.linbit.linstor.logging.ErrorReportCounters;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.propscon.Props;
 import com.linbit.linstor.proto.common.CryptoEntryOuterClass;
+import com.linbit.linstor.proto.common.RscDfnOuterClass;
 import com.linbit.linstor.proto.common.RscLayerDataOuterClass.RscLayerData;
+import com.linbit.linstor.proto.common.RscOuterClass;
 import com.linbit.linstor.proto.common.StltConfigOuterClass;
 import com.linbit.linstor.proto.common.StorPoolFreeSpaceOuterClass;
 import com.linbit.linstor.proto.common.StorPoolFreeSpaceOuterClass.StorPoolFreeSpace;
@@ -89,9 +94,17 @@ import com.linbit.linstor.proto.javainternal.s2c.MsgIntChangedDataOuterClass.Cha
 import com.linbit.linstor.proto.javainternal.s2c.MsgIntChangedDataOuterClass.ChangedSnapshot;
 import com.linbit.linstor.proto.javainternal.s2c.MsgIntChangedDataOuterClass.MsgIntChangedData;
 import com.linbit.linstor.proto.javainternal.s2c.MsgIntCloneUpdateOuterClass.MsgIntCloneUpdate;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntDevMgrLockStatsOuterClass.MsgIntDevMgrLockStats;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntErrorReportCountersOuterClass.ErrorReportCounter;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntErrorReportCountersOuterClass.MsgIntErrorReportCounters;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntExtCmdStatsOuterClass.ExitCodeCount;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntExtCmdStatsOuterClass.ExtCmdStat;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntExtCmdStatsOuterClass.MsgIntExtCmdStats;
 import com.linbit.linstor.proto.javainternal.s2c.MsgIntPrimaryOuterClass;
 import com.linbit.linstor.proto.javainternal.s2c.MsgIntRequestSharedStorPoolLocksOuterClass.MsgIntRequestSharedStorPoolLocks;
 import com.linbit.linstor.proto.javainternal.s2c.MsgIntSnapshotShippedOuterClass.MsgIntSnapshotShipped;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntTransferProgressOuterClass.MsgIntTransferProgress;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntTransferProgressOuterClass.TransferProgress;
 import com.linbit.linstor.proto.javainternal.s2c.MsgIntUpdateFreeSpaceOuterClass.MsgIntUpdateFreeSpace;
 import com.linbit.linstor.proto.javainternal.s2c.MsgIntUpdateLocalNodeChangeOuterClass;
 import com.linbit.linstor.proto.javainternal.s2c.MsgPhysicalDevicesOuterClass;
@@ -139,12 +152,14 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
     private final ExternalFileSerializerHelper externalFileSerializerHelper;
     private final RemoteSerializerHelper remoteSerializerHelper;
     private final CtrlSecurityObjects secObjs;
+    private final ProtoFragmentCache fragmentCache;
 
     public ProtoCtrlStltSerializerBuilder(
         ErrorReporter errReporter,
         AccessContext serializerCtx,
         CtrlSecurityObjects secObjsRef,
         Props ctrlConfRef,
+        ProtoFragmentCache fragmentCacheRef,
         final String apiCall,
         Long apiCallId,
         boolean isAnswer
@@ -152,6 +167,7 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
     {
         super(errReporter, serializerCtx, apiCall, apiCallId, isAnswer);
         secObjs = secObjsRef;
+        fragmentCache = fragmentCacheRef;
 
         ctrlSerializerHelper = new CtrlSerializerHelper(ctrlConfRef);
         rscSerializerHelper = new ResourceSerializerHelper();
@@ -984,6 +1000,139 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
         return this;
     }
 
+    @Override
+    public CtrlStltSerializerBuilder updateErrorReportCounters(
+        Map<ErrorReportCounters.Key, Long> counters,
+        boolean full
+    )
+    {
+        try
+        {
+            MsgIntErrorReportCounters.Builder builder = MsgIntErrorReportCounters.newBuilder()
+                .setFull(full);
+            for (Map.Entry<ErrorReportCounters.Key, Long> entry : counters.entrySet())
+            {
+                builder.addCounters(
+                    ErrorReportCounter.newBuilder()
+                        .setSeverity(entry.getKey().severity)
+                        .setException(entry.getKey().exception)
+                        .setCount(entry.getValue())
+                );
+            }
+            builder.build().writeDelimitedTo(baos);
+        }
+        catch (IOException exc)
+        {
+            handleIOException(exc);
+        }
+        return this;
+    }
+
+    @Override
+    public CtrlStltSerializerBuilder updateDevMgrLockStats(
+        double[] upperBounds,
+        long[] cumulativeCounts,
+        double sum
+    )
+    {
+        try
+        {
+            MsgIntDevMgrLockStats.Builder builder = MsgIntDevMgrLockStats.newBuilder()
+                .setSum(sum);
+            for (double upperBound : upperBounds)
+            {
+                builder.addUpperBounds(upperBound);
+            }
+            for (long count : cumulativeCounts)
+            {
+                builder.addCumulativeCounts(count);
+            }
+            builder.build().writeDelimitedTo(baos);
+        }
+        catch (IOException exc)
+        {
+            handleIOException(exc);
+        }
+        return this;
+    }
+
+    @Override
+    public CtrlStltSerializerBuilder updateExtCmdStats(Collection<ExtCmdStats.Snapshot> stats)
+    {
+        try
+        {
+            MsgIntExtCmdStats.Builder builder = MsgIntExtCmdStats.newBuilder();
+            for (ExtCmdStats.Snapshot snapshot : stats)
+            {
+                ExtCmdStat.Builder statBuilder = ExtCmdStat.newBuilder()
+                    .setBinary(snapshot.binary)
+                    .setSum(snapshot.sum)
+                    .setTimeouts(snapshot.timeouts)
+                    .setSpawnFailures(snapshot.spawnFailures)
+                    .setRunning(Math.max(0, snapshot.running));
+                for (double upperBound : snapshot.upperBounds)
+                {
+                    statBuilder.addUpperBounds(upperBound);
+                }
+                for (long count : snapshot.cumulativeCounts)
+                {
+                    statBuilder.addCumulativeCounts(count);
+                }
+                for (Map.Entry<Integer, Long> entry : snapshot.exitCodes.entrySet())
+                {
+                    statBuilder.addExitCodes(
+                        ExitCodeCount.newBuilder()
+                            .setExitCode(entry.getKey())
+                            .setCount(entry.getValue())
+                    );
+                }
+                builder.addStats(statBuilder);
+            }
+            builder.build().writeDelimitedTo(baos);
+        }
+        catch (IOException exc)
+        {
+            handleIOException(exc);
+        }
+        return this;
+    }
+
+    @Override
+    public CtrlStltSerializerBuilder updateTransferProgress(Collection<TransferProgressPojo> transfers)
+    {
+        try
+        {
+            MsgIntTransferProgress.Builder builder = MsgIntTransferProgress.newBuilder();
+            for (TransferProgressPojo transfer : transfers)
+            {
+                TransferProgress.Builder transferBuilder = TransferProgress.newBuilder()
+                    .setKind(transfer.getKind().name())
+                    .setRscName(transfer.getRscName())
+                    .setVlmNr(transfer.getVlmNr())
+                    .setBytesDone(transfer.getBytesDone())
+                    .setBytesTotal(transfer.getBytesTotal())
+                    .setWireBytes(transfer.getWireBytes())
+                    .setBytesPerSecond(transfer.getBytesPerSecond())
+                    .setStartTimestamp(transfer.getStartTimestamp());
+                if (transfer.getSnapName() != null)
+                {
+                    transferBuilder.setSnapName(transfer.getSnapName());
+                }
+                if (transfer.getRemoteName() != null)
+                {
+                    transferBuilder.setRemoteName(transfer.getRemoteName());
+                }
+                builder.addTransfers(transferBuilder);
+            }
+            builder.build().writeDelimitedTo(baos);
+        }
+        catch (IOException exc)
+        {
+            handleIOException(exc);
+        }
+        return this;
+    }
+
     @Override
     public CtrlStltSerializerBuilder notifyBackupShipped(
         SnapshotDefinition.Key snapKeyRef,
@@ -1195,6 +1344,17 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
         return this;
     }
 
+    @Override
+    public ProtoCtrlStltSerializerBuilder requestResourceUpdates(String nodeName, Map<String, UUID> rscs)
+    {
+        appendObjectId(null, nodeName);
+        for (Entry<String, UUID> entry : rscs.entrySet())
+        {
+            appendObjectId(entry.getValue(), entry.getKey());
+        }
+        return this;
+    }
+
     @Override
     public ProtoCtrlStltSerializerBuilder requestStoragePoolUpdate(UUID storPoolUuid, String storPoolName)
     {
@@ -1202,6 +1362,16 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
         return this;
     }
 
+    @Override
+    public ProtoCtrlStltSerializerBuilder requestStoragePoolUpdates(Map<String, UUID> storPools)
+    {
+        for (Entry<String, UUID> entry : storPools.entrySet())
+        {
+            appendObjectId(entry.getValue(), entry.getKey());
+        }
+        return this;
+    }
+
     @Override
     public ProtoCtrlStltSerializerBuilder requestSnapshotUpdate(
         String rscName,
@@ -1691,8 +1861,14 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
             ResourceDefinition rscDfn = localResource.getResourceDefinition();
 
             return IntRsc.newBuilder()
-                .setLocalRsc(ProtoCommonSerializerBuilder.serializeResource(serializerCtx, localResource))
-                .setRscDfn(ProtoCommonSerializerBuilder.serializeResourceDefinition(serializerCtx, rscDfn))
+                .setLocalRsc(serializeResourceCached(localResource))
+                .setRscDfn(
+                    fragmentCache.get(
+                        RscDfnOuterClass.RscDfn.class,
+                        rscDfn.getUuid(),
+                        () -> ProtoCommonSerializerBuilder.serializeResourceDefinition(serializerCtx, rscDfn)
+                    )
+                )
                 .addAllOtherResources(buildOtherResources(otherResources))
                 .addAllRscConnections(
                     ProtoCommonSerializerBuilder.serializeResourceConnections(
@@ -1710,21 +1886,35 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
 
             for (Resource rsc : otherResources)
             {
+                // the same for every peer of rsc, so built only once per update of the resource definition
                 list.add(
-                    IntOtherRsc.newBuilder()
-                        .setNode(
-                            ProtoCommonSerializerBuilder.serializeNode(
-                                serializerCtx,
-                                rsc.getNode()
+                    fragmentCache.get(
+                        IntOtherRsc.class,
+                        rsc.getUuid(),
+                        () -> IntOtherRsc.newBuilder()
+                            .setNode(
+                                ProtoCommonSerializerBuilder.serializeNode(
+                                    serializerCtx,
+                                    rsc.getNode()
+                                )
                             )
-                        )
-                        .setRsc(ProtoCommonSerializerBuilder.serializeResource(serializerCtx, rsc))
-                        .build()
+                            .setRsc(serializeResourceCached(rsc))
+                            .build()
+                    )
                 );
             }
 
             return list;
         }
+
+        private RscOuterClass.Rsc serializeResourceCached(Resource rsc) throws AccessDeniedException
+        {
+            return fragmentCache.get(
+                RscOuterClass.Rsc.class,
+                rsc.getUuid(),
+                () -> ProtoCommonSerializerBuilder.serializeResource(serializerCtx, rsc)
+            );
+        }
     }
 
     private class SnapshotSerializerHelper
@@ -0,0 +1,138 @@
+package com.linbit.linstor.api.protobuf.serializer;
+
+import com.linbit.linstor.security.AccessDeniedException;
+import com.linbit.linstor.transaction.TransactionObjectCollection;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.protobuf.Message;
+
+/**
+ * Caches protobuf sub-messages (fragments) that are part of the messages sent to several satellites. When a resource
+ * definition changes, every satellite with a resource of that definition requests its resource, and every answer
+ * contains the resource definition and all resources of the peers. With this cache each of these fragments is only
+ * built once and embedded into the node specific messages.
+ *
+ * Fragments are keyed by their type and the UUID of the serialized object. They are only valid as long as no
+ * transaction was committed or rolled back since they were built (see
+ * {@link TransactionObjectCollection#getGeneration()}) and for at most {@link #MAX_AGE_MILLIS}, as a few values
+ * (i.e. states reported by satellites) are changed without a transaction.
+ */
+@Singleton
+public class ProtoFragmentCache
+{
+    static final long MAX_AGE_MILLIS = 2_000;
+
+    @FunctionalInterface
+    public interface FragmentBuilder<T extends Message>
+    {
+        T build() throws AccessDeniedException;
+    }
+
+    private volatile Generation current = new Generation(-1, 0);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Inject
+    public ProtoFragmentCache()
+    {
+    }
+
+    /**
+     * Returns the cached fragment of the given object, or builds and caches it if there is no valid one.
+     */
+    public <T extends Message> T get(Class<T> type, UUID objUuid, FragmentBuilder<T> builder)
+        throws AccessDeniedException
+    {
+        // the generation has to be determined before building, so that a fragment built while a transaction was
+        // committed ends up in the already outdated generation
+        Generation gen = getCurrentGeneration();
+        FragmentKey key = new FragmentKey(type, objUuid);
+        T fragment = type.cast(gen.fragments.get(key));
+        if (fragment == null)
+        {
+            misses.increment();
+            fragment = builder.build();
+            gen.fragments.put(key, fragment);
+        }
+        else
+        {
+            hits.increment();
+        }
+        return fragment;
+    }
+
+    public long getHits()
+    {
+        return hits.sum();
+    }
+
+    public long getMisses()
+    {
+        return misses.sum();
+    }
+
+    private Generation getCurrentGeneration()
+    {
+        long txGeneration = TransactionObjectCollection.getGeneration();
+        long now = System.currentTimeMillis();
+        Generation gen = current;
+        if (gen.txGeneration != txGeneration || now - gen.createdAt > MAX_AGE_MILLIS)
+        {
+            // concurrent callers might replace each other's generation, which only costs a few cache misses
+            gen = new Generation(txGeneration, now);
+            current = gen;
+        }
+        return gen;
+    }
+
+    private static class Generation
+    {
+        private final long txGeneration;
+        private final long createdAt;
+        private final Map<FragmentKey, Message> fragments = new ConcurrentHashMap<>();
+
+        Generation(long txGenerationRef, long createdAtRef)
+        {
+            txGeneration = txGenerationRef;
+            createdAt = createdAtRef;
+        }
+    }
+
+    private static class FragmentKey
+    {
+        private final Class<?> type;
+        private final UUID objUuid;
+
+        FragmentKey(Class<?> typeRef, UUID objUuidRef)
+        {
+            type = typeRef;
+            objUuid = objUuidRef;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * type.hashCode() + objUuid.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            boolean eq = this == obj;
+            if (!eq && obj instanceof FragmentKey)
+            {
+                FragmentKey other = (FragmentKey) obj;
+                eq = type.equals(other.type) && objUuid.equals(other.objUuid);
+            }
+            return eq;
+        }
+    }
+}
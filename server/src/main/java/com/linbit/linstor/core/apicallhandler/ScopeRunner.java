@@ -1,11 +1,13 @@
 package com.linbit.linstor.core.apicallhandler;
 
 import com.linbit.ImplementationError;
+import com.linbit.linstor.LinStorSchedulers;
 import com.linbit.linstor.annotation.ErrorReporterContext;
 import com.linbit.linstor.annotation.PeerContext;
 import com.linbit.linstor.api.ApiModule;
 import com.linbit.linstor.api.LinStorScope;
 import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.metrics.LinStorMetrics;
 import com.linbit.linstor.netcom.Peer;
 import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.transaction.TransactionException;
@@ -25,6 +27,7 @@ import com.google.inject.name.Names;
 import org.slf4j.event.Level;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.util.context.ContextView;
 
 @Singleton
@@ -33,17 +36,23 @@ public class ScopeRunner
     private final ErrorReporter errorLog;
     private final TransactionMgrGenerator transactionMgrGenerator;
     private final LinStorScope apiCallScope;
+    private final Scheduler blockingScheduler;
+    private final LinStorMetrics metrics;
 
     @Inject
     public ScopeRunner(
         ErrorReporter errorLogRef,
         TransactionMgrGenerator transactionMgrGeneratorRef,
-        LinStorScope apiCallScopeRef
+        LinStorScope apiCallScopeRef,
+        LinStorSchedulers schedulersRef,
+        LinStorMetrics metricsRef
     )
     {
         errorLog = errorLogRef;
         transactionMgrGenerator = transactionMgrGeneratorRef;
         apiCallScope = apiCallScopeRef;
+        blockingScheduler = schedulersRef.getBlockingScheduler();
+        metrics = metricsRef;
     }
 
     public <T> Flux<T> fluxInTransactionalScope(
@@ -72,10 +81,19 @@ public class ScopeRunner
     )
     {
         return Mono.deferContextual(Mono::just)
-            .flatMapMany(subscriberContext -> Mono
-                .fromCallable(() -> doInScope(subscriberContext, scopeDescription, lockGuard, callable, transactional))
-                .flatMapMany(Function.identity())
-            )
+            .flatMapMany(subscriberContext ->
+            {
+                Mono<Flux<T>> scopeMono = Mono.fromCallable(
+                    () -> doInScope(subscriberContext, scopeDescription, lockGuard, callable, transactional)
+                );
+                // waiting for locks and the database must not block the subscribing thread if it is not meant to.
+                // Messages from peers are not offloaded, since they rely on being processed in order.
+                if (subscriberContext.getOrDefault(ApiModule.OFFLOAD_BLOCKING_SCOPES, false))
+                {
+                    scopeMono = scopeMono.subscribeOn(blockingScheduler);
+                }
+                return scopeMono.flatMapMany(Function.identity());
+            })
             .checkpoint(scopeDescription);
     }
 
@@ -123,6 +141,8 @@ public class ScopeRunner
         errorLog.logTrace(
             "%s%s '%s' scope '%s' start", peerDescription, apiCallDescription, apiCallName, scopeDescription);
 
+        boolean recordMetrics = metrics.isEnabled();
+        long startNanos = recordMetrics ? System.nanoTime() : 0;
         TransactionMgr transMgr = transactional ? transactionMgrGenerator.startTransaction() : null;
 
         Exception caughtExc = null;
@@ -182,6 +202,10 @@ public class ScopeRunner
             finally
             {
                 lockGuard.unlock();
+                if (recordMetrics)
+                {
+                    metrics.getScopeDuration().labels(apiCallName, scopeDescription).observeNanosSince(startNanos);
+                }
             }
 
             if (caughtExc != null)
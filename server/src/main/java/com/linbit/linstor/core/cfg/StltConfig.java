@@ -32,6 +32,13 @@ public class StltConfig extends LinstorConfig
     private String netSecureTruststorePassword;
     private String netSecureSslProtocol;
 
+    /*
+     * Shipping
+     */
+    private boolean shippingNativeTransport;
+    private int shippingStreams;
+    private boolean shippingTls;
+
     /*
      * External files
      */
@@ -58,6 +65,10 @@ public class StltConfig extends LinstorConfig
 
         setNetSecureSslProtocol("TLSv1.2");
 
+        setShippingNativeTransport(true);
+        setShippingStreams(1);
+        setShippingTls(false);
+
         setExternalFilesWhitelist(Collections.emptySet()); // just to prevent NPE when checking the set with .contains
     }
 
@@ -277,6 +288,45 @@ public class StltConfig extends LinstorConfig
         }
     }
 
+    public boolean isShippingNativeTransport()
+    {
+        return shippingNativeTransport;
+    }
+
+    public void setShippingNativeTransport(Boolean shippingNativeTransportRef)
+    {
+        if (shippingNativeTransportRef != null)
+        {
+            shippingNativeTransport = shippingNativeTransportRef;
+        }
+    }
+
+    public int getShippingStreams()
+    {
+        return shippingStreams;
+    }
+
+    public void setShippingStreams(Integer shippingStreamsRef)
+    {
+        if (shippingStreamsRef != null)
+        {
+            shippingStreams = shippingStreamsRef;
+        }
+    }
+
+    public boolean isShippingTls()
+    {
+        return shippingTls;
+    }
+
+    public void setShippingTls(Boolean shippingTlsRef)
+    {
+        if (shippingTlsRef != null)
+        {
+            shippingTls = shippingTlsRef;
+        }
+    }
+
     public Set<Path> getWhitelistedExternalFilePaths()
     {
         return whitelistedExternalFilePaths;
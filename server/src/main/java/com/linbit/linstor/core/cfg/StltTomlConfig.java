@@ -55,14 +55,30 @@ public class StltTomlConfig
         }
     }
 
+    static class Shipping
+    {
+        private Boolean native_transport;
+        private Integer streams;
+        private Boolean tls;
+
+        public void applyTo(StltConfig cfg)
+        {
+            cfg.setShippingNativeTransport(native_transport);
+            cfg.setShippingStreams(streams);
+            cfg.setShippingTls(tls);
+        }
+    }
+
     private NETCOM netcom = new NETCOM();
     private Logging logging = new Logging();
     private Files files = new Files();
+    private Shipping shipping = new Shipping();
 
     public void applyTo(StltConfig cfg)
     {
         netcom.applyTo(cfg);
         logging.applyTo(cfg);
         files.applyTo(cfg);
+        shipping.applyTo(cfg);
     }
 }
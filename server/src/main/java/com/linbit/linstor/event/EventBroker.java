@@ -19,10 +19,12 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Signal;
+import reactor.core.scheduler.Scheduler;
 
 @Singleton
 public class EventBroker
@@ -33,6 +35,7 @@ public class EventBroker
     private final Map<String, EventSerializer> eventSerializers;
     private final Map<String, EventSerializerDescriptor> eventSerializerDescriptors;
     private final ReentrantLock watchLock;
+    private final Scheduler scheduler;
 
     @Inject
     public EventBroker(
@@ -40,7 +43,8 @@ public class EventBroker
         CommonSerializer commonSerializerRef,
         WatchStore watchStoreRef,
         Map<String, EventSerializer> eventSerializersRef,
-        Map<String, EventSerializerDescriptor> eventSerializerDescriptorsRef
+        Map<String, EventSerializerDescriptor> eventSerializerDescriptorsRef,
+        Scheduler schedulerRef
     )
     {
         errorReporter = errorReporterRef;
@@ -48,6 +52,7 @@ public class EventBroker
         watchStore = watchStoreRef;
         eventSerializers = eventSerializersRef;
         eventSerializerDescriptors = eventSerializerDescriptorsRef;
+        scheduler = schedulerRef;
 
         watchLock = new ReentrantLock();
     }
@@ -56,6 +61,17 @@ public class EventBroker
      * Add a watch and send initial state for all relevant events.
      */
     public void createWatch(Peer peer, Watch watch)
+    {
+        createWatch(peer, watch, false);
+    }
+
+    /**
+     * Add a watch and send initial state for all relevant events.
+     *
+     * @param batched If true, events that occur while the previous events are still being sent are combined into a
+     *     single {@link InternalApiConsts#API_EVENT_BATCH} message. Only the controller understands those messages.
+     */
+    public void createWatch(Peer peer, Watch watch, boolean batched)
     {
         errorReporter.logTrace("Create watch for: %s", watch.getEventIdentifier());
         watchLock.lock();
@@ -76,14 +92,21 @@ public class EventBroker
                 }
 
                 watchStreams.add(
-                    createWatchForEvent(watch, eventSerializer.get(), eventSerializerDescriptor.getEventName()));
+                    createWatchForEvent(
+                        watch,
+                        eventSerializer.get(),
+                        eventSerializerDescriptor.getEventName(),
+                        batched
+                    )
+                );
             }
 
             Flux<byte[]> mergedStreams = Flux.merge(watchStreams);
+            Consumer<byte[]> sender = batched ? new EventBatchSender(peer)::add : peer::sendMessage;
 
             Disposable disposable = mergedStreams
                 .subscribe(
-                    peer::sendMessage,
+                    sender,
                     exception -> errorReporter.reportError(exception, null, null, "Uncaught exception sending event")
                 );
 
@@ -134,25 +157,40 @@ public class EventBroker
     private <T> Flux<byte[]> createWatchForEvent(
         Watch watch,
         EventSerializer.Serializer<T> eventSerializer,
-        String eventName
+        String eventName,
+        boolean batched
     )
     {
         return eventSerializer.getEvent()
             .watchForStreams(watch.getEventIdentifier().getObjectIdentifier())
-            .map(objectSignal -> serializeSignal(watch.getPeerWatchId(), eventSerializer, eventName, objectSignal));
+            .map(
+                objectSignal -> serializeSignal(
+                    watch.getPeerWatchId(),
+                    eventSerializer,
+                    eventName,
+                    objectSignal,
+                    batched
+                )
+            );
     }
 
+    /**
+     * @param headerless If true, only the payload of the event message is serialized, see {@link EventBatchSender}
+     */
     private <T> byte[] serializeSignal(
         Integer peerWatchId,
         EventSerializer.Serializer<T> eventSerializer,
         String eventName,
-        ObjectSignal<T> objectSignal
+        ObjectSignal<T> objectSignal,
+        boolean headerless
     )
     {
         EventIdentifier eventIdentifier = new EventIdentifier(eventName, objectSignal.getObjectIdentifier());
         Signal<T> signal = objectSignal.getSignal();
 
-        CommonSerializer.CommonSerializerBuilder builder = commonSerializer.onewayBuilder(ApiConsts.API_EVENT);
+        CommonSerializer.CommonSerializerBuilder builder = headerless ?
+            commonSerializer.headerlessBuilder() :
+            commonSerializer.onewayBuilder(ApiConsts.API_EVENT);
         if (signal.isOnNext())
         {
             builder
@@ -180,4 +218,78 @@ public class EventBroker
     {
         return eventName == null || eventName.isEmpty() ? eventSerializers.keySet() : Collections.singleton(eventName);
     }
+
+    /**
+     * Sends the events of a watch without delaying them: a single event is sent as it is. Events that arrive while
+     * the previous events are still being sent are collected and sent together afterwards, so that an event storm
+     * results in a few large messages instead of many small ones.
+     */
+    class EventBatchSender
+    {
+        private final Peer peer;
+
+        // protected by "this"
+        private List<byte[]> pendingEvents = new ArrayList<>();
+        private boolean sending = false;
+
+        EventBatchSender(Peer peerRef)
+        {
+            peer = peerRef;
+        }
+
+        void add(byte[] eventPayload)
+        {
+            boolean startSending;
+            synchronized (this)
+            {
+                pendingEvents.add(eventPayload);
+                startSending = !sending;
+                sending = true;
+            }
+            if (startSending)
+            {
+                scheduler.schedule(this::sendPending);
+            }
+        }
+
+        private void sendPending()
+        {
+            // only one thread is sending at a time, which keeps the events in order
+            boolean done = false;
+            while (!done)
+            {
+                List<byte[]> events;
+                synchronized (this)
+                {
+                    events = pendingEvents;
+                    if (events.isEmpty())
+                    {
+                        sending = false;
+                        done = true;
+                    }
+                    else
+                    {
+                        pendingEvents = new ArrayList<>();
+                    }
+                }
+                if (!done)
+                {
+                    try
+                    {
+                        peer.sendMessage(
+                            events.size() == 1 ?
+                                commonSerializer.onewayBuilder(ApiConsts.API_EVENT).bytes(events.get(0)).build() :
+                                commonSerializer.onewayBuilder(InternalApiConsts.API_EVENT_BATCH)
+                                    .eventBatch(events)
+                                    .build()
+                        );
+                    }
+                    catch (RuntimeException exc)
+                    {
+                        errorReporter.reportError(exc, null, null, "Uncaught exception sending events");
+                    }
+                }
+            }
+        }
+    }
 }
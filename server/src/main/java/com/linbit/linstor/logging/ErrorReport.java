@@ -17,6 +17,8 @@ public class ErrorReport extends LinstorFile
     @Nullable private String originMethod;
     @Nullable private Integer originLine;
     private Node.Type module;
+    // how often the problem occurred within the deduplication window of the report
+    @Nullable private Long occurrences;
 
     public ErrorReport(
         @Nonnull final String nodeNameRef,
@@ -97,4 +99,12 @@ public class ErrorReport extends LinstorFile
     public String getModuleString() {
         return module.name();
     }
+
+    public Optional<Long> getOccurrences() {
+        return Optional.ofNullable(occurrences);
+    }
+
+    public void setOccurrences(@Nullable Long occurrencesRef) {
+        occurrences = occurrencesRef;
+    }
 }
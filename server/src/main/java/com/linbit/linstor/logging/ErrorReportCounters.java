@@ -0,0 +1,124 @@
+package com.linbit.linstor.logging;
+
+import javax.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Number of stored error reports of the local node, grouped by severity and exception class.
+ *
+ * The counters are initialized from the error report database and updated whenever a report is written or
+ * reports are deleted, so that the statistics can be queried without scanning the database.
+ * Additionally the counters keep track of which entries changed since {@link #takeChanges()} was last called, which
+ * allows satellites to only send the changed counters to the controller.
+ */
+public class ErrorReportCounters
+{
+    public static final String UNKNOWN_SEVERITY = "UNKNOWN";
+
+    // protected by "this"
+    private final Map<Key, Long> counts = new HashMap<>();
+    private final Set<Key> changedKeys = new HashSet<>();
+    private @Nullable Runnable changeListener;
+
+    synchronized void increment(String severity, String exception)
+    {
+        Key key = new Key(severity, exception);
+        counts.merge(key, 1L, Long::sum);
+        changedKeys.add(key);
+        notifyListener();
+    }
+
+    /**
+     * Replaces all counters, i.e. after the counters were recounted from the database
+     */
+    synchronized void reset(Map<Key, Long> newCounts)
+    {
+        // keys that are no longer present also changed (to 0)
+        changedKeys.addAll(counts.keySet());
+        changedKeys.addAll(newCounts.keySet());
+        counts.clear();
+        counts.putAll(newCounts);
+        notifyListener();
+    }
+
+    /**
+     * Sets a listener that is called (while holding the lock of this object) whenever a counter changed
+     */
+    public synchronized void setChangeListener(@Nullable Runnable changeListenerRef)
+    {
+        changeListener = changeListenerRef;
+    }
+
+    private void notifyListener()
+    {
+        if (changeListener != null)
+        {
+            changeListener.run();
+        }
+    }
+
+    public synchronized Map<Key, Long> getCounts()
+    {
+        return new HashMap<>(counts);
+    }
+
+    public synchronized long getTotal()
+    {
+        long total = 0;
+        for (Long count : counts.values())
+        {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the current value of every counter that changed since the last call of this method (removed counters
+     * are returned with a value of 0) and resets the set of changed counters.
+     */
+    public synchronized Map<Key, Long> takeChanges()
+    {
+        Map<Key, Long> changes = new HashMap<>();
+        for (Key key : changedKeys)
+        {
+            changes.put(key, counts.getOrDefault(key, 0L));
+        }
+        changedKeys.clear();
+        return changes;
+    }
+
+    public static class Key
+    {
+        public final String severity;
+        public final String exception;
+
+        public Key(@Nullable String severityRef, String exceptionRef)
+        {
+            severity = severityRef == null ? UNKNOWN_SEVERITY : severityRef;
+            exception = exceptionRef;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(severity, exception);
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            boolean eq = this == obj;
+            if (!eq && obj instanceof Key)
+            {
+                Key other = (Key) obj;
+                eq = severity.equals(other.severity) && exception.equals(other.exception);
+            }
+            return eq;
+        }
+    }
+}
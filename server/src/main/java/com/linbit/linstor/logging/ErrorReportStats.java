@@ -0,0 +1,76 @@
+package com.linbit.linstor.logging;
+
+/**
+ * Snapshot of the counters of the asynchronous error report writer
+ */
+public class ErrorReportStats
+{
+    private final long queued;
+    private final long queueCapacity;
+    private final long written;
+    private final long failed;
+    private final long dropped;
+    private final long deduplicated;
+
+    public ErrorReportStats(
+        long queuedRef,
+        long queueCapacityRef,
+        long writtenRef,
+        long failedRef,
+        long droppedRef,
+        long deduplicatedRef
+    )
+    {
+        queued = queuedRef;
+        queueCapacity = queueCapacityRef;
+        written = writtenRef;
+        failed = failedRef;
+        dropped = droppedRef;
+        deduplicated = deduplicatedRef;
+    }
+
+    /**
+     * @return Number of reports currently waiting to be written
+     */
+    public long getQueued()
+    {
+        return queued;
+    }
+
+    public long getQueueCapacity()
+    {
+        return queueCapacity;
+    }
+
+    /**
+     * @return Number of reports written to the report file and the error report database since startup
+     */
+    public long getWritten()
+    {
+        return written;
+    }
+
+    /**
+     * @return Number of reports that could not be written to the error report database
+     */
+    public long getFailed()
+    {
+        return failed;
+    }
+
+    /**
+     * @return Number of reports that were only logged but not written since the queue was full
+     */
+    public long getDropped()
+    {
+        return dropped;
+    }
+
+    /**
+     * @return Number of reports that were not written since an identical report was written shortly before
+     */
+    public long getDeduplicated()
+    {
+        return deduplicated;
+    }
+}
@@ -0,0 +1,352 @@
+package com.linbit.linstor.logging;
+
+import javax.annotation.Nullable;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes already rendered error reports to the report files and the error report database.
+ *
+ * Writing is done by a single background thread so that the threads reporting an error are not blocked by
+ * disk I/O. Reports that are queued at the same time are inserted into the database using a single batch.
+ * If the queue is full, new reports are dropped (the caller is expected to still log them).
+ *
+ * The number of occurrences of deduplicated reports is updated in the database at most once per
+ * {@link #OCCURRENCES_UPDATE_INTERVAL_MILLIS}, as well as when the writer is flushed or shut down.
+ */
+class ErrorReportWriter
+{
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final long OCCURRENCES_UPDATE_INTERVAL_MILLIS = 1_000;
+
+    private final ErrorReporter errorReporter;
+    private final H2ErrorReporter h2ErrorReporter;
+    private final ErrorReportCounters counters;
+    private final Path logDirectory;
+    private final long instanceEpoch;
+    private final String nodeName;
+    private final String module;
+
+    private final int queueCapacity;
+    private final BlockingQueue<QueuedReport> queue;
+    private final Thread writerThread;
+
+    // protected by "this"
+    private long enqueuedCount = 0;
+    private long writtenCount = 0;
+    private long failedCount = 0;
+    private long droppedCount = 0;
+    private boolean shutdown = false;
+    // the occurrence counters by report number that changed since they were last written to the database
+    private Map<Long, AtomicLong> pendingOccurrences = new HashMap<>();
+
+    // serializes the updates of the occurrences, so that an older count never overwrites a newer one
+    private final Object occurrencesLock = new Object();
+    // protected by occurrencesLock
+    private long lastOccurrencesUpdate = 0;
+
+    ErrorReportWriter(
+        ErrorReporter errorReporterRef,
+        H2ErrorReporter h2ErrorReporterRef,
+        ErrorReportCounters countersRef,
+        Path logDirectoryRef,
+        long instanceEpochRef,
+        String nodeNameRef,
+        String moduleRef,
+        int queueCapacityRef
+    )
+    {
+        errorReporter = errorReporterRef;
+        h2ErrorReporter = h2ErrorReporterRef;
+        counters = countersRef;
+        logDirectory = logDirectoryRef;
+        instanceEpoch = instanceEpochRef;
+        nodeName = nodeNameRef;
+        module = moduleRef;
+        queueCapacity = queueCapacityRef;
+        queue = new ArrayBlockingQueue<>(queueCapacityRef);
+
+        writerThread = new Thread(this::run, "ErrorReportWriter");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * @return false if the report was dropped because the queue is full or the writer was already shut down
+     */
+    boolean enqueue(QueuedReport report)
+    {
+        boolean queued;
+        synchronized (this)
+        {
+            queued = !shutdown && queue.offer(report);
+            if (queued)
+            {
+                ++enqueuedCount;
+            }
+            else
+            {
+                ++droppedCount;
+            }
+        }
+        return queued;
+    }
+
+    /**
+     * Marks the occurrence counter of an already queued report as changed. A report that is not yet written gets
+     * the current value of its counter when it is inserted, so an update that arrives before the report is harmless.
+     */
+    void occurrencesChanged(long reportNr, AtomicLong occurrences)
+    {
+        synchronized (this)
+        {
+            if (!shutdown)
+            {
+                pendingOccurrences.put(reportNr, occurrences);
+            }
+        }
+    }
+
+    /**
+     * Waits until all reports that were queued before this call are written, but at most the given time, and
+     * writes the pending occurrences.
+     */
+    void flush(long timeoutMillis)
+    {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (this)
+        {
+            long target = enqueuedCount;
+            long remaining = timeoutMillis;
+            while (writtenCount + failedCount < target && remaining > 0 && writerThread.isAlive())
+            {
+                try
+                {
+                    wait(remaining);
+                }
+                catch (InterruptedException exc)
+                {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                remaining = deadline - System.currentTimeMillis();
+            }
+        }
+        writeOccurrences(true);
+    }
+
+    /**
+     * Writes all pending reports and stops the writer thread
+     */
+    void shutdown(long timeoutMillis)
+    {
+        flush(timeoutMillis);
+        synchronized (this)
+        {
+            shutdown = true;
+        }
+        writerThread.interrupt();
+    }
+
+    void awaitShutdown(long timeoutMillis) throws InterruptedException
+    {
+        writerThread.join(timeoutMillis);
+    }
+
+    synchronized long getWrittenCount()
+    {
+        return writtenCount;
+    }
+
+    synchronized long getFailedCount()
+    {
+        return failedCount;
+    }
+
+    synchronized long getDroppedCount()
+    {
+        return droppedCount;
+    }
+
+    int getQueuedCount()
+    {
+        return queue.size();
+    }
+
+    int getQueueCapacity()
+    {
+        return queueCapacity;
+    }
+
+    private void run()
+    {
+        List<QueuedReport> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        boolean running = true;
+        while (running)
+        {
+            try
+            {
+                QueuedReport first = queue.poll(1, TimeUnit.SECONDS);
+                if (first != null)
+                {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                    writeBatch(batch);
+                }
+                else
+                {
+                    synchronized (this)
+                    {
+                        running = !shutdown;
+                    }
+                }
+                writeOccurrences(false);
+            }
+            catch (InterruptedException exc)
+            {
+                synchronized (this)
+                {
+                    running = !shutdown;
+                }
+            }
+            catch (RuntimeException exc)
+            {
+                // the writer must never die, otherwise no further reports would be written
+                errorReporter.logError("Unable to write error reports: %s", exc.toString());
+                synchronized (this)
+                {
+                    failedCount += batch.size();
+                    notifyAll();
+                }
+            }
+            finally
+            {
+                batch.clear();
+            }
+        }
+        writeOccurrences(true);
+    }
+
+    private void writeBatch(List<QueuedReport> batch)
+    {
+        for (QueuedReport report : batch)
+        {
+            writeReportFile(report);
+        }
+        List<QueuedReport> written = h2ErrorReporter.writeErrorReportsToDB(batch, instanceEpoch, nodeName, module);
+        // the counters reflect the reports stored in the database
+        for (QueuedReport report : written)
+        {
+            counters.increment(report.severity, report.errorInfo.getClass().getSimpleName());
+        }
+        synchronized (this)
+        {
+            writtenCount += written.size();
+            failedCount += batch.size() - written.size();
+            notifyAll();
+        }
+    }
+
+    /**
+     * Writes the pending occurrences, unless they were written less than
+     * {@link #OCCURRENCES_UPDATE_INTERVAL_MILLIS} ago and {@code force} is false
+     */
+    private void writeOccurrences(boolean force)
+    {
+        synchronized (occurrencesLock)
+        {
+            long now = System.currentTimeMillis();
+            if (force || now - lastOccurrencesUpdate >= OCCURRENCES_UPDATE_INTERVAL_MILLIS)
+            {
+                Map<Long, AtomicLong> changed;
+                synchronized (this)
+                {
+                    changed = pendingOccurrences;
+                    pendingOccurrences = new HashMap<>();
+                }
+                if (!changed.isEmpty())
+                {
+                    Map<Long, Long> occurrences = new HashMap<>();
+                    for (Map.Entry<Long, AtomicLong> entry : changed.entrySet())
+                    {
+                        occurrences.put(entry.getKey(), entry.getValue().get());
+                    }
+                    h2ErrorReporter.updateOccurrences(occurrences, instanceEpoch, nodeName);
+                }
+                lastOccurrencesUpdate = now;
+            }
+        }
+    }
+
+    private void writeReportFile(QueuedReport report)
+    {
+        PrintStream output = null;
+        try
+        {
+            Path filePath = logDirectory.resolve(
+                StdErrorReporter.RPT_PREFIX + report.logName + StdErrorReporter.RPT_SUFFIX
+            );
+            OutputStream reportStream = new FileOutputStream(filePath.toFile());
+            output = new PrintStream(reportStream);
+        }
+        catch (IOException ioExc)
+        {
+            System.err.printf("Unable to create error report file for error report %s:\n", report.logName);
+            System.err.println(ioExc.getMessage());
+            System.err.println("The error report will be written to the standard error stream instead.\n");
+            output = System.err;
+        }
+        output.print(report.reportText);
+        if (output != System.err)
+        {
+            output.close();
+        }
+    }
+
+    static class QueuedReport
+    {
+        final long reportNr;
+        final String logName;
+        final String severity;
+        final @Nullable String clientDescr;
+        final Throwable errorInfo;
+        final Date errorTime;
+        final String reportText;
+        // shared with the deduplication of the reporter, counts the identical problems reported so far
+        final AtomicLong occurrences;
+
+        QueuedReport(
+            long reportNrRef,
+            String logNameRef,
+            String severityRef,
+            @Nullable String clientDescrRef,
+            Throwable errorInfoRef,
+            Date errorTimeRef,
+            String reportTextRef,
+            AtomicLong occurrencesRef
+        )
+        {
+            reportNr = reportNrRef;
+            logName = logNameRef;
+            severity = severityRef;
+            clientDescr = clientDescrRef;
+            errorInfo = errorInfoRef;
+            errorTime = errorTimeRef;
+            reportText = reportTextRef;
+            occurrences = occurrencesRef;
+        }
+    }
+}
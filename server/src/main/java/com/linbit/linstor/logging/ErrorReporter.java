@@ -3,6 +3,7 @@ package com.linbit.linstor.logging;
 import com.linbit.linstor.LinStorException;
 import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.ApiCallRcImpl;
+import com.linbit.linstor.dbdrivers.DatabaseException;
 import com.linbit.linstor.netcom.Peer;
 import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.security.AccessDeniedException;
@@ -209,4 +210,34 @@ public interface ErrorReporter
     default void archiveLogDirectory()
     {
     }
+
+    /**
+     * Returns the counters of the error report writer, or null if this error reporter does not write reports
+     */
+    default @Nullable ErrorReportStats getErrorReportStats()
+    {
+        return null;
+    }
+
+    /**
+     * Returns the number of stored error reports of this node, or null if this error reporter does not store reports
+     */
+    default @Nullable ErrorReportCounters getErrorReportCounters()
+    {
+        return null;
+    }
+
+    /**
+     * Writes all pending error reports and stops writing reports. Errors reported afterwards are only logged.
+     */
+    default void shutdown() throws DatabaseException
+    {
+    }
+
+    /**
+     * Waits until the error reports pending at {@link #shutdown()} are written or the timeout is exceeded
+     */
+    default void awaitShutdown(long timeout) throws InterruptedException
+    {
+    }
 }
@@ -0,0 +1,105 @@
+package com.linbit.linstor.logging;
+
+import com.linbit.ImplementationError;
+import com.linbit.InvalidNameException;
+import com.linbit.ServiceName;
+import com.linbit.SystemService;
+import com.linbit.linstor.dbdrivers.DatabaseException;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Ties the lifecycle of the error report writer to the system services.
+ *
+ * The error reporter is created before all other services, so this service is expected to be the first one in the
+ * start order. Services are stopped in reverse order, which means that pending error reports are written and the
+ * error report database is closed only after all other services were stopped.
+ */
+@Singleton
+public class ErrorReporterService implements SystemService
+{
+    private static final ServiceName SERVICE_NAME;
+    private static final String SERVICE_INFO = "Error report writer";
+
+    private final ErrorReporter errorReporter;
+
+    private ServiceName instanceName;
+    private boolean started = false;
+
+    static
+    {
+        try
+        {
+            SERVICE_NAME = new ServiceName("ErrorReporter");
+        }
+        catch (InvalidNameException invalidNameExc)
+        {
+            throw new ImplementationError(invalidNameExc);
+        }
+    }
+
+    @Inject
+    public ErrorReporterService(ErrorReporter errorReporterRef)
+    {
+        errorReporter = errorReporterRef;
+        instanceName = SERVICE_NAME;
+    }
+
+    @Override
+    public ServiceName getServiceName()
+    {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public String getServiceInfo()
+    {
+        return SERVICE_INFO;
+    }
+
+    @Override
+    public ServiceName getInstanceName()
+    {
+        return instanceName;
+    }
+
+    @Override
+    public boolean isStarted()
+    {
+        return started;
+    }
+
+    @Override
+    public void setServiceInstanceName(ServiceName instanceNameRef)
+    {
+        instanceName = instanceNameRef;
+    }
+
+    @Override
+    public void start()
+    {
+        // the error reporter already writes reports while the other services are started
+        started = true;
+    }
+
+    @Override
+    public void shutdown()
+    {
+        try
+        {
+            errorReporter.shutdown();
+        }
+        catch (DatabaseException exc)
+        {
+            errorReporter.logError("Unable to close the error report database: %s", exc.getMessage());
+        }
+        started = false;
+    }
+
+    @Override
+    public void awaitShutdown(long timeout) throws InterruptedException
+    {
+        errorReporter.awaitShutdown(timeout);
+    }
+}
@@ -5,7 +5,6 @@ import com.linbit.linstor.api.ApiCallRcImpl;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.core.LinStor;
 import com.linbit.linstor.core.objects.Node;
-import com.linbit.linstor.netcom.Peer;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -22,7 +21,9 @@ import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.dbcp2.BasicDataSource;
@@ -47,6 +48,10 @@ public class H2ErrorReporter
         "\tORIGIN_LINE INT,\n" +
         "\tTEXT TEXT,\n" +
         "\tPRIMARY KEY(INSTANCE_EPOCH, ERROR_NR, NODE));";
+    private static final String INSERT_ERROR_STMT = "INSERT INTO ERRORS" +
+        " (INSTANCE_EPOCH, ERROR_NR, NODE, MODULE, ERROR_ID, DATETIME, VERSION, PEER," +
+        " EXCEPTION, EXCEPTION_MESSAGE, ORIGIN_FILE, ORIGIN_METHOD, ORIGIN_LINE, TEXT, SEVERITY, OCCURRENCES)" +
+        " VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
     private final ErrorReporter errorReporter;
     private final BasicDataSource dataSource = new BasicDataSource();
@@ -74,86 +79,232 @@ public class H2ErrorReporter
         {
             stmt.executeUpdate(DB_CRT_VERSION_TABLE);
 
+            int versionNumber = 0;
             try (ResultSet rs = stmt.executeQuery("SELECT VERSION_NUMBER FROM VERSION"))
             {
                 if (rs.next())
                 {
-                    int versionNumber = rs.getInt("VERSION_NUMBER");
+                    versionNumber = rs.getInt("VERSION_NUMBER");
                     errorReporter.logInfo("ErrorReporter DB version %d found.", versionNumber);
-                    // upgrade db?
                 }
-                else
+            }
+
+            if (versionNumber == 0)
+            {
+                // db empty
+                stmt.executeUpdate(DB_CRT_ERRORS_TABLE);
+                stmt.executeUpdate("CREATE INDEX IF NOT EXISTS IDX_ERRORS_DT ON ERRORS (DATETIME)");
+                stmt.executeUpdate("SET COMPRESS_LOB LZF");
+                stmt.executeUpdate("INSERT INTO VERSION (VERSION_NUMBER) VALUES (1)");
+                versionNumber = 1;
+                errorReporter.logInfo("ErrorReporter DB first time init.");
+            }
+            if (versionNumber < 2)
+            {
+                // severity of reports written before this upgrade stays unknown (NULL)
+                stmt.executeUpdate("ALTER TABLE ERRORS ADD COLUMN IF NOT EXISTS SEVERITY VARCHAR(8)");
+                stmt.executeUpdate("UPDATE VERSION SET VERSION_NUMBER = 2");
+                errorReporter.logInfo("ErrorReporter DB upgraded to version 2.");
+            }
+            if (versionNumber < 3)
+            {
+                stmt.executeUpdate("ALTER TABLE ERRORS ADD COLUMN IF NOT EXISTS OCCURRENCES BIGINT DEFAULT 1");
+                stmt.executeUpdate("UPDATE VERSION SET VERSION_NUMBER = 3");
+                errorReporter.logInfo("ErrorReporter DB upgraded to version 3.");
+            }
+        }
+        catch (SQLException sqlExc)
+        {
+            errorReporter.logError("Unable to operate the error-reports database: " + sqlExc);
+        }
+    }
+
+    /**
+     * Inserts all given reports using a single batch within a single transaction. If the batch fails, every report
+     * is inserted on its own, so that a single failing report does not prevent the others from being stored.
+     *
+     * @return the reports that were written
+     */
+    List<ErrorReportWriter.QueuedReport> writeErrorReportsToDB(
+        List<ErrorReportWriter.QueuedReport> reports,
+        long instanceEpoch,
+        String nodeName,
+        String module
+    )
+    {
+        List<ErrorReportWriter.QueuedReport> written = new ArrayList<>();
+        try
+        (
+            Connection con = dataSource.getConnection();
+            PreparedStatement stmt = con.prepareStatement(INSERT_ERROR_STMT);
+        )
+        {
+            boolean autoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            try
+            {
+                for (ErrorReportWriter.QueuedReport report : reports)
                 {
-                    // db empty
-                    stmt.executeUpdate(DB_CRT_ERRORS_TABLE);
-                    stmt.executeUpdate("CREATE INDEX IF NOT EXISTS IDX_ERRORS_DT ON ERRORS (DATETIME)");
-                    stmt.executeUpdate("SET COMPRESS_LOB LZF");
-                    stmt.executeUpdate("INSERT INTO VERSION (VERSION_NUMBER) VALUES (1)");
-                    errorReporter.logInfo("ErrorReporter DB first time init.");
+                    setInsertParameters(stmt, report, instanceEpoch, nodeName, module);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                con.commit();
+                written.addAll(reports);
+            }
+            catch (SQLException sqlExc)
+            {
+                con.rollback();
+                stmt.clearBatch();
+                if (reports.size() > 1)
+                {
+                    errorReporter.logWarning(
+                        "Unable to write %d error reports to DB in one batch, writing them one by one: %s",
+                        reports.size(),
+                        sqlExc.getMessage()
+                    );
+                }
+            }
+            finally
+            {
+                con.setAutoCommit(autoCommit);
+            }
+
+            if (written.isEmpty())
+            {
+                for (ErrorReportWriter.QueuedReport report : reports)
+                {
+                    try
+                    {
+                        setInsertParameters(stmt, report, instanceEpoch, nodeName, module);
+                        stmt.executeUpdate();
+                        written.add(report);
+                    }
+                    catch (SQLException sqlExc)
+                    {
+                        errorReporter.logError(
+                            "Unable to write error report %s to DB: %s",
+                            report.logName,
+                            sqlExc.getMessage()
+                        );
+                    }
                 }
             }
         }
         catch (SQLException sqlExc)
         {
-            errorReporter.logError("Unable to operate the error-reports database: " + sqlExc);
+            errorReporter.logError(
+                "Unable to write %d error reports to DB: %s",
+                reports.size(),
+                sqlExc.getMessage()
+            );
+        }
+        return written;
+    }
+
+    /**
+     * Stores how often the problem of each given report occurred within its deduplication window
+     *
+     * @param occurrences the number of occurrences by report number
+     */
+    void updateOccurrences(Map<Long, Long> occurrences, long instanceEpoch, String nodeName)
+    {
+        try
+        (
+            Connection con = dataSource.getConnection();
+            PreparedStatement stmt = con.prepareStatement(
+                "UPDATE ERRORS SET OCCURRENCES = ? WHERE INSTANCE_EPOCH = ? AND ERROR_NR = ? AND NODE = ?"
+            );
+        )
+        {
+            for (Map.Entry<Long, Long> entry : occurrences.entrySet())
+            {
+                stmt.setLong(1, entry.getValue());
+                stmt.setLong(2, instanceEpoch);
+                stmt.setLong(3, entry.getKey());
+                stmt.setString(4, nodeName);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        catch (SQLException sqlExc)
+        {
+            errorReporter.logError("Unable to update error report occurrences in DB: " + sqlExc.getMessage());
         }
     }
 
-    public void writeErrorReportToDB(
-        long reportNr,
-        Peer client,
-        Throwable errorInfo,
+    private void setInsertParameters(
+        PreparedStatement stmt,
+        ErrorReportWriter.QueuedReport report,
         long instanceEpoch,
-        Date errorTime,
         String nodeName,
-        String module,
-        byte[] errorReportText)
+        String module
+    )
+        throws SQLException
     {
+        Throwable errorInfo = report.errorInfo;
         StackTraceElement[] traceItems = errorInfo.getStackTrace();
         String originFile = traceItems.length > 0 ? traceItems[0].getFileName() : null;
         String originMethod = traceItems.length > 0 ? traceItems[0].getMethodName() : null;
         Integer originLine = traceItems.length > 0 ? traceItems[0].getLineNumber() : null;
         String excMsg = errorInfo.getMessage();
 
+        int fieldIdx = 1;
+        stmt.setLong(fieldIdx++, instanceEpoch);
+        stmt.setLong(fieldIdx++, report.reportNr);
+        stmt.setString(fieldIdx++, nodeName);
+        stmt.setInt(fieldIdx++, (int) (module.equalsIgnoreCase(LinStor.CONTROLLER_MODULE) ?
+            Node.Type.CONTROLLER.getFlagValue() : Node.Type.SATELLITE.getFlagValue()));
+        stmt.setString(fieldIdx++, String.format("%s-%06d", errorReporter.getInstanceId(), report.reportNr));
+        stmt.setTimestamp(fieldIdx++, new Timestamp(report.errorTime.getTime()));
+        stmt.setString(fieldIdx++, LinStor.VERSION_INFO_PROVIDER.getVersion());
+        stmt.setString(fieldIdx++, report.clientDescr);
+        stmt.setString(fieldIdx++, errorInfo.getClass().getSimpleName());
+        stmt.setString(fieldIdx++, excMsg != null ? excMsg.substring(0, Math.min(excMsg.length(), 2048)) : null);
+        stmt.setString(fieldIdx++, originFile);
+        stmt.setString(fieldIdx++, originMethod);
+        if (originLine != null)
+        {
+            stmt.setInt(fieldIdx++, originLine);
+        }
+        else
+        {
+            stmt.setNull(fieldIdx++, Types.INTEGER);
+        }
+        stmt.setClob(fieldIdx++, new InputStreamReader(new ByteArrayInputStream(report.reportText.getBytes())));
+        stmt.setString(fieldIdx++, report.severity);
+        stmt.setLong(fieldIdx, report.occurrences.get());
+    }
+
+    /**
+     * Counts the stored error reports grouped by severity and exception
+     */
+    Map<ErrorReportCounters.Key, Long> countReports()
+    {
+        Map<ErrorReportCounters.Key, Long> counts = new HashMap<>();
         try
         (
             Connection con = dataSource.getConnection();
-            PreparedStatement stmt = con.prepareStatement("INSERT INTO ERRORS" +
-                 " (INSTANCE_EPOCH, ERROR_NR, NODE, MODULE, ERROR_ID, DATETIME, VERSION, PEER," +
-                 " EXCEPTION, EXCEPTION_MESSAGE, ORIGIN_FILE, ORIGIN_METHOD, ORIGIN_LINE, TEXT)" +
-                 " VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+            Statement stmt = con.createStatement();
+            ResultSet rs = stmt.executeQuery(
+                "SELECT SEVERITY, EXCEPTION, COUNT(*) FROM ERRORS GROUP BY SEVERITY, EXCEPTION"
+            );
         )
         {
-            int fieldIdx = 1;
-            stmt.setLong(fieldIdx++, instanceEpoch);
-            stmt.setLong(fieldIdx++, reportNr);
-            stmt.setString(fieldIdx++, nodeName);
-            stmt.setInt(fieldIdx++, (int) (module.equalsIgnoreCase(LinStor.CONTROLLER_MODULE) ?
-                Node.Type.CONTROLLER.getFlagValue() : Node.Type.SATELLITE.getFlagValue()));
-            stmt.setString(fieldIdx++, String.format("%s-%06d", errorReporter.getInstanceId(), reportNr));
-            stmt.setTimestamp(fieldIdx++, new Timestamp(errorTime.getTime()));
-            stmt.setString(fieldIdx++, LinStor.VERSION_INFO_PROVIDER.getVersion());
-            stmt.setString(fieldIdx++, client != null ? client.toString() : null);
-            stmt.setString(fieldIdx++, errorInfo.getClass().getSimpleName());
-            stmt.setString(fieldIdx++, excMsg != null ? excMsg.substring(0, Math.min(excMsg.length(), 2048)) : null);
-            stmt.setString(fieldIdx++, originFile);
-            stmt.setString(fieldIdx++, originMethod);
-            if (originLine != null)
+            while (rs.next())
             {
-                stmt.setInt(fieldIdx++, originLine);
-            }
-            else
-            {
-                stmt.setNull(fieldIdx++, Types.INTEGER);
+                String exception = rs.getString(2);
+                counts.put(
+                    new ErrorReportCounters.Key(rs.getString(1), exception == null ? "" : exception),
+                    rs.getLong(3)
+                );
             }
-            stmt.setClob(fieldIdx, new InputStreamReader(new ByteArrayInputStream(errorReportText)));
-
-            stmt.executeUpdate();
         }
         catch (SQLException sqlExc)
         {
-            errorReporter.logError("Unable to write error report to DB: " + sqlExc.getMessage());
+            errorReporter.logError("Unable to count error reports in DB: " + sqlExc.getMessage());
         }
+        return counts;
     }
 
     public ErrorReportResult listReports(
@@ -185,7 +336,8 @@ public class H2ErrorReporter
         }
 
         final String columnsStr = "INSTANCE_EPOCH, ERROR_NR, NODE, MODULE, ERROR_ID, DATETIME, VERSION, PEER," +
-            " EXCEPTION, EXCEPTION_MESSAGE, ORIGIN_FILE, ORIGIN_METHOD, ORIGIN_LINE" + (withText ? ", TEXT" : "");
+            " EXCEPTION, EXCEPTION_MESSAGE, ORIGIN_FILE, ORIGIN_METHOD, ORIGIN_LINE, OCCURRENCES" +
+            (withText ? ", TEXT" : "");
         final String countStmtStr = "SELECT COUNT(*) FROM ERRORS WHERE " + where;
         final String selectStmtStr = "SELECT " +
             columnsStr +
@@ -217,22 +369,23 @@ public class H2ErrorReporter
                     // this is how you get the whole string back from a CLOB
                     text = clob.getSubString(1, (int) clob.length());
                 }
-                errors.add(
-                    new ErrorReport(
-                        rslt.getString("NODE"),
-                        Node.Type.getByValue(rslt.getInt("MODULE")),
-                        "ErrorReport-" + rslt.getString("ERROR_ID") + ".log",
-                        rslt.getString("VERSION"),
-                        rslt.getString("PEER"),
-                        rslt.getString("EXCEPTION"),
-                        rslt.getString("EXCEPTION_MESSAGE"),
-                        rslt.getString("ORIGIN_FILE"),
-                        rslt.getString("ORIGIN_METHOD"),
-                        rslt.getInt("ORIGIN_LINE"),
-                        new Date(rslt.getTimestamp("DATETIME").getTime()),
-                        text
-                    )
+                ErrorReport errorReport = new ErrorReport(
+                    rslt.getString("NODE"),
+                    Node.Type.getByValue(rslt.getInt("MODULE")),
+                    "ErrorReport-" + rslt.getString("ERROR_ID") + ".log",
+                    rslt.getString("VERSION"),
+                    rslt.getString("PEER"),
+                    rslt.getString("EXCEPTION"),
+                    rslt.getString("EXCEPTION_MESSAGE"),
+                    rslt.getString("ORIGIN_FILE"),
+                    rslt.getString("ORIGIN_METHOD"),
+                    rslt.getInt("ORIGIN_LINE"),
+                    new Date(rslt.getTimestamp("DATETIME").getTime()),
+                    text
                 );
+                long occurrences = rslt.getLong("OCCURRENCES");
+                errorReport.setOccurrences(rslt.wasNull() ? null : occurrences);
+                errors.add(errorReport);
             }
             rslt.close();
         }
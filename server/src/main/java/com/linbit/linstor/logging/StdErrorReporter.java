@@ -18,8 +18,6 @@ import javax.inject.Provider;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
-import java.io.PrintStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
@@ -31,6 +29,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -50,11 +49,23 @@ public final class StdErrorReporter extends BaseErrorReporter implements ErrorRe
     public static final String RPT_PREFIX = "ErrorReport-";
     public static final String RPT_SUFFIX = ".log";
 
+    private static final int REPORT_QUEUE_CAPACITY = 1000;
+    private static final long FLUSH_TIMEOUT_MILLIS = 10_000;
+    // identical problems reported within this time are only logged, but no new report is created
+    private static final long DEDUP_WINDOW_MILLIS = 60_000;
+    private static final int MAX_DEDUP_ENTRIES = 1000;
+    private static final int MAX_SIGNATURE_FRAMES = 10;
+    private static final int MAX_SIGNATURE_CAUSES = 5;
+
     private final Logger mainLogger;
     private final AtomicLong errorNr = new AtomicLong();
     private final Path baseLogDirectory;
     private final Provider<AccessContext> peerCtxProvider;
     private final H2ErrorReporter h2ErrorReporter;
+    private final ErrorReportWriter reportWriter;
+    private final ErrorReportCounters reportCounters = new ErrorReportCounters();
+    private final Map<String, DedupEntry> dedupEntries = new ConcurrentHashMap<>();
+    private final AtomicLong deduplicatedCount = new AtomicLong();
 
     public StdErrorReporter(
         String moduleName,
@@ -102,6 +113,17 @@ public final class StdErrorReporter extends BaseErrorReporter implements ErrorRe
         }
 
         h2ErrorReporter = new H2ErrorReporter(this);
+        reportCounters.reset(h2ErrorReporter.countReports());
+        reportWriter = new ErrorReportWriter(
+            this,
+            h2ErrorReporter,
+            reportCounters,
+            baseLogDirectory,
+            instanceEpoch,
+            nodeName,
+            moduleName,
+            REPORT_QUEUE_CAPACITY
+        );
 
         logInfo("Log directory set to: '" + logDir + "'");
 
@@ -290,17 +312,51 @@ public final class StdErrorReporter extends BaseErrorReporter implements ErrorRe
         boolean includeStackTrace
     )
     {
-        PrintStream output = null;
-        long reportNr = errorNr.getAndIncrement();
+        final long now = System.currentTimeMillis();
+        final String signature = getSignature(errorInfo, includeStackTrace);
+        final boolean[] isDuplicate = new boolean[1];
+        final DedupEntry dedupEntry = dedupEntries.compute(
+            signature,
+            (ignored, prevEntry) ->
+            {
+                DedupEntry entry;
+                if (prevEntry != null && now - prevEntry.createdAt < DEDUP_WINDOW_MILLIS)
+                {
+                    isDuplicate[0] = true;
+                    entry = prevEntry;
+                    entry.occurrences.incrementAndGet();
+                }
+                else
+                {
+                    entry = new DedupEntry(errorNr.getAndIncrement(), now);
+                }
+                return entry;
+            }
+        );
+        final long reportNr = dedupEntry.reportNr;
         final String logName = getLogName(reportNr);
-        final Date errorTime = new Date();
-        try
+
+        if (isDuplicate[0])
+        {
+            deduplicatedCount.incrementAndGet();
+            reportWriter.occurrencesChanged(reportNr, dedupEntry.occurrences);
+            logDebug(
+                "Problem identical to error report %s suppressed: %s",
+                logName,
+                errorInfo
+            );
+        }
+        else
         {
-            output = openReportFile(logName);
+            if (dedupEntries.size() > MAX_DEDUP_ENTRIES)
+            {
+                dedupEntries.values().removeIf(entry -> now - entry.createdAt >= DEDUP_WINDOW_MILLIS);
+            }
 
-            // since we also want to include the report in the database, we should not directly write to our
-            // output-PrintStream, but first render the report as a String and afterwards write the same string in the
-            // output-PrintStream as well as give the byte[] of the String to the H2 error reporter
+            final Date errorTime = new Date(now);
+
+            // the report is rendered by the reporting thread (it contains thread-specific information), but the
+            // rendered String is written to the report file as well as to the H2 database by the report writer
             ErrorReportRenderer errRepRenderer = new ErrorReportRenderer();
 
             renderReport(
@@ -314,31 +370,56 @@ public final class StdErrorReporter extends BaseErrorReporter implements ErrorRe
                 includeStackTrace
             );
 
-            String renderedReport = errRepRenderer.getErrorReport();
-            // write to PrintStream
-            output.print(renderedReport);
-
-            // write to H2
-            h2ErrorReporter.writeErrorReportToDB(
-                reportNr,
-                client,
-                errorInfo,
-                instanceEpoch,
-                errorTime,
-                nodeName,
-                dmModule,
-                renderedReport.getBytes()
+            boolean queued = reportWriter.enqueue(
+                new ErrorReportWriter.QueuedReport(
+                    reportNr,
+                    logName,
+                    logLevel.name(),
+                    client != null ? client.toString() : null,
+                    errorInfo,
+                    errorTime,
+                    errRepRenderer.getErrorReport(),
+                    dedupEntry.occurrences
+                )
             );
+            if (!queued)
+            {
+                logError("Error report %s could not be written, the report queue is full", logName);
+            }
 
             logReport(reportNr, errorInfo, logLevel);
 
             Sentry.captureException(errorInfo);
         }
-        finally
+        return logName;
+    }
+
+    /**
+     * Builds a signature of the given throwable (including its causes) that is equal for all reports that are
+     * caused by the same problem, i.e. the same exception thrown from the same location.
+     * Reports without stack trace mostly consist of the exception's message, so the message is included instead
+     * of the stack trace in that case.
+     */
+    private static String getSignature(Throwable errorInfo, boolean includeStackTrace)
+    {
+        StringBuilder sig = new StringBuilder();
+        Throwable crtExc = errorInfo;
+        for (int depth = 0; crtExc != null && depth < MAX_SIGNATURE_CAUSES; ++depth)
         {
-            closeReportFile(output);
+            sig.append(crtExc.getClass().getName()).append('\n');
+            sig.append(crtExc.getMessage()).append('\n');
+            if (includeStackTrace)
+            {
+                StackTraceElement[] traceItems = crtExc.getStackTrace();
+                int frameCount = Math.min(traceItems.length, MAX_SIGNATURE_FRAMES);
+                for (int idx = 0; idx < frameCount; ++idx)
+                {
+                    sig.append(traceItems[idx]).append('\n');
+                }
+            }
+            crtExc = crtExc.getCause() == crtExc ? null : crtExc.getCause();
         }
-        return logName;
+        return sig.toString();
     }
 
     private void logReport(long reportNrRef, Throwable errorInfoRef, Level logLevelRef)
@@ -384,47 +465,6 @@ public final class StdErrorReporter extends BaseErrorReporter implements ErrorRe
         );
     }
 
-    private PrintStream openReportFile(String logName)
-    {
-        PrintStream reportPrinter = null;
-        try
-        {
-            Path filePath = getLogDirectory().resolve(RPT_PREFIX + logName + RPT_SUFFIX);
-            OutputStream reportStream = new FileOutputStream(
-                filePath.toFile()
-            );
-            reportPrinter = new PrintStream(reportStream);
-        }
-        catch (IOException ioExc)
-        {
-            System.err.printf("Unable to create error report file for error report %s:\n", logName);
-            System.err.println(ioExc.getMessage());
-            System.err.println("The error report will be written to the standard error stream instead.\n");
-        }
-
-        if (reportPrinter == null)
-        {
-            reportPrinter = System.err;
-        }
-
-        return reportPrinter;
-    }
-
-    private void closeReportFile(OutputStream output)
-    {
-        if (output != null && output != System.err)
-        {
-            try
-            {
-                output.close();
-            }
-            catch (IOException ignored)
-            {
-                // ignored
-            }
-        }
-    }
-
     @Override
     public ErrorReportResult listReports(
         boolean withText,
@@ -435,6 +475,7 @@ public final class StdErrorReporter extends BaseErrorReporter implements ErrorRe
         @Nullable final Long offset
     )
     {
+        reportWriter.flush(FLUSH_TIMEOUT_MILLIS);
         return h2ErrorReporter.listReports(withText, since, to, ids, limit, offset);
     }
 
@@ -446,7 +487,10 @@ public final class StdErrorReporter extends BaseErrorReporter implements ErrorRe
         @Nullable final String version,
         @Nullable final List<String> ids)
     {
-        return h2ErrorReporter.deleteErrorReports(since, to, exception, version, ids);
+        reportWriter.flush(FLUSH_TIMEOUT_MILLIS);
+        ApiCallRc apiCallRc = h2ErrorReporter.deleteErrorReports(since, to, exception, version, ids);
+        reportCounters.reset(h2ErrorReporter.countReports());
+        return apiCallRc;
     }
 
     private BasicFileAttributes getAttributes(final Path file)
@@ -558,6 +602,25 @@ public final class StdErrorReporter extends BaseErrorReporter implements ErrorRe
         }
     }
 
+    @Override
+    public ErrorReportStats getErrorReportStats()
+    {
+        return new ErrorReportStats(
+            reportWriter.getQueuedCount(),
+            reportWriter.getQueueCapacity(),
+            reportWriter.getWrittenCount(),
+            reportWriter.getFailedCount(),
+            reportWriter.getDroppedCount(),
+            deduplicatedCount.get()
+        );
+    }
+
+    @Override
+    public ErrorReportCounters getErrorReportCounters()
+    {
+        return reportCounters;
+    }
+
     @Override
     public Path getLogDirectory()
     {
@@ -594,8 +657,10 @@ public final class StdErrorReporter extends BaseErrorReporter implements ErrorRe
         mainLogger.error(appendUserNameAndFormat(format, args));
     }
 
+    @Override
     public void shutdown() throws DatabaseException
     {
+        reportWriter.shutdown(FLUSH_TIMEOUT_MILLIS);
         try
         {
             h2ErrorReporter.shutdown();
@@ -606,6 +671,12 @@ public final class StdErrorReporter extends BaseErrorReporter implements ErrorRe
         }
     }
 
+    @Override
+    public void awaitShutdown(long timeout) throws InterruptedException
+    {
+        reportWriter.awaitShutdown(timeout);
+    }
+
     private String appendUserNameAndFormat(String formatRef, Object... args)
     {
         String user;
@@ -622,4 +693,17 @@ public final class StdErrorReporter extends BaseErrorReporter implements ErrorRe
         // a system array copy.
         return String.format(user + " - " + formatRef, args);
     }
+
+    private static class DedupEntry
+    {
+        private final long reportNr;
+        private final long createdAt;
+        private final AtomicLong occurrences = new AtomicLong(1);
+
+        private DedupEntry(long reportNrRef, long createdAtRef)
+        {
+            reportNr = reportNrRef;
+            createdAt = createdAtRef;
+        }
+    }
 }
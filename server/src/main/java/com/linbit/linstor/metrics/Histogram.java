@@ -0,0 +1,70 @@
+package com.linbit.linstor.metrics;
+
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram with fixed bucket boundaries, using the same semantics as Prometheus histograms
+ * (a value is counted in the first bucket whose upper bound is greater or equal to the value).
+ */
+public class Histogram
+{
+    private final double[] upperBounds;
+    // one additional bucket for values greater than the last upper bound
+    private final LongAdder[] buckets;
+    private final DoubleAdder sum = new DoubleAdder();
+
+    Histogram(double[] upperBoundsRef)
+    {
+        upperBounds = upperBoundsRef;
+        buckets = new LongAdder[upperBoundsRef.length + 1];
+        for (int idx = 0; idx < buckets.length; ++idx)
+        {
+            buckets[idx] = new LongAdder();
+        }
+    }
+
+    public void observe(double value)
+    {
+        int idx = 0;
+        while (idx < upperBounds.length && value > upperBounds[idx])
+        {
+            ++idx;
+        }
+        buckets[idx].increment();
+        sum.add(value);
+    }
+
+    /**
+     * Records the time elapsed since the given {@link System#nanoTime()} in seconds
+     */
+    public void observeNanosSince(long startNanos)
+    {
+        observe((System.nanoTime() - startNanos) / 1_000_000_000.0);
+    }
+
+    public double[] getUpperBounds()
+    {
+        return upperBounds.clone();
+    }
+
+    /**
+     * @return The cumulative count of every bucket, the last element is the count of all observations
+     */
+    public long[] getCumulativeCounts()
+    {
+        long[] counts = new long[buckets.length];
+        long total = 0;
+        for (int idx = 0; idx < buckets.length; ++idx)
+        {
+            total += buckets[idx].sum();
+            counts[idx] = total;
+        }
+        return counts;
+    }
+
+    public double getSum()
+    {
+        return sum.sum();
+    }
+}
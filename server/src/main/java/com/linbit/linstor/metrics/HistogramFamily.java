@@ -0,0 +1,64 @@
+package com.linbit.linstor.metrics;
+
+import com.linbit.ImplementationError;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A named set of {@link Histogram}s with the same buckets, one per combination of label values.
+ */
+public class HistogramFamily
+{
+    private final String name;
+    private final String help;
+    private final List<String> labelNames;
+    private final double[] upperBounds;
+
+    private final Map<List<String>, Histogram> children = new ConcurrentHashMap<>();
+
+    HistogramFamily(String nameRef, String helpRef, double[] upperBoundsRef, String... labelNamesRef)
+    {
+        name = nameRef;
+        help = helpRef;
+        upperBounds = upperBoundsRef;
+        labelNames = Collections.unmodifiableList(Arrays.asList(labelNamesRef));
+    }
+
+    public Histogram labels(String... labelValues)
+    {
+        if (labelValues.length != labelNames.size())
+        {
+            throw new ImplementationError(
+                "Histogram " + name + " expects " + labelNames.size() + " label values, got " + labelValues.length
+            );
+        }
+        return children.computeIfAbsent(Arrays.asList(labelValues), ignored -> new Histogram(upperBounds));
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public String getHelp()
+    {
+        return help;
+    }
+
+    public List<String> getLabelNames()
+    {
+        return labelNames;
+    }
+
+    /**
+     * @return All histograms of this family, by their label values (same order as {@link #getLabelNames()})
+     */
+    public Map<List<String>, Histogram> getChildren()
+    {
+        return Collections.unmodifiableMap(children);
+    }
+}
@@ -0,0 +1,237 @@
+package com.linbit.linstor.metrics;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Histograms of the hot paths of the API call processing (scopes, locks, transactions and satellite updates).
+ *
+ * Recording is disabled by default. While disabled, callers must not take any timestamps, i.e. check
+ * {@link #isEnabled()} before measuring anything, so that the instrumentation costs nothing but a volatile read.
+ */
+@Singleton
+public class LinStorMetrics
+{
+    private static final double[] DURATION_BUCKETS = {
+        0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60
+    };
+    private static final double[] COUNT_BUCKETS = {
+        1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 5_000, 10_000
+    };
+    private static final double[] BYTES_BUCKETS = {
+        256, 1 << 10, 4 << 10, 16 << 10, 64 << 10, 256 << 10, 1 << 20, 4 << 20, 16 << 20
+    };
+
+    private volatile boolean enabled = false;
+
+    private final HistogramFamily scopeDuration = new HistogramFamily(
+        "linstor_api_scope_duration_seconds",
+        "time spent in API call scopes, including waiting for locks",
+        DURATION_BUCKETS,
+        "api_call",
+        "scope"
+    );
+    private final HistogramFamily lockWait = new HistogramFamily(
+        "linstor_lock_wait_seconds",
+        "time spent waiting for a lock",
+        DURATION_BUCKETS,
+        "lock",
+        "type"
+    );
+    private final HistogramFamily lockHold = new HistogramFamily(
+        "linstor_lock_hold_seconds",
+        "time a lock was held",
+        DURATION_BUCKETS,
+        "lock",
+        "type"
+    );
+    private final HistogramFamily txCommitDuration = new HistogramFamily(
+        "linstor_transaction_commit_duration_seconds",
+        "time spent committing transactions",
+        DURATION_BUCKETS
+    );
+    private final HistogramFamily txCommitObjects = new HistogramFamily(
+        "linstor_transaction_commit_objects",
+        "number of transaction objects per commit",
+        COUNT_BUCKETS
+    );
+    private final HistogramFamily txCommitRows = new HistogramFamily(
+        "linstor_transaction_commit_rows",
+        "number of database rows (SQL) or keys (ETCD, K8s) written per commit",
+        COUNT_BUCKETS
+    );
+    private final HistogramFamily stltUpdateBytes = new HistogramFamily(
+        "linstor_satellite_update_bytes",
+        "size of update messages sent to satellites",
+        BYTES_BUCKETS,
+        "api_call"
+    );
+    private final HistogramFamily stltUpdateNodes = new HistogramFamily(
+        "linstor_satellite_update_nodes",
+        "number of satellites contacted per update",
+        COUNT_BUCKETS,
+        "api_call"
+    );
+    private final HistogramFamily stltUpdateRoundTrip = new HistogramFamily(
+        "linstor_satellite_update_round_trip_seconds",
+        "time until a satellite answered an update",
+        DURATION_BUCKETS,
+        "api_call"
+    );
+    /**
+     * Recorded regardless of {@link #isEnabled()}, as it is only observed once per execution of a scheduled task
+     */
+    private final HistogramFamily taskRunTime = new HistogramFamily(
+        "linstor_task_run_seconds",
+        "time spent executing scheduled tasks",
+        DURATION_BUCKETS,
+        "task"
+    );
+    /**
+     * Recorded regardless of {@link #isEnabled()}, see {@link #taskRunTime}
+     */
+    private final HistogramFamily taskLateness = new HistogramFamily(
+        "linstor_task_lateness_seconds",
+        "time between the scheduled and the actual start of scheduled tasks",
+        DURATION_BUCKETS,
+        "task"
+    );
+    /**
+     * Recorded regardless of {@link #isEnabled()} by {@link com.linbit.linstor.InstrumentedScheduler}, which takes
+     * the timestamps for its other statistics anyway
+     */
+    private final HistogramFamily schedulerWait = new HistogramFamily(
+        "linstor_scheduler_task_wait_seconds",
+        "time tasks spent waiting for a thread of the worker pool",
+        DURATION_BUCKETS,
+        "scheduler"
+    );
+    /**
+     * Recorded by the satellites (regardless of {@link #isEnabled()}, it is only observed once per device manager
+     * run) and sent to the controller. Therefore not part of {@link #getAll()}.
+     */
+    private final HistogramFamily dispatchLockHold = new HistogramFamily(
+        "linstor_satellite_dispatch_lock_hold_seconds",
+        "time the device manager of a satellite held the write locks during a dispatch",
+        DURATION_BUCKETS
+    );
+    /**
+     * Recorded by {@link com.linbit.extproc.ExtCmdStats} (regardless of {@link #isEnabled()}, forking a process costs
+     * far more than observing it). The satellites send it to the controller, therefore not part of {@link #getAll()}.
+     */
+    private final HistogramFamily extCmdDuration = new HistogramFamily(
+        "linstor_satellite_ext_cmd_duration_seconds",
+        "wall time of the external commands run by a satellite, per executable",
+        DURATION_BUCKETS,
+        "binary"
+    );
+
+    @Inject
+    public LinStorMetrics()
+    {
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabledRef)
+    {
+        enabled = enabledRef;
+    }
+
+    public HistogramFamily getScopeDuration()
+    {
+        return scopeDuration;
+    }
+
+    public HistogramFamily getLockWait()
+    {
+        return lockWait;
+    }
+
+    public HistogramFamily getLockHold()
+    {
+        return lockHold;
+    }
+
+    public HistogramFamily getTxCommitDuration()
+    {
+        return txCommitDuration;
+    }
+
+    public HistogramFamily getTxCommitObjects()
+    {
+        return txCommitObjects;
+    }
+
+    public HistogramFamily getTxCommitRows()
+    {
+        return txCommitRows;
+    }
+
+    public HistogramFamily getStltUpdateBytes()
+    {
+        return stltUpdateBytes;
+    }
+
+    public HistogramFamily getStltUpdateNodes()
+    {
+        return stltUpdateNodes;
+    }
+
+    public HistogramFamily getStltUpdateRoundTrip()
+    {
+        return stltUpdateRoundTrip;
+    }
+
+    public HistogramFamily getTaskRunTime()
+    {
+        return taskRunTime;
+    }
+
+    public HistogramFamily getTaskLateness()
+    {
+        return taskLateness;
+    }
+
+    public HistogramFamily getSchedulerWait()
+    {
+        return schedulerWait;
+    }
+
+    public HistogramFamily getDispatchLockHold()
+    {
+        return dispatchLockHold;
+    }
+
+    public HistogramFamily getExtCmdDuration()
+    {
+        return extCmdDuration;
+    }
+
+    public List<HistogramFamily> getAll()
+    {
+        return Collections.unmodifiableList(
+            Arrays.asList(
+                scopeDuration,
+                lockWait,
+                lockHold,
+                txCommitDuration,
+                txCommitObjects,
+                txCommitRows,
+                stltUpdateBytes,
+                stltUpdateNodes,
+                stltUpdateRoundTrip,
+                taskRunTime,
+                taskLateness,
+                schedulerWait
+            )
+        );
+    }
+}
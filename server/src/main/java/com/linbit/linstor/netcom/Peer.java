@@ -415,4 +415,12 @@ public interface Peer
      * DRBD installed
      */
     Property getDynamicProperty(String keyRef);
+
+    /**
+     * Sets whether the satellite accepts resource data pushed together with the change notification, instead of
+     * requesting the data after the notification.
+     */
+    void setPushUpdatesSupported(boolean pushUpdatesSupportedRef);
+
+    boolean isPushUpdatesSupported();
 }
@@ -390,4 +390,16 @@ public class PeerOffline implements Peer
     {
         return null;
     }
+
+    @Override
+    public void setPushUpdatesSupported(boolean pushUpdatesSupportedRef)
+    {
+        // no-op
+    }
+
+    @Override
+    public boolean isPushUpdatesSupported()
+    {
+        return false;
+    }
 }
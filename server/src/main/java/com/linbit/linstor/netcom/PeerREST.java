@@ -383,6 +383,18 @@ public class PeerREST implements Peer
         return null;
     }
 
+    @Override
+    public void setPushUpdatesSupported(boolean pushUpdatesSupportedRef)
+    {
+        // no-op
+    }
+
+    @Override
+    public boolean isPushUpdatesSupported()
+    {
+        return false;
+    }
+
     @Override
     public String toString()
     {
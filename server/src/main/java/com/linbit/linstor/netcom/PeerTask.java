@@ -381,6 +381,18 @@ public class PeerTask implements Peer
         return null;
     }
 
+    @Override
+    public void setPushUpdatesSupported(boolean pushUpdatesSupportedRef)
+    {
+        // no-op
+    }
+
+    @Override
+    public boolean isPushUpdatesSupported()
+    {
+        return false;
+    }
+
     @Override
     public String toString()
     {
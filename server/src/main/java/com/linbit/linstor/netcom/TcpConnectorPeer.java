@@ -155,6 +155,8 @@ public class TcpConnectorPeer implements Peer
 
     private final Map<String, Property> dynamicProperties = new HashMap<>();
 
+    private volatile boolean pushUpdatesSupported = false;
+
     protected TcpConnectorPeer(
         ErrorReporter errorReporterRef,
         CommonSerializer commonSerializerRef,
@@ -1120,4 +1122,16 @@ public class TcpConnectorPeer implements Peer
             return dynamicProperties.get(keyRef);
         }
     }
+
+    @Override
+    public void setPushUpdatesSupported(boolean pushUpdatesSupportedRef)
+    {
+        pushUpdatesSupported = pushUpdatesSupportedRef;
+    }
+
+    @Override
+    public boolean isPushUpdatesSupported()
+    {
+        return pushUpdatesSupported;
+    }
 }
@@ -2,6 +2,7 @@ package com.linbit.linstor.proto;
 
 import com.linbit.ImplementationError;
 import com.linbit.linstor.LinStorException;
+import com.linbit.linstor.LinStorSchedulers;
 import com.linbit.linstor.api.ApiCall;
 import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.ApiCallRcImpl;
@@ -50,7 +51,6 @@ import org.slf4j.event.Level;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
-import reactor.core.scheduler.Scheduler;
 import reactor.util.concurrent.Queues;
 import reactor.util.context.Context;
 
@@ -79,7 +79,7 @@ public class CommonMessageProcessor implements MessageProcessor
     @Inject
     public CommonMessageProcessor(
         ErrorReporter errorLogRef,
-        Scheduler scheduler,
+        LinStorSchedulers schedulers,
         ScopeRunner scopeRunnerRef,
         CommonSerializer commonSerializerRef,
         Map<String, BaseApiCall> apiCalls,
@@ -95,7 +95,6 @@ public class CommonMessageProcessor implements MessageProcessor
             Math.min(LinStor.CPU_COUNT, MAX_THR_COUNT) * THR_QUEUE_FACTOR,
             MAX_QUEUE_SIZE
         );
-        int thrCount = MathUtils.bounds(MIN_THR_COUNT, LinStor.CPU_COUNT, MAX_THR_COUNT);
 
         // Limit the number of messages that can be submitted for processing
         // concurrently by setting the processor's buffer size.
@@ -107,8 +106,8 @@ public class CommonMessageProcessor implements MessageProcessor
         sink = Sinks.many().unicast().onBackpressureBuffer(Queues.<Runnable>unbounded(queueSize).get());
         Flux<Runnable> workerPool = sink.asFlux();
         workerPool
-            .parallel(thrCount, 1)
-            .runOn(scheduler, 1)
+            .parallel(schedulers.getPeerMessageThreadCount(), 1)
+            .runOn(schedulers.getPeerMessageScheduler(), 1)
             .doOnNext(Runnable::run)
             .subscribe(
                 ignored -> {
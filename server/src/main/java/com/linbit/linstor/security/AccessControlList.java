@@ -8,21 +8,52 @@ import com.linbit.linstor.transaction.TransactionMap;
 import com.linbit.linstor.transaction.TransactionObjectFactory;
 import com.linbit.linstor.transaction.manager.TransactionMgr;
 
+import javax.annotation.Nullable;
 import javax.inject.Provider;
 
+import java.util.AbstractMap;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 
 /**
  * Object access control list
  *
+ * Access checks do not lock the access control list. They use an immutable snapshot of the role to access type
+ * mapping, which is discarded whenever an entry is changed (including rollbacks) and rebuilt on the next check.
+ *
  * @author Robert Altnoeder &lt;robert.altnoeder@linbit.com&gt;
  */
 public final class AccessControlList extends BaseTransactionObject
 {
     private final SecObjProtAclDatabaseDriver dbDriver;
+    private static final Privilege[] VIEW_PRIVS = {
+        Privilege.PRIV_OBJ_VIEW,
+        Privilege.PRIV_OBJ_USE,
+        Privilege.PRIV_OBJ_CHANGE,
+        Privilege.PRIV_OBJ_CONTROL,
+        Privilege.PRIV_OBJ_OWNER
+    };
+    private static final Privilege[] USE_PRIVS = {
+        Privilege.PRIV_OBJ_USE,
+        Privilege.PRIV_OBJ_CHANGE,
+        Privilege.PRIV_OBJ_CONTROL,
+        Privilege.PRIV_OBJ_OWNER
+    };
+    private static final Privilege[] CHANGE_PRIVS = {
+        Privilege.PRIV_OBJ_CHANGE,
+        Privilege.PRIV_OBJ_CONTROL,
+        Privilege.PRIV_OBJ_OWNER
+    };
+    private static final Privilege[] CONTROL_PRIVS = {
+        Privilege.PRIV_OBJ_CONTROL,
+        Privilege.PRIV_OBJ_OWNER
+    };
+
+    private final SnapshotMap snapshotMap;
     private final Map<RoleName, AccessControlEntry> acl;
     private final String objPath;
 
@@ -47,8 +78,9 @@ public final class AccessControlList extends BaseTransactionObject
         super(transMgrProviderRef);
         objPath = objPathRef;
         dbDriver = dbDriverRef;
+        snapshotMap = new SnapshotMap(backingMapRef);
         TransactionMap<RoleName, AccessControlEntry> txAcl = transObjFactoryRef.createTransactionPrimitiveMap(
-            backingMapRef,
+            snapshotMap,
             null
         );
         acl = Collections.synchronizedMap(txAcl);
@@ -67,59 +99,51 @@ public final class AccessControlList extends BaseTransactionObject
     public void requireAccess(AccessContext context, AccessType requested)
         throws AccessDeniedException
     {
-        synchronized (acl)
+        SecurityLevel globalSecLevel = SecurityLevel.get();
+        switch (globalSecLevel)
         {
-            SecurityLevel globalSecLevel = SecurityLevel.get();
-            switch (globalSecLevel)
-            {
-                case NO_SECURITY:
-                    break;
-                case RBAC:
-                    // fall-through
-                case MAC:
-                    boolean allowFlag = false;
+            case NO_SECURITY:
+                break;
+            case RBAC:
+                // fall-through
+            case MAC:
+                // Privileged contexts (i.e. the system context) do not need to look at the entries at all
+                boolean allowFlag = hasAccessPrivilege(context, requested);
 
+                if (!allowFlag)
+                {
                     // Look for an entry for the subject's role in this access control list
-                    AccessControlEntry entry = acl.get(context.subjectRole.name);
-
                     // If an entry was found, check whether the requested level of access
                     // is within the bounds of the level of access allowed by the
                     // access control entry.
                     // If no entry was found, access is denied.
-                    if (entry != null)
-                    {
-                        allowFlag = entry.access.hasAccess(requested);
-                    }
-
-                    if (!allowFlag)
-                    {
-                        allowFlag |= hasAccessPrivilege(context, requested);
-                    }
+                    AccessType entryAccess = snapshotMap.getSnapshot().get(context.subjectRole.name);
+                    allowFlag = entryAccess != null && entryAccess.hasAccess(requested);
+                }
 
-                    if (!allowFlag)
-                    {
-                        throw new AccessDeniedException(
-                            "Access of type '" + requested + "' not allowed by the " +
-                                "access control list",
-                            // Description
-                            "Access to the protected object was denied",
-                            // Cause
-                            "The access control list for the protected object does not allow " +
-                                "access of type " + requested.name() + " by role " +
-                                context.subjectRole.name,
-                            // Correction
-                            "An entry that allows access must be added by an authorized role",
-                            // No error details
-                            null
-                        );
-                    }
-                    break;
-                default:
-                    throw new ImplementationError(
-                        "Missing case label for enum constant " + globalSecLevel.name(),
+                if (!allowFlag)
+                {
+                    throw new AccessDeniedException(
+                        "Access of type '" + requested + "' not allowed by the " +
+                            "access control list",
+                        // Description
+                        "Access to the protected object was denied",
+                        // Cause
+                        "The access control list for the protected object does not allow " +
+                            "access of type " + requested.name() + " by role " +
+                            context.subjectRole.name,
+                        // Correction
+                        "An entry that allows access must be added by an authorized role",
+                        // No error details
                         null
                     );
-            }
+                }
+                break;
+            default:
+                throw new ImplementationError(
+                    "Missing case label for enum constant " + globalSecLevel.name(),
+                    null
+                );
         }
     }
 
@@ -146,14 +170,7 @@ public final class AccessControlList extends BaseTransactionObject
                 AccessType privAccess = context.privEffective.toRbacAccess();
 
                 // Look for an entry for the subject's role in this access control list
-                AccessType aclAccess = null;
-                {
-                    AccessControlEntry entry = acl.get(context.subjectRole.name);
-                    if (entry != null)
-                    {
-                        aclAccess = entry.access;
-                    }
-                }
+                AccessType aclAccess = snapshotMap.getSnapshot().get(context.subjectRole.name);
 
                 // Combine access permissions
                 result = AccessType.union(privAccess, aclAccess);
@@ -186,17 +203,7 @@ public final class AccessControlList extends BaseTransactionObject
      */
     public AccessType getEntry(Role subjRole)
     {
-
-        AccessType access = null;
-        synchronized (acl)
-        {
-            AccessControlEntry entry = acl.get(subjRole.name);
-            if (entry != null)
-            {
-                access = entry.access;
-            }
-        }
-        return access;
+        return snapshotMap.getSnapshot().get(subjRole.name);
     }
 
     AccessControlEntry addEntry(Role entryRole, AccessType grantedAccess) throws DatabaseException
@@ -257,34 +264,16 @@ public final class AccessControlList extends BaseTransactionObject
         switch (requested)
         {
             case VIEW:
-                allowFlag |= privileges.hasSomePrivilege(
-                    Privilege.PRIV_OBJ_VIEW,
-                    Privilege.PRIV_OBJ_USE,
-                    Privilege.PRIV_OBJ_CHANGE,
-                    Privilege.PRIV_OBJ_CONTROL,
-                    Privilege.PRIV_OBJ_OWNER
-                );
+                allowFlag |= privileges.hasSomePrivilege(VIEW_PRIVS);
                 break;
             case USE:
-                allowFlag |= privileges.hasSomePrivilege(
-                    Privilege.PRIV_OBJ_USE,
-                    Privilege.PRIV_OBJ_CHANGE,
-                    Privilege.PRIV_OBJ_CONTROL,
-                    Privilege.PRIV_OBJ_OWNER
-                );
+                allowFlag |= privileges.hasSomePrivilege(USE_PRIVS);
                 break;
             case CHANGE:
-                allowFlag |= privileges.hasSomePrivilege(
-                    Privilege.PRIV_OBJ_CHANGE,
-                    Privilege.PRIV_OBJ_CONTROL,
-                    Privilege.PRIV_OBJ_OWNER
-                );
+                allowFlag |= privileges.hasSomePrivilege(CHANGE_PRIVS);
                 break;
             case CONTROL:
-                allowFlag |= privileges.hasSomePrivilege(
-                    Privilege.PRIV_OBJ_CONTROL,
-                    Privilege.PRIV_OBJ_OWNER
-                );
+                allowFlag |= privileges.hasSomePrivilege(CONTROL_PRIVS);
                 break;
             default:
                 throw new ImplementationError(
@@ -294,4 +283,100 @@ public final class AccessControlList extends BaseTransactionObject
         }
         return allowFlag;
     }
+
+    /**
+     * Must be called if entries were added to the backing map directly, i.e. while loading the entries
+     */
+    void invalidateSnapshot()
+    {
+        snapshotMap.invalidate();
+    }
+
+    /**
+     * Backing map of the access control list that discards the snapshot whenever it is modified. Since the
+     * {@link TransactionMap} also uses the backing map to undo changes, the snapshot is discarded on rollbacks as well.
+     */
+    private static final class SnapshotMap extends AbstractMap<RoleName, AccessControlEntry>
+    {
+        private final Map<RoleName, AccessControlEntry> delegate;
+        private volatile @Nullable Map<RoleName, AccessType> snapshot;
+
+        SnapshotMap(Map<RoleName, AccessControlEntry> delegateRef)
+        {
+            delegate = delegateRef;
+        }
+
+        Map<RoleName, AccessType> getSnapshot()
+        {
+            Map<RoleName, AccessType> snap = snapshot;
+            if (snap == null)
+            {
+                synchronized (this)
+                {
+                    snap = snapshot;
+                    if (snap == null)
+                    {
+                        Map<RoleName, AccessType> newSnap = new HashMap<>();
+                        for (AccessControlEntry entry : delegate.values())
+                        {
+                            newSnap.put(entry.subjectRole.name, entry.access);
+                        }
+                        snap = Collections.unmodifiableMap(newSnap);
+                        snapshot = snap;
+                    }
+                }
+            }
+            return snap;
+        }
+
+        synchronized void invalidate()
+        {
+            snapshot = null;
+        }
+
+        @Override
+        public synchronized AccessControlEntry put(RoleName key, AccessControlEntry value)
+        {
+            snapshot = null;
+            return delegate.put(key, value);
+        }
+
+        @Override
+        public synchronized AccessControlEntry remove(Object key)
+        {
+            snapshot = null;
+            return delegate.remove(key);
+        }
+
+        @Override
+        public synchronized void clear()
+        {
+            snapshot = null;
+            delegate.clear();
+        }
+
+        @Override
+        public AccessControlEntry get(Object key)
+        {
+            return delegate.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key)
+        {
+            return delegate.containsKey(key);
+        }
+
+        @Override
+        public int size()
+        {
+            return delegate.size();
+        }
+
+        @Override
+        public Set<Entry<RoleName, AccessControlEntry>> entrySet()
+        {
+            return delegate.entrySet();
+        }
+    }
 }
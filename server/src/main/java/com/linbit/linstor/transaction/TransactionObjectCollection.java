@@ -4,10 +4,16 @@ import com.linbit.ImplementationError;
 
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class TransactionObjectCollection
 {
     private static final ThreadLocal<Boolean> ENABLE_CHECK_DELETED = ThreadLocal.withInitial(() -> true);
+    /**
+     * Incremented after every commit or rollback of a non-empty transaction, i.e. whenever the committed state of any
+     * object might have changed.
+     */
+    private static final AtomicLong GENERATION = new AtomicLong();
 
     private Set<TransactionObject> transObjects;
 
@@ -40,6 +46,7 @@ public class TransactionObjectCollection
                 transObj.commit();
             }
         }
+        incrementGeneration();
     }
 
     public void rollbackAll()
@@ -54,6 +61,15 @@ public class TransactionObjectCollection
             }
         }
         ENABLE_CHECK_DELETED.set(true);
+        incrementGeneration();
+    }
+
+    private void incrementGeneration()
+    {
+        if (!transObjects.isEmpty())
+        {
+            GENERATION.incrementAndGet();
+        }
     }
 
     public void clearAll()
@@ -86,6 +102,11 @@ public class TransactionObjectCollection
         return transObjects.size();
     }
 
+    public static long getGeneration()
+    {
+        return GENERATION.get();
+    }
+
     public static boolean isCheckDeletedEnabled()
     {
         return ENABLE_CHECK_DELETED.get();
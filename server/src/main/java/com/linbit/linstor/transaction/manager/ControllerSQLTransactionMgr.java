@@ -13,6 +13,7 @@ public class ControllerSQLTransactionMgr implements TransactionMgrSQL
     private final ControllerSQLDatabase controllerDatabase;
     private final Connection dbCon;
     private final TransactionObjectCollection transactionObjectCollection;
+    private int writes = 0;
 
     public ControllerSQLTransactionMgr(ControllerSQLDatabase controllerDatabaseRef) throws SQLException
     {
@@ -38,6 +39,7 @@ public class ControllerSQLTransactionMgr implements TransactionMgrSQL
         {
             throw new TransactionException("Database commit failed.", sqlExc);
         }
+        writes = 0;
 
         transactionObjectCollection.commitAll();
 
@@ -58,6 +60,7 @@ public class ControllerSQLTransactionMgr implements TransactionMgrSQL
         {
             throw new TransactionException("Database rollback failed.", sqlExc);
         }
+        writes = 0;
 
         clearTransactionObjects();
     }
@@ -80,6 +83,18 @@ public class ControllerSQLTransactionMgr implements TransactionMgrSQL
         return transactionObjectCollection.sizeObjects();
     }
 
+    @Override
+    public int sizeWrites()
+    {
+        return writes;
+    }
+
+    @Override
+    public void countWrites(int rows)
+    {
+        writes += rows;
+    }
+
     @Override
     public Connection getConnection()
     {
@@ -18,6 +18,15 @@ public interface TransactionMgr
     boolean isDirty();
     int sizeObjects();
 
+    /**
+     * @return the number of database rows (SQL) or keys (ETCD, K8s) written by the current transaction so far, or -1
+     *     if this transaction manager does not count its writes
+     */
+    default int sizeWrites()
+    {
+        return -1;
+    }
+
     default void returnConnection()
     {
     }
@@ -5,4 +5,11 @@ import java.sql.Connection;
 public interface TransactionMgrSQL extends TransactionMgr
 {
     Connection getConnection();
+
+    /**
+     * Adds the given number of rows to the rows written by the current transaction
+     */
+    default void countWrites(int rows)
+    {
+    }
 }
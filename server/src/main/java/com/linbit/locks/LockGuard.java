@@ -1,5 +1,9 @@
 package com.linbit.locks;
 
+import com.linbit.linstor.metrics.Histogram;
+
+import javax.annotation.Nullable;
+
 import java.util.concurrent.locks.Lock;
 
 public class LockGuard implements AutoCloseable
@@ -10,6 +14,11 @@ public class LockGuard implements AutoCloseable
 
     private final Lock[] lockBundle;
 
+    // only set if lock metrics are enabled, one entry per lock of the lockBundle
+    private final @Nullable Histogram[] waitHistograms;
+    private final @Nullable Histogram[] holdHistograms;
+    private long acquiredNanos;
+
     /**
      * Constructs a new LockGuard instance
      *
@@ -27,8 +36,24 @@ public class LockGuard implements AutoCloseable
      * @param locksRef array of locks to be managed by the new LockGuard instance
      */
     LockGuard(final boolean deferred, final Lock... locksRef)
+    {
+        this(deferred, null, null, locksRef);
+    }
+
+    /**
+     * Same as {@link #LockGuard(boolean, Lock...)}, but additionally records the time spent waiting for and holding
+     * each lock in the given histograms (which must have the same length as the locks array, if not null)
+     */
+    LockGuard(
+        final boolean deferred,
+        final @Nullable Histogram[] waitHistogramsRef,
+        final @Nullable Histogram[] holdHistogramsRef,
+        final Lock... locksRef
+    )
     {
         lockBundle = locksRef;
+        waitHistograms = waitHistogramsRef;
+        holdHistograms = holdHistogramsRef;
         if (!deferred)
         {
             lock();
@@ -49,7 +74,16 @@ public class LockGuard implements AutoCloseable
         {
             while (idx < lockBundle.length)
             {
-                lockBundle[idx].lock();
+                if (waitHistograms == null)
+                {
+                    lockBundle[idx].lock();
+                }
+                else
+                {
+                    long startNanos = System.nanoTime();
+                    lockBundle[idx].lock();
+                    waitHistograms[idx].observeNanosSince(startNanos);
+                }
                 ++idx;
             }
         }
@@ -80,6 +114,10 @@ public class LockGuard implements AutoCloseable
             // Rethrow the exception that caused the lock() call to fail
             throw exc;
         }
+        if (holdHistograms != null)
+        {
+            acquiredNanos = System.nanoTime();
+        }
         acquired = true;
     }
 
@@ -121,6 +159,13 @@ public class LockGuard implements AutoCloseable
                 }
             }
             acquired = false;
+            if (holdHistograms != null)
+            {
+                for (Histogram holdHistogram : holdHistograms)
+                {
+                    holdHistogram.observeNanosSince(acquiredNanos);
+                }
+            }
             // Rethrow a saved exception to avoid hiding implementation errors
             if (savedExc != null)
             {
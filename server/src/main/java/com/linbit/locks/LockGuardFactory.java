@@ -2,6 +2,8 @@ package com.linbit.locks;
 
 import com.linbit.ImplementationError;
 import com.linbit.linstor.core.CoreModule;
+import com.linbit.linstor.metrics.Histogram;
+import com.linbit.linstor.metrics.LinStorMetrics;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -72,6 +74,7 @@ public class LockGuardFactory
     private final ReadWriteLock extFileMapLock;
     private final ReadWriteLock remoteMapLock;
     private final ReadWriteLock scheduleMapLock;
+    private final LinStorMetrics metrics;
 
     @Inject
     public LockGuardFactory(
@@ -84,7 +87,8 @@ public class LockGuardFactory
         @Named(CoreModule.RSC_GROUP_MAP_LOCK) ReadWriteLock rscGrpMapLockRef,
         @Named(CoreModule.EXT_FILE_MAP_LOCK) ReadWriteLock extFileMapLockRef,
         @Named(CoreModule.REMOTE_MAP_LOCK) ReadWriteLock remoteMapLockRef,
-        @Named(CoreModule.SCHEDULE_MAP_LOCK) ReadWriteLock scheduleMapLockRef
+        @Named(CoreModule.SCHEDULE_MAP_LOCK) ReadWriteLock scheduleMapLockRef,
+        LinStorMetrics metricsRef
     )
     {
         reconfigurationLock = reconfigurationLockRef;
@@ -97,6 +101,7 @@ public class LockGuardFactory
         extFileMapLock = extFileMapLockRef;
         remoteMapLock = remoteMapLockRef;
         scheduleMapLock = scheduleMapLockRef;
+        metrics = metricsRef;
     }
 
     public LockGuardBuilder create()
@@ -246,9 +251,23 @@ public class LockGuardFactory
             }
 
             Lock[] lockArr = new Lock[locks.size()];
+            Histogram[] waitHistograms = null;
+            Histogram[] holdHistograms = null;
+            if (metrics.isEnabled())
+            {
+                waitHistograms = new Histogram[lockArr.length];
+                holdHistograms = new Histogram[lockArr.length];
+            }
             int lockIdx = 0;
             for (Entry<LockObj, LockType> entry : locks.entrySet())
             {
+                if (waitHistograms != null)
+                {
+                    String lockName = entry.getKey().name();
+                    String lockType = entry.getValue().name();
+                    waitHistograms[lockIdx] = metrics.getLockWait().labels(lockName, lockType);
+                    holdHistograms[lockIdx] = metrics.getLockHold().labels(lockName, lockType);
+                }
                 Lock lock;
                 if (entry.getValue() == LockType.READ)
                 {
@@ -261,7 +280,7 @@ public class LockGuardFactory
                 lockArr[lockIdx] = lock;
                 ++lockIdx;
             }
-            return new LockGuard(defer, lockArr);
+            return new LockGuard(defer, waitHistograms, holdHistograms, lockArr);
         }
     }
 }
@@ -0,0 +1,128 @@
+package com.linbit.linstor;
+
+import com.linbit.linstor.metrics.Histogram;
+import com.linbit.linstor.metrics.HistogramFamily;
+import com.linbit.linstor.metrics.LinStorMetrics;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Checks that the queue depth and wait time of a saturated blocking worker pool are visible in the metrics, while the
+ * CPU bound tasks scheduled at the same time do not wait for it.
+ */
+public class InstrumentedSchedulerTest
+{
+    private static final int BLOCKING_THREADS = 2;
+    private static final int BLOCKING_TASKS = 8;
+    private static final long BLOCKING_TASK_MILLIS = 200;
+    private static final int CPU_TASKS = 200;
+
+    private InstrumentedScheduler cpuScheduler;
+    private InstrumentedScheduler blockingScheduler;
+
+    @Before
+    public void setUp()
+    {
+        HistogramFamily waitHistograms = new LinStorMetrics().getSchedulerWait();
+        cpuScheduler = new InstrumentedScheduler(
+            "cpu",
+            Schedulers.newParallel("TestCpuPool", 2),
+            waitHistograms.labels("cpu")
+        );
+        blockingScheduler = new InstrumentedScheduler(
+            "blocking",
+            Schedulers.newBoundedElastic(BLOCKING_THREADS, 1000, "TestBlockingPool"),
+            waitHistograms.labels("blocking")
+        );
+    }
+
+    @After
+    public void tearDown()
+    {
+        cpuScheduler.dispose();
+        blockingScheduler.dispose();
+    }
+
+    @Test
+    public void cpuTasksNotDelayedBySaturatedBlockingPool() throws Exception
+    {
+        CountDownLatch blockingDone = new CountDownLatch(BLOCKING_TASKS);
+        for (int idx = 0; idx < BLOCKING_TASKS; ++idx)
+        {
+            blockingScheduler.schedule(
+                () ->
+                {
+                    sleep(BLOCKING_TASK_MILLIS);
+                    blockingDone.countDown();
+                }
+            );
+        }
+        Assert.assertEquals(BLOCKING_TASKS - BLOCKING_THREADS, blockingScheduler.getQueued(), BLOCKING_THREADS);
+
+        CountDownLatch cpuDone = new CountDownLatch(CPU_TASKS);
+        for (int idx = 0; idx < CPU_TASKS; ++idx)
+        {
+            cpuScheduler.schedule(cpuDone::countDown);
+        }
+        Assert.assertTrue(cpuDone.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(blockingDone.await(10, TimeUnit.SECONDS));
+
+        Assert.assertEquals(0, cpuScheduler.getQueued());
+        Assert.assertEquals(CPU_TASKS, cpuScheduler.getStarted());
+        Assert.assertEquals(0, blockingScheduler.getQueued());
+        Assert.assertEquals(BLOCKING_TASKS, blockingScheduler.getStarted());
+
+        // the last blocking tasks had to wait for the first ones to finish, the CPU tasks did not wait for them
+        Histogram blockingWait = blockingScheduler.getWaitHistogram();
+        Histogram cpuWait = cpuScheduler.getWaitHistogram();
+        Assert.assertEquals(BLOCKING_TASKS, countAll(blockingWait));
+        Assert.assertEquals(CPU_TASKS, countAll(cpuWait));
+        Assert.assertTrue(
+            countLongerThan(blockingWait, BLOCKING_TASK_MILLIS / 2_000.0) >= BLOCKING_TASKS - BLOCKING_THREADS
+        );
+        Assert.assertTrue(cpuWait.getSum() < blockingWait.getSum());
+
+        // reading the histogram does not change it
+        Assert.assertEquals(BLOCKING_TASKS, countAll(blockingWait));
+    }
+
+    private static long countAll(Histogram histogram)
+    {
+        long[] counts = histogram.getCumulativeCounts();
+        return counts[counts.length - 1];
+    }
+
+    /**
+     * @return the number of observations in the buckets above the first bucket boundary of at least the given value
+     */
+    private static long countLongerThan(Histogram histogram, double seconds)
+    {
+        double[] upperBounds = histogram.getUpperBounds();
+        long[] counts = histogram.getCumulativeCounts();
+        int idx = 0;
+        while (upperBounds[idx] < seconds)
+        {
+            ++idx;
+        }
+        return counts[counts.length - 1] - counts[idx];
+    }
+
+    private static void sleep(long millis)
+    {
+        try
+        {
+            Thread.sleep(millis);
+        }
+        catch (InterruptedException exc)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.linbit.linstor.api.protobuf;
+
+import com.linbit.linstor.api.pojo.RscPojo;
+import com.linbit.linstor.api.protobuf.serializer.ProtoCtrlStltSerializer;
+import com.linbit.linstor.api.protobuf.serializer.ProtoFragmentCache;
+import com.linbit.linstor.core.CtrlSecurityObjects;
+import com.linbit.linstor.core.objects.Resource;
+import com.linbit.linstor.core.objects.StorPool;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntApplyRscOuterClass.MsgIntApplyRsc;
+import com.linbit.linstor.security.GenericDbBase;
+import com.linbit.linstor.security.TestAccessContextProvider;
+import com.linbit.linstor.storage.kinds.DeviceLayerKind;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the resource data the controller pushes with ChangedRscData is deserialized by the satellite the same
+ * way as the answer of a resource request.
+ */
+public class PushedRscSerializationTest extends GenericDbBase
+{
+    private static final long GiB = 1024 * 1024; // base-unit in KiB
+
+    @Before
+    public void setup() throws Exception
+    {
+        setUpAndEnterScope();
+
+        resourceGroupTestFactory.initDfltRscGrp();
+        resourceTestFactory.setDfltLayerStack(Arrays.asList(DeviceLayerKind.STORAGE));
+        volumeTestFactory.setDfltVlmSize(1 * GiB);
+    }
+
+    @Test
+    public void roundTrip() throws Exception
+    {
+        StorPool sp = storPoolTestFactory.builder("node1", "sp").build();
+        Resource rsc = volumeTestFactory.builder("node1", "rsc1").setStorPoolData(sp).build().getAbsResource();
+
+        byte[] pushMessage = new ProtoCtrlStltSerializer(
+            errorReporter,
+            TestAccessContextProvider.SYS_CTX,
+            new CtrlSecurityObjects(),
+            null,
+            new ProtoFragmentCache()
+        )
+            .headerlessBuilder()
+            .resource(rsc, 3, 7)
+            .build();
+
+        MsgIntApplyRsc applyMsg = MsgIntApplyRsc.parseDelimitedFrom(new ByteArrayInputStream(pushMessage));
+        RscPojo rscPojo = ApplyRsc.asRscPojo(applyMsg.getRsc(), applyMsg.getFullSyncId(), applyMsg.getUpdateId());
+
+        assertEquals(rsc.getUuid(), rscPojo.getUuid());
+        assertEquals(rsc.getResourceDefinition().getName().displayValue, rscPojo.getName());
+        assertEquals(rsc.getNode().getName().displayValue, rscPojo.getNodeName());
+        assertEquals(3, rscPojo.getFullSyncId());
+        assertEquals(7, rscPojo.getUpdateId());
+        assertEquals(1, rscPojo.getVlmList().size());
+    }
+}
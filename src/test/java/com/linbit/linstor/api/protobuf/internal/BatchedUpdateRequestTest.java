@@ -0,0 +1,114 @@
+package com.linbit.linstor.api.protobuf.internal;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
+import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer.CtrlStltSerializerBuilder;
+import com.linbit.linstor.api.protobuf.serializer.ProtoCtrlStltSerializer;
+import com.linbit.linstor.api.protobuf.serializer.ProtoFragmentCache;
+import com.linbit.linstor.core.CtrlSecurityObjects;
+import com.linbit.linstor.core.apicallhandler.controller.internal.RscInternalCallHandler;
+import com.linbit.linstor.core.apicallhandler.controller.internal.StorPoolInternalCallHandler;
+import com.linbit.linstor.core.identifier.StorPoolName;
+import com.linbit.linstor.core.objects.Node;
+import com.linbit.linstor.core.objects.StorPool;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.netcom.Peer;
+import com.linbit.linstor.security.AccessContext;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.junit.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the RequestRscs and RequestStorPools messages the satellite sends for several pending updates at once.
+ */
+public class BatchedUpdateRequestTest
+{
+    private final ProtoCtrlStltSerializer serializer = new ProtoCtrlStltSerializer(
+        mock(ErrorReporter.class),
+        mock(AccessContext.class),
+        new CtrlSecurityObjects(),
+        null,
+        new ProtoFragmentCache()
+    );
+
+    @Test
+    public void requestResourcesRoundTrip() throws Exception
+    {
+        Map<String, UUID> rscs = new LinkedHashMap<>();
+        rscs.put("rsc1", UUID.randomUUID());
+        rscs.put("rsc2", UUID.randomUUID());
+        byte[] msg = serializer.headerlessBuilder().requestResourceUpdates("node1", rscs).build();
+
+        RscInternalCallHandler rscHandler = mock(RscInternalCallHandler.class);
+        new IntRequestResources(rscHandler).execute(new ByteArrayInputStream(msg));
+
+        verify(rscHandler).handleResourcesRequest("node1", Arrays.asList("rsc1", "rsc2"));
+    }
+
+    @Test
+    public void requestStorPoolsRoundTrip() throws Exception
+    {
+        Map<String, UUID> storPools = new LinkedHashMap<>();
+        storPools.put("sp1", UUID.randomUUID());
+        storPools.put("sp2", UUID.randomUUID());
+        byte[] msg = serializer.headerlessBuilder().requestStoragePoolUpdates(storPools).build();
+
+        StorPoolInternalCallHandler storPoolHandler = mock(StorPoolInternalCallHandler.class);
+        new IntRequestStorPools(storPoolHandler).execute(new ByteArrayInputStream(msg));
+
+        verify(storPoolHandler).handleStorPoolsRequest(Arrays.asList("sp1", "sp2"));
+    }
+
+    @Test
+    public void storPoolsAreAnsweredWithConsecutiveUpdateIds() throws Exception
+    {
+        StorPool storPool = mock(StorPool.class);
+        Node node = mock(Node.class);
+        when(node.getStorPool(any(), eq(new StorPoolName("sp1")))).thenReturn(storPool);
+
+        Peer peer = mock(Peer.class);
+        when(peer.getNode()).thenReturn(node);
+        when(peer.getSerializerLock()).thenReturn(new ReentrantReadWriteLock());
+        when(peer.getFullSyncId()).thenReturn(3L);
+        when(peer.getNextSerializerId()).thenReturn(1L, 2L);
+
+        CtrlStltSerializerBuilder builder = mock(CtrlStltSerializerBuilder.class, RETURNS_SELF);
+        when(builder.build()).thenReturn(new byte[0]);
+        CtrlStltSerializer ctrlStltSerializer = mock(CtrlStltSerializer.class);
+        when(ctrlStltSerializer.onewayBuilder(any())).thenReturn(builder);
+
+        new StorPoolInternalCallHandler(
+            mock(ErrorReporter.class),
+            mock(AccessContext.class),
+            null,
+            null,
+            null,
+            ctrlStltSerializer,
+            () -> peer,
+            () -> mock(AccessContext.class),
+            new ReentrantReadWriteLock(),
+            new ReentrantReadWriteLock(),
+            null
+        ).handleStorPoolsRequest(Arrays.asList("sp1", "sp2"));
+
+        verify(ctrlStltSerializer).onewayBuilder(InternalApiConsts.API_APPLY_STOR_POOL);
+        verify(builder).storPool(storPool, 3, 1);
+        verify(ctrlStltSerializer).onewayBuilder(InternalApiConsts.API_APPLY_STOR_POOL_DELETED);
+        verify(builder).deletedStorPool("sp2", 3, 2);
+        verify(peer, times(2)).sendMessage(any(byte[].class));
+    }
+}
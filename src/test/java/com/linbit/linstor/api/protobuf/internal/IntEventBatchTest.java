@@ -0,0 +1,86 @@
+package com.linbit.linstor.api.protobuf.internal;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.core.apicallhandler.ScopeRunner;
+import com.linbit.linstor.event.EventProcessor;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.proto.responses.MsgEventOuterClass.MsgEvent;
+import com.linbit.locks.LockGuardFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.google.protobuf.ByteString;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class IntEventBatchTest
+{
+    private ErrorReporter errorReporter;
+    private EventProcessor eventProcessor;
+    private IntEventBatch intEventBatch;
+
+    @Before
+    public void setUp()
+    {
+        errorReporter = mock(ErrorReporter.class);
+        eventProcessor = mock(EventProcessor.class);
+        intEventBatch = new IntEventBatch(
+            errorReporter,
+            mock(ScopeRunner.class),
+            mock(LockGuardFactory.class),
+            eventProcessor
+        );
+    }
+
+    @Test
+    public void failingEventDoesNotStopBatch() throws Exception
+    {
+        IllegalStateException failure = new IllegalStateException("failing event");
+        when(eventProcessor.handleEvent(any(), eq("first"), any(), any(), any(), any(), any()))
+            .thenAnswer(ignored -> Flux.empty());
+        when(eventProcessor.handleEvent(any(), eq("failingFlux"), any(), any(), any(), any(), any()))
+            .thenAnswer(ignored -> Flux.error(failure));
+        when(eventProcessor.handleEvent(any(), eq("failingCall"), any(), any(), any(), any(), any()))
+            .thenThrow(failure);
+        when(eventProcessor.handleEvent(any(), eq("last"), any(), any(), any(), any(), any()))
+            .thenAnswer(ignored -> Flux.empty());
+
+        intEventBatch.handleEvents(
+            Arrays.asList(
+                serializeEvent("first"),
+                serializeEvent("failingFlux"),
+                // not even a valid event message
+                ByteString.copyFrom(new byte[] {1, 2, 3}),
+                serializeEvent("failingCall"),
+                serializeEvent("last")
+            )
+        ).blockLast();
+
+        verify(eventProcessor, times(1)).handleEvent(any(), eq("first"), any(), any(), any(), any(), any());
+        verify(eventProcessor, times(1)).handleEvent(any(), eq("last"), any(), any(), any(), any(), any());
+        verify(errorReporter, times(2)).reportError(failure);
+        verify(errorReporter, times(1)).reportError(any(IOException.class));
+    }
+
+    private static ByteString serializeEvent(String eventName) throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MsgEvent.newBuilder()
+            .setWatchId(0)
+            .setEventAction(InternalApiConsts.EVENT_STREAM_VALUE)
+            .setEventName(eventName)
+            .build()
+            .writeDelimitedTo(out);
+        return ByteString.copyFrom(out.toByteArray());
+    }
+}
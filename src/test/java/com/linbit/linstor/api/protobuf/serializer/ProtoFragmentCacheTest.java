@@ -0,0 +1,122 @@
+package com.linbit.linstor.api.protobuf.serializer;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.core.CtrlSecurityObjects;
+import com.linbit.linstor.core.objects.Resource;
+import com.linbit.linstor.core.objects.StorPool;
+import com.linbit.linstor.security.GenericDbBase;
+import com.linbit.linstor.security.TestAccessContextProvider;
+import com.linbit.linstor.storage.kinds.DeviceLayerKind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the resource messages of all satellites are the same with and without {@link ProtoFragmentCache} for
+ * a fan-out of 1, 8 and 64 nodes, and that every shared fragment is only serialized once per update.
+ */
+public class ProtoFragmentCacheTest extends GenericDbBase
+{
+    private static final long GiB = 1024 * 1024; // base-unit in KiB
+
+    @Before
+    public void setup() throws Exception
+    {
+        setUpAndEnterScope();
+
+        resourceGroupTestFactory.initDfltRscGrp();
+        // DRBD would limit the fan-out to 32 nodes
+        resourceTestFactory.setDfltLayerStack(Arrays.asList(DeviceLayerKind.STORAGE));
+        volumeTestFactory.setDfltVlmSize(1 * GiB);
+    }
+
+    @Test
+    public void fanOut1() throws Exception
+    {
+        checkFanOut(1);
+    }
+
+    @Test
+    public void fanOut8() throws Exception
+    {
+        checkFanOut(8);
+    }
+
+    @Test
+    public void fanOut64() throws Exception
+    {
+        checkFanOut(64);
+    }
+
+    private void checkFanOut(int fanOut) throws Exception
+    {
+        List<Resource> rscList = createResources("rsc" + fanOut, fanOut);
+
+        ProtoFragmentCache cache = new ProtoFragmentCache();
+        ProtoCtrlStltSerializer cachedSerializer = createSerializer(cache);
+
+        List<byte[]> uncachedMsgs = serializeUncached(rscList);
+        List<byte[]> cachedMsgs = serialize(cachedSerializer, rscList);
+        for (int idx = 0; idx < fanOut; ++idx)
+        {
+            assertArrayEquals(uncachedMsgs.get(idx), cachedMsgs.get(idx));
+        }
+        // the resource definition, the resource itself and the resource as peer of the others
+        assertEquals(fanOut == 1 ? 2 : 2 * fanOut + 1, cache.getMisses());
+    }
+
+    private List<Resource> createResources(String rscName, int count) throws Exception
+    {
+        List<Resource> rscList = new ArrayList<>();
+        for (int idx = 0; idx < count; ++idx)
+        {
+            String nodeName = "node" + idx;
+            StorPool sp = storPoolTestFactory.builder(nodeName, "sp").build();
+            rscList.add(volumeTestFactory.builder(nodeName, rscName).setStorPoolData(sp).build().getAbsResource());
+        }
+        return rscList;
+    }
+
+    private List<byte[]> serializeUncached(List<Resource> rscList)
+    {
+        List<byte[]> msgs = new ArrayList<>();
+        for (Resource rsc : rscList)
+        {
+            // a new cache for every satellite, i.e. no fragment is shared
+            msgs.addAll(serialize(createSerializer(new ProtoFragmentCache()), Arrays.asList(rsc)));
+        }
+        return msgs;
+    }
+
+    private List<byte[]> serialize(ProtoCtrlStltSerializer serializer, List<Resource> rscList)
+    {
+        List<byte[]> msgs = new ArrayList<>();
+        for (Resource rsc : rscList)
+        {
+            msgs.add(
+                serializer.onewayBuilder(InternalApiConsts.API_APPLY_RSC)
+                    .resource(rsc, 0, 0)
+                    .build()
+            );
+        }
+        return msgs;
+    }
+
+    private ProtoCtrlStltSerializer createSerializer(ProtoFragmentCache cache)
+    {
+        return new ProtoCtrlStltSerializer(
+            errorReporter,
+            TestAccessContextProvider.SYS_CTX,
+            new CtrlSecurityObjects(),
+            null,
+            cache
+        );
+    }
+}
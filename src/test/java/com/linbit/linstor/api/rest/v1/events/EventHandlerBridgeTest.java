@@ -0,0 +1,206 @@
+package com.linbit.linstor.api.rest.v1.events;
+
+import com.linbit.linstor.core.identifier.NodeName;
+import com.linbit.linstor.core.identifier.StorPoolName;
+import com.linbit.linstor.core.objects.Node;
+import com.linbit.linstor.core.objects.StorPool;
+import com.linbit.linstor.testutils.EmptyErrorReporter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.glassfish.jersey.media.sse.EventOutput;
+import org.glassfish.jersey.media.sse.OutboundEvent;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EventHandlerBridgeTest
+{
+    private static final int BACKLOG_SIZE = 3;
+
+    private TestBridge bridge;
+
+    @Before
+    public void setUp()
+    {
+        bridge = new TestBridge();
+    }
+
+    @Test
+    public void filterByNodeAndObject() throws Exception
+    {
+        EventOutput out = Mockito.mock(EventOutput.class);
+        bridge.registerResourceClient(
+            out,
+            new EventHandlerBridge.EventFilter(Collections.singletonList("nodeA"), Arrays.asList("rsc1", "rsc2")),
+            null,
+            null
+        );
+
+        bridge.send("NODEA", "rsc1");
+        bridge.send("nodeB", "rsc1");
+        bridge.send("nodeA", "rsc3");
+        bridge.send("nodea", "RSC2");
+
+        List<OutboundEvent> written = captureWritten(out, 2);
+        assertEquals("\"NODEA/rsc1\"", written.get(0).getData());
+        assertEquals("\"nodea/RSC2\"", written.get(1).getData());
+    }
+
+    @Test
+    public void resumeOnlySendsMissedEvents() throws Exception
+    {
+        EventOutput first = Mockito.mock(EventOutput.class);
+        bridge.registerResourceClient(first, new EventHandlerBridge.EventFilter(null, null), null, null);
+        bridge.send("n1", "r1");
+        String lastSeenId = captureWritten(first, 1).get(0).getId();
+
+        bridge.send("n1", "r2");
+        bridge.send("n1", "r3");
+
+        EventOutput reconnected = Mockito.mock(EventOutput.class);
+        bridge.registerResourceClient(
+            reconnected,
+            new EventHandlerBridge.EventFilter(null, null),
+            lastSeenId,
+            () -> failInitialState()
+        );
+
+        List<OutboundEvent> replayed = captureWritten(reconnected, 2);
+        assertEquals("\"n1/r2\"", replayed.get(0).getData());
+        assertEquals("\"n1/r3\"", replayed.get(1).getData());
+    }
+
+    @Test
+    public void outdatedTokenSendsInitialState() throws Exception
+    {
+        EventOutput first = Mockito.mock(EventOutput.class);
+        bridge.registerResourceClient(first, new EventHandlerBridge.EventFilter(null, null), null, null);
+        bridge.send("n1", "r1");
+        String lastSeenId = captureWritten(first, 1).get(0).getId();
+
+        for (int idx = 0; idx < BACKLOG_SIZE + 1; idx++)
+        {
+            bridge.send("n1", "r" + idx);
+        }
+
+        List<EventHandlerBridge.PendingEvent> initialState = new ArrayList<>();
+        initialState.add(new EventHandlerBridge.PendingEvent("state", "initial", "n1", "r1"));
+
+        for (String token : Arrays.asList(lastSeenId, "current", "unknown-42"))
+        {
+            EventOutput reconnected = Mockito.mock(EventOutput.class);
+            bridge.registerResourceClient(
+                reconnected,
+                new EventHandlerBridge.EventFilter(null, null),
+                token,
+                () -> initialState
+            );
+            List<OutboundEvent> written = captureWritten(reconnected, 1);
+            assertEquals("\"initial\"", written.get(0).getData());
+            assertTrue(written.get(0).getId().endsWith("-" + (BACKLOG_SIZE + 2)));
+        }
+    }
+
+    @Test
+    public void noTokenSendsInitialState() throws Exception
+    {
+        bridge.send("n1", "r1");
+
+        List<EventHandlerBridge.PendingEvent> initialState = new ArrayList<>();
+        initialState.add(new EventHandlerBridge.PendingEvent("state", "initial", "n1", "r1"));
+
+        EventOutput out = Mockito.mock(EventOutput.class);
+        bridge.registerResourceClient(out, new EventHandlerBridge.EventFilter(null, null), null, () -> initialState);
+
+        List<OutboundEvent> written = captureWritten(out, 1);
+        assertEquals("\"initial\"", written.get(0).getData());
+    }
+
+    @Test
+    public void storPoolDeleteEvent() throws Exception
+    {
+        EventStorPoolHandlerBridge storPoolBridge = new EventStorPoolHandlerBridge(new EmptyErrorReporter());
+        EventOutput out = Mockito.mock(EventOutput.class);
+        storPoolBridge.registerResourceClient(out, new EventHandlerBridge.EventFilter(null, null), null);
+
+        storPoolBridge.triggerStorPoolDeleted(
+            new StorPool.Key(new NodeName("n1"), new StorPoolName("pool1")),
+            "n1",
+            "pool1"
+        );
+
+        List<OutboundEvent> written = captureWritten(out, 1);
+        assertEquals(EventStorPoolHandlerBridge.EVENT_DELETE, written.get(0).getName());
+        assertEquals("{\"node_name\":\"n1\",\"storage_pool_name\":\"pool1\"}", written.get(0).getData());
+    }
+
+    @Test
+    public void nodeDeleteEvictsStorPools() throws Exception
+    {
+        EventStorPoolHandlerBridge storPoolBridge = new EventStorPoolHandlerBridge(new EmptyErrorReporter());
+        storPoolBridge.triggerCapacityChange(mockStorPool("n1", "pool1"), 10, 100);
+        storPoolBridge.triggerCapacityChange(mockStorPool("n2", "pool1"), 20, 100);
+
+        EventOutput out = Mockito.mock(EventOutput.class);
+        storPoolBridge.registerResourceClient(
+            out,
+            new EventHandlerBridge.EventFilter(Collections.singletonList("n1"), null),
+            "current"
+        );
+        storPoolBridge.triggerNodeDeleted(new NodeName("n1"), Collections.singletonList(new StorPoolName("pool1")));
+
+        List<OutboundEvent> written = captureWritten(out, 2);
+        assertEquals(EventStorPoolHandlerBridge.EVENT_CAPACITY, written.get(0).getName());
+        assertEquals(EventStorPoolHandlerBridge.EVENT_DELETE, written.get(1).getName());
+        assertEquals("{\"node_name\":\"n1\",\"storage_pool_name\":\"pool1\"}", written.get(1).getData());
+
+        // only the capacity of the remaining node is sent to new clients
+        EventOutput newClient = Mockito.mock(EventOutput.class);
+        storPoolBridge.registerResourceClient(newClient, new EventHandlerBridge.EventFilter(null, null), "current");
+        List<OutboundEvent> initialState = captureWritten(newClient, 1);
+        assertTrue(initialState.get(0).getData().toString().contains("\"node_name\":\"n2\""));
+    }
+
+    private static StorPool mockStorPool(String nodeName, String storPoolName) throws Exception
+    {
+        Node node = Mockito.mock(Node.class);
+        Mockito.when(node.getName()).thenReturn(new NodeName(nodeName));
+        StorPool storPool = Mockito.mock(StorPool.class);
+        Mockito.when(storPool.getNode()).thenReturn(node);
+        Mockito.when(storPool.getName()).thenReturn(new StorPoolName(storPoolName));
+        return storPool;
+    }
+
+    private static List<EventHandlerBridge.PendingEvent> failInitialState()
+    {
+        throw new AssertionError("initial state must not be requested when resuming");
+    }
+
+    private static List<OutboundEvent> captureWritten(EventOutput out, int expectedCount) throws Exception
+    {
+        ArgumentCaptor<OutboundEvent> captor = ArgumentCaptor.forClass(OutboundEvent.class);
+        Mockito.verify(out, Mockito.times(expectedCount)).write(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static class TestBridge extends EventHandlerBridge
+    {
+        TestBridge()
+        {
+            super(new EmptyErrorReporter(), BACKLOG_SIZE);
+        }
+
+        void send(String nodeName, String objName)
+        {
+            sendEvent("test", nodeName + "/" + objName, nodeName, objName);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.linbit.linstor.api.rest.v1.utils;
+
+import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JsonStreamingOutputTest
+{
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void writesSameJsonAsList() throws Exception
+    {
+        List<JsonGenTypes.StoragePool> storPools = new ArrayList<>();
+        for (int idx = 0; idx < 1000; ++idx)
+        {
+            JsonGenTypes.StoragePool storPool = new JsonGenTypes.StoragePool();
+            storPool.storage_pool_name = "pool" + idx;
+            storPool.node_name = "node" + idx % 10;
+            storPool.free_capacity = (long) idx;
+            storPools.add(storPool);
+        }
+
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new JsonStreamingOutput(objectMapper, storPools.stream().onClose(() -> closed.set(true))).write(out);
+
+        assertEquals(objectMapper.writeValueAsString(storPools), out.toString(StandardCharsets.UTF_8.name()));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void writesEmptyArray() throws Exception
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new JsonStreamingOutput(objectMapper, Stream.empty()).write(out);
+
+        assertEquals("[]", out.toString(StandardCharsets.UTF_8.name()));
+    }
+}
@@ -0,0 +1,297 @@
+package com.linbit.linstor.backupshipping.transport;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ShippingTransportTest
+{
+    private static final int CHUNK_SIZE = 64 << 10;
+    // not a multiple of the chunk size, the last chunk is only partially filled
+    private static final int DATA_SIZE = 37 * CHUNK_SIZE + 1234;
+
+    private ServerSocketChannel serverChannel;
+    private byte[] data;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+        // half random, half compressible data
+        data = new byte[DATA_SIZE];
+        new Random(42).nextBytes(data);
+        for (int idx = DATA_SIZE / 2; idx < DATA_SIZE; ++idx)
+        {
+            data[idx] = (byte) (idx % 7);
+        }
+    }
+
+    @After
+    public void tearDown() throws IOException
+    {
+        serverChannel.close();
+    }
+
+    @Test
+    public void singleStreamUncompressed() throws Exception
+    {
+        ship(1, false);
+    }
+
+    @Test
+    public void singleStreamCompressed() throws Exception
+    {
+        ShippingStats rxStats = ship(1, true);
+        assertTrue(rxStats.getWireBytes() < DATA_SIZE);
+    }
+
+    @Test
+    public void multiStreamCompressed() throws Exception
+    {
+        ship(4, true);
+    }
+
+    @Test
+    public void multiStreamUncompressed() throws Exception
+    {
+        ShippingStats rxStats = ship(3, false);
+        // handshakes, chunk headers and end of stream markers
+        assertEquals(
+            DATA_SIZE + 3 * ShippingProtocol.HANDSHAKE_SIZE + (38 + 3) * ShippingProtocol.CHUNK_HEADER_SIZE,
+            rxStats.getWireBytes()
+        );
+    }
+
+    @Test(expected = IOException.class)
+    public void streamCountMismatch() throws Exception
+    {
+        List<ShippingConnection> txConnections = new ArrayList<>();
+        List<ShippingConnection> rxConnections = new ArrayList<>();
+        connect(3, txConnections, rxConnections);
+
+        ShippingSender sender = new ShippingSender(
+            txConnections,
+            false,
+            new AdaptiveCompressionLevel(),
+            new ShippingStats("tx"),
+            CHUNK_SIZE
+        );
+        Thread txThread = new Thread(() ->
+        {
+            try
+            {
+                sender.send(new ByteArrayInputStream(data));
+            }
+            catch (IOException ignored)
+            {
+            }
+        });
+        txThread.start();
+        try
+        {
+            // the sender announces 3 streams, but the receiver only expects 2
+            new ShippingReceiver(rxConnections.subList(0, 2), false, new ShippingStats("rx"), 4)
+                .receive(new ByteArrayOutputStream());
+        }
+        finally
+        {
+            sender.abort();
+            txThread.join();
+            for (ShippingConnection connection : rxConnections)
+            {
+                connection.close();
+            }
+        }
+    }
+
+    @Test
+    public void listenerAcceptsAnnouncedStreams() throws Exception
+    {
+        // the receiving side does not need to know the number of streams
+        assertArrayEquals(data, shipThroughListener(3, true, data));
+    }
+
+    @Test
+    public void listenerAcceptsUnframedStream() throws Exception
+    {
+        assertArrayEquals(data, shipThroughListener(1, true, data));
+        // shorter than a handshake
+        byte[] shortData = new byte[] {1, 2, 3};
+        assertArrayEquals(shortData, shipThroughListener(1, false, shortData));
+    }
+
+    @Test
+    public void listenerFailsIfAnnouncedStreamsDoNotConnect() throws Exception
+    {
+        ShippingListener listener = new ShippingListener(serverChannel, 200);
+        try (SocketChannel channel = SocketChannel.open(serverChannel.getLocalAddress()))
+        {
+            ShippingConnection.plain(channel).writeFully(ShippingProtocol.handshake(3, 0));
+            listener.accept();
+            fail("accepted although only one of three streams connected");
+        }
+        catch (IOException expected)
+        {
+            assertTrue(expected.getMessage().contains("only 1 connected"));
+        }
+    }
+
+    @Test
+    public void adaptiveLevel()
+    {
+        AdaptiveCompressionLevel level = new AdaptiveCompressionLevel(1, 5, 3);
+        // network bound: writing takes much longer than compressing
+        for (int idx = 0; idx < 8; ++idx)
+        {
+            level.update(3, 1_000, 10_000);
+        }
+        assertEquals(4, level.get());
+        // samples of the old level are ignored
+        for (int idx = 0; idx < 100; ++idx)
+        {
+            level.update(3, 10_000, 1_000);
+        }
+        assertEquals(4, level.get());
+        // CPU bound
+        for (int idx = 0; idx < 100; ++idx)
+        {
+            level.update(level.get(), 10_000, 1_000);
+        }
+        assertEquals(1, level.get());
+        // between both thresholds nothing changes
+        for (int idx = 0; idx < 100; ++idx)
+        {
+            level.update(level.get(), 10_000, 15_000);
+        }
+        assertEquals(1, level.get());
+    }
+
+    private ShippingStats ship(int streamCount, boolean compress) throws Exception
+    {
+        List<ShippingConnection> txConnections = new ArrayList<>();
+        List<ShippingConnection> rxConnections = new ArrayList<>();
+        connect(streamCount, txConnections, rxConnections);
+
+        ShippingStats txStats = new ShippingStats("tx");
+        ShippingStats rxStats = new ShippingStats("rx");
+        ShippingSender sender = new ShippingSender(
+            txConnections,
+            compress,
+            new AdaptiveCompressionLevel(),
+            txStats,
+            CHUNK_SIZE
+        );
+        AtomicReference<IOException> txFailure = new AtomicReference<>();
+        Thread txThread = new Thread(() ->
+        {
+            try
+            {
+                sender.send(new ByteArrayInputStream(data));
+                for (ShippingConnection connection : txConnections)
+                {
+                    connection.close();
+                }
+            }
+            catch (IOException exc)
+            {
+                txFailure.set(exc);
+            }
+        });
+        txThread.start();
+
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        new ShippingReceiver(rxConnections, compress, rxStats, 2 * streamCount).receive(received);
+        txThread.join();
+        for (ShippingConnection connection : rxConnections)
+        {
+            connection.close();
+        }
+
+        assertNull(txFailure.get());
+        assertArrayEquals(data, received.toByteArray());
+        assertEquals(DATA_SIZE, txStats.getRawBytes());
+        assertEquals(DATA_SIZE, rxStats.getRawBytes());
+        assertEquals(txStats.getWireBytes(), rxStats.getWireBytes());
+        assertEquals(streamCount, rxStats.getStreamCount());
+        return rxStats;
+    }
+
+    private byte[] shipThroughListener(int streamCount, boolean compress, byte[] payload) throws Exception
+    {
+        List<ShippingConnection> txConnections = new ArrayList<>();
+        for (int idx = 0; idx < streamCount; ++idx)
+        {
+            txConnections.add(ShippingConnection.plain(SocketChannel.open(serverChannel.getLocalAddress())));
+        }
+        ShippingSender sender = new ShippingSender(
+            txConnections,
+            compress,
+            new AdaptiveCompressionLevel(),
+            new ShippingStats("tx"),
+            CHUNK_SIZE
+        );
+        AtomicReference<IOException> txFailure = new AtomicReference<>();
+        Thread txThread = new Thread(() ->
+        {
+            try
+            {
+                sender.send(new ByteArrayInputStream(payload));
+                for (ShippingConnection connection : txConnections)
+                {
+                    connection.close();
+                }
+            }
+            catch (IOException exc)
+            {
+                txFailure.set(exc);
+            }
+        });
+        txThread.start();
+
+        List<ShippingConnection> rxConnections = new ShippingListener(serverChannel, 5_000).accept();
+        assertEquals(streamCount, rxConnections.size());
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        new ShippingReceiver(rxConnections, compress, new ShippingStats("rx"), 2 * streamCount).receive(received);
+        txThread.join();
+        for (ShippingConnection connection : rxConnections)
+        {
+            connection.close();
+        }
+        assertNull(txFailure.get());
+        return received.toByteArray();
+    }
+
+    private void connect(
+        int streamCount,
+        List<ShippingConnection> txConnections,
+        List<ShippingConnection> rxConnections
+    )
+        throws IOException
+    {
+        for (int idx = 0; idx < streamCount; ++idx)
+        {
+            txConnections.add(ShippingConnection.plain(SocketChannel.open(serverChannel.getLocalAddress())));
+            rxConnections.add(ShippingConnection.plain(serverChannel.accept()));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.linbit.linstor.clone;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BlockCopierTest
+{
+    private static final int BUFFER_SIZE = 64 << 10;
+    private static final long EXTENT_SIZE = 4 * BUFFER_SIZE;
+    // not a multiple of the buffer size, like most images of real volumes are not a multiple of the extent size
+    private static final long IMAGE_SIZE = 10 * EXTENT_SIZE + 3 * 4096;
+
+    @Rule
+    public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+    private Path src;
+    private Path dst;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        src = tmpFolder.newFile("src.img").toPath();
+        dst = tmpFolder.newFile("dst.img").toPath();
+
+        // sparse image with data at the beginning, in the middle (across an extent border) and at the end
+        try (RandomAccessFile raf = new RandomAccessFile(src.toFile(), "rw"))
+        {
+            raf.setLength(IMAGE_SIZE);
+        }
+        writeRandom(src, 0, 4096);
+        writeRandom(src, 3 * EXTENT_SIZE - 8192, 3 * BUFFER_SIZE);
+        writeRandom(src, IMAGE_SIZE - 100, 100);
+    }
+
+    @Test
+    public void copyToNewFile() throws IOException
+    {
+        AtomicLong lastProgress = new AtomicLong();
+        BlockCopier.CopyResult result = new BlockCopier(BUFFER_SIZE, 4, EXTENT_SIZE).copy(
+            src,
+            dst,
+            0,
+            () -> false,
+            (copied, total) -> lastProgress.set(copied)
+        );
+
+        assertFalse(result.aborted);
+        assertEquals(IMAGE_SIZE, result.totalBytes);
+        assertEquals(IMAGE_SIZE, result.copiedBytes);
+        assertEquals(IMAGE_SIZE, lastProgress.get());
+        assertEquals(IMAGE_SIZE, Files.size(dst));
+        assertArrayEquals(Files.readAllBytes(src), Files.readAllBytes(dst));
+    }
+
+    @Test
+    public void copyOverExistingData() throws IOException
+    {
+        byte[] garbage = new byte[(int) IMAGE_SIZE];
+        Arrays.fill(garbage, (byte) 0x5A);
+        Files.write(dst, garbage);
+
+        BlockCopier.CopyResult result = new BlockCopier(BUFFER_SIZE, 3, EXTENT_SIZE).copy(
+            src,
+            dst,
+            IMAGE_SIZE,
+            () -> false,
+            null
+        );
+
+        assertEquals(IMAGE_SIZE, result.copiedBytes);
+        assertArrayEquals(Files.readAllBytes(src), Files.readAllBytes(dst));
+    }
+
+    @Test
+    public void abort() throws IOException
+    {
+        AtomicLong checks = new AtomicLong();
+        BlockCopier.CopyResult result = new BlockCopier(BUFFER_SIZE, 2, EXTENT_SIZE).copy(
+            src,
+            dst,
+            0,
+            () -> checks.incrementAndGet() > 5,
+            null
+        );
+
+        assertTrue(result.aborted);
+        assertTrue(result.copiedBytes < IMAGE_SIZE);
+    }
+
+    @Test(expected = IOException.class)
+    public void sourceTooSmall() throws IOException
+    {
+        new BlockCopier(BUFFER_SIZE, 2, EXTENT_SIZE).copy(src, dst, IMAGE_SIZE + 1, () -> false, null);
+    }
+
+    private static void writeRandom(Path file, long offset, int len) throws IOException
+    {
+        byte[] data = new byte[len];
+        new Random(offset).nextBytes(data);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE))
+        {
+            channel.write(ByteBuffer.wrap(data), offset);
+        }
+    }
+}
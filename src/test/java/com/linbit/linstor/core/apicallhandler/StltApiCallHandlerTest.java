@@ -0,0 +1,171 @@
+package com.linbit.linstor.core.apicallhandler;
+
+import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
+import com.linbit.linstor.api.pojo.RscPojo;
+import com.linbit.linstor.api.prop.WhitelistPropsReconfigurator;
+import com.linbit.linstor.backupshipping.BackupShippingMgr;
+import com.linbit.linstor.core.ApplicationLifecycleManager;
+import com.linbit.linstor.core.ControllerPeerConnector;
+import com.linbit.linstor.core.CoreModule;
+import com.linbit.linstor.core.DeviceManager;
+import com.linbit.linstor.core.StltSecurityObjects;
+import com.linbit.linstor.core.UpdateMonitorImpl;
+import com.linbit.linstor.core.cfg.StltConfig;
+import com.linbit.linstor.event.EventBroker;
+import com.linbit.linstor.layer.drbd.drbdstate.DrbdEventPublisher;
+import com.linbit.linstor.layer.drbd.drbdstate.DrbdStateTracker;
+import com.linbit.linstor.layer.storage.DeviceProviderMapper;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.netcom.Peer;
+import com.linbit.linstor.propscon.Props;
+import com.linbit.linstor.security.AccessContext;
+import com.linbit.linstor.transaction.manager.TransactionMgr;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class StltApiCallHandlerTest
+{
+    private final ReadWriteLock reconfigurationLock = new ReentrantReadWriteLock();
+    private final ReadWriteLock nodesMapLock = new ReentrantReadWriteLock();
+    private final ReadWriteLock rscDfnMapLock = new ReentrantReadWriteLock();
+    private final ReadWriteLock storPoolDfnMapLock = new ReentrantReadWriteLock();
+
+    private UpdateMonitorImpl updateMonitor;
+    private StltNodeApiCallHandler nodeHandler;
+    private StltApiCallHandler apiCallHandler;
+
+    @Before
+    public void setUp()
+    {
+        updateMonitor = new UpdateMonitorImpl(reconfigurationLock, nodesMapLock, rscDfnMapLock, storPoolDfnMapLock);
+        nodeHandler = mock(StltNodeApiCallHandler.class);
+        DeviceManager deviceManager = mock(DeviceManager.class);
+        when(deviceManager.isDispatching()).thenReturn(false);
+
+        apiCallHandler = new StltApiCallHandler(
+            mock(ErrorReporter.class),
+            mock(AccessContext.class),
+            mock(StltConfig.class),
+            mock(ControllerPeerConnector.class),
+            updateMonitor,
+            deviceManager,
+            mock(ApplicationLifecycleManager.class),
+            nodeHandler,
+            mock(StltRscDfnApiCallHandler.class),
+            mock(StltRscApiCallHandler.class),
+            mock(StltStorPoolApiCallHandler.class),
+            mock(StltSnapshotApiCallHandler.class),
+            mock(StltExternalFilesApiCallHandler.class),
+            mock(StltRemoteApiCallHandler.class),
+            mock(StltExtToolsChecker.class),
+            mock(CtrlStltSerializer.class),
+            reconfigurationLock,
+            nodesMapLock,
+            rscDfnMapLock,
+            storPoolDfnMapLock,
+            new ReentrantReadWriteLock(),
+            new ReentrantReadWriteLock(),
+            mock(Props.class),
+            mock(CoreModule.NodesMap.class),
+            mock(CoreModule.ResourceDefinitionMap.class),
+            mock(CoreModule.StorPoolDefinitionMap.class),
+            () -> mock(TransactionMgr.class),
+            mock(StltSecurityObjects.class),
+            mock(StltCryptApiCallHelper.class),
+            mock(EventBroker.class),
+            mock(WhitelistPropsReconfigurator.class),
+            () -> 0L,
+            mock(DrbdStateTracker.class),
+            mock(DrbdEventPublisher.class),
+            mock(DeviceProviderMapper.class),
+            mock(BackupShippingMgr.class),
+            mock(StltApiCallHandlerUtils.class)
+        );
+    }
+
+    @Test
+    public void reconnectWhileApplyingUpdate() throws Exception
+    {
+        CountDownLatch applying = new CountDownLatch(1);
+        CountDownLatch reconnected = new CountDownLatch(1);
+        doAnswer(
+            invocation ->
+            {
+                applying.countDown();
+                Assert.assertTrue(reconnected.await(10, TimeUnit.SECONDS));
+                return null;
+            }
+        ).when(nodeHandler).applyDeletedNode("oldNode");
+
+        long oldFullSyncId = updateMonitor.getCurrentFullSyncId();
+        Thread applyThread = new Thread(() -> apiCallHandler.applyDeletedNodeChange("oldNode", oldFullSyncId, 0));
+        applyThread.start();
+        Assert.assertTrue(applying.await(10, TimeUnit.SECONDS));
+
+        // the controller reconnects while the update of the old connection is applied
+        Peer ctrlPeer = mock(Peer.class);
+        when(ctrlPeer.getAccessContext()).thenReturn(mock(AccessContext.class));
+        apiCallHandler.authenticate(UUID.randomUUID(), "stlt", ctrlPeer, UUID.randomUUID());
+        reconnected.countDown();
+        applyThread.join(10_000);
+        Assert.assertFalse(applyThread.isAlive());
+
+        // the outdated update must not count as applied update of the new connection
+        Assert.assertEquals(0, updateMonitor.getCurrentAwaitedUpdateId());
+
+        long newFullSyncId = updateMonitor.getNextFullSyncId();
+        Assert.assertEquals(0, updateMonitor.getCurrentAwaitedUpdateId());
+        apiCallHandler.applyDeletedNodeChange("newNode", newFullSyncId, 0);
+
+        verify(nodeHandler, times(1)).applyDeletedNode(eq("newNode"));
+        Assert.assertEquals(1, updateMonitor.getCurrentAwaitedUpdateId());
+    }
+
+    @Test
+    public void outdatedUpdatesAreNotApplied()
+    {
+        long oldFullSyncId = updateMonitor.getCurrentFullSyncId();
+        updateMonitor.getNextFullSyncId();
+
+        apiCallHandler.applyDeletedNodeChange("oldNode", oldFullSyncId, 0);
+
+        verify(nodeHandler, times(0)).applyDeletedNode(eq("oldNode"));
+        Assert.assertEquals(0, updateMonitor.getCurrentAwaitedUpdateId());
+    }
+
+    @Test
+    public void queuedPushedResourceIsNotifiedOnReconnect()
+    {
+        RscPojo rscPojo = mock(RscPojo.class);
+        when(rscPojo.getFullSyncId()).thenReturn(updateMonitor.getCurrentFullSyncId());
+        // queued until update 0 is applied
+        when(rscPojo.getUpdateId()).thenReturn(1L);
+
+        AtomicReference<Boolean> applied = new AtomicReference<>();
+        apiCallHandler.applyPushedResourceChanges(rscPojo, applied::set);
+        Assert.assertNull(applied.get());
+
+        Peer ctrlPeer = mock(Peer.class);
+        when(ctrlPeer.getAccessContext()).thenReturn(mock(AccessContext.class));
+        apiCallHandler.authenticate(UUID.randomUUID(), "stlt", ctrlPeer, UUID.randomUUID());
+
+        // the dropped update must not keep its caller waiting
+        Assert.assertEquals(Boolean.FALSE, applied.get());
+    }
+}
@@ -0,0 +1,159 @@
+package com.linbit.linstor.core.apicallhandler.controller.backup;
+
+import com.linbit.linstor.api.pojo.TransferProgressPojo;
+import com.linbit.linstor.core.CtrlTransferProgressStore;
+import com.linbit.linstor.core.cfg.CtrlConfig;
+import com.linbit.linstor.core.identifier.ResourceName;
+import com.linbit.linstor.core.objects.SnapshotDefinition;
+import com.linbit.linstor.core.objects.SnapshotVolumeDefinition;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BackupBandwidthSchedulerTest
+{
+    private static final long MIB = 1024 * 1024;
+
+    private CtrlConfig ctrlCfg;
+    private CtrlTransferProgressStore transferProgressStore;
+    private BackupBandwidthScheduler scheduler;
+
+    @Before
+    public void setUp()
+    {
+        ctrlCfg = new CtrlConfig(null);
+        transferProgressStore = new CtrlTransferProgressStore();
+        scheduler = new BackupBandwidthScheduler(ctrlCfg, transferProgressStore, null, null);
+
+        transferProgressStore.update(
+            "nodeA",
+            Arrays.asList(
+                shipment("rsc1", "remote1", 40 * MIB),
+                shipment("rsc2", "remote1", 40 * MIB)
+            )
+        );
+    }
+
+    @Test
+    public void unlimited()
+    {
+        assertFalse(scheduler.isBandwidthLimited());
+        assertTrue(scheduler.hasBandwidthFor("nodeA", "remote1", 10));
+    }
+
+    @Test
+    public void limitPerRemote()
+    {
+        ctrlCfg.setBackupMaxBandwidthPerRemoteMiB(100);
+        // 80 MiB/s are used, another shipment is expected to add 40 MiB/s
+        assertFalse(scheduler.hasBandwidthFor("nodeB", "remote1", 1));
+        // other remotes are not affected
+        assertTrue(scheduler.hasBandwidthFor("nodeB", "remote2", 1));
+        assertEquals(40 * MIB, scheduler.getExpectedBytesPerSecond("nodeB", "remote1"), 1.0);
+
+        ctrlCfg.setBackupMaxBandwidthPerRemoteMiB(200);
+        assertTrue(scheduler.hasBandwidthFor("nodeB", "remote1", 1));
+        assertFalse(scheduler.hasBandwidthFor("nodeB", "remote1", 3));
+    }
+
+    @Test
+    public void reservations()
+    {
+        ctrlCfg.setBackupMaxBandwidthPerRemoteMiB(200);
+        assertTrue(scheduler.tryReserve("nodeB", "remote1", "rsc3", "snap", 1, false));
+        assertTrue(scheduler.tryReserve("nodeB", "remote1", "rsc4", "snap", 1, false));
+        // 80 MiB/s measured plus 80 MiB/s reserved
+        assertFalse(scheduler.tryReserve("nodeB", "remote1", "rsc5", "snap", 1, false));
+    }
+
+    @Test
+    public void firstShipmentAlwaysStarts()
+    {
+        ctrlCfg.setBackupMaxBandwidthPerRemoteMiB(1);
+        assertTrue(scheduler.hasBandwidthFor("nodeB", "remote2", 1));
+        assertFalse(scheduler.hasBandwidthFor("nodeB", "remote1", 1));
+    }
+
+    @Test
+    public void coldStart()
+    {
+        transferProgressStore.update("nodeA", Collections.emptyList());
+        ctrlCfg.setBackupMaxBandwidthPerRemoteMiB(100);
+        // nothing measured yet, every shipment is expected to use a quarter of the limit
+        assertTrue(scheduler.tryReserve("nodeB", "remote1", "rsc3", "snap", 1, false));
+        assertTrue(scheduler.tryReserve("nodeB", "remote1", "rsc4", "snap", 1, false));
+        assertTrue(scheduler.tryReserve("nodeB", "remote1", "rsc5", "snap", 1, false));
+        assertFalse(scheduler.tryReserve("nodeB", "remote1", "rsc6", "snap", 1, false));
+        // three volumes, each expected to use a quarter of the limit
+        assertTrue(scheduler.tryReserve("nodeB", "remote2", "rsc3", "snap", 3, false));
+        assertFalse(scheduler.tryReserve("nodeB", "remote2", "rsc4", "snap", 1, false));
+    }
+
+    @Test
+    public void samplesAreMergedOnce()
+    {
+        scheduler.transfersUpdated();
+        transferProgressStore.update("nodeA", Arrays.asList(shipment("rsc1", "remote1", 80 * MIB)));
+        scheduler.transfersUpdated();
+        // 40 MiB/s + 0.3 * (80 MiB/s - 40 MiB/s)
+        assertEquals(52 * MIB, scheduler.getExpectedBytesPerSecond("nodeA", "remote1"), 1.0);
+
+        // the satellite did not report anything new
+        for (int idx = 0; idx < 10; ++idx)
+        {
+            scheduler.transfersUpdated();
+        }
+        assertEquals(52 * MIB, scheduler.getExpectedBytesPerSecond("nodeA", "remote1"), 1.0);
+    }
+
+    @Test
+    public void incrementalSizeIsLearned() throws Exception
+    {
+        SnapshotVolumeDefinition snapVlmDfn = mock(SnapshotVolumeDefinition.class);
+        // in KiB
+        when(snapVlmDfn.getVolumeSize(any())).thenReturn(1024 * 1024L);
+        SnapshotDefinition snapDfn = mock(SnapshotDefinition.class);
+        when(snapDfn.getResourceName()).thenReturn(new ResourceName("rsc3"));
+        when(snapDfn.getAllSnapshotVolumeDefinitions(any())).thenReturn(Collections.singletonList(snapVlmDfn));
+
+        // without a previous incremental backup, a tenth of the volume is expected
+        assertEquals(1024 * MIB / 10, scheduler.estimateBytes(snapDfn, "remote1", true, null));
+
+        // no bandwidth limit, so nothing is reserved
+        assertTrue(scheduler.tryReserve("nodeB", "remote1", "rsc3", "snap", 1, true));
+        transferProgressStore.update("nodeB", Arrays.asList(shipment("rsc3", "remote1", 40 * MIB)));
+        scheduler.transfersUpdated();
+        transferProgressStore.update("nodeB", Collections.emptyList());
+        scheduler.transfersUpdated();
+
+        // bytes done of the finished shipment
+        assertEquals(10 * MIB, scheduler.estimateBytes(snapDfn, "remote1", true, null));
+        assertEquals(1024 * MIB, scheduler.estimateBytes(snapDfn, "remote1", false, null));
+    }
+
+    private static TransferProgressPojo shipment(String rscName, String remoteName, long bytesPerSecond)
+    {
+        return new TransferProgressPojo(
+            TransferProgressPojo.Kind.BACKUP_SEND,
+            rscName,
+            "snap",
+            0,
+            remoteName,
+            10 * MIB,
+            100 * MIB,
+            5 * MIB,
+            bytesPerSecond,
+            System.currentTimeMillis()
+        );
+    }
+}
@@ -0,0 +1,153 @@
+package com.linbit.linstor.core.apicallhandler.controller.backup;
+
+import com.linbit.linstor.api.BackupToS3;
+import com.linbit.linstor.core.cfg.CtrlConfig;
+import com.linbit.linstor.core.identifier.RemoteName;
+import com.linbit.linstor.core.objects.remotes.S3Remote;
+import com.linbit.linstor.security.AccessContext;
+import com.linbit.linstor.security.TestAccessContextProvider;
+import com.linbit.linstor.testutils.EmptyErrorReporter;
+import com.linbit.utils.Pair;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+
+public class CtrlBackupCatalogTest
+{
+    private static final AccessContext ACC_CTX = TestAccessContextProvider.SYS_CTX;
+    private static final byte[] MASTER_KEY = new byte[0];
+    private static final String META_KEY = "rsc_back_20240101_000000.meta";
+    private static final String DATA_KEY = "rsc.00000_back_20240101_000000";
+
+    private Path catalogDir;
+    private CtrlConfig ctrlCfg;
+    private S3Remote remote;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        catalogDir = Files.createTempDirectory("backup-catalog");
+        ctrlCfg = new CtrlConfig(null);
+        ctrlCfg.setBackupCatalogDir(catalogDir.toString());
+        remote = mockRemote("bucket");
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        Files.deleteIfExists(catalogDir.resolve("s3remote.json"));
+        Files.deleteIfExists(catalogDir);
+    }
+
+    @Test
+    public void catalogSurvivesRestart() throws Exception
+    {
+        BackupToS3 backupHandler = mockBackupHandler();
+        Mockito.when(backupHandler.getCachedMetaFiles(remote)).thenReturn(metaFiles());
+        CtrlBackupCatalog catalog = new CtrlBackupCatalog(backupHandler, new EmptyErrorReporter(), ctrlCfg);
+
+        assertEquals(2, catalog.listObjects(null, remote, ACC_CTX, MASTER_KEY).size());
+        // only the .meta file is downloaded, not the data
+        Mockito.verify(backupHandler).prefetchMetaFiles(
+            Collections.singletonList(META_KEY),
+            remote,
+            ACC_CTX,
+            MASTER_KEY
+        );
+        assertTrue(Files.exists(catalogDir.resolve("s3remote.json")));
+
+        // "restarted" controller
+        BackupToS3 restartedHandler = mockBackupHandler();
+        CtrlBackupCatalog restartedCatalog = new CtrlBackupCatalog(
+            restartedHandler,
+            new EmptyErrorReporter(),
+            ctrlCfg
+        );
+        restartedCatalog.listObjects(null, remote, ACC_CTX, MASTER_KEY);
+        restartedCatalog.listObjects(null, remote, ACC_CTX, MASTER_KEY);
+
+        // the stored catalog has to be in the cache before the listing, which drops the outdated entries
+        InOrder inOrder = Mockito.inOrder(restartedHandler);
+        inOrder.verify(restartedHandler).addCachedMetaFiles(remote, metaFiles());
+        inOrder.verify(restartedHandler, Mockito.times(2)).listObjects(null, remote, ACC_CTX, MASTER_KEY);
+    }
+
+    @Test
+    public void catalogOfOtherBucketIsIgnored() throws Exception
+    {
+        BackupToS3 backupHandler = mockBackupHandler();
+        Mockito.when(backupHandler.getCachedMetaFiles(remote)).thenReturn(metaFiles());
+        new CtrlBackupCatalog(backupHandler, new EmptyErrorReporter(), ctrlCfg)
+            .listObjects(null, remote, ACC_CTX, MASTER_KEY);
+
+        S3Remote recreatedRemote = mockRemote("otherBucket");
+        BackupToS3 restartedHandler = mockBackupHandler();
+        new CtrlBackupCatalog(restartedHandler, new EmptyErrorReporter(), ctrlCfg)
+            .listObjects(null, recreatedRemote, ACC_CTX, MASTER_KEY);
+
+        Mockito.verify(restartedHandler, Mockito.never()).addCachedMetaFiles(any(), any());
+    }
+
+    @Test
+    public void removeRemote() throws Exception
+    {
+        BackupToS3 backupHandler = mockBackupHandler();
+        Mockito.when(backupHandler.getCachedMetaFiles(remote)).thenReturn(metaFiles());
+        CtrlBackupCatalog catalog = new CtrlBackupCatalog(backupHandler, new EmptyErrorReporter(), ctrlCfg);
+        catalog.listObjects(null, remote, ACC_CTX, MASTER_KEY);
+
+        catalog.removeRemote(remote);
+
+        assertFalse(Files.exists(catalogDir.resolve("s3remote.json")));
+        Mockito.verify(backupHandler).deleteRemoteFromCache(remote);
+    }
+
+    private BackupToS3 mockBackupHandler() throws Exception
+    {
+        BackupToS3 backupHandler = Mockito.mock(BackupToS3.class);
+        List<S3ObjectSummary> objects = Arrays.asList(summary(META_KEY), summary(DATA_KEY));
+        Mockito.when(backupHandler.listObjects(any(), any(), any(), any())).thenReturn(objects);
+        Mockito.when(backupHandler.getCachedMetaFiles(any())).thenReturn(new TreeMap<>());
+        return backupHandler;
+    }
+
+    private S3Remote mockRemote(String bucket) throws Exception
+    {
+        S3Remote s3Remote = Mockito.mock(S3Remote.class);
+        Mockito.when(s3Remote.getName()).thenReturn(new RemoteName("s3remote"));
+        Mockito.when(s3Remote.getUrl(any())).thenReturn("https://s3.example.com");
+        Mockito.when(s3Remote.getBucket(any())).thenReturn(bucket);
+        return s3Remote;
+    }
+
+    private static Map<String, Pair<String, String>> metaFiles()
+    {
+        Map<String, Pair<String, String>> metaFiles = new TreeMap<>();
+        metaFiles.put(META_KEY, new Pair<>("etag1", "{\"rscName\":\"rsc\"}"));
+        return metaFiles;
+    }
+
+    private static S3ObjectSummary summary(String key)
+    {
+        S3ObjectSummary summary = new S3ObjectSummary();
+        summary.setKey(key);
+        return summary;
+    }
+}
@@ -0,0 +1,54 @@
+package com.linbit.linstor.core.transfer;
+
+import com.linbit.linstor.api.pojo.TransferProgressPojo.Kind;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class PvProgressTest
+{
+    private TransferProgress progress;
+
+    @Before
+    public void setUp()
+    {
+        progress = new TransferProgress(Kind.BACKUP_SEND, "rsc", "snap", 0, "remote", -1);
+    }
+
+    @Test
+    public void singleLine()
+    {
+        assertEquals("", PvProgress.apply("1048576\n", progress));
+        assertEquals(1048576, progress.getBytesDone());
+    }
+
+    @Test
+    public void severalLinesInOneChunk()
+    {
+        assertEquals("", PvProgress.apply("1024\r2048\n4096\n", progress));
+        assertEquals(4096, progress.getBytesDone());
+    }
+
+    @Test
+    public void otherCommandsAreKept()
+    {
+        String other = PvProgress.apply(
+            "2018/01/01 12:00:00 socat[42] E bind: Address already in use\n8192\n",
+            progress
+        );
+        assertEquals("2018/01/01 12:00:00 socat[42] E bind: Address already in use", other);
+        assertEquals(8192, progress.getBytesDone());
+    }
+
+    @Test
+    public void numbersWithinOtherOutputAreIgnored()
+    {
+        assertEquals("12 34", PvProgress.apply("12 34\n", progress));
+        assertEquals("-5", PvProgress.apply("-5", progress));
+        // does not fit into a long
+        assertEquals("12345678901234567890", PvProgress.apply("12345678901234567890", progress));
+        assertEquals(-1, progress.getBytesDone());
+    }
+}
@@ -0,0 +1,203 @@
+package com.linbit.linstor.event;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.ApiConsts;
+import com.linbit.linstor.api.interfaces.serializer.CommonSerializer;
+import com.linbit.linstor.api.interfaces.serializer.CommonSerializer.CommonSerializerBuilder;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.netcom.Peer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EventBatchSenderTest
+{
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private Scheduler scheduler;
+    private Peer peer;
+    private EventBroker.EventBatchSender sender;
+
+    // the API call and the event payloads of every sent message, in the order of sending
+    private final List<String> sentApiCalls = Collections.synchronizedList(new ArrayList<>());
+    private final List<List<byte[]>> sentEvents = Collections.synchronizedList(new ArrayList<>());
+    private final Semaphore sentMessages = new Semaphore(0);
+
+    @Before
+    public void setUp()
+    {
+        // several threads, so that a sender scheduled on another thread would show up as reordered events
+        scheduler = Schedulers.newParallel("EventBatchSenderTest", 4);
+
+        CommonSerializerBuilder builder = mock(CommonSerializerBuilder.class, Mockito.RETURNS_SELF);
+        when(builder.bytes(any())).thenAnswer(
+            invocation ->
+            {
+                sentEvents.add(Collections.singletonList(invocation.getArgument(0)));
+                return builder;
+            }
+        );
+        when(builder.eventBatch(any())).thenAnswer(
+            invocation ->
+            {
+                sentEvents.add(new ArrayList<>(invocation.<List<byte[]>>getArgument(0)));
+                return builder;
+            }
+        );
+        when(builder.build()).thenReturn(new byte[0]);
+        CommonSerializer commonSerializer = mock(CommonSerializer.class);
+        when(commonSerializer.onewayBuilder(anyString())).thenAnswer(
+            invocation ->
+            {
+                sentApiCalls.add(invocation.getArgument(0));
+                return builder;
+            }
+        );
+
+        peer = mock(Peer.class);
+        doAnswer(
+            invocation ->
+            {
+                sentMessages.release();
+                return true;
+            }
+        ).when(peer).sendMessage(any(byte[].class));
+
+        EventBroker eventBroker = new EventBroker(
+            mock(ErrorReporter.class),
+            commonSerializer,
+            mock(WatchStore.class),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            scheduler
+        );
+        sender = eventBroker.new EventBatchSender(peer);
+    }
+
+    @After
+    public void tearDown()
+    {
+        scheduler.dispose();
+    }
+
+    @Test
+    public void eventsWhileSendingAreBatched() throws Exception
+    {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(
+            invocation ->
+            {
+                sending.countDown();
+                assertTrue(release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+                sentMessages.release();
+                return true;
+            }
+        ).doAnswer(
+            invocation ->
+            {
+                sentMessages.release();
+                return true;
+            }
+        ).when(peer).sendMessage(any(byte[].class));
+
+        List<byte[]> events = createEvents(5);
+        sender.add(events.get(0));
+        assertTrue(sending.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        for (byte[] event : events.subList(1, 4))
+        {
+            sender.add(event);
+        }
+        release.countDown();
+        awaitSentMessages(2);
+
+        // a single event afterwards is sent on its own again
+        sender.add(events.get(4));
+        awaitSentMessages(1);
+
+        assertEquals(
+            Arrays.asList(ApiConsts.API_EVENT, InternalApiConsts.API_EVENT_BATCH, ApiConsts.API_EVENT),
+            sentApiCalls
+        );
+        assertEquals(1, sentEvents.get(0).size());
+        assertEquals(3, sentEvents.get(1).size());
+        assertEquals(1, sentEvents.get(2).size());
+        assertOrder(events);
+    }
+
+    @Test
+    public void eventsStayInOrder() throws Exception
+    {
+        List<byte[]> events = createEvents(1000);
+        for (byte[] event : events)
+        {
+            sender.add(event);
+        }
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS);
+        while (flatten().size() < events.size() && System.currentTimeMillis() < deadline)
+        {
+            sentMessages.tryAcquire(100, TimeUnit.MILLISECONDS);
+        }
+        assertOrder(events);
+    }
+
+    private void awaitSentMessages(int count) throws InterruptedException
+    {
+        assertTrue(sentMessages.tryAcquire(count, TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    private void assertOrder(List<byte[]> expectedEvents)
+    {
+        List<byte[]> events = flatten();
+        assertEquals(expectedEvents.size(), events.size());
+        for (int idx = 0; idx < expectedEvents.size(); ++idx)
+        {
+            assertSame(expectedEvents.get(idx), events.get(idx));
+        }
+    }
+
+    private List<byte[]> flatten()
+    {
+        List<byte[]> events = new ArrayList<>();
+        synchronized (sentEvents)
+        {
+            for (List<byte[]> msgEvents : sentEvents)
+            {
+                events.addAll(msgEvents);
+            }
+        }
+        return events;
+    }
+
+    private static List<byte[]> createEvents(int count)
+    {
+        List<byte[]> events = new ArrayList<>();
+        for (int idx = 0; idx < count; ++idx)
+        {
+            events.add(new byte[] {(byte) idx});
+        }
+        return events;
+    }
+}
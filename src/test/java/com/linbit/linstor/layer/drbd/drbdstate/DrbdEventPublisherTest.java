@@ -0,0 +1,183 @@
+package com.linbit.linstor.layer.drbd.drbdstate;
+
+import com.linbit.linstor.core.identifier.ResourceName;
+import com.linbit.linstor.core.identifier.VolumeNumber;
+import com.linbit.linstor.event.LinstorTriggerableEvent;
+import com.linbit.linstor.event.ObjectIdentifier;
+import com.linbit.linstor.event.common.ConnectionStateEvent;
+import com.linbit.linstor.event.common.ResourceState;
+import com.linbit.linstor.event.common.ResourceStateEvent;
+import com.linbit.linstor.event.common.VolumeDiskStateEvent;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DrbdEventPublisherTest
+{
+    private static final Duration COALESCE_WINDOW = Duration.ofMillis(200);
+
+    private VirtualTimeScheduler scheduler;
+    private LinstorTriggerableEvent<ResourceState> rscStateEvent;
+    private LinstorTriggerableEvent<String> diskStateEvent;
+    private DrbdEventPublisher publisher;
+
+    private ResourceName rscName;
+    private ObjectIdentifier rscObjId;
+    private DrbdResource drbdRsc;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception
+    {
+        // the coalescing window is a Mono.delay on the parallel scheduler
+        scheduler = VirtualTimeScheduler.getOrSet();
+
+        rscStateEvent = mock(LinstorTriggerableEvent.class);
+        ResourceStateEvent resourceStateEvent = mock(ResourceStateEvent.class);
+        when(resourceStateEvent.get()).thenReturn(rscStateEvent);
+        diskStateEvent = mock(LinstorTriggerableEvent.class);
+        VolumeDiskStateEvent volumeDiskStateEvent = mock(VolumeDiskStateEvent.class);
+        when(volumeDiskStateEvent.get()).thenReturn(diskStateEvent);
+
+        publisher = new DrbdEventPublisher(
+            mock(DrbdEventService.class),
+            resourceStateEvent,
+            volumeDiskStateEvent,
+            mock(ConnectionStateEvent.class)
+        );
+
+        rscName = new ResourceName("rsc");
+        rscObjId = ObjectIdentifier.resourceDefinition(rscName);
+        drbdRsc = mock(DrbdResource.class);
+        when(drbdRsc.isKnownByLinstor()).thenReturn(true);
+        when(drbdRsc.getResName()).thenReturn(rscName);
+        when(drbdRsc.getVolumesMap()).thenReturn(Collections.emptyMap());
+        when(drbdRsc.getRole()).thenReturn(DrbdResource.Role.SECONDARY);
+        when(drbdRsc.mayPromote()).thenReturn(true);
+        when(drbdRsc.getPromotionScore()).thenReturn(0);
+    }
+
+    @After
+    public void tearDown()
+    {
+        VirtualTimeScheduler.reset();
+    }
+
+    @Test
+    public void changesAreCoalesced()
+    {
+        // the first state is published right away
+        publisher.resourceCreated(drbdRsc);
+        verify(rscStateEvent, times(1)).triggerEvent(eq(rscObjId), any());
+
+        for (int score = 1; score <= 3; ++score)
+        {
+            when(drbdRsc.getPromotionScore()).thenReturn(score);
+            publisher.promotionScoreChanged(drbdRsc, score - 1, score);
+        }
+        scheduler.advanceTimeBy(COALESCE_WINDOW.minusMillis(1));
+        verify(rscStateEvent, times(1)).triggerEvent(eq(rscObjId), any());
+
+        // only the latest state is published at the end of the window
+        scheduler.advanceTimeBy(Duration.ofMillis(1));
+        List<ResourceState> states = publishedRscStates(2);
+        assertEquals(Integer.valueOf(3), states.get(1).getPromotionScore());
+
+        // the next change starts a new window
+        when(drbdRsc.getPromotionScore()).thenReturn(4);
+        publisher.promotionScoreChanged(drbdRsc, 3, 4);
+        verify(rscStateEvent, times(2)).triggerEvent(eq(rscObjId), any());
+        scheduler.advanceTimeBy(COALESCE_WINDOW);
+        assertEquals(Integer.valueOf(4), publishedRscStates(3).get(2).getPromotionScore());
+    }
+
+    @Test
+    public void criticalTransitionsBypassWindow()
+    {
+        publisher.resourceCreated(drbdRsc);
+
+        // pending, not critical
+        when(drbdRsc.getPromotionScore()).thenReturn(1);
+        publisher.promotionScoreChanged(drbdRsc, 0, 1);
+        verify(rscStateEvent, times(1)).triggerEvent(eq(rscObjId), any());
+
+        when(drbdRsc.getRole()).thenReturn(DrbdResource.Role.PRIMARY);
+        publisher.roleChanged(drbdRsc, DrbdResource.Role.SECONDARY, DrbdResource.Role.PRIMARY);
+        List<ResourceState> states = publishedRscStates(2);
+        assertEquals(Boolean.TRUE, states.get(1).getInUse());
+        assertEquals(Integer.valueOf(1), states.get(1).getPromotionScore());
+
+        // the outdated pending state must not be published afterwards
+        scheduler.advanceTimeBy(COALESCE_WINDOW);
+        verify(rscStateEvent, times(2)).triggerEvent(eq(rscObjId), any());
+
+        // may-promote dropping to no is how a lost quorum shows
+        when(drbdRsc.mayPromote()).thenReturn(false);
+        publisher.mayPromoteChanged(drbdRsc, true, false);
+        assertEquals(Boolean.FALSE, publishedRscStates(3).get(2).mayPromote());
+    }
+
+    @Test
+    public void failedDiskBypassesWindow() throws Exception
+    {
+        VolumeNumber vlmNr = new VolumeNumber(0);
+        ObjectIdentifier vlmObjId = ObjectIdentifier.volumeDefinition(rscName, vlmNr);
+        DrbdVolume drbdVlm = mock(DrbdVolume.class);
+        when(drbdVlm.getVolNr()).thenReturn(vlmNr);
+        when(drbdVlm.getDiskState()).thenReturn(DiskState.UP_TO_DATE);
+        when(drbdVlm.diskStateInfo()).thenReturn("UpToDate");
+
+        publisher.volumeCreated(drbdRsc, null, drbdVlm);
+        verify(diskStateEvent, times(1)).triggerEvent(vlmObjId, "UpToDate");
+
+        when(drbdVlm.getDiskState()).thenReturn(DiskState.OUTDATED);
+        when(drbdVlm.diskStateInfo()).thenReturn("Outdated");
+        publisher.diskStateChanged(drbdRsc, null, drbdVlm, DiskState.UP_TO_DATE, DiskState.OUTDATED);
+        verify(diskStateEvent, times(0)).triggerEvent(vlmObjId, "Outdated");
+
+        when(drbdVlm.getDiskState()).thenReturn(DiskState.FAILED);
+        when(drbdVlm.diskStateInfo()).thenReturn("Failed");
+        publisher.diskStateChanged(drbdRsc, null, drbdVlm, DiskState.OUTDATED, DiskState.FAILED);
+        verify(diskStateEvent, times(1)).triggerEvent(vlmObjId, "Failed");
+
+        scheduler.advanceTimeBy(COALESCE_WINDOW);
+        verify(diskStateEvent, times(0)).triggerEvent(vlmObjId, "Outdated");
+    }
+
+    @Test
+    public void destroyDropsPendingEvent()
+    {
+        publisher.resourceCreated(drbdRsc);
+        when(drbdRsc.getPromotionScore()).thenReturn(1);
+        publisher.promotionScoreChanged(drbdRsc, 0, 1);
+
+        publisher.resourceDestroyed(drbdRsc);
+        verify(rscStateEvent).closeStream(rscObjId);
+
+        // a pending event would re-open the closed stream
+        scheduler.advanceTimeBy(COALESCE_WINDOW);
+        verify(rscStateEvent, times(1)).triggerEvent(eq(rscObjId), any());
+    }
+
+    private List<ResourceState> publishedRscStates(int expectedCount)
+    {
+        ArgumentCaptor<ResourceState> captor = ArgumentCaptor.forClass(ResourceState.class);
+        verify(rscStateEvent, times(expectedCount)).triggerEvent(eq(rscObjId), captor.capture());
+        return captor.getAllValues();
+    }
+}
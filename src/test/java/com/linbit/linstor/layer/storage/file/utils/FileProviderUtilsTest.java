@@ -0,0 +1,116 @@
+package com.linbit.linstor.layer.storage.file.utils;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the in-process replacements of df, losetup and blockdev on a temporary directory and a fake sysfs
+ */
+public class FileProviderUtilsTest
+{
+    private static final long GiB = 1024 * 1024 * 1024;
+
+    private Path tmpDir;
+    private Path sysBlockDir;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        tmpDir = Files.createTempDirectory("file-provider");
+        sysBlockDir = Files.createDirectories(tmpDir.resolve("sys/block"));
+    }
+
+    @After
+    public void tearDown() throws IOException
+    {
+        try (Stream<Path> paths = Files.walk(tmpDir))
+        {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void poolSpace() throws Exception
+    {
+        long capacity = FileProviderUtils.getPoolCapacity(tmpDir);
+        long freeSpace = FileProviderUtils.getFreeSpace(tmpDir);
+        assertTrue(capacity > 0);
+        assertTrue(freeSpace >= 0 && freeSpace <= capacity);
+        // KiB, as df -B 1 / 1024
+        assertEquals(Files.getFileStore(tmpDir).getTotalSpace() / 1024, capacity);
+
+        // a sparse file does not use any space of the pool
+        createSparseFile(tmpDir.resolve("sparse.img"), GiB);
+        assertEquals(capacity, FileProviderUtils.getPoolCapacity(tmpDir));
+
+        assertFalse(FileProviderUtils.getSourceDevice(tmpDir).isEmpty());
+    }
+
+    @Test
+    public void loopDevices() throws Exception
+    {
+        Path backingFile = createSparseFile(tmpDir.resolve("vlm_00000"), GiB);
+        addLoopDevice("loop0", backingFile.toString(), 2 * 1024 * 1024);
+        addLoopDevice("loop1", null, 0);
+        addLoopDevice("loop2", tmpDir.resolve("removed_00000") + " (deleted)", 1024);
+
+        Map<String, String> loopDevices = FileProviderUtils.listLoopDevices(sysBlockDir);
+        assertEquals(2, loopDevices.size());
+        assertEquals("/dev/loop0", loopDevices.get(backingFile.toString()));
+        assertEquals("/dev/loop2", loopDevices.get(tmpDir.resolve("removed_00000").toString()));
+
+        // 2 Mi sectors of 512 bytes
+        assertEquals(Long.valueOf(1024 * 1024), FileProviderUtils.getLoopDeviceSize(sysBlockDir, "/dev/loop0"));
+        assertNull(FileProviderUtils.getLoopDeviceSize(sysBlockDir, "/dev/loop9"));
+        assertNull(FileProviderUtils.getLoopDeviceSize(sysBlockDir, "/dev/sda"));
+    }
+
+    @Test
+    public void backingFileOfOtherMountNamespace() throws Exception
+    {
+        // i.e. the path on the host, while the satellite runs in a container
+        addLoopDevice("loop0", "/var/lib/host-only-path/vlm_00000", 2048);
+        assertNull(FileProviderUtils.listLoopDevices(sysBlockDir));
+    }
+
+    @Test
+    public void noSysfs()
+    {
+        assertNull(FileProviderUtils.listLoopDevices(tmpDir.resolve("missing")));
+    }
+
+    private void addLoopDevice(String name, String backingFile, long sectors) throws IOException
+    {
+        Path devDir = Files.createDirectories(sysBlockDir.resolve(name));
+        Files.write(devDir.resolve("size"), (sectors + "\n").getBytes(StandardCharsets.UTF_8));
+        if (backingFile != null)
+        {
+            Path loopDir = Files.createDirectories(devDir.resolve("loop"));
+            Files.write(loopDir.resolve("backing_file"), (backingFile + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static Path createSparseFile(Path path, long size) throws IOException
+    {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw"))
+        {
+            file.setLength(size);
+        }
+        return path;
+    }
+}
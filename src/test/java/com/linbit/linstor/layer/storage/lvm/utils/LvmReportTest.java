@@ -0,0 +1,119 @@
+package com.linbit.linstor.layer.storage.lvm.utils;
+
+import com.linbit.extproc.ExtCmd.OutputData;
+import com.linbit.linstor.layer.storage.lvm.utils.LvmReport.VgInfo;
+import com.linbit.linstor.layer.storage.lvm.utils.LvmUtils.LvsInfo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LvmReportTest
+{
+    private static final String VGS_JSON = "{\n" +
+        "  \"report\": [\n" +
+        "    {\n" +
+        "      \"vg\": [\n" +
+        "        {\"vg_name\":\"linstorvg\", \"vg_extent_size\":\"4096.00\", \"vg_size\":\"10481664.00\", " +
+        "\"vg_free\":\"6287360.00\"},\n" +
+        "        {\"vg_name\":\"emptyvg\", \"vg_extent_size\":\"4096.00\", \"vg_size\":\"1044480.00\", " +
+        "\"vg_free\":\"1044480.00\"}\n" +
+        "      ]\n" +
+        "    }\n" +
+        "  ]\n" +
+        "}\n";
+    private static final String LVS_JSON = "{\n" +
+        "  \"report\": [\n" +
+        "    {\n" +
+        "      \"lv\": [\n" +
+        "        {\"lv_name\":\"rsc_00000\", \"lv_path\":\"/dev/linstorvg/rsc_00000\", \"lv_size\":\"102400.00\", " +
+        "\"vg_name\":\"linstorvg\", \"pool_lv\":\"\", \"data_percent\":\"\", \"lv_attr\":\"-wi-ao----\", " +
+        "\"metadata_percent\":\"\", \"chunk_size\":\"0\"},\n" +
+        "        {\"lv_name\":\"thin\", \"lv_path\":\"\", \"lv_size\":\"4096000.00\", " +
+        "\"vg_name\":\"linstorvg\", \"pool_lv\":\"\", \"data_percent\":\"25.00\", \"lv_attr\":\"twi-aotz--\", " +
+        "\"metadata_percent\":\"10.50\", \"chunk_size\":\"64.00\"},\n" +
+        "        {\"lv_name\":\"thinrsc_00000\", \"lv_path\":\"/dev/linstorvg/thinrsc_00000\", " +
+        "\"lv_size\":\"20480.00\", \"vg_name\":\"linstorvg\", \"pool_lv\":\"thin\", \"data_percent\":\"1.5\", " +
+        "\"lv_attr\":\"Vwi-aotz--\", \"metadata_percent\":\"\", \"chunk_size\":\"0\"}\n" +
+        "      ]\n" +
+        "    }\n" +
+        "  ]\n" +
+        "}\n";
+
+    @Test
+    public void parseReport() throws Exception
+    {
+        LvmReport report = LvmReport.parse(
+            new HashSet<>(Arrays.asList("linstorvg", "emptyvg", "missingvg")),
+            output("vgs", VGS_JSON),
+            output("lvs", LVS_JSON),
+            1L
+        );
+
+        VgInfo vgInfo = report.getVgInfo("linstorvg");
+        assertEquals(4096L, vgInfo.extentSizeInKib);
+        assertEquals(10481664L, vgInfo.totalSizeInKib);
+        assertEquals(6287360L, vgInfo.freeSizeInKib);
+        assertEquals(1044480L, report.getVgInfo("emptyvg").freeSizeInKib);
+        assertNull(report.getVgInfo("missingvg"));
+
+        LvsInfo fatInfo = report.getLvsInfo("linstorvg", "rsc_00000");
+        assertEquals(102400L, fatInfo.size);
+        assertNull(fatInfo.thinPool);
+        assertEquals(100f, fatInfo.dataPercent, 0f);
+        assertEquals("/dev/linstorvg/rsc_00000", fatInfo.path);
+
+        LvsInfo thinPoolInfo = report.getLvsInfo("linstorvg", "thin");
+        assertEquals(25f, thinPoolInfo.dataPercent, 0f);
+        assertEquals(64L, thinPoolInfo.chunkSizeInKib);
+        assertTrue(thinPoolInfo.attributes.contains("z"));
+
+        assertEquals("thin", report.getLvsInfo("linstorvg", "thinrsc_00000").thinPool);
+
+        Map<String, LvsInfo> lvsInfo = report.getLvsInfo(Collections.singleton("linstorvg"));
+        assertEquals(3, lvsInfo.size());
+        assertTrue(lvsInfo.containsKey("linstorvg/thinrsc_00000"));
+        assertTrue(report.getLvsInfo(Collections.singleton("emptyvg")).isEmpty());
+
+        // non existing volume groups are reported too, they must not be queried again
+        assertTrue(report.contains(Collections.singleton("missingvg")));
+        assertFalse(report.contains(Collections.singleton("othervg")));
+    }
+
+    @Test
+    public void mergeReports() throws Exception
+    {
+        LvmReport report = LvmReport.parse(
+            Collections.singleton("linstorvg"),
+            output("vgs", VGS_JSON),
+            output("lvs", LVS_JSON),
+            10L
+        );
+        LvmReport otherReport = LvmReport.parse(
+            Collections.singleton("othervg"),
+            output("vgs", ""),
+            output("lvs", ""),
+            20L
+        );
+        LvmReport merged = report.merge(otherReport);
+
+        assertTrue(merged.contains(new HashSet<>(Arrays.asList("linstorvg", "othervg"))));
+        assertEquals(3, merged.getLvsInfo(Collections.singleton("linstorvg")).size());
+        // the older report determines when the merged report has to be refreshed
+        assertEquals(10L, merged.getCreatedTimestamp());
+    }
+
+    private static OutputData output(String cmd, String stdout)
+    {
+        return new OutputData(new String[] {cmd}, stdout.getBytes(StandardCharsets.UTF_8), new byte[0], 0);
+    }
+}
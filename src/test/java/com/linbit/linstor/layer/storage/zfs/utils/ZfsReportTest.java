@@ -0,0 +1,103 @@
+package com.linbit.linstor.layer.storage.zfs.utils;
+
+import com.linbit.extproc.ExtCmd.OutputData;
+import com.linbit.linstor.layer.storage.zfs.utils.ZfsUtils.ZfsInfo;
+import com.linbit.linstor.storage.kinds.DeviceProviderKind;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ZfsReportTest
+{
+    // zfs list -r -H -p -o name,type,refer,volsize,available,quota,volblocksize -t all tank
+    private static final String ZFS_LIST = String.join(
+        "\n",
+        "tank\tfilesystem\t24576\t-\t10737418240\t0\t-",
+        "tank/rsc_00000\tvolume\t1048576\t104857600\t10737418240\t-\t16384",
+        "tank/rsc_00000@snap\tsnapshot\t524288\t104857600\t-\t-\t-",
+        "tank/thin\tfilesystem\t24576\t-\t2147483648\t4294967296\t-",
+        "tank/thin/rsc_00000\tvolume\t2097152\t52428800\t2147483648\t-\t8192",
+        "tank/thin/rsc_00000#bookmark\tbookmark\t-\t-\t-\t-\t-",
+        "cannot parse this line",
+        ""
+    );
+    private static final String OTHER_ZFS_LIST = "other\tfilesystem\t24576\t-\t1073741824\t0\t-\n";
+
+    @Test
+    public void parseReport() throws Exception
+    {
+        ZfsReport report = ZfsReport.parse(Collections.singleton("tank"), output(ZFS_LIST), 1L);
+
+        Map<String, ZfsInfo> thickVolumes = report.getVolumes(
+            Collections.singleton("tank"),
+            DeviceProviderKind.ZFS
+        );
+        assertEquals(3, thickVolumes.size());
+        ZfsInfo thickInfo = thickVolumes.get("tank/rsc_00000");
+        assertEquals("tank", thickInfo.poolName);
+        assertEquals("rsc_00000", thickInfo.identifier);
+        assertEquals("/dev/zvol/tank/rsc_00000", thickInfo.path);
+        // volsize for thick volumes
+        assertEquals(102400L, thickInfo.allocatedSize);
+        assertEquals(102400L, thickInfo.usableSize);
+        // refer for snapshots
+        assertEquals(512L, thickVolumes.get("tank/rsc_00000@snap").allocatedSize);
+
+        Map<String, ZfsInfo> thinVolumes = report.getVolumes(
+            Collections.singleton("tank/thin"),
+            DeviceProviderKind.ZFS_THIN
+        );
+        assertEquals(1, thinVolumes.size());
+        // refer for thin volumes
+        assertEquals(2048L, thinVolumes.get("tank/thin/rsc_00000").allocatedSize);
+        assertEquals(51200L, thinVolumes.get("tank/thin/rsc_00000").usableSize);
+
+        Map<String, ZfsInfo> filesystems = report.getFilesystems(Collections.singleton("tank/thin"));
+        assertEquals(1, filesystems.size());
+        assertEquals(2097152L, filesystems.get("tank/thin").usableSize);
+        assertEquals(2, report.getFilesystems(Collections.singleton("tank")).size());
+
+        assertEquals(Long.valueOf(0L), report.getDataset("tank").quotaBytes);
+        assertEquals(Long.valueOf(4294967296L), report.getDataset("tank/thin").quotaBytes);
+        assertEquals(Long.valueOf(16384L), report.getDataset("tank/rsc_00000").volblocksizeBytes);
+        assertNull(report.getDataset("tank").volblocksizeBytes);
+        assertNull(report.getDataset("tank/missing"));
+
+        assertTrue(report.contains(Collections.singleton("tank")));
+        assertFalse(report.contains(Collections.singleton("tank/thin")));
+    }
+
+    @Test
+    public void mergeAndInvalidate() throws Exception
+    {
+        ZfsReport report = ZfsReport.parse(Collections.singleton("tank"), output(ZFS_LIST), 10L);
+        ZfsReport otherReport = ZfsReport.parse(Collections.singleton("other"), output(OTHER_ZFS_LIST), 20L);
+        ZfsReport merged = report.merge(otherReport);
+
+        assertTrue(merged.contains(Arrays.asList("tank", "other")));
+        assertEquals(1048576L, merged.getFilesystems(Collections.singleton("other")).get("other").usableSize);
+        // the older report determines when the merged report has to be refreshed
+        assertEquals(10L, merged.getCreatedTimestamp());
+
+        // all datasets of the modified zpool are dropped, the other zpool stays cached
+        ZfsReport invalidated = merged.withoutZPool("tank");
+        assertFalse(invalidated.contains(Collections.singleton("tank")));
+        assertNull(invalidated.getDataset("tank/thin/rsc_00000"));
+        assertTrue(invalidated.contains(Collections.singleton("other")));
+        assertTrue(invalidated.withoutZPool("other").isEmpty());
+    }
+
+    private static OutputData output(String stdout)
+    {
+        return new OutputData(new String[] {"zfs"}, stdout.getBytes(StandardCharsets.UTF_8), new byte[0], 0);
+    }
+}
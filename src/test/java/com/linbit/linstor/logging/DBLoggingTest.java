@@ -6,7 +6,11 @@ import com.linbit.linstor.core.objects.Node;
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -72,4 +76,117 @@ public class DBLoggingTest
 
         errReporter.shutdown();
     }
+
+    @Test
+    public void testDeduplication() throws Exception
+    {
+        StdErrorReporter errReporter = new StdErrorReporter(
+            LinStor.CONTROLLER_MODULE,
+            Paths.get(TEST_LOG_DIR),
+            false,
+            "testnode",
+            "TRACE",
+            "TRACE",
+            () -> null
+        );
+        String[] errIds = new String[3];
+        for (int idx = 0; idx < errIds.length; ++idx)
+        {
+            // same exception class and message thrown from the same location
+            errIds[idx] = errReporter.reportError(new IllegalStateException("dedup"));
+        }
+        String otherMsgErrId = errReporter.reportError(new IllegalStateException("other message"));
+        String otherErrId = errReporter.reportError(new IllegalArgumentException("other"));
+
+        Assert.assertEquals(errIds[0], errIds[1]);
+        Assert.assertEquals(errIds[0], errIds[2]);
+        Assert.assertNotEquals(errIds[0], otherMsgErrId);
+        Assert.assertNotEquals(errIds[0], otherErrId);
+
+        ErrorReportResult reports = errReporter.listReports(false, null, null, Collections.emptySet(), null, null);
+        Assert.assertEquals(3, reports.getTotalCount());
+        for (ErrorReport report : reports.getErrorReports())
+        {
+            long expectedOccurrences = report.getFileName().contains(errIds[0]) ? 3 : 1;
+            Assert.assertEquals(Long.valueOf(expectedOccurrences), report.getOccurrences().orElse(null));
+        }
+
+        ErrorReportStats stats = errReporter.getErrorReportStats();
+        Assert.assertEquals(3, stats.getWritten());
+        Assert.assertEquals(0, stats.getFailed());
+        Assert.assertEquals(2, stats.getDeduplicated());
+        Assert.assertEquals(0, stats.getDropped());
+        Assert.assertEquals(0, stats.getQueued());
+
+        ErrorReportCounters counters = errReporter.getErrorReportCounters();
+        Assert.assertEquals(3, counters.getTotal());
+        Assert.assertEquals(
+            Long.valueOf(2),
+            counters.getCounts().get(new ErrorReportCounters.Key("ERROR", "IllegalStateException"))
+        );
+
+        errReporter.deleteErrorReports(null, null, null, null, Collections.singletonList(otherErrId));
+        Assert.assertEquals(2, counters.getTotal());
+        // the deleted counter is reported as changed with a count of 0
+        Assert.assertEquals(
+            Long.valueOf(0),
+            counters.takeChanges().get(new ErrorReportCounters.Key("ERROR", "IllegalArgumentException"))
+        );
+
+        errReporter.shutdown();
+    }
+
+    @Test
+    public void testFailingReportDoesNotFailBatch() throws Exception
+    {
+        StdErrorReporter errReporter = new StdErrorReporter(
+            LinStor.CONTROLLER_MODULE,
+            Paths.get(TEST_LOG_DIR),
+            false,
+            "testnode",
+            "TRACE",
+            "TRACE",
+            () -> null
+        );
+        H2ErrorReporter h2ErrorReporter = new H2ErrorReporter(errReporter);
+
+        ErrorReportWriter.QueuedReport report = createQueuedReport(1000);
+        // the duplicate primary key fails the whole batch
+        List<ErrorReportWriter.QueuedReport> batch = Arrays.asList(
+            report,
+            report,
+            createQueuedReport(1001)
+        );
+        List<ErrorReportWriter.QueuedReport> written = h2ErrorReporter.writeErrorReportsToDB(
+            batch,
+            1L,
+            "testnode",
+            LinStor.CONTROLLER_MODULE
+        );
+
+        Assert.assertEquals(2, written.size());
+        Assert.assertEquals(1000, written.get(0).reportNr);
+        Assert.assertEquals(1001, written.get(1).reportNr);
+        Assert.assertEquals(
+            2,
+            h2ErrorReporter.listReports(false, null, null, Collections.emptySet(), null, null).getTotalCount()
+        );
+
+        h2ErrorReporter.shutdown();
+        errReporter.shutdown();
+    }
+
+    private static ErrorReportWriter.QueuedReport createQueuedReport(long reportNr)
+    {
+        return new ErrorReportWriter.QueuedReport(
+            reportNr,
+            "report" + reportNr,
+            "ERROR",
+            null,
+            new IllegalStateException("batch"),
+            new Date(),
+            "report text",
+            new AtomicLong(1)
+        );
+    }
 }
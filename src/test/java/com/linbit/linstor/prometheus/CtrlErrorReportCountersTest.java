@@ -0,0 +1,62 @@
+package com.linbit.linstor.prometheus;
+
+import com.linbit.linstor.core.LinStor;
+import com.linbit.linstor.core.identifier.NodeName;
+import com.linbit.linstor.core.objects.Node;
+import com.linbit.linstor.logging.ErrorReportCounters;
+import com.linbit.linstor.logging.StderrErrorReporter;
+import com.linbit.utils.Pair;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CtrlErrorReportCountersTest
+{
+    private static final ErrorReportCounters.Key KEY = new ErrorReportCounters.Key("ERROR", "IOException");
+
+    @Test
+    public void nodesWithoutFullCountersAreOmitted() throws Exception
+    {
+        CtrlErrorReportCounters counters = new CtrlErrorReportCounters(new StderrErrorReporter("Test"));
+
+        // changed counters that arrive before the full counters are ignored
+        counters.updateSatelliteCounters(new NodeName("stlt1"), Collections.singletonMap(KEY, 0L), false);
+        counters.updateSatelliteCounters(new NodeName("stlt2"), Collections.singletonMap(KEY, 3L), true);
+        counters.updateSatelliteCounters(new NodeName("stlt2"), Collections.singletonMap(KEY, 4L), false);
+
+        Map<Pair<String, String>, Map<ErrorReportCounters.Key, Long>> result = counters.getCounters(
+            Arrays.asList("stlt1", "stlt2")
+        );
+
+        Assert.assertEquals(2, result.size());
+        Assert.assertFalse(result.containsKey(new Pair<>("stlt1", Node.Type.SATELLITE.name())));
+        Assert.assertEquals(
+            Collections.singletonMap(KEY, 4L),
+            result.get(new Pair<>("stlt2", Node.Type.SATELLITE.name()))
+        );
+        Assert.assertTrue(result.containsKey(new Pair<>(LinStor.getHostName(), Node.Type.CONTROLLER.name())));
+    }
+
+    @Test
+    public void nodeDisplayNamesAreUsed() throws Exception
+    {
+        CtrlErrorReportCounters counters = new CtrlErrorReportCounters(new StderrErrorReporter("Test"));
+        counters.updateSatelliteCounters(new NodeName("Stlt1"), Collections.singletonMap(KEY, 1L), true);
+
+        String ctrlNodeName = LinStor.getHostName().toUpperCase();
+        Map<Pair<String, String>, Map<ErrorReportCounters.Key, Long>> result = counters.getCounters(
+            Arrays.asList("stlt1", ctrlNodeName)
+        );
+
+        Assert.assertTrue(result.containsKey(new Pair<>("stlt1", Node.Type.SATELLITE.name())));
+        Assert.assertTrue(result.containsKey(new Pair<>(ctrlNodeName, Node.Type.CONTROLLER.name())));
+
+        // deleted nodes are dropped
+        result = counters.getCounters(Collections.emptyList());
+        Assert.assertEquals(1, result.size());
+    }
+}
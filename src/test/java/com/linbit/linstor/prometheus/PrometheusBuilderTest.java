@@ -1,30 +1,53 @@
 package com.linbit.linstor.prometheus;
 
+import com.linbit.extproc.ExtCmdStats;
+import com.linbit.linstor.LinStorSchedulers;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.pojo.NodePojo;
 import com.linbit.linstor.api.pojo.RscDfnPojo;
 import com.linbit.linstor.api.pojo.RscGrpPojo;
+import com.linbit.linstor.api.pojo.TransferProgressPojo;
+import com.linbit.linstor.core.CtrlTransferProgressStore;
 import com.linbit.linstor.core.apicallhandler.controller.helpers.ResourceList;
 import com.linbit.linstor.core.apis.NodeApi;
 import com.linbit.linstor.core.apis.ResourceDefinitionApi;
 import com.linbit.linstor.logging.StderrErrorReporter;
+import com.linbit.linstor.metrics.LinStorMetrics;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.UUID;
 
+import org.junit.After;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
 
 public class PrometheusBuilderTest
 {
+    private LinStorMetrics metrics;
+    private LinStorSchedulers schedulers;
+
+    @Before
+    public void setUp()
+    {
+        metrics = new LinStorMetrics();
+        schedulers = new LinStorSchedulers(metrics);
+    }
+
+    @After
+    public void tearDown()
+    {
+        schedulers.dispose();
+    }
 
     @Test
     public void testNullMetrics() throws IOException {
         long start = System.currentTimeMillis();
         StderrErrorReporter errReporter = new StderrErrorReporter("Test");
-        PrometheusBuilder pmb = new PrometheusBuilder(errReporter);
+        PrometheusBuilder pmb = new PrometheusBuilder(errReporter, schedulers, metrics,
+            new CtrlSatelliteMetrics(), new CtrlTransferProgressStore());
 
         final String promText = pmb.build(
                 null,
@@ -36,13 +59,54 @@ public class PrometheusBuilderTest
                 start);
         Assert.assertNotNull(promText);
         Assert.assertTrue(promText.contains("linstor_scrape_requests_count"));
+        Assert.assertTrue(promText.contains("linstor_scheduler_queued_tasks{scheduler=\"BlockingWorkerPool\"}"));
+        Assert.assertTrue(promText.contains("linstor_scheduler_task_wait_seconds_count{scheduler=\"MainWorkerPool\"}"));
     }
 
     @Test
     public void testSampleMetrics() throws IOException {
         long start = System.currentTimeMillis();
         StderrErrorReporter errReporter = new StderrErrorReporter("Test");
-        PrometheusBuilder pmb = new PrometheusBuilder(errReporter);
+        CtrlTransferProgressStore transferProgressStore = new CtrlTransferProgressStore();
+        CtrlSatelliteMetrics satelliteMetrics = new CtrlSatelliteMetrics();
+        PrometheusBuilder pmb = new PrometheusBuilder(errReporter, schedulers, metrics,
+            satelliteMetrics, transferProgressStore);
+
+        transferProgressStore.update(
+            "testnode",
+            Collections.singletonList(
+                new TransferProgressPojo(
+                    TransferProgressPojo.Kind.BACKUP_SEND,
+                    "testrsc",
+                    "snap1",
+                    0,
+                    "s3remote",
+                    1024,
+                    4096,
+                    512,
+                    1024,
+                    start
+                )
+            )
+        );
+
+        satelliteMetrics.updateExtCmdStats(
+            "testnode",
+            Collections.singletonList(
+                new ExtCmdStats.Snapshot(
+                    "lvs",
+                    new double[] {0.1, 1},
+                    new long[] {1, 2, 3},
+                    5.5,
+                    Collections.singletonMap(5, 3L),
+                    1,
+                    0,
+                    2
+                )
+            )
+        );
+        // statistics of deleted nodes are dropped
+        satelliteMetrics.updateExtCmdStats("deletednode", Collections.emptyList());
 
         ArrayList<NodeApi> nodeList = new ArrayList<>();
         nodeList.add(
@@ -101,5 +165,58 @@ public class PrometheusBuilderTest
         Assert.assertTrue(promText.contains("linstor_scrape_requests_count"));
         Assert.assertTrue(promText.contains("linstor_node_state"));
         Assert.assertTrue(promText.contains("linstor_resource_definition_count 1.0"));
+        String transferLabels =
+            "{node=\"testnode\",kind=\"BACKUP_SEND\",resource=\"testrsc\",snapshot=\"snap1\",volume=\"0\"," +
+            "remote=\"s3remote\"}";
+        Assert.assertTrue(promText.contains("linstor_transfer_bytes" + transferLabels + " 1024.0"));
+        Assert.assertTrue(promText.contains("linstor_transfer_wire_bytes" + transferLabels + " 512.0"));
+        Assert.assertTrue(promText.contains("linstor_transfer_eta_seconds" + transferLabels + " 3.0"));
+
+        String extCmdLabels = "node=\"testnode\",binary=\"lvs\"";
+        Assert.assertTrue(
+            promText.contains("linstor_satellite_ext_cmd_duration_seconds_bucket{" + extCmdLabels + ",le=\"1.0\"} 2.0")
+        );
+        Assert.assertTrue(
+            promText.contains("linstor_satellite_ext_cmd_duration_seconds_count{" + extCmdLabels + "} 3.0")
+        );
+        Assert.assertTrue(
+            promText.contains("linstor_satellite_ext_cmd_exit_code_count{" + extCmdLabels + ",exit_code=\"5\"} 3.0")
+        );
+        Assert.assertTrue(promText.contains("linstor_satellite_ext_cmd_timeout_count{" + extCmdLabels + "} 1.0"));
+        Assert.assertTrue(promText.contains("linstor_satellite_ext_cmd_running{" + extCmdLabels + "} 2.0"));
+        Assert.assertFalse(promText.contains("deletednode"));
+    }
+
+    @Test
+    public void testHistogramMetrics() throws IOException
+    {
+        StderrErrorReporter errReporter = new StderrErrorReporter("Test");
+        PrometheusBuilder pmb = new PrometheusBuilder(errReporter, schedulers, metrics,
+            new CtrlSatelliteMetrics(), new CtrlTransferProgressStore());
+
+        metrics.getLockWait().labels("NODES_MAP", "WRITE").observe(0.002);
+        metrics.getLockWait().labels("NODES_MAP", "WRITE").observe(100);
+
+        final String promText = pmb.build(
+            null,
+            null,
+            new ResourceList(),
+            null,
+            null,
+            1,
+            System.currentTimeMillis());
+        Assert.assertTrue(promText.contains("# TYPE linstor_lock_wait_seconds histogram"));
+        Assert.assertTrue(
+            promText.contains("linstor_lock_wait_seconds_bucket{lock=\"NODES_MAP\",type=\"WRITE\",le=\"0.001\"} 0.0")
+        );
+        Assert.assertTrue(
+            promText.contains("linstor_lock_wait_seconds_bucket{lock=\"NODES_MAP\",type=\"WRITE\",le=\"0.0025\"} 1.0")
+        );
+        Assert.assertTrue(
+            promText.contains("linstor_lock_wait_seconds_bucket{lock=\"NODES_MAP\",type=\"WRITE\",le=\"+Inf\"} 2.0")
+        );
+        Assert.assertTrue(promText.contains("linstor_lock_wait_seconds_count{lock=\"NODES_MAP\",type=\"WRITE\"} 2.0"));
+        // histograms without any observation are not exported
+        Assert.assertFalse(promText.contains("linstor_lock_hold_seconds"));
     }
 }
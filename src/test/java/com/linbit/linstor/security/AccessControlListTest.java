@@ -13,10 +13,14 @@ import static com.linbit.linstor.security.AccessType.VIEW;
 
 import javax.inject.Provider;
 
+import java.util.Map;
+import java.util.TreeMap;
+
 import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 
 public class AccessControlListTest
@@ -172,6 +176,40 @@ public class AccessControlListTest
         }
     }
 
+    @Test
+    public void testSnapshotFollowsChanges() throws Exception
+    {
+        Map<RoleName, AccessControlEntry> backingMap = new TreeMap<>();
+        AccessControlList acl = new AccessControlList(
+            DUMMY_OBJ_PATH,
+            backingMap,
+            DUMMY_ACL_DRIVER,
+            TRANS_OBJ_FACTORY,
+            TRANS_MGR_PROVIDER
+        );
+        AccessContext ctx = new AccessContext(userId, userRole, userSecDomain, new PrivilegeSet());
+
+        assertNull(acl.getEntry(userRole));
+
+        acl.addEntry(userRole, VIEW);
+        assertEquals(VIEW, acl.getEntry(userRole));
+        acl.requireAccess(ctx, VIEW);
+
+        acl.addEntry(userRole, CHANGE);
+        assertEquals(CHANGE, acl.getEntry(userRole));
+        acl.requireAccess(ctx, CHANGE);
+
+        acl.delEntry(userRole);
+        assertNull(acl.getEntry(userRole));
+        assertNull(acl.queryAccess(ctx));
+
+        // entries loaded from the database are put into the backing map directly
+        backingMap.put(userRole.name, new AccessControlEntry(DUMMY_OBJ_PATH, userRole, USE));
+        acl.invalidateSnapshot();
+        assertEquals(USE, acl.getEntry(userRole));
+        acl.requireAccess(ctx, USE);
+    }
+
     private class AclIteration
     {
         public AccessContext accCtx;
@@ -0,0 +1,86 @@
+package com.linbit.linstor.security;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+public class AuthSessionCacheTest
+{
+    private static final long TTL_MILLIS = 60_000;
+
+    private long now;
+    private IdentityName alice;
+    private IdentityName bob;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        now = 1_000_000;
+        alice = new IdentityName("alice");
+        bob = new IdentityName("bob");
+    }
+
+    @Test
+    public void cachedSignIn()
+    {
+        AuthSessionCache cache = new AuthSessionCache(10, TTL_MILLIS, () -> now);
+        cache.put(alice, pw("secret"), TestAccessContextProvider.PUBLIC_CTX);
+
+        AccessContext accCtx = cache.get(alice, pw("secret"));
+        assertNotNull(accCtx);
+        // every caller gets its own copy, as access contexts are modified (i.e. by enabling privileges)
+        assertNotSame(TestAccessContextProvider.PUBLIC_CTX, accCtx);
+        assertEquals(TestAccessContextProvider.PUBLIC_CTX.subjectId, accCtx.subjectId);
+
+        assertNull(cache.get(alice, pw("wrong")));
+        assertNull(cache.get(bob, pw("secret")));
+    }
+
+    @Test
+    public void expiredSignIn()
+    {
+        AuthSessionCache cache = new AuthSessionCache(10, TTL_MILLIS, () -> now);
+        cache.put(alice, pw("secret"), TestAccessContextProvider.PUBLIC_CTX);
+
+        now += TTL_MILLIS - 1;
+        assertNotNull(cache.get(alice, pw("secret")));
+        now += 1;
+        assertNull(cache.get(alice, pw("secret")));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvicted()
+    {
+        AuthSessionCache cache = new AuthSessionCache(2, TTL_MILLIS, () -> now);
+        cache.put(alice, pw("a"), TestAccessContextProvider.PUBLIC_CTX);
+        cache.put(bob, pw("b"), TestAccessContextProvider.PUBLIC_CTX);
+        assertNotNull(cache.get(alice, pw("a")));
+
+        cache.put(alice, pw("c"), TestAccessContextProvider.PUBLIC_CTX);
+        assertEquals(2, cache.size());
+        assertNull(cache.get(bob, pw("b")));
+        assertNotNull(cache.get(alice, pw("a")));
+        assertNotNull(cache.get(alice, pw("c")));
+    }
+
+    @Test
+    public void disabledCache()
+    {
+        AuthSessionCache cache = new AuthSessionCache(10, 0, () -> now);
+        cache.put(alice, pw("secret"), TestAccessContextProvider.PUBLIC_CTX);
+        assertNull(cache.get(alice, pw("secret")));
+        assertEquals(0, cache.size());
+    }
+
+    private static byte[] pw(String password)
+    {
+        return password.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,195 @@
+package com.linbit.linstor.security;
+
+import com.linbit.linstor.core.cfg.CtrlConfig;
+
+import javax.naming.AuthenticationException;
+import javax.naming.Context;
+import javax.naming.NamingEnumeration;
+import javax.naming.NamingException;
+import javax.naming.directory.DirContext;
+import javax.naming.spi.InitialContextFactory;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs the {@link LdapAuthenticator} against a small in-memory directory instead of a real LDAP server
+ */
+public class LdapAuthenticatorTest
+{
+    private CtrlConfig ctrlCfg;
+    private LdapAuthenticator authenticator;
+
+    @Before
+    public void setUp()
+    {
+        InMemoryDirectory.reset();
+        InMemoryDirectory.users.put("uid=alice,ou=people", "secret");
+        InMemoryDirectory.users.put("uid=bob,ou=people", "hunter2");
+        InMemoryDirectory.groupMembers.put("ou=groups|(memberUid=alice)", "cn=linstor,ou=groups");
+
+        ctrlCfg = new CtrlConfig(null);
+        ctrlCfg.setLdapEnabled(true);
+        ctrlCfg.setLdapUri("ldap://directory.example");
+        ctrlCfg.setLdapDn("uid={user},ou=people");
+        authenticator = new LdapAuthenticator(ctrlCfg, InMemoryDirectory.class.getName());
+    }
+
+    @Test
+    public void validCredentials() throws Exception
+    {
+        authenticator.authenticate(new IdentityName("alice"), pw("secret"));
+
+        assertEquals(1, InMemoryDirectory.binds);
+        assertEquals(1, InMemoryDirectory.closed);
+        assertEquals("true", InMemoryDirectory.lastEnv.get(LdapAuthenticator.ENV_CONNECT_POOL));
+        assertEquals("ldap://directory.example", InMemoryDirectory.lastEnv.get(Context.PROVIDER_URL));
+    }
+
+    @Test
+    public void invalidPassword() throws Exception
+    {
+        try
+        {
+            authenticator.authenticate(new IdentityName("alice"), pw("hunter2"));
+            fail("sign-in with a wrong password succeeded");
+        }
+        catch (AuthenticationException expected)
+        {
+            // bind failed
+        }
+    }
+
+    @Test
+    public void searchFilterUsesSearchBase() throws Exception
+    {
+        ctrlCfg.setLdapSearchBase("ou=groups");
+        ctrlCfg.setLdapSearchFilter("(memberUid={user})");
+
+        authenticator.authenticate(new IdentityName("alice"), pw("secret"));
+        assertEquals(Collections.singletonList("ou=groups"), InMemoryDirectory.searchBases);
+
+        try
+        {
+            authenticator.authenticate(new IdentityName("bob"), pw("hunter2"));
+            fail("sign-in of a user not matching the search filter succeeded");
+        }
+        catch (InvalidCredentialsException expected)
+        {
+            // no match
+        }
+        // the connections are always returned to the pool
+        assertEquals(2, InMemoryDirectory.closed);
+    }
+
+    private static byte[] pw(String password)
+    {
+        return password.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static class InMemoryDirectory implements InitialContextFactory
+    {
+        static final Map<String, String> users = new TreeMap<>();
+        // "<search base>|<filter>" -> matching entry
+        static final Map<String, String> groupMembers = new TreeMap<>();
+        static final List<String> searchBases = new ArrayList<>();
+        static Hashtable<?, ?> lastEnv;
+        static int binds;
+        static int closed;
+
+        static void reset()
+        {
+            users.clear();
+            groupMembers.clear();
+            searchBases.clear();
+            lastEnv = null;
+            binds = 0;
+            closed = 0;
+        }
+
+        @Override
+        public Context getInitialContext(Hashtable<?, ?> env) throws NamingException
+        {
+            lastEnv = env;
+            String password = users.get((String) env.get(Context.SECURITY_PRINCIPAL));
+            if (password == null || !password.equals(env.get(Context.SECURITY_CREDENTIALS)))
+            {
+                throw new AuthenticationException("[LDAP: error code 49 - Invalid Credentials]");
+            }
+            ++binds;
+
+            return (Context) Proxy.newProxyInstance(
+                InMemoryDirectory.class.getClassLoader(),
+                new Class<?>[] {DirContext.class},
+                (proxy, method, args) ->
+                {
+                    Object ret = null;
+                    switch (method.getName())
+                    {
+                        case "search":
+                            String base = (String) args[0];
+                            searchBases.add(base);
+                            String match = groupMembers.get(base + "|" + args[1]);
+                            ret = results(match == null ? Collections.emptyList() : Collections.singletonList(match));
+                            break;
+                        case "close":
+                            ++closed;
+                            break;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                    return ret;
+                }
+            );
+        }
+
+        private static NamingEnumeration<String> results(List<String> entries)
+        {
+            Iterator<String> iter = entries.iterator();
+            return new NamingEnumeration<String>()
+            {
+                @Override
+                public boolean hasMoreElements()
+                {
+                    return iter.hasNext();
+                }
+
+                @Override
+                public String nextElement()
+                {
+                    return iter.next();
+                }
+
+                @Override
+                public boolean hasMore()
+                {
+                    return iter.hasNext();
+                }
+
+                @Override
+                public String next()
+                {
+                    return iter.next();
+                }
+
+                @Override
+                public void close()
+                {
+                }
+            };
+        }
+    }
+}
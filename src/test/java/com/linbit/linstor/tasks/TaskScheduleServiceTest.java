@@ -0,0 +1,266 @@
+package com.linbit.linstor.tasks;
+
+import com.linbit.linstor.metrics.Histogram;
+import com.linbit.linstor.metrics.LinStorMetrics;
+import com.linbit.linstor.testutils.EmptyErrorReporter;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class TaskScheduleServiceTest
+{
+    private LinStorMetrics metrics;
+    private WarningCollector errorReporter;
+    private TaskScheduleService taskScheduleService;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        metrics = new LinStorMetrics();
+        errorReporter = new WarningCollector();
+        startService(System::currentTimeMillis);
+    }
+
+    private void startService(LongSupplier clock) throws Exception
+    {
+        if (taskScheduleService != null)
+        {
+            taskScheduleService.shutdown();
+            taskScheduleService.awaitShutdown(5_000);
+        }
+        taskScheduleService = new TaskScheduleService(errorReporter, metrics, 2, clock);
+        taskScheduleService.start();
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        taskScheduleService.shutdown();
+        taskScheduleService.awaitShutdown(5_000);
+    }
+
+    @Test
+    public void slowTaskDoesNotBlockOthers() throws Exception
+    {
+        SlowTask slowTask = new SlowTask(300, 10);
+        CountDownLatch fastRuns = new CountDownLatch(5);
+        taskScheduleService.addTask(slowTask);
+        taskScheduleService.addTask(
+            scheduledAt ->
+            {
+                fastRuns.countDown();
+                return scheduledAt + 10;
+            }
+        );
+
+        // the slow task runs at most twice in this time, the fast task must not wait for it
+        assertTrue(fastRuns.await(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void slowTasksDoNotDelayLivenessTasks() throws Exception
+    {
+        // more slow tasks than executor threads
+        for (int idx = 0; idx < 3; ++idx)
+        {
+            taskScheduleService.addTask(new SlowTask(300, 10));
+        }
+        CountDownLatch pings = new CountDownLatch(5);
+        taskScheduleService.addTask(
+            new TaskScheduleService.Task()
+            {
+                @Override
+                public long run(long scheduledAt)
+                {
+                    pings.countDown();
+                    return scheduledAt + 10;
+                }
+
+                @Override
+                public boolean isLivenessTask()
+                {
+                    return true;
+                }
+            }
+        );
+
+        assertTrue(pings.await(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void taskNeverOverlapsItself() throws Exception
+    {
+        BlockingTask blockingTask = new BlockingTask();
+        taskScheduleService.addTask(blockingTask);
+        assertTrue(blockingTask.started.await(5, TimeUnit.SECONDS));
+        for (int idx = 0; idx < 10; ++idx)
+        {
+            // forces additional executions while the task is still running
+            taskScheduleService.rescheduleAt(blockingTask, 0);
+        }
+
+        // the second run of the probe is dispatched after the reschedules above. An overlapping execution of the
+        // blocked task would have been dispatched before and would occupy the second executor thread
+        CountDownLatch probeRuns = new CountDownLatch(2);
+        taskScheduleService.addTask(
+            scheduledAt ->
+            {
+                probeRuns.countDown();
+                return probeRuns.getCount() == 0 ? TaskScheduleService.Task.END_TASK : scheduledAt;
+            }
+        );
+        assertTrue(probeRuns.await(5, TimeUnit.SECONDS));
+
+        blockingTask.release.countDown();
+        // all reschedules are coalesced into a single execution after the running one
+        assertTrue(blockingTask.runs.await(5, TimeUnit.SECONDS));
+        assertEquals(1, blockingTask.maxConcurrent.get());
+    }
+
+    @Test
+    public void overrunIsWarnedAndRecorded() throws Exception
+    {
+        AtomicLong now = new AtomicLong(1_000_000);
+        startService(now::get);
+
+        OverrunningTask overrunningTask = new OverrunningTask(now);
+        taskScheduleService.addTask(overrunningTask);
+        // the third execution was completely processed before the fourth one started
+        assertTrue(overrunningTask.lastRun.await(5, TimeUnit.SECONDS));
+
+        // the first execution has no interval to compare with, the next two overrun, but only one warning
+        assertEquals(1, errorReporter.warnings.get());
+
+        Histogram runTime = metrics.getTaskRunTime().getChildren().get(Arrays.asList("OverrunningTask"));
+        assertNotNull(runTime);
+        long[] counts = runTime.getCumulativeCounts();
+        assertTrue(counts[counts.length - 1] >= 3);
+        assertNotNull(metrics.getTaskLateness().getChildren().get(Arrays.asList("OverrunningTask")));
+    }
+
+    @Test
+    public void endedTaskIsNotRescheduled() throws Exception
+    {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch firstRun = new CountDownLatch(1);
+        taskScheduleService.addTask(
+            scheduledAt ->
+            {
+                runs.incrementAndGet();
+                firstRun.countDown();
+                return TaskScheduleService.Task.END_TASK;
+            }
+        );
+        assertTrue(firstRun.await(1, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(1, runs.get());
+    }
+
+    private static class SlowTask implements TaskScheduleService.Task
+    {
+        private final long sleepMillis;
+        private final long interval;
+
+        SlowTask(long sleepMillisRef, long intervalRef)
+        {
+            sleepMillis = sleepMillisRef;
+            interval = intervalRef;
+        }
+
+        @Override
+        public long run(long scheduledAt)
+        {
+            try
+            {
+                Thread.sleep(sleepMillis);
+            }
+            catch (InterruptedException ignored)
+            {
+            }
+            return scheduledAt + interval;
+        }
+    }
+
+    /**
+     * Every execution but the last one advances the clock by 100 ms, while the interval is only 10 ms
+     */
+    private static class OverrunningTask implements TaskScheduleService.Task
+    {
+        private static final int RUNS = 4;
+
+        private final AtomicLong now;
+        private final AtomicInteger runs = new AtomicInteger();
+        private final CountDownLatch lastRun = new CountDownLatch(1);
+
+        OverrunningTask(AtomicLong nowRef)
+        {
+            now = nowRef;
+        }
+
+        @Override
+        public long run(long scheduledAt)
+        {
+            long next;
+            if (runs.incrementAndGet() < RUNS)
+            {
+                now.addAndGet(100);
+                next = scheduledAt + 10;
+            }
+            else
+            {
+                lastRun.countDown();
+                next = END_TASK;
+            }
+            return next;
+        }
+    }
+
+    private static class BlockingTask implements TaskScheduleService.Task
+    {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch runs = new CountDownLatch(2);
+        private final AtomicInteger concurrent = new AtomicInteger();
+        private final AtomicInteger maxConcurrent = new AtomicInteger();
+
+        @Override
+        public long run(long scheduledAt)
+        {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            started.countDown();
+            try
+            {
+                release.await();
+            }
+            catch (InterruptedException ignored)
+            {
+            }
+            concurrent.decrementAndGet();
+            runs.countDown();
+            return END_TASK;
+        }
+    }
+
+    private static class WarningCollector extends EmptyErrorReporter
+    {
+        private final AtomicInteger warnings = new AtomicInteger();
+
+        @Override
+        public void logWarning(String format, Object... args)
+        {
+            warnings.incrementAndGet();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.linbit.linstor.testclient;
 
 import com.linbit.linstor.InternalApiConsts;
 import com.linbit.linstor.api.protobuf.serializer.ProtoCtrlStltSerializer;
+import com.linbit.linstor.api.protobuf.serializer.ProtoFragmentCache;
 import com.linbit.linstor.core.CtrlSecurityObjects;
 import com.linbit.linstor.core.objects.ExternalFile;
 import com.linbit.linstor.core.objects.Node;
@@ -47,7 +48,8 @@ public class ControllerProtobuf extends ProtobufIO
             new StderrErrorReporter("ControllerProtobuf"),
             accCtx,
             new CtrlSecurityObjects(),
-            null
+            null,
+            new ProtoFragmentCache()
         );
     }
 